@@ -0,0 +1,275 @@
+package cyder.animation;
+
+import com.google.common.base.Preconditions;
+import cyder.handlers.internal.ExceptionHandler;
+import cyder.logging.LogTag;
+import cyder.logging.Logger;
+import cyder.threads.CyderThreadRunner;
+
+import javax.swing.*;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The single frame clock which drives animations throughout Cyder.
+ * <p>
+ * A single clock thread wakes at a fixed frame rate while {@link FrameListener}s are registered and posts
+ * one event to the event dispatch thread per frame. That event invokes every registered listener meaning
+ * all component updates of a frame are applied, and their repaints coalesced, in a single batched update.
+ * A frame is not posted while the previous frame is still pending on a busy event dispatch thread.
+ * <p>
+ * Delayed tasks may also be scheduled on the clock. When no listeners are registered the clock thread
+ * parks until the next task deadline and exits entirely once there is no work remaining.
+ */
+public enum AnimationClock {
+    /**
+     * The animation clock instance.
+     */
+    INSTANCE;
+
+    /**
+     * The number of frames per second the clock dispatches while listeners are registered.
+     */
+    public static final int FRAMES_PER_SECOND = 60;
+
+    /**
+     * The duration between frames.
+     */
+    public static final Duration FRAME_INTERVAL = Duration.ofNanos(Duration.ofSeconds(1).toNanos() / FRAMES_PER_SECOND);
+
+    /**
+     * The duration the clock thread remains alive without work before exiting.
+     */
+    private static final Duration IDLE_LINGER = Duration.ofSeconds(1);
+
+    /**
+     * The name of the clock thread.
+     */
+    private static final String CLOCK_THREAD_NAME = "Animation Clock";
+
+    /**
+     * A task scheduled to run on the event dispatch thread after a deadline.
+     *
+     * @param deadlineNanos the {@link System#nanoTime()} after which the task should run
+     * @param sequence      the order in which the task was scheduled, used to break deadline ties
+     * @param runnable      the task to run
+     */
+    private record ScheduledTask(long deadlineNanos, long sequence, Runnable runnable) {}
+
+    /**
+     * The listeners invoked each frame.
+     */
+    private final CopyOnWriteArrayList<FrameListener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * The tasks waiting for their deadlines ordered by deadline.
+     */
+    private final PriorityBlockingQueue<ScheduledTask> scheduledTasks = new PriorityBlockingQueue<>(16,
+            Comparator.comparingLong(ScheduledTask::deadlineNanos).thenComparingLong(ScheduledTask::sequence));
+
+    /**
+     * The sequence number of the next scheduled task.
+     */
+    private final AtomicLong taskSequence = new AtomicLong();
+
+    /**
+     * Whether the clock thread is running.
+     */
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    /**
+     * Whether a frame has been posted to the event dispatch thread and not yet dispatched.
+     */
+    private final AtomicBoolean framePending = new AtomicBoolean();
+
+    /**
+     * The number of frames dispatched by this clock.
+     */
+    private final AtomicLong framesDispatched = new AtomicLong();
+
+    /**
+     * The clock thread if running.
+     */
+    private volatile Thread clockThread;
+
+    AnimationClock() {
+        Logger.log(LogTag.OBJECT_CREATION, "AnimationClock singleton constructed");
+    }
+
+    /**
+     * Registers the provided listener to be invoked each frame until it returns false or is removed.
+     *
+     * @param listener the listener
+     */
+    public void addListener(FrameListener listener) {
+        Preconditions.checkNotNull(listener);
+
+        listeners.addIfAbsent(listener);
+        wake();
+    }
+
+    /**
+     * Removes the provided listener from the clock.
+     *
+     * @param listener the listener to remove
+     * @return whether the listener was registered
+     */
+    public boolean removeListener(FrameListener listener) {
+        Preconditions.checkNotNull(listener);
+
+        return listeners.remove(listener);
+    }
+
+    /**
+     * Schedules the provided runnable to be invoked on the event dispatch thread
+     * during the first frame following the provided delay.
+     *
+     * @param runnable the runnable to invoke
+     * @param delay    the delay before invoking the runnable
+     */
+    public void schedule(Runnable runnable, Duration delay) {
+        Preconditions.checkNotNull(runnable);
+        Preconditions.checkNotNull(delay);
+        Preconditions.checkArgument(!delay.isNegative());
+
+        long deadline = System.nanoTime() + delay.toNanos();
+        scheduledTasks.add(new ScheduledTask(deadline, taskSequence.getAndIncrement(), runnable));
+        wake();
+    }
+
+    /**
+     * Returns whether the clock thread is currently running.
+     *
+     * @return whether the clock thread is currently running
+     */
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    /**
+     * Returns the number of listeners currently registered.
+     *
+     * @return the number of listeners currently registered
+     */
+    public int getListenerCount() {
+        return listeners.size();
+    }
+
+    /**
+     * Returns the number of tasks waiting for their deadline.
+     *
+     * @return the number of tasks waiting for their deadline
+     */
+    public int getScheduledTaskCount() {
+        return scheduledTasks.size();
+    }
+
+    /**
+     * Returns the number of frames dispatched by this clock.
+     *
+     * @return the number of frames dispatched by this clock
+     */
+    public long getFramesDispatched() {
+        return framesDispatched.get();
+    }
+
+    /**
+     * Starts the clock thread if not running, otherwise wakes it so that new work is noticed immediately.
+     */
+    private void wake() {
+        if (running.compareAndSet(false, true)) {
+            CyderThreadRunner.submit(this::runClock, CLOCK_THREAD_NAME);
+        } else {
+            Thread thread = clockThread;
+            if (thread != null) LockSupport.unpark(thread);
+        }
+    }
+
+    /**
+     * Returns whether there are listeners or scheduled tasks.
+     *
+     * @return whether there are listeners or scheduled tasks
+     */
+    private boolean hasWork() {
+        return !listeners.isEmpty() || !scheduledTasks.isEmpty();
+    }
+
+    /**
+     * The loop of the clock thread.
+     */
+    private void runClock() {
+        clockThread = Thread.currentThread();
+        long frameIntervalNanos = FRAME_INTERVAL.toNanos();
+        long nextFrameNanos = System.nanoTime();
+
+        while (true) {
+            long now = System.nanoTime();
+
+            if (!hasWork()) {
+                clockThread = null;
+                running.set(false);
+                if (!hasWork() || !running.compareAndSet(false, true)) return;
+                clockThread = Thread.currentThread();
+                continue;
+            }
+
+            ScheduledTask nextTask = scheduledTasks.peek();
+            boolean taskDue = nextTask != null && nextTask.deadlineNanos() - now <= 0;
+            if ((!listeners.isEmpty() || taskDue) && framePending.compareAndSet(false, true)) {
+                SwingUtilities.invokeLater(this::dispatchFrame);
+            }
+
+            long parkNanos;
+            if (!listeners.isEmpty()) {
+                nextFrameNanos += frameIntervalNanos;
+                if (nextFrameNanos - now <= 0) nextFrameNanos = now + frameIntervalNanos;
+                parkNanos = nextFrameNanos - now;
+            } else if (nextTask != null) {
+                parkNanos = Math.max(frameIntervalNanos, nextTask.deadlineNanos() - now);
+                nextFrameNanos = now + parkNanos;
+            } else {
+                parkNanos = IDLE_LINGER.toNanos();
+            }
+
+            LockSupport.parkNanos(this, parkNanos);
+        }
+    }
+
+    /**
+     * Dispatches a frame to all listeners and runs all due tasks. Invoked on the event dispatch thread.
+     */
+    private void dispatchFrame() {
+        framePending.set(false);
+        framesDispatched.incrementAndGet();
+        long frameNanos = System.nanoTime();
+
+        for (FrameListener listener : listeners) {
+            boolean keep;
+            try {
+                keep = listener.onFrame(frameNanos);
+            } catch (Exception e) {
+                ExceptionHandler.handle(e);
+                keep = false;
+            }
+
+            if (!keep) listeners.remove(listener);
+        }
+
+        while (true) {
+            ScheduledTask task = scheduledTasks.peek();
+            if (task == null || task.deadlineNanos() - frameNanos > 0) break;
+            if (!scheduledTasks.remove(task)) continue;
+
+            try {
+                task.runnable().run();
+            } catch (Exception e) {
+                ExceptionHandler.handle(e);
+            }
+        }
+    }
+}
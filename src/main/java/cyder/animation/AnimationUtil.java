@@ -4,8 +4,6 @@ import com.google.common.base.Preconditions;
 import cyder.enumerations.Direction;
 import cyder.exceptions.IllegalMethodException;
 import cyder.strings.CyderStrings;
-import cyder.threads.CyderThreadRunner;
-import cyder.threads.ThreadUtil;
 
 import java.awt.*;
 
@@ -47,9 +45,8 @@ public final class AnimationUtil {
     }
 
     /**
-     * Moves the provided component from the starting value to the
-     * ending value by the increment amount, sleeping for the specified millisecond delay
-     * in between increments.
+     * Moves the provided component from the starting value to the ending value over the duration
+     * it would take to step by the increment amount every millisecond delay.
      *
      * @param startY    the starting y value
      * @param endY      the ending y value
@@ -61,20 +58,16 @@ public final class AnimationUtil {
         Preconditions.checkNotNull(component);
 
         if (component.getY() == startY) {
-            CyderThreadRunner.submit(() -> {
-                for (int i = startY ; i >= endY ; i -= increment) {
-                    ThreadUtil.sleep(delay);
-                    component.setLocation(component.getX(), i);
-                }
-                component.setLocation(component.getX(), endY);
-            }, "Component Up Animator, component=" + component);
+            new Tween(Tween.stepDuration(endY - startY, increment, delay),
+                    progress -> component.setLocation(component.getX(), Tween.interpolate(startY, endY, progress)))
+                    .setTarget(component, Tween.LOCATION)
+                    .start();
         }
     }
 
     /**
-     * Moves the provided component from the starting value to the
-     * ending value by the increment amount, sleeping for the specified millisecond delay
-     * in between increments.
+     * Moves the provided component from the starting value to the ending value over the duration
+     * it would take to step by the increment amount every millisecond delay.
      *
      * @param startY    the starting y value
      * @param endY      the ending y value
@@ -86,20 +79,16 @@ public final class AnimationUtil {
         Preconditions.checkNotNull(component);
 
         if (component.getY() == startY) {
-            CyderThreadRunner.submit(() -> {
-                for (int i = startY ; i <= endY ; i += increment) {
-                    ThreadUtil.sleep(delay);
-                    component.setLocation(component.getX(), i);
-                }
-                component.setLocation(component.getX(), endY);
-            }, "Component Down Animator, component=" + component);
+            new Tween(Tween.stepDuration(endY - startY, increment, delay),
+                    progress -> component.setLocation(component.getX(), Tween.interpolate(startY, endY, progress)))
+                    .setTarget(component, Tween.LOCATION)
+                    .start();
         }
     }
 
     /**
-     * Moves the provided component from the starting value to the
-     * ending value by the increment amount, sleeping for the specified millisecond delay
-     * in between increments.
+     * Moves the provided component from the starting value to the ending value over the duration
+     * it would take to step by the increment amount every millisecond delay.
      *
      * @param startX    the starting x value
      * @param endX      the ending x value
@@ -111,20 +100,16 @@ public final class AnimationUtil {
         Preconditions.checkNotNull(component);
 
         if (component.getX() == startX) {
-            CyderThreadRunner.submit(() -> {
-                for (int i = startX ; i >= endX ; i -= increment) {
-                    ThreadUtil.sleep(delay);
-                    component.setLocation(i, component.getY());
-                }
-                component.setLocation(endX, component.getY());
-            }, "Component Left Animator, component=" + component);
+            new Tween(Tween.stepDuration(endX - startX, increment, delay),
+                    progress -> component.setLocation(Tween.interpolate(startX, endX, progress), component.getY()))
+                    .setTarget(component, Tween.LOCATION)
+                    .start();
         }
     }
 
     /**
-     * Moves the provided component from the starting value to the
-     * ending value by the increment amount, sleeping for the specified millisecond delay
-     * in between increments.
+     * Moves the provided component from the starting value to the ending value over the duration
+     * it would take to step by the increment amount every millisecond delay.
      *
      * @param startX    the starting x value
      * @param endX      the ending x value
@@ -136,13 +121,10 @@ public final class AnimationUtil {
         Preconditions.checkNotNull(component);
 
         if (component.getX() == startX) {
-            CyderThreadRunner.submit(() -> {
-                for (int i = startX ; i <= endX ; i += increment) {
-                    ThreadUtil.sleep(delay);
-                    component.setLocation(i, component.getY());
-                }
-                component.setLocation(endX, component.getY());
-            }, "Component Right Animator, component=" + component);
+            new Tween(Tween.stepDuration(endX - startX, increment, delay),
+                    progress -> component.setLocation(Tween.interpolate(startX, endX, progress), component.getY()))
+                    .setTarget(component, Tween.LOCATION)
+                    .start();
         }
     }
 }
@@ -0,0 +1,110 @@
+package cyder.animation;
+
+/**
+ * Easing curves for mapping the linear progress of a {@link Tween} to the progress of the animated value.
+ */
+public enum Easing {
+    /**
+     * Constant speed throughout.
+     */
+    LINEAR {
+        @Override
+        double curve(double t) {
+            return t;
+        }
+    },
+
+    /**
+     * Accelerates from zero velocity.
+     */
+    EASE_IN_QUAD {
+        @Override
+        double curve(double t) {
+            return t * t;
+        }
+    },
+
+    /**
+     * Decelerates to zero velocity.
+     */
+    EASE_OUT_QUAD {
+        @Override
+        double curve(double t) {
+            return t * (2 - t);
+        }
+    },
+
+    /**
+     * Accelerates until halfway then decelerates.
+     */
+    EASE_IN_OUT_QUAD {
+        @Override
+        double curve(double t) {
+            return t < 0.5 ? 2 * t * t : -1 + (4 - 2 * t) * t;
+        }
+    },
+
+    /**
+     * Accelerates from zero velocity more sharply than {@link #EASE_IN_QUAD}.
+     */
+    EASE_IN_CUBIC {
+        @Override
+        double curve(double t) {
+            return t * t * t;
+        }
+    },
+
+    /**
+     * Decelerates to zero velocity more sharply than {@link #EASE_OUT_QUAD}.
+     */
+    EASE_OUT_CUBIC {
+        @Override
+        double curve(double t) {
+            double inverse = t - 1;
+            return inverse * inverse * inverse + 1;
+        }
+    },
+
+    /**
+     * Accelerates until halfway then decelerates more sharply than {@link #EASE_IN_OUT_QUAD}.
+     */
+    EASE_IN_OUT_CUBIC {
+        @Override
+        double curve(double t) {
+            if (t < 0.5) return 4 * t * t * t;
+            double inverse = 2 * t - 2;
+            return 0.5 * inverse * inverse * inverse + 1;
+        }
+    },
+
+    /**
+     * Accelerates and decelerates following a half cosine wave.
+     */
+    EASE_IN_OUT_SINE {
+        @Override
+        double curve(double t) {
+            return -(Math.cos(Math.PI * t) - 1) / 2;
+        }
+    };
+
+    /**
+     * Returns the eased progress for the provided linear progress.
+     *
+     * @param t the linear progress in the range [0.0, 1.0]
+     * @return the eased progress
+     */
+    abstract double curve(double t);
+
+    /**
+     * Returns the eased progress for the provided linear progress.
+     * Values outside the range [0.0, 1.0] are clamped and the endpoints are always exact.
+     *
+     * @param t the linear progress
+     * @return the eased progress
+     */
+    public double apply(double t) {
+        if (t <= 0.0) return 0.0;
+        if (t >= 1.0) return 1.0;
+        return curve(t);
+    }
+}
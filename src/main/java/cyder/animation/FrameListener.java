@@ -0,0 +1,15 @@
+package cyder.animation;
+
+/**
+ * A listener invoked by the {@link AnimationClock} once per frame on the event dispatch thread.
+ */
+@FunctionalInterface
+public interface FrameListener {
+    /**
+     * Invoked once per frame of the animation clock on the event dispatch thread.
+     *
+     * @param frameNanos the {@link System#nanoTime()} at which this frame was dispatched
+     * @return whether this listener should continue to receive frames
+     */
+    boolean onFrame(long frameNanos);
+}
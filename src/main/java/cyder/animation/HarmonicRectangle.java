@@ -4,11 +4,10 @@ import com.google.common.base.Preconditions;
 import cyder.constants.CyderColors;
 import cyder.exceptions.IllegalMethodException;
 import cyder.strings.CyderStrings;
-import cyder.threads.CyderThreadRunner;
-import cyder.threads.ThreadUtil;
 
 import javax.swing.*;
 import java.awt.*;
+import java.util.concurrent.TimeUnit;
 
 /**
  * A rectangle which can grow and shrink (oscillate) horizontally or vertically.
@@ -256,24 +255,39 @@ public class HarmonicRectangle extends JLabel {
     }
 
     /**
-     * The default animation thread name.
+     * The listener registered with the {@link AnimationClock} while animating.
      */
-    private static final String DEFAULT_ANIMATION_THREAD_NAME = "Harmonic Rectangle Animator";
+    private FrameListener animationListener;
 
     /**
      * Starts the animation.
      * If the animation is already running the method returns immediately.
+     * <p>
+     * Steps are taken on the {@link AnimationClock} at the rate of one every {@link #animationDelay}
+     * milliseconds, catching up with multiple steps in a single frame if necessary.
      */
     public void startAnimation() {
         if (isAnimating) return;
         isAnimating = true;
 
-        CyderThreadRunner.submit(() -> {
-            while (isAnimating) {
+        long startNanos = System.nanoTime();
+        long[] stepsTaken = {0};
+        animationListener = frameNanos -> {
+            if (!isAnimating) return false;
+
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(frameNanos - startNanos);
+            long expectedSteps = elapsedMs / Math.max(1, animationDelay);
+            int maxStepsPerFrame = 2 * Math.max(staticMaxWidth - staticMinWidth, staticMaxHeight - staticMinHeight);
+            if (expectedSteps - stepsTaken[0] > maxStepsPerFrame) stepsTaken[0] = expectedSteps - maxStepsPerFrame;
+
+            while (stepsTaken[0] < expectedSteps) {
                 animationStep();
-                ThreadUtil.sleep(animationDelay);
+                stepsTaken[0]++;
             }
-        }, DEFAULT_ANIMATION_THREAD_NAME);
+
+            return true;
+        };
+        AnimationClock.INSTANCE.addListener(animationListener);
     }
 
     /**
@@ -345,6 +359,8 @@ public class HarmonicRectangle extends JLabel {
      */
     public void stopAnimation() {
         isAnimating = false;
+        if (animationListener != null) AnimationClock.INSTANCE.removeListener(animationListener);
+        animationListener = null;
     }
 
     /**
@@ -0,0 +1,547 @@
+package cyder.animation;
+
+import com.google.common.base.Preconditions;
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import cyder.handlers.internal.ExceptionHandler;
+
+import javax.swing.*;
+import java.awt.*;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+
+/**
+ * An animation of a value over a fixed duration driven by the {@link AnimationClock}.
+ * <p>
+ * Each frame the linear progress of the tween is mapped through its {@link Easing} and passed to the
+ * update action on the event dispatch thread. Since every tween is updated within the same frame event,
+ * concurrent tweens are applied in one batched update and no threads are created per animation.
+ * <p>
+ * A tween may be associated with a target object and property name. Starting a tween cancels any
+ * running tween of the same target and property meaning a newer animation always takes precedence.
+ */
+public final class Tween implements FrameListener {
+    /**
+     * The states of a tween.
+     */
+    public enum State {
+        /**
+         * The tween has not yet been started.
+         */
+        PENDING,
+        /**
+         * The tween is running.
+         */
+        RUNNING,
+        /**
+         * The tween reached its end value.
+         */
+        COMPLETED,
+        /**
+         * The tween was cancelled before reaching its end value.
+         */
+        CANCELLED
+    }
+
+    /**
+     * The property name of location tweens.
+     */
+    public static final String LOCATION = "location";
+
+    /**
+     * The property name of size tweens.
+     */
+    public static final String SIZE = "size";
+
+    /**
+     * The property name of bounds tweens.
+     */
+    public static final String BOUNDS = "bounds";
+
+    /**
+     * The property name of opacity tweens.
+     */
+    public static final String OPACITY = "opacity";
+
+    /**
+     * The property name of background color tweens.
+     */
+    public static final String BACKGROUND = "background";
+
+    /**
+     * A key identifying the property of a target object which a tween animates.
+     *
+     * @param target   the object being animated
+     * @param property the name of the property being animated
+     */
+    private record TargetKey(Object target, String property) {}
+
+    /**
+     * The running tweens with a target, used to cancel a tween when a newer tween of the same property starts.
+     */
+    private static final ConcurrentHashMap<TargetKey, Tween> runningTargetTweens = new ConcurrentHashMap<>();
+
+    /**
+     * The duration of this tween.
+     */
+    private final Duration duration;
+
+    /**
+     * The action invoked each frame with the eased progress.
+     */
+    private final DoubleConsumer onUpdate;
+
+    /**
+     * The current state of this tween.
+     */
+    private final AtomicReference<State> state = new AtomicReference<>(State.PENDING);
+
+    /**
+     * The latch released once this tween completes or is cancelled.
+     */
+    private final CountDownLatch doneLatch = new CountDownLatch(1);
+
+    /**
+     * The easing curve of this tween.
+     */
+    private Easing easing = Easing.LINEAR;
+
+    /**
+     * The action invoked once this tween completes.
+     */
+    private Runnable onComplete;
+
+    /**
+     * The action invoked if this tween is cancelled.
+     */
+    private Runnable onCancel;
+
+    /**
+     * The target key of this tween if any.
+     */
+    private TargetKey targetKey;
+
+    /**
+     * The {@link System#nanoTime()} at which this tween was started.
+     */
+    private volatile long startNanos;
+
+    /**
+     * Whether this tween should jump to its end value on the next frame.
+     */
+    private volatile boolean finishRequested;
+
+    /**
+     * Constructs a new tween.
+     *
+     * @param duration the duration of the tween
+     * @param onUpdate the action to invoke each frame with the eased progress in the range [0.0, 1.0]
+     */
+    public Tween(Duration duration, DoubleConsumer onUpdate) {
+        Preconditions.checkNotNull(duration);
+        Preconditions.checkNotNull(onUpdate);
+        Preconditions.checkArgument(!duration.isNegative());
+
+        this.duration = duration;
+        this.onUpdate = onUpdate;
+    }
+
+    /**
+     * Sets the easing curve of this tween.
+     *
+     * @param easing the easing curve
+     * @return this tween
+     */
+    @CanIgnoreReturnValue
+    public Tween setEasing(Easing easing) {
+        Preconditions.checkNotNull(easing);
+        checkPending();
+
+        this.easing = easing;
+        return this;
+    }
+
+    /**
+     * Sets the action to invoke on the event dispatch thread once this tween completes.
+     *
+     * @param onComplete the action to invoke once this tween completes
+     * @return this tween
+     */
+    @CanIgnoreReturnValue
+    public Tween setOnComplete(Runnable onComplete) {
+        Preconditions.checkNotNull(onComplete);
+        checkPending();
+
+        this.onComplete = onComplete;
+        return this;
+    }
+
+    /**
+     * Sets the action to invoke, on the thread which cancelled this tween, if this tween is cancelled.
+     *
+     * @param onCancel the action to invoke if this tween is cancelled
+     * @return this tween
+     */
+    @CanIgnoreReturnValue
+    public Tween setOnCancel(Runnable onCancel) {
+        Preconditions.checkNotNull(onCancel);
+        checkPending();
+
+        this.onCancel = onCancel;
+        return this;
+    }
+
+    /**
+     * Sets the target object and property this tween animates.
+     * Starting this tween cancels any running tween of the same target and property.
+     *
+     * @param target   the object being animated
+     * @param property the name of the property being animated
+     * @return this tween
+     */
+    @CanIgnoreReturnValue
+    public Tween setTarget(Object target, String property) {
+        Preconditions.checkNotNull(target);
+        Preconditions.checkNotNull(property);
+        Preconditions.checkArgument(!property.isEmpty());
+        checkPending();
+
+        this.targetKey = new TargetKey(target, property);
+        return this;
+    }
+
+    /**
+     * Starts this tween.
+     *
+     * @return this tween
+     * @throws IllegalStateException if this tween was already started
+     */
+    @CanIgnoreReturnValue
+    public Tween start() {
+        Preconditions.checkState(state.compareAndSet(State.PENDING, State.RUNNING), "Tween already started");
+
+        if (targetKey != null) {
+            Tween previous = runningTargetTweens.put(targetKey, this);
+            if (previous != null) previous.cancel();
+        }
+
+        startNanos = System.nanoTime();
+        AnimationClock.INSTANCE.addListener(this);
+        return this;
+    }
+
+    /**
+     * Cancels this tween leaving the animated value wherever the last frame left it.
+     *
+     * @return whether this tween was pending or running and is now cancelled
+     */
+    @CanIgnoreReturnValue
+    public boolean cancel() {
+        State previous = state.get();
+        while (previous == State.PENDING || previous == State.RUNNING) {
+            if (state.compareAndSet(previous, State.CANCELLED)) {
+                AnimationClock.INSTANCE.removeListener(this);
+                releaseTarget();
+                doneLatch.countDown();
+                if (onCancel != null) onCancel.run();
+                return true;
+            }
+
+            previous = state.get();
+        }
+
+        return false;
+    }
+
+    /**
+     * Requests this tween jump to its end value on the next frame and complete.
+     */
+    public void finish() {
+        finishRequested = true;
+    }
+
+    /**
+     * Returns the current state of this tween.
+     *
+     * @return the current state of this tween
+     */
+    public State getState() {
+        return state.get();
+    }
+
+    /**
+     * Returns whether this tween is running.
+     *
+     * @return whether this tween is running
+     */
+    public boolean isRunning() {
+        return state.get() == State.RUNNING;
+    }
+
+    /**
+     * Returns whether this tween has completed or was cancelled.
+     *
+     * @return whether this tween has completed or was cancelled
+     */
+    public boolean isDone() {
+        State current = state.get();
+        return current == State.COMPLETED || current == State.CANCELLED;
+    }
+
+    /**
+     * Returns the duration of this tween.
+     *
+     * @return the duration of this tween
+     */
+    public Duration getDuration() {
+        return duration;
+    }
+
+    /**
+     * Blocks until this tween completes or is cancelled. This must not be invoked
+     * on the event dispatch thread as that is the thread which advances tweens.
+     *
+     * @param timeout the maximum duration to wait
+     * @return whether this tween finished before the timeout elapsed
+     * @throws IllegalStateException if invoked on the event dispatch thread
+     */
+    @CanIgnoreReturnValue
+    public boolean await(Duration timeout) {
+        Preconditions.checkNotNull(timeout);
+        Preconditions.checkState(!SwingUtilities.isEventDispatchThread(),
+                "Cannot await a tween on the event dispatch thread");
+
+        try {
+            return doneLatch.await(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean onFrame(long frameNanos) {
+        if (state.get() != State.RUNNING) return false;
+
+        double progress = 1.0;
+        long durationNanos = duration.toNanos();
+        if (!finishRequested && durationNanos > 0) {
+            progress = Math.min(1.0, Math.max(0.0, (frameNanos - startNanos) / (double) durationNanos));
+        }
+
+        try {
+            onUpdate.accept(easing.apply(progress));
+        } catch (Exception e) {
+            ExceptionHandler.handle(e);
+            cancel();
+            return false;
+        }
+
+        if (progress < 1.0) return true;
+
+        if (state.compareAndSet(State.RUNNING, State.COMPLETED)) {
+            releaseTarget();
+            doneLatch.countDown();
+            if (onComplete != null) onComplete.run();
+        }
+
+        return false;
+    }
+
+    /**
+     * Removes this tween from the running target tweens if it is still the registered tween of its target.
+     */
+    private void releaseTarget() {
+        if (targetKey != null) runningTargetTweens.remove(targetKey, this);
+    }
+
+    /**
+     * Checks that this tween has not yet been started.
+     */
+    private void checkPending() {
+        Preconditions.checkState(state.get() == State.PENDING, "Tween already started");
+    }
+
+    /**
+     * Returns the value the provided fraction of the way from the start to the end.
+     *
+     * @param start    the starting value
+     * @param end      the ending value
+     * @param progress the fraction in the range [0.0, 1.0]
+     * @return the interpolated value
+     */
+    public static int interpolate(int start, int end, double progress) {
+        return start + (int) Math.round((end - start) * progress);
+    }
+
+    /**
+     * Returns the value the provided fraction of the way from the start to the end.
+     *
+     * @param start    the starting value
+     * @param end      the ending value
+     * @param progress the fraction in the range [0.0, 1.0]
+     * @return the interpolated value
+     */
+    public static float interpolate(float start, float end, double progress) {
+        return (float) (start + (end - start) * progress);
+    }
+
+    /**
+     * Returns the color the provided fraction of the way from the start to the end
+     * interpolating each channel, including alpha, independently.
+     *
+     * @param start    the starting color
+     * @param end      the ending color
+     * @param progress the fraction in the range [0.0, 1.0]
+     * @return the interpolated color
+     */
+    public static Color interpolate(Color start, Color end, double progress) {
+        Preconditions.checkNotNull(start);
+        Preconditions.checkNotNull(end);
+
+        return new Color(interpolate(start.getRed(), end.getRed(), progress),
+                interpolate(start.getGreen(), end.getGreen(), progress),
+                interpolate(start.getBlue(), end.getBlue(), progress),
+                interpolate(start.getAlpha(), end.getAlpha(), progress));
+    }
+
+    /**
+     * Returns the duration of a legacy step animation which moved the provided distance
+     * by the provided increment, sleeping the provided delay between each step.
+     *
+     * @param distance  the distance of the animation
+     * @param increment the increment of each step
+     * @param delayMs   the millisecond delay between each step
+     * @return the duration of the animation
+     */
+    public static Duration stepDuration(double distance, double increment, long delayMs) {
+        Preconditions.checkArgument(increment > 0);
+        Preconditions.checkArgument(delayMs >= 0);
+
+        long steps = (long) Math.ceil(Math.abs(distance) / increment);
+        return Duration.ofMillis(steps * delayMs);
+    }
+
+    /**
+     * Returns a tween which moves the provided component from its current location to the provided location.
+     *
+     * @param component the component to move
+     * @param end       the ending location
+     * @param duration  the duration of the animation
+     * @return the tween
+     */
+    public static Tween location(Component component, Point end, Duration duration) {
+        Preconditions.checkNotNull(component);
+        Preconditions.checkNotNull(end);
+
+        Point start = component.getLocation();
+        Point endCopy = new Point(end);
+        return new Tween(duration, progress -> component.setLocation(
+                interpolate(start.x, endCopy.x, progress),
+                interpolate(start.y, endCopy.y, progress)))
+                .setTarget(component, LOCATION);
+    }
+
+    /**
+     * Returns a tween which resizes the provided component from its current size to the provided size.
+     *
+     * @param component the component to resize
+     * @param end       the ending size
+     * @param duration  the duration of the animation
+     * @return the tween
+     */
+    public static Tween size(Component component, Dimension end, Duration duration) {
+        Preconditions.checkNotNull(component);
+        Preconditions.checkNotNull(end);
+
+        Dimension start = component.getSize();
+        Dimension endCopy = new Dimension(end);
+        return new Tween(duration, progress -> {
+            component.setSize(interpolate(start.width, endCopy.width, progress),
+                    interpolate(start.height, endCopy.height, progress));
+            component.revalidate();
+        }).setTarget(component, SIZE);
+    }
+
+    /**
+     * Returns a tween which moves and resizes the provided component from its current bounds to the provided bounds.
+     *
+     * @param component the component to move and resize
+     * @param end       the ending bounds
+     * @param duration  the duration of the animation
+     * @return the tween
+     */
+    public static Tween bounds(Component component, Rectangle end, Duration duration) {
+        Preconditions.checkNotNull(component);
+        Preconditions.checkNotNull(end);
+
+        Rectangle start = component.getBounds();
+        Rectangle endCopy = new Rectangle(end);
+        return new Tween(duration, progress -> component.setBounds(
+                interpolate(start.x, endCopy.x, progress),
+                interpolate(start.y, endCopy.y, progress),
+                interpolate(start.width, endCopy.width, progress),
+                interpolate(start.height, endCopy.height, progress)))
+                .setTarget(component, BOUNDS);
+    }
+
+    /**
+     * Returns a tween which fades the provided window from its current opacity to the provided opacity.
+     *
+     * @param window   the window to fade
+     * @param end      the ending opacity in the range [0.0, 1.0]
+     * @param duration the duration of the animation
+     * @return the tween
+     */
+    public static Tween opacity(Window window, float end, Duration duration) {
+        Preconditions.checkNotNull(window);
+        Preconditions.checkArgument(end >= 0.0f && end <= 1.0f);
+
+        float start = window.getOpacity();
+        return new Tween(duration, progress -> window.setOpacity(
+                Math.min(1.0f, Math.max(0.0f, interpolate(start, end, progress)))))
+                .setTarget(window, OPACITY);
+    }
+
+    /**
+     * Returns a tween which transitions the background of the provided component
+     * from its current background to the provided color.
+     *
+     * @param component the component whose background to transition
+     * @param end       the ending background color
+     * @param duration  the duration of the animation
+     * @return the tween
+     */
+    public static Tween background(Component component, Color end, Duration duration) {
+        Preconditions.checkNotNull(component);
+
+        return color(component.getBackground(), end, duration, color -> {
+            component.setBackground(color);
+            component.repaint();
+        }).setTarget(component, BACKGROUND);
+    }
+
+    /**
+     * Returns a tween which passes colors transitioning from the start to the end to the provided consumer.
+     *
+     * @param start    the starting color
+     * @param end      the ending color
+     * @param duration the duration of the animation
+     * @param consumer the consumer of each frame's color
+     * @return the tween
+     */
+    public static Tween color(Color start, Color end, Duration duration, Consumer<Color> consumer) {
+        Preconditions.checkNotNull(start);
+        Preconditions.checkNotNull(end);
+        Preconditions.checkNotNull(consumer);
+
+        return new Tween(duration, progress -> consumer.accept(interpolate(start, end, progress)));
+    }
+}
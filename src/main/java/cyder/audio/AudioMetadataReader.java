@@ -0,0 +1,790 @@
+package cyder.audio;
+
+import com.google.common.base.Preconditions;
+import cyder.enumerations.Extension;
+import cyder.exceptions.IllegalMethodException;
+import cyder.files.FileUtil;
+import cyder.strings.CyderStrings;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Reads the metadata of mp3 and wav files without external processes.
+ * <p>
+ * For mp3 files the title, artist, album, and embedded artwork are read from ID3v2.2, ID3v2.3, and ID3v2.4 tags,
+ * falling back to an ID3v1 tag, and the duration is computed from the first MPEG frame header using a Xing,
+ * Info, or VBRI header if present, and the bitrate otherwise. For wav files the duration is computed from the
+ * format and data chunks and the title, artist, and album are read from a LIST INFO chunk if present.
+ */
+final class AudioMetadataReader {
+    /**
+     * The length of an ID3v2 header or footer.
+     */
+    private static final int ID3V2_HEADER_LENGTH = 10;
+
+    /**
+     * The length of an ID3v1 tag.
+     */
+    private static final int ID3V1_LENGTH = 128;
+
+    /**
+     * The length of each ID3v1 text field.
+     */
+    private static final int ID3V1_FIELD_LENGTH = 30;
+
+    /**
+     * The maximum number of bytes searched for the first MPEG frame after the ID3v2 tag.
+     */
+    private static final int MAXIMUM_SYNC_SEARCH = 1 << 16;
+
+    /**
+     * The maximum length of a text frame which is read.
+     */
+    private static final int MAXIMUM_TEXT_FRAME_LENGTH = 1 << 12;
+
+    /**
+     * The number of bytes of a picture frame read to locate the start of the picture data.
+     */
+    private static final int PICTURE_PREFIX_LENGTH = 1 << 10;
+
+    /**
+     * The picture type of front covers.
+     */
+    private static final int FRONT_COVER_PICTURE_TYPE = 3;
+
+    /**
+     * The bitrates in kilobits per second indexed by [MPEG 1 ? 0 : 1][layer - 1][bitrate index].
+     */
+    private static final int[][][] BITRATES = {
+            {
+                    {0, 32, 64, 96, 128, 160, 192, 224, 256, 288, 320, 352, 384, 416, 448},
+                    {0, 32, 48, 56, 64, 80, 96, 112, 128, 160, 192, 224, 256, 320, 384},
+                    {0, 32, 40, 48, 56, 64, 80, 96, 112, 128, 160, 192, 224, 256, 320},
+            },
+            {
+                    {0, 32, 48, 56, 64, 80, 96, 112, 128, 144, 160, 176, 192, 224, 256},
+                    {0, 8, 16, 24, 32, 40, 48, 56, 64, 80, 96, 112, 128, 144, 160},
+                    {0, 8, 16, 24, 32, 40, 48, 56, 64, 80, 96, 112, 128, 144, 160},
+            }
+    };
+
+    /**
+     * The sample rates indexed by [version bits][sample rate index].
+     */
+    private static final int[][] SAMPLE_RATES = {
+            {11025, 12000, 8000},
+            {0, 0, 0},
+            {22050, 24000, 16000},
+            {44100, 48000, 32000}
+    };
+
+    /**
+     * The version bits of MPEG 1.
+     */
+    private static final int MPEG_1 = 3;
+
+    /**
+     * Suppress default constructor.
+     */
+    private AudioMetadataReader() {
+        throw new IllegalMethodException(CyderStrings.ATTEMPTED_INSTANTIATION);
+    }
+
+    /**
+     * The fields of a track accumulated while reading.
+     */
+    private static final class Fields {
+        /**
+         * The title, null if not yet found.
+         */
+        String title;
+
+        /**
+         * The artist, null if not yet found.
+         */
+        String artist;
+
+        /**
+         * The album artist, null if not yet found.
+         */
+        String albumArtist;
+
+        /**
+         * The album, null if not yet found.
+         */
+        String album;
+
+        /**
+         * The duration in milliseconds.
+         */
+        long durationMillis = LibraryTrack.UNKNOWN_DURATION;
+
+        /**
+         * The offset of the embedded artwork.
+         */
+        long artworkOffset = LibraryTrack.NO_ARTWORK;
+
+        /**
+         * The length of the embedded artwork.
+         */
+        int artworkLength;
+
+        /**
+         * Whether the embedded artwork is a front cover.
+         */
+        boolean artworkIsFrontCover;
+
+        /**
+         * Returns the track described by these fields.
+         *
+         * @param file the audio file
+         * @return the track
+         */
+        LibraryTrack toTrack(File file) {
+            String resolvedTitle = title == null || title.isBlank() ? FileUtil.getFilename(file) : title;
+            String resolvedArtist = artist == null || artist.isBlank() ? albumArtist : artist;
+            return new LibraryTrack(file, resolvedTitle.trim(),
+                    resolvedArtist == null ? "" : resolvedArtist.trim(),
+                    album == null ? "" : album.trim(),
+                    durationMillis, artworkOffset, artworkLength);
+        }
+    }
+
+    /**
+     * Reads the metadata of the provided audio file.
+     *
+     * @param file the mp3 or wav file
+     * @return the metadata of the file
+     * @throws IOException if the file cannot be read
+     */
+    static LibraryTrack read(File file) throws IOException {
+        Preconditions.checkNotNull(file);
+        Preconditions.checkArgument(FileUtil.isSupportedAudioExtension(file));
+
+        Fields fields = new Fields();
+        try (RandomAccessFile in = new RandomAccessFile(file, "r")) {
+            if (FileUtil.validateExtension(file, Extension.WAV.getExtension())) {
+                readWav(in, fields);
+            } else {
+                readMp3(in, fields);
+            }
+        }
+        return fields.toTrack(file);
+    }
+
+    /**
+     * Reads the tags and duration of an mp3 file.
+     *
+     * @param in     the file
+     * @param fields the fields to populate
+     * @throws IOException if the file cannot be read
+     */
+    private static void readMp3(RandomAccessFile in, Fields fields) throws IOException {
+        long audioStart = 0;
+
+        byte[] header = new byte[ID3V2_HEADER_LENGTH];
+        // tags may be stacked, and some encoders prepend more than one
+        while (readFully(in, audioStart, header) && header[0] == 'I' && header[1] == 'D' && header[2] == '3') {
+            int tagSize = syncsafe(header, 6);
+            boolean footer = header[3] >= 4 && (header[5] & 0x10) != 0;
+            readId3v2(in, audioStart, header, tagSize, fields);
+            audioStart += ID3V2_HEADER_LENGTH + tagSize + (footer ? ID3V2_HEADER_LENGTH : 0);
+        }
+
+        long audioEnd = in.length();
+        if (audioEnd >= ID3V1_LENGTH) {
+            byte[] id3v1 = new byte[ID3V1_LENGTH];
+            if (readFully(in, audioEnd - ID3V1_LENGTH, id3v1) && id3v1[0] == 'T' && id3v1[1] == 'A'
+                    && id3v1[2] == 'G') {
+                audioEnd -= ID3V1_LENGTH;
+                if (fields.title == null) fields.title = id3v1Field(id3v1, 3);
+                if (fields.artist == null) fields.artist = id3v1Field(id3v1, 33);
+                if (fields.album == null) fields.album = id3v1Field(id3v1, 63);
+            }
+        }
+
+        fields.durationMillis = mp3DurationMillis(in, audioStart, audioEnd);
+    }
+
+    /**
+     * Reads the frames of an ID3v2 tag.
+     *
+     * @param in       the file
+     * @param tagStart the offset of the tag header
+     * @param header   the tag header
+     * @param tagSize  the size of the tag excluding its header and footer
+     * @param fields   the fields to populate
+     * @throws IOException if the file cannot be read
+     */
+    private static void readId3v2(RandomAccessFile in, long tagStart, byte[] header, int tagSize,
+                                  Fields fields) throws IOException {
+        int majorVersion = header[3];
+        if (majorVersion < 2 || majorVersion > 4) return;
+
+        int flags = header[5] & 0xFF;
+        boolean unsynchronized = (flags & 0x80) != 0;
+        boolean extendedHeader = majorVersion >= 3 && (flags & 0x40) != 0;
+
+        TagSource source;
+        if (unsynchronized && majorVersion < 4) {
+            // the whole tag must be resynchronized before frame boundaries are known
+            byte[] tag = new byte[tagSize];
+            if (!readFully(in, tagStart + ID3V2_HEADER_LENGTH, tag)) return;
+            source = new TagSource(resynchronize(tag), -1);
+        } else {
+            source = new TagSource(in, tagStart + ID3V2_HEADER_LENGTH, tagSize);
+        }
+
+        int position = 0;
+        if (extendedHeader) {
+            byte[] extendedSize = source.read(0, 4);
+            if (extendedSize == null) return;
+            position = majorVersion == 3 ? 4 + bigEndian(extendedSize, 0, 4) : syncsafe(extendedSize, 0);
+        }
+
+        int idLength = majorVersion == 2 ? 3 : 4;
+        int frameHeaderLength = majorVersion == 2 ? 6 : 10;
+
+        while (position + frameHeaderLength <= source.length()) {
+            byte[] frameHeader = source.read(position, frameHeaderLength);
+            if (frameHeader == null || frameHeader[0] == 0) break;
+
+            String id = new String(frameHeader, 0, idLength, StandardCharsets.ISO_8859_1);
+            int frameSize = switch (majorVersion) {
+                case 2 -> bigEndian(frameHeader, 3, 3);
+                case 3 -> bigEndian(frameHeader, 4, 4);
+                default -> syncsafe(frameHeader, 4);
+            };
+            int formatFlags = majorVersion == 2 ? 0 : frameHeader[9] & 0xFF;
+            int dataStart = position + frameHeaderLength;
+            if (frameSize <= 0 || dataStart + (long) frameSize > source.length()) break;
+
+            boolean compressedOrEncrypted = majorVersion == 3
+                    ? (formatFlags & 0xC0) != 0
+                    : majorVersion == 4 && (formatFlags & 0x0C) != 0;
+            if (!compressedOrEncrypted) {
+                int skip = majorVersion == 4 && (formatFlags & 0x01) != 0 ? 4 : 0;
+                boolean frameUnsynchronized = majorVersion == 4 && ((formatFlags & 0x02) != 0 || unsynchronized);
+                readFrame(source, id, dataStart + skip, frameSize - skip, frameUnsynchronized, fields);
+            }
+
+            position = dataStart + frameSize;
+        }
+    }
+
+    /**
+     * Reads a frame of interest from an ID3v2 tag.
+     *
+     * @param source         the tag
+     * @param id             the frame id
+     * @param dataStart      the offset of the frame data within the tag
+     * @param dataLength     the length of the frame data
+     * @param unsynchronized whether the frame data is unsynchronized
+     * @param fields         the fields to populate
+     * @throws IOException if the file cannot be read
+     */
+    private static void readFrame(TagSource source, String id, int dataStart, int dataLength,
+                                  boolean unsynchronized, Fields fields) throws IOException {
+        if (dataLength <= 0) return;
+
+        switch (id) {
+            case "TIT2", "TT2" -> fields.title = readTextFrame(source, dataStart, dataLength, unsynchronized);
+            case "TPE1", "TP1" -> fields.artist = readTextFrame(source, dataStart, dataLength, unsynchronized);
+            case "TPE2", "TP2" -> fields.albumArtist = readTextFrame(source, dataStart, dataLength, unsynchronized);
+            case "TALB", "TAL" -> fields.album = readTextFrame(source, dataStart, dataLength, unsynchronized);
+            case "APIC", "PIC" -> {
+                if (!unsynchronized && source.fileOffset() >= 0) {
+                    readPictureFrame(source, id.equals("PIC"), dataStart, dataLength, fields);
+                }
+            }
+            default -> {}
+        }
+    }
+
+    /**
+     * Reads the first value of a text frame.
+     *
+     * @param source         the tag
+     * @param dataStart      the offset of the frame data within the tag
+     * @param dataLength     the length of the frame data
+     * @param unsynchronized whether the frame data is unsynchronized
+     * @return the first value of the text frame, null if unreadable
+     * @throws IOException if the file cannot be read
+     */
+    private static String readTextFrame(TagSource source, int dataStart, int dataLength,
+                                        boolean unsynchronized) throws IOException {
+        byte[] data = source.read(dataStart, Math.min(dataLength, MAXIMUM_TEXT_FRAME_LENGTH));
+        if (data == null || data.length < 1) return null;
+        if (unsynchronized) data = resynchronize(data);
+
+        Charset charset = charsetOf(data[0]);
+        if (charset == null) return null;
+
+        String text = new String(data, 1, data.length - 1, charset);
+        int terminator = text.indexOf('\0');
+        return terminator == -1 ? text : text.substring(0, terminator);
+    }
+
+    /**
+     * Records the location of the picture data of a picture frame, preferring front covers.
+     *
+     * @param source     the tag which must be backed by the file
+     * @param legacy     whether this is an ID3v2.2 PIC frame
+     * @param dataStart  the offset of the frame data within the tag
+     * @param dataLength the length of the frame data
+     * @param fields     the fields to populate
+     * @throws IOException if the file cannot be read
+     */
+    private static void readPictureFrame(TagSource source, boolean legacy, int dataStart, int dataLength,
+                                         Fields fields) throws IOException {
+        if (fields.artworkIsFrontCover) return;
+
+        byte[] prefix = source.read(dataStart, Math.min(dataLength, PICTURE_PREFIX_LENGTH));
+        if (prefix == null || prefix.length < 2) return;
+
+        int encoding = prefix[0];
+        int position = 1;
+        if (legacy) {
+            position += 3;
+        } else {
+            while (position < prefix.length && prefix[position] != 0) position++;
+            position++;
+        }
+        if (position >= prefix.length) return;
+
+        int pictureType = prefix[position++] & 0xFF;
+        boolean wide = encoding == 1 || encoding == 2;
+        while (position < prefix.length) {
+            if (wide) {
+                if (position + 1 < prefix.length && prefix[position] == 0 && prefix[position + 1] == 0) {
+                    position += 2;
+                    break;
+                }
+                position += 2;
+            } else {
+                if (prefix[position++] == 0) break;
+            }
+        }
+        if (position >= prefix.length || position >= dataLength) return;
+
+        if (fields.artworkOffset == LibraryTrack.NO_ARTWORK || pictureType == FRONT_COVER_PICTURE_TYPE) {
+            fields.artworkOffset = source.fileOffset() + dataStart + position;
+            fields.artworkLength = dataLength - position;
+            fields.artworkIsFrontCover = pictureType == FRONT_COVER_PICTURE_TYPE;
+        }
+    }
+
+    /**
+     * Computes the duration of the MPEG audio within the provided range of the file.
+     *
+     * @param in         the file
+     * @param audioStart the offset of the audio
+     * @param audioEnd   the offset of the end of the audio
+     * @return the duration in milliseconds, {@link LibraryTrack#UNKNOWN_DURATION} if unknown
+     * @throws IOException if the file cannot be read
+     */
+    private static long mp3DurationMillis(RandomAccessFile in, long audioStart, long audioEnd) throws IOException {
+        int searchLength = (int) Math.min(MAXIMUM_SYNC_SEARCH, Math.max(0, audioEnd - audioStart));
+        byte[] window = new byte[searchLength];
+        if (searchLength < 4 || !readFully(in, audioStart, window)) return LibraryTrack.UNKNOWN_DURATION;
+
+        for (int i = 0 ; i + 4 <= window.length ; i++) {
+            FrameHeader frame = FrameHeader.parse(window, i);
+            if (frame == null) continue;
+
+            // require a second valid frame where the first ends to avoid false syncs within junk data
+            int next = i + frame.length();
+            if (next + 4 <= window.length && FrameHeader.parse(window, next) == null) continue;
+
+            long frameStart = audioStart + i;
+            long frames = vbrFrameCount(in, frameStart, frame);
+            if (frames > 0) return frames * frame.samplesPerFrame() * 1000 / frame.sampleRate();
+
+            if (frame.bitrate() == 0) return LibraryTrack.UNKNOWN_DURATION;
+            return (audioEnd - frameStart) * 8 * 1000 / frame.bitrate();
+        }
+
+        return LibraryTrack.UNKNOWN_DURATION;
+    }
+
+    /**
+     * Returns the number of frames recorded by a Xing, Info, or VBRI header within the provided frame.
+     *
+     * @param in         the file
+     * @param frameStart the offset of the frame
+     * @param frame      the frame header
+     * @return the number of frames, zero if the frame has no such header
+     * @throws IOException if the file cannot be read
+     */
+    private static long vbrFrameCount(RandomAccessFile in, long frameStart, FrameHeader frame) throws IOException {
+        byte[] data = new byte[Math.min(frame.length(), 4 + 32 + 18)];
+        if (!readFully(in, frameStart, data)) return 0;
+
+        int xingOffset = 4 + frame.sideInformationLength();
+        if (xingOffset + 12 <= data.length) {
+            String tag = new String(data, xingOffset, 4, StandardCharsets.ISO_8859_1);
+            if (tag.equals("Xing") || tag.equals("Info")) {
+                int flags = bigEndian(data, xingOffset + 4, 4);
+                if ((flags & 0x01) != 0) return Integer.toUnsignedLong(bigEndian(data, xingOffset + 8, 4));
+                return 0;
+            }
+        }
+
+        int vbriOffset = 4 + 32;
+        if (vbriOffset + 18 <= data.length
+                && new String(data, vbriOffset, 4, StandardCharsets.ISO_8859_1).equals("VBRI")) {
+            return Integer.toUnsignedLong(bigEndian(data, vbriOffset + 14, 4));
+        }
+
+        return 0;
+    }
+
+    /**
+     * The fields of an MPEG audio frame header.
+     *
+     * @param mpeg1           whether the frame is MPEG 1
+     * @param layer           the layer from one to three
+     * @param bitrate         the bitrate in bits per second, zero for free format
+     * @param sampleRate      the sample rate in hertz
+     * @param samplesPerFrame the number of samples per channel in the frame
+     * @param length          the length of the frame in bytes
+     * @param mono            whether the frame is single channel
+     */
+    private record FrameHeader(boolean mpeg1, int layer, int bitrate, int sampleRate, int samplesPerFrame,
+                               int length, boolean mono) {
+        /**
+         * Returns the length of the side information following the header of a layer three frame.
+         *
+         * @return the length of the side information
+         */
+        int sideInformationLength() {
+            if (mpeg1) return mono ? 17 : 32;
+            return mono ? 9 : 17;
+        }
+
+        /**
+         * Parses the frame header at the provided offset.
+         *
+         * @param data   the data
+         * @param offset the offset of the header
+         * @return the frame header, null if the data at the offset is not a valid frame header
+         */
+        static FrameHeader parse(byte[] data, int offset) {
+            if (offset + 4 > data.length) return null;
+
+            int b1 = data[offset + 1] & 0xFF;
+            int b2 = data[offset + 2] & 0xFF;
+            int b3 = data[offset + 3] & 0xFF;
+            if ((data[offset] & 0xFF) != 0xFF || (b1 & 0xE0) != 0xE0) return null;
+
+            int versionBits = (b1 >> 3) & 0x03;
+            int layerBits = (b1 >> 1) & 0x03;
+            int bitrateIndex = (b2 >> 4) & 0x0F;
+            int sampleRateIndex = (b2 >> 2) & 0x03;
+            if (versionBits == 1 || layerBits == 0 || bitrateIndex == 0x0F || sampleRateIndex == 3) return null;
+
+            boolean mpeg1 = versionBits == MPEG_1;
+            int layer = 4 - layerBits;
+            int bitrate = BITRATES[mpeg1 ? 0 : 1][layer - 1][bitrateIndex] * 1000;
+            int sampleRate = SAMPLE_RATES[versionBits][sampleRateIndex];
+            int padding = (b2 >> 1) & 0x01;
+            boolean mono = ((b3 >> 6) & 0x03) == 3;
+
+            int samplesPerFrame = layer == 1 ? 384 : (layer == 3 && !mpeg1 ? 576 : 1152);
+            int length;
+            if (bitrate == 0) {
+                length = 4;
+            } else if (layer == 1) {
+                length = (12 * bitrate / sampleRate + padding) * 4;
+            } else {
+                length = samplesPerFrame / 8 * bitrate / sampleRate + padding;
+            }
+            if (length < 4) return null;
+
+            return new FrameHeader(mpeg1, layer, bitrate, sampleRate, samplesPerFrame, length, mono);
+        }
+    }
+
+    /**
+     * Reads the duration and INFO tags of a wav file.
+     *
+     * @param in     the file
+     * @param fields the fields to populate
+     * @throws IOException if the file cannot be read
+     */
+    private static void readWav(RandomAccessFile in, Fields fields) throws IOException {
+        byte[] riff = new byte[12];
+        if (!readFully(in, 0, riff)) return;
+        if (!new String(riff, 0, 4, StandardCharsets.ISO_8859_1).equals("RIFF")
+                || !new String(riff, 8, 4, StandardCharsets.ISO_8859_1).equals("WAVE")) return;
+
+        long byteRate = 0;
+        long dataLength = -1;
+        long position = 12;
+        byte[] chunkHeader = new byte[8];
+        while (position + 8 <= in.length() && readFully(in, position, chunkHeader)) {
+            String id = new String(chunkHeader, 0, 4, StandardCharsets.ISO_8859_1);
+            long size = Integer.toUnsignedLong(littleEndian(chunkHeader, 4, 4));
+            long dataStart = position + 8;
+
+            switch (id) {
+                case "fmt " -> {
+                    byte[] format = new byte[12];
+                    if (size >= 12 && readFully(in, dataStart, format)) {
+                        byteRate = Integer.toUnsignedLong(littleEndian(format, 8, 4));
+                    }
+                }
+                case "data" -> dataLength = Math.min(size, in.length() - dataStart);
+                case "LIST" -> readInfoList(in, dataStart, size, fields);
+                default -> {}
+            }
+
+            position = dataStart + size + (size & 1);
+        }
+
+        if (byteRate > 0 && dataLength >= 0) fields.durationMillis = dataLength * 1000 / byteRate;
+    }
+
+    /**
+     * Reads the title, artist, and album from a wav LIST chunk if it is an INFO list.
+     *
+     * @param in        the file
+     * @param dataStart the offset of the chunk data
+     * @param size      the size of the chunk data
+     * @param fields    the fields to populate
+     * @throws IOException if the file cannot be read
+     */
+    private static void readInfoList(RandomAccessFile in, long dataStart, long size, Fields fields)
+            throws IOException {
+        if (size < 4 || size > MAXIMUM_TEXT_FRAME_LENGTH * 4) return;
+
+        byte[] list = new byte[(int) size];
+        if (!readFully(in, dataStart, list)) return;
+        if (!new String(list, 0, 4, StandardCharsets.ISO_8859_1).equals("INFO")) return;
+
+        int position = 4;
+        while (position + 8 <= list.length) {
+            String id = new String(list, position, 4, StandardCharsets.ISO_8859_1);
+            int length = littleEndian(list, position + 4, 4);
+            int start = position + 8;
+            if (length < 0 || start + length > list.length) break;
+
+            String value = new String(list, start, length, StandardCharsets.UTF_8);
+            int terminator = value.indexOf('\0');
+            if (terminator != -1) value = value.substring(0, terminator);
+
+            switch (id) {
+                case "INAM" -> fields.title = value;
+                case "IART" -> fields.artist = value;
+                case "IPRD" -> fields.album = value;
+                default -> {}
+            }
+
+            position = start + length + (length & 1);
+        }
+    }
+
+    /**
+     * A source of ID3v2 tag bytes, either the file itself or a resynchronized copy of the tag.
+     */
+    private static final class TagSource {
+        /**
+         * The file, null if the tag was copied into memory.
+         */
+        private final RandomAccessFile file;
+
+        /**
+         * The in-memory tag, null if the tag is read from the file.
+         */
+        private final byte[] bytes;
+
+        /**
+         * The offset of the tag body within the file, -1 if offsets do not correspond to the file.
+         */
+        private final long fileOffset;
+
+        /**
+         * The length of the tag body.
+         */
+        private final int length;
+
+        /**
+         * Constructs a new tag source reading from the provided file.
+         *
+         * @param file       the file
+         * @param fileOffset the offset of the tag body within the file
+         * @param length     the length of the tag body
+         */
+        TagSource(RandomAccessFile file, long fileOffset, int length) {
+            this.file = file;
+            this.bytes = null;
+            this.fileOffset = fileOffset;
+            this.length = length;
+        }
+
+        /**
+         * Constructs a new tag source reading from the provided bytes.
+         *
+         * @param bytes      the tag body
+         * @param fileOffset the offset of the tag body within the file, -1 if offsets do not correspond
+         */
+        TagSource(byte[] bytes, long fileOffset) {
+            this.file = null;
+            this.bytes = bytes;
+            this.fileOffset = fileOffset;
+            this.length = bytes.length;
+        }
+
+        /**
+         * Returns the length of the tag body.
+         *
+         * @return the length of the tag body
+         */
+        int length() {
+            return length;
+        }
+
+        /**
+         * Returns the offset of the tag body within the file, -1 if offsets do not correspond to the file.
+         *
+         * @return the offset of the tag body within the file
+         */
+        long fileOffset() {
+            return fileOffset;
+        }
+
+        /**
+         * Reads the provided range of the tag body.
+         *
+         * @param offset the offset within the tag body
+         * @param count  the number of bytes
+         * @return the bytes, null if the range exceeds the tag
+         * @throws IOException if the file cannot be read
+         */
+        byte[] read(int offset, int count) throws IOException {
+            if (offset < 0 || count < 0 || (long) offset + count > length) return null;
+
+            if (bytes != null) return Arrays.copyOfRange(bytes, offset, offset + count);
+
+            byte[] result = new byte[count];
+            return readFully(file, fileOffset + offset, result) ? result : null;
+        }
+    }
+
+    /**
+     * Reads the provided buffer fully from the provided position.
+     *
+     * @param in       the file
+     * @param position the position
+     * @param buffer   the buffer
+     * @return whether the buffer was filled, false if the file ended first
+     * @throws IOException if the file cannot be read
+     */
+    private static boolean readFully(RandomAccessFile in, long position, byte[] buffer) throws IOException {
+        if (position < 0 || position + buffer.length > in.length()) return false;
+
+        in.seek(position);
+        try {
+            in.readFully(buffer);
+            return true;
+        } catch (EOFException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Reverses ID3v2 unsynchronization by removing each zero byte which follows a 0xFF byte.
+     *
+     * @param data the unsynchronized data
+     * @return the resynchronized data
+     */
+    private static byte[] resynchronize(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length);
+        for (int i = 0 ; i < data.length ; i++) {
+            out.write(data[i]);
+            if ((data[i] & 0xFF) == 0xFF && i + 1 < data.length && data[i + 1] == 0) i++;
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Returns the charset of the provided ID3v2 text encoding byte.
+     *
+     * @param encoding the encoding byte
+     * @return the charset, null if unknown
+     */
+    private static Charset charsetOf(byte encoding) {
+        return switch (encoding) {
+            case 0 -> StandardCharsets.ISO_8859_1;
+            case 1 -> StandardCharsets.UTF_16;
+            case 2 -> StandardCharsets.UTF_16BE;
+            case 3 -> StandardCharsets.UTF_8;
+            default -> null;
+        };
+    }
+
+    /**
+     * Returns the text of the ID3v1 field at the provided offset.
+     *
+     * @param tag    the ID3v1 tag
+     * @param offset the offset of the field
+     * @return the text of the field, null if empty
+     */
+    private static String id3v1Field(byte[] tag, int offset) {
+        int end = offset;
+        while (end < offset + ID3V1_FIELD_LENGTH && tag[end] != 0) end++;
+        String value = new String(tag, offset, end - offset, StandardCharsets.ISO_8859_1).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Decodes the ID3v2 syncsafe integer at the provided offset.
+     *
+     * @param data   the data
+     * @param offset the offset of the four byte integer
+     * @return the integer
+     */
+    private static int syncsafe(byte[] data, int offset) {
+        return (data[offset] & 0x7F) << 21 | (data[offset + 1] & 0x7F) << 14
+                | (data[offset + 2] & 0x7F) << 7 | (data[offset + 3] & 0x7F);
+    }
+
+    /**
+     * Decodes the big-endian integer at the provided offset.
+     *
+     * @param data   the data
+     * @param offset the offset of the integer
+     * @param length the number of bytes of the integer
+     * @return the integer
+     */
+    private static int bigEndian(byte[] data, int offset, int length) {
+        int value = 0;
+        for (int i = 0 ; i < length ; i++) {
+            value = value << 8 | (data[offset + i] & 0xFF);
+        }
+        return value;
+    }
+
+    /**
+     * Decodes the little-endian integer at the provided offset.
+     *
+     * @param data   the data
+     * @param offset the offset of the integer
+     * @param length the number of bytes of the integer
+     * @return the integer
+     */
+    private static int littleEndian(byte[] data, int offset, int length) {
+        int value = 0;
+        for (int i = length - 1 ; i >= 0 ; i--) {
+            value = value << 8 | (data[offset + i] & 0xFF);
+        }
+        return value;
+    }
+}
@@ -10,6 +10,8 @@ import cyder.enumerations.Extension;
 import cyder.exceptions.FatalException;
 import cyder.exceptions.IllegalMethodException;
 import cyder.files.FileUtil;
+import cyder.logging.LogTag;
+import cyder.logging.Logger;
 import cyder.network.NetworkUtil;
 import cyder.process.ProcessResult;
 import cyder.process.ProcessUtil;
@@ -20,15 +22,18 @@ import cyder.threads.CyderThreadFactory;
 import cyder.time.TimeUtil;
 import cyder.user.UserFile;
 import cyder.utils.OsUtil;
+import cyder.utils.SecurityUtil;
 import cyder.utils.SerializationUtil;
 
 import java.io.BufferedReader;
 import java.io.File;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.util.Arrays;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 
@@ -83,50 +88,57 @@ public final class AudioUtil {
     public static final String DREAMY_SUFFIX = "_Dreamy";
 
     /**
-     * The highpass value for dreamifying an audio file.
+     * The name of the threads which dreamify audio.
      */
-    private static final int HIGHPASS = 200;
+    private static final String AUDIO_DREAMIFIER_THREAD_NAME = "Audio Dreamifier";
 
     /**
-     * The lowpass value for dreamifying an audio file.
+     * The thread name for the ffmpeg downloader
      */
-    private static final int LOWPASS = 1500;
+    private static final String FFMPEG_DOWNLOADER_THREAD_NAME = "FFMPEG Downloader";
 
     /**
-     * The audio dreamifier thread name prefix.
+     * A record to associate a destination file with a url to download the file, typically a zip archive, from.
      */
-    private static final String audioDreamifierThreadNamePrefix = "Audio Dreamifier: ";
+    private record PairedFile(File file, String url) {}
 
     /**
-     * The -filter:a flag for setting high and low pass data.
+     * The name of the thread that downloads YouTube-dl if missing and needed.
      */
-    private static final String FILTER_DASH_A = "-filter:a";
+    private static final String YOUTUBE_DL_DOWNLOADER_THREAD_NAME = "YouTubeDl Downloader";
 
     /**
-     * The high and low pass argument string.
+     * A cache of previously computed millisecond times from audio files.
      */
-    private static final String HIGHPASS_LOWPASS_ARGS = quote + "highpass=f="
-            + HIGHPASS + comma + space + "lowpass=f=" + LOWPASS + quote;
+    private static final ConcurrentHashMap<File, Integer> milliTimes = new ConcurrentHashMap<>();
 
     /**
-     * The thread name for the ffmpeg downloader
+     * The maximum number of bytes of transcoded audio files to keep.
      */
-    private static final String FFMPEG_DOWNLOADER_THREAD_NAME = "FFMPEG Downloader";
+    private static final long TRANSCODE_CACHE_CAPACITY_BYTES = 1024L * 1024L * 1024L;
 
     /**
-     * A record to associate a destination file with a url to download the file, typically a zip archive, from.
+     * The parameters of transcodes performed by ffmpeg, part of the key of transcode cache entries.
      */
-    private record PairedFile(File file, String url) {}
+    private static final String FFMPEG_TRANSCODE_PARAMETERS = "ffmpeg -i";
 
     /**
-     * The name of the thread that downloads YouTube-dl if missing and needed.
+     * The cache of mp3 and wav conversions.
      */
-    private static final String YOUTUBE_DL_DOWNLOADER_THREAD_NAME = "YouTubeDl Downloader";
+    private static final TranscodeCache transcodeCache = new TranscodeCache(
+            Dynamic.buildDynamic(Dynamic.TRANSCODE_CACHE.getFileName()), TRANSCODE_CACHE_CAPACITY_BYTES);
 
     /**
-     * A cache of previously computed millisecond times from audio files.
+     * The executor which runs mp3 and wav conversions.
      */
-    private static final ConcurrentHashMap<File, Integer> milliTimes = new ConcurrentHashMap<>();
+    private static final ExecutorService transcodeExecutor =
+            Executors.newCachedThreadPool(new CyderThreadFactory("Audio Transcoder"));
+
+    /**
+     * The executor which runs dreamify pipelines.
+     */
+    private static final ExecutorService dreamifyExecutor =
+            Executors.newCachedThreadPool(new CyderThreadFactory(AUDIO_DREAMIFIER_THREAD_NAME));
 
     /**
      * Suppress default constructor.
@@ -137,139 +149,108 @@ public final class AudioUtil {
 
     /**
      * Converts the mp3 file to a wav file and returns the file object.
-     * Note the file is created in the Cyder temporary directory which is
-     * removed upon proper Cyder shutdown/startup.
+     * The returned file is a temporary copy owned by the caller which may be moved or deleted.
      *
      * @param mp3File the mp3 file to convert to wav
      * @return the mp3 file converted to wav
      */
-    @SuppressWarnings({"ResultOfMethodCallIgnored"})
     public static Future<Optional<File>> mp3ToWav(File mp3File) {
         Preconditions.checkNotNull(mp3File);
         Preconditions.checkArgument(FileUtil.validateExtension(mp3File, Extension.MP3.getExtension()));
 
-        return Executors.newSingleThreadExecutor(
-                new CyderThreadFactory("Mp3 to wav converter")).submit(() -> {
-            File tmpDir = Dynamic.buildDynamic(Dynamic.TEMP.getFileName());
-            if (!tmpDir.exists()) {
-                tmpDir.mkdir();
-            }
-
-            String builtPath = Dynamic.buildDynamic(Dynamic.TEMP.getFileName(),
-                    FileUtil.getFilename(mp3File) + Extension.WAV.getExtension()).getAbsolutePath();
-            String safePath = quote + builtPath + quote;
-
-            File outputFile = new File(builtPath);
-            if (outputFile.exists()) {
-                if (!OsUtil.deleteFile(outputFile)) {
-                    throw new FatalException("Output file already exists in temp directory");
-                }
-            }
-
-            ProcessBuilder processBuilder = new ProcessBuilder(getFfmpegCommand(), INPUT_FLAG,
-                    quote + mp3File.getAbsolutePath() + quote, safePath);
-            processBuilder.redirectErrorStream();
-            Process process = processBuilder.start();
-
-            // another precaution to ensure process is completed before file is returned
-            BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()));
-            while (reader.readLine() != null) {
-                Thread.onSpinWait();
-            }
-
-            // wait for file to be created by ffmpeg
-            while (!outputFile.exists()) {
-                Thread.onSpinWait();
-            }
-
-            return Optional.of(outputFile);
-        });
+        return transcode(mp3File, Extension.WAV.getExtension());
     }
 
     /**
      * Converts the wav file to an mp3 file and returns the file object.
-     * Note the file is created in the Cyder temporary directory which is
-     * removed upon proper Cyder shutdown/startup.
+     * The returned file is a temporary copy owned by the caller which may be moved or deleted.
      *
      * @param wavFile the wav file to convert to mp3
      * @return the wav file converted to mp3
      */
-    @SuppressWarnings("ResultOfMethodCallIgnored")
     public static Future<Optional<File>> wavToMp3(File wavFile) {
         Preconditions.checkNotNull(wavFile);
         Preconditions.checkArgument(FileUtil.validateExtension(wavFile, Extension.WAV.getExtension()));
 
-        return Executors.newSingleThreadExecutor(
-                new CyderThreadFactory("Wav to mp3 converter")).submit(() -> {
+        return transcode(wavFile, Extension.MP3.getExtension());
+    }
 
-            String builtPath = Dynamic.buildDynamic(Dynamic.TEMP.getFileName(),
-                    FileUtil.getFilename(wavFile) + Extension.MP3.getExtension()).getAbsolutePath();
-            String safePath = quote + builtPath + quote;
+    /**
+     * Converts the provided audio file to the format of the provided extension using ffmpeg,
+     * copying the cached conversion if the file has been converted before.
+     *
+     * @param audioFile the audio file to convert
+     * @param extension the extension of the format to convert to
+     * @return a temporary copy of the converted file, empty if the conversion failed
+     */
+    private static Future<Optional<File>> transcode(File audioFile, String extension) {
+        return transcodeExecutor.submit(() -> {
+            File destination = Dynamic.buildDynamic(Dynamic.TEMP.getFileName(), FileUtil.getFilename(audioFile)
+                    + "_" + SecurityUtil.generateUuid() + extension);
+
+            try {
+                return Optional.of(transcodeCache.get(audioFile,
+                        FFMPEG_TRANSCODE_PARAMETERS, extension, AudioUtil::ffmpegTranscode, destination));
+            } catch (IOException e) {
+                Logger.log(LogTag.AUDIO, "Failed to convert " + audioFile.getAbsolutePath()
+                        + " to " + extension + ": " + e.getMessage());
+                return Optional.empty();
+            }
+        });
+    }
 
-            File outputFile = new File(builtPath);
-            ProcessBuilder pb = new ProcessBuilder(getFfmpegCommand(), INPUT_FLAG,
-                    quote + wavFile.getAbsolutePath() + quote, safePath);
-            pb.redirectErrorStream();
-            Process process = pb.start();
+    /**
+     * Converts the provided source file to the format implied by the extension of the destination using ffmpeg.
+     *
+     * @param source      the file to convert
+     * @param destination the file to write
+     * @throws IOException if ffmpeg cannot be started or exits unsuccessfully
+     */
+    private static void ffmpegTranscode(File source, File destination) throws IOException {
+        ProcessBuilder processBuilder = new ProcessBuilder(getFfmpegCommand(), INPUT_FLAG,
+                quote + source.getAbsolutePath() + quote, quote + destination.getAbsolutePath() + quote);
+        processBuilder.redirectErrorStream(true);
+        Process process = processBuilder.start();
 
-            // another precaution to ensure process is completed before file is returned
-            BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()));
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
             while (reader.readLine() != null) {
                 Thread.onSpinWait();
             }
+        }
 
-            // wait for file to be created by ffmpeg
-            while (!outputFile.exists()) {
-                Thread.onSpinWait();
-            }
-
-            return Optional.of(outputFile);
-        });
+        try {
+            int exitCode = process.waitFor();
+            if (exitCode != 0) throw new IOException("ffmpeg exited with code " + exitCode);
+        } catch (InterruptedException e) {
+            process.destroy();
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for ffmpeg", e);
+        }
     }
 
     /**
-     * Dreamifies the provided wav or mp3 audio file.
-     * The optional may be empty if the file could not
-     * be converted if required and processed.
+     * Dreamifies the provided wav or mp3 audio file by applying a {@link DreamyEffect} to the decoded audio.
+     * The result is written as a wav file to the Cyder temporary directory.
+     * The optional may be empty if the file could not be decoded and processed.
      *
      * @param wavOrMp3File the old file to dreamify
-     * @return the dreamified wav or mp3 file
+     * @return the dreamified wav file
      */
     public static Future<Optional<File>> dreamifyAudio(File wavOrMp3File) {
         Preconditions.checkNotNull(wavOrMp3File);
         Preconditions.checkArgument(wavOrMp3File.exists());
         Preconditions.checkArgument(FileUtil.isSupportedAudioExtension(wavOrMp3File));
 
-        String executorThreadName = audioDreamifierThreadNamePrefix + FileUtil.getFilename(wavOrMp3File);
-
-        return Executors.newSingleThreadExecutor(
-                new CyderThreadFactory(executorThreadName)).submit(() -> {
-
-            // in case the audio wav name contains spaces, surround with quotes
-            String safeFilename = quote + wavOrMp3File.getAbsolutePath() + quote;
-
+        return dreamifyExecutor.submit(() -> {
             File outputFile = Dynamic.buildDynamic(Dynamic.TEMP.getFileName(),
-                    FileUtil.getFilename(wavOrMp3File) + DREAMY_SUFFIX + Extension.MP3.getExtension());
-            String safeOutputFilename = quote + outputFile.getAbsolutePath() + quote;
-
-            String[] command = {
-                    getFfmpegCommand(),
-                    INPUT_FLAG,
-                    safeFilename,
-                    FILTER_DASH_A,
-                    HIGHPASS_LOWPASS_ARGS,
-                    safeOutputFilename};
-            ProcessBuilder processBuilder = new ProcessBuilder(command);
-            Process process = processBuilder.start();
-
-            /*
-            Audio length might change from ffmpeg high and low pass filters.
-             */
-            while (!outputFile.exists()) Thread.onSpinWait();
-            process.waitFor();
-
-            int exitValue = process.exitValue();
-            if (exitValue != 0) {
+                    FileUtil.getFilename(wavOrMp3File) + DREAMY_SUFFIX + Extension.WAV.getExtension());
+
+            try {
+                DreamifyPipeline.dreamify(wavOrMp3File, outputFile);
+            } catch (IOException e) {
+                Logger.log(LogTag.AUDIO, "Failed to dreamify " + wavOrMp3File.getAbsolutePath()
+                        + ": " + e.getMessage());
+                OsUtil.deleteFile(outputFile);
                 return Optional.empty();
             }
 
@@ -377,11 +358,7 @@ public final class AudioUtil {
             );
 
             for (PairedFile pairedZipFile : downloadZips) {
-                NetworkUtil.downloadResource(pairedZipFile.url(), pairedZipFile.file());
-
-                while (!pairedZipFile.file().exists()) {
-                    Thread.onSpinWait();
-                }
+                if (!NetworkUtil.downloadResource(pairedZipFile.url(), pairedZipFile.file())) return false;
 
                 File extractFolder = Dynamic.buildDynamic(Dynamic.EXES.getFileName());
                 FileUtil.unzip(pairedZipFile.file(), extractFolder);
@@ -414,8 +391,7 @@ public final class AudioUtil {
                     Dynamic.EXES.getFileName(), Program.YOUTUBE_DL.getProgramName()
                             + Extension.ZIP.getExtension());
 
-            NetworkUtil.downloadResource(youtubeDlResourceDownload, downloadZip);
-            while (!downloadZip.exists()) Thread.onSpinWait();
+            if (!NetworkUtil.downloadResource(youtubeDlResourceDownload, downloadZip)) return false;
 
             File extractFolder = Dynamic.buildDynamic(Dynamic.EXES.getFileName());
 
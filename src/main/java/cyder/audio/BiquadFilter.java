@@ -0,0 +1,165 @@
+package cyder.audio;
+
+import com.google.common.base.Preconditions;
+
+import java.util.Arrays;
+
+/**
+ * A second order IIR filter operating on interleaved samples of one or more channels.
+ * Coefficients follow the biquad formulas of Robert Bristow-Johnson's audio EQ cookbook and samples
+ * are processed using the transposed direct form II, keeping two state values per channel.
+ */
+public final class BiquadFilter {
+    /**
+     * The quality factor of a Butterworth response, the default of ffmpeg's highpass and lowpass filters.
+     */
+    public static final double BUTTERWORTH_Q = 1.0 / Math.sqrt(2.0);
+
+    /**
+     * The types of responses a biquad filter may have.
+     */
+    public enum Type {
+        /**
+         * A filter passing frequencies below the cutoff.
+         */
+        LOW_PASS,
+
+        /**
+         * A filter passing frequencies above the cutoff.
+         */
+        HIGH_PASS
+    }
+
+    /**
+     * The normalized feed forward coefficients.
+     */
+    private final double b0, b1, b2;
+
+    /**
+     * The normalized feedback coefficients.
+     */
+    private final double a1, a2;
+
+    /**
+     * The number of interleaved channels.
+     */
+    private final int channels;
+
+    /**
+     * The first state value of each channel.
+     */
+    private final double[] z1;
+
+    /**
+     * The second state value of each channel.
+     */
+    private final double[] z2;
+
+    /**
+     * The sample rate the filter was designed for.
+     */
+    private final double sampleRate;
+
+    /**
+     * Constructs a new biquad filter.
+     *
+     * @param type       the type of response
+     * @param sampleRate the sample rate of the samples to filter
+     * @param cutoff     the cutoff frequency in hertz, must be below the Nyquist frequency
+     * @param q          the quality factor
+     * @param channels   the number of interleaved channels
+     */
+    public BiquadFilter(Type type, double sampleRate, double cutoff, double q, int channels) {
+        Preconditions.checkNotNull(type);
+        Preconditions.checkArgument(sampleRate > 0);
+        Preconditions.checkArgument(cutoff > 0 && cutoff < sampleRate / 2);
+        Preconditions.checkArgument(q > 0);
+        Preconditions.checkArgument(channels > 0);
+
+        double w0 = 2 * Math.PI * cutoff / sampleRate;
+        double cos = Math.cos(w0);
+        double alpha = Math.sin(w0) / (2 * q);
+        double a0 = 1 + alpha;
+
+        double ff = type == Type.LOW_PASS ? (1 - cos) / 2 : (1 + cos) / 2;
+        b0 = ff / a0;
+        b1 = (type == Type.LOW_PASS ? 2 * ff : -2 * ff) / a0;
+        b2 = ff / a0;
+        a1 = -2 * cos / a0;
+        a2 = (1 - alpha) / a0;
+
+        this.sampleRate = sampleRate;
+        this.channels = channels;
+        this.z1 = new double[channels];
+        this.z2 = new double[channels];
+    }
+
+    /**
+     * Filters the provided interleaved samples in place.
+     *
+     * @param samples the interleaved samples
+     * @param offset  the index of the first sample, must begin a frame
+     * @param length  the number of samples, must be a multiple of the number of channels
+     */
+    public void process(float[] samples, int offset, int length) {
+        Preconditions.checkNotNull(samples);
+        Preconditions.checkPositionIndexes(offset, offset + length, samples.length);
+        Preconditions.checkArgument(length % channels == 0);
+
+        for (int channel = 0 ; channel < channels ; channel++) {
+            double s1 = z1[channel];
+            double s2 = z2[channel];
+
+            for (int i = offset + channel ; i < offset + length ; i += channels) {
+                double in = samples[i];
+                double out = b0 * in + s1;
+                s1 = b1 * in - a1 * out + s2;
+                s2 = b2 * in - a2 * out;
+                samples[i] = (float) out;
+            }
+
+            z1[channel] = s1;
+            z2[channel] = s2;
+        }
+    }
+
+    /**
+     * Clears the state of this filter as if no samples had been processed.
+     */
+    public void reset() {
+        Arrays.fill(z1, 0);
+        Arrays.fill(z2, 0);
+    }
+
+    /**
+     * Returns the number of interleaved channels this filter processes.
+     *
+     * @return the number of interleaved channels this filter processes
+     */
+    public int getChannels() {
+        return channels;
+    }
+
+    /**
+     * Returns the magnitude of this filter's transfer function at the provided frequency.
+     *
+     * @param frequency the frequency in hertz
+     * @return the linear gain of this filter at the provided frequency
+     */
+    public double getMagnitudeResponse(double frequency) {
+        Preconditions.checkArgument(frequency >= 0 && frequency <= sampleRate / 2);
+
+        double w = 2 * Math.PI * frequency / sampleRate;
+        double cos1 = Math.cos(w);
+        double sin1 = Math.sin(w);
+        double cos2 = Math.cos(2 * w);
+        double sin2 = Math.sin(2 * w);
+
+        double numeratorReal = b0 + b1 * cos1 + b2 * cos2;
+        double numeratorImaginary = -(b1 * sin1 + b2 * sin2);
+        double denominatorReal = 1 + a1 * cos1 + a2 * cos2;
+        double denominatorImaginary = -(a1 * sin1 + a2 * sin2);
+
+        return Math.hypot(numeratorReal, numeratorImaginary) / Math.hypot(denominatorReal, denominatorImaginary);
+    }
+}
@@ -0,0 +1,163 @@
+package cyder.audio;
+
+import com.google.common.base.Preconditions;
+import cyder.exceptions.IllegalMethodException;
+import cyder.strings.CyderStrings;
+
+import javax.sound.sampled.AudioFileFormat;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * A streaming pipeline which decodes a wav or mp3 file to 16-bit PCM using a {@link TrackDecoder}, applies a
+ * {@link DreamyEffect} block by block, and writes the result to a wav file without holding the decoded audio
+ * in memory.
+ */
+final class DreamifyPipeline {
+    /**
+     * The number of frames filtered per block.
+     */
+    static final int BLOCK_FRAMES = 4096;
+
+    /**
+     * The number of bits of the samples the pipeline operates on.
+     */
+    private static final int BITS_PER_SAMPLE = 16;
+
+    /**
+     * The number of bytes of the samples the pipeline operates on.
+     */
+    private static final int BYTES_PER_SAMPLE = BITS_PER_SAMPLE / Byte.SIZE;
+
+    /**
+     * Suppress default constructor.
+     */
+    private DreamifyPipeline() {
+        throw new IllegalMethodException(CyderStrings.ATTEMPTED_INSTANTIATION);
+    }
+
+    /**
+     * Applies the dreamy effect to the provided wav or mp3 file, writing the result to the provided wav file.
+     *
+     * @param input  the wav or mp3 file
+     * @param output the wav file to write
+     * @throws IOException if the input cannot be decoded or the output cannot be written
+     */
+    static void dreamify(File input, File output) throws IOException {
+        Preconditions.checkNotNull(input);
+        Preconditions.checkArgument(input.exists());
+        Preconditions.checkNotNull(output);
+
+        try (TrackDecoder decoder = TrackDecoder.open(input)) {
+            AudioFormat format = new AudioFormat(decoder.getSampleRate(), BITS_PER_SAMPLE,
+                    decoder.getChannels(), true, false);
+            DreamyEffect effect = new DreamyEffect(format.getSampleRate(), format.getChannels());
+            InputStream filtered = new FilteredPcmInputStream(decoder, effect);
+
+            try (AudioInputStream dreamy = new AudioInputStream(filtered, format, AudioSystem.NOT_SPECIFIED)) {
+                AudioSystem.write(dreamy, AudioFileFormat.Type.WAVE, output);
+            }
+        }
+    }
+
+    /**
+     * A stream of signed 16-bit little endian PCM decoded by a {@link TrackDecoder} with a dreamy effect applied.
+     */
+    private static final class FilteredPcmInputStream extends InputStream {
+        /**
+         * The decoder of unfiltered samples.
+         */
+        private final TrackDecoder decoder;
+
+        /**
+         * The effect to apply.
+         */
+        private final DreamyEffect effect;
+
+        /**
+         * The samples of the current block.
+         */
+        private final short[] samples;
+
+        /**
+         * The bytes of the current block.
+         */
+        private final byte[] bytes;
+
+        /**
+         * The number of filtered bytes of the current block.
+         */
+        private int limit;
+
+        /**
+         * The index of the next byte of the current block to read.
+         */
+        private int position;
+
+        /**
+         * Constructs a new filtered PCM input stream.
+         *
+         * @param decoder the decoder of unfiltered samples
+         * @param effect  the effect to apply
+         */
+        FilteredPcmInputStream(TrackDecoder decoder, DreamyEffect effect) {
+            this.decoder = decoder;
+            this.effect = effect;
+            this.samples = new short[Math.max(BLOCK_FRAMES * decoder.getChannels(),
+                    decoder.getMinimumBufferLength())];
+            this.bytes = new byte[samples.length * BYTES_PER_SAMPLE];
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int read() throws IOException {
+            if (position == limit && !fill()) return -1;
+            return bytes[position++] & 0xFF;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int read(byte[] destination, int offset, int length) throws IOException {
+            if (length == 0) return 0;
+            if (position == limit && !fill()) return -1;
+
+            int count = Math.min(length, limit - position);
+            System.arraycopy(bytes, position, destination, offset, count);
+            position += count;
+            return count;
+        }
+
+        /**
+         * Decodes and filters the next block of samples.
+         *
+         * @return whether any samples were decoded
+         * @throws IOException if the samples cannot be decoded
+         */
+        private boolean fill() throws IOException {
+            int sampleCount;
+            do {
+                sampleCount = decoder.read(samples);
+                if (sampleCount == -1) return false;
+            } while (sampleCount == 0);
+
+            effect.process(samples, 0, sampleCount);
+
+            for (int i = 0 ; i < sampleCount ; i++) {
+                bytes[2 * i] = (byte) samples[i];
+                bytes[2 * i + 1] = (byte) (samples[i] >> Byte.SIZE);
+            }
+
+            position = 0;
+            limit = sampleCount * BYTES_PER_SAMPLE;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package cyder.audio;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * The dreamy audio effect, a Butterworth high-pass filter followed by a Butterworth low-pass filter,
+ * applied to blocks of interleaved PCM samples as they are decoded.
+ */
+public final class DreamyEffect {
+    /**
+     * The cutoff of the high-pass filter in hertz.
+     */
+    public static final double HIGH_PASS_CUTOFF = 200;
+
+    /**
+     * The cutoff of the low-pass filter in hertz.
+     */
+    public static final double LOW_PASS_CUTOFF = 1500;
+
+    /**
+     * The scale of a normalized sample to a signed 16-bit sample.
+     */
+    private static final float SHORT_SCALE = -(float) Short.MIN_VALUE;
+
+    /**
+     * The high-pass filter.
+     */
+    private final BiquadFilter highPass;
+
+    /**
+     * The low-pass filter.
+     */
+    private final BiquadFilter lowPass;
+
+    /**
+     * The buffer samples are converted into for filtering.
+     */
+    private float[] block = new float[0];
+
+    /**
+     * Constructs a new dreamy effect.
+     *
+     * @param sampleRate the sample rate of the samples to process
+     * @param channels   the number of interleaved channels of the samples to process
+     */
+    public DreamyEffect(double sampleRate, int channels) {
+        Preconditions.checkArgument(sampleRate > 2 * LOW_PASS_CUTOFF);
+        Preconditions.checkArgument(channels > 0);
+
+        highPass = new BiquadFilter(BiquadFilter.Type.HIGH_PASS,
+                sampleRate, HIGH_PASS_CUTOFF, BiquadFilter.BUTTERWORTH_Q, channels);
+        lowPass = new BiquadFilter(BiquadFilter.Type.LOW_PASS,
+                sampleRate, LOW_PASS_CUTOFF, BiquadFilter.BUTTERWORTH_Q, channels);
+    }
+
+    /**
+     * Applies this effect to the provided normalized interleaved samples in place.
+     *
+     * @param samples the interleaved samples
+     * @param offset  the index of the first sample, must begin a frame
+     * @param length  the number of samples, must be a multiple of the number of channels
+     */
+    public void process(float[] samples, int offset, int length) {
+        highPass.process(samples, offset, length);
+        lowPass.process(samples, offset, length);
+    }
+
+    /**
+     * Applies this effect to the provided signed 16-bit interleaved samples in place,
+     * clipping filtered samples to the range of a short.
+     *
+     * @param samples the interleaved samples
+     * @param offset  the index of the first sample, must begin a frame
+     * @param length  the number of samples, must be a multiple of the number of channels
+     */
+    public void process(short[] samples, int offset, int length) {
+        Preconditions.checkNotNull(samples);
+        Preconditions.checkPositionIndexes(offset, offset + length, samples.length);
+
+        if (block.length < length) block = new float[length];
+        for (int i = 0 ; i < length ; i++) {
+            block[i] = samples[offset + i] / SHORT_SCALE;
+        }
+
+        process(block, 0, length);
+
+        for (int i = 0 ; i < length ; i++) {
+            float scaled = block[i] * SHORT_SCALE;
+            samples[offset + i] = (short) Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, Math.round(scaled)));
+        }
+    }
+
+    /**
+     * Clears the state of the filters, such as when playback jumps to a new location.
+     */
+    public void reset() {
+        highPass.reset();
+        lowPass.reset();
+    }
+
+    /**
+     * Returns the combined linear gain of the filters at the provided frequency.
+     *
+     * @param frequency the frequency in hertz
+     * @return the combined linear gain of the filters at the provided frequency
+     */
+    public double getMagnitudeResponse(double frequency) {
+        return highPass.getMagnitudeResponse(frequency) * lowPass.getMagnitudeResponse(frequency);
+    }
+}
@@ -0,0 +1,57 @@
+package cyder.audio;
+
+import com.google.common.base.Preconditions;
+
+import java.io.File;
+
+/**
+ * The metadata of an audio file within the music library.
+ *
+ * @param file           the audio file
+ * @param title          the title from the file's tags, or the file's name if untagged
+ * @param artist         the artist, empty if unknown
+ * @param album          the album, empty if unknown
+ * @param durationMillis the duration in milliseconds, {@link #UNKNOWN_DURATION} if unknown
+ * @param artworkOffset  the offset of the embedded artwork within the file, {@link #NO_ARTWORK} if absent
+ * @param artworkLength  the length of the embedded artwork in bytes
+ */
+public record LibraryTrack(File file, String title, String artist, String album, long durationMillis,
+                           long artworkOffset, int artworkLength) {
+    /**
+     * The duration of tracks whose duration could not be determined.
+     */
+    public static final long UNKNOWN_DURATION = -1;
+
+    /**
+     * The artwork offset of tracks without embedded artwork.
+     */
+    public static final long NO_ARTWORK = -1;
+
+    /**
+     * Constructs a new library track.
+     */
+    public LibraryTrack {
+        Preconditions.checkNotNull(file);
+        Preconditions.checkNotNull(title);
+        Preconditions.checkNotNull(artist);
+        Preconditions.checkNotNull(album);
+    }
+
+    /**
+     * Returns whether the duration of this track is known.
+     *
+     * @return whether the duration of this track is known
+     */
+    public boolean hasDuration() {
+        return durationMillis != UNKNOWN_DURATION;
+    }
+
+    /**
+     * Returns whether this track has embedded artwork.
+     *
+     * @return whether this track has embedded artwork
+     */
+    public boolean hasArtwork() {
+        return artworkOffset != NO_ARTWORK && artworkLength > 0;
+    }
+}
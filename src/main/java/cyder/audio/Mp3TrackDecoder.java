@@ -0,0 +1,230 @@
+package cyder.audio;
+
+import com.google.common.base.Preconditions;
+import javazoom.jl.decoder.Bitstream;
+import javazoom.jl.decoder.Decoder;
+import javazoom.jl.decoder.Header;
+import javazoom.jl.decoder.JavaLayerException;
+import javazoom.jl.decoder.SampleBuffer;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+
+/**
+ * A decoder of mp3 files using JLayer which decodes one frame at a time.
+ * <p>
+ * A leading Xing or Info frame holds no audio and is skipped rather than decoded as silence so that
+ * consecutive tracks are joined without an extra frame between them.
+ */
+final class Mp3TrackDecoder implements TrackDecoder {
+    /**
+     * The maximum number of samples of a decoded frame, 1152 samples for each of two channels.
+     */
+    private static final int MAXIMUM_FRAME_SAMPLES = 2 * 1152;
+
+    /**
+     * The bitstream of the file.
+     */
+    private final Bitstream bitstream;
+
+    /**
+     * The decoder of frames.
+     */
+    private final Decoder decoder = new Decoder();
+
+    /**
+     * The samples of the first frame, decoded when opened to determine the format.
+     */
+    private short[] pendingSamples;
+
+    /**
+     * The number of samples of {@link #pendingSamples}.
+     */
+    private int pendingLength;
+
+    /**
+     * The duration of the frame of {@link #pendingSamples} in milliseconds.
+     */
+    private float pendingMillis;
+
+    /**
+     * The sample rate of the decoded samples.
+     */
+    private int sampleRate;
+
+    /**
+     * The number of channels of the decoded samples.
+     */
+    private int channels;
+
+    /**
+     * The position in milliseconds of the next frame to be read from the bitstream.
+     */
+    private double positionMillis;
+
+    /**
+     * Whether the end of the file has been reached.
+     */
+    private boolean ended;
+
+    /**
+     * Constructs a new mp3 decoder, decoding the first frame to determine the format.
+     *
+     * @param file the mp3 file
+     * @throws IOException if the file cannot be opened or contains no frames
+     */
+    Mp3TrackDecoder(File file) throws IOException {
+        Preconditions.checkNotNull(file);
+
+        bitstream = new Bitstream(new BufferedInputStream(new FileInputStream(file)));
+
+        try {
+            Header header = bitstream.readFrame();
+            if (header != null && header.vbr()) {
+                positionMillis += header.ms_per_frame();
+                bitstream.closeFrame();
+                header = bitstream.readFrame();
+            }
+            if (header == null) throw new IOException("No frames found in " + file.getName());
+
+            decodePending(header);
+        } catch (JavaLayerException e) {
+            close();
+            throw new IOException("Failed to decode " + file.getName(), e);
+        } catch (IOException | RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getSampleRate() {
+        return sampleRate;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getChannels() {
+        return channels;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getPositionMillis() {
+        return (long) (pendingSamples != null ? positionMillis - pendingMillis : positionMillis);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void skipTo(long millis) throws IOException {
+        if (getPositionMillis() >= millis) return;
+
+        try {
+            pendingSamples = null;
+            Header header = null;
+            while (!ended) {
+                header = bitstream.readFrame();
+                if (header == null) {
+                    ended = true;
+                    return;
+                }
+                if (positionMillis + header.ms_per_frame() > millis) break;
+
+                positionMillis += header.ms_per_frame();
+                bitstream.closeFrame();
+            }
+
+            if (header != null) decodePending(header);
+        } catch (JavaLayerException e) {
+            throw new IOException("Failed to skip to " + millis + "ms", e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int read(short[] buffer) throws IOException {
+        Preconditions.checkNotNull(buffer);
+        Preconditions.checkArgument(buffer.length >= MAXIMUM_FRAME_SAMPLES);
+
+        if (pendingSamples != null) {
+            System.arraycopy(pendingSamples, 0, buffer, 0, pendingLength);
+            pendingSamples = null;
+            return pendingLength;
+        }
+
+        try {
+            while (!ended) {
+                Header header = bitstream.readFrame();
+                if (header == null) {
+                    ended = true;
+                    break;
+                }
+
+                SampleBuffer output = (SampleBuffer) decoder.decodeFrame(header, bitstream);
+                positionMillis += header.ms_per_frame();
+                bitstream.closeFrame();
+
+                int length = output.getBufferLength();
+                if (length == 0) continue;
+                System.arraycopy(output.getBuffer(), 0, buffer, 0, length);
+                return length;
+            }
+        } catch (JavaLayerException e) {
+            throw new IOException("Failed to decode frame at " + getPositionMillis() + "ms", e);
+        }
+
+        return -1;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getMinimumBufferLength() {
+        return MAXIMUM_FRAME_SAMPLES;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            bitstream.close();
+        } catch (JavaLayerException e) {
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * Decodes the frame of the provided header into {@link #pendingSamples}, recording the format.
+     *
+     * @param header the header of the frame, which must not yet be closed
+     * @throws JavaLayerException if the frame cannot be decoded
+     */
+    private void decodePending(Header header) throws JavaLayerException {
+        SampleBuffer output = (SampleBuffer) decoder.decodeFrame(header, bitstream);
+        bitstream.closeFrame();
+
+        sampleRate = output.getSampleFrequency();
+        channels = output.getChannelCount();
+        pendingLength = output.getBufferLength();
+        pendingSamples = new short[pendingLength];
+        System.arraycopy(output.getBuffer(), 0, pendingSamples, 0, pendingLength);
+        pendingMillis = header.ms_per_frame();
+        positionMillis += pendingMillis;
+    }
+}
@@ -0,0 +1,278 @@
+package cyder.audio;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import cyder.files.FileUtil;
+import cyder.logging.LogTag;
+import cyder.logging.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Optional;
+
+/**
+ * A persisted index of the metadata of audio files, allowing the music library to be listed,
+ * sorted, and searched without reading every file's tags each time.
+ * <p>
+ * The index is loaded on first use. Files are read by {@link AudioMetadataReader} when first requested
+ * and read again only if their modification time or length changed since they were indexed. Files
+ * which no longer exist are dropped when their directory is listed. The index is rebuilt entirely
+ * if the index file is missing or unreadable.
+ * <p>
+ * The ordered tracks of each listed directory are kept until the directory's modification time changes,
+ * which happens when files are added, removed, or renamed, so that repeatedly listing an unchanged
+ * directory, such as on every skip, neither lists it nor checks each of its files. Files rewritten in
+ * place are noticed when requested by {@link #getTrack(File)}, which discards the listing of their directory.
+ */
+final class MusicIndex {
+    /**
+     * The magic number identifying an index file.
+     */
+    private static final int MAGIC = 0x4D494458;
+
+    /**
+     * The version of the index file format.
+     */
+    private static final byte VERSION = 1;
+
+    /**
+     * The coarsest modification time granularity of supported file systems. Listings made within this
+     * long of their directory's last modification are not kept, as a later change within the same
+     * modification time tick would go unnoticed.
+     */
+    private static final long MODIFICATION_TIME_GRANULARITY_MILLIS = 2000;
+
+    /**
+     * An indexed track along with the state of its file when indexed.
+     *
+     * @param track            the track
+     * @param fileLastModified the modification time of the file when indexed
+     * @param fileLength       the length of the file when indexed
+     */
+    private record IndexedTrack(LibraryTrack track, long fileLastModified, long fileLength) {
+        /**
+         * Returns whether the provided file has not changed since this track was indexed.
+         *
+         * @param file the audio file
+         * @return whether the provided file has not changed since this track was indexed
+         */
+        boolean matches(File file) {
+            return fileLastModified == file.lastModified() && fileLength == file.length();
+        }
+    }
+
+    /**
+     * The ordered tracks of a directory along with the state of the directory when listed.
+     *
+     * @param directoryLastModified the modification time of the directory when listed
+     * @param listedMillis          the time the directory was listed
+     * @param tracks                the tracks of the directory ordered by filename
+     */
+    private record DirectoryListing(long directoryLastModified, long listedMillis,
+                                    ImmutableList<LibraryTrack> tracks) {
+        /**
+         * Returns whether the provided directory has not changed since it was listed.
+         *
+         * @param directory the directory
+         * @return whether the provided directory has not changed since it was listed
+         */
+        boolean matches(File directory) {
+            return directoryLastModified == directory.lastModified()
+                    && listedMillis - directoryLastModified >= MODIFICATION_TIME_GRANULARITY_MILLIS;
+        }
+    }
+
+    /**
+     * The file the index is persisted to.
+     */
+    private final File indexFile;
+
+    /**
+     * The indexed tracks keyed by absolute path, guarded by this.
+     */
+    private final HashMap<String, IndexedTrack> tracks = new HashMap<>();
+
+    /**
+     * The listings of directories keyed by absolute path, guarded by this.
+     */
+    private final HashMap<String, DirectoryListing> listings = new HashMap<>();
+
+    /**
+     * Whether the index has been loaded, guarded by this.
+     */
+    private boolean loaded;
+
+    /**
+     * Whether the index changed since it was last saved, guarded by this.
+     */
+    private boolean dirty;
+
+    /**
+     * Constructs a new music index.
+     *
+     * @param indexFile the file the index is persisted to
+     */
+    MusicIndex(File indexFile) {
+        Preconditions.checkNotNull(indexFile);
+
+        this.indexFile = indexFile;
+    }
+
+    /**
+     * Returns the tracks of the supported audio files within the provided directory ordered by filename,
+     * reading only the files which are not indexed or changed since they were indexed. The tracks
+     * are listed again only if the directory changed since it was last listed.
+     *
+     * @param directory the directory
+     * @return the tracks of the audio files within the directory
+     */
+    synchronized ImmutableList<LibraryTrack> getTracks(File directory) {
+        Preconditions.checkNotNull(directory);
+        ensureLoaded();
+
+        String directoryPath = directory.getAbsolutePath();
+        DirectoryListing listing = listings.get(directoryPath);
+        if (listing != null && listing.matches(directory)) return listing.tracks();
+
+        long directoryLastModified = directory.lastModified();
+        long listedMillis = System.currentTimeMillis();
+        File[] files = directory.listFiles(file -> file.isFile() && FileUtil.isSupportedAudioExtension(file));
+        if (files == null) {
+            listings.remove(directoryPath);
+            return ImmutableList.of();
+        }
+        Arrays.sort(files, Comparator.comparing(File::getName));
+
+        if (tracks.keySet().removeIf(path -> directoryPath.equals(new File(path).getParent())
+                && !new File(path).exists())) {
+            dirty = true;
+        }
+
+        ImmutableList.Builder<LibraryTrack> ret = ImmutableList.builder();
+        for (File file : files) {
+            ret.add(current(file));
+        }
+
+        ImmutableList<LibraryTrack> directoryTracks = ret.build();
+        listings.put(directoryPath, new DirectoryListing(directoryLastModified, listedMillis, directoryTracks));
+        return directoryTracks;
+    }
+
+    /**
+     * Returns the track of the provided audio file, reading the file if not indexed or changed
+     * since it was indexed.
+     *
+     * @param file the audio file
+     * @return the track of the file, empty if the file does not exist or is not a supported audio file
+     */
+    synchronized Optional<LibraryTrack> getTrack(File file) {
+        Preconditions.checkNotNull(file);
+        ensureLoaded();
+
+        if (!file.isFile() || !FileUtil.isSupportedAudioExtension(file)) {
+            if (tracks.remove(file.getAbsolutePath()) != null) {
+                listings.remove(file.getAbsoluteFile().getParent());
+                dirty = true;
+            }
+            return Optional.empty();
+        }
+
+        return Optional.of(current(file));
+    }
+
+    /**
+     * Writes the index to the index file if it changed since it was last saved.
+     */
+    synchronized void save() {
+        if (!dirty) return;
+        dirty = false;
+
+        try {
+            FileUtil.writeVersionedAtomically(indexFile, MAGIC, VERSION, out -> {
+                out.writeInt(tracks.size());
+                for (IndexedTrack indexed : tracks.values()) {
+                    LibraryTrack track = indexed.track();
+                    out.writeUTF(track.file().getAbsolutePath());
+                    out.writeLong(indexed.fileLastModified());
+                    out.writeLong(indexed.fileLength());
+                    out.writeUTF(track.title());
+                    out.writeUTF(track.artist());
+                    out.writeUTF(track.album());
+                    out.writeLong(track.durationMillis());
+                    out.writeLong(track.artworkOffset());
+                    out.writeInt(track.artworkLength());
+                }
+            });
+        } catch (IOException e) {
+            dirty = true;
+            Logger.log(LogTag.SYSTEM_IO, "Failed to save music index: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the indexed track of the provided file, reading the file again if it changed since it was indexed
+     * and discarding the listing of its directory.
+     *
+     * @param file the audio file
+     * @return the track of the file
+     */
+    private LibraryTrack current(File file) {
+        String path = file.getAbsolutePath();
+        IndexedTrack indexed = tracks.get(path);
+        if (indexed != null && indexed.matches(file)) return indexed.track();
+
+        long lastModified = file.lastModified();
+        long length = file.length();
+        LibraryTrack track = read(file);
+        tracks.put(path, new IndexedTrack(track, lastModified, length));
+        listings.remove(file.getAbsoluteFile().getParent());
+        dirty = true;
+        return track;
+    }
+
+    /**
+     * Reads the metadata of the provided file. Unreadable files are indexed by filename
+     * so that they are not read again until they change.
+     *
+     * @param file the audio file
+     * @return the track of the file
+     */
+    private LibraryTrack read(File file) {
+        try {
+            return AudioMetadataReader.read(file.getAbsoluteFile());
+        } catch (IOException e) {
+            Logger.log(LogTag.AUDIO, "Failed to read metadata of " + file.getName() + ": " + e.getMessage());
+            return new LibraryTrack(file.getAbsoluteFile(), FileUtil.getFilename(file), "", "",
+                    LibraryTrack.UNKNOWN_DURATION, LibraryTrack.NO_ARTWORK, 0);
+        }
+    }
+
+    /**
+     * Loads the persisted index if not yet loaded.
+     */
+    private void ensureLoaded() {
+        if (loaded) return;
+        loaded = true;
+
+        try {
+            dirty = !FileUtil.readVersioned(indexFile, MAGIC, VERSION, in -> {
+                int count = in.readInt();
+                for (int i = 0 ; i < count ; i++) {
+                    File file = new File(in.readUTF());
+                    long lastModified = in.readLong();
+                    long length = in.readLong();
+                    LibraryTrack track = new LibraryTrack(file, in.readUTF(), in.readUTF(), in.readUTF(),
+                            in.readLong(), in.readLong(), in.readInt());
+                    tracks.put(file.getAbsolutePath(), new IndexedTrack(track, lastModified, length));
+                }
+            });
+        } catch (IOException e) {
+            tracks.clear();
+            dirty = true;
+            Logger.log(LogTag.SYSTEM_IO, "Rebuilding unreadable music index: " + e.getMessage());
+        }
+    }
+}
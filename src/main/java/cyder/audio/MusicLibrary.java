@@ -0,0 +1,268 @@
+package cyder.audio;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import cyder.enumerations.Dynamic;
+import cyder.exceptions.IllegalMethodException;
+import cyder.files.FileUtil;
+import cyder.logging.LogTag;
+import cyder.logging.Logger;
+import cyder.strings.CyderStrings;
+import cyder.threads.CyderThreadRunner;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
+
+/**
+ * The music library of audio files whose titles, artists, albums, durations, and embedded artwork
+ * are read once and persisted so that the audio player may sort and search directories of audio
+ * files without reading each file or spawning a process per file.
+ */
+public final class MusicLibrary {
+    /**
+     * The name of the file the index is persisted to within {@link Dynamic#MUSIC_INDEX}.
+     */
+    private static final String INDEX_FILE_NAME = "index.bin";
+
+    /**
+     * The name of the thread which indexes directories in the background.
+     */
+    private static final String INDEXER_THREAD_NAME = "Music Library Indexer";
+
+    /**
+     * The name of the thread which saves the index in the background.
+     */
+    private static final String INDEX_SAVER_THREAD_NAME = "Music Library Saver";
+
+    /**
+     * The maximum length of embedded artwork which will be decoded.
+     */
+    private static final int MAXIMUM_ARTWORK_LENGTH = 16 * 1024 * 1024;
+
+    /**
+     * The index of the music library.
+     */
+    private static final MusicIndex index = new MusicIndex(
+            Dynamic.buildDynamic(Dynamic.MUSIC_INDEX.getFileName(), INDEX_FILE_NAME));
+
+    /**
+     * Suppress default constructor.
+     */
+    private MusicLibrary() {
+        throw new IllegalMethodException(CyderStrings.ATTEMPTED_INSTANTIATION);
+    }
+
+    /**
+     * The orders tracks may be sorted in.
+     */
+    public enum SortOrder {
+        /**
+         * Tracks are sorted by filename.
+         */
+        FILENAME("Filename", track -> track.file().getName()),
+
+        /**
+         * Tracks are sorted by title.
+         */
+        TITLE("Title", LibraryTrack::title),
+
+        /**
+         * Tracks are sorted by artist, then album, then title.
+         */
+        ARTIST("Artist", track -> track.artist() + '\0' + track.album() + '\0' + track.title()),
+
+        /**
+         * Tracks are sorted by album, then title.
+         */
+        ALBUM("Album", track -> track.album() + '\0' + track.title()),
+
+        /**
+         * Tracks are sorted by duration with tracks of unknown duration last.
+         */
+        DURATION("Duration", null);
+
+        /**
+         * The name of this sort order.
+         */
+        private final String name;
+
+        /**
+         * The comparator of this sort order.
+         */
+        private final Comparator<LibraryTrack> comparator;
+
+        SortOrder(String name, Function<LibraryTrack, String> key) {
+            this.name = name;
+
+            Comparator<LibraryTrack> primary = key == null
+                    ? Comparator.comparingLong(track -> track.hasDuration() ? track.durationMillis() : Long.MAX_VALUE)
+                    : Comparator.comparing(track -> key.apply(track).toLowerCase(Locale.ROOT));
+            this.comparator = primary.thenComparing(track -> track.file().getName());
+        }
+
+        /**
+         * Returns the name of this sort order.
+         *
+         * @return the name of this sort order
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Returns the comparator of this sort order.
+         *
+         * @return the comparator of this sort order
+         */
+        public Comparator<LibraryTrack> getComparator() {
+            return comparator;
+        }
+
+        /**
+         * Returns the sort order following this one, wrapping around to the first.
+         *
+         * @return the sort order following this one
+         */
+        public SortOrder next() {
+            SortOrder[] values = values();
+            return values[(ordinal() + 1) % values.length];
+        }
+    }
+
+    /**
+     * Returns the tracks of the audio files within the provided directory in the provided order.
+     *
+     * @param directory the directory
+     * @param sortOrder the order to sort the tracks in
+     * @return the tracks of the audio files within the directory
+     */
+    public static ImmutableList<LibraryTrack> getTracks(File directory, SortOrder sortOrder) {
+        Preconditions.checkNotNull(directory);
+        Preconditions.checkNotNull(sortOrder);
+
+        ImmutableList<LibraryTrack> tracks = index.getTracks(directory);
+        if (sortOrder == SortOrder.FILENAME) return tracks;
+        return ImmutableList.sortedCopyOf(sortOrder.getComparator(), tracks);
+    }
+
+    /**
+     * Returns the track of the provided audio file.
+     *
+     * @param file the audio file
+     * @return the track of the file, empty if the file does not exist or is not a supported audio file
+     */
+    public static Optional<LibraryTrack> getTrack(File file) {
+        Preconditions.checkNotNull(file);
+
+        return index.getTrack(file);
+    }
+
+    /**
+     * Returns the tracks within the provided directory whose title, artist, album, or filename contain
+     * every whitespace separated term of the provided query, ignoring case. Tracks whose title starts
+     * with the query are ordered first.
+     *
+     * @param directory the directory
+     * @param query     the query
+     * @param sortOrder the order to sort tracks of equal rank in
+     * @return the matching tracks
+     */
+    public static ImmutableList<LibraryTrack> search(File directory, String query, SortOrder sortOrder) {
+        Preconditions.checkNotNull(directory);
+        Preconditions.checkNotNull(query);
+        Preconditions.checkNotNull(sortOrder);
+
+        String normalizedQuery = query.trim().toLowerCase(Locale.ROOT);
+        ImmutableList<LibraryTrack> tracks = getTracks(directory, sortOrder);
+        if (normalizedQuery.isEmpty()) return tracks;
+
+        String[] terms = normalizedQuery.split("\\s+");
+        Comparator<LibraryTrack> rank = Comparator.comparing(
+                track -> !track.title().toLowerCase(Locale.ROOT).startsWith(normalizedQuery));
+        return tracks.stream()
+                .filter(track -> {
+                    String haystack = String.join("\n", track.title(), track.artist(), track.album(),
+                            track.file().getName()).toLowerCase(Locale.ROOT);
+                    return Arrays.stream(terms).allMatch(haystack::contains);
+                })
+                .sorted(rank)
+                .collect(ImmutableList.toImmutableList());
+    }
+
+    /**
+     * Returns the duration of the provided audio file in milliseconds, falling back to FFprobe
+     * if the duration could not be determined from the file's headers.
+     * Note, this method may block. Callers should surround invocation of this method in a separate thread.
+     *
+     * @param file the audio file
+     * @return the duration of the file in milliseconds
+     * @throws ExecutionException   if the FFprobe fallback does not complete properly
+     * @throws InterruptedException if the thread was interrupted while waiting for the FFprobe fallback
+     */
+    public static int getDurationMillis(File file) throws ExecutionException, InterruptedException {
+        Preconditions.checkNotNull(file);
+        Preconditions.checkArgument(file.exists());
+        Preconditions.checkArgument(FileUtil.isSupportedAudioExtension(file));
+
+        Optional<LibraryTrack> track = index.getTrack(file);
+        if (track.isPresent() && track.get().hasDuration()) {
+            return (int) Math.min(Integer.MAX_VALUE, track.get().durationMillis());
+        }
+
+        return AudioUtil.getMillisFfprobe(file);
+    }
+
+    /**
+     * Decodes the artwork embedded within the provided track's file.
+     *
+     * @param track the track
+     * @return the artwork, empty if the track has no artwork or it could not be decoded
+     */
+    public static Optional<BufferedImage> readArtwork(LibraryTrack track) {
+        Preconditions.checkNotNull(track);
+        if (!track.hasArtwork() || track.artworkLength() > MAXIMUM_ARTWORK_LENGTH) return Optional.empty();
+
+        try (RandomAccessFile in = new RandomAccessFile(track.file(), "r")) {
+            if (track.artworkOffset() + track.artworkLength() > in.length()) return Optional.empty();
+
+            byte[] artwork = new byte[track.artworkLength()];
+            in.seek(track.artworkOffset());
+            in.readFully(artwork);
+            return Optional.ofNullable(ImageIO.read(new ByteArrayInputStream(artwork)));
+        } catch (IOException e) {
+            Logger.log(LogTag.AUDIO, "Failed to read artwork of " + track.file().getName() + ": " + e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Indexes the audio files within the provided directory on a separate thread and saves the index.
+     *
+     * @param directory the directory
+     */
+    public static void indexInBackground(File directory) {
+        Preconditions.checkNotNull(directory);
+
+        CyderThreadRunner.submit(() -> {
+            index.getTracks(directory);
+            index.save();
+        }, INDEXER_THREAD_NAME);
+    }
+
+    /**
+     * Saves the index on a separate thread if it changed since it was last saved.
+     */
+    public static void saveInBackground() {
+        CyderThreadRunner.submit(index::save, INDEX_SAVER_THREAD_NAME);
+    }
+}
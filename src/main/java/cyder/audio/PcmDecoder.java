@@ -0,0 +1,166 @@
+package cyder.audio;
+
+import com.google.common.base.Preconditions;
+
+import javax.sound.sampled.AudioFormat;
+import java.nio.ByteBuffer;
+
+/**
+ * A decoder for converting raw PCM sample bytes of an {@link AudioFormat} into normalized floats.
+ * Decoding reads directly from a {@link ByteBuffer} using absolute indices meaning
+ * no intermediate arrays or buffers are allocated per sample.
+ */
+final class PcmDecoder {
+    /**
+     * The number of bits in a byte.
+     */
+    private static final int BITS_PER_BYTE = 8;
+
+    /**
+     * The mask for extracting the unsigned value of a byte.
+     */
+    private static final int BYTE_MASK = 0xFF;
+
+    /**
+     * The number of bytes of a single sample of a single channel.
+     */
+    private final int bytesPerSample;
+
+    /**
+     * The number of channels of a frame.
+     */
+    private final int channels;
+
+    /**
+     * Whether samples are stored big endian.
+     */
+    private final boolean bigEndian;
+
+    /**
+     * Whether samples are signed integers.
+     */
+    private final boolean signed;
+
+    /**
+     * Whether samples are IEEE floats.
+     */
+    private final boolean floatingPoint;
+
+    /**
+     * The shift used to sign extend integer samples.
+     */
+    private final int signShift;
+
+    /**
+     * The offset subtracted from unsigned samples to center them about zero.
+     */
+    private final long unsignedOffset;
+
+    /**
+     * The multiplier for normalizing integer samples to the range [-1.0, 1.0).
+     */
+    private final float normalizer;
+
+    /**
+     * Constructs a new PCM decoder for the provided audio format.
+     *
+     * @param format the audio format of the bytes to decode
+     * @throws IllegalArgumentException if the format is not 8, 16, 24, or 32-bit PCM
+     */
+    PcmDecoder(AudioFormat format) {
+        Preconditions.checkNotNull(format);
+
+        AudioFormat.Encoding encoding = format.getEncoding();
+        int bitsPerSample = format.getSampleSizeInBits();
+        Preconditions.checkArgument(bitsPerSample > 0 && bitsPerSample % BITS_PER_BYTE == 0
+                && bitsPerSample <= Integer.SIZE, "Unsupported sample size: " + bitsPerSample);
+
+        floatingPoint = encoding.equals(AudioFormat.Encoding.PCM_FLOAT);
+        signed = encoding.equals(AudioFormat.Encoding.PCM_SIGNED);
+        Preconditions.checkArgument(floatingPoint || signed
+                || encoding.equals(AudioFormat.Encoding.PCM_UNSIGNED), "Unsupported encoding: " + encoding);
+        Preconditions.checkArgument(!floatingPoint || bitsPerSample == Float.SIZE);
+
+        bytesPerSample = bitsPerSample / BITS_PER_BYTE;
+        channels = format.getChannels();
+        bigEndian = format.isBigEndian();
+        signShift = Integer.SIZE - bitsPerSample;
+        unsignedOffset = 1L << (bitsPerSample - 1);
+        normalizer = 1.0f / unsignedOffset;
+    }
+
+    /**
+     * Returns the number of bytes of a single sample of a single channel.
+     *
+     * @return the number of bytes of a single sample of a single channel
+     */
+    int getBytesPerSample() {
+        return bytesPerSample;
+    }
+
+    /**
+     * Returns the number of bytes of a frame containing one sample for each channel.
+     *
+     * @return the number of bytes of a frame
+     */
+    int getBytesPerFrame() {
+        return bytesPerSample * channels;
+    }
+
+    /**
+     * Returns the number of channels of a frame.
+     *
+     * @return the number of channels of a frame
+     */
+    int getChannels() {
+        return channels;
+    }
+
+    /**
+     * Decodes the sample beginning at the provided absolute byte index of the buffer.
+     *
+     * @param buffer    the buffer to read from
+     * @param byteIndex the absolute index of the first byte of the sample
+     * @return the sample normalized to the range [-1.0, 1.0]
+     */
+    float decode(ByteBuffer buffer, int byteIndex) {
+        int raw = readBits(buffer, byteIndex);
+
+        if (floatingPoint) return Float.intBitsToFloat(raw);
+        if (signed) return ((raw << signShift) >> signShift) * normalizer;
+        return ((raw & 0xFFFFFFFFL) - unsignedOffset) * normalizer;
+    }
+
+    /**
+     * Decodes the sample beginning at the provided absolute byte index of the buffer
+     * as a signed integer of the sample size of the format. Unsigned samples are centered about zero
+     * and floating point samples are scaled to the range of a signed 32-bit integer.
+     *
+     * @param buffer    the buffer to read from
+     * @param byteIndex the absolute index of the first byte of the sample
+     * @return the signed integer sample
+     */
+    int decodeRaw(ByteBuffer buffer, int byteIndex) {
+        int raw = readBits(buffer, byteIndex);
+
+        if (floatingPoint) return (int) (Float.intBitsToFloat(raw) * (double) Integer.MAX_VALUE);
+        if (signed) return (raw << signShift) >> signShift;
+        return (int) ((raw & 0xFFFFFFFFL) - unsignedOffset);
+    }
+
+    /**
+     * Reads the bytes of the sample beginning at the provided index into the low bits of an integer.
+     *
+     * @param buffer    the buffer to read from
+     * @param byteIndex the absolute index of the first byte of the sample
+     * @return the bits of the sample
+     */
+    private int readBits(ByteBuffer buffer, int byteIndex) {
+        int raw = 0;
+        for (int i = 0 ; i < bytesPerSample ; i++) {
+            int index = byteIndex + (bigEndian ? i : bytesPerSample - 1 - i);
+            raw = (raw << BITS_PER_BYTE) | (buffer.get(index) & BYTE_MASK);
+        }
+        return raw;
+    }
+}
@@ -0,0 +1,78 @@
+package cyder.audio;
+
+import com.google.common.base.Preconditions;
+import cyder.enumerations.Extension;
+import cyder.files.FileUtil;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * A decoder of an audio file into interleaved signed 16-bit PCM samples.
+ */
+public interface TrackDecoder extends Closeable {
+    /**
+     * Returns the sample rate of the decoded samples in hertz.
+     *
+     * @return the sample rate of the decoded samples
+     */
+    int getSampleRate();
+
+    /**
+     * Returns the number of interleaved channels of the decoded samples.
+     *
+     * @return the number of interleaved channels
+     */
+    int getChannels();
+
+    /**
+     * Returns the position in milliseconds of the next sample {@link #read(short[])} will return.
+     *
+     * @return the position in milliseconds of the next sample
+     */
+    long getPositionMillis();
+
+    /**
+     * Skips samples without decoding them where possible until the provided position is reached.
+     *
+     * @param millis the position in milliseconds to skip to
+     * @throws IOException if the file cannot be read or decoded
+     */
+    void skipTo(long millis) throws IOException;
+
+    /**
+     * Decodes the next samples into the provided buffer.
+     *
+     * @param buffer the buffer, whose length must be at least {@link #getMinimumBufferLength()}
+     * @return the number of samples decoded, a multiple of the number of channels, or -1 at the end of the file
+     * @throws IOException if the file cannot be read or decoded
+     */
+    int read(short[] buffer) throws IOException;
+
+    /**
+     * Returns the minimum length of buffers passed to {@link #read(short[])}.
+     *
+     * @return the minimum length of buffers passed to {@link #read(short[])}
+     */
+    int getMinimumBufferLength();
+
+    /**
+     * Opens a decoder for the provided mp3 or wav file.
+     *
+     * @param file the audio file
+     * @return the decoder positioned at the start of the file
+     * @throws IOException if the file cannot be opened or its format is not supported
+     */
+    static TrackDecoder open(File file) throws IOException {
+        Preconditions.checkNotNull(file);
+
+        if (FileUtil.validateExtension(file, Extension.WAV.getExtension())) {
+            return new WavTrackDecoder(file);
+        } else if (FileUtil.validateExtension(file, Extension.MP3.getExtension())) {
+            return new Mp3TrackDecoder(file);
+        }
+
+        throw new IOException("Unsupported audio file: " + file.getName());
+    }
+}
@@ -0,0 +1,392 @@
+package cyder.audio;
+
+import com.google.common.base.Preconditions;
+import cyder.files.FileUtil;
+import cyder.logging.LogTag;
+import cyder.logging.Logger;
+import cyder.utils.SecurityUtil;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A persistent, size bounded cache of transcoded audio files.
+ * <p>
+ * Entries are keyed by the SHA-256 hash of the source file's contents combined with the conversion
+ * parameters, meaning renamed or copied sources share entries while edited sources do not. Entries are
+ * evicted in least recently used order once the cache exceeds its capacity, with the modification time of
+ * each entry recording its last use so that the order survives restarts. Transcoders write to a partial file
+ * which is atomically moved into place once complete; partial files left by an interrupted session are
+ * deleted when the cache is first used. Concurrent requests for the same entry share a single transcode.
+ * <p>
+ * Callers never receive an entry itself, which a concurrent transcode could evict while in use. Instead each
+ * request copies the entry to a destination owned by the caller, with the entry pinned against eviction
+ * until the copy completes.
+ */
+final class TranscodeCache {
+    /**
+     * The marker inserted between the key and extension of files being written.
+     */
+    private static final String PARTIAL_MARKER = ".partial";
+
+    /**
+     * The size of the buffer used when hashing source files.
+     */
+    private static final int HASH_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * A conversion of a source file into a destination file.
+     */
+    @FunctionalInterface
+    interface Transcoder {
+        /**
+         * Transcodes the provided source file into the provided destination file.
+         *
+         * @param source      the source file
+         * @param destination the destination file, which does not exist
+         * @throws IOException if the transcode fails
+         */
+        void transcode(File source, File destination) throws IOException;
+    }
+
+    /**
+     * The content hash of a source file along with the modification time and length it was computed for.
+     *
+     * @param lastModified the modification time of the file
+     * @param length       the length of the file
+     * @param hash         the hex SHA-256 hash of the file
+     */
+    private record SourceHash(long lastModified, long length, String hash) {}
+
+    /**
+     * The directory entries are stored in.
+     */
+    private final File directory;
+
+    /**
+     * The maximum number of bytes of entries to keep.
+     */
+    private final long capacityBytes;
+
+    /**
+     * The lengths of entries keyed by entry file name in least recently used order, guarded by this.
+     */
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * The number of bytes of entries, guarded by this.
+     */
+    private long sizeBytes;
+
+    /**
+     * The number of requests using each pinned entry keyed by entry file name, guarded by this.
+     * Pinned entries are never evicted.
+     */
+    private final HashMap<String, Integer> pins = new HashMap<>();
+
+    /**
+     * Whether the entries of the directory have been loaded, guarded by this.
+     */
+    private boolean loaded;
+
+    /**
+     * The content hashes of source files keyed by absolute path.
+     */
+    private final ConcurrentHashMap<Path, SourceHash> sourceHashes = new ConcurrentHashMap<>();
+
+    /**
+     * The in-flight transcodes keyed by entry file name.
+     */
+    private final ConcurrentHashMap<String, CompletableFuture<Void>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a new transcode cache.
+     *
+     * @param directory     the directory entries are stored in
+     * @param capacityBytes the maximum number of bytes of entries to keep
+     */
+    TranscodeCache(File directory, long capacityBytes) {
+        Preconditions.checkNotNull(directory);
+        Preconditions.checkArgument(capacityBytes > 0);
+
+        this.directory = directory;
+        this.capacityBytes = capacityBytes;
+    }
+
+    /**
+     * Copies the cached result of transcoding the provided source with the provided parameters to the
+     * provided destination, transcoding the source if no such entry exists.
+     *
+     * @param source      the source file
+     * @param parameters  the parameters of the conversion which, along with the source's contents, identify it
+     * @param extension   the extension of the transcoded file, including the period
+     * @param transcoder  the transcoder used if no entry exists
+     * @param destination the file to copy the transcoded file to, replaced if it exists
+     * @return the destination
+     * @throws IOException if the source cannot be read, the transcode fails, or the copy fails
+     */
+    File get(File source, String parameters, String extension,
+             Transcoder transcoder, File destination) throws IOException {
+        Preconditions.checkNotNull(source);
+        Preconditions.checkArgument(source.isFile());
+        Preconditions.checkNotNull(parameters);
+        Preconditions.checkNotNull(extension);
+        Preconditions.checkArgument(extension.startsWith("."));
+        Preconditions.checkNotNull(transcoder);
+        Preconditions.checkNotNull(destination);
+
+        String name = keyOf(hashOf(source), parameters, extension) + extension;
+        File entry = new File(directory, name);
+
+        while (!pin(name, entry)) {
+            CompletableFuture<Void> transcode = new CompletableFuture<>();
+            CompletableFuture<Void> existing = inFlight.putIfAbsent(name, transcode);
+            if (existing != null) {
+                await(existing);
+                continue;
+            }
+
+            try {
+                if (!pin(name, entry)) transcodeEntry(source, entry, transcoder);
+                transcode.complete(null);
+                break;
+            } catch (IOException | RuntimeException e) {
+                transcode.completeExceptionally(e);
+                throw e;
+            } finally {
+                inFlight.remove(name, transcode);
+            }
+        }
+
+        try {
+            Files.createDirectories(destination.toPath().toAbsolutePath().getParent());
+            Files.copy(entry.toPath(), destination.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            return destination;
+        } finally {
+            unpin(name);
+        }
+    }
+
+    /**
+     * Returns the number of bytes of entries in this cache.
+     *
+     * @return the number of bytes of entries in this cache
+     */
+    synchronized long getSizeBytes() {
+        ensureLoaded();
+        return sizeBytes;
+    }
+
+    /**
+     * Marks the provided entry as most recently used and pins it against eviction if it exists.
+     *
+     * @param name  the entry file name
+     * @param entry the entry file
+     * @return whether the entry exists and was pinned
+     */
+    private synchronized boolean pin(String name, File entry) {
+        ensureLoaded();
+
+        Long length = entries.get(name);
+        if (length == null) return false;
+
+        if (!entry.isFile()) {
+            entries.remove(name);
+            sizeBytes -= length;
+            return false;
+        }
+
+        if (!entry.setLastModified(System.currentTimeMillis())) {
+            Logger.log(LogTag.AUDIO, "Failed to record use of transcoded file: " + name);
+        }
+        pins.merge(name, 1, Integer::sum);
+        return true;
+    }
+
+    /**
+     * Releases a pin of the provided entry and evicts entries if this cache is over capacity.
+     *
+     * @param name the entry file name
+     */
+    private synchronized void unpin(String name) {
+        pins.computeIfPresent(name, (key, count) -> count == 1 ? null : count - 1);
+        evict();
+    }
+
+    /**
+     * Transcodes the provided source into a partial file, moves the partial file to the provided entry
+     * which is left pinned, and evicts entries until this cache is within capacity.
+     *
+     * @param source     the source file
+     * @param entry      the entry file
+     * @param transcoder the transcoder
+     * @throws IOException if the transcode fails
+     */
+    private void transcodeEntry(File source, File entry, Transcoder transcoder) throws IOException {
+        String name = entry.getName();
+        int extensionStart = name.lastIndexOf('.');
+        File partial = new File(directory, name.substring(0, extensionStart)
+                + PARTIAL_MARKER + name.substring(extensionStart));
+
+        Files.createDirectories(directory.toPath());
+        Files.deleteIfExists(partial.toPath());
+
+        try {
+            transcoder.transcode(source, partial);
+            if (!partial.isFile() || partial.length() == 0) {
+                throw new IOException("Transcoder produced no output for " + source.getAbsolutePath());
+            }
+            FileUtil.moveAtomically(partial, entry);
+        } finally {
+            Files.deleteIfExists(partial.toPath());
+        }
+
+        synchronized (this) {
+            Long previous = entries.put(name, entry.length());
+            if (previous != null) sizeBytes -= previous;
+            sizeBytes += entry.length();
+            pins.merge(name, 1, Integer::sum);
+            evict();
+        }
+    }
+
+    /**
+     * Deletes least recently used entries which are not pinned until this cache is within capacity.
+     * Entries which cannot be deleted, such as those open on some platforms, are skipped.
+     */
+    private synchronized void evict() {
+        Iterator<Map.Entry<String, Long>> eldest = entries.entrySet().iterator();
+        while (sizeBytes > capacityBytes && eldest.hasNext()) {
+            Map.Entry<String, Long> candidate = eldest.next();
+            if (pins.containsKey(candidate.getKey())) continue;
+
+            File file = new File(directory, candidate.getKey());
+            if (file.exists() && !file.delete()) {
+                Logger.log(LogTag.AUDIO, "Failed to evict transcoded file: " + file.getName());
+                continue;
+            }
+
+            sizeBytes -= candidate.getValue();
+            eldest.remove();
+        }
+    }
+
+    /**
+     * Loads the entries of the directory in least recently used order if not yet loaded,
+     * deleting partial files left by an interrupted transcode.
+     */
+    private synchronized void ensureLoaded() {
+        if (loaded) return;
+        loaded = true;
+
+        File[] files = directory.listFiles(File::isFile);
+        if (files == null) return;
+
+        Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+        for (File file : files) {
+            if (file.getName().contains(PARTIAL_MARKER)) {
+                if (!file.delete()) {
+                    Logger.log(LogTag.AUDIO, "Failed to delete partial transcoded file: " + file.getName());
+                }
+                continue;
+            }
+
+            entries.put(file.getName(), file.length());
+            sizeBytes += file.length();
+        }
+
+        evict();
+    }
+
+    /**
+     * Returns the hex SHA-256 hash of the contents of the provided file,
+     * reusing the previous hash if the file has not changed.
+     *
+     * @param source the file
+     * @return the hex SHA-256 hash of the file
+     * @throws IOException if the file cannot be read
+     */
+    private String hashOf(File source) throws IOException {
+        Path path = source.toPath().toAbsolutePath();
+        long lastModified = source.lastModified();
+        long length = source.length();
+
+        SourceHash cached = sourceHashes.get(path);
+        if (cached != null && cached.lastModified() == lastModified && cached.length() == length) {
+            return cached.hash();
+        }
+
+        MessageDigest digest = newSha256();
+        try (InputStream inputStream = Files.newInputStream(path)) {
+            byte[] buffer = new byte[HASH_BUFFER_SIZE];
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+
+        String hash = HexFormat.of().formatHex(digest.digest());
+        sourceHashes.put(path, new SourceHash(lastModified, length, hash));
+        return hash;
+    }
+
+    /**
+     * Returns the cache key of the provided source hash, parameters, and extension.
+     *
+     * @param sourceHash the hex hash of the source's contents
+     * @param parameters the parameters of the conversion
+     * @param extension  the extension of the transcoded file
+     * @return the cache key
+     */
+    private static String keyOf(String sourceHash, String parameters, String extension) {
+        MessageDigest digest = newSha256();
+        digest.update((sourceHash + '\0' + parameters + '\0' + extension).getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Returns a new SHA-256 message digest.
+     *
+     * @return a new SHA-256 message digest
+     */
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance(SecurityUtil.HashingAlgorithm.SHA256.getName());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Waits for the provided transcode to complete.
+     *
+     * @param transcode the transcode
+     * @throws IOException if the transcode failed
+     */
+    private static void await(CompletableFuture<Void> transcode) throws IOException {
+        try {
+            transcode.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException ioException) throw ioException;
+            if (e.getCause() instanceof RuntimeException runtimeException) throw runtimeException;
+            throw new IOException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package cyder.audio;
+
+import com.google.common.base.Preconditions;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.UnsupportedAudioFileException;
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+
+/**
+ * A decoder of wav files using JavaSound which converts samples to signed 16-bit little-endian PCM.
+ */
+final class WavTrackDecoder implements TrackDecoder {
+    /**
+     * The number of frames read at a time.
+     */
+    private static final int FRAMES_PER_READ = 4096;
+
+    /**
+     * The number of bytes of a signed 16-bit sample.
+     */
+    private static final int BYTES_PER_SAMPLE = 2;
+
+    /**
+     * The stream of converted samples.
+     */
+    private final AudioInputStream stream;
+
+    /**
+     * The sample rate of the decoded samples.
+     */
+    private final int sampleRate;
+
+    /**
+     * The number of channels of the decoded samples.
+     */
+    private final int channels;
+
+    /**
+     * The buffer bytes are read into before being combined into samples.
+     */
+    private final byte[] bytes;
+
+    /**
+     * The number of frames read so far.
+     */
+    private long framesRead;
+
+    /**
+     * Constructs a new wav decoder.
+     *
+     * @param file the wav file
+     * @throws IOException if the file cannot be opened or its encoding cannot be converted to PCM
+     */
+    WavTrackDecoder(File file) throws IOException {
+        Preconditions.checkNotNull(file);
+
+        AudioInputStream source;
+        try {
+            source = AudioSystem.getAudioInputStream(new BufferedInputStream(new FileInputStream(file)));
+        } catch (UnsupportedAudioFileException e) {
+            throw new IOException("Unsupported wav file: " + file.getName(), e);
+        }
+
+        AudioFormat sourceFormat = source.getFormat();
+        AudioFormat targetFormat = new AudioFormat(AudioFormat.Encoding.PCM_SIGNED, sourceFormat.getSampleRate(),
+                Short.SIZE, sourceFormat.getChannels(), BYTES_PER_SAMPLE * sourceFormat.getChannels(),
+                sourceFormat.getSampleRate(), false);
+
+        try {
+            stream = sourceFormat.matches(targetFormat) ? source : AudioSystem.getAudioInputStream(targetFormat, source);
+        } catch (IllegalArgumentException e) {
+            source.close();
+            throw new IOException("Cannot convert " + file.getName() + " from " + sourceFormat, e);
+        }
+
+        sampleRate = (int) targetFormat.getSampleRate();
+        channels = targetFormat.getChannels();
+        bytes = new byte[FRAMES_PER_READ * channels * BYTES_PER_SAMPLE];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getSampleRate() {
+        return sampleRate;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getChannels() {
+        return channels;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getPositionMillis() {
+        return framesRead * 1000 / sampleRate;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void skipTo(long millis) throws IOException {
+        long targetFrame = millis * sampleRate / 1000;
+        while (framesRead < targetFrame) {
+            long skipped = stream.skip((targetFrame - framesRead) * channels * BYTES_PER_SAMPLE);
+            if (skipped <= 0) return;
+            framesRead += skipped / (channels * BYTES_PER_SAMPLE);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int read(short[] buffer) throws IOException {
+        Preconditions.checkNotNull(buffer);
+        Preconditions.checkArgument(buffer.length >= getMinimumBufferLength());
+
+        int frameBytes = channels * BYTES_PER_SAMPLE;
+        int length = 0;
+        while (length < bytes.length) {
+            int read = stream.read(bytes, length, bytes.length - length);
+            if (read == -1) break;
+            length += read;
+        }
+
+        length -= length % frameBytes;
+        if (length == 0) return -1;
+
+        int samples = length / BYTES_PER_SAMPLE;
+        for (int i = 0 ; i < samples ; i++) {
+            buffer[i] = (short) ((bytes[2 * i] & 0xFF) | (bytes[2 * i + 1] << 8));
+        }
+
+        framesRead += length / frameBytes;
+        return samples;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getMinimumBufferLength() {
+        return FRAMES_PER_READ * channels;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() throws IOException {
+        stream.close();
+    }
+}
@@ -8,16 +8,16 @@ import cyder.exceptions.IllegalMethodException;
 import cyder.files.FileUtil;
 import cyder.handlers.internal.ExceptionHandler;
 import cyder.strings.CyderStrings;
+import cyder.utils.OsUtil;
 
-import javax.sound.sampled.AudioFormat;
-import javax.sound.sampled.AudioInputStream;
-import javax.sound.sampled.AudioSystem;
-import javax.sound.sampled.Clip;
+import javax.sound.sampled.*;
 import java.io.File;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
-import java.util.Arrays;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
 import java.util.Objects;
 
 /**
@@ -25,6 +25,13 @@ import java.util.Objects;
  * See <a href="http://soundfile.sapp.org/doc/WaveFormat">this link</a>
  * to reference the wav file data structure.
  * <p>
+ * The data chunk of the wav is memory-mapped instead of read onto the heap meaning
+ * analysis of large wav files does not require heap proportional to the file size.
+ * A mapping is only released once it is garbage collected and Windows refuses to delete or
+ * replace a file while it is mapped, so on Windows the data chunk is instead read onto the heap.
+ * Samples are decoded directly from the buffer by the bulk {@link #readFrames} accessors.
+ * The {@link Clip} used for playback is only opened once playback is requested.
+ * <p>
  * Instances of this class are immutable.
  */
 @Immutable
@@ -39,28 +46,48 @@ public final class WaveFile {
      */
     public static final int INT_SIZE = 4;
 
+    /**
+     * The length of the RIFF header preceding the first chunk of a wav file.
+     */
+    private static final int RIFF_HEADER_LENGTH = 12;
+
+    /**
+     * The length of the id and size header of a chunk.
+     */
+    private static final int CHUNK_HEADER_LENGTH = 8;
+
+    /**
+     * The id of the chunk containing the sample data.
+     */
+    private static final String DATA_CHUNK_ID = "data";
+
     /**
      * The number of channels of the wav.
      */
-    private int numChannels;
+    private final int numChannels;
 
     /**
-     * The wav byte data.
+     * The sample data of the wav, memory-mapped except on Windows.
      */
-    private byte[] data;
+    private final ByteBuffer data;
 
     /**
-     * Whether the file could be decoded and is playable.
+     * The decoder for the samples of the wav.
      */
-    private boolean isPlayable;
+    private final PcmDecoder decoder;
+
+    /**
+     * Whether the format of the wav is supported by a {@link Clip}.
+     */
+    private final boolean isPlayable;
 
     /**
      * The audio format of the wav.
      */
-    private AudioFormat audioFormat;
+    private final AudioFormat audioFormat;
 
     /**
-     * The clip object for the wav.
+     * The clip object for the wav, opened on the first playback request.
      */
     private Clip clip;
 
@@ -72,17 +99,17 @@ public final class WaveFile {
     /**
      * The sample size of the wav.
      */
-    private int sampleSize = AudioSystem.NOT_SPECIFIED;
+    private final int sampleSize;
 
     /**
      * The number of frames of the wav.
      */
-    private long numFrames = AudioSystem.NOT_SPECIFIED;
+    private final long numFrames;
 
     /**
      * The sample rate of the wav.
      */
-    private int sampleRate = AudioSystem.NOT_SPECIFIED;
+    private final int sampleRate;
 
     /**
      * The wrapped wav file.
@@ -100,6 +127,7 @@ public final class WaveFile {
      * Constructs a new WaveFile object.
      *
      * @param file the wave file
+     * @throws FatalException if the format or data chunk of the wav file cannot be read
      */
     public WaveFile(File file) {
         Preconditions.checkNotNull(file);
@@ -107,73 +135,171 @@ public final class WaveFile {
         Preconditions.checkArgument(FileUtil.validateExtension(file, Extension.WAV.getExtension()));
 
         wavFile = file;
-        setup();
-    }
 
-    /**
-     * Performs setup for common wav file props after the object
-     * has been constructed and the file validated.
-     */
-    private void setup() {
         try {
-            AudioInputStream audioInputStream = AudioSystem.getAudioInputStream(wavFile);
-            audioFormat = audioInputStream.getFormat();
-            numFrames = audioInputStream.getFrameLength();
-
-            sampleRate = (int) audioFormat.getSampleRate();
-            sampleSize = audioFormat.getSampleSizeInBits() / BITS_PER_SAMPLE;
-            numChannels = audioFormat.getChannels();
-
-            long dataLength = numFrames * audioFormat.getSampleSizeInBits() * audioFormat.getChannels() / 8;
-
-            data = new byte[(int) dataLength];
-            int bytesRead = audioInputStream.read(data);
-            if (bytesRead == -1) {
-                throw new FatalException("Failed to read bytes from fis constructed from: " + wavFile);
-            }
-
-            audioInputStream.close();
+            audioFormat = AudioSystem.getAudioFileFormat(wavFile).getFormat();
+            data = readDataChunk(wavFile, !OsUtil.isWindows());
         } catch (Exception e) {
             ExceptionHandler.handle(e);
+            throw new FatalException("Failed to read wav file: " + wavFile.getAbsolutePath());
         }
 
-        try {
-            clip = AudioSystem.getClip();
-
-            clipStream = AudioSystem.getAudioInputStream(wavFile);
-            clip.open(clipStream);
+        decoder = new PcmDecoder(audioFormat);
+        sampleRate = (int) audioFormat.getSampleRate();
+        sampleSize = audioFormat.getSampleSizeInBits() / BITS_PER_SAMPLE;
+        numChannels = audioFormat.getChannels();
+        numFrames = data.capacity() / decoder.getBytesPerFrame();
+        isPlayable = AudioSystem.isLineSupported(new DataLine.Info(Clip.class, audioFormat));
+    }
 
-            clip.setFramePosition(0);
-            isPlayable = true;
-        } catch (Exception e) {
-            // non 16/8-bit audio file
-            isPlayable = false;
-            clip = null;
-            ExceptionHandler.handle(e);
+    /**
+     * Locates the data chunk of the provided wav file and either maps it into memory or reads it onto the heap.
+     *
+     * @param wavFile the wav file
+     * @param map     whether to memory-map the data chunk instead of reading it
+     * @return the read only data chunk
+     * @throws IOException if the file cannot be read or does not contain a data chunk
+     */
+    private static ByteBuffer readDataChunk(File wavFile, boolean map) throws IOException {
+        try (FileChannel channel = FileChannel.open(wavFile.toPath(), StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            ByteBuffer chunkHeader = ByteBuffer.allocate(CHUNK_HEADER_LENGTH).order(ByteOrder.LITTLE_ENDIAN);
+
+            long position = RIFF_HEADER_LENGTH;
+            while (position + CHUNK_HEADER_LENGTH <= fileSize) {
+                chunkHeader.clear();
+                while (chunkHeader.hasRemaining()) {
+                    if (channel.read(chunkHeader, position + chunkHeader.position()) < 0) {
+                        throw new IOException("Unexpected end of file: " + wavFile.getAbsolutePath());
+                    }
+                }
+
+                String chunkId = new String(chunkHeader.array(), 0, INT_SIZE, StandardCharsets.US_ASCII);
+                long chunkSize = Integer.toUnsignedLong(chunkHeader.getInt(INT_SIZE));
+                long chunkStart = position + CHUNK_HEADER_LENGTH;
+
+                if (chunkId.equals(DATA_CHUNK_ID)) {
+                    long dataLength = Math.min(chunkSize, fileSize - chunkStart);
+                    if (dataLength > Integer.MAX_VALUE) {
+                        throw new IOException("Data chunk exceeds maximum mappable size: " + dataLength);
+                    }
+
+                    if (map) {
+                        return channel.map(FileChannel.MapMode.READ_ONLY, chunkStart, dataLength)
+                                .order(ByteOrder.LITTLE_ENDIAN);
+                    }
+
+                    ByteBuffer ret = ByteBuffer.allocate((int) dataLength);
+                    while (ret.hasRemaining()) {
+                        if (channel.read(ret, chunkStart + ret.position()) < 0) {
+                            throw new IOException("Unexpected end of file: " + wavFile.getAbsolutePath());
+                        }
+                    }
+                    return ret.flip().asReadOnlyBuffer().order(ByteOrder.LITTLE_ENDIAN);
+                }
+
+                // Chunks are padded to an even length
+                position = chunkStart + chunkSize + (chunkSize & 1);
+            }
         }
+
+        throw new IOException("Data chunk not found: " + wavFile.getAbsolutePath());
     }
 
     /**
-     * Returns the amplitude of the wav at the provided sample point.
-     * Note that in case of stereos, samples go one after another meaning
-     * 0 is the first of the left channel, 1 the first of the right, 2
-     * the second of the left, 3 the second of the right, etc.
+     * Returns the amplitude of the first channel of the wav at the provided frame.
      *
-     * @param samplePoint the point to sample the wav at
-     * @return the amplitude at the sample point
+     * @param samplePoint the frame to sample the wav at
+     * @return the signed amplitude at the sample point
      */
     public int getSample(int samplePoint) {
-        Preconditions.checkArgument(samplePoint >= 0);
-        Preconditions.checkArgument(samplePoint <= data.length / sampleSize);
+        return getSample(samplePoint, 0);
+    }
+
+    /**
+     * Returns the signed amplitude of the provided channel of the wav at the provided frame.
+     *
+     * @param frame   the frame to sample the wav at
+     * @param channel the channel to sample
+     * @return the signed amplitude of the channel at the frame
+     */
+    public int getSample(long frame, int channel) {
+        Preconditions.checkArgument(frame >= 0 && frame < numFrames);
+        Preconditions.checkArgument(channel >= 0 && channel < numChannels);
 
-        byte[] sampleBytes = new byte[INT_SIZE];
+        return decoder.decodeRaw(data, sampleIndex(frame, channel));
+    }
 
-        if (sampleSize >= 0) {
-            System.arraycopy(data, samplePoint * sampleSize * numChannels,
-                    sampleBytes, 0, sampleSize);
+    /**
+     * Decodes interleaved samples of all channels starting at the provided frame into the destination array.
+     * Samples are normalized to the range [-1.0, 1.0].
+     *
+     * @param startFrame the first frame to read
+     * @param dst        the destination array
+     * @param offset     the index of the destination array to write the first sample to
+     * @param count      the maximum number of frames to read
+     * @return the number of frames read which may be less than count if the end of the wav is reached
+     */
+    public int readFrames(long startFrame, float[] dst, int offset, int count) {
+        Preconditions.checkNotNull(dst);
+        Preconditions.checkArgument(startFrame >= 0);
+        Preconditions.checkArgument(offset >= 0);
+        Preconditions.checkArgument(count >= 0);
+
+        int frames = (int) Math.max(0, Math.min(count, numFrames - startFrame));
+        Preconditions.checkArgument(offset + (long) frames * numChannels <= dst.length);
+
+        int bytesPerSample = decoder.getBytesPerSample();
+        int byteIndex = sampleIndex(startFrame, 0);
+        int samples = frames * numChannels;
+        for (int i = 0 ; i < samples ; i++) {
+            dst[offset + i] = decoder.decode(data, byteIndex);
+            byteIndex += bytesPerSample;
+        }
+
+        return frames;
+    }
+
+    /**
+     * Decodes the samples of a single channel starting at the provided frame into the destination array.
+     * Samples are normalized to the range [-1.0, 1.0].
+     *
+     * @param channel    the channel to read
+     * @param startFrame the first frame to read
+     * @param dst        the destination array
+     * @param offset     the index of the destination array to write the first sample to
+     * @param count      the maximum number of frames to read
+     * @return the number of frames read which may be less than count if the end of the wav is reached
+     */
+    public int readFrames(int channel, long startFrame, float[] dst, int offset, int count) {
+        Preconditions.checkNotNull(dst);
+        Preconditions.checkArgument(channel >= 0 && channel < numChannels);
+        Preconditions.checkArgument(startFrame >= 0);
+        Preconditions.checkArgument(offset >= 0);
+        Preconditions.checkArgument(count >= 0);
+
+        int frames = (int) Math.max(0, Math.min(count, numFrames - startFrame));
+        Preconditions.checkArgument(offset + frames <= dst.length);
+
+        int bytesPerFrame = decoder.getBytesPerFrame();
+        int byteIndex = sampleIndex(startFrame, channel);
+        for (int i = 0 ; i < frames ; i++) {
+            dst[offset + i] = decoder.decode(data, byteIndex);
+            byteIndex += bytesPerFrame;
         }
 
-        return ByteBuffer.wrap(sampleBytes).order(ByteOrder.LITTLE_ENDIAN).getInt();
+        return frames;
+    }
+
+    /**
+     * Returns the index of the first byte of the sample of the provided channel at the provided frame.
+     *
+     * @param frame   the frame
+     * @param channel the channel
+     * @return the index of the first byte of the sample
+     */
+    private int sampleIndex(long frame, int channel) {
+        return (int) (frame * decoder.getBytesPerFrame() + (long) channel * decoder.getBytesPerSample());
     }
 
     /**
@@ -189,17 +315,16 @@ public final class WaveFile {
      * Play the clip of this wav file.
      */
     public void play() {
-        Preconditions.checkNotNull(clip);
+        Preconditions.checkState(isPlayable);
 
-        clip.start();
+        getClip().start();
     }
 
     /**
-     * Stops the clip of this wav file.
+     * Stops the clip of this wav file if playback was started.
      */
-    public void stop() throws IOException {
-        Preconditions.checkNotNull(clip);
-        Preconditions.checkNotNull(clipStream);
+    public synchronized void stop() throws IOException {
+        if (clip == null) return;
 
         clip.stop();
         clipStream.close();
@@ -223,6 +348,15 @@ public final class WaveFile {
         return sampleSize;
     }
 
+    /**
+     * Returns the number of channels of this wav file.
+     *
+     * @return the number of channels of this wav file
+     */
+    public int getNumChannels() {
+        return numChannels;
+    }
+
     /**
      * Returns the duration in seconds.
      *
@@ -251,11 +385,27 @@ public final class WaveFile {
     }
 
     /**
-     * Returns the clip for this wav file.
+     * Returns the clip for this wav file, opening it if this is the first request for the clip.
      *
      * @return the clip for this wav file
+     * @throws FatalException if the clip could not be opened
      */
-    public Clip getClip() {
+    public synchronized Clip getClip() {
+        Preconditions.checkState(isPlayable);
+
+        if (clip == null) {
+            try {
+                clipStream = AudioSystem.getAudioInputStream(wavFile);
+                Clip newClip = AudioSystem.getClip();
+                newClip.open(clipStream);
+                newClip.setFramePosition(0);
+                clip = newClip;
+            } catch (Exception e) {
+                ExceptionHandler.handle(e);
+                throw new FatalException("Failed to open clip for wav file: " + wavFile.getAbsolutePath());
+            }
+        }
+
         return clip;
     }
 
@@ -265,13 +415,12 @@ public final class WaveFile {
     @Override
     public int hashCode() {
         int ret = Integer.hashCode(numChannels);
-        ret = ret * 31 + Arrays.hashCode(data);
+        ret = ret * 31 + Integer.hashCode(data.capacity());
         ret = ret * 31 + Boolean.hashCode(isPlayable);
-        ret = ret * 31 + audioFormat.hashCode();
-        ret = ret * 31 + Objects.hashCode(clip);
         ret = ret * 31 + Integer.hashCode(sampleSize);
         ret = ret * 31 + Long.hashCode(numFrames);
         ret = ret * 31 + Integer.hashCode(sampleRate);
+        ret = ret * 31 + wavFile.hashCode();
         return ret;
     }
 
@@ -282,7 +431,7 @@ public final class WaveFile {
     public String toString() {
         return "WaveFile{"
                 + "numChannels=" + numChannels
-                + ", dataLength=" + data.length
+                + ", dataLength=" + data.capacity()
                 + ", isPlayable=" + isPlayable
                 + ", audioFormat=" + audioFormat
                 + ", clip=" + clip + ", sampleSize=" + sampleSize
@@ -306,12 +455,12 @@ public final class WaveFile {
         WaveFile other = (WaveFile) o;
 
         return numChannels == other.numChannels
-                && Arrays.equals(data, other.data)
+                && data.capacity() == other.data.capacity()
                 && isPlayable == other.isPlayable
-                && audioFormat.equals(other.audioFormat)
-                && clip.equals(other.clip)
+                && audioFormat.matches(other.audioFormat)
+                && Objects.equals(clip, other.clip)
                 && numFrames == other.numFrames
-                && sampleRate == other.numFrames
+                && sampleRate == other.sampleRate
                 && wavFile.equals(other.wavFile);
     }
 }
@@ -0,0 +1,490 @@
+package cyder.audio;
+
+import com.google.common.base.Preconditions;
+import com.google.errorprone.annotations.Immutable;
+import cyder.enumerations.Extension;
+import cyder.exceptions.FatalException;
+import cyder.files.FileUtil;
+import cyder.handlers.internal.ExceptionHandler;
+import cyder.logging.LogTag;
+import cyder.logging.Logger;
+import cyder.utils.OsUtil;
+
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.UnsupportedAudioFileException;
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.Future;
+
+/**
+ * The min, max, and RMS peaks of an audio file computed at a fixed resolution of
+ * {@link #FRAMES_PER_PEAK} frames per peak. Peaks are extracted by streaming the PCM data
+ * in fixed size chunks meaning memory does not grow with the length of the audio.
+ * <p>
+ * Extracted peaks are persisted to a small peak file next to the source audio file
+ * which allows waveforms to be rendered at any width without decoding the audio again.
+ * <p>
+ * Instances of this class are immutable.
+ */
+@Immutable
+public final class WaveformPeaks {
+    /**
+     * The number of frames summarized by a single peak.
+     */
+    public static final int FRAMES_PER_PEAK = 256;
+
+    /**
+     * The number of frames read from the audio stream at a time.
+     */
+    private static final int CHUNK_FRAMES = 16384;
+
+    /**
+     * The magic number which begins all peak files, "CYPK".
+     */
+    private static final int PEAK_FILE_MAGIC = 0x4359504B;
+
+    /**
+     * The version of the peak file format.
+     */
+    private static final int PEAK_FILE_VERSION = 1;
+
+    /**
+     * The value peaks are scaled by to be stored as shorts.
+     */
+    private static final float PEAK_SCALE = Short.MAX_VALUE;
+
+    /**
+     * The initial capacity of the peak arrays when the frame length of a stream is unknown.
+     */
+    private static final int DEFAULT_PEAK_CAPACITY = 1024;
+
+    /**
+     * The sample rate of the source audio.
+     */
+    private final int sampleRate;
+
+    /**
+     * The number of frames of the source audio.
+     */
+    private final long numFrames;
+
+    /**
+     * The minimum sample value of each peak.
+     */
+    private final short[] minimums;
+
+    /**
+     * The maximum sample value of each peak.
+     */
+    private final short[] maximums;
+
+    /**
+     * The root mean square of the sample values of each peak.
+     */
+    private final short[] rms;
+
+    /**
+     * The min, max, and RMS values of each bucket of a waveform, normalized to the range [-1.0, 1.0].
+     *
+     * @param minimums the minimum value of each bucket
+     * @param maximums the maximum value of each bucket
+     * @param rms      the root mean square of each bucket
+     */
+    public record Buckets(float[] minimums, float[] maximums, float[] rms) {
+        /**
+         * Returns the largest absolute value of any minimum or maximum.
+         *
+         * @return the largest absolute value of any minimum or maximum
+         */
+        public float getMaxAmplitude() {
+            float ret = 0.0f;
+            for (int i = 0 ; i < minimums.length ; i++) {
+                ret = Math.max(ret, Math.max(Math.abs(minimums[i]), Math.abs(maximums[i])));
+            }
+            return ret;
+        }
+    }
+
+    /**
+     * Constructs a new waveform peaks object.
+     *
+     * @param sampleRate the sample rate of the source audio
+     * @param numFrames  the number of frames of the source audio
+     * @param minimums   the minimum sample value of each peak
+     * @param maximums   the maximum sample value of each peak
+     * @param rms        the root mean square of each peak
+     */
+    private WaveformPeaks(int sampleRate, long numFrames, short[] minimums, short[] maximums, short[] rms) {
+        this.sampleRate = sampleRate;
+        this.numFrames = numFrames;
+        this.minimums = minimums;
+        this.maximums = maximums;
+        this.rms = rms;
+    }
+
+    /**
+     * Returns the peaks for the provided wav or mp3 file. If a valid peak file exists next to the audio
+     * file it is used, otherwise the peaks are extracted and persisted to a new peak file.
+     * Note, this method is blocking. Callers should surround invocation of this method in a separate thread.
+     *
+     * @param wavOrMp3File the wav or mp3 file
+     * @return the peaks of the provided audio file
+     * @throws FatalException if the peaks could not be extracted
+     */
+    public static WaveformPeaks forAudioFile(File wavOrMp3File) {
+        Preconditions.checkNotNull(wavOrMp3File);
+        Preconditions.checkArgument(wavOrMp3File.exists());
+        Preconditions.checkArgument(FileUtil.isSupportedAudioExtension(wavOrMp3File));
+
+        File peakFile = getPeakFile(wavOrMp3File);
+        Optional<WaveformPeaks> optionalCached = readPeakFile(peakFile, wavOrMp3File);
+        if (optionalCached.isPresent()) return optionalCached.get();
+
+        File wavFile = wavOrMp3File;
+        if (FileUtil.validateExtension(wavOrMp3File, Extension.MP3.getExtension())) {
+            try {
+                Future<Optional<File>> futureWav = AudioUtil.mp3ToWav(wavOrMp3File);
+                wavFile = futureWav.get().orElseThrow(() -> new FatalException("Failed to convert mp3 to wav"));
+            } catch (FatalException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new FatalException("Failed to convert mp3 to wav: " + e.getMessage());
+            }
+        }
+
+        WaveformPeaks ret;
+        try {
+            ret = extract(wavFile);
+        } catch (Exception e) {
+            throw new FatalException("Failed to extract peaks from: " + wavFile.getAbsolutePath());
+        } finally {
+            if (!wavFile.equals(wavOrMp3File)) OsUtil.deleteFile(wavFile);
+        }
+
+        ret.writePeakFile(peakFile, wavOrMp3File);
+        return ret;
+    }
+
+    /**
+     * Extracts the peaks of the provided wav file by streaming its PCM data.
+     *
+     * @param wavFile the wav file
+     * @return the extracted peaks
+     * @throws IOException                   if the wav file cannot be read
+     * @throws UnsupportedAudioFileException if the wav file is not PCM encoded
+     */
+    public static WaveformPeaks extract(File wavFile) throws IOException, UnsupportedAudioFileException {
+        Preconditions.checkNotNull(wavFile);
+        Preconditions.checkArgument(wavFile.exists());
+
+        try (AudioInputStream stream = AudioSystem.getAudioInputStream(wavFile)) {
+            return extract(stream);
+        }
+    }
+
+    /**
+     * Extracts the peaks of the provided PCM audio input stream.
+     * The stream is read in chunks of {@link #CHUNK_FRAMES} frames and is not closed.
+     *
+     * @param stream the PCM audio input stream
+     * @return the extracted peaks
+     * @throws IOException if the stream cannot be read
+     */
+    public static WaveformPeaks extract(AudioInputStream stream) throws IOException {
+        Preconditions.checkNotNull(stream);
+
+        PcmDecoder decoder = new PcmDecoder(stream.getFormat());
+        int bytesPerFrame = decoder.getBytesPerFrame();
+        int bytesPerSample = decoder.getBytesPerSample();
+        int channels = decoder.getChannels();
+
+        long expectedFrames = stream.getFrameLength();
+        int capacity = expectedFrames > 0
+                ? (int) Math.ceil(expectedFrames / (double) FRAMES_PER_PEAK)
+                : DEFAULT_PEAK_CAPACITY;
+        short[] minimums = new short[capacity];
+        short[] maximums = new short[capacity];
+        short[] rms = new short[capacity];
+
+        byte[] chunk = new byte[CHUNK_FRAMES * bytesPerFrame];
+        ByteBuffer chunkBuffer = ByteBuffer.wrap(chunk);
+
+        int peakCount = 0;
+        int framesInPeak = 0;
+        float min = 0.0f;
+        float max = 0.0f;
+        double sumOfSquares = 0.0;
+        long totalFrames = 0;
+
+        int bytesRead;
+        while ((bytesRead = stream.readNBytes(chunk, 0, chunk.length)) > 0) {
+            int framesRead = bytesRead / bytesPerFrame;
+
+            for (int frame = 0 ; frame < framesRead ; frame++) {
+                int frameIndex = frame * bytesPerFrame;
+                for (int channel = 0 ; channel < channels ; channel++) {
+                    float sample = decoder.decode(chunkBuffer, frameIndex + channel * bytesPerSample);
+                    if (sample < min) min = sample;
+                    if (sample > max) max = sample;
+                    sumOfSquares += sample * sample;
+                }
+
+                framesInPeak++;
+                if (framesInPeak == FRAMES_PER_PEAK) {
+                    if (peakCount == minimums.length) {
+                        int newCapacity = minimums.length * 2;
+                        minimums = Arrays.copyOf(minimums, newCapacity);
+                        maximums = Arrays.copyOf(maximums, newCapacity);
+                        rms = Arrays.copyOf(rms, newCapacity);
+                    }
+
+                    minimums[peakCount] = toShort(min);
+                    maximums[peakCount] = toShort(max);
+                    rms[peakCount] = toShort((float) Math.sqrt(sumOfSquares / (framesInPeak * channels)));
+                    peakCount++;
+
+                    framesInPeak = 0;
+                    min = 0.0f;
+                    max = 0.0f;
+                    sumOfSquares = 0.0;
+                }
+            }
+
+            totalFrames += framesRead;
+            if (bytesRead < chunk.length) break;
+        }
+
+        if (framesInPeak > 0) {
+            if (peakCount == minimums.length) {
+                minimums = Arrays.copyOf(minimums, peakCount + 1);
+                maximums = Arrays.copyOf(maximums, peakCount + 1);
+                rms = Arrays.copyOf(rms, peakCount + 1);
+            }
+
+            minimums[peakCount] = toShort(min);
+            maximums[peakCount] = toShort(max);
+            rms[peakCount] = toShort((float) Math.sqrt(sumOfSquares / (framesInPeak * channels)));
+            peakCount++;
+        }
+
+        return new WaveformPeaks((int) stream.getFormat().getSampleRate(), totalFrames,
+                Arrays.copyOf(minimums, peakCount),
+                Arrays.copyOf(maximums, peakCount),
+                Arrays.copyOf(rms, peakCount));
+    }
+
+    /**
+     * Converts the provided normalized sample to a short.
+     *
+     * @param normalized the normalized sample in the range [-1.0, 1.0]
+     * @return the sample scaled to a short
+     */
+    private static short toShort(float normalized) {
+        return (short) Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, Math.round(normalized * PEAK_SCALE)));
+    }
+
+    /**
+     * Returns the peak file for the provided audio file.
+     * The returned file may or may not exist.
+     *
+     * @param audioFile the audio file
+     * @return the peak file for the provided audio file
+     */
+    public static File getPeakFile(File audioFile) {
+        Preconditions.checkNotNull(audioFile);
+
+        return new File(audioFile.getAbsoluteFile().getParentFile(),
+                audioFile.getName() + Extension.PEAKS.getExtension());
+    }
+
+    /**
+     * Reads the peaks from the provided peak file if it exists and was
+     * generated from the current contents of the provided source file.
+     *
+     * @param peakFile   the peak file
+     * @param sourceFile the audio file the peak file was generated from
+     * @return the peaks if the peak file is present and valid, empty optional else
+     */
+    public static Optional<WaveformPeaks> readPeakFile(File peakFile, File sourceFile) {
+        Preconditions.checkNotNull(peakFile);
+        Preconditions.checkNotNull(sourceFile);
+
+        if (!peakFile.exists()) return Optional.empty();
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(peakFile)))) {
+            if (in.readInt() != PEAK_FILE_MAGIC || in.readInt() != PEAK_FILE_VERSION) return Optional.empty();
+            if (in.readLong() != sourceFile.length() || in.readLong() != sourceFile.lastModified()) {
+                return Optional.empty();
+            }
+            if (in.readInt() != FRAMES_PER_PEAK) return Optional.empty();
+
+            int sampleRate = in.readInt();
+            long numFrames = in.readLong();
+            int peakCount = in.readInt();
+            if (peakCount < 0) return Optional.empty();
+
+            short[] minimums = new short[peakCount];
+            short[] maximums = new short[peakCount];
+            short[] rms = new short[peakCount];
+            for (int i = 0 ; i < peakCount ; i++) {
+                minimums[i] = in.readShort();
+                maximums[i] = in.readShort();
+                rms[i] = in.readShort();
+            }
+
+            return Optional.of(new WaveformPeaks(sampleRate, numFrames, minimums, maximums, rms));
+        } catch (IOException e) {
+            Logger.log(LogTag.DEBUG, "Discarding invalid peak file: " + peakFile.getAbsolutePath());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Writes these peaks to the provided peak file. The peaks are first written to a temporary file
+     * next to the peak file which is then moved over the peak file meaning readers never see a partial file.
+     *
+     * @param peakFile   the peak file to write
+     * @param sourceFile the audio file these peaks were generated from
+     * @return whether the peak file was written
+     */
+    public boolean writePeakFile(File peakFile, File sourceFile) {
+        Preconditions.checkNotNull(peakFile);
+        Preconditions.checkNotNull(sourceFile);
+        Preconditions.checkArgument(sourceFile.exists());
+
+        try {
+            FileUtil.writeAtomically(peakFile, out -> {
+                out.writeInt(PEAK_FILE_MAGIC);
+                out.writeInt(PEAK_FILE_VERSION);
+                out.writeLong(sourceFile.length());
+                out.writeLong(sourceFile.lastModified());
+                out.writeInt(FRAMES_PER_PEAK);
+                out.writeInt(sampleRate);
+                out.writeLong(numFrames);
+                out.writeInt(minimums.length);
+                for (int i = 0 ; i < minimums.length ; i++) {
+                    out.writeShort(minimums[i]);
+                    out.writeShort(maximums[i]);
+                    out.writeShort(rms[i]);
+                }
+            });
+        } catch (IOException e) {
+            ExceptionHandler.handle(e);
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Combines the peaks into the provided number of buckets such as the columns of a waveform image.
+     * If there are fewer peaks than buckets, peaks are repeated across neighboring buckets.
+     *
+     * @param numBuckets the number of buckets
+     * @return the buckets
+     */
+    public Buckets toBuckets(int numBuckets) {
+        Preconditions.checkArgument(numBuckets > 0);
+
+        float[] bucketMinimums = new float[numBuckets];
+        float[] bucketMaximums = new float[numBuckets];
+        float[] bucketRms = new float[numBuckets];
+
+        int peakCount = getPeakCount();
+        if (peakCount == 0) return new Buckets(bucketMinimums, bucketMaximums, bucketRms);
+
+        for (int bucket = 0 ; bucket < numBuckets ; bucket++) {
+            int start = (int) ((long) bucket * peakCount / numBuckets);
+            int end = Math.max(start + 1, (int) ((long) (bucket + 1) * peakCount / numBuckets));
+
+            short min = 0;
+            short max = 0;
+            double sumOfSquares = 0.0;
+            for (int peak = start ; peak < end ; peak++) {
+                if (minimums[peak] < min) min = minimums[peak];
+                if (maximums[peak] > max) max = maximums[peak];
+                sumOfSquares += (double) rms[peak] * rms[peak];
+            }
+
+            bucketMinimums[bucket] = min / PEAK_SCALE;
+            bucketMaximums[bucket] = max / PEAK_SCALE;
+            bucketRms[bucket] = (float) (Math.sqrt(sumOfSquares / (end - start)) / PEAK_SCALE);
+        }
+
+        return new Buckets(bucketMinimums, bucketMaximums, bucketRms);
+    }
+
+    /**
+     * Returns the number of peaks.
+     *
+     * @return the number of peaks
+     */
+    public int getPeakCount() {
+        return minimums.length;
+    }
+
+    /**
+     * Returns the sample rate of the source audio.
+     *
+     * @return the sample rate of the source audio
+     */
+    public int getSampleRate() {
+        return sampleRate;
+    }
+
+    /**
+     * Returns the number of frames of the source audio.
+     *
+     * @return the number of frames of the source audio
+     */
+    public long getNumFrames() {
+        return numFrames;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        int ret = Integer.hashCode(sampleRate);
+        ret = 31 * ret + Long.hashCode(numFrames);
+        ret = 31 * ret + Arrays.hashCode(minimums);
+        ret = 31 * ret + Arrays.hashCode(maximums);
+        ret = 31 * ret + Arrays.hashCode(rms);
+        return ret;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        } else if (!(o instanceof WaveformPeaks)) {
+            return false;
+        }
+
+        WaveformPeaks other = (WaveformPeaks) o;
+        return sampleRate == other.sampleRate
+                && numFrames == other.numFrames
+                && Arrays.equals(minimums, other.minimums)
+                && Arrays.equals(maximums, other.maximums)
+                && Arrays.equals(rms, other.rms);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "WaveformPeaks{"
+                + "sampleRate=" + sampleRate
+                + ", numFrames=" + numFrames
+                + ", peakCount=" + getPeakCount()
+                + "}";
+    }
+}
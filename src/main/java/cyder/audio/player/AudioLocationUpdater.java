@@ -1,7 +1,7 @@
 package cyder.audio.player;
 
 import com.google.common.base.Preconditions;
-import cyder.audio.AudioUtil;
+import cyder.audio.MusicLibrary;
 import cyder.files.FileUtil;
 import cyder.handlers.internal.ExceptionHandler;
 import cyder.threads.CyderThreadRunner;
@@ -126,7 +126,7 @@ final class AudioLocationUpdater {
         CyderThreadRunner.submit(() -> {
             try {
                 File file = currentAudioFile.get();
-                this.totalMilliSeconds = AudioUtil.getMillisFfprobe(file);
+                this.totalMilliSeconds = MusicLibrary.getDurationMillis(file);
                 updateEffectLabel((int) (Math.floor(milliSecondsIn / TimeUtil.millisInSecond)), false);
                 startUpdateThread();
             } catch (Exception e) {
@@ -4,14 +4,14 @@ import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Range;
 import com.google.common.util.concurrent.AtomicDouble;
-import com.google.common.util.concurrent.Futures;
-import com.google.common.util.concurrent.ListenableFuture;
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import cyder.annotations.CyderAuthor;
 import cyder.annotations.SuppressCyderInspections;
 import cyder.annotations.Vanilla;
 import cyder.annotations.Widget;
 import cyder.audio.AudioUtil;
+import cyder.audio.LibraryTrack;
+import cyder.audio.MusicLibrary;
 import cyder.console.Console;
 import cyder.constants.CyderColors;
 import cyder.constants.CyderFonts;
@@ -81,7 +81,6 @@ import java.io.IOException;
 import java.io.InputStreamReader;
 import java.net.URL;
 import java.nio.file.Files;
-import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.Instant;
 import java.util.ArrayList;
@@ -338,6 +337,12 @@ public final class AudioPlayer {
      */
     private static final ArrayList<File> audioFileQueue = new ArrayList<>();
 
+    /**
+     * The audio files at the front of {@link #audioFileQueue} provided to the playback engine
+     * which have not yet begun playing, guarded by {@link #audioFileQueue}.
+     */
+    private static final ArrayList<File> providedQueuedAudioFiles = new ArrayList<>();
+
     /**
      * The current audio file we are at.
      */
@@ -449,6 +454,22 @@ public final class AudioPlayer {
      */
     private static InnerAudioPlayer innerAudioPlayer;
 
+    /**
+     * The engine which decodes and plays audio on behalf of {@link #innerAudioPlayer}s.
+     */
+    private static final PlaybackEngine playbackEngine = new PlaybackEngine(
+            AudioPlayer::chooseNextAudioFile, AudioPlayer::isDreamyEffectApplied, new PlaybackEngine.Listener() {
+        @Override
+        public void onTrackStarted(File file) {
+            onNextAudioStarted(file);
+        }
+
+        @Override
+        public void onPlaybackEnded() {
+            onAudioPlaybackEnded();
+        }
+    });
+
     /**
      * The default album art image.
      */
@@ -525,7 +546,7 @@ public final class AudioPlayer {
         CyderThreadFactory threadFactory = new CyderThreadFactory("AudioPlayer loader, mp3File: " + mp3File);
         Executors.newSingleThreadExecutor(threadFactory).submit(() -> {
             currentAudioFile.set(mp3File);
-            audioDreamified.set(isCurrentAudioDreamy());
+            audioDreamified.set(isCurrentAudioDreamified());
 
             if (isWidgetOpen()) {
                 if (currentView.get() == View.SEARCH) onBackPressedFromSearchView();
@@ -540,7 +561,7 @@ public final class AudioPlayer {
                 return;
             }
 
-            cacheAudioLengthsOfCurrentDirectory();
+            MusicLibrary.indexInBackground(currentAudioFile.get().getParentFile());
 
             currentUserAlbumArtDir = Dynamic.buildDynamic(Dynamic.USERS.getFileName(),
                     Console.INSTANCE.getUuid(), UserFile.MUSIC.getName(), UserFile.ALBUM_ART);
@@ -1020,32 +1041,10 @@ public final class AudioPlayer {
     }
 
     /**
-     * The thread factory for the {@link #cacheAudioLengthsOfCurrentDirectory()} method.
+     * The order the audio files of the current directory are played in.
      */
-    private static final CyderThreadFactory audioLengthsOfCurrentDirectoryCacherThreadFactory =
-            new CyderThreadFactory("AudioPlayer neighboring audio files length calculation cacher");
-
-    /**
-     * The future task of the {@link #cacheAudioLengthsOfCurrentDirectory()} method.
-     */
-    private static ListenableFuture<Void> audioLengthsOfCurrentDirectoryCacher;
-
-    /**
-     * Starts a new thread to cache the length of all audio files returned by {@link #getValidAudioFiles()}.
-     */
-    private static void cacheAudioLengthsOfCurrentDirectory() {
-        if (audioLengthsOfCurrentDirectoryCacher != null) {
-            audioLengthsOfCurrentDirectoryCacher.cancel(true);
-        }
-
-        audioLengthsOfCurrentDirectoryCacher = Futures.submit(() -> getValidAudioFiles().forEach(audioFile -> {
-            try {
-                AudioUtil.getMillisFfprobe(audioFile);
-            } catch (Exception ignored) {
-                // Don't care in this scenario
-            }
-        }), Executors.newSingleThreadExecutor(audioLengthsOfCurrentDirectoryCacherThreadFactory));
-    }
+    private static final AtomicReference<MusicLibrary.SortOrder> sortOrder =
+            new AtomicReference<>(MusicLibrary.SortOrder.FILENAME);
 
     /**
      * Whether the UI is locked.
@@ -1114,9 +1113,9 @@ public final class AudioPlayer {
     private static final AtomicBoolean chooseFileLocked = new AtomicBoolean();
 
     /**
-     * Whether the dreamify menu option is locked.
+     * Whether the dreamy effect is applied to audio as it plays.
      */
-    private static final AtomicBoolean dreamifierLocked = new AtomicBoolean();
+    private static final AtomicBoolean dreamyEffectEnabled = new AtomicBoolean();
 
     /**
      * Whether the current audio is dreamified.
@@ -1139,6 +1138,8 @@ public final class AudioPlayer {
         audioPlayerFrame.addMenuItem("Waveform", AudioPlayer::onWaveformExporterMenuItemPressed);
         audioPlayerFrame.addMenuItem("Search", AudioPlayer::onSearchMenuItemPressed, onSearchView);
         audioPlayerFrame.addMenuItem("Local Audio", AudioPlayer::onLocalAudioFileMenuItemPressed);
+        audioPlayerFrame.addMenuItem("Find", AudioPlayer::onFindMenuItemPressed);
+        audioPlayerFrame.addMenuItem("Sort", AudioPlayer::onSortMenuItemPressed);
         audioPlayerFrame.addMenuItem("Dreamify", AudioPlayer::onDreamifyMenuItemPressed, audioDreamified);
     }
 
@@ -1152,7 +1153,8 @@ public final class AudioPlayer {
             audioPlayerFrame.notify("This file is already a wav");
         } else if (FileUtil.validateExtension(currentAudioFile.get(), Extension.MP3.getExtension())) {
             CyderThreadRunner.submit(() -> {
-                Future<Optional<File>> wavConvertedFile = AudioUtil.mp3ToWav(currentAudioFile.get());
+                File sourceFile = currentAudioFile.get();
+                Future<Optional<File>> wavConvertedFile = AudioUtil.mp3ToWav(sourceFile);
 
                 wavExporterLocked.set(true);
 
@@ -1168,9 +1170,9 @@ public final class AudioPlayer {
                                 Dynamic.USERS.getFileName(),
                                 Console.INSTANCE.getUuid(),
                                 UserFile.MUSIC.getName(),
-                                FileUtil.getFilename(wavConvertedFile.get().get()) + Extension.WAV.getExtension());
+                                FileUtil.getFilename(sourceFile) + Extension.WAV.getExtension());
 
-                        Files.copy(Paths.get(wavConvertedFile.get().get().getAbsolutePath()),
+                        Files.move(Paths.get(wavConvertedFile.get().get().getAbsolutePath()),
                                 Paths.get(moveTo.getAbsolutePath()));
 
                         audioPlayerFrame.notify("Saved \""
@@ -1198,7 +1200,8 @@ public final class AudioPlayer {
             audioPlayerFrame.notify("This file is already an mp3");
         } else if (FileUtil.validateExtension(currentAudioFile.get(), Extension.WAV.getExtension())) {
             CyderThreadRunner.submit(() -> {
-                Future<Optional<File>> mp3ConvertedFile = AudioUtil.wavToMp3(currentAudioFile.get());
+                File sourceFile = currentAudioFile.get();
+                Future<Optional<File>> mp3ConvertedFile = AudioUtil.wavToMp3(sourceFile);
 
                 mp3ExporterLocked.set(true);
 
@@ -1214,9 +1217,9 @@ public final class AudioPlayer {
                                 Dynamic.USERS.getFileName(),
                                 Console.INSTANCE.getUuid(),
                                 UserFile.MUSIC.getName(),
-                                FileUtil.getFilename(mp3ConvertedFile.get().get()) + Extension.MP3.getExtension());
+                                FileUtil.getFilename(sourceFile) + Extension.MP3.getExtension());
 
-                        Files.copy(Paths.get(mp3ConvertedFile.get().get().getAbsolutePath()),
+                        Files.move(Paths.get(mp3ConvertedFile.get().get().getAbsolutePath()),
                                 Paths.get(moveTo.getAbsolutePath()));
 
                         audioPlayerFrame.notify("Saved \""
@@ -1316,7 +1319,7 @@ public final class AudioPlayer {
             File chosenFile = optionalFile.get();
             boolean differentDirectory = !chosenFile.getParentFile().equals(getCurrentAudio().getParentFile());
             chooseFileLocked.set(false);
-            if (differentDirectory) cacheAudioLengthsOfCurrentDirectory();
+            if (differentDirectory) MusicLibrary.indexInBackground(chosenFile.getParentFile());
             lastAction = LastAction.FileChosen;
             if (currentView.get() == View.SEARCH) onBackPressedFromSearchView();
             boolean audioPlaying = isAudioPlaying();
@@ -1328,34 +1331,56 @@ public final class AudioPlayer {
     }
 
     /**
-     * A callback used when dreamifying an audio file finishes.
-     *
-     * @param dreamyAudio the dreamified audio file to play
+     * The menu item for finding audio within the current directory by title, artist, album, or filename.
      */
-    private static void dreamyAudioCallback(File dreamyAudio) {
-        float percentIn = (float) audioLocationSlider.getValue() / audioLocationSlider.getMaximum();
-        boolean audioPlaying = isAudioPlaying();
-        if (audioPlaying) pauseAudio();
+    private static void onFindMenuItemPressed() {
+        if (uiLocked) return;
 
-        currentAudioFile.set(dreamyAudio);
+        CyderThreadRunner.submit(() -> {
+            getterUtil.closeAllGetInputFrames();
+            Optional<String> optionalQuery = getterUtil.getInput(
+                    new GetInputBuilder("Find Audio", "Enter a title, artist, album, or filename")
+                            .setRelativeTo(audioPlayerFrame)
+                            .setSubmitButtonText("Find"));
+            if (optionalQuery.isEmpty() || optionalQuery.get().isBlank()) return;
+            String query = optionalQuery.get();
+
+            ImmutableList<LibraryTrack> matches = MusicLibrary.search(
+                    currentAudioFile.get().getParentFile(), query, sortOrder.get());
+            if (matches.isEmpty()) {
+                audioPlayerFrame.notify("No audio found for \"" + query.trim() + "\"");
+                return;
+            }
 
-        revalidateAfterAudioFileChange();
+            LibraryTrack match = matches.get(0);
+            lastAction = LastAction.FileChosen;
+            if (currentView.get() == View.SEARCH) onBackPressedFromSearchView();
+            boolean audioPlaying = isAudioPlaying();
+            if (audioPlaying) pauseAudio();
+            currentAudioFile.set(match.file());
+            revalidateAfterAudioFileChange();
+            playAudio();
+            audioPlayerFrame.notify("Playing \"" + match.title() + "\"");
+        }, "AudioPlayer Finder");
+    }
 
-        innerAudioPlayer = new InnerAudioPlayer(dreamyAudio);
-        innerAudioPlayer.setLocation((long) (percentIn * FileUtil.getTotalBytes(dreamyAudio)));
-        audioLocationUpdater.setPercentIn(percentIn);
-        audioLocationUpdater.update(false);
+    /**
+     * The menu item for cycling the order the audio files of the current directory are played in.
+     */
+    private static void onSortMenuItemPressed() {
+        if (uiLocked) return;
 
-        if (audioPlaying) playAudio();
-        dreamifierLocked.set(false);
-        audioPlayerFrame.notify("Successfully dreamified audio");
+        MusicLibrary.SortOrder next = sortOrder.updateAndGet(MusicLibrary.SortOrder::next);
+        invalidateUpcomingAudio();
+        audioPlayerFrame.notify("Sorting audio by " + next.getName().toLowerCase());
     }
 
     /**
-     * The item menu to toggle between dreamify states of an audio file.
+     * The item menu to toggle between dreamify states of an audio file. Audio files saved as dreamy
+     * are toggled to their non-dreamy equivalent, otherwise the dreamy effect is toggled in real time.
      */
     private static void onDreamifyMenuItemPressed() {
-        if (dreamifierLocked.get() || uiLocked) return;
+        if (uiLocked) return;
         if (currentAudioFile.get() == null) return;
 
         String currentAudioFilename = FileUtil.getFilename(currentAudioFile.get());
@@ -1369,51 +1394,29 @@ public final class AudioPlayer {
             return;
         }
 
-        File userMusicDir = Dynamic.buildDynamic(Dynamic.USERS.getFileName(),
-                Console.INSTANCE.getUuid(), UserFile.MUSIC.getName());
-
-        String dreamyAudioFileName = currentAudioFilename + AudioUtil.DREAMY_SUFFIX;
-        if (userMusicDir.exists() && attemptToFindAndPlayAudioFileWithName(dreamyAudioFileName)) return;
-
-        String threadName = "Audio Dreamifier: " + currentAudioFilename;
-        CyderThreadRunner.submit(() -> {
-            audioPlayerFrame.notify(new NotificationBuilder("Dreamifying"
-                    + CyderStrings.space + CyderStrings.quote + FileUtil.getFilename(currentAudioFile.get())
-                    + CyderStrings.quote).setViewDuration(10000));
-            dreamifierLocked.set(true);
-
-            Future<Optional<File>> dreamifiedAudioFuture = AudioUtil.dreamifyAudio(currentAudioFile.get());
-            while (!dreamifiedAudioFuture.isDone()) Thread.onSpinWait();
-            Optional<File> dreamifiedAudio = Optional.empty();
-
-            try {
-                dreamifiedAudio = dreamifiedAudioFuture.get();
-            } catch (Exception ignored) {}
-
-            if (dreamifiedAudio.isEmpty()) {
-                dreamifyFailed();
-                return;
-            }
-
-            File dreamifiedFile = dreamifiedAudio.get();
-            File targetFile = Dynamic.buildDynamic(
-                    Dynamic.USERS.getFileName(),
-                    Console.INSTANCE.getUuid(),
-                    UserFile.MUSIC.getName(),
-                    dreamifiedFile.getName());
-
-            try {
-                Path source = dreamifiedFile.toPath();
-                Path targetDirectory = targetFile.toPath();
+        dreamyEffectEnabled.set(!dreamyEffectEnabled.get());
+        revalidateAfterAudioFileChange();
+        audioPlayerFrame.revalidateMenu();
+    }
 
-                Files.copy(source, targetDirectory);
-            } catch (Exception ignored) {
-                dreamifyFailed();
-                return;
-            }
+    /**
+     * Returns whether the dreamy effect is applied to audio as it plays.
+     *
+     * @return whether the dreamy effect is applied to audio as it plays
+     */
+    static boolean isDreamyEffectEnabled() {
+        return dreamyEffectEnabled.get();
+    }
 
-            dreamyAudioCallback(targetFile);
-        }, threadName);
+    /**
+     * Returns whether the dreamy effect should be applied to the provided audio file as it plays.
+     * The effect is never applied to audio files which are already dreamy.
+     *
+     * @param audioFile the audio file
+     * @return whether the dreamy effect should be applied to the provided audio file
+     */
+    private static boolean isDreamyEffectApplied(File audioFile) {
+        return isDreamyEffectEnabled() && !FileUtil.getFilename(audioFile).endsWith(AudioUtil.DREAMY_SUFFIX);
     }
 
     /**
@@ -1443,24 +1446,13 @@ public final class AudioPlayer {
             audioLocationUpdater.update(false);
 
             if (audioPlaying) playAudio();
-            audioDreamified.set(isCurrentAudioDreamy());
+            audioDreamified.set(isCurrentAudioDreamified());
             audioPlayerFrame.revalidateMenu();
         }
 
         return optionalNonDreamyAudioFile.isPresent();
     }
 
-    /**
-     * Performs calls necessary when a requested dreamify audio call failed.
-     */
-    private static void dreamifyFailed() {
-        audioDreamified.set(false);
-        dreamifierLocked.set(false);
-        audioPlayerFrame.revalidateMenu();
-        audioPlayerFrame.revokeAllNotifications();
-        audioPlayerFrame.notify("Could not dreamify audio at this time");
-    }
-
     /**
      * The padding used between component rows.
      */
@@ -1616,7 +1608,7 @@ public final class AudioPlayer {
     /**
      * Attempts to find and set the album art label to the current audio file's album art if it originates
      * from a user's audio files with a linked audio file album art. Otherwise, the label is set to the
-     * default album art.
+     * artwork embedded in the audio file if present, or the default album art.
      */
     private static void refreshAlbumArt() {
         if (currentView.get() != View.FULL) {
@@ -1625,7 +1617,7 @@ public final class AudioPlayer {
         }
 
         String name = FileUtil.getFilename(currentAudioFile.get());
-        boolean dreamy = isCurrentAudioDreamy();
+        boolean dreamy = isCurrentAudioDreamified();
 
         if (name.endsWith(AudioUtil.DREAMY_SUFFIX)) {
             name = name.substring(0, name.length() - AudioUtil.DREAMY_SUFFIX.length());
@@ -1645,7 +1637,10 @@ public final class AudioPlayer {
             } else if (albumArtFileJpg.exists()) {
                 customAlbumArt = new ImageIcon(ImageUtil.read(albumArtFileJpg));
             } else {
-                customAlbumArt = new ImageIcon(ImageUtil.read(defaultAlbumArt));
+                Optional<BufferedImage> embeddedAlbumArt = MusicLibrary.getTrack(currentAudioFile.get())
+                        .flatMap(MusicLibrary::readArtwork);
+                customAlbumArt = new ImageIcon(embeddedAlbumArt.isPresent()
+                        ? embeddedAlbumArt.get() : ImageUtil.read(defaultAlbumArt));
             }
         } catch (Exception e) {
             ExceptionHandler.handle(e);
@@ -1684,6 +1679,15 @@ public final class AudioPlayer {
         return isAudioFileDreamy(currentAudioFile.get());
     }
 
+    /**
+     * Returns whether the current audio file is a dreamy audio file or the dreamy effect is enabled.
+     *
+     * @return whether the current audio is dreamified
+     */
+    private static boolean isCurrentAudioDreamified() {
+        return dreamyEffectEnabled.get() || isCurrentAudioDreamy();
+    }
+
     /**
      * Returns whether the provided audio file is dreamy.
      *
@@ -1764,28 +1768,26 @@ public final class AudioPlayer {
     }
 
     /**
-     * Returns a list of valid audio files within the current directory.
+     * Returns a list of valid audio files within the current directory in the current sort order.
      */
     private static ImmutableList<File> getValidAudioFiles() {
         checkNotNull(currentAudioFile);
 
-        ArrayList<File> ret = new ArrayList<>();
-
-        File parentDirectory = currentAudioFile.get().getParentFile();
-
-        if (parentDirectory.exists()) {
-            File[] siblings = parentDirectory.listFiles();
+        return getValidAudioFiles(currentAudioFile.get().getParentFile());
+    }
 
-            if (siblings != null && siblings.length > 0) {
-                for (File sibling : siblings) {
-                    if (FileUtil.isSupportedAudioExtension(sibling)) {
-                        ret.add(sibling);
-                    }
-                }
-            }
-        }
+    /**
+     * Returns a list of valid audio files within the provided directory in the current sort order.
+     *
+     * @param parentDirectory the directory
+     * @return the valid audio files within the directory
+     */
+    private static ImmutableList<File> getValidAudioFiles(File parentDirectory) {
+        if (!parentDirectory.exists()) return ImmutableList.of();
 
-        return ImmutableList.copyOf(ret);
+        return MusicLibrary.getTracks(parentDirectory, sortOrder.get()).stream()
+                .map(LibraryTrack::file)
+                .collect(ImmutableList.toImmutableList());
     }
 
     /**
@@ -1909,40 +1911,117 @@ public final class AudioPlayer {
     }
 
     /**
-     * A call back for {@link InnerAudioPlayer}s to invoke when they naturally conclude and are not killed.
+     * Returns the engine which decodes and plays audio on behalf of {@link InnerAudioPlayer}s.
+     *
+     * @return the playback engine
      */
-    static void playAudioCallback() {
-        if (lastAction != LastAction.Play) return;
+    static PlaybackEngine getPlaybackEngine() {
+        return playbackEngine;
+    }
 
-        if (innerAudioPlayer != null) {
-            innerAudioPlayer.kill();
-            innerAudioPlayer = null;
+    /**
+     * Requests the playback engine play the provided audio file from the provided location.
+     * Audio files decoded ahead are discarded and chosen again from the queue.
+     *
+     * @param audioFile the audio file
+     * @param millis    the location in milliseconds
+     */
+    static void requestPlayback(File audioFile, long millis) {
+        synchronized (audioFileQueue) {
+            providedQueuedAudioFiles.clear();
+            playbackEngine.play(audioFile, millis);
         }
+    }
 
-        if (repeatAudio.get()) {
-            innerAudioPlayer = new InnerAudioPlayer(currentAudioFile.get());
+    /**
+     * Discards the audio files decoded ahead of the current audio file so that the next audio file is
+     * chosen again, such as after the queue, repeat, shuffle, or sort order changes.
+     */
+    private static void invalidateUpcomingAudio() {
+        synchronized (audioFileQueue) {
+            providedQueuedAudioFiles.clear();
+            playbackEngine.invalidateUpcomingTracks();
+        }
+    }
+
+    /**
+     * Chooses the audio file to play after the provided audio file concludes. This is invoked by the playback
+     * engine ahead of time so that the chosen audio file may be decoded before the provided one concludes.
+     *
+     * @param finishedAudioFile the audio file which will conclude
+     * @return the audio file to play next, empty if none
+     */
+    private static Optional<File> chooseNextAudioFile(File finishedAudioFile) {
+        if (repeatAudio.get()) return Optional.of(finishedAudioFile);
+
+        synchronized (audioFileQueue) {
+            if (audioFileQueue.size() > providedQueuedAudioFiles.size()) {
+                File queuedAudioFile = audioFileQueue.get(providedQueuedAudioFiles.size());
+                providedQueuedAudioFiles.add(queuedAudioFile);
+                return Optional.of(queuedAudioFile);
+            }
+        }
+
+        ImmutableList<File> validAudioFiles = getValidAudioFiles(finishedAudioFile.getParentFile());
+        if (validAudioFiles.isEmpty()) return Optional.empty();
+
+        int finishedIndex = validAudioFiles.indexOf(finishedAudioFile);
+        int lastIndex = validAudioFiles.size() - 1;
+        int nextIndex;
+        if (shuffleAudio.get() && lastIndex > 0) {
+            nextIndex = finishedIndex == -1
+                    ? NumberUtil.getRandomIndex(0, lastIndex)
+                    : NumberUtil.getRandomIndex(0, lastIndex, finishedIndex);
+        } else {
+            nextIndex = finishedIndex == lastIndex ? 0 : finishedIndex + 1;
+        }
+
+        return Optional.of(validAudioFiles.get(nextIndex));
+    }
+
+    /**
+     * Invoked by the playback engine when playback continues from the previous audio file into
+     * the provided audio file without a gap.
+     *
+     * @param audioFile the audio file now playing
+     */
+    private static void onNextAudioStarted(File audioFile) {
+        synchronized (audioFileQueue) {
+            if (!providedQueuedAudioFiles.isEmpty() && providedQueuedAudioFiles.get(0).equals(audioFile)) {
+                providedQueuedAudioFiles.remove(0);
+            }
+            if (!audioFileQueue.isEmpty() && audioFileQueue.get(0).equals(audioFile)) {
+                audioFileQueue.remove(0);
+            }
+        }
+
+        if (!isWidgetOpen()) return;
+
+        boolean repeated = audioFile.equals(currentAudioFile.get());
+        currentAudioFile.set(audioFile);
+        innerAudioPlayer = new InnerAudioPlayer(audioFile);
+        innerAudioPlayer.adoptPlayback();
+        lastAction = LastAction.Play;
+
+        if (repeated) {
             audioLocationUpdater.setPercentIn(0);
             audioLocationUpdater.update(false);
-            playAudio();
-        } else if (!audioFileQueue.isEmpty()) {
-            currentAudioFile.set(audioFileQueue.remove(0));
-            innerAudioPlayer = new InnerAudioPlayer(currentAudioFile.get());
-            revalidateAfterAudioFileChange();
-            playAudio();
-        } else if (shuffleAudio.get()) {
-            currentAudioFile.set(getValidAudioFiles().get(getRandomAudioIndex()));
-            innerAudioPlayer = new InnerAudioPlayer(currentAudioFile.get());
-            revalidateAfterAudioFileChange();
-            playAudio();
         } else {
-            int currentIndex = getCurrentAudioIndex();
-            int nextIndex = currentIndex + 1 == getValidAudioFiles().size() ? 0 : currentIndex + 1;
-            currentAudioFile.set(getValidAudioFiles().get(nextIndex));
-            innerAudioPlayer = new InnerAudioPlayer(currentAudioFile.get());
             revalidateAfterAudioFileChange();
-            playAudio();
         }
 
+        audioLocationUpdater.resumeTimer();
+        audioProgressBarAnimator.setState(AudioProgressBarAnimator.State.RUNNING);
+    }
+
+    /**
+     * Invoked by the playback engine when playback concludes because no audio file could be played next.
+     */
+    private static void onAudioPlaybackEnded() {
+        if (!isWidgetOpen() || innerAudioPlayer == null) return;
+
+        pauseAudio();
+        Console.INSTANCE.revalidateAudioMenuVisibility();
     }
 
     /*
@@ -2100,6 +2179,7 @@ public final class AudioPlayer {
 
         boolean repeatAudioValue = repeatAudio.get();
         repeatAudio.compareAndSet(repeatAudioValue, !repeatAudioValue);
+        invalidateUpcomingAudio();
     }
 
     /**
@@ -2116,6 +2196,7 @@ public final class AudioPlayer {
 
         boolean shuffleAudioValue = shuffleAudio.get();
         shuffleAudio.compareAndSet(shuffleAudioValue, !shuffleAudioValue);
+        invalidateUpcomingAudio();
     }
 
     /**
@@ -2130,7 +2211,10 @@ public final class AudioPlayer {
         if (!isWidgetOpen()) {
             showGui(audioFile);
         } else {
-            audioFileQueue.add(0, audioFile);
+            synchronized (audioFileQueue) {
+                audioFileQueue.add(0, audioFile);
+            }
+            invalidateUpcomingAudio();
         }
     }
 
@@ -2146,7 +2230,10 @@ public final class AudioPlayer {
         if (!isWidgetOpen()) {
             showGui(audioFile);
         } else {
-            audioFileQueue.add(audioFile);
+            synchronized (audioFileQueue) {
+                audioFileQueue.add(audioFile);
+            }
+            invalidateUpcomingAudio();
         }
     }
 
@@ -2192,6 +2279,9 @@ public final class AudioPlayer {
             innerAudioPlayer = null;
         }
 
+        playbackEngine.close();
+        MusicLibrary.saveInBackground();
+
         Console.INSTANCE.revalidateAudioMenuVisibility();
     }
 
@@ -2229,7 +2319,7 @@ public final class AudioPlayer {
         refreshAlbumArt();
         refreshAudioProgressLabel();
 
-        audioDreamified.set(isCurrentAudioDreamy());
+        audioDreamified.set(isCurrentAudioDreamified());
 
         audioPlayerFrame.revalidateMenuIfVisible();
     }
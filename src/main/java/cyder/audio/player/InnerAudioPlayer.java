@@ -2,79 +2,53 @@ package cyder.audio.player;
 
 import com.google.common.base.Preconditions;
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
-import cyder.audio.AudioUtil;
+import cyder.audio.MusicLibrary;
 import cyder.console.Console;
 import cyder.files.FileUtil;
 import cyder.handlers.internal.ExceptionHandler;
-import cyder.strings.CyderStrings;
 import cyder.threads.CyderThreadRunner;
-import javazoom.jl.player.Player;
 
-import java.io.BufferedInputStream;
 import java.io.File;
-import java.io.FileInputStream;
 
 /**
- * An audio playing class which simply plays an audio file and returns the audio location when killed.
+ * A handle to the playback of a single audio file by the {@link AudioPlayer}'s {@link PlaybackEngine}
+ * which plays from a location and returns the audio location when killed.
  */
 final class InnerAudioPlayer {
-    /**
-     * The amount to offset a pause request by so that a sequential play
-     * request sounds like it was paused at that instant.
-     */
-    private static final int PAUSE_AUDIO_REACTION_OFFSET = 10000;
-
     /**
      * The name of the setup thread for getting the milliseconds of the audio file.
      */
     private static final String SETUP_THREAD_NAME = "InnerAudioPlayer Setup Thread";
 
-    /**
-     * The maximum number of times an instance of this class can
-     * attempt to play itself after a failure before quitting.
-     */
-    private static final int maxAttemptedSelfStarts = 10;
-
     /**
      * The one and only file this audio player can play.
      */
     private final File audioFile;
 
     /**
-     * Whether this object
+     * Whether this object has been killed.
      */
     private boolean killed;
 
     /**
-     * The location the current audio file was paused/stopped at.
-     */
-    private long pauseLocation;
-
-    /**
-     * The total audio length of the current audio file.
-     */
-    private long totalAudioLength;
-
-    /**
-     * The total number of milliseconds in this audio file.
+     * Whether the engine is playing the audio file on behalf of this object.
      */
-    private int totalMilliSeconds = 0;
+    private boolean started;
 
     /**
-     * The audio player used to play audio.
+     * The location in bytes this player starts playing at.
      */
-    private Player audioPlayer;
+    private long pauseLocation;
 
     /**
-     * The file input stream used to calculate byte values outside of the play method.
+     * The total audio length of the current audio file.
      */
-    private FileInputStream fis;
+    private final long totalAudioLength;
 
     /**
-     * The number of times this audio player has attempted to invoke {@link #play()}
-     * from within play after an exception was thrown.
+     * The total number of milliseconds in this audio file, zero if not yet known.
      */
-    private int selfStarts = 0;
+    private volatile int totalMilliSeconds = 0;
 
     /**
      * Constructs a new InnerAudioPlay.
@@ -86,6 +60,7 @@ final class InnerAudioPlayer {
         Preconditions.checkArgument(audioFile.exists());
 
         this.audioFile = audioFile;
+        this.totalAudioLength = FileUtil.getTotalBytes(audioFile);
 
         AudioPlayer.refreshAudioTitleLabel();
         initializeMillis();
@@ -97,57 +72,41 @@ final class InnerAudioPlayer {
     private void initializeMillis() {
         CyderThreadRunner.submit(() -> {
             try {
-                this.totalMilliSeconds = AudioUtil.getMillisFfprobe(audioFile);
+                totalMilliSeconds = MusicLibrary.getDurationMillis(audioFile);
             } catch (Exception e) {
                 ExceptionHandler.handle(e);
-                this.totalMilliSeconds = 0;
             }
         }, SETUP_THREAD_NAME);
     }
 
     /**
-     * Starts playing the provided audio file at the optionally provided location.
+     * Returns the total number of milliseconds in {@link #audioFile} as computed by the setup thread.
+     *
+     * @return the total number of milliseconds in the audio file, zero until computed or if it could not be
      */
-    public void play() {
-        try {
-            fis = new FileInputStream(audioFile);
-            totalAudioLength = fis.available();
-            long bytesSkipped = fis.skip(Math.max(0, pauseLocation));
-
-            if (fis.available() != totalAudioLength - bytesSkipped) {
-                throw new IllegalStateException("FileInputStream failed to skip requested bytes: " + bytesSkipped);
-            }
-
-            BufferedInputStream bis = new BufferedInputStream(fis);
-
-            Console.INSTANCE.revalidateAudioMenuVisibility();
-
-            audioPlayer = new Player(bis);
-
-            String threadName = "AudioPlayer Play Audio Thread" + CyderStrings.space + CyderStrings.openingBracket
-                    + FileUtil.getFilename(audioFile) + CyderStrings.closingBracket;
-            CyderThreadRunner.submit(() -> {
-                try {
-                    audioPlayer.play();
+    private int getTotalMilliseconds() {
+        return totalMilliSeconds;
+    }
 
-                    Console.INSTANCE.revalidateAudioMenuVisibility();
+    /**
+     * Starts playing the audio file at the location set by {@link #setLocation(long)}.
+     * Audio decoded ahead of playback is reused if the location is still buffered.
+     */
+    public void play() {
+        long millis = toMilliseconds(Math.max(0, pauseLocation));
+        AudioPlayer.requestPlayback(audioFile, millis);
+        started = true;
 
-                    FileUtil.closeIfNotNull(fis);
-                    FileUtil.closeIfNotNull(bis);
-                    audioPlayer = null;
-                    if (!killed) AudioPlayer.playAudioCallback();
-                } catch (Exception possiblyIgnored) {
-                    if (selfStarts < maxAttemptedSelfStarts) {
-                        selfStarts++;
-                        play();
-                    } else {
-                        ExceptionHandler.handle(possiblyIgnored);
-                    }
-                }
-            }, threadName);
+        Console.INSTANCE.revalidateAudioMenuVisibility();
+        AudioPlayer.refreshPlayPauseButtonIcon();
+    }
 
-            AudioPlayer.refreshPlayPauseButtonIcon();
-        } catch (Exception ignored) {}
+    /**
+     * Adopts the playback of the audio file the engine continued into from the previous audio file
+     * without requesting playback again.
+     */
+    public void adoptPlayback() {
+        started = true;
     }
 
     /**
@@ -156,14 +115,14 @@ final class InnerAudioPlayer {
      * @return whether this object is playing audio
      */
     public boolean isPlaying() {
-        return audioPlayer != null;
+        return started && !killed && AudioPlayer.getPlaybackEngine().isPlaying();
     }
 
     /**
      * Pauses the audio player.
      */
     public void stop() {
-        audioPlayer.close();
+        AudioPlayer.getPlaybackEngine().pause();
     }
 
     /**
@@ -182,17 +141,9 @@ final class InnerAudioPlayer {
      */
     @CanIgnoreReturnValue
     public long kill() {
-        long resumeLocation;
-        try {
-            resumeLocation = totalAudioLength - fis.available() - PAUSE_AUDIO_REACTION_OFFSET;
-        } catch (Exception ignored) {
-            resumeLocation = 0L;
-        }
-
+        AudioPlayer.getPlaybackEngine().pause();
+        long resumeLocation = toBytes(getMillisecondsIn());
         this.killed = true;
-        if (audioPlayer != null) audioPlayer.close();
-        fis = null;
-
         return resumeLocation;
     }
 
@@ -220,14 +171,10 @@ final class InnerAudioPlayer {
      * @return the percent into the current audio this player object is
      */
     public float getPercentIn() {
-        float percentIn;
-        try {
-            percentIn = (totalAudioLength - fis.available()) / (float) totalAudioLength;
-        } catch (Exception ignored) {
-            percentIn = 0f;
-        }
+        int totalMillis = getTotalMilliseconds();
+        if (totalMillis == 0) return 0f;
 
-        return percentIn;
+        return Math.min(1f, getMillisecondsIn() / (float) totalMillis);
     }
 
     /**
@@ -236,6 +183,34 @@ final class InnerAudioPlayer {
      * @return the milliseconds into the current audio this player object is
      */
     public long getMillisecondsIn() {
-        return (long) (totalMilliSeconds * getPercentIn());
+        PlaybackEngine engine = AudioPlayer.getPlaybackEngine();
+        if (started && !killed && engine.getCurrentFile().filter(audioFile::equals).isPresent()) {
+            return engine.getPositionMillis();
+        }
+
+        return toMilliseconds(Math.max(0, pauseLocation));
+    }
+
+    /**
+     * Converts the provided location in bytes of {@link #audioFile} to milliseconds.
+     *
+     * @param bytes the location in bytes
+     * @return the location in milliseconds
+     */
+    private long toMilliseconds(long bytes) {
+        if (totalAudioLength == 0) return 0;
+        return (long) (bytes / (double) totalAudioLength * getTotalMilliseconds());
+    }
+
+    /**
+     * Converts the provided location in milliseconds of {@link #audioFile} to bytes.
+     *
+     * @param millis the location in milliseconds
+     * @return the location in bytes
+     */
+    private long toBytes(long millis) {
+        int totalMillis = getTotalMilliseconds();
+        if (totalMillis == 0) return 0;
+        return (long) (millis / (double) totalMillis * totalAudioLength);
     }
 }
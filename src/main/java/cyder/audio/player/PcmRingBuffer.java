@@ -0,0 +1,141 @@
+package cyder.audio.player;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * A fixed capacity ring of interleaved 16-bit PCM samples addressed by absolute position.
+ * <p>
+ * Positions count every sample ever written and never wrap, so a position remains valid for as long as
+ * the sample it refers to is retained. Writes append at {@link #getEnd()} and overwrite the oldest samples
+ * once the ring is full, advancing {@link #getStart()}. Samples between the start and end may be read any
+ * number of times, allowing readers to move backwards within the retained history without decoding again.
+ * <p>
+ * This class is not thread safe; callers must guard instances externally.
+ */
+final class PcmRingBuffer {
+    /**
+     * The samples, where the sample at absolute position p is stored at index p modulo the capacity.
+     */
+    private final short[] samples;
+
+    /**
+     * The absolute position of the oldest retained sample.
+     */
+    private long start;
+
+    /**
+     * The absolute position following the newest sample.
+     */
+    private long end;
+
+    /**
+     * Constructs a new ring buffer.
+     *
+     * @param capacity the number of samples to retain
+     */
+    PcmRingBuffer(int capacity) {
+        Preconditions.checkArgument(capacity > 0);
+
+        this.samples = new short[capacity];
+    }
+
+    /**
+     * Returns the number of samples this ring retains.
+     *
+     * @return the number of samples this ring retains
+     */
+    int getCapacity() {
+        return samples.length;
+    }
+
+    /**
+     * Returns the absolute position of the oldest retained sample.
+     *
+     * @return the absolute position of the oldest retained sample
+     */
+    long getStart() {
+        return start;
+    }
+
+    /**
+     * Returns the absolute position following the newest sample.
+     *
+     * @return the absolute position following the newest sample
+     */
+    long getEnd() {
+        return end;
+    }
+
+    /**
+     * Returns whether the sample at the provided position is retained.
+     *
+     * @param position the absolute position
+     * @return whether the sample at the provided position is retained
+     */
+    boolean contains(long position) {
+        return position >= start && position < end;
+    }
+
+    /**
+     * Appends the provided samples, overwriting the oldest samples if the ring is full.
+     *
+     * @param source the samples
+     * @param offset the index of the first sample to append
+     * @param length the number of samples to append, at most the capacity
+     */
+    void write(short[] source, int offset, int length) {
+        Preconditions.checkNotNull(source);
+        Preconditions.checkPositionIndexes(offset, offset + length, source.length);
+        Preconditions.checkArgument(length <= samples.length);
+
+        int index = (int) (end % samples.length);
+        int firstLength = Math.min(length, samples.length - index);
+        System.arraycopy(source, offset, samples, index, firstLength);
+        System.arraycopy(source, offset + firstLength, samples, 0, length - firstLength);
+
+        end += length;
+        start = Math.max(start, end - samples.length);
+    }
+
+    /**
+     * Copies retained samples beginning at the provided position into the provided array.
+     *
+     * @param position    the absolute position of the first sample to copy
+     * @param destination the array to copy into
+     * @param offset      the index of the destination to copy the first sample to
+     * @param length      the maximum number of samples to copy
+     * @return the number of samples copied, fewer than requested if the end was reached
+     * @throws IllegalArgumentException if the position is not retained and is not the end
+     */
+    int read(long position, short[] destination, int offset, int length) {
+        Preconditions.checkNotNull(destination);
+        Preconditions.checkPositionIndexes(offset, offset + length, destination.length);
+        Preconditions.checkArgument(position >= start && position <= end,
+                "Position " + position + " is outside of [" + start + ", " + end + "]");
+
+        int count = (int) Math.min(length, end - position);
+        int index = (int) (position % samples.length);
+        int firstLength = Math.min(count, samples.length - index);
+        System.arraycopy(samples, index, destination, offset, firstLength);
+        System.arraycopy(samples, 0, destination, offset + firstLength, count - firstLength);
+        return count;
+    }
+
+    /**
+     * Discards the samples at and after the provided position.
+     *
+     * @param position the absolute position to truncate at
+     */
+    void truncate(long position) {
+        Preconditions.checkArgument(position >= start && position <= end);
+
+        end = position;
+    }
+
+    /**
+     * Discards all samples. Positions continue from the previous end.
+     */
+    void clear() {
+        start = end;
+    }
+}
@@ -0,0 +1,838 @@
+package cyder.audio.player;
+
+import com.google.common.base.Preconditions;
+import cyder.audio.DreamyEffect;
+import cyder.audio.TrackDecoder;
+import cyder.logging.LogTag;
+import cyder.logging.Logger;
+import cyder.threads.CyderThreadFactory;
+import cyder.threads.CyderThreadRunner;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.LineUnavailableException;
+import javax.sound.sampled.SourceDataLine;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * A gapless playback engine which decodes audio ahead of playback into a {@link PcmRingBuffer}
+ * and plays it through a single long-lived {@link SourceDataLine}.
+ * <p>
+ * A decoder thread keeps up to {@link #DECODE_AHEAD_MILLIS} of audio decoded ahead of the output.
+ * When a track has been decoded entirely, the next track is requested from the next track provider
+ * and decoded into the same ring directly after it, meaning the output thread plays across the boundary
+ * without reopening the line or waiting on a decoder; the line is only reopened if the next track has a
+ * different sample rate or channel count. The ring retains at least {@link #HISTORY_MILLIS} of audio
+ * behind the output, so seeking within the retained or decoded window of the current track moves the
+ * read position without decoding again.
+ * <p>
+ * Playback runs entirely on the engine's own threads and listener callbacks are invoked in order on a
+ * separate thread, so neither a busy event dispatch thread nor a slow listener can starve the line.
+ */
+final class PlaybackEngine {
+    /**
+     * A listener for playback events.
+     */
+    interface Listener {
+        /**
+         * Invoked when playback continues from the previous track into the provided track without
+         * being requested by {@link #play(File, long)}.
+         *
+         * @param file the track now playing
+         */
+        void onTrackStarted(File file);
+
+        /**
+         * Invoked when playback reaches the end of the last track because no next track was provided.
+         */
+        void onPlaybackEnded();
+    }
+
+    /**
+     * A creator of the lines audio is written to.
+     */
+    @FunctionalInterface
+    interface LineFactory {
+        /**
+         * Returns a new line which is not yet open for the provided format.
+         *
+         * @param format the format
+         * @return the line
+         * @throws LineUnavailableException if no line is available for the format
+         */
+        SourceDataLine createLine(AudioFormat format) throws LineUnavailableException;
+    }
+
+    /**
+     * The number of milliseconds of audio decoded ahead of the output.
+     */
+    static final int DECODE_AHEAD_MILLIS = 10_000;
+
+    /**
+     * The minimum number of milliseconds of audio retained behind the output.
+     */
+    static final int HISTORY_MILLIS = 20_000;
+
+    /**
+     * The number of milliseconds of audio buffered by the line.
+     */
+    private static final int LINE_BUFFER_MILLIS = 200;
+
+    /**
+     * The number of frames written to the line at a time, bounding how long requests wait on the output thread.
+     */
+    private static final int OUTPUT_BLOCK_FRAMES = 1024;
+
+    /**
+     * The highest sample rate the ring is sized for.
+     */
+    private static final int MAXIMUM_SAMPLE_RATE = 48_000;
+
+    /**
+     * The highest channel count the ring is sized for.
+     */
+    private static final int MAXIMUM_CHANNELS = 2;
+
+    /**
+     * The maximum number of samples decoded ahead of the output.
+     */
+    private static final int DECODE_AHEAD_SAMPLES = DECODE_AHEAD_MILLIS / 1000 * MAXIMUM_SAMPLE_RATE * MAXIMUM_CHANNELS;
+
+    /**
+     * The capacity of the ring in samples.
+     */
+    private static final int RING_CAPACITY = (DECODE_AHEAD_MILLIS + HISTORY_MILLIS) / 1000
+            * MAXIMUM_SAMPLE_RATE * MAXIMUM_CHANNELS;
+
+    /**
+     * The number of bits of the samples written to the line.
+     */
+    private static final int BITS_PER_SAMPLE = 16;
+
+    /**
+     * The name of the decoder thread.
+     */
+    private static final String DECODER_THREAD_NAME = "AudioPlayer Decoder";
+
+    /**
+     * The name of the output thread.
+     */
+    private static final String OUTPUT_THREAD_NAME = "AudioPlayer Output";
+
+    /**
+     * The name of the thread listener callbacks are invoked on.
+     */
+    private static final String LISTENER_THREAD_NAME = "AudioPlayer Playback Event";
+
+    /**
+     * A contiguous run of samples of a single track within the ring.
+     *
+     * @param file          the track
+     * @param startPosition the absolute ring position of the first sample
+     * @param startMillis   the position within the track of the first sample in milliseconds
+     * @param sampleRate    the sample rate
+     * @param channels      the number of interleaved channels
+     */
+    private record Segment(File file, long startPosition, long startMillis, int sampleRate, int channels) {
+        /**
+         * Returns the ring position of the provided position within the track.
+         *
+         * @param millis the position within the track in milliseconds, at least {@link #startMillis}
+         * @return the ring position
+         */
+        long toPosition(long millis) {
+            return startPosition + (millis - startMillis) * sampleRate / 1000 * channels;
+        }
+
+        /**
+         * Returns the position within the track of the provided ring position.
+         *
+         * @param position the ring position, at least {@link #startPosition}
+         * @return the position within the track in milliseconds
+         */
+        long toMillis(long position) {
+            return startMillis + (position - startPosition) / channels * 1000 / sampleRate;
+        }
+
+        /**
+         * Returns whether the provided segment has the same sample rate and channel count.
+         *
+         * @param other the other segment, possibly null
+         * @return whether the provided segment has the same format
+         */
+        boolean sameFormat(Segment other) {
+            return other != null && sampleRate == other.sampleRate && channels == other.channels;
+        }
+
+        /**
+         * Returns the format samples of this segment are written to the line with.
+         *
+         * @return the format of this segment
+         */
+        AudioFormat getFormat() {
+            return new AudioFormat(sampleRate, BITS_PER_SAMPLE, channels, true, false);
+        }
+    }
+
+    /**
+     * A request for the decoder thread.
+     *
+     * @param file        the track to decode, or null to decode the track provided after {@link #after}
+     * @param startMillis the position within the track to begin decoding at
+     * @param after       the track the next track is requested after if {@link #file} is null
+     * @param generation  the decode generation the request belongs to
+     */
+    private record DecodeRequest(File file, long startMillis, File after, int generation) {}
+
+    /**
+     * The provider of the track to play after the provided track.
+     */
+    private final Function<File, Optional<File>> nextTrackProvider;
+
+    /**
+     * The predicate for whether the dreamy effect should be applied to the provided track.
+     */
+    private final Predicate<File> effectEnabled;
+
+    /**
+     * The listener for playback events.
+     */
+    private final Listener listener;
+
+    /**
+     * The creator of lines.
+     */
+    private final LineFactory lineFactory;
+
+    /**
+     * The executor listener callbacks are invoked on.
+     */
+    private final ExecutorService listenerExecutor =
+            Executors.newSingleThreadExecutor(new CyderThreadFactory(LISTENER_THREAD_NAME));
+
+    /**
+     * The decoded samples, guarded by this.
+     */
+    private final PcmRingBuffer ring = new PcmRingBuffer(RING_CAPACITY);
+
+    /**
+     * The segments of the ring in order of position, guarded by this.
+     */
+    private final ArrayList<Segment> segments = new ArrayList<>();
+
+    /**
+     * Whether the engine's threads are running, guarded by this.
+     */
+    private boolean running;
+
+    /**
+     * The number of times the engine's threads were started, used by threads to detect they were superseded.
+     */
+    private int session;
+
+    /**
+     * The number of times the contents of the ring were invalidated by a request, guarded by this.
+     */
+    private int playbackGeneration;
+
+    /**
+     * The number of times decoding was restarted, guarded by this.
+     */
+    private int decodeGeneration;
+
+    /**
+     * The pending request for the decoder thread, guarded by this.
+     */
+    private DecodeRequest decodeRequest;
+
+    /**
+     * Whether the decoder thread is requesting the next track from the provider or has not yet
+     * begun decoding the track provided, guarded by this.
+     */
+    private boolean providingNextTrack;
+
+    /**
+     * The ring position at which playback ends, -1 if not yet known, guarded by this.
+     */
+    private long endOfStream = -1;
+
+    /**
+     * Whether audio should be playing, guarded by this.
+     */
+    private boolean playing;
+
+    /**
+     * The position playback resumes at when paused, and the requested position until the output thread
+     * applies a request, guarded by this.
+     */
+    private long requestedPosition;
+
+    /**
+     * Whether the output thread must discard the audio buffered by the line and continue from
+     * {@link #requestedPosition}, guarded by this.
+     */
+    private boolean lineResetRequested;
+
+    /**
+     * The position of the next sample the output thread will write to the line, guarded by this.
+     */
+    private long outputPosition;
+
+    /**
+     * The segment of the samples most recently written to the line, guarded by this.
+     */
+    private Segment outputSegment;
+
+    /**
+     * The line audio is written to, null if not open, guarded by this.
+     */
+    private SourceDataLine line;
+
+    /**
+     * The ring position of the first sample written to the line since it was opened or flushed, guarded by this.
+     */
+    private long lineStartPosition;
+
+    /**
+     * The frame position of the line when it was opened or flushed, -1 while the line is being flushed,
+     * guarded by this.
+     */
+    private long lineStartFrame;
+
+    /**
+     * The number of channels of the line, guarded by this.
+     */
+    private int lineChannels;
+
+    /**
+     * Constructs a new playback engine writing to lines provided by {@link AudioSystem}.
+     *
+     * @param nextTrackProvider the provider of the track to play after the provided track,
+     *                          invoked on the decoder thread
+     * @param effectEnabled     the predicate for whether the dreamy effect should be applied to the provided track
+     * @param listener          the listener for playback events
+     */
+    PlaybackEngine(Function<File, Optional<File>> nextTrackProvider, Predicate<File> effectEnabled,
+                   Listener listener) {
+        this(nextTrackProvider, effectEnabled, listener, AudioSystem::getSourceDataLine);
+    }
+
+    /**
+     * Constructs a new playback engine.
+     *
+     * @param nextTrackProvider the provider of the track to play after the provided track,
+     *                          invoked on the decoder thread
+     * @param effectEnabled     the predicate for whether the dreamy effect should be applied to the provided track
+     * @param listener          the listener for playback events
+     * @param lineFactory       the creator of lines
+     */
+    PlaybackEngine(Function<File, Optional<File>> nextTrackProvider, Predicate<File> effectEnabled,
+                   Listener listener, LineFactory lineFactory) {
+        this.nextTrackProvider = Preconditions.checkNotNull(nextTrackProvider);
+        this.effectEnabled = Preconditions.checkNotNull(effectEnabled);
+        this.listener = Preconditions.checkNotNull(listener);
+        this.lineFactory = Preconditions.checkNotNull(lineFactory);
+    }
+
+    /**
+     * Plays the provided track from the provided position. If the track is the one currently playing or paused
+     * and the position has been decoded and is still retained, playback moves to the position immediately.
+     * Otherwise, decoding restarts from the position. In either case, tracks decoded ahead of the current track
+     * are discarded and requested from the next track provider again.
+     *
+     * @param file   the track
+     * @param millis the position within the track in milliseconds
+     */
+    synchronized void play(File file, long millis) {
+        Preconditions.checkNotNull(file);
+        Preconditions.checkArgument(millis >= 0);
+
+        ensureRunning();
+
+        Segment current = segmentAt(getPlayedPosition());
+        if (current != null && current.file().equals(file) && millis >= current.startMillis()) {
+            long target = current.toPosition(millis);
+            long end = Math.min(ring.getEnd(), segmentEnd(current));
+            if (target >= ring.getStart() && target < end) {
+                discardUpcomingTracks(current);
+                requestedPosition = target;
+                lineResetRequested = true;
+                playing = true;
+                notifyAll();
+                return;
+            }
+        }
+
+        playbackGeneration++;
+        decodeGeneration++;
+        ring.clear();
+        segments.clear();
+        endOfStream = -1;
+        requestedPosition = ring.getEnd();
+        outputPosition = ring.getEnd();
+        outputSegment = null;
+        lineResetRequested = true;
+        decodeRequest = new DecodeRequest(file, millis, null, decodeGeneration);
+        playing = true;
+        notifyAll();
+    }
+
+    /**
+     * Pauses playback, retaining the decoded audio so that playback may resume or seek without decoding again.
+     */
+    synchronized void pause() {
+        if (!playing) return;
+
+        requestedPosition = getPlayedPosition();
+        playing = false;
+        lineResetRequested = true;
+        notifyAll();
+    }
+
+    /**
+     * Returns whether audio is playing.
+     *
+     * @return whether audio is playing
+     */
+    synchronized boolean isPlaying() {
+        return playing;
+    }
+
+    /**
+     * Returns the track at the playback position.
+     *
+     * @return the track at the playback position, empty if none
+     */
+    synchronized Optional<File> getCurrentFile() {
+        return Optional.ofNullable(segmentAt(getPlayedPosition())).map(Segment::file);
+    }
+
+    /**
+     * Returns the playback position within the current track in milliseconds.
+     *
+     * @return the playback position within the current track, zero if there is no current track
+     */
+    synchronized long getPositionMillis() {
+        long position = getPlayedPosition();
+        Segment segment = segmentAt(position);
+        return segment == null ? 0 : segment.toMillis(position);
+    }
+
+    /**
+     * Discards the tracks decoded ahead of the current track so that the next track is requested
+     * from the next track provider again, such as after the queue or shuffle mode changes.
+     * Tracks which have begun playing are unaffected.
+     */
+    synchronized void invalidateUpcomingTracks() {
+        if (!running) return;
+
+        Segment current = segmentAt(outputPosition);
+        if (current != null) discardUpcomingTracks(current);
+    }
+
+    /**
+     * Discards the tracks decoded or being requested after the provided segment and requests the track
+     * after it again. Nothing is discarded if the provided segment is still being decoded.
+     *
+     * @param current the segment to retain
+     */
+    private void discardUpcomingTracks(Segment current) {
+        int index = segments.indexOf(current);
+        boolean upcomingDecoded = index < segments.size() - 1;
+        boolean endDecided = endOfStream > outputPosition;
+        if (!upcomingDecoded && !endDecided && !providingNextTrack) return;
+
+        if (upcomingDecoded) {
+            ring.truncate(segments.get(index + 1).startPosition());
+            segments.subList(index + 1, segments.size()).clear();
+        }
+
+        decodeGeneration++;
+        endOfStream = -1;
+        decodeRequest = new DecodeRequest(null, 0, current.file(), decodeGeneration);
+        notifyAll();
+    }
+
+    /**
+     * Stops playback, discards all decoded audio, and closes the line. The engine restarts on the next play.
+     */
+    synchronized void close() {
+        playing = false;
+        running = false;
+        playbackGeneration++;
+        decodeGeneration++;
+        decodeRequest = null;
+        ring.clear();
+        segments.clear();
+        endOfStream = -1;
+        notifyAll();
+    }
+
+    /**
+     * Starts the decoder and output threads if not running.
+     */
+    private void ensureRunning() {
+        if (running) return;
+        running = true;
+
+        int threadSession = ++session;
+        CyderThreadRunner.submit(() -> runDecoder(threadSession), DECODER_THREAD_NAME);
+        CyderThreadRunner.submit(() -> runOutput(threadSession), OUTPUT_THREAD_NAME);
+    }
+
+    /**
+     * Returns whether threads of the provided session should continue running.
+     *
+     * @param threadSession the session of the thread
+     * @return whether threads of the provided session should continue running
+     */
+    private boolean isActive(int threadSession) {
+        return running && session == threadSession;
+    }
+
+    /**
+     * Returns the ring position of the sample being heard.
+     *
+     * @return the ring position of the sample being heard
+     */
+    private long getPlayedPosition() {
+        if (!playing || lineResetRequested) return requestedPosition;
+        if (line == null || lineStartFrame < 0) return lineStartPosition;
+
+        long played = lineStartPosition + (line.getLongFramePosition() - lineStartFrame) * lineChannels;
+        return Math.max(lineStartPosition, Math.min(outputPosition, played));
+    }
+
+    /**
+     * Returns the segment containing the provided ring position.
+     *
+     * @param position the ring position
+     * @return the segment containing the position, null if none
+     */
+    private Segment segmentAt(long position) {
+        for (int i = segments.size() - 1 ; i >= 0 ; i--) {
+            Segment segment = segments.get(i);
+            if (segment.startPosition() <= position) return segment;
+        }
+        return null;
+    }
+
+    /**
+     * Returns the ring position following the last sample of the provided segment.
+     *
+     * @param segment the segment
+     * @return the end of the segment, {@link Long#MAX_VALUE} if the segment is still being decoded
+     */
+    private long segmentEnd(Segment segment) {
+        int index = segments.indexOf(segment);
+        return index < segments.size() - 1 ? segments.get(index + 1).startPosition() : Long.MAX_VALUE;
+    }
+
+    /**
+     * Decodes requested tracks into the ring until the session ends.
+     *
+     * @param threadSession the session of this thread
+     */
+    private void runDecoder(int threadSession) {
+        while (true) {
+            DecodeRequest request;
+            synchronized (this) {
+                while (isActive(threadSession) && decodeRequest == null) {
+                    waitUninterruptibly();
+                }
+                if (!isActive(threadSession)) return;
+
+                request = decodeRequest;
+                decodeRequest = null;
+                providingNextTrack = request.file() == null;
+            }
+
+            File file = request.file();
+            if (file == null) file = nextTrackProvider.apply(request.after()).orElse(null);
+
+            boolean decoded = file != null && decode(file, request, threadSession);
+            synchronized (this) {
+                if (request.generation() != decodeGeneration || !isActive(threadSession)) continue;
+
+                providingNextTrack = false;
+                if (decoded) {
+                    decodeRequest = new DecodeRequest(null, 0, file, request.generation());
+                } else {
+                    endOfStream = ring.getEnd();
+                }
+                notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Decodes the provided track into the ring, waiting while the output is far enough behind.
+     *
+     * @param file          the track
+     * @param request       the request being decoded
+     * @param threadSession the session of this thread
+     * @return whether samples of the track were decoded and the track was decoded until its end or an error
+     */
+    private boolean decode(File file, DecodeRequest request, int threadSession) {
+        try (TrackDecoder decoder = TrackDecoder.open(file)) {
+            decoder.skipTo(request.startMillis());
+
+            synchronized (this) {
+                if (request.generation() != decodeGeneration || !isActive(threadSession)) return false;
+
+                while (segments.size() > 1 && segments.get(1).startPosition() <= ring.getStart()) {
+                    segments.remove(0);
+                }
+                segments.add(new Segment(file, ring.getEnd(), decoder.getPositionMillis(),
+                        decoder.getSampleRate(), decoder.getChannels()));
+                providingNextTrack = false;
+            }
+
+            short[] buffer = new short[decoder.getMinimumBufferLength()];
+            boolean samplesDecoded = false;
+            while (true) {
+                int length;
+                try {
+                    length = decoder.read(buffer);
+                } catch (IOException e) {
+                    Logger.log(LogTag.AUDIO, "Stopped decoding " + file.getName() + ": " + e.getMessage());
+                    return samplesDecoded;
+                }
+                if (length < 0) return samplesDecoded;
+                samplesDecoded |= length > 0;
+
+                synchronized (this) {
+                    while (request.generation() == decodeGeneration && isActive(threadSession)
+                            && ring.getEnd() + length - outputPosition > DECODE_AHEAD_SAMPLES) {
+                        waitUninterruptibly();
+                    }
+                    if (request.generation() != decodeGeneration || !isActive(threadSession)) return false;
+
+                    ring.write(buffer, 0, length);
+                    notifyAll();
+                }
+            }
+        } catch (IOException e) {
+            Logger.log(LogTag.AUDIO, "Failed to decode " + file.getName() + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Writes decoded samples to the line until the session ends.
+     *
+     * @param threadSession the session of this thread
+     */
+    private void runOutput(int threadSession) {
+        short[] block = new short[OUTPUT_BLOCK_FRAMES * MAXIMUM_CHANNELS];
+        byte[] bytes = new byte[block.length * Short.BYTES];
+
+        SourceDataLine outputLine = null;
+        Segment lineSegment = null;
+        DreamyEffect effect = null;
+        Segment effectSegment = null;
+        boolean effectApplied = false;
+
+        try {
+            while (true) {
+                boolean resetLine;
+                boolean ended = false;
+                boolean trackStarted = false;
+                Segment segment = null;
+                int count = 0;
+                long blockStart;
+                int generation;
+
+                synchronized (this) {
+                    while (isActive(threadSession) && !lineResetRequested
+                            && !(playing && (outputPosition < ring.getEnd() || outputPosition == endOfStream))) {
+                        waitUninterruptibly();
+                    }
+                    if (!isActive(threadSession)) return;
+
+                    resetLine = lineResetRequested;
+                    lineResetRequested = false;
+                    if (resetLine) {
+                        outputPosition = requestedPosition;
+                        outputSegment = null;
+                        lineStartPosition = requestedPosition;
+                        lineStartFrame = -1;
+                    }
+
+                    blockStart = outputPosition;
+                    generation = playbackGeneration;
+                    if (playing && outputPosition == endOfStream) {
+                        ended = true;
+                    } else if (playing && outputPosition < ring.getEnd()) {
+                        segment = segmentAt(outputPosition);
+                        long available = Math.min(ring.getEnd(), segmentEnd(segment)) - outputPosition;
+                        int maximum = block.length - block.length % segment.channels();
+                        count = ring.read(outputPosition, block, 0, (int) Math.min(maximum, available));
+
+                        trackStarted = outputSegment != null && outputSegment != segment;
+                        outputSegment = segment;
+                        outputPosition += count;
+                        notifyAll();
+                    }
+                }
+
+                if (resetLine) {
+                    effectApplied = false;
+                    if (outputLine != null) {
+                        outputLine.stop();
+                        outputLine.flush();
+                        synchronized (this) {
+                            if (lineStartFrame < 0) lineStartFrame = outputLine.getLongFramePosition();
+                        }
+                    }
+                }
+
+                if (ended) {
+                    drainLine(outputLine);
+                    synchronized (this) {
+                        if (generation != playbackGeneration || !playing || lineResetRequested
+                                || outputPosition != endOfStream) continue;
+                        playing = false;
+                        requestedPosition = outputPosition;
+                    }
+                    notifyListener(generation, listener::onPlaybackEnded);
+                    continue;
+                }
+                if (count == 0) continue;
+
+                if (!segment.sameFormat(lineSegment)) {
+                    if (outputLine != null) {
+                        drainLine(outputLine);
+                        closeLine(outputLine, blockStart);
+                    }
+
+                    outputLine = openLine(segment);
+                    lineSegment = segment;
+                    if (outputLine == null) {
+                        synchronized (this) {
+                            playing = false;
+                            requestedPosition = blockStart;
+                        }
+                        notifyListener(generation, listener::onPlaybackEnded);
+                        continue;
+                    }
+
+                    synchronized (this) {
+                        line = outputLine;
+                        lineStartPosition = blockStart;
+                        lineStartFrame = outputLine.getLongFramePosition();
+                        lineChannels = segment.channels();
+                    }
+                }
+
+                if (trackStarted) {
+                    File file = segment.file();
+                    notifyListener(generation, () -> listener.onTrackStarted(file));
+                }
+
+                if (effectEnabled.test(segment.file())) {
+                    if (effect == null || !segment.sameFormat(effectSegment)) {
+                        effect = new DreamyEffect(segment.sampleRate(), segment.channels());
+                        effectSegment = segment;
+                    } else if (!effectApplied) {
+                        effect.reset();
+                    }
+                    effect.process(block, 0, count);
+                    effectApplied = true;
+                } else {
+                    effectApplied = false;
+                }
+
+                for (int i = 0 ; i < count ; i++) {
+                    bytes[2 * i] = (byte) block[i];
+                    bytes[2 * i + 1] = (byte) (block[i] >> 8);
+                }
+
+                if (!outputLine.isRunning()) outputLine.start();
+                outputLine.write(bytes, 0, count * Short.BYTES);
+            }
+        } finally {
+            if (outputLine != null) {
+                outputLine.stop();
+                outputLine.flush();
+                closeLine(outputLine, outputPosition);
+            }
+        }
+    }
+
+    /**
+     * Opens a line for the format of the provided segment.
+     *
+     * @param segment the segment
+     * @return the open line, null if no line is available
+     */
+    private SourceDataLine openLine(Segment segment) {
+        AudioFormat format = segment.getFormat();
+        int bufferBytes = segment.sampleRate() * LINE_BUFFER_MILLIS / 1000 * format.getFrameSize();
+
+        try {
+            SourceDataLine newLine = lineFactory.createLine(format);
+            newLine.open(format, bufferBytes);
+            return newLine;
+        } catch (LineUnavailableException | IllegalArgumentException e) {
+            Logger.log(LogTag.AUDIO, "No line available for " + format + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Blocks until the audio buffered by the provided line has been played if the line is running.
+     *
+     * @param draining the line, possibly null
+     */
+    private static void drainLine(SourceDataLine draining) {
+        if (draining != null && draining.isRunning()) draining.drain();
+    }
+
+    /**
+     * Closes the provided line and clears it as the line positions are reported from.
+     *
+     * @param closing  the line
+     * @param position the ring position reported until another line is opened
+     */
+    private void closeLine(SourceDataLine closing, long position) {
+        synchronized (this) {
+            if (line == closing) {
+                line = null;
+                lineStartPosition = position;
+            }
+        }
+        closing.close();
+    }
+
+    /**
+     * Invokes the provided listener callback on a separate thread if no request superseded it.
+     *
+     * @param generation the playback generation the event belongs to
+     * @param callback   the callback
+     */
+    private void notifyListener(int generation, Runnable callback) {
+        listenerExecutor.submit(() -> {
+            synchronized (this) {
+                if (generation != playbackGeneration) return;
+            }
+            callback.run();
+        });
+    }
+
+    /**
+     * Waits on this engine's monitor, which must be held, ignoring interrupts.
+     */
+    private void waitUninterruptibly() {
+        try {
+            wait();
+        } catch (InterruptedException ignored) {}
+    }
+}
@@ -13,6 +13,8 @@ import org.jsoup.safety.Safelist;
 import java.awt.*;
 import java.awt.font.FontRenderContext;
 import java.awt.geom.AffineTransform;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * Utility methods to calculate the needed space for a String of text.
@@ -38,6 +40,32 @@ public final class BoundsUtil {
      */
     private static final int numLookAroundForSpaceChars = 7;
 
+    /**
+     * The maximum number of recent calculations to remember.
+     */
+    private static final int MAX_RECENT_CALCULATIONS = 256;
+
+    /**
+     * A key for a remembered calculation.
+     *
+     * @param text     the text
+     * @param font     the font
+     * @param maxWidth the maximum width
+     */
+    private record BoundsKey(String text, Font font, int maxWidth) {}
+
+    /**
+     * The most recent calculations, evicted in least recently used order.
+     * Labels and notifications frequently measure the same text repeatedly.
+     */
+    private static final LinkedHashMap<BoundsKey, BoundsString> recentCalculations =
+            new LinkedHashMap<>(MAX_RECENT_CALCULATIONS, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<BoundsKey, BoundsString> eldest) {
+                    return size() > MAX_RECENT_CALCULATIONS;
+                }
+            };
+
     /**
      * Suppress default constructor.
      */
@@ -87,140 +115,221 @@ public final class BoundsUtil {
         Preconditions.checkNotNull(font);
         Preconditions.checkArgument(maxWidth > 0);
 
-        int widthAddition = 5;
+        BoundsKey key = new BoundsKey(text, font, maxWidth);
+        synchronized (recentCalculations) {
+            BoundsString cached = recentCalculations.get(key);
+            if (cached != null) return cached;
+        }
 
-        FontRenderContext fontRenderContext = new FontRenderContext(new AffineTransform(),
-                font.isItalic(), true);
-        int lineHeightForFont = StringUtil.getMinHeight(text, font);
+        BoundsString ret = HtmlUtil.containsHtmlStyling(text)
+                ? htmlWidthHeightCalculation(text, font, maxWidth)
+                : nonHtmlWidthHeightCalculation(text, font, maxWidth);
 
-        if (HtmlUtil.containsHtmlStyling(text)) {
-            boolean inHtmlTag = false;
-            StringBuilder htmlBuilder = new StringBuilder();
-            StringBuilder currentLineBuilder = new StringBuilder();
-            for (char c : text.toCharArray()) {
-                if (c == openingHtmlTagChar && !inHtmlTag) {
-                    htmlBuilder.append(currentLineBuilder);
-                    currentLineBuilder = new StringBuilder(String.valueOf(c));
-                    inHtmlTag = true;
-                    continue;
-                } else if (c == closingHtmlTagChar && inHtmlTag) {
-                    inHtmlTag = false;
-                    currentLineBuilder.append(c);
+        synchronized (recentCalculations) {
+            recentCalculations.put(key, ret);
+        }
 
-                    htmlBuilder.append(currentLineBuilder);
-                    currentLineBuilder = new StringBuilder();
+        return ret;
+    }
 
-                    continue;
-                }
+    /**
+     * Calculates the bounds of the provided html-styled text by inserting break tags
+     * wherever the next char would cause the current line to exceed the maximum width.
+     * <p>
+     * The width of the current line is accumulated one glyph advance at a time when possible,
+     * making this linear in the length of the text instead of re-measuring the line for each char.
+     *
+     * @param text     the html-styled text
+     * @param font     the font to be used
+     * @param maxWidth the maximum width allowed
+     * @return an object composed of the width, height, and the html-styled text with break tags inserted
+     */
+    private static BoundsString htmlWidthHeightCalculation(String text, Font font, int maxWidth) {
+        TextMeasurer measurer = TextMeasurer.forFont(font);
+        boolean sumAdvances = measurer.supportsAdvanceSum(text);
+        int lineHeightForFont = StringUtil.getMinHeight(text, font);
 
-                if (inHtmlTag) {
-                    currentLineBuilder.append(c);
-                    continue;
-                }
+        boolean inHtmlTag = false;
+        StringBuilder htmlBuilder = new StringBuilder();
+        StringBuilder currentLineBuilder = new StringBuilder();
+        float currentLineAdvance = 0;
+
+        for (char c : text.toCharArray()) {
+            if (c == openingHtmlTagChar && !inHtmlTag) {
+                htmlBuilder.append(currentLineBuilder);
+                currentLineBuilder.setLength(0);
+                currentLineBuilder.append(c);
+                inHtmlTag = true;
+                continue;
+            } else if (c == closingHtmlTagChar && inHtmlTag) {
+                inHtmlTag = false;
+                currentLineBuilder.append(c);
+
+                htmlBuilder.append(currentLineBuilder);
+                currentLineBuilder.setLength(0);
+                currentLineAdvance = 0;
+
+                continue;
+            }
 
-                if (currentLineBuilder.toString().endsWith(HtmlTags.breakTag)) {
-                    htmlBuilder.append(currentLineBuilder);
-                    currentLineBuilder = new StringBuilder(String.valueOf(c));
-                    continue;
-                }
+            if (inHtmlTag) {
+                currentLineBuilder.append(c);
+                continue;
+            }
 
-                int currentLineWidth = StringUtil.getMinWidth(currentLineBuilder + String.valueOf(c), font);
-                if (currentLineWidth > maxWidth) {
-                    // Sweet, we can just replace the current char with the break tag
-                    if (c == ' ') {
-                        htmlBuilder.append(currentLineBuilder).append(HtmlTags.breakTag);
-                        currentLineBuilder = new StringBuilder();
-                    } else {
-                        String currentLine = currentLineBuilder.toString();
-                        // Ensure we don't look back farther than we can
-                        int numLookBack = Math.min(currentLine.length(), numLookAroundForSpaceChars);
-
-                        boolean insertedSpace = false;
-                        for (int i = currentLine.length() - 1 ; i > currentLine.length() - numLookBack - 1 ; i--) {
-                            if (currentLine.charAt(i) == ' ') {
-                                htmlBuilder.append(currentLine, 0, i)
-                                        .append(HtmlTags.breakTag)
-                                        .append(currentLine.substring(i + 1 >= currentLine.length() ? i : i + 1));
-                                currentLineBuilder = new StringBuilder(String.valueOf(c));
-                                insertedSpace = true;
-                                break;
-                            }
-                        }
+            if (endsWith(currentLineBuilder, HtmlTags.breakTag)) {
+                htmlBuilder.append(currentLineBuilder);
+                currentLineBuilder.setLength(0);
+                currentLineBuilder.append(c);
+                currentLineAdvance = sumAdvances ? measurer.advance(c) : 0;
+                continue;
+            }
 
-                        // Unfortunately have to break up a word
-                        if (!insertedSpace) {
-                            htmlBuilder.append(currentLineBuilder).append(HtmlTags.breakTag);
-                            currentLineBuilder = new StringBuilder(String.valueOf(c));
+            float nextAdvance = sumAdvances ? measurer.advance(c) : 0;
+            int currentLineWidth = sumAdvances
+                    ? (int) (currentLineAdvance + nextAdvance) + StringUtil.SIZE_ADDITIVE
+                    : StringUtil.getMinWidth(currentLineBuilder + String.valueOf(c), font);
+            if (currentLineWidth > maxWidth) {
+                // Sweet, we can just replace the current char with the break tag
+                if (c == ' ') {
+                    htmlBuilder.append(currentLineBuilder).append(HtmlTags.breakTag);
+                    currentLineBuilder.setLength(0);
+                    currentLineAdvance = 0;
+                } else {
+                    int length = currentLineBuilder.length();
+                    // Ensure we don't look back farther than we can
+                    int numLookBack = Math.min(length, numLookAroundForSpaceChars);
+
+                    boolean insertedSpace = false;
+                    for (int i = length - 1 ; i > length - numLookBack - 1 ; i--) {
+                        if (currentLineBuilder.charAt(i) == ' ') {
+                            htmlBuilder.append(currentLineBuilder, 0, i)
+                                    .append(HtmlTags.breakTag)
+                                    .append(currentLineBuilder, i + 1 >= length ? i : i + 1, length);
+                            insertedSpace = true;
+                            break;
                         }
                     }
-                } else {
+
+                    // Unfortunately have to break up a word
+                    if (!insertedSpace) {
+                        htmlBuilder.append(currentLineBuilder).append(HtmlTags.breakTag);
+                    }
+
+                    currentLineBuilder.setLength(0);
                     currentLineBuilder.append(c);
+                    currentLineAdvance = nextAdvance;
                 }
+            } else {
+                currentLineBuilder.append(c);
+                currentLineAdvance += nextAdvance;
             }
+        }
 
-            htmlBuilder.append(currentLineBuilder);
+        htmlBuilder.append(currentLineBuilder);
 
-            String[] lines = htmlBuilder.toString().split(HtmlTags.breakTag);
-            int necessaryHeight = lineHeightForFont * lines.length;
+        String[] lines = htmlBuilder.toString().split(HtmlTags.breakTag);
+        int necessaryHeight = lineHeightForFont * lines.length;
 
-            int necessaryWidth = 0;
-            for (String line : lines) {
-                necessaryWidth = Math.max(necessaryWidth, StringUtil.getMinWidth(
-                        Jsoup.clean(line, Safelist.none()), font));
-            }
+        int necessaryWidth = 0;
+        for (String line : lines) {
+            int lineWidth = (int) measurer.width(Jsoup.clean(line, Safelist.none())) + StringUtil.SIZE_ADDITIVE;
+            necessaryWidth = Math.max(necessaryWidth, lineWidth);
+        }
 
-            if (!htmlBuilder.toString().startsWith(HtmlTags.openingHtml)) {
-                htmlBuilder.insert(0, HtmlTags.openingHtml);
-            }
-            if (!htmlBuilder.toString().endsWith(HtmlTags.closingHtml)) {
-                htmlBuilder.append(HtmlTags.closingHtml);
-            }
+        if (!startsWith(htmlBuilder, HtmlTags.openingHtml)) {
+            htmlBuilder.insert(0, HtmlTags.openingHtml);
+        }
+        if (!endsWith(htmlBuilder, HtmlTags.closingHtml)) {
+            htmlBuilder.append(HtmlTags.closingHtml);
+        }
 
-            return new BoundsString(htmlBuilder.toString(), necessaryWidth, necessaryHeight);
-        } else {
-            // Non-html so we don't have to worry about where break tags fall
-            // Preferably they are not in the middle of words
+        return new BoundsString(htmlBuilder.toString(), necessaryWidth, necessaryHeight);
+    }
 
-            String[] lines = text.split(HtmlTags.breakTag);
-            StringBuilder nonHtmlBuilder = new StringBuilder();
+    /**
+     * Calculates the bounds of the provided text which contains no html styling
+     * by splitting any lines exceeding the maximum width into roughly equal lines.
+     *
+     * @param text     the text
+     * @param font     the font to be used
+     * @param maxWidth the maximum width allowed
+     * @return an object composed of the width, height, and the html-styled text with break tags inserted
+     */
+    private static BoundsString nonHtmlWidthHeightCalculation(String text, Font font, int maxWidth) {
+        // Non-html so we don't have to worry about where break tags fall
+        // Preferably they are not in the middle of words
 
-            for (int i = 0 ; i < lines.length ; i++) {
-                int fullLineWidth = StringUtil.getMinWidth(lines[i], font) + widthAddition;
-                if (fullLineWidth > maxWidth) {
-                    // Number of lines to split the current line into
-                    int neededLines = (int) Math.ceil(fullLineWidth / (double) maxWidth);
-                    neededLines = Math.max(2, neededLines);
+        int widthAddition = 5;
 
-                    nonHtmlBuilder.append(insertBreaks(lines[i], neededLines));
-                } else {
-                    nonHtmlBuilder.append(lines[i]);
-                }
+        TextMeasurer measurer = TextMeasurer.forFont(font);
+        TextMeasurer styleMeasurer = TextMeasurer.forFont(font,
+                new FontRenderContext(new AffineTransform(), font.isItalic(), true));
+        int lineHeightForFont = StringUtil.getMinHeight(text, font);
 
-                if (i != lines.length - 1) {
-                    nonHtmlBuilder.append(HtmlTags.breakTag);
-                }
-            }
+        String[] lines = text.split(HtmlTags.breakTag);
+        StringBuilder nonHtmlBuilder = new StringBuilder();
 
-            String nonHtml = nonHtmlBuilder.toString();
-            String[] nonHtmlLines = nonHtml.split(HtmlTags.breakTag);
+        for (int i = 0 ; i < lines.length ; i++) {
+            int fullLineWidth = (int) measurer.width(lines[i]) + StringUtil.SIZE_ADDITIVE + widthAddition;
+            if (fullLineWidth > maxWidth) {
+                // Number of lines to split the current line into
+                int neededLines = (int) Math.ceil(fullLineWidth / (double) maxWidth);
+                neededLines = Math.max(2, neededLines);
 
-            int w = 0;
-            for (String line : nonHtmlLines) {
-                int currentWidth = (int) (font.getStringBounds(line, fontRenderContext).getWidth() + widthAddition);
-                w = Math.max(w, currentWidth);
+                nonHtmlBuilder.append(insertBreaks(lines[i], neededLines));
+            } else {
+                nonHtmlBuilder.append(lines[i]);
             }
 
-            int h = lineHeightForFont * nonHtmlLines.length;
-
-            if (!nonHtml.startsWith(HtmlTags.openingHtml)) {
-                nonHtml = HtmlTags.openingHtml + nonHtml;
-            }
-            if (!nonHtml.endsWith(HtmlTags.closingHtml)) {
-                nonHtml += HtmlTags.closingHtml;
+            if (i != lines.length - 1) {
+                nonHtmlBuilder.append(HtmlTags.breakTag);
             }
+        }
+
+        String nonHtml = nonHtmlBuilder.toString();
+        String[] nonHtmlLines = nonHtml.split(HtmlTags.breakTag);
 
-            return new BoundsString(nonHtml, w, h);
+        int w = 0;
+        for (String line : nonHtmlLines) {
+            int currentWidth = (int) (styleMeasurer.width(line) + widthAddition);
+            w = Math.max(w, currentWidth);
         }
+
+        int h = lineHeightForFont * nonHtmlLines.length;
+
+        if (!nonHtml.startsWith(HtmlTags.openingHtml)) {
+            nonHtml = HtmlTags.openingHtml + nonHtml;
+        }
+        if (!nonHtml.endsWith(HtmlTags.closingHtml)) {
+            nonHtml += HtmlTags.closingHtml;
+        }
+
+        return new BoundsString(nonHtml, w, h);
+    }
+
+    /**
+     * Returns whether the provided builder starts with the provided prefix without copying the builder.
+     *
+     * @param builder the builder
+     * @param prefix  the prefix
+     * @return whether the provided builder starts with the provided prefix
+     */
+    private static boolean startsWith(StringBuilder builder, String prefix) {
+        return builder.length() >= prefix.length()
+                && builder.substring(0, prefix.length()).equals(prefix);
+    }
+
+    /**
+     * Returns whether the provided builder ends with the provided suffix without copying the builder.
+     *
+     * @param builder the builder
+     * @param suffix  the suffix
+     * @return whether the provided builder ends with the provided suffix
+     */
+    private static boolean endsWith(StringBuilder builder, String suffix) {
+        int offset = builder.length() - suffix.length();
+        return offset >= 0 && builder.indexOf(suffix, offset) == offset;
     }
 
     /**
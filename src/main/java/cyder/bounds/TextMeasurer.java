@@ -0,0 +1,176 @@
+package cyder.bounds;
+
+import com.google.common.base.Preconditions;
+
+import java.awt.*;
+import java.awt.font.FontRenderContext;
+import java.awt.geom.AffineTransform;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A text measurer for a particular {@link Font} and {@link FontRenderContext} which caches glyph advances.
+ * <p>
+ * For text which does not require complex layout, {@link Font#getStringBounds(String, FontRenderContext)}
+ * computes the width of a string as the sequential float sum of the advances of its chars. This measurer
+ * computes that identical sum from cached advances meaning the width of a line may be grown a char
+ * at a time in constant time instead of re-measuring the whole line. Text requiring complex layout
+ * and fonts with layout attributes such as kerning are measured using the font directly.
+ */
+public final class TextMeasurer {
+    /**
+     * The render context used for string bounds calculations throughout Cyder.
+     */
+    public static final FontRenderContext DEFAULT_RENDER_CONTEXT =
+            new FontRenderContext(new AffineTransform(), true, true);
+
+    /**
+     * The number of chars whose advances are cached in an array.
+     */
+    private static final int LATIN_CHARS = 256;
+
+    /**
+     * A key for a measurer.
+     *
+     * @param font          the font
+     * @param renderContext the render context
+     */
+    private record MeasurerKey(Font font, FontRenderContext renderContext) {}
+
+    /**
+     * The measurers which have been created.
+     */
+    private static final ConcurrentHashMap<MeasurerKey, TextMeasurer> measurers = new ConcurrentHashMap<>();
+
+    /**
+     * The font this measurer measures.
+     */
+    private final Font font;
+
+    /**
+     * The render context used for measuring.
+     */
+    private final FontRenderContext renderContext;
+
+    /**
+     * Whether the font has no attributes requiring layout.
+     */
+    private final boolean simpleFont;
+
+    /**
+     * The cached advances of the latin chars, {@link Float#NaN} if not yet measured.
+     */
+    private final float[] latinAdvances = new float[LATIN_CHARS];
+
+    /**
+     * The cached advances of all other chars.
+     */
+    private final ConcurrentHashMap<Character, Float> otherAdvances = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a new text measurer.
+     *
+     * @param font          the font to measure
+     * @param renderContext the render context to measure using
+     */
+    private TextMeasurer(Font font, FontRenderContext renderContext) {
+        this.font = font;
+        this.renderContext = renderContext;
+        this.simpleFont = !font.hasLayoutAttributes();
+        Arrays.fill(latinAdvances, Float.NaN);
+    }
+
+    /**
+     * Returns the measurer for the provided font using the {@link #DEFAULT_RENDER_CONTEXT}.
+     *
+     * @param font the font
+     * @return the measurer for the provided font
+     */
+    public static TextMeasurer forFont(Font font) {
+        return forFont(font, DEFAULT_RENDER_CONTEXT);
+    }
+
+    /**
+     * Returns the measurer for the provided font and render context.
+     *
+     * @param font          the font
+     * @param renderContext the render context
+     * @return the measurer for the provided font and render context
+     */
+    public static TextMeasurer forFont(Font font, FontRenderContext renderContext) {
+        Preconditions.checkNotNull(font);
+        Preconditions.checkNotNull(renderContext);
+
+        return measurers.computeIfAbsent(new MeasurerKey(font, renderContext),
+                key -> new TextMeasurer(key.font(), key.renderContext()));
+    }
+
+    /**
+     * Returns the font this measurer measures.
+     *
+     * @return the font this measurer measures
+     */
+    public Font getFont() {
+        return font;
+    }
+
+    /**
+     * Returns whether the provided text may be measured by summing cached advances.
+     *
+     * @param text the text
+     * @return whether the provided text may be measured by summing cached advances
+     */
+    public boolean supportsAdvanceSum(String text) {
+        Preconditions.checkNotNull(text);
+
+        return simpleFont && !Font.textRequiresLayout(text.toCharArray(), 0, text.length());
+    }
+
+    /**
+     * Returns the advance of the provided char.
+     *
+     * @param c the char
+     * @return the advance of the provided char
+     */
+    public float advance(char c) {
+        if (c < LATIN_CHARS) {
+            float advance = latinAdvances[c];
+            if (Float.isNaN(advance)) {
+                advance = measureAdvance(c);
+                latinAdvances[c] = advance;
+            }
+            return advance;
+        }
+
+        return otherAdvances.computeIfAbsent(c, this::measureAdvance);
+    }
+
+    /**
+     * Returns the width of the provided text, identical to the width of the bounds
+     * returned by {@link Font#getStringBounds(String, FontRenderContext)}.
+     *
+     * @param text the text
+     * @return the width of the provided text
+     */
+    public double width(String text) {
+        Preconditions.checkNotNull(text);
+
+        if (!supportsAdvanceSum(text)) return font.getStringBounds(text, renderContext).getWidth();
+
+        float width = 0;
+        for (int i = 0 ; i < text.length() ; i++) {
+            width += advance(text.charAt(i));
+        }
+        return width;
+    }
+
+    /**
+     * Measures the advance of the provided char using the font.
+     *
+     * @param c the char
+     * @return the advance of the char
+     */
+    private float measureAdvance(char c) {
+        return (float) font.getStringBounds(String.valueOf(c), renderContext).getWidth();
+    }
+}
@@ -4,6 +4,7 @@ import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import cyder.animation.Tween;
 import cyder.annotations.ForReadability;
 import cyder.audio.AudioIcons;
 import cyder.audio.GeneralAudioPlayer;
@@ -37,7 +38,6 @@ import cyder.meta.ProgramStateManager;
 import cyder.network.NetworkUtil;
 import cyder.props.Props;
 import cyder.strings.StringUtil;
-import cyder.threads.CyderThreadFactory;
 import cyder.threads.CyderThreadRunner;
 import cyder.threads.IgnoreThread;
 import cyder.threads.ThreadUtil;
@@ -78,7 +78,6 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -322,6 +321,8 @@ public enum Console {
         performTimingChecks();
 
         introMusicCheck();
+
+        UserUtil.resizeOversizedBackgroundsInBackground();
     }
 
     /**
@@ -1524,16 +1525,6 @@ public enum Console {
         animateInMenuLabel();
     }
 
-    /**
-     * The name of the animating thread for the console input and output fields.
-     */
-    private static final String CONSOLE_FIELDS_ANIMATOR_THREAD_NAME = "Console Fields Animator";
-
-    /**
-     * The name of the thread for animating in the menu label.
-     */
-    private static final String MINIMIZE_MENU_THREAD_NAME = "Minimize Console Menu Thread";
-
     /**
      * The increment in pixels for the menu label and fields for animations.
      */
@@ -1554,40 +1545,29 @@ public enum Console {
      * to smaller sizes to account for the space taken by the menu.
      */
     private void animateInMenuLabel() {
-        CyderThreadRunner.submit(() -> {
-            menuLabel.setLocation(consoleMenuHiddenPoint);
-            menuLabel.setVisible(true);
-            int y = menuLabel.getY();
-
-            for (int i = (int) consoleMenuHiddenPoint.getX()
-                 ; i < consoleMenuShowingPoint.getX() ; i += menuAnimationIncrement) {
-                menuLabel.setLocation(i, y);
-                ThreadUtil.sleep(menuAnimationDelayMs);
-            }
+        menuLabel.setLocation(consoleMenuHiddenPoint);
+        menuLabel.setVisible(true);
 
-            menuLabel.setLocation(consoleMenuShowingPoint);
+        Duration menuDuration = Tween.stepDuration(consoleMenuShowingPoint.getX() - consoleMenuHiddenPoint.getX(),
+                menuAnimationIncrement, menuAnimationDelayMs);
+        Tween.location(menuLabel, consoleMenuShowingPoint, menuDuration)
+                .setOnComplete(this::revalidateInputAndOutputBounds).start();
 
-            revalidateInputAndOutputBounds();
-        }, MINIMIZE_MENU_THREAD_NAME);
-
-        CyderThreadRunner.submit(() -> {
-            int outputScrollY = outputScroll.getY();
-            int outputScrollWidth = outputScroll.getWidth();
-            int outputScrollHeight = outputScroll.getHeight();
-
-            int inputFieldY = inputField.getY();
-            int inputFieldWidth = inputField.getWidth();
-            int inputFieldHeight = inputField.getHeight();
+        int outputScrollY = outputScroll.getY();
+        int outputScrollWidth = outputScroll.getWidth();
+        int outputScrollHeight = outputScroll.getHeight();
 
-            for (int x = inputField.getX() ; x < fieldsEnterAnimateToX ; x += menuAnimationIncrement) {
-                outputScroll.setBounds(x, outputScrollY, outputScrollWidth, outputScrollHeight);
-                inputField.setBounds(x, inputFieldY, inputFieldWidth, inputFieldHeight);
+        int inputFieldY = inputField.getY();
+        int inputFieldWidth = inputField.getWidth();
+        int inputFieldHeight = inputField.getHeight();
 
-                ThreadUtil.sleep(menuAnimationDelayMs);
-            }
-
-            revalidateInputAndOutputBounds();
-        }, CONSOLE_FIELDS_ANIMATOR_THREAD_NAME);
+        int fromX = inputField.getX();
+        int toX = Math.max(fromX, fieldsEnterAnimateToX);
+        new Tween(Tween.stepDuration(toX - fromX, menuAnimationIncrement, menuAnimationDelayMs), progress -> {
+            int x = Tween.interpolate(fromX, toX, progress);
+            outputScroll.setBounds(x, outputScrollY, outputScrollWidth, outputScrollHeight);
+            inputField.setBounds(x, inputFieldY, inputFieldWidth, inputFieldHeight);
+        }).setTarget(inputField, Tween.BOUNDS).setOnComplete(this::revalidateInputAndOutputBounds).start();
     }
 
     /**
@@ -2103,11 +2083,6 @@ public enum Console {
         }
     }
 
-    /**
-     * The thread name for the input and output fields out animator thread.
-     */
-    private static final String CONSOLE_FIELDS_OUT_ANIMATOR_THREAD_NAME = "Console Field Out Animator";
-
     /**
      * The animate to x value when animating the fields left with the menu minimize animation.
      */
@@ -2119,39 +2094,29 @@ public enum Console {
     private void minimizeMenu() {
         Preconditions.checkState(menuLabel.isVisible());
 
-        CyderThreadRunner.submit(() -> {
-            int outputScrollY = outputScroll.getY();
-            int outputScrollWidth = outputScroll.getWidth();
-            int outputScrollHeight = outputScroll.getHeight();
-
-            int inputFieldY = inputField.getY();
-            int inputFieldWidth = inputField.getWidth();
-            int inputFieldHeight = inputField.getHeight();
-
-            for (int i = inputField.getX() ; i > minFieldAnimateToX ; i -= menuAnimationIncrement) {
-                outputScroll.setBounds(i, outputScrollY, outputScrollWidth + 1, outputScrollHeight);
-                inputField.setBounds(i, inputFieldY, inputFieldWidth + 1, inputFieldHeight);
-
-                ThreadUtil.sleep(menuAnimationDelayMs);
-            }
-
-            revalidateInputAndOutputBounds(true);
-        }, CONSOLE_FIELDS_OUT_ANIMATOR_THREAD_NAME);
-
-        CyderThreadRunner.submit(() -> {
-            menuLabel.setLocation(consoleMenuShowingPoint);
-            int y = menuLabel.getY();
-
-            for (int i = 0 ; i > consoleMenuHiddenPoint.getX() ; i -= menuAnimationIncrement) {
-                menuLabel.setLocation(i, y);
-                ThreadUtil.sleep(menuAnimationDelayMs);
-            }
-
-            menuLabel.setLocation(consoleMenuHiddenPoint);
+        int outputScrollY = outputScroll.getY();
+        int outputScrollWidth = outputScroll.getWidth();
+        int outputScrollHeight = outputScroll.getHeight();
+
+        int inputFieldY = inputField.getY();
+        int inputFieldWidth = inputField.getWidth();
+        int inputFieldHeight = inputField.getHeight();
+
+        int fromX = inputField.getX();
+        int toX = Math.min(fromX, minFieldAnimateToX);
+        new Tween(Tween.stepDuration(fromX - toX, menuAnimationIncrement, menuAnimationDelayMs), progress -> {
+            int x = Tween.interpolate(fromX, toX, progress);
+            outputScroll.setBounds(x, outputScrollY, outputScrollWidth + 1, outputScrollHeight);
+            inputField.setBounds(x, inputFieldY, inputFieldWidth + 1, inputFieldHeight);
+        }).setTarget(inputField, Tween.BOUNDS).setOnComplete(() -> revalidateInputAndOutputBounds(true)).start();
+
+        menuLabel.setLocation(consoleMenuShowingPoint);
+        Duration menuDuration = Tween.stepDuration(consoleMenuShowingPoint.getX() - consoleMenuHiddenPoint.getX(),
+                menuAnimationIncrement, menuAnimationDelayMs);
+        Tween.location(menuLabel, consoleMenuHiddenPoint, menuDuration).setOnComplete(() -> {
             menuLabel.setVisible(false);
-
             revalidateInputAndOutputBounds();
-        }, MINIMIZE_MENU_THREAD_NAME);
+        }).start();
     }
 
     /**
@@ -2565,11 +2530,6 @@ public enum Console {
      */
     private final AtomicBoolean backgroundSwitchingLocked = new AtomicBoolean(false);
 
-    /**
-     * The name of the thread which animates the background switch.
-     */
-    private static final String CONSOLE_BACKGROUND_SWITCHER_THREAD_NAME = "Console Background Switcher";
-
     /**
      * Switches backgrounds to the next background in the list via a sliding animation.
      * The Console will remain in fullscreen mode if in fullscreen mode as well as maintain
@@ -2666,62 +2626,44 @@ public enum Console {
         boolean outputAreaWasFocusable = outputArea.isFocusable();
         outputArea.setFocusable(false);
 
-        Executors.newSingleThreadExecutor(new CyderThreadFactory(CONSOLE_BACKGROUND_SWITCHER_THREAD_NAME))
-                .submit(() -> {
-                    int timeout =
-                            isFullscreen() ? fullscreenBackgroundAnimationTimeout : defaultBackgroundAnimationTimeout;
-                    int increment = isFullscreen() ? fullscreenBackgroundAnimationIncrement :
-                            defaultBackgroundAnimationIncrement;
-
-                    switch (nextSlideDirection) {
-                        case TOP -> {
-                            for (int i = 0 ; i >= -consoleCyderFrame.getHeight() ; i -= increment) {
-                                ThreadUtil.sleep(timeout);
-                                contentPane.setLocation(consoleCyderFrame.getContentPane().getX(), i);
-                            }
-                            lastSlideDirection = nextSlideDirection;
-                        }
-                        case BOTTOM -> {
-                            for (int i = -consoleCyderFrame.getHeight() ; i <= 0 ; i += increment) {
-                                ThreadUtil.sleep(timeout);
-                                contentPane.setLocation(consoleCyderFrame.getContentPane().getX(), i);
-                            }
-                            lastSlideDirection = nextSlideDirection;
-                        }
-                        case RIGHT -> {
-                            for (int i = -consoleCyderFrame.getWidth() ; i <= 0 ; i += increment) {
-                                ThreadUtil.sleep(timeout);
-                                contentPane.setLocation(i, consoleCyderFrame.getContentPane().getY());
-                            }
-                            lastSlideDirection = nextSlideDirection;
-                        }
-                        case LEFT -> {
-                            for (int i = 0 ; i >= -consoleCyderFrame.getWidth() ; i -= increment) {
-                                ThreadUtil.sleep(timeout);
-                                contentPane.setLocation(i, consoleCyderFrame.getContentPane().getY());
-                            }
-                            lastSlideDirection = nextSlideDirection;
-                        }
-                    }
+        int timeout = isFullscreen() ? fullscreenBackgroundAnimationTimeout : defaultBackgroundAnimationTimeout;
+        int increment = isFullscreen() ? fullscreenBackgroundAnimationIncrement : defaultBackgroundAnimationIncrement;
+        boolean vertical = nextSlideDirection == Direction.TOP || nextSlideDirection == Direction.BOTTOM;
+        int distance = vertical ? consoleCyderFrame.getHeight() : consoleCyderFrame.getWidth();
+        int from = nextSlideDirection == Direction.TOP || nextSlideDirection == Direction.LEFT ? 0 : -distance;
+        int to = from == 0 ? -distance : 0;
 
-                    consoleCyderFrame.setBackground(nextBackFinal);
-                    contentPane.setIcon(nextBackFinal);
+        // Also run if a newer location tween of the content pane supersedes this slide
+        Runnable finishSlide = () -> {
+            lastSlideDirection = nextSlideDirection;
 
-                    consoleCyderFrame.refreshBackground();
-                    consoleCyderFrame.getContentPane().revalidate();
+            consoleCyderFrame.setBackground(nextBackFinal);
+            contentPane.setIcon(nextBackFinal);
 
-                    refreshConsoleMaxSize();
+            consoleCyderFrame.refreshBackground();
+            consoleCyderFrame.getContentPane().revalidate();
 
-                    consoleCyderFrame.setDraggingEnabled(wasDraggable);
+            refreshConsoleMaxSize();
 
-                    revalidateMaintainFullscreenOrDirection();
+            consoleCyderFrame.setDraggingEnabled(wasDraggable);
 
-                    defaultFocusOwner.requestFocus();
+            revalidateMaintainFullscreenOrDirection();
 
-                    outputArea.setFocusable(outputAreaWasFocusable);
+            defaultFocusOwner.requestFocus();
 
-                    backgroundSwitchingLocked.set(false);
-                });
+            outputArea.setFocusable(outputAreaWasFocusable);
+
+            backgroundSwitchingLocked.set(false);
+        };
+
+        new Tween(Tween.stepDuration(distance, increment, timeout), progress -> {
+            int position = Tween.interpolate(from, to, progress);
+            if (vertical) {
+                contentPane.setLocation(consoleCyderFrame.getContentPane().getX(), position);
+            } else {
+                contentPane.setLocation(position, consoleCyderFrame.getContentPane().getY());
+            }
+        }).setTarget(contentPane, Tween.LOCATION).setOnComplete(finishSlide).setOnCancel(finishSlide).start();
     }
 
     /**
@@ -3011,11 +2953,6 @@ public enum Console {
         revalidateInputAndOutputBounds();
     }
 
-    /**
-     * The name of the console audio menu minimizer thread.
-     */
-    private static final String CONSOLE_AUDIO_MENU_MINIMIZER_THREAD_NAME = "Console Audio Menu Minimizer";
-
     /**
      * The increment for audio menu animations.
      */
@@ -3030,50 +2967,48 @@ public enum Console {
      * Smoothly animates out the console audio controls.
      */
     private void animateOutAudioControls() {
-        CyderThreadRunner.submit(() -> {
-            for (int i = audioControlsLabel.getY() ; i > -AUDIO_MENU_LABEL_HEIGHT ; i -= audioMenuAnimationIncrement) {
-                audioControlsLabel.setLocation(consoleCyderFrame.getWidth()
-                        - audioControlsLabel.getWidth() - AUDIO_MENU_X_OFFSET, i);
-                ThreadUtil.sleep(audioMenuAnimationDelayMs);
-            }
-            audioControlsLabel.setVisible(false);
-        }, CONSOLE_AUDIO_MENU_MINIMIZER_THREAD_NAME);
+        slideOutAudioControls(() -> audioControlsLabel.setVisible(false));
     }
 
     /**
      * Smooth animates out and removes the audio controls button.
      */
     public void animateOutAndRemoveAudioControls() {
-        CyderThreadRunner.submit(() -> {
-            for (int i = audioControlsLabel.getY() ; i > -AUDIO_MENU_LABEL_HEIGHT ; i -= audioMenuAnimationIncrement) {
-                audioControlsLabel.setLocation(consoleCyderFrame.getWidth()
-                        - audioControlsLabel.getWidth() - AUDIO_MENU_X_OFFSET, i);
-                ThreadUtil.sleep(audioMenuAnimationDelayMs);
-            }
+        slideOutAudioControls(() -> {
             audioControlsLabel.setVisible(false);
             removeAudioControls();
-        }, CONSOLE_AUDIO_MENU_MINIMIZER_THREAD_NAME);
+        });
+    }
+
+    /**
+     * Slides the audio controls up out of the console.
+     *
+     * @param onHidden the action to invoke once the audio controls are hidden
+     */
+    private void slideOutAudioControls(Runnable onHidden) {
+        int fromY = audioControlsLabel.getY();
+        int toY = Math.min(fromY, -AUDIO_MENU_LABEL_HEIGHT);
+        new Tween(Tween.stepDuration(fromY - toY, audioMenuAnimationIncrement, audioMenuAnimationDelayMs),
+                progress -> audioControlsLabel.setLocation(consoleCyderFrame.getWidth()
+                        - audioControlsLabel.getWidth() - AUDIO_MENU_X_OFFSET, Tween.interpolate(fromY, toY, progress)))
+                .setTarget(audioControlsLabel, Tween.LOCATION).setOnComplete(onHidden).start();
     }
 
     /**
      * Smoothly animates in the audio controls.
      */
     private void animateInAudioControls() {
-        CyderThreadRunner.submit(() -> {
-            generateAudioMenu();
-
-            int y = CyderDragLabel.DEFAULT_HEIGHT - AUDIO_MENU_LABEL_HEIGHT;
-            audioControlsLabel.setLocation(calculateAudioMenuX(), y);
-
-            audioControlsLabel.setVisible(true);
+        generateAudioMenu();
 
-            for (int i = y ; i < CyderDragLabel.DEFAULT_HEIGHT - 2 ; i += audioMenuAnimationIncrement) {
-                audioControlsLabel.setLocation(calculateAudioMenuX(), i);
-                ThreadUtil.sleep(audioMenuAnimationDelayMs);
-            }
+        int fromY = CyderDragLabel.DEFAULT_HEIGHT - AUDIO_MENU_LABEL_HEIGHT;
+        int toY = CyderDragLabel.DEFAULT_HEIGHT - 2;
+        audioControlsLabel.setLocation(calculateAudioMenuX(), fromY);
+        audioControlsLabel.setVisible(true);
 
-            audioControlsLabel.setLocation(calculateAudioMenuX(), CyderDragLabel.DEFAULT_HEIGHT - 2);
-        }, CONSOLE_AUDIO_MENU_MINIMIZER_THREAD_NAME);
+        new Tween(Tween.stepDuration(toY - fromY, audioMenuAnimationIncrement, audioMenuAnimationDelayMs),
+                progress -> audioControlsLabel.setLocation(calculateAudioMenuX(),
+                        Tween.interpolate(fromY, toY, progress)))
+                .setTarget(audioControlsLabel, Tween.LOCATION).start();
     }
 
     /**
@@ -29,6 +29,41 @@ public enum Dynamic {
      */
     LOGS("logs"),
 
+    /**
+     * The log indexes directory, kept apart from the logs directory so that indexes outlive archived logs.
+     */
+    LOG_INDEXES("logindexes"),
+
+    /**
+     * The response cache directory.
+     */
+    RESPONSE_CACHE("responsecache"),
+
+    /**
+     * The directory of YouTube uuids checked by previous YouTube uuid checker sessions.
+     */
+    CHECKED_UUIDS("checkeduuids"),
+
+    /**
+     * The directory of audio files transcoded by previous sessions.
+     */
+    TRANSCODE_CACHE("transcodecache"),
+
+    /**
+     * The directory of the index of user backgrounds known to fit the monitor.
+     */
+    BACKGROUND_INDEX("backgroundindex"),
+
+    /**
+     * The directory of the index of user names, uuids, and login states.
+     */
+    USER_INDEX("userindex"),
+
+    /**
+     * The directory of the index of audio file metadata.
+     */
+    MUSIC_INDEX("musicindex"),
+
     /**
      * The executables directory.
      */
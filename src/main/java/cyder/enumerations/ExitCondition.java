@@ -44,7 +44,12 @@ public enum ExitCondition {
     /**
      * A forced immediate exit of Cyder with no animations.
      */
-    ForcedImmediateExit(3, "Forced Immediate Exit");
+    ForcedImmediateExit(3, "Forced Immediate Exit"),
+
+    /**
+     * A new instance of Cyder handed its work off to an already running instance.
+     */
+    HandedOffToRunningInstance(4, "Handed Off To Running Instance");
 
     /**
      * The code associated with this ExitCondition.
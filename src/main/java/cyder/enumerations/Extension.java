@@ -24,7 +24,9 @@ public enum Extension {
     GIT(".git"),
     TTF(".ttf"),
     LOG(".log"),
-    INI(".ini");
+    INI(".ini"),
+    TMP(".tmp"),
+    PEAKS(".peaks");
 
     /**
      * The extension text with the leading period.
@@ -0,0 +1,13 @@
+package cyder.exceptions;
+
+/**
+ * An exception used to indicate that a mathematical expression or definition could not be parsed or compiled.
+ */
+public class ExpressionException extends IllegalArgumentException {
+    /**
+     * Constructs a new Expression exception using the provided error message.
+     */
+    public ExpressionException(String errorMessage) {
+        super(errorMessage);
+    }
+}
@@ -0,0 +1,347 @@
+package cyder.files;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import cyder.exceptions.FatalException;
+import cyder.exceptions.IllegalMethodException;
+import cyder.logging.LogTag;
+import cyder.logging.Logger;
+import cyder.strings.CyderStrings;
+import cyder.threads.CyderThreadFactory;
+import cyder.threads.CyderThreadRunner;
+import cyder.utils.SecurityUtil.HashingAlgorithm;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+/**
+ * Streaming hashing of files which computes every {@link HashingAlgorithm} in a single pass.
+ * <p>
+ * Files are read through a {@link FileChannel} into a direct buffer reused by each hashing thread, so memory use
+ * is constant regardless of file size and each block is read from disk once for all algorithms. Batches of files
+ * are hashed in parallel by a bounded pool which reports progress and throughput as bytes are hashed.
+ */
+public final class FileHasher {
+    /**
+     * The size of the direct buffer each hashing thread reads files into.
+     */
+    static final int BUFFER_SIZE = 1 << 20;
+
+    /**
+     * The maximum number of files hashed in parallel, beyond which parallel reads contend for the disk.
+     */
+    private static final int MAXIMUM_THREADS = 4;
+
+    /**
+     * The minimum time between progress reports.
+     */
+    private static final long PROGRESS_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    /**
+     * The name of the thread which awaits the hashing of a batch of files.
+     */
+    private static final String BATCH_THREAD_NAME = "File Hasher";
+
+    /**
+     * The name of the threads which hash the files of a batch.
+     */
+    private static final String HASHER_THREAD_NAME = "File Hasher Worker";
+
+    /**
+     * The buffer of each hashing thread.
+     */
+    private static final ThreadLocal<ByteBuffer> buffers =
+            ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(BUFFER_SIZE));
+
+    /**
+     * The progress of hashing a batch of files.
+     *
+     * @param filesHashed  the number of files hashed or failed
+     * @param totalFiles   the number of files in the batch
+     * @param bytesHashed  the number of bytes hashed
+     * @param totalBytes   the number of bytes of the batch's files when hashing began
+     * @param elapsedNanos the nanoseconds since hashing began
+     */
+    public record Progress(int filesHashed, int totalFiles, long bytesHashed, long totalBytes, long elapsedNanos) {
+        /**
+         * Returns the fraction of the batch hashed in the range [0, 1].
+         *
+         * @return the fraction of the batch hashed
+         */
+        public float getFraction() {
+            if (totalBytes > 0) return Math.min(1f, bytesHashed / (float) totalBytes);
+            return totalFiles == 0 ? 1f : filesHashed / (float) totalFiles;
+        }
+
+        /**
+         * Returns the average number of bytes hashed per second.
+         *
+         * @return the average number of bytes hashed per second
+         */
+        public double getBytesPerSecond() {
+            return elapsedNanos == 0 ? 0 : bytesHashed * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+        }
+
+        /**
+         * Returns whether every file of the batch has been hashed or failed.
+         *
+         * @return whether every file of the batch has been hashed or failed
+         */
+        public boolean isComplete() {
+            return filesHashed == totalFiles;
+        }
+    }
+
+    /**
+     * Suppress default constructor.
+     */
+    private FileHasher() {
+        throw new IllegalMethodException(CyderStrings.ATTEMPTED_INSTANTIATION);
+    }
+
+    /**
+     * Hashes the provided file using every {@link HashingAlgorithm} in a single pass.
+     *
+     * @param file the file to hash
+     * @return the hashes of the file
+     * @throws IOException if the file cannot be read or the thread was interrupted while reading
+     */
+    public static FileHashes hash(File file) throws IOException {
+        return hash(file, bytesHashed -> {});
+    }
+
+    /**
+     * Hashes the provided file using every {@link HashingAlgorithm} in a single pass.
+     *
+     * @param file          the file to hash
+     * @param onBytesHashed the consumer of the number of bytes hashed after each block
+     * @return the hashes of the file
+     * @throws IOException if the file cannot be read or the thread was interrupted while reading
+     */
+    static FileHashes hash(File file, LongConsumer onBytesHashed) throws IOException {
+        Preconditions.checkNotNull(file);
+        Preconditions.checkNotNull(onBytesHashed);
+
+        MessageDigest sha256 = createDigest(HashingAlgorithm.SHA256);
+        MessageDigest sha1 = createDigest(HashingAlgorithm.SHA1);
+        MessageDigest md5 = createDigest(HashingAlgorithm.MD5);
+
+        ByteBuffer buffer = buffers.get();
+        long length = 0;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            while (true) {
+                buffer.clear();
+                int read = channel.read(buffer);
+                if (read == -1) break;
+
+                buffer.flip();
+                sha256.update(buffer);
+                buffer.rewind();
+                sha1.update(buffer);
+                buffer.rewind();
+                md5.update(buffer);
+
+                length += read;
+                onBytesHashed.accept(read);
+            }
+        }
+
+        HexFormat hex = HexFormat.of();
+        return new FileHashes(file, length, hex.formatHex(sha256.digest()),
+                hex.formatHex(sha1.digest()), hex.formatHex(md5.digest()));
+    }
+
+    /**
+     * Hashes the provided files in parallel, invoking the provided consumer with the progress
+     * periodically as bytes are hashed and once all files are hashed. Files which cannot be read
+     * are logged and omitted from the result. Cancelling the returned future with interruption stops
+     * the hashing threads.
+     *
+     * @param files            the files to hash
+     * @param progressConsumer the consumer of the progress, invoked on hashing threads
+     * @return the hashes of the files which could be read, in the order provided
+     */
+    public static Future<ImmutableList<FileHashes>> hashAll(Collection<File> files,
+                                                          Consumer<Progress> progressConsumer) {
+        Preconditions.checkNotNull(files);
+        Preconditions.checkNotNull(progressConsumer);
+
+        ImmutableList<File> batch = ImmutableList.copyOf(files);
+        FutureTask<ImmutableList<FileHashes>> hashing = new FutureTask<>(() -> hashBatch(batch, progressConsumer));
+        CyderThreadRunner.submit(hashing, BATCH_THREAD_NAME);
+        return hashing;
+    }
+
+    /**
+     * Hashes the provided files in parallel, blocking until all are hashed.
+     *
+     * @param files            the files to hash
+     * @param progressConsumer the consumer of the progress
+     * @return the hashes of the files which could be read, in the order provided
+     * @throws InterruptedException if interrupted while awaiting the hashing threads
+     */
+    static ImmutableList<FileHashes> hashBatch(ImmutableList<File> files, Consumer<Progress> progressConsumer)
+            throws InterruptedException {
+        long totalBytes = files.stream().mapToLong(File::length).sum();
+        ProgressTracker tracker = new ProgressTracker(files.size(), totalBytes, progressConsumer);
+        if (files.isEmpty()) {
+            tracker.report();
+            return ImmutableList.of();
+        }
+
+        int threads = Math.min(files.size(), Math.min(MAXIMUM_THREADS,
+                Math.max(1, Runtime.getRuntime().availableProcessors())));
+        ExecutorService hashers = Executors.newFixedThreadPool(threads, new CyderThreadFactory(HASHER_THREAD_NAME));
+
+        try {
+            ArrayList<Future<FileHashes>> hashes = new ArrayList<>(files.size());
+            for (File file : files) {
+                hashes.add(hashers.submit(() -> {
+                    try {
+                        return hash(file, tracker::bytesHashed);
+                    } finally {
+                        tracker.fileHashed();
+                    }
+                }));
+            }
+
+            ImmutableList.Builder<FileHashes> ret = ImmutableList.builder();
+            for (int i = 0 ; i < files.size() ; i++) {
+                try {
+                    ret.add(hashes.get(i).get());
+                } catch (ExecutionException e) {
+                    Logger.log(LogTag.SYSTEM_IO, "Failed to hash " + files.get(i).getAbsolutePath()
+                            + ": " + e.getCause().getMessage());
+                }
+            }
+
+            tracker.report();
+            return ret.build();
+        } finally {
+            hashers.shutdownNow();
+        }
+    }
+
+    /**
+     * Returns a new message digest for the provided algorithm.
+     *
+     * @param algorithm the hashing algorithm
+     * @return a new message digest for the provided algorithm
+     */
+    private static MessageDigest createDigest(HashingAlgorithm algorithm) {
+        try {
+            return MessageDigest.getInstance(algorithm.getName());
+        } catch (NoSuchAlgorithmException e) {
+            throw new FatalException("Unsupported hashing algorithm: " + algorithm.getName());
+        }
+    }
+
+    /**
+     * A thread safe accumulator of the progress of a batch which reports at most every
+     * {@link #PROGRESS_INTERVAL_NANOS} unless forced.
+     */
+    private static final class ProgressTracker {
+        /**
+         * The number of files of the batch.
+         */
+        private final int totalFiles;
+
+        /**
+         * The number of bytes of the batch.
+         */
+        private final long totalBytes;
+
+        /**
+         * The consumer of reports.
+         */
+        private final Consumer<Progress> progressConsumer;
+
+        /**
+         * The time hashing began.
+         */
+        private final long startNanos = System.nanoTime();
+
+        /**
+         * The number of files hashed or failed.
+         */
+        private final AtomicInteger filesHashed = new AtomicInteger();
+
+        /**
+         * The number of bytes hashed.
+         */
+        private final AtomicLong bytesHashed = new AtomicLong();
+
+        /**
+         * The time of the last report.
+         */
+        private final AtomicLong lastReportNanos = new AtomicLong(startNanos);
+
+        /**
+         * Constructs a new progress tracker.
+         *
+         * @param totalFiles       the number of files of the batch
+         * @param totalBytes       the number of bytes of the batch
+         * @param progressConsumer the consumer of reports
+         */
+        ProgressTracker(int totalFiles, long totalBytes, Consumer<Progress> progressConsumer) {
+            this.totalFiles = totalFiles;
+            this.totalBytes = totalBytes;
+            this.progressConsumer = progressConsumer;
+        }
+
+        /**
+         * Records the provided number of bytes as hashed.
+         *
+         * @param bytes the number of bytes hashed
+         */
+        void bytesHashed(long bytes) {
+            bytesHashed.addAndGet(bytes);
+            reportIfDue();
+        }
+
+        /**
+         * Records a file as hashed or failed.
+         */
+        void fileHashed() {
+            filesHashed.incrementAndGet();
+            reportIfDue();
+        }
+
+        /**
+         * Reports the progress if at least {@link #PROGRESS_INTERVAL_NANOS} passed since the last report.
+         */
+        private void reportIfDue() {
+            long now = System.nanoTime();
+            long last = lastReportNanos.get();
+            if (now - last >= PROGRESS_INTERVAL_NANOS && lastReportNanos.compareAndSet(last, now)) {
+                report();
+            }
+        }
+
+        /**
+         * Reports the progress.
+         */
+        void report() {
+            progressConsumer.accept(new Progress(filesHashed.get(), totalFiles, bytesHashed.get(), totalBytes,
+                    System.nanoTime() - startNanos));
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package cyder.files;
+
+import com.google.common.base.Preconditions;
+import cyder.utils.SecurityUtil.HashingAlgorithm;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * The hashes of a file computed by {@link FileHasher}.
+ *
+ * @param file   the file
+ * @param length the number of bytes hashed
+ * @param sha256 the lowercase hex SHA-256 hash
+ * @param sha1   the lowercase hex SHA-1 hash
+ * @param md5    the lowercase hex MD5 hash
+ */
+public record FileHashes(File file, long length, String sha256, String sha1, String md5) {
+    /**
+     * Returns the lowercase hex hash of the provided algorithm.
+     *
+     * @param algorithm the hashing algorithm
+     * @return the lowercase hex hash of the provided algorithm
+     */
+    public String getHash(HashingAlgorithm algorithm) {
+        Preconditions.checkNotNull(algorithm);
+
+        return switch (algorithm) {
+            case SHA256 -> sha256;
+            case SHA1 -> sha1;
+            case MD5 -> md5;
+        };
+    }
+
+    /**
+     * Returns the algorithm whose hash equals the provided hex checksum, ignoring case.
+     *
+     * @param checksum the hex checksum, such as one published alongside a download
+     * @return the algorithm whose hash equals the checksum, empty if none
+     */
+    public Optional<HashingAlgorithm> findMatchingAlgorithm(String checksum) {
+        Preconditions.checkNotNull(checksum);
+
+        return Arrays.stream(HashingAlgorithm.values())
+                .filter(algorithm -> getHash(algorithm).equalsIgnoreCase(checksum))
+                .findFirst();
+    }
+}
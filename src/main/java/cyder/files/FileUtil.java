@@ -21,9 +21,11 @@ import net.lingala.zip4j.core.ZipFile;
 import java.awt.*;
 import java.io.*;
 import java.net.URI;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -107,6 +109,11 @@ public final class FileUtil {
      */
     public static final ImmutableList<Integer> MP3_SIGNATURE = ImmutableList.of(0x49, 0x44, 0x33);
 
+    /**
+     * The size of the buffer used when writing zip archives.
+     */
+    private static final int ZIP_BUFFER_SIZE = 1 << 16;
+
     /**
      * The audio formats Cyder supports.
      */
@@ -135,6 +142,22 @@ public final class FileUtil {
      */
     private static final String filenameRegex = "\\.([^.]+)$";
 
+    /**
+     * An operation on a stream which may throw an {@link IOException}.
+     *
+     * @param <T> the type of stream
+     */
+    @FunctionalInterface
+    public interface IoConsumer<T> {
+        /**
+         * Performs this operation on the provided stream.
+         *
+         * @param stream the stream
+         * @throws IOException if the stream cannot be read or written
+         */
+        void accept(T stream) throws IOException;
+    }
+
     /**
      * Suppress default constructor.
      */
@@ -428,24 +451,13 @@ public final class FileUtil {
         checkArgument(!source.isEmpty());
         checkArgument(!destination.isEmpty());
 
-        try {
-            FileOutputStream fos = new FileOutputStream(destination);
-            ZipOutputStream zipOut = new ZipOutputStream(fos);
-
-            File fileToZip = new File(source);
-            FileInputStream fis = new FileInputStream(fileToZip);
-            ZipEntry zipEntry = new ZipEntry(fileToZip.getName());
-            zipOut.putNextEntry(zipEntry);
-
-            byte[] bytes = new byte[1024];
-            int length;
-            while ((length = fis.read(bytes)) >= 0) {
-                zipOut.write(bytes, 0, length);
-            }
-
-            zipOut.close();
-            fis.close();
-            fos.close();
+        File fileToZip = new File(source);
+        try (ZipOutputStream zipOut = new ZipOutputStream(
+                new BufferedOutputStream(new FileOutputStream(destination), ZIP_BUFFER_SIZE));
+             InputStream fis = new FileInputStream(fileToZip)) {
+            zipOut.putNextEntry(new ZipEntry(fileToZip.getName()));
+            fis.transferTo(zipOut);
+            zipOut.closeEntry();
         } catch (Exception e) {
             ExceptionHandler.handle(e);
             return false;
@@ -912,4 +924,98 @@ public final class FileUtil {
 
         return true;
     }
+
+    /**
+     * Writes the provided file by invoking the provided writer on a temporary file in the same directory
+     * which is then moved into place, meaning readers never observe a partially written file.
+     *
+     * @param file   the file to write
+     * @param writer the writer of the contents of the file
+     * @throws IOException if the file cannot be written
+     */
+    public static void writeAtomically(File file, IoConsumer<DataOutputStream> writer) throws IOException {
+        checkNotNull(file);
+        checkNotNull(writer);
+
+        File parent = file.getAbsoluteFile().getParentFile();
+        Files.createDirectories(parent.toPath());
+
+        Path tmp = Files.createTempFile(parent.toPath(), file.getName(), Extension.TMP.getExtension());
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                writer.accept(out);
+            }
+
+            moveAtomically(tmp.toFile(), file);
+        } catch (IOException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+    }
+
+    /**
+     * Writes the provided file atomically, preceded by a header of the provided magic number and version.
+     *
+     * @param file    the file to write
+     * @param magic   the magic number identifying the format of the file
+     * @param version the version of the format of the file
+     * @param writer  the writer of the contents following the header
+     * @throws IOException if the file cannot be written
+     * @see #readVersioned(File, int, byte, IoConsumer)
+     */
+    public static void writeVersionedAtomically(File file, int magic, byte version,
+                                                IoConsumer<DataOutputStream> writer) throws IOException {
+        checkNotNull(writer);
+
+        writeAtomically(file, out -> {
+            out.writeInt(magic);
+            out.writeByte(version);
+            writer.accept(out);
+        });
+    }
+
+    /**
+     * Reads the provided file written by {@link #writeVersionedAtomically(File, int, byte, IoConsumer)},
+     * invoking the provided reader on the contents following the header if it matches.
+     *
+     * @param file    the file to read
+     * @param magic   the magic number identifying the format of the file
+     * @param version the version of the format of the file
+     * @param reader  the reader of the contents following the header
+     * @return whether the file exists and its header matched, meaning the reader was invoked
+     * @throws IOException if the file cannot be read
+     */
+    @CanIgnoreReturnValue
+    public static boolean readVersioned(File file, int magic, byte version,
+                                        IoConsumer<DataInputStream> reader) throws IOException {
+        checkNotNull(file);
+        checkNotNull(reader);
+
+        if (!file.exists()) return false;
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != magic || in.readByte() != version) return false;
+            reader.accept(in);
+            return true;
+        }
+    }
+
+    /**
+     * Moves the provided file to the provided destination, replacing it, atomically where supported.
+     *
+     * @param source      the file to move
+     * @param destination the destination
+     * @throws IOException if the file cannot be moved
+     */
+    public static void moveAtomically(File source, File destination) throws IOException {
+        checkNotNull(source);
+        checkNotNull(destination);
+
+        try {
+            Files.move(source.toPath(), destination.toPath(),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source.toPath(), destination.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
 }
@@ -0,0 +1,444 @@
+package cyder.files;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import cyder.handlers.internal.ExceptionHandler;
+import cyder.threads.CyderThreadRunner;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.OptionalLong;
+
+/**
+ * A read-only, memory-mapped view of a text file addressed by line.
+ * <p>
+ * The file is never loaded onto the heap. A sparse index holding the byte offset of every
+ * {@link #LINES_PER_CHECKPOINT}th line is built on a background thread after construction, meaning
+ * any line may be located by seeking to the nearest preceding checkpoint and scanning at most
+ * {@link #LINES_PER_CHECKPOINT} lines, regardless of the size of the file.
+ * Lines are separated by line feeds, a preceding carriage return is not part of a line,
+ * and line contents are decoded as UTF-8.
+ * <p>
+ * Closing drops every reference to the mapped segments, however the JDK offers no way to unmap a segment
+ * explicitly meaning the mapping, and on Windows the lock it holds on the file, persists until the
+ * segments are garbage collected.
+ */
+public final class MappedTextFile implements Closeable {
+    /**
+     * The number of lines between consecutive checkpoints of the line index.
+     */
+    public static final int LINES_PER_CHECKPOINT = 256;
+
+    /**
+     * The base two logarithm of the size of each mapped segment.
+     */
+    private static final int SEGMENT_SHIFT = 30;
+
+    /**
+     * The size of each mapped segment.
+     */
+    private static final long SEGMENT_SIZE = 1L << SEGMENT_SHIFT;
+
+    /**
+     * The mask of an offset within a mapped segment.
+     */
+    private static final long SEGMENT_MASK = SEGMENT_SIZE - 1;
+
+    /**
+     * The number of checkpoints between notifications of the index progress listener.
+     */
+    private static final int CHECKPOINTS_PER_PROGRESS_NOTIFICATION = 1024;
+
+    /**
+     * The line feed byte.
+     */
+    private static final byte LINE_FEED = '\n';
+
+    /**
+     * The carriage return byte.
+     */
+    private static final byte CARRIAGE_RETURN = '\r';
+
+    /**
+     * A listener notified as the line index of a mapped text file is built.
+     */
+    @FunctionalInterface
+    public interface IndexProgressListener {
+        /**
+         * Invoked on the indexing thread when more lines have been indexed.
+         *
+         * @param indexedLines the number of lines indexed thus far
+         * @param complete     whether the index is complete
+         */
+        void onProgress(long indexedLines, boolean complete);
+    }
+
+    /**
+     * The mapped file.
+     */
+    private final File file;
+
+    /**
+     * The length of the file in bytes.
+     */
+    private final long length;
+
+    /**
+     * The mapped segments of the file, null once this mapped file is closed.
+     */
+    private volatile MappedByteBuffer[] segments;
+
+    /**
+     * The byte offsets of every {@link #LINES_PER_CHECKPOINT}th line.
+     */
+    private long[] checkpoints = new long[CHECKPOINTS_PER_PROGRESS_NOTIFICATION];
+
+    /**
+     * The number of valid checkpoints.
+     */
+    private int checkpointCount;
+
+    /**
+     * The number of lines indexed thus far.
+     */
+    private volatile long indexedLines;
+
+    /**
+     * Whether the line index is complete.
+     */
+    private volatile boolean indexComplete;
+
+    /**
+     * Whether this mapped file has been closed.
+     */
+    private volatile boolean closed;
+
+    /**
+     * Maps the provided file and begins building the line index on a background thread.
+     *
+     * @param file     the file to map
+     * @param listener the listener to notify as the line index is built
+     * @throws IOException if the file cannot be mapped
+     */
+    public MappedTextFile(File file, IndexProgressListener listener) throws IOException {
+        Preconditions.checkNotNull(file);
+        Preconditions.checkArgument(file.isFile());
+        Preconditions.checkNotNull(listener);
+
+        this.file = file;
+
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+             FileChannel channel = randomAccessFile.getChannel()) {
+            length = channel.size();
+            MappedByteBuffer[] mapped = new MappedByteBuffer[(int) ((length + SEGMENT_SIZE - 1) >>> SEGMENT_SHIFT)];
+            for (int i = 0 ; i < mapped.length ; i++) {
+                long position = (long) i << SEGMENT_SHIFT;
+                mapped[i] = channel.map(FileChannel.MapMode.READ_ONLY, position,
+                        Math.min(SEGMENT_SIZE, length - position));
+            }
+            segments = mapped;
+        }
+
+        if (length > 0) checkpoints[checkpointCount++] = 0;
+
+        String threadName = "Line Indexer, file: " + FileUtil.getFilename(file);
+        CyderThreadRunner.submit(() -> buildIndex(listener), threadName);
+    }
+
+    /**
+     * Returns the mapped file.
+     *
+     * @return the mapped file
+     */
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * Returns the length of the file in bytes.
+     *
+     * @return the length of the file in bytes
+     */
+    public long length() {
+        return length;
+    }
+
+    /**
+     * Returns the number of lines indexed thus far.
+     * Once the index is complete, this is the number of lines in the file.
+     *
+     * @return the number of lines indexed thus far
+     */
+    public long getIndexedLineCount() {
+        return indexedLines;
+    }
+
+    /**
+     * Returns whether the line index is complete.
+     *
+     * @return whether the line index is complete
+     */
+    public boolean isIndexComplete() {
+        return indexComplete;
+    }
+
+    /**
+     * Returns whether this mapped file has been closed.
+     *
+     * @return whether this mapped file has been closed
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Stops indexing and searching and drops the references to the mapped segments.
+     * The mapping itself is released once the segments are garbage collected.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        segments = null;
+    }
+
+    /**
+     * Scans the file for line feeds, recording a checkpoint every {@link #LINES_PER_CHECKPOINT} lines.
+     *
+     * @param listener the listener to notify as lines are indexed
+     */
+    private void buildIndex(IndexProgressListener listener) {
+        MappedByteBuffer[] segments = this.segments;
+        if (segments == null) return;
+
+        try {
+            long lines = 0;
+            for (int segmentIndex = 0 ; segmentIndex < segments.length ; segmentIndex++) {
+                MappedByteBuffer segment = segments[segmentIndex];
+                long segmentStart = (long) segmentIndex << SEGMENT_SHIFT;
+                int limit = segment.limit();
+
+                for (int i = 0 ; i < limit ; i++) {
+                    if (segment.get(i) != LINE_FEED) continue;
+
+                    lines++;
+                    long nextLineOffset = segmentStart + i + 1;
+                    if (lines % LINES_PER_CHECKPOINT == 0 && nextLineOffset < length) {
+                        if (closed) return;
+                        addCheckpoint(nextLineOffset, lines, listener);
+                    }
+                }
+            }
+
+            if (length > 0 && byteAt(segments, length - 1) != LINE_FEED) lines++;
+            indexedLines = lines;
+            indexComplete = true;
+            listener.onProgress(lines, true);
+        } catch (Exception e) {
+            ExceptionHandler.handle(e);
+        }
+    }
+
+    /**
+     * Records a checkpoint and notifies the listener periodically.
+     *
+     * @param offset   the byte offset of the checkpointed line
+     * @param lines    the number of complete lines preceding the checkpoint
+     * @param listener the listener to notify
+     */
+    private void addCheckpoint(long offset, long lines, IndexProgressListener listener) {
+        int count;
+        synchronized (this) {
+            if (checkpointCount == checkpoints.length) {
+                checkpoints = Arrays.copyOf(checkpoints, checkpoints.length * 2);
+            }
+            checkpoints[checkpointCount++] = offset;
+            count = checkpointCount;
+        }
+
+        indexedLines = lines;
+        if (count % CHECKPOINTS_PER_PROGRESS_NOTIFICATION == 0) {
+            listener.onProgress(lines, false);
+        }
+    }
+
+    /**
+     * Returns the mapped segments of the file.
+     *
+     * @return the mapped segments of the file
+     * @throws IllegalStateException if this mapped file is closed
+     */
+    private MappedByteBuffer[] getSegments() {
+        MappedByteBuffer[] ret = segments;
+        Preconditions.checkState(ret != null, "Mapped file is closed: " + file.getAbsolutePath());
+        return ret;
+    }
+
+    /**
+     * Returns the byte at the provided offset.
+     *
+     * @param segments the mapped segments of the file
+     * @param offset   the offset
+     * @return the byte at the provided offset
+     */
+    private static byte byteAt(MappedByteBuffer[] segments, long offset) {
+        return segments[(int) (offset >>> SEGMENT_SHIFT)].get((int) (offset & SEGMENT_MASK));
+    }
+
+    /**
+     * Returns the byte offset of the provided line, or the length of the file if the file has fewer lines.
+     *
+     * @param line the zero-indexed line
+     * @return the byte offset of the line
+     * @throws IllegalStateException if this mapped file is closed
+     */
+    public long getLineOffset(long line) {
+        Preconditions.checkArgument(line >= 0);
+
+        return getLineOffset(getSegments(), line);
+    }
+
+    /**
+     * Returns the byte offset of the provided line, or the length of the file if the file has fewer lines.
+     *
+     * @param segments the mapped segments of the file
+     * @param line     the zero-indexed line
+     * @return the byte offset of the line
+     */
+    private long getLineOffset(MappedByteBuffer[] segments, long line) {
+        long offset;
+        long checkpointLine;
+        synchronized (this) {
+            if (checkpointCount == 0) return length;
+            int checkpoint = (int) Math.min(line / LINES_PER_CHECKPOINT, checkpointCount - 1);
+            offset = checkpoints[checkpoint];
+            checkpointLine = (long) checkpoint * LINES_PER_CHECKPOINT;
+        }
+
+        for (long remaining = line - checkpointLine ; remaining > 0 && offset < length ; remaining--) {
+            offset = nextLineOffset(segments, offset);
+        }
+
+        return offset;
+    }
+
+    /**
+     * Returns the offset of the line following the line starting at the provided offset.
+     *
+     * @param segments   the mapped segments of the file
+     * @param lineOffset the offset of a line
+     * @return the offset of the following line, or the length of the file
+     */
+    private long nextLineOffset(MappedByteBuffer[] segments, long lineOffset) {
+        long offset = lineOffset;
+        while (offset < length && byteAt(segments, offset) != LINE_FEED) offset++;
+        return Math.min(length, offset + 1);
+    }
+
+    /**
+     * Reads up to the provided number of lines starting at the provided line.
+     * Lines longer than the provided maximum number of bytes are truncated.
+     *
+     * @param firstLine        the zero-indexed first line to read
+     * @param count            the maximum number of lines to read
+     * @param maxBytesPerLine  the maximum number of bytes of each line to decode
+     * @return the lines read, fewer than requested if the end of the file was reached
+     * @throws IllegalStateException if this mapped file is closed
+     */
+    public ImmutableList<String> readLines(long firstLine, int count, int maxBytesPerLine) {
+        Preconditions.checkArgument(firstLine >= 0);
+        Preconditions.checkArgument(count >= 0);
+        Preconditions.checkArgument(maxBytesPerLine > 0);
+
+        MappedByteBuffer[] segments = getSegments();
+        ImmutableList.Builder<String> ret = ImmutableList.builder();
+        long offset = getLineOffset(segments, firstLine);
+
+        for (int i = 0 ; i < count && offset < length ; i++) {
+            long end = offset;
+            while (end < length && byteAt(segments, end) != LINE_FEED) end++;
+
+            long contentEnd = end > offset && byteAt(segments, end - 1) == CARRIAGE_RETURN ? end - 1 : end;
+            ret.add(decode(segments, offset, (int) Math.min(maxBytesPerLine, contentEnd - offset)));
+
+            offset = end + 1;
+        }
+
+        return ret.build();
+    }
+
+    /**
+     * Decodes the provided number of bytes starting at the provided offset as UTF-8.
+     *
+     * @param segments the mapped segments of the file
+     * @param offset   the offset
+     * @param count    the number of bytes
+     * @return the decoded string
+     */
+    private static String decode(MappedByteBuffer[] segments, long offset, int count) {
+        byte[] bytes = new byte[count];
+        for (int i = 0 ; i < count ; i++) {
+            bytes[i] = byteAt(segments, offset + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the first line at or after the provided line containing the provided text.
+     * The search scans the mapped bytes and is abandoned if this file is closed.
+     *
+     * @param text     the text to search for
+     * @param fromLine the zero-indexed line to start searching at
+     * @return the zero-indexed line containing the text, empty if not found
+     */
+    public OptionalLong findLine(String text, long fromLine) {
+        Preconditions.checkNotNull(text);
+        Preconditions.checkArgument(!text.isEmpty());
+        Preconditions.checkArgument(fromLine >= 0);
+
+        MappedByteBuffer[] segments = this.segments;
+        if (segments == null) return OptionalLong.empty();
+
+        byte[] pattern = text.getBytes(StandardCharsets.UTF_8);
+        byte first = pattern[0];
+
+        long line = fromLine;
+        long offset = getLineOffset(segments, fromLine);
+        long lastStart = length - pattern.length;
+
+        while (offset <= lastStart) {
+            if (closed) return OptionalLong.empty();
+
+            byte b = byteAt(segments, offset);
+            if (b == LINE_FEED) {
+                line++;
+            } else if (b == first && matchesAt(segments, pattern, offset)) {
+                return OptionalLong.of(line);
+            }
+
+            offset++;
+        }
+
+        return OptionalLong.empty();
+    }
+
+    /**
+     * Returns whether the provided pattern occurs at the provided offset.
+     *
+     * @param segments the mapped segments of the file
+     * @param pattern  the pattern
+     * @param offset   the offset
+     * @return whether the pattern occurs at the offset
+     */
+    private static boolean matchesAt(MappedByteBuffer[] segments, byte[] pattern, long offset) {
+        for (int i = 1 ; i < pattern.length ; i++) {
+            if (byteAt(segments, offset + i) != pattern[i]) return false;
+        }
+        return true;
+    }
+}
@@ -8,6 +8,7 @@ import cyder.exceptions.IllegalMethodException;
 import cyder.github.parsers.Issue;
 import cyder.handlers.input.BaseInputHandler;
 import cyder.handlers.internal.ExceptionHandler;
+import cyder.network.CachedEndpoint;
 import cyder.process.ProcessUtil;
 import cyder.strings.StringUtil;
 import cyder.threads.CyderThreadFactory;
@@ -18,6 +19,7 @@ import java.io.BufferedReader;
 import java.io.File;
 import java.io.InputStreamReader;
 import java.lang.reflect.Type;
+import java.net.URI;
 import java.net.URL;
 import java.util.HashMap;
 import java.util.concurrent.ExecutorService;
@@ -120,18 +122,7 @@ public final class GitHubUtil {
 
         try {
             String urlString = GITHUB_REPOS_API_HEADER + "/" + user + "/" + githubRepo + "/" + ISSUES;
-            URL url = new URL(urlString);
-
-            BufferedReader reader = new BufferedReader(new InputStreamReader(url.openStream()));
-            StringBuilder sb = new StringBuilder();
-            String line;
-
-            while ((line = reader.readLine()) != null) {
-                sb.append(line);
-            }
-
-            reader.close();
-            String rawJson = sb.toString();
+            String rawJson = CachedEndpoint.GITHUB_ISSUES.getString(URI.create(urlString));
 
             ret = SerializationUtil.fromJson(rawJson, Issue[].class);
         } catch (Exception e) {
@@ -6,22 +6,31 @@ import cyder.constants.CyderColors;
 import cyder.constants.CyderFonts;
 import cyder.exceptions.IllegalMethodException;
 import cyder.files.FileUtil;
+import cyder.handlers.internal.ExceptionHandler;
 import cyder.strings.CyderStrings;
 import cyder.strings.StringUtil;
+import cyder.threads.CyderThreadRunner;
 import cyder.ui.UiUtil;
 import cyder.ui.button.CyderButton;
 import cyder.ui.field.CyderTextField;
 import cyder.ui.frame.CyderFrame;
-import cyder.ui.list.CyderScrollList;
+import cyder.ui.list.CyderVirtualScrollList;
 import cyder.utils.OsUtil;
 
 import javax.swing.*;
 import javax.swing.border.LineBorder;
 import java.awt.*;
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.List;
 import java.util.Stack;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * A directory navigation widget.
@@ -38,14 +47,9 @@ public final class DirectoryViewer {
     private static CyderTextField directoryField;
 
     /**
-     * The directory scroll label. Needed to allow removal when files are changed.
+     * The directory scroll label, hidden while the first files of a listing are loading.
      */
-    private static JLabel dirScrollLabel = new JLabel();
-
-    /**
-     * The current files.
-     */
-    private static final ArrayList<File> currentFiles = new ArrayList<>();
+    private static JLabel dirScrollLabel;
 
     /**
      * Stack to traverse backwards through history of viewed directories.
@@ -75,7 +79,27 @@ public final class DirectoryViewer {
     /**
      * The scroll list component to display the current files
      */
-    private static CyderScrollList cyderScrollList = new CyderScrollList(SCROLL_WIDTH, SCROLL_HEIGHT);
+    private static CyderVirtualScrollList cyderScrollList;
+
+    /**
+     * The name of the thread which lists the current directory.
+     */
+    private static final String DIRECTORY_LISTER_THREAD_NAME = "Directory Viewer Lister";
+
+    /**
+     * The maximum number of listed files published to the scroll list at once.
+     */
+    private static final int LISTING_BATCH_SIZE = 500;
+
+    /**
+     * The maximum time listed files are held before being published to the scroll list.
+     */
+    private static final Duration LISTING_BATCH_TIMEOUT = Duration.ofMillis(50);
+
+    /**
+     * The generation of the current listing, incremented on each refresh so stale listings may be abandoned.
+     */
+    private static final AtomicInteger listingGeneration = new AtomicInteger();
 
     /**
      * The x value of the directory scroll label and the loading files label.
@@ -230,6 +254,12 @@ public final class DirectoryViewer {
         loadingFilesLabel.setVisible(true);
         directoryFrame.getContentPane().add(loadingFilesLabel);
 
+        cyderScrollList = new CyderVirtualScrollList(SCROLL_WIDTH, SCROLL_HEIGHT);
+        cyderScrollList.setScrollFont(CyderFonts.SEGOE_20.deriveFont(16f));
+        dirScrollLabel = cyderScrollList.generateScrollList();
+        dirScrollLabel.setBounds(directoryScrollX, directoryScrollY, SCROLL_WIDTH, SCROLL_HEIGHT);
+        directoryFrame.getContentPane().add(dirScrollLabel);
+
         directoryFrame.finalizeAndShow();
         directoryField.requestFocus();
 
@@ -254,46 +284,80 @@ public final class DirectoryViewer {
 
     /**
      * Refreshes the files scroll list based on the current directory.
+     * The directory is listed on a separate thread and its files are
+     * streamed into the scroll list as the listing progresses.
      */
     private static void refreshFiles() {
-        loadingFilesLabel.setVisible(true);
+        int generation = listingGeneration.incrementAndGet();
+        File listingDirectory = currentDirectory;
 
         cyderScrollList.removeAllElements();
-        directoryFrame.remove(dirScrollLabel);
-
-        currentFiles.clear();
-
-        File[] localDirectoryFiles = currentDirectory.listFiles();
-        if (localDirectoryFiles != null && localDirectoryFiles.length > 0) {
-            Collections.addAll(currentFiles, localDirectoryFiles);
-        }
-
-        cyderScrollList = new CyderScrollList(SCROLL_WIDTH, SCROLL_HEIGHT, CyderScrollList.SelectionPolicy.SINGLE);
-        cyderScrollList.setScrollFont(CyderFonts.SEGOE_20.deriveFont(16f));
+        cyderScrollList.getScrollPane().getViewport().setViewPosition(new Point(0, 0));
+        dirScrollLabel.setVisible(false);
+        loadingFilesLabel.setVisible(true);
 
-        currentFiles.forEach(file ->
-                cyderScrollList.addElementWithDoubleClickAction(file.getName(), () -> {
-                    if (file.isDirectory()) {
-                        forward.clear();
-                        storeCurrentDirectory();
-                        currentDirectory = file;
-                        refreshFiles();
-                    } else {
-                        FileUtil.openResource(file.getAbsolutePath(), true);
+        directoryFrame.setTitle(getTitleForCurrentDirectory());
+        directoryField.setText(listingDirectory.getAbsolutePath());
+
+        CyderThreadRunner.submit(() -> {
+            ArrayList<File> batch = new ArrayList<>();
+            long batchStart = System.nanoTime();
+
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(listingDirectory.toPath())) {
+                for (Path path : stream) {
+                    if (listingGeneration.get() != generation) return;
+
+                    batch.add(path.toFile());
+                    if (batch.size() >= LISTING_BATCH_SIZE
+                            || System.nanoTime() - batchStart >= LISTING_BATCH_TIMEOUT.toNanos()) {
+                        publishFiles(generation, batch);
+                        batch = new ArrayList<>();
+                        batchStart = System.nanoTime();
                     }
-                }));
+                }
+            } catch (IOException | DirectoryIteratorException e) {
+                ExceptionHandler.handle(e);
+            } finally {
+                publishFiles(generation, batch);
+            }
+        }, DIRECTORY_LISTER_THREAD_NAME);
+    }
 
-        dirScrollLabel = cyderScrollList.generateScrollList();
-        dirScrollLabel.setBounds(directoryScrollX, directoryScrollY, SCROLL_WIDTH, SCROLL_HEIGHT);
-        directoryFrame.getContentPane().add(dirScrollLabel);
+    /**
+     * Adds the provided listed files to the scroll list on the event dispatch thread
+     * if the listing they belong to is still current.
+     *
+     * @param generation the generation of the listing the files belong to
+     * @param files      the listed files
+     */
+    private static void publishFiles(int generation, List<File> files) {
+        SwingUtilities.invokeLater(() -> {
+            if (listingGeneration.get() != generation) return;
 
-        loadingFilesLabel.setVisible(false);
+            files.forEach(file -> {
+                if (cyderScrollList.elementInList(file.getName())) return;
+                cyderScrollList.addElementWithDoubleClickAction(file.getName(), () -> onFileDoubleClicked(file));
+            });
 
-        directoryFrame.revalidate();
-        directoryFrame.repaint();
+            loadingFilesLabel.setVisible(false);
+            dirScrollLabel.setVisible(true);
+        });
+    }
 
-        directoryFrame.setTitle(getTitleForCurrentDirectory());
-        directoryField.setText(currentDirectory.getAbsolutePath());
+    /**
+     * Navigates to the provided file if it is a directory, otherwise opens it.
+     *
+     * @param file the double clicked file
+     */
+    private static void onFileDoubleClicked(File file) {
+        if (file.isDirectory()) {
+            forward.clear();
+            storeCurrentDirectory();
+            currentDirectory = file;
+            refreshFiles();
+        } else {
+            FileUtil.openResource(file.getAbsolutePath(), true);
+        }
     }
 
     private static String getTitleForCurrentDirectory() {
@@ -0,0 +1,232 @@
+package cyder.handlers.external;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import cyder.constants.CyderColors;
+import cyder.files.MappedTextFile;
+
+import javax.swing.*;
+import java.awt.*;
+
+/**
+ * A read-only view of a {@link MappedTextFile} which reads and paints only the visible window of lines.
+ * <p>
+ * The view is as tall as all indexed lines when possible. Files whose lines exceed the maximum height of
+ * a Swing component are scaled, mapping the scroll position proportionally to the top visible line.
+ */
+final class PagedTextView extends JComponent implements Scrollable {
+    /**
+     * The maximum height of this view in pixels.
+     */
+    private static final int MAX_VIEW_HEIGHT = 1 << 30;
+
+    /**
+     * The maximum number of bytes of a line to decode and paint.
+     */
+    private static final int MAX_LINE_BYTES = 2048;
+
+    /**
+     * The padding to the left of line text.
+     */
+    private static final int TEXT_PADDING = 5;
+
+    /**
+     * The mapped file being viewed.
+     */
+    private final MappedTextFile mappedFile;
+
+    /**
+     * The zero-indexed line to highlight, -1 for none.
+     */
+    private long highlightedLine = -1;
+
+    /**
+     * Constructs a new paged text view.
+     *
+     * @param mappedFile the mapped file to view
+     * @param font       the font to paint lines using
+     */
+    PagedTextView(MappedTextFile mappedFile, Font font) {
+        this.mappedFile = Preconditions.checkNotNull(mappedFile);
+        setFont(Preconditions.checkNotNull(font));
+        setForeground(CyderColors.navy);
+        setBackground(CyderColors.vanilla);
+        setOpaque(true);
+    }
+
+    /**
+     * Updates the size of this view after more lines were indexed.
+     */
+    void onIndexedLinesChanged() {
+        revalidate();
+        repaint();
+    }
+
+    /**
+     * Returns the height of a line in pixels.
+     *
+     * @return the height of a line in pixels
+     */
+    private int getLineHeight() {
+        return getFontMetrics(getFont()).getHeight();
+    }
+
+    /**
+     * Returns whether the scroll position is scaled as all lines cannot fit within the maximum view height.
+     *
+     * @return whether the scroll position is scaled
+     */
+    private boolean isScaled() {
+        return mappedFile.getIndexedLineCount() * getLineHeight() > MAX_VIEW_HEIGHT;
+    }
+
+    /**
+     * Returns the number of lines which fit within the provided height.
+     *
+     * @param height the height in pixels
+     * @return the number of lines which fit
+     */
+    private int linesInHeight(int height) {
+        return Math.max(1, height / getLineHeight());
+    }
+
+    /**
+     * Returns the zero-indexed top line of the provided visible rectangle.
+     *
+     * @param visible the visible rectangle
+     * @return the top line
+     */
+    long getTopLine(Rectangle visible) {
+        if (!isScaled()) return visible.y / getLineHeight();
+
+        long scrollableLines = Math.max(0, mappedFile.getIndexedLineCount() - linesInHeight(visible.height));
+        int scrollableHeight = Math.max(1, getHeight() - visible.height);
+        return Math.min(scrollableLines, (long) ((double) visible.y / scrollableHeight * scrollableLines));
+    }
+
+    /**
+     * Returns the zero-indexed top visible line.
+     *
+     * @return the top visible line
+     */
+    long getTopVisibleLine() {
+        return getTopLine(getVisibleRect());
+    }
+
+    /**
+     * Returns the zero-indexed highlighted line, -1 if none.
+     *
+     * @return the highlighted line
+     */
+    long getHighlightedLine() {
+        return highlightedLine;
+    }
+
+    /**
+     * Scrolls such that the provided line is the top visible line, or as close as possible, and highlights it.
+     *
+     * @param line the zero-indexed line
+     */
+    void goToLine(long line) {
+        Preconditions.checkArgument(line >= 0);
+
+        highlightedLine = line;
+        if (!(getParent() instanceof JViewport viewport)) return;
+
+        int y;
+        int visibleHeight = viewport.getHeight();
+        if (isScaled()) {
+            long scrollableLines = Math.max(1, mappedFile.getIndexedLineCount() - linesInHeight(visibleHeight));
+            double fraction = Math.min(1.0, (double) line / scrollableLines);
+            y = (int) (fraction * Math.max(0, getHeight() - visibleHeight));
+        } else {
+            y = (int) Math.min(line * getLineHeight(), Math.max(0, getHeight() - visibleHeight));
+        }
+
+        viewport.setViewPosition(new Point(0, y));
+        repaint();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Dimension getPreferredSize() {
+        long height = mappedFile.getIndexedLineCount() * getLineHeight();
+        return new Dimension(0, (int) Math.min(MAX_VIEW_HEIGHT, height));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void paintComponent(Graphics g) {
+        Graphics2D g2d = (Graphics2D) g.create();
+        g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g2d.setFont(getFont());
+
+        Rectangle visible = getVisibleRect();
+        g2d.setColor(getBackground());
+        g2d.fillRect(visible.x, visible.y, visible.width, visible.height);
+
+        int lineHeight = getLineHeight();
+        int ascent = g2d.getFontMetrics().getAscent();
+        long topLine = getTopLine(visible);
+        int topY = isScaled() ? visible.y : (int) (topLine * lineHeight);
+
+        ImmutableList<String> lines = mappedFile.isClosed() ? ImmutableList.of()
+                : mappedFile.readLines(topLine, linesInHeight(visible.height) + 2, MAX_LINE_BYTES);
+        for (int i = 0 ; i < lines.size() ; i++) {
+            int lineY = topY + i * lineHeight;
+            if (topLine + i == highlightedLine) {
+                g2d.setColor(CyderColors.selectionColor);
+                g2d.fillRect(visible.x, lineY, visible.width, lineHeight);
+            }
+
+            g2d.setColor(getForeground());
+            g2d.drawString(lines.get(i), TEXT_PADDING, lineY + ascent);
+        }
+
+        g2d.dispose();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Dimension getPreferredScrollableViewportSize() {
+        return getPreferredSize();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getScrollableUnitIncrement(Rectangle visibleRect, int orientation, int direction) {
+        return getLineHeight();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getScrollableBlockIncrement(Rectangle visibleRect, int orientation, int direction) {
+        return visibleRect.height;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean getScrollableTracksViewportWidth() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean getScrollableTracksViewportHeight() {
+        return getParent() instanceof JViewport viewport && viewport.getHeight() > getPreferredSize().height;
+    }
+}
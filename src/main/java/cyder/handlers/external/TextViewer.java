@@ -6,9 +6,12 @@ import cyder.console.Console;
 import cyder.constants.CyderColors;
 import cyder.enumerations.Extension;
 import cyder.files.FileUtil;
+import cyder.files.MappedTextFile;
 import cyder.handlers.internal.ExceptionHandler;
 import cyder.layouts.CyderPartitionedLayout;
+import cyder.props.Props;
 import cyder.strings.CyderStrings;
+import cyder.threads.CyderThreadRunner;
 import cyder.ui.button.CyderButton;
 import cyder.ui.field.CyderCaret;
 import cyder.ui.field.CyderTextField;
@@ -23,9 +26,12 @@ import java.awt.*;
 import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileWriter;
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.OptionalLong;
+import java.util.regex.Pattern;
 
 /**
  * A handler for viewing text files.
@@ -77,6 +83,21 @@ public class TextViewer {
      */
     private static final String SAVE = "Save";
 
+    /**
+     * The tooltip of the find field shown for files too large to edit.
+     */
+    private static final String FIND_FIELD_TOOLTIP = "Line number or text to find";
+
+    /**
+     * The pattern of a line number entered into the find field.
+     */
+    private static final Pattern lineNumberPattern = Pattern.compile("^\\d+$");
+
+    /**
+     * The name of the thread which searches large files.
+     */
+    private static final String SEARCH_THREAD_NAME = "Text Viewer Searcher";
+
     /**
      * The file contents area.
      */
@@ -92,6 +113,16 @@ public class TextViewer {
      */
     private CyderFrame textFrame;
 
+    /**
+     * The mapped file if the file is too large to edit and is shown using a paged view.
+     */
+    private MappedTextFile mappedFile;
+
+    /**
+     * The paged view of the mapped file.
+     */
+    private PagedTextView pagedView;
+
     /**
      * Returns a new text viewer instance to view the provided file.
      *
@@ -133,6 +164,35 @@ public class TextViewer {
         nameField.setBorder(nameFieldBorder);
         nameField.setText(FileUtil.getFilename(file));
 
+        CyderPartitionedLayout textLayout = new CyderPartitionedLayout();
+        textLayout.spacer(2);
+        textLayout.addComponentMaintainSize(nameField);
+        textLayout.spacer(2);
+
+        if (file.length() > Props.textViewerMaxEditableBytes.getValue()) {
+            try {
+                addPagedComponents(textLayout);
+            } catch (IOException e) {
+                ExceptionHandler.handle(e);
+                return false;
+            }
+        } else {
+            addEditableComponents(textLayout);
+        }
+
+        revalidateTitle();
+        textFrame.setCyderLayout(textLayout);
+        textFrame.finalizeAndShow();
+
+        return true;
+    }
+
+    /**
+     * Adds the editable contents area and save button to the provided layout.
+     *
+     * @param textLayout the layout of the frame
+     */
+    private void addEditableComponents(CyderPartitionedLayout textLayout) {
         contentsArea = new JTextPane();
         contentsArea.setText(getCurrentFileContents());
         contentsArea.setSize(scrollLength, scrollHeight);
@@ -160,20 +220,93 @@ public class TextViewer {
         saveButton.setSize(new Dimension(contentsScroll.getWidth(), 40));
         saveButton.addActionListener(e -> saveButtonAction());
 
-        CyderPartitionedLayout textLayout = new CyderPartitionedLayout();
+        textLayout.addComponentMaintainSize(contentsScroll);
         textLayout.spacer(2);
-        textLayout.addComponentMaintainSize(nameField);
+        textLayout.addComponentMaintainSize(saveButton);
         textLayout.spacer(2);
+    }
+
+    /**
+     * Maps the file and adds a read-only paged view of it and a find field to the provided layout.
+     *
+     * @param textLayout the layout of the frame
+     * @throws IOException if the file cannot be mapped
+     */
+    private void addPagedComponents(CyderPartitionedLayout textLayout) throws IOException {
+        nameField.setEditable(false);
+
+        mappedFile = new MappedTextFile(file, (indexedLines, complete) ->
+                SwingUtilities.invokeLater(() -> {
+                    if (pagedView != null) pagedView.onIndexedLinesChanged();
+                }));
+        pagedView = new PagedTextView(mappedFile, Console.INSTANCE.generateUserFont());
+        textFrame.addPostCloseAction(mappedFile::close);
+
+        CyderScrollPane contentsScroll = new CyderScrollPane(pagedView,
+                ScrollPaneConstants.VERTICAL_SCROLLBAR_AS_NEEDED,
+                ScrollPaneConstants.HORIZONTAL_SCROLLBAR_NEVER);
+        contentsScroll.setThumbColor(CyderColors.regularPink);
+        contentsScroll.setSize(scrollLength, scrollHeight);
+        contentsScroll.getViewport().setOpaque(false);
+        contentsScroll.setOpaque(false);
+        contentsScroll.setBorder(new LineBorder(CyderColors.navy, 5));
+
+        CyderTextField findField = new CyderTextField();
+        findField.setToolTipText(FIND_FIELD_TOOLTIP);
+        findField.setHintText(FIND_FIELD_TOOLTIP);
+        findField.setSize(new Dimension(contentsScroll.getWidth(), 40));
+        findField.addActionListener(e -> findFieldAction(findField.getTrimmedText()));
+
         textLayout.addComponentMaintainSize(contentsScroll);
         textLayout.spacer(2);
-        textLayout.addComponentMaintainSize(saveButton);
+        textLayout.addComponentMaintainSize(findField);
         textLayout.spacer(2);
+    }
 
-        revalidateTitle();
-        textFrame.setCyderLayout(textLayout);
-        textFrame.finalizeAndShow();
+    /**
+     * Jumps to the entered line number or searches for the next line containing the entered text.
+     *
+     * @param text the text of the find field
+     */
+    private void findFieldAction(String text) {
+        if (text.isEmpty()) return;
+
+        if (lineNumberPattern.matcher(text).matches()) {
+            long lineCount = mappedFile.getIndexedLineCount();
+            long line;
+            try {
+                line = Long.parseLong(text) - 1;
+            } catch (NumberFormatException e) {
+                line = Long.MAX_VALUE;
+            }
+
+            if (line < 0 || line >= lineCount) {
+                textFrame.notify(mappedFile.isIndexComplete()
+                        ? "Line must be between 1 and " + lineCount
+                        : "Line not yet indexed, " + lineCount + " lines indexed");
+                return;
+            }
+
+            pagedView.goToLine(line);
+            return;
+        }
 
-        return true;
+        long highlighted = pagedView.getHighlightedLine();
+        long fromLine = highlighted >= 0 ? highlighted + 1 : pagedView.getTopVisibleLine();
+
+        CyderThreadRunner.submit(() -> {
+            OptionalLong found = mappedFile.findLine(text, fromLine);
+            if (found.isEmpty() && fromLine > 0) found = mappedFile.findLine(text, 0);
+
+            OptionalLong result = found;
+            SwingUtilities.invokeLater(() -> {
+                if (result.isPresent()) {
+                    pagedView.goToLine(result.getAsLong());
+                } else {
+                    textFrame.notify("Could not find \"" + text + CyderStrings.quote);
+                }
+            });
+        }, SEARCH_THREAD_NAME);
     }
 
     /**
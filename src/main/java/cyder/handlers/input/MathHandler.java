@@ -1,13 +1,16 @@
 package cyder.handlers.input;
 
-import com.fathzer.soft.javaluator.DoubleEvaluator;
 import cyder.annotations.Handle;
 import cyder.exceptions.IllegalMethodException;
+import cyder.math.expression.ExpressionEngine;
 import cyder.strings.CyderStrings;
 import cyder.strings.StringUtil;
 
+import java.math.BigDecimal;
+import java.math.MathContext;
+
 /**
- * A handler for handling mathematical expressions.
+ * A handler for handling mathematical expressions and definitions of variables and functions.
  */
 public class MathHandler extends InputHandler {
     /**
@@ -18,22 +21,40 @@ public class MathHandler extends InputHandler {
     }
 
     /**
-     * The evaluator for evaluating mathematical expressions
+     * The engine for compiling and evaluating mathematical expressions.
      */
-    private static final DoubleEvaluator evaluator;
+    private static final ExpressionEngine engine = new ExpressionEngine();
 
-    static {
-        evaluator = new DoubleEvaluator();
-    }
+    /**
+     * The prefix of expressions to evaluate with arbitrary precision.
+     */
+    private static final String EXACT_PREFIX = "exact ";
+
+    /**
+     * The math context expressions prefixed with {@link #EXACT_PREFIX} are evaluated with.
+     */
+    private static final MathContext EXACT_CONTEXT = new MathContext(50);
 
     @Handle
     public static boolean handle() {
         boolean ret = false;
 
         try {
-            double result = evaluator.evaluate(StringUtil.firstCharToLowerCase(
-                    getInputHandler().commandAndArgsToString()));
-            getInputHandler().println(String.valueOf(result));
+            String input = StringUtil.firstCharToLowerCase(getInputHandler().commandAndArgsToString());
+
+            if (ExpressionEngine.isDefinition(input)) {
+                String name = engine.define(input);
+                boolean function = input.substring(0, input.indexOf('=')).contains("(");
+                getInputHandler().println(function
+                        ? "Defined " + engine.getFunctionSignature(name).orElse(name)
+                        : name + " = " + engine.getVariable(name).map(BigDecimal::toString).orElse(""));
+            } else if (input.startsWith(EXACT_PREFIX)) {
+                getInputHandler().println(engine.evaluateExact(input.substring(EXACT_PREFIX.length()),
+                        EXACT_CONTEXT).toString());
+            } else {
+                getInputHandler().println(String.valueOf(engine.evaluate(input)));
+            }
+
             ret = true;
         } catch (Exception ignored) {}
 
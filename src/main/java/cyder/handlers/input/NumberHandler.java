@@ -1,5 +1,6 @@
 package cyder.handlers.input;
 
+import com.google.common.collect.ImmutableList;
 import cyder.annotations.Handle;
 import cyder.constants.CyderRegexPatterns;
 import cyder.enumerations.Extension;
@@ -7,18 +8,35 @@ import cyder.exceptions.IllegalMethodException;
 import cyder.files.FileUtil;
 import cyder.handlers.internal.ExceptionHandler;
 import cyder.math.NumberToWordUtil;
-import cyder.math.NumberUtil;
+import cyder.math.NumberTheoryUtil;
 import cyder.strings.CyderStrings;
 import cyder.threads.CyderThreadRunner;
 
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.InputStream;
+import java.math.BigInteger;
+import java.util.stream.Collectors;
 
 /**
  * A handler to handle things involving numbers.
  */
 public class NumberHandler extends InputHandler {
+    /**
+     * The maximum number of primes printed by the primes command.
+     */
+    private static final int MAXIMUM_PRINTED_PRIMES = 100;
+
+    /**
+     * The maximum bit length of numbers accepted by the prime and factor commands.
+     */
+    private static final int MAXIMUM_FACTOR_BITS = 512;
+
+    /**
+     * The maximum number of Pollard rho iterations spent factoring a number, roughly a few seconds of work.
+     */
+    private static final long MAXIMUM_FACTOR_ITERATIONS = 1L << 22;
+
     /**
      * Suppress default constructor.
      */
@@ -26,7 +44,7 @@ public class NumberHandler extends InputHandler {
         throw new IllegalMethodException(CyderStrings.ATTEMPTED_INSTANTIATION);
     }
 
-    @Handle({"binary", "prime", "bindump", "hexdump", "number2string"})
+    @Handle({"binary", "prime", "factor", "primes", "bindump", "hexdump", "number2string"})
     public static boolean handle() {
         boolean ret = true;
 
@@ -43,23 +61,76 @@ public class NumberHandler extends InputHandler {
             } else {
                 getInputHandler().println("Your value must only contain numbers.");
             }
-        } else if (getInputHandler().commandIs("prime")) {
-            if (getInputHandler().checkArgsLength(1)) {
-                int num = Integer.parseInt(getInputHandler().getArg(0));
-
-                if (NumberUtil.isPrime(num)) {
-                    getInputHandler().println(num + " is a prime");
-                } else {
-                    getInputHandler().println(num + " is not a prime because it is divisible by:\n[");
+        } else if (getInputHandler().commandIs("prime")
+                || getInputHandler().commandIs("factor")) {
+            if (getInputHandler().checkArgsLength(1)
+                    && CyderRegexPatterns.numberPattern.matcher(getInputHandler().getArg(0)).matches()) {
+                BigInteger num = new BigInteger(getInputHandler().getArg(0));
+                if (num.bitLength() > MAXIMUM_FACTOR_BITS) {
+                    getInputHandler().println("Numbers must not exceed " + MAXIMUM_FACTOR_BITS + " bits");
+                    return true;
+                }
 
-                    for (int factor : NumberUtil.primeFactors(num)) {
-                        getInputHandler().println(factor + ", ");
+                CyderThreadRunner.submit(() -> {
+                    if (num.signum() <= 0) {
+                        getInputHandler().println(num + " is not a prime");
+                    } else if (NumberTheoryUtil.isPrime(num)) {
+                        getInputHandler().println(num + " is a prime");
+                    } else if (num.equals(BigInteger.ONE)) {
+                        getInputHandler().println(num + " is neither prime nor composite");
+                    } else {
+                        NumberTheoryUtil.Factorization factorization =
+                                NumberTheoryUtil.factor(num, MAXIMUM_FACTOR_ITERATIONS);
+                        if (factorization.isComplete()) {
+                            getInputHandler().println(num + " is not a prime: " + num + " = "
+                                    + NumberTheoryUtil.formatFactorization(factorization.primeFactors()));
+                        } else {
+                            String found = factorization.primeFactors().isEmpty() ? ""
+                                    : NumberTheoryUtil.formatFactorization(factorization.primeFactors()) + " * ";
+                            getInputHandler().println(num + " is not a prime, could not fully factor: "
+                                    + num + " = " + found + factorization.unfactored() + " (composite)");
+                        }
                     }
+                }, "Prime Factorizer");
+            } else {
+                getInputHandler().println("Prime usage: prime NUMBER");
+            }
+        } else if (getInputHandler().commandIs("primes")) {
+            if (getInputHandler().checkArgsLength(2)
+                    && CyderRegexPatterns.numberPattern.matcher(getInputHandler().getArg(0)).matches()
+                    && CyderRegexPatterns.numberPattern.matcher(getInputHandler().getArg(1)).matches()) {
+                long low;
+                long high;
+                try {
+                    low = Long.parseLong(getInputHandler().getArg(0));
+                    high = Long.parseLong(getInputHandler().getArg(1));
+                } catch (NumberFormatException e) {
+                    getInputHandler().println("Bounds must not exceed " + NumberTheoryUtil.MAXIMUM_SIEVE_BOUND);
+                    return true;
+                }
+
+                if (low < 0 || low > high || high > NumberTheoryUtil.MAXIMUM_SIEVE_BOUND
+                        || high - low >= NumberTheoryUtil.MAXIMUM_SIEVE_RANGE) {
+                    getInputHandler().println("Primes requires 0 <= LOW <= HIGH <= "
+                            + NumberTheoryUtil.MAXIMUM_SIEVE_BOUND + " spanning fewer than "
+                            + NumberTheoryUtil.MAXIMUM_SIEVE_RANGE + " numbers");
+                } else {
+                    CyderThreadRunner.submit(() -> {
+                        ImmutableList<Long> primes = NumberTheoryUtil.primesInRange(low, high);
+                        getInputHandler().println(primes.size() + " primes in [" + low + ", " + high + "]");
 
-                    getInputHandler().println(CyderStrings.closingBracket);
+                        if (primes.size() <= MAXIMUM_PRINTED_PRIMES) {
+                            getInputHandler().println(primes.stream().map(String::valueOf)
+                                    .collect(Collectors.joining(", ")));
+                        } else {
+                            getInputHandler().println("First " + MAXIMUM_PRINTED_PRIMES + ": "
+                                    + primes.subList(0, MAXIMUM_PRINTED_PRIMES).stream().map(String::valueOf)
+                                    .collect(Collectors.joining(", ")));
+                        }
+                    }, "Prime Sieve");
                 }
             } else {
-                getInputHandler().println("Prime usage: prime NUMBER");
+                getInputHandler().println("Primes usage: primes LOW HIGH");
             }
         } else if (getInputHandler().commandIs("bindump")) {
             if (getInputHandler().checkArgsLength(2)) {
@@ -1,6 +1,7 @@
 package cyder.handlers.input;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.reflect.ClassPath;
 import cyder.annotations.GuiTest;
 import cyder.annotations.Handle;
@@ -11,10 +12,12 @@ import cyder.enumerations.SystemPropertyKey;
 import cyder.exceptions.IllegalMethodException;
 import cyder.files.FileUtil;
 import cyder.handlers.internal.ExceptionHandler;
+import cyder.logging.LogIndexService;
 import cyder.logging.Logger;
 import cyder.strings.CyderStrings;
 import cyder.threads.CyderThreadRunner;
 import cyder.threads.ThreadUtil;
+import cyder.time.TimeUtil;
 import cyder.utils.OsUtil;
 import cyder.utils.ReflectionUtil;
 import cyder.utils.StatUtil;
@@ -24,6 +27,8 @@ import java.lang.reflect.Method;
 import java.net.InetAddress;
 import java.net.NetworkInterface;
 import java.text.DecimalFormat;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -43,7 +48,7 @@ public class StatHandler extends InputHandler {
 
     @Handle({"debug", "count logs", "computer properties", "system properties", "tests",
             "network addresses", "filesizes", "badwords", "widgets", "analyze code", "java properties",
-            "threads", "daemon threads"})
+            "threads", "daemon threads", "logquery"})
     public static boolean handle() {
         boolean ret = true;
 
@@ -181,12 +186,13 @@ public class StatHandler extends InputHandler {
                     File finalStartDir = startDir;
 
                     CyderThreadRunner.submit(() -> {
-                        int codeLines = StatUtil.totalJavaLines(finalStartDir);
-                        int commentLines = StatUtil.totalComments(finalStartDir);
+                        StatUtil.CodeStats stats = StatUtil.analyzeJavaFiles(finalStartDir);
+                        int codeLines = stats.codeLines();
+                        int commentLines = stats.commentLines();
 
-                        getInputHandler().println("Total lines: " + StatUtil.totalLines(finalStartDir));
+                        getInputHandler().println("Total lines: " + stats.totalLines());
                         getInputHandler().println("Code lines: " + codeLines);
-                        getInputHandler().println("Blank lines: " + StatUtil.totalBlankLines(finalStartDir));
+                        getInputHandler().println("Blank lines: " + stats.blankLines());
                         getInputHandler().println("Comment lines: " + commentLines);
                         getInputHandler().println("Classes: " + ReflectionUtil.getCyderClasses().size());
 
@@ -206,6 +212,28 @@ public class StatHandler extends InputHandler {
             getInputHandler().printlns(ThreadUtil.getThreadNames());
         } else if (getInputHandler().inputIgnoringSpacesMatches("daemonthreads")) {
             getInputHandler().printlns(ThreadUtil.getDaemonThreadNames());
+        } else if (getInputHandler().commandIs("logquery")) {
+            if (getInputHandler().checkArgsLength(0)) {
+                getInputHandler().printlns(LOG_QUERY_USAGE);
+            } else {
+                String query = getInputHandler().getArg(0).toLowerCase();
+
+                ArrayList<String> args = new ArrayList<>();
+                for (int i = 1 ; i < getInputHandler().getArgsSize() ; i++) {
+                    args.add(getInputHandler().getArg(i));
+                }
+
+                Instant to = Instant.now();
+                Instant from = Instant.EPOCH;
+                if (!args.isEmpty() && args.get(args.size() - 1).matches("\\d{1,5}")) {
+                    int days = Integer.parseInt(args.remove(args.size() - 1));
+                    from = to.minus(Duration.ofDays(days));
+                }
+                String tag = String.join(CyderStrings.space, args);
+
+                Instant finalFrom = from;
+                CyderThreadRunner.submit(() -> handleLogQuery(query, tag, finalFrom, to), LOG_QUERY_THREAD_NAME);
+            }
         } else {
             ret = false;
         }
@@ -213,6 +241,91 @@ public class StatHandler extends InputHandler {
         return ret;
     }
 
+    /**
+     * The name of the thread which executes log queries.
+     */
+    private static final String LOG_QUERY_THREAD_NAME = "Log Query Executor";
+
+    /**
+     * The maximum number of results printed by a log query.
+     */
+    private static final int MAX_LOG_QUERY_RESULTS = 20;
+
+    /**
+     * The usage of the log query command.
+     */
+    private static final ImmutableList<String> LOG_QUERY_USAGE = ImmutableList.of(
+            "logquery usage, where [days] optionally limits results to the past number of days:",
+            "logquery tags [days]",
+            "logquery tag <tag> [days]",
+            "logquery lines <tag> [days]",
+            "logquery exceptions [days]",
+            "logquery sessions");
+
+    /**
+     * Executes a query of all logs using the {@link LogIndexService}.
+     *
+     * @param query the query, such as tags or lines
+     * @param tag   the tag the query is for, empty if not provided
+     * @param from  the start of the time range of the query
+     * @param to    the end of the time range of the query
+     */
+    private static void handleLogQuery(String query, String tag, Instant from, Instant to) {
+        LogIndexService service = LogIndexService.INSTANCE;
+        switch (query) {
+            case "tags" -> printCounts(service.countTags(from, to), "tags");
+            case "exceptions" -> printCounts(service.getExceptionFrequency(from, to), "exceptions");
+            case "tag" -> {
+                if (tag.isEmpty()) {
+                    getInputHandler().printlns(LOG_QUERY_USAGE);
+                    return;
+                }
+
+                getInputHandler().println(tag + ": " + service.countTag(tag, from, to));
+            }
+            case "lines" -> {
+                if (tag.isEmpty()) {
+                    getInputHandler().printlns(LOG_QUERY_USAGE);
+                    return;
+                }
+
+                ImmutableList<LogIndexService.TaggedLine> lines
+                        = service.findLines(tag, from, to, MAX_LOG_QUERY_RESULTS);
+                if (lines.isEmpty()) {
+                    getInputHandler().println("No lines found with tag: " + tag);
+                }
+                for (LogIndexService.TaggedLine line : lines) {
+                    getInputHandler().println(line.logName() + ": " + line.line());
+                }
+            }
+            case "sessions" -> {
+                ImmutableList<LogIndexService.Session> sessions = service.getSessions();
+                getInputHandler().println("Indexed sessions: " + sessions.size());
+
+                for (LogIndexService.Session session : sessions.subList(
+                        Math.max(0, sessions.size() - MAX_LOG_QUERY_RESULTS), sessions.size())) {
+                    String exit = session.concluded() ? session.exitCondition() : "not concluded";
+                    getInputHandler().println(session.name() + ", entries: " + session.entries()
+                            + ", runtime: " + TimeUtil.formatMillis(session.endMillis() - session.startMillis())
+                            + ", exit: " + exit + (session.logAvailable() ? "" : " (archived)"));
+                }
+            }
+            default -> getInputHandler().printlns(LOG_QUERY_USAGE);
+        }
+    }
+
+    /**
+     * Prints up to {@link #MAX_LOG_QUERY_RESULTS} of the provided counts.
+     *
+     * @param counts the counts, most frequent first
+     * @param name   the name of the counted items
+     */
+    private static void printCounts(ImmutableMap<String, Long> counts, String name) {
+        getInputHandler().println("Found " + counts.size() + " " + name + ":");
+        counts.entrySet().stream().limit(MAX_LOG_QUERY_RESULTS).forEach(entry
+                -> getInputHandler().println(entry.getKey() + ": " + entry.getValue()));
+    }
+
     /**
      * A widget and its properties.
      */
@@ -4,7 +4,9 @@ import cyder.annotations.Handle;
 import cyder.audio.GeneralAudioPlayer;
 import cyder.exceptions.IllegalMethodException;
 import cyder.strings.CyderStrings;
+import cyder.threads.YoutubeUuidChecker;
 import cyder.threads.YoutubeUuidCheckerManager;
+import cyder.watchdog.EdtLatencyProfiler;
 
 /**
  * A handler to handle things related to thread ops.
@@ -17,17 +19,26 @@ public class ThreadHandler extends InputHandler {
         throw new IllegalMethodException(CyderStrings.ATTEMPTED_INSTANTIATION);
     }
 
-    @Handle({"random youtube", "stop script", "stop music"})
+    @Handle({"random youtube", "stop script", "stop music", "edtlatency"})
     public static boolean handle() {
         boolean ret = true;
 
         if (getInputHandler().inputIgnoringSpacesMatches("randomyoutube")) {
-            YoutubeUuidCheckerManager.INSTANCE.start(1);
+            YoutubeUuidCheckerManager.INSTANCE.start(YoutubeUuidChecker.DEFAULT_CONCURRENT_REQUESTS);
         } else if (getInputHandler().inputIgnoringSpacesMatches("stopscript")) {
             YoutubeUuidCheckerManager.INSTANCE.killAll();
             getInputHandler().println("YouTube scripts have been killed.");
         } else if (getInputHandler().inputIgnoringSpacesMatches("stopmusic")) {
             GeneralAudioPlayer.stopGeneralAudio();
+        } else if (getInputHandler().commandIs("edtlatency")) {
+            if (getInputHandler().checkArgsLength(1) && getInputHandler().getArg(0).equalsIgnoreCase("reset")) {
+                EdtLatencyProfiler.INSTANCE.reset();
+                getInputHandler().println("EDT latency profile reset");
+            } else {
+                getInputHandler().printlns(EdtLatencyProfiler.INSTANCE
+                        .generateReport(EdtLatencyProfiler.DEFAULT_REPORT_OFFENDERS));
+                EdtLatencyProfiler.INSTANCE.logReport();
+            }
         } else {
             ret = false;
         }
@@ -0,0 +1,408 @@
+package cyder.logging;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import cyder.enumerations.Extension;
+import cyder.exceptions.IllegalMethodException;
+import cyder.files.FileUtil;
+import cyder.handlers.internal.ExceptionHandler;
+import cyder.strings.CyderStrings;
+import cyder.threads.CyderThreadFactory;
+import cyder.threads.IgnoreThread;
+import cyder.utils.OsUtil;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+import java.util.zip.*;
+
+/**
+ * Archives the day directories of past logs into zip archives and reads logs from those archives.
+ * <p>
+ * The files of a directory are deflated in parallel before being written sequentially to a temporary
+ * archive which replaces the destination archive atomically, meaning an archive is either complete or absent.
+ * Directories whose archive already exists are considered archived and are only deleted.
+ */
+public final class LogArchiver {
+    /**
+     * The size of the buffers used to read and compress logs.
+     */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * The extension of archives being written.
+     */
+    private static final String TEMPORARY_ARCHIVE_EXTENSION = ".tmp";
+
+    /**
+     * The largest size or offset representable without zip64 extensions.
+     */
+    private static final long MAX_ZIP32_VALUE = 0xFFFFFFFEL;
+
+    /**
+     * The largest number of entries representable without zip64 extensions.
+     */
+    private static final int MAX_ZIP32_ENTRIES = 0xFFFE;
+
+    /**
+     * The version needed to extract deflated entries.
+     */
+    private static final short ZIP_VERSION = 20;
+
+    /**
+     * The general purpose flag denoting entry names are encoded using UTF-8.
+     */
+    private static final short UTF8_NAMES_FLAG = 0x0800;
+
+    /**
+     * The compression method of deflated entries.
+     */
+    private static final short DEFLATED = 8;
+
+    /**
+     * The size of a local file header excluding the entry name.
+     */
+    private static final int LOCAL_HEADER_SIZE = 30;
+
+    /**
+     * The size of a central directory header excluding the entry name.
+     */
+    private static final int CENTRAL_HEADER_SIZE = 46;
+
+    /**
+     * The size of the end of central directory record.
+     */
+    private static final int END_OF_CENTRAL_DIRECTORY_SIZE = 22;
+
+    /**
+     * The earliest year representable by a zip timestamp.
+     */
+    private static final int DOS_EPOCH_YEAR = 1980;
+
+    /**
+     * Suppress default constructor.
+     */
+    private LogArchiver() {
+        throw new IllegalMethodException(CyderStrings.ATTEMPTED_INSTANTIATION);
+    }
+
+    /**
+     * A deflated file awaiting being written to an archive.
+     *
+     * @param name     the name of the entry
+     * @param data     the raw deflated data
+     * @param crc      the CRC-32 of the uncompressed data
+     * @param size     the size of the uncompressed data
+     * @param modified the last modified time of the file in epoch milliseconds
+     */
+    private record DeflatedEntry(String name, byte[] data, long crc, long size, long modified) {}
+
+    /**
+     * Archives every day directory within the provided logs directory except for the provided current directory,
+     * deleting each directory once archived. Leftover temporary archives of interrupted sessions are deleted.
+     *
+     * @param logsDirectory    the directory containing the day directories of logs
+     * @param currentDirectory the day directory of the current log which is not archived
+     * @return the number of directories archived
+     */
+    static int archivePastLogs(File logsDirectory, File currentDirectory) {
+        Preconditions.checkNotNull(logsDirectory);
+        Preconditions.checkNotNull(currentDirectory);
+
+        File[] children = logsDirectory.listFiles();
+        if (children == null) return 0;
+
+        ArrayList<File> pastDirectories = new ArrayList<>();
+        for (File child : children) {
+            if (child.isFile() && child.getName().endsWith(TEMPORARY_ARCHIVE_EXTENSION)) {
+                OsUtil.deleteFile(child);
+            } else if (child.isDirectory() && !child.getAbsoluteFile().equals(currentDirectory.getAbsoluteFile())) {
+                pastDirectories.add(child);
+            }
+        }
+        if (pastDirectories.isEmpty()) return 0;
+
+        int threads = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        ExecutorService compressor = Executors.newFixedThreadPool(threads,
+                new CyderThreadFactory(IgnoreThread.LogArchiveCompressor.getName()));
+
+        int archived = 0;
+        try {
+            for (File directory : pastDirectories) {
+                File destination = new File(logsDirectory, directory.getName() + Extension.ZIP.getExtension());
+
+                try {
+                    if (destination.exists()) {
+                        Logger.log(LogTag.DEBUG, "Past log dir already archived: " + directory.getAbsolutePath());
+                    } else {
+                        Logger.log(LogTag.DEBUG, "Archiving past log dir: " + directory.getAbsolutePath());
+                        archiveDirectory(directory, destination, compressor);
+                        archived++;
+                    }
+
+                    OsUtil.deleteFile(directory);
+                } catch (Exception e) {
+                    ExceptionHandler.handle(e);
+                }
+            }
+        } finally {
+            compressor.shutdownNow();
+        }
+
+        return archived;
+    }
+
+    /**
+     * Archives the files of the provided directory into the provided destination zip archive.
+     *
+     * @param directory   the directory to archive
+     * @param destination the archive to create or replace
+     * @param compressor  the executor to deflate files using
+     * @throws IOException          if a file cannot be read or the archive cannot be written
+     * @throws InterruptedException if interrupted while awaiting compression
+     */
+    static void archiveDirectory(File directory, File destination, ExecutorService compressor)
+            throws IOException, InterruptedException {
+        Preconditions.checkNotNull(directory);
+        Preconditions.checkArgument(directory.isDirectory());
+        Preconditions.checkNotNull(destination);
+        Preconditions.checkNotNull(compressor);
+
+        Path root = directory.toPath();
+        ImmutableList<Path> files;
+        try (Stream<Path> walk = Files.walk(root)) {
+            files = walk.filter(Files::isRegularFile).sorted().collect(ImmutableList.toImmutableList());
+        }
+        if (files.size() > MAX_ZIP32_ENTRIES) throw new IOException("Too many files to archive: " + directory);
+
+        ArrayList<Future<DeflatedEntry>> entries = new ArrayList<>(files.size());
+        for (Path file : files) {
+            String name = root.relativize(file).toString().replace(File.separatorChar, '/');
+            entries.add(compressor.submit(() -> deflate(file.toFile(), name)));
+        }
+
+        File temporary = new File(destination.getParentFile(),
+                destination.getName() + TEMPORARY_ARCHIVE_EXTENSION);
+        try {
+            writeArchive(temporary, entries);
+            FileUtil.moveAtomically(temporary, destination);
+        } catch (ExecutionException e) {
+            throw new IOException("Failed to compress log in " + directory, e.getCause());
+        } finally {
+            entries.forEach(entry -> entry.cancel(true));
+            Files.deleteIfExists(temporary.toPath());
+        }
+    }
+
+    /**
+     * Deflates the provided file.
+     *
+     * @param file the file to deflate
+     * @param name the name of the entry
+     * @return the deflated entry
+     * @throws IOException if the file cannot be read or is too large to archive
+     */
+    private static DeflatedEntry deflate(File file, String name) throws IOException {
+        CRC32 crc = new CRC32();
+        ByteArrayOutputStream data = new ByteArrayOutputStream((int) Math.min(BUFFER_SIZE, file.length() / 4 + 64));
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+
+        long size = 0;
+        try (InputStream in = new FileInputStream(file);
+             DeflaterOutputStream out = new DeflaterOutputStream(data, deflater, BUFFER_SIZE)) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                crc.update(buffer, 0, read);
+                out.write(buffer, 0, read);
+                size += read;
+            }
+        } finally {
+            deflater.end();
+        }
+
+        if (size > MAX_ZIP32_VALUE || data.size() > MAX_ZIP32_VALUE) {
+            throw new IOException("Log too large to archive: " + file);
+        }
+
+        return new DeflatedEntry(name, data.toByteArray(), crc.getValue(), size, file.lastModified());
+    }
+
+    /**
+     * Writes the provided entries, in order, as a zip archive.
+     *
+     * @param archive the archive to write
+     * @param entries the entries being deflated
+     * @throws IOException          if the archive cannot be written or is too large
+     * @throws ExecutionException   if an entry failed to deflate
+     * @throws InterruptedException if interrupted while awaiting an entry
+     */
+    private static void writeArchive(File archive, ArrayList<Future<DeflatedEntry>> entries)
+            throws IOException, ExecutionException, InterruptedException {
+        ByteArrayOutputStream centralDirectory = new ByteArrayOutputStream();
+
+        long offset = 0;
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(archive), BUFFER_SIZE)) {
+            for (Future<DeflatedEntry> future : entries) {
+                DeflatedEntry entry = future.get();
+                byte[] name = entry.name().getBytes(StandardCharsets.UTF_8);
+                int dosDateTime = toDosDateTime(entry.modified());
+
+                ByteBuffer local = header(LOCAL_HEADER_SIZE);
+                local.putInt(0x04034b50);
+                putEntryFields(local, entry, name, dosDateTime);
+                local.putShort((short) 0);
+                out.write(local.array());
+                out.write(name);
+
+                ByteBuffer central = header(CENTRAL_HEADER_SIZE);
+                central.putInt(0x02014b50);
+                central.putShort(ZIP_VERSION);
+                putEntryFields(central, entry, name, dosDateTime);
+                central.putShort((short) 0);
+                central.putShort((short) 0);
+                central.putShort((short) 0);
+                central.putShort((short) 0);
+                central.putInt(0);
+                central.putInt((int) offset);
+                centralDirectory.write(central.array());
+                centralDirectory.write(name);
+
+                out.write(entry.data());
+                offset += LOCAL_HEADER_SIZE + name.length + entry.data().length;
+                if (offset > MAX_ZIP32_VALUE) throw new IOException("Archive too large: " + archive);
+            }
+
+            ByteBuffer end = header(END_OF_CENTRAL_DIRECTORY_SIZE);
+            end.putInt(0x06054b50);
+            end.putShort((short) 0);
+            end.putShort((short) 0);
+            end.putShort((short) entries.size());
+            end.putShort((short) entries.size());
+            end.putInt(centralDirectory.size());
+            end.putInt((int) offset);
+            end.putShort((short) 0);
+
+            centralDirectory.writeTo(out);
+            out.write(end.array());
+        }
+    }
+
+    /**
+     * Returns a new little endian buffer of the provided size.
+     *
+     * @param size the size of the buffer
+     * @return the buffer
+     */
+    private static ByteBuffer header(int size) {
+        return ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Puts the fields shared by local and central headers, from the version needed to extract
+     * through the length of the entry name.
+     *
+     * @param header      the header to put the fields into
+     * @param entry       the entry
+     * @param name        the encoded name of the entry
+     * @param dosDateTime the last modified time of the entry in MS-DOS format
+     */
+    private static void putEntryFields(ByteBuffer header, DeflatedEntry entry, byte[] name, int dosDateTime) {
+        header.putShort(ZIP_VERSION);
+        header.putShort(UTF8_NAMES_FLAG);
+        header.putShort(DEFLATED);
+        header.putInt(dosDateTime);
+        header.putInt((int) entry.crc());
+        header.putInt(entry.data().length);
+        header.putInt((int) entry.size());
+        header.putShort((short) name.length);
+    }
+
+    /**
+     * Converts the provided epoch millisecond to an MS-DOS time in the low and date in the high sixteen bits.
+     *
+     * @param epochMillis the epoch millisecond
+     * @return the MS-DOS date and time
+     */
+    static int toDosDateTime(long epochMillis) {
+        LocalDateTime time = LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+        if (time.getYear() < DOS_EPOCH_YEAR) {
+            time = LocalDateTime.of(DOS_EPOCH_YEAR, 1, 1, 0, 0);
+        }
+
+        int date = (time.getYear() - DOS_EPOCH_YEAR) << 9 | time.getMonthValue() << 5 | time.getDayOfMonth();
+        int dosTime = time.getHour() << 11 | time.getMinute() << 5 | time.getSecond() >> 1;
+        return date << 16 | dosTime;
+    }
+
+    /**
+     * Returns the names of the logs within the provided archive.
+     *
+     * @param archive the archive
+     * @return the names of the logs within the archive
+     * @throws IOException if the archive cannot be read
+     */
+    public static ImmutableList<String> listArchivedLogs(File archive) throws IOException {
+        Preconditions.checkNotNull(archive);
+        Preconditions.checkArgument(archive.isFile());
+
+        ImmutableList.Builder<String> ret = ImmutableList.builder();
+        try (ZipFile zipFile = new ZipFile(archive, StandardCharsets.UTF_8)) {
+            Enumeration<? extends ZipEntry> entries = zipFile.entries();
+            while (entries.hasMoreElements()) {
+                ZipEntry entry = entries.nextElement();
+                if (!entry.isDirectory()) ret.add(entry.getName());
+            }
+        }
+        return ret.build();
+    }
+
+    /**
+     * Opens a reader streaming the provided log from the provided archive without extracting it.
+     * Closing the reader closes the archive.
+     *
+     * @param archive the archive
+     * @param logName the name of the log within the archive
+     * @return a reader of the log
+     * @throws IOException if the archive cannot be read or does not contain the log
+     */
+    public static BufferedReader openArchivedLog(File archive, String logName) throws IOException {
+        Preconditions.checkNotNull(archive);
+        Preconditions.checkArgument(archive.isFile());
+        Preconditions.checkNotNull(logName);
+
+        ZipFile zipFile = new ZipFile(archive, StandardCharsets.UTF_8);
+        try {
+            ZipEntry entry = zipFile.getEntry(logName);
+            if (entry == null) throw new FileNotFoundException(logName + " not found in " + archive);
+
+            InputStream in = zipFile.getInputStream(entry);
+            return new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), BUFFER_SIZE) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        zipFile.close();
+                    }
+                }
+            };
+        } catch (IOException e) {
+            zipFile.close();
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,717 @@
+package cyder.logging;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import cyder.constants.CyderRegexPatterns;
+import cyder.strings.CyderStrings;
+
+import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+/**
+ * An index of a single log file, that being one Cyder session.
+ * <p>
+ * Each standard log line is an entry recording its byte offset and timestamp. Entries are
+ * referenced by postings lists per tag and per exception type, allowing counts within any time
+ * range to be computed using binary searches. The index may be extended as its log file grows
+ * and is persisted to a compact sidecar file using delta encoded variable length integers.
+ */
+final class LogIndex {
+    /**
+     * The magic number which begins sidecar files.
+     */
+    private static final int MAGIC = 0x4C494458;
+
+    /**
+     * The version of the sidecar format.
+     */
+    private static final int VERSION = 1;
+
+    /**
+     * The number of bytes preceding the indexed end of the log which are hashed to detect rewrites.
+     */
+    private static final int TAIL_HASH_BYTES = 256;
+
+    /**
+     * The number of milliseconds in a day.
+     */
+    private static final long MILLIS_PER_DAY = TimeUnit.DAYS.toMillis(1);
+
+    /**
+     * The decrease in time of day beyond which a log line is considered to have been logged the following day.
+     */
+    private static final long DAY_ROLLOVER_THRESHOLD = TimeUnit.HOURS.toMillis(12);
+
+    /**
+     * The prefix of the line describing the origin of a logged exception.
+     */
+    private static final String EXCEPTION_ORIGIN_PREFIX = "Exception origin:";
+
+    /**
+     * The exception type used when the type of a logged exception could not be determined.
+     */
+    static final String UNKNOWN_EXCEPTION = "Unknown";
+
+    /**
+     * The pattern of the tags inserted when consolidating repeated lines.
+     */
+    private static final Pattern consolidationTagPattern = Pattern.compile("\\d+x");
+
+    /**
+     * The size of the buffer used to read log files.
+     */
+    private static final int READ_BUFFER_SIZE = 1 << 16;
+
+    /**
+     * A sorted, growable list of entry indices.
+     */
+    static final class Postings {
+        /**
+         * The entry indices.
+         */
+        private int[] entries = new int[8];
+
+        /**
+         * The number of entry indices.
+         */
+        private int size;
+
+        /**
+         * Adds the provided entry index if it is not already the last entry index.
+         *
+         * @param entry the entry index
+         */
+        private void add(int entry) {
+            if (size > 0 && entries[size - 1] == entry) return;
+            if (size == entries.length) entries = Arrays.copyOf(entries, size * 2);
+            entries[size++] = entry;
+        }
+
+        /**
+         * Returns the number of entry indices within the range [fromEntry, toEntry).
+         *
+         * @param fromEntry the first entry index, inclusive
+         * @param toEntry   the last entry index, exclusive
+         * @return the number of entry indices within the range
+         */
+        int countWithin(int fromEntry, int toEntry) {
+            if (fromEntry >= toEntry) return 0;
+            return lowerBound(toEntry) - lowerBound(fromEntry);
+        }
+
+        /**
+         * Returns the number of entry indices less than the provided entry index.
+         *
+         * @param entry the entry index
+         * @return the number of entry indices less than the provided entry index
+         */
+        int lowerBound(int entry) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (entries[mid] < entry) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * Returns the entry index at the provided position.
+         *
+         * @param position the position
+         * @return the entry index at the provided position
+         */
+        int get(int position) {
+            return entries[position];
+        }
+    }
+
+    /**
+     * The name of the log, that being its day directory and file name.
+     */
+    private final String name;
+
+    /**
+     * The epoch millisecond at which the day of the log began.
+     */
+    private final long dayStartMillis;
+
+    /**
+     * The number of bytes of the log indexed, always the end of a complete line.
+     */
+    private long indexedBytes;
+
+    /**
+     * The hash of the bytes preceding {@link #indexedBytes}.
+     */
+    private long tailHash;
+
+    /**
+     * The byte offsets of the entries.
+     */
+    private long[] offsets = new long[64];
+
+    /**
+     * The epoch millisecond timestamps of the entries, non-decreasing.
+     */
+    private long[] times = new long[64];
+
+    /**
+     * The number of entries.
+     */
+    private int entryCount;
+
+    /**
+     * The postings of each tag.
+     */
+    private final HashMap<String, Postings> tagPostings = new HashMap<>();
+
+    /**
+     * The postings of each exception type.
+     */
+    private final HashMap<String, Postings> exceptionPostings = new HashMap<>();
+
+    /**
+     * The time of day of the last entry in milliseconds, -1 if no entries have been indexed.
+     */
+    private long lastMillisOfDay = -1;
+
+    /**
+     * The number of times the log passed midnight.
+     */
+    private int dayRollovers;
+
+    /**
+     * The entry of an exception whose type has not yet been found, -1 if none.
+     */
+    private int pendingExceptionEntry = -1;
+
+    /**
+     * Whether the log has been concluded with an end of log tag.
+     */
+    private boolean concluded;
+
+    /**
+     * The exit condition of the log, empty if not yet concluded.
+     */
+    private String exitCondition = "";
+
+    /**
+     * Constructs a new empty log index.
+     *
+     * @param name           the name of the log
+     * @param dayStartMillis the epoch millisecond at which the day of the log began
+     */
+    LogIndex(String name, long dayStartMillis) {
+        this.name = Preconditions.checkNotNull(name);
+        this.dayStartMillis = dayStartMillis;
+    }
+
+    /**
+     * Returns the name of the log.
+     *
+     * @return the name of the log
+     */
+    String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the number of entries.
+     *
+     * @return the number of entries
+     */
+    int getEntryCount() {
+        return entryCount;
+    }
+
+    /**
+     * Returns the byte offset of the provided entry.
+     *
+     * @param entry the entry index
+     * @return the byte offset of the entry
+     */
+    long getOffset(int entry) {
+        Preconditions.checkElementIndex(entry, entryCount);
+        return offsets[entry];
+    }
+
+    /**
+     * Returns the epoch millisecond timestamp of the provided entry.
+     *
+     * @param entry the entry index
+     * @return the timestamp of the entry
+     */
+    long getTime(int entry) {
+        Preconditions.checkElementIndex(entry, entryCount);
+        return times[entry];
+    }
+
+    /**
+     * Returns whether the log has been concluded with an end of log tag.
+     *
+     * @return whether the log has been concluded
+     */
+    boolean isConcluded() {
+        return concluded;
+    }
+
+    /**
+     * Returns the exit condition of the log, empty if not yet concluded.
+     *
+     * @return the exit condition of the log
+     */
+    String getExitCondition() {
+        return exitCondition;
+    }
+
+    /**
+     * Returns the postings of the provided tag, null if the tag does not occur.
+     *
+     * @param tag the tag
+     * @return the postings of the tag
+     */
+    Postings getTagPostings(String tag) {
+        return tagPostings.get(tag);
+    }
+
+    /**
+     * Returns the postings of each tag.
+     *
+     * @return the postings of each tag
+     */
+    Map<String, Postings> getTagPostings() {
+        return tagPostings;
+    }
+
+    /**
+     * Returns the postings of each exception type.
+     *
+     * @return the postings of each exception type
+     */
+    Map<String, Postings> getExceptionPostings() {
+        return exceptionPostings;
+    }
+
+    /**
+     * Returns the index of the first entry logged at or after the provided time.
+     *
+     * @param millis the epoch millisecond
+     * @return the index of the first entry at or after the time
+     */
+    int firstEntryAtOrAfter(long millis) {
+        int low = 0;
+        int high = entryCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (times[mid] < millis) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the index of the first entry logged after the provided time.
+     *
+     * @param millis the epoch millisecond
+     * @return the index of the first entry after the time
+     */
+    int firstEntryAfter(long millis) {
+        return millis == Long.MAX_VALUE ? entryCount : firstEntryAtOrAfter(millis + 1);
+    }
+
+    /**
+     * Returns whether this index is a valid prefix of the provided log file,
+     * meaning it may be extended instead of rebuilt.
+     *
+     * @param log the log file
+     * @return whether this index is a valid prefix of the log file
+     * @throws IOException if the log file cannot be read
+     */
+    boolean isPrefixOf(RandomAccessFile log) throws IOException {
+        return log.length() >= indexedBytes && computeTailHash(log, indexedBytes) == tailHash;
+    }
+
+    /**
+     * Indexes the complete lines appended to the provided log file since it was last indexed.
+     *
+     * @param log the log file
+     * @return whether any lines were indexed
+     * @throws IOException if the log file cannot be read
+     */
+    boolean indexAppendedLines(RandomAccessFile log) throws IOException {
+        if (log.length() == indexedBytes) return false;
+
+        log.seek(indexedBytes);
+        InputStream in = new BufferedInputStream(Channels.newInputStream(log.getChannel()), READ_BUFFER_SIZE);
+
+        byte[] lineBuffer = new byte[256];
+        int lineLength = 0;
+        long position = indexedBytes;
+        long lineStart = indexedBytes;
+
+        int read;
+        while ((read = in.read()) != -1) {
+            position++;
+
+            if (read == '\n') {
+                int contentLength = lineLength > 0 && lineBuffer[lineLength - 1] == '\r' ? lineLength - 1 : lineLength;
+                indexLine(lineStart, new String(lineBuffer, 0, contentLength, StandardCharsets.UTF_8));
+                lineLength = 0;
+                lineStart = position;
+                continue;
+            }
+
+            if (lineLength == lineBuffer.length) lineBuffer = Arrays.copyOf(lineBuffer, lineLength * 2);
+            lineBuffer[lineLength++] = (byte) read;
+        }
+
+        boolean indexed = lineStart != indexedBytes;
+        indexedBytes = lineStart;
+        tailHash = computeTailHash(log, indexedBytes);
+        return indexed;
+    }
+
+    /**
+     * Indexes the provided line.
+     *
+     * @param offset the byte offset of the line
+     * @param line   the line
+     */
+    void indexLine(long offset, String line) {
+        Matcher matcher = CyderRegexPatterns.standardLogLinePattern.matcher(line);
+        if (!matcher.matches()) {
+            if (pendingExceptionEntry != -1) {
+                String trimmed = line.trim();
+                if (trimmed.startsWith(EXCEPTION_ORIGIN_PREFIX)) {
+                    addException(pendingExceptionEntry,
+                            extractExceptionType(trimmed.substring(EXCEPTION_ORIGIN_PREFIX.length())));
+                    pendingExceptionEntry = -1;
+                }
+            }
+
+            return;
+        }
+
+        if (pendingExceptionEntry != -1) {
+            addException(pendingExceptionEntry, UNKNOWN_EXCEPTION);
+            pendingExceptionEntry = -1;
+        }
+
+        long millisOfDay = parseMillisOfDay(matcher.group(1));
+        if (millisOfDay < 0) return;
+
+        if (lastMillisOfDay - millisOfDay > DAY_ROLLOVER_THRESHOLD) dayRollovers++;
+        lastMillisOfDay = millisOfDay;
+
+        long time = dayStartMillis + dayRollovers * MILLIS_PER_DAY + millisOfDay;
+        if (entryCount > 0) time = Math.max(time, times[entryCount - 1]);
+        int entry = addEntry(offset, time);
+
+        ImmutableList<String> tags = LoggingUtil.extractTags(line);
+        // The first tag is the time tag
+        for (int i = 1 ; i < tags.size() ; i++) {
+            String bracketedTag = tags.get(i);
+            String tag = bracketedTag.substring(1, bracketedTag.length() - 1).trim();
+            if (tag.isEmpty() || consolidationTagPattern.matcher(tag).matches()) continue;
+
+            tagPostings.computeIfAbsent(tag, ignored -> new Postings()).add(entry);
+
+            if (tag.equals(LogTag.EXCEPTION.getLogName())) {
+                onExceptionEntry(entry, getLineContent(line));
+            } else if (tag.equals(LoggingConstants.EOL)) {
+                concluded = true;
+            } else if (tag.equals(LoggingConstants.EXIT_CONDITION)) {
+                exitCondition = getLineContent(line);
+            }
+        }
+    }
+
+    /**
+     * Records the type of the exception logged by the provided entry if present in its content,
+     * otherwise awaits the exception origin line.
+     *
+     * @param entry   the entry index
+     * @param content the content of the entry following its tags
+     */
+    private void onExceptionEntry(int entry, String content) {
+        if (content.startsWith(EXCEPTION_ORIGIN_PREFIX)) {
+            addException(entry, extractExceptionType(content.substring(EXCEPTION_ORIGIN_PREFIX.length())));
+        } else if (content.isEmpty()) {
+            pendingExceptionEntry = entry;
+        } else {
+            addException(entry, extractExceptionType(content));
+        }
+    }
+
+    /**
+     * Adds the provided entry to the postings of the provided exception type.
+     *
+     * @param entry         the entry index
+     * @param exceptionType the exception type
+     */
+    private void addException(int entry, String exceptionType) {
+        exceptionPostings.computeIfAbsent(exceptionType, ignored -> new Postings()).add(entry);
+    }
+
+    /**
+     * Extracts the exception type from the origin of an exception, for example
+     * "java.io.IOException" from "java.io.IOException: Stream closed".
+     *
+     * @param origin the origin of the exception
+     * @return the exception type
+     */
+    static String extractExceptionType(String origin) {
+        String trimmed = origin.trim();
+        int end = trimmed.length();
+        for (int i = 0 ; i < trimmed.length() ; i++) {
+            char c = trimmed.charAt(i);
+            if (c == ':' || Character.isWhitespace(c)) {
+                end = i;
+                break;
+            }
+        }
+
+        String type = trimmed.substring(0, end);
+        return type.isEmpty() ? UNKNOWN_EXCEPTION : type;
+    }
+
+    /**
+     * Returns the content of the provided standard log line following its tags.
+     *
+     * @param line the standard log line
+     * @return the content of the line following its tags
+     */
+    private static String getLineContent(String line) {
+        int colon = line.indexOf(CyderStrings.colon);
+        return colon == -1 ? "" : line.substring(colon + 1).trim();
+    }
+
+    /**
+     * Parses the milliseconds since midnight from the provided log line time, for example "13-05-09.123".
+     *
+     * @param logLineTime the log line time
+     * @return the milliseconds since midnight, -1 if the time is malformed
+     */
+    static long parseMillisOfDay(String logLineTime) {
+        String[] parts = logLineTime.split("[-.]");
+        if (parts.length != 4) return -1;
+
+        try {
+            long hours = Long.parseLong(parts[0]);
+            long minutes = Long.parseLong(parts[1]);
+            long seconds = Long.parseLong(parts[2]);
+            long millis = Long.parseLong(parts[3]);
+            return TimeUnit.HOURS.toMillis(hours) + TimeUnit.MINUTES.toMillis(minutes)
+                    + TimeUnit.SECONDS.toMillis(seconds) + millis;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Adds a new entry.
+     *
+     * @param offset the byte offset of the entry
+     * @param time   the timestamp of the entry
+     * @return the index of the entry
+     */
+    private int addEntry(long offset, long time) {
+        if (entryCount == offsets.length) {
+            offsets = Arrays.copyOf(offsets, entryCount * 2);
+            times = Arrays.copyOf(times, entryCount * 2);
+        }
+
+        offsets[entryCount] = offset;
+        times[entryCount] = time;
+        return entryCount++;
+    }
+
+    /**
+     * Computes the hash of up to {@link #TAIL_HASH_BYTES} bytes preceding the provided end of the log.
+     *
+     * @param log the log file
+     * @param end the end of the hashed region
+     * @return the hash
+     * @throws IOException if the log file cannot be read
+     */
+    private static long computeTailHash(RandomAccessFile log, long end) throws IOException {
+        int length = (int) Math.min(TAIL_HASH_BYTES, end);
+        byte[] tail = new byte[length];
+        log.seek(end - length);
+        log.readFully(tail);
+
+        CRC32 crc = new CRC32();
+        crc.update(tail);
+        return crc.getValue();
+    }
+
+    /**
+     * Writes this index to the provided stream.
+     *
+     * @param out the stream to write to
+     * @throws IOException if the stream cannot be written to
+     */
+    void write(DataOutputStream out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeUTF(name);
+        out.writeLong(dayStartMillis);
+        out.writeLong(indexedBytes);
+        out.writeLong(tailHash);
+        out.writeLong(lastMillisOfDay);
+        out.writeInt(dayRollovers);
+        out.writeInt(pendingExceptionEntry);
+        out.writeBoolean(concluded);
+        out.writeUTF(exitCondition);
+
+        writeVarLong(out, entryCount);
+        long lastOffset = 0;
+        long lastTime = dayStartMillis;
+        for (int i = 0 ; i < entryCount ; i++) {
+            writeVarLong(out, offsets[i] - lastOffset);
+            writeVarLong(out, times[i] - lastTime);
+            lastOffset = offsets[i];
+            lastTime = times[i];
+        }
+
+        writePostings(out, tagPostings);
+        writePostings(out, exceptionPostings);
+    }
+
+    /**
+     * Reads an index from the provided stream.
+     *
+     * @param in the stream to read from
+     * @return the index
+     * @throws IOException if the stream cannot be read or is not a sidecar of the current version
+     */
+    static LogIndex read(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC) throw new IOException("Not a log index");
+        if (in.readInt() != VERSION) throw new IOException("Unsupported log index version");
+
+        LogIndex index = new LogIndex(in.readUTF(), in.readLong());
+        index.indexedBytes = in.readLong();
+        index.tailHash = in.readLong();
+        index.lastMillisOfDay = in.readLong();
+        index.dayRollovers = in.readInt();
+        index.pendingExceptionEntry = in.readInt();
+        index.concluded = in.readBoolean();
+        index.exitCondition = in.readUTF();
+
+        int entries = (int) readVarLong(in);
+        index.offsets = new long[Math.max(entries, 64)];
+        index.times = new long[Math.max(entries, 64)];
+        long offset = 0;
+        long time = index.dayStartMillis;
+        for (int i = 0 ; i < entries ; i++) {
+            offset += readVarLong(in);
+            time += readVarLong(in);
+            index.offsets[i] = offset;
+            index.times[i] = time;
+        }
+        index.entryCount = entries;
+
+        readPostings(in, index.tagPostings);
+        readPostings(in, index.exceptionPostings);
+        return index;
+    }
+
+    /**
+     * Writes the provided postings lists to the provided stream.
+     *
+     * @param out      the stream to write to
+     * @param postings the postings lists keyed by name
+     * @throws IOException if the stream cannot be written to
+     */
+    private static void writePostings(DataOutputStream out, Map<String, Postings> postings) throws IOException {
+        writeVarLong(out, postings.size());
+        for (Map.Entry<String, Postings> entry : postings.entrySet()) {
+            out.writeUTF(entry.getKey());
+
+            Postings list = entry.getValue();
+            writeVarLong(out, list.size);
+            int last = 0;
+            for (int i = 0 ; i < list.size ; i++) {
+                writeVarLong(out, list.entries[i] - last);
+                last = list.entries[i];
+            }
+        }
+    }
+
+    /**
+     * Reads postings lists from the provided stream into the provided map.
+     *
+     * @param in       the stream to read from
+     * @param postings the map to read the postings lists into
+     * @throws IOException if the stream cannot be read
+     */
+    private static void readPostings(DataInputStream in, Map<String, Postings> postings) throws IOException {
+        int count = (int) readVarLong(in);
+        for (int i = 0 ; i < count ; i++) {
+            String key = in.readUTF();
+
+            Postings list = new Postings();
+            int size = (int) readVarLong(in);
+            list.entries = new int[Math.max(size, 8)];
+            int last = 0;
+            for (int j = 0 ; j < size ; j++) {
+                last += (int) readVarLong(in);
+                list.entries[j] = last;
+            }
+            list.size = size;
+
+            postings.put(key, list);
+        }
+    }
+
+    /**
+     * Writes the provided non-negative value using seven bits per byte.
+     *
+     * @param out   the stream to write to
+     * @param value the non-negative value
+     * @throws IOException if the stream cannot be written to
+     */
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        Preconditions.checkArgument(value >= 0);
+
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    /**
+     * Reads a value written by {@link #writeVarLong(DataOutputStream, long)}.
+     *
+     * @param in the stream to read from
+     * @return the value
+     * @throws IOException if the stream cannot be read or the value is malformed
+     */
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0 ; shift < Long.SIZE ; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+
+        throw new IOException("Malformed variable length value");
+    }
+}
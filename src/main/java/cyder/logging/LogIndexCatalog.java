@@ -0,0 +1,346 @@
+package cyder.logging;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import cyder.enumerations.Extension;
+import cyder.files.FileUtil;
+import cyder.handlers.internal.ExceptionHandler;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+
+/**
+ * The catalog of the {@link LogIndex}s of all logs, past and present.
+ * <p>
+ * Indexes are persisted as sidecar files mirroring the day directory structure of the logs directory
+ * within a separate index directory. Sidecars outlive the logs they index, meaning archived or deleted
+ * logs may still be queried for everything except their lines.
+ */
+final class LogIndexCatalog {
+    /**
+     * The extension of index sidecar files.
+     */
+    private static final String INDEX_EXTENSION = ".idx";
+
+    /**
+     * The maximum number of bytes of a log line to read.
+     */
+    private static final int MAX_LINE_BYTES = 4096;
+
+    /**
+     * The directory containing the day directories of logs.
+     */
+    private final File logsDirectory;
+
+    /**
+     * The directory containing the day directories of index sidecars.
+     */
+    private final File indexDirectory;
+
+    /**
+     * The indexes keyed by log name, that being the day directory and log file name, in chronological order.
+     */
+    private final TreeMap<String, LogIndex> indexes = new TreeMap<>();
+
+    /**
+     * Whether the sidecars within the index directory have been loaded.
+     */
+    private boolean sidecarsLoaded;
+
+    /**
+     * Constructs a new log index catalog.
+     *
+     * @param logsDirectory  the directory containing the day directories of logs
+     * @param indexDirectory the directory containing the day directories of index sidecars
+     */
+    LogIndexCatalog(File logsDirectory, File indexDirectory) {
+        this.logsDirectory = Preconditions.checkNotNull(logsDirectory);
+        this.indexDirectory = Preconditions.checkNotNull(indexDirectory);
+    }
+
+    /**
+     * Loads any persisted sidecars and brings the indexes of all present logs up to date.
+     * Logs which grew since last indexed are extended, logs which were rewritten are re-indexed.
+     */
+    synchronized void refresh() {
+        if (!sidecarsLoaded) {
+            loadSidecars();
+            sidecarsLoaded = true;
+        }
+
+        File[] dayDirectories = logsDirectory.listFiles(File::isDirectory);
+        if (dayDirectories == null) return;
+
+        for (File dayDirectory : dayDirectories) {
+            File[] logs = dayDirectory.listFiles(file -> file.isFile()
+                    && FileUtil.getExtension(file).equals(Extension.LOG.getExtension()));
+            if (logs == null) continue;
+
+            for (File log : logs) {
+                refreshLog(dayDirectory.getName(), log);
+            }
+        }
+    }
+
+    /**
+     * Brings the index of the provided log up to date, persisting it if changed.
+     *
+     * @param day the name of the day directory of the log
+     * @param log the log file
+     */
+    private void refreshLog(String day, File log) {
+        String name = day + "/" + log.getName();
+
+        try (RandomAccessFile file = new RandomAccessFile(log, "r")) {
+            LogIndex index = indexes.get(name);
+            if (index == null || !index.isPrefixOf(file)) {
+                index = new LogIndex(name, getDayStartMillis(day, log));
+                indexes.put(name, index);
+                index.indexAppendedLines(file);
+            } else if (!index.indexAppendedLines(file)) {
+                return;
+            }
+
+            writeSidecar(index);
+        } catch (Exception e) {
+            ExceptionHandler.handle(e);
+        }
+    }
+
+    /**
+     * Returns the epoch millisecond at which the day of the provided log began.
+     *
+     * @param day the name of the day directory of the log, expected to be an ISO date
+     * @param log the log file, whose last modified date is used if the day is not an ISO date
+     * @return the epoch millisecond at which the day of the log began
+     */
+    private static long getDayStartMillis(String day, File log) {
+        ZoneId zone = ZoneId.systemDefault();
+
+        LocalDate date;
+        try {
+            date = LocalDate.parse(day);
+        } catch (DateTimeParseException e) {
+            date = Instant.ofEpochMilli(log.lastModified()).atZone(zone).toLocalDate();
+        }
+
+        return date.atStartOfDay(zone).toInstant().toEpochMilli();
+    }
+
+    /**
+     * Loads the sidecars within the index directory, deleting any which cannot be read.
+     */
+    private void loadSidecars() {
+        File[] dayDirectories = indexDirectory.listFiles(File::isDirectory);
+        if (dayDirectories == null) return;
+
+        for (File dayDirectory : dayDirectories) {
+            File[] sidecars = dayDirectory.listFiles(file -> file.getName().endsWith(INDEX_EXTENSION));
+            if (sidecars == null) continue;
+
+            for (File sidecar : sidecars) {
+                try (DataInputStream in = new DataInputStream(
+                        new BufferedInputStream(new FileInputStream(sidecar)))) {
+                    LogIndex index = LogIndex.read(in);
+                    indexes.put(index.getName(), index);
+                } catch (IOException e) {
+                    if (!sidecar.delete()) ExceptionHandler.handle(e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the sidecar file of the log with the provided name.
+     *
+     * @param name the name of the log
+     * @return the sidecar file
+     */
+    private File getSidecar(String name) {
+        return new File(indexDirectory, name + INDEX_EXTENSION);
+    }
+
+    /**
+     * Writes the provided index to its sidecar, replacing any previous sidecar atomically where supported.
+     *
+     * @param index the index
+     * @throws IOException if the sidecar cannot be written
+     */
+    private void writeSidecar(LogIndex index) throws IOException {
+        FileUtil.writeAtomically(getSidecar(index.getName()), index::write);
+    }
+
+    /**
+     * Returns the number of entries with each tag logged within the provided time range, most frequent first.
+     *
+     * @param fromMillis the start of the time range, inclusive
+     * @param toMillis   the end of the time range, inclusive
+     * @return the number of entries with each tag
+     */
+    synchronized ImmutableMap<String, Long> countTags(long fromMillis, long toMillis) {
+        HashMap<String, Long> counts = new HashMap<>();
+        for (LogIndex index : indexes.values()) {
+            accumulateCounts(index, index.getTagPostings(), fromMillis, toMillis, counts);
+        }
+        return sortByCount(counts);
+    }
+
+    /**
+     * Returns the number of entries with the provided tag logged within the provided time range.
+     *
+     * @param tag        the tag, not including brackets
+     * @param fromMillis the start of the time range, inclusive
+     * @param toMillis   the end of the time range, inclusive
+     * @return the number of entries with the tag
+     */
+    synchronized long countTag(String tag, long fromMillis, long toMillis) {
+        long count = 0;
+        for (LogIndex index : indexes.values()) {
+            LogIndex.Postings postings = index.getTagPostings(tag);
+            if (postings == null) continue;
+
+            count += postings.countWithin(index.firstEntryAtOrAfter(fromMillis), index.firstEntryAfter(toMillis));
+        }
+        return count;
+    }
+
+    /**
+     * Returns the number of exceptions of each type logged within the provided time range, most frequent first.
+     *
+     * @param fromMillis the start of the time range, inclusive
+     * @param toMillis   the end of the time range, inclusive
+     * @return the number of exceptions of each type
+     */
+    synchronized ImmutableMap<String, Long> getExceptionFrequency(long fromMillis, long toMillis) {
+        HashMap<String, Long> counts = new HashMap<>();
+        for (LogIndex index : indexes.values()) {
+            accumulateCounts(index, index.getExceptionPostings(), fromMillis, toMillis, counts);
+        }
+        return sortByCount(counts);
+    }
+
+    /**
+     * Adds the number of entries of each of the provided postings lists within the provided time range to the
+     * provided counts.
+     *
+     * @param index      the index the postings lists belong to
+     * @param postings   the postings lists keyed by name
+     * @param fromMillis the start of the time range, inclusive
+     * @param toMillis   the end of the time range, inclusive
+     * @param counts     the counts to add to
+     */
+    private static void accumulateCounts(LogIndex index, Map<String, LogIndex.Postings> postings,
+                                         long fromMillis, long toMillis, Map<String, Long> counts) {
+        int fromEntry = index.firstEntryAtOrAfter(fromMillis);
+        int toEntry = index.firstEntryAfter(toMillis);
+        if (fromEntry >= toEntry) return;
+
+        postings.forEach((key, list) -> {
+            int count = list.countWithin(fromEntry, toEntry);
+            if (count > 0) counts.merge(key, (long) count, Long::sum);
+        });
+    }
+
+    /**
+     * Returns the provided counts ordered by descending count, ties broken by key.
+     *
+     * @param counts the counts
+     * @return the sorted counts
+     */
+    private static ImmutableMap<String, Long> sortByCount(Map<String, Long> counts) {
+        ImmutableMap.Builder<String, Long> ret = ImmutableMap.builder();
+        counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .forEach(ret::put);
+        return ret.build();
+    }
+
+    /**
+     * Returns the indexed sessions in chronological order.
+     *
+     * @return the indexed sessions
+     */
+    synchronized ImmutableList<LogIndexService.Session> getSessions() {
+        ImmutableList.Builder<LogIndexService.Session> ret = ImmutableList.builder();
+        for (LogIndex index : indexes.values()) {
+            int entries = index.getEntryCount();
+            if (entries == 0) continue;
+
+            ret.add(new LogIndexService.Session(index.getName(), index.getTime(0), index.getTime(entries - 1),
+                    entries, index.isConcluded(), index.getExitCondition(),
+                    new File(logsDirectory, index.getName()).exists()));
+        }
+        return ret.build();
+    }
+
+    /**
+     * Returns up to the provided number of the most recent lines with the provided tag logged within the
+     * provided time range, in chronological order. Lines of logs which no longer exist are skipped.
+     *
+     * @param tag        the tag, not including brackets
+     * @param fromMillis the start of the time range, inclusive
+     * @param toMillis   the end of the time range, inclusive
+     * @param limit      the maximum number of lines
+     * @return the most recent lines with the tag
+     */
+    synchronized ImmutableList<LogIndexService.TaggedLine> findLines(String tag, long fromMillis,
+                                                                     long toMillis, int limit) {
+        Preconditions.checkArgument(limit >= 0);
+
+        ArrayList<LogIndexService.TaggedLine> ret = new ArrayList<>();
+        for (LogIndex index : indexes.descendingMap().values()) {
+            if (ret.size() == limit) break;
+
+            LogIndex.Postings postings = index.getTagPostings(tag);
+            if (postings == null) continue;
+
+            File log = new File(logsDirectory, index.getName());
+            if (!log.exists()) continue;
+
+            int first = postings.lowerBound(index.firstEntryAtOrAfter(fromMillis));
+            int last = postings.lowerBound(index.firstEntryAfter(toMillis));
+            if (first >= last) continue;
+
+            try (RandomAccessFile file = new RandomAccessFile(log, "r")) {
+                for (int position = last - 1 ; position >= first && ret.size() < limit ; position--) {
+                    int entry = postings.get(position);
+                    ret.add(new LogIndexService.TaggedLine(index.getName(), index.getTime(entry),
+                            readLine(file, index.getOffset(entry))));
+                }
+            } catch (IOException e) {
+                ExceptionHandler.handle(e);
+            }
+        }
+
+        Collections.reverse(ret);
+        return ImmutableList.copyOf(ret);
+    }
+
+    /**
+     * Reads the line starting at the provided offset.
+     *
+     * @param file   the file to read from
+     * @param offset the offset of the line
+     * @return the line, truncated to {@link #MAX_LINE_BYTES} bytes
+     * @throws IOException if the file cannot be read
+     */
+    private static String readLine(RandomAccessFile file, long offset) throws IOException {
+        byte[] buffer = new byte[(int) Math.min(MAX_LINE_BYTES, file.length() - offset)];
+        file.seek(offset);
+        file.readFully(buffer);
+
+        int end = 0;
+        while (end < buffer.length && buffer[end] != '\n') end++;
+        if (end > 0 && buffer[end - 1] == '\r') end--;
+
+        return new String(buffer, 0, end, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,136 @@
+package cyder.logging;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import cyder.enumerations.Dynamic;
+
+import java.time.Instant;
+
+/**
+ * A service for querying the tags, exceptions, and sessions of all logs using persistent per-log indexes.
+ * <p>
+ * Each query first brings the indexes up to date, extending the index of the current log with the
+ * lines logged since the previous query and indexing any logs not yet indexed.
+ */
+public enum LogIndexService {
+    /**
+     * The log index service instance.
+     */
+    INSTANCE;
+
+    /**
+     * An indexed log session.
+     *
+     * @param name          the name of the log, that being its day directory and file name
+     * @param startMillis   the epoch millisecond of the first entry of the log
+     * @param endMillis     the epoch millisecond of the last entry of the log
+     * @param entries       the number of entries of the log
+     * @param concluded     whether the log was concluded with an end of log tag
+     * @param exitCondition the exit condition of the log, empty if not concluded
+     * @param logAvailable  whether the log file still exists, meaning its lines may be read
+     */
+    public record Session(String name, long startMillis, long endMillis, int entries,
+                          boolean concluded, String exitCondition, boolean logAvailable) {}
+
+    /**
+     * A log line found using the index.
+     *
+     * @param logName    the name of the log containing the line
+     * @param timeMillis the epoch millisecond the line was logged at
+     * @param line       the line
+     */
+    public record TaggedLine(String logName, long timeMillis, String line) {}
+
+    /**
+     * The catalog of the indexes of the logs within the logs dynamic directory.
+     */
+    private final LogIndexCatalog catalog = new LogIndexCatalog(
+            Dynamic.buildDynamic(Dynamic.LOGS.getFileName()),
+            Dynamic.buildDynamic(Dynamic.LOG_INDEXES.getFileName()));
+
+    /**
+     * Returns the number of entries with each tag logged within the provided time range, most frequent first.
+     *
+     * @param from the start of the time range, inclusive
+     * @param to   the end of the time range, inclusive
+     * @return the number of entries with each tag
+     */
+    public ImmutableMap<String, Long> countTags(Instant from, Instant to) {
+        checkRange(from, to);
+
+        catalog.refresh();
+        return catalog.countTags(from.toEpochMilli(), to.toEpochMilli());
+    }
+
+    /**
+     * Returns the number of entries with the provided tag logged within the provided time range.
+     *
+     * @param tag  the tag, not including brackets
+     * @param from the start of the time range, inclusive
+     * @param to   the end of the time range, inclusive
+     * @return the number of entries with the tag
+     */
+    public long countTag(String tag, Instant from, Instant to) {
+        Preconditions.checkNotNull(tag);
+        checkRange(from, to);
+
+        catalog.refresh();
+        return catalog.countTag(tag, from.toEpochMilli(), to.toEpochMilli());
+    }
+
+    /**
+     * Returns the number of exceptions of each type logged within the provided time range, most frequent first.
+     *
+     * @param from the start of the time range, inclusive
+     * @param to   the end of the time range, inclusive
+     * @return the number of exceptions of each type
+     */
+    public ImmutableMap<String, Long> getExceptionFrequency(Instant from, Instant to) {
+        checkRange(from, to);
+
+        catalog.refresh();
+        return catalog.getExceptionFrequency(from.toEpochMilli(), to.toEpochMilli());
+    }
+
+    /**
+     * Returns all indexed sessions in chronological order.
+     *
+     * @return all indexed sessions
+     */
+    public ImmutableList<Session> getSessions() {
+        catalog.refresh();
+        return catalog.getSessions();
+    }
+
+    /**
+     * Returns up to the provided number of the most recent lines with the provided tag
+     * logged within the provided time range, in chronological order.
+     *
+     * @param tag   the tag, not including brackets
+     * @param from  the start of the time range, inclusive
+     * @param to    the end of the time range, inclusive
+     * @param limit the maximum number of lines
+     * @return the most recent lines with the tag
+     */
+    public ImmutableList<TaggedLine> findLines(String tag, Instant from, Instant to, int limit) {
+        Preconditions.checkNotNull(tag);
+        checkRange(from, to);
+        Preconditions.checkArgument(limit >= 0);
+
+        catalog.refresh();
+        return catalog.findLines(tag, from.toEpochMilli(), to.toEpochMilli(), limit);
+    }
+
+    /**
+     * Checks that the provided time range is valid.
+     *
+     * @param from the start of the time range
+     * @param to   the end of the time range
+     */
+    private static void checkRange(Instant from, Instant to) {
+        Preconditions.checkNotNull(from);
+        Preconditions.checkNotNull(to);
+        Preconditions.checkArgument(!from.isAfter(to));
+    }
+}
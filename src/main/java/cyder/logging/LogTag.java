@@ -190,7 +190,12 @@ public enum LogTag {
     /**
      * The JVM was first started.
      */
-    JVM_ENTRY("Jvm Entry");
+    JVM_ENTRY("Jvm Entry"),
+
+    /**
+     * The timing of a startup subroutine.
+     */
+    SUBROUTINE_TIMING("Subroutine Timing");
 
     /**
      * The name to be written to the log file when this tag is logged
@@ -118,23 +118,41 @@ public final class Logger {
      *     <li>Writing the Cyder Ascii art to the generated log file</li>
      *     <li>Logging the JVM entry with the OS username</li>
      *     <li>Starting the object creation logger</li>
-     *     <li>Concluding past logs which may have ended abruptly</li>
-     *     <li>Consolidating past log lines</li>
-     *     <li>Zipping past logs directories</li>
+     *     <li>Starting the housekeeping of past logs in the background</li>
      * </ul>
      */
     public static void initialize() {
         Preconditions.checkState(!loggerInitialized.get());
         loggerInitialized.set(true);
 
-        if (Props.wipeLogsOnStart.getValue()) Dynamic.LOGS.delete();
+        if (Props.wipeLogsOnStart.getValue()) {
+            Dynamic.LOGS.delete();
+            Dynamic.LOG_INDEXES.delete();
+        }
         generateAndSetLogFile();
         setupLogFileWithAsciiArt();
         log(LogTag.LOGGER_INITIALIZATION, "Os username: " + OsUtil.getOsUsername());
         startObjectCreationLogger();
-        concludeLogs();
-        consolidateLogLines();
-        zipPastLogs();
+        CyderThreadRunner.submit(Logger::housekeepPastLogs, IgnoreThread.LogHousekeeper.getName());
+    }
+
+    /**
+     * Performs the housekeeping of past logs by invoking the following actions:
+     *
+     * <ul>
+     *     <li>Concluding past logs which may have ended abruptly</li>
+     *     <li>Consolidating past log lines</li>
+     *     <li>Archiving past logs directories</li>
+     * </ul>
+     */
+    private static void housekeepPastLogs() {
+        try {
+            concludeLogs();
+            consolidateLogLines();
+            zipPastLogs();
+        } catch (Exception e) {
+            ExceptionHandler.handle(e);
+        }
     }
 
     /**
@@ -452,7 +470,7 @@ public final class Logger {
     }
 
     /**
-     * Zips the log files of the past.
+     * Archives the log directories of the past using the {@link LogArchiver}.
      */
     private static void zipPastLogs() {
         File topLevelLogsDir = Dynamic.buildDynamic(Dynamic.LOGS.getFileName());
@@ -465,25 +483,7 @@ public final class Logger {
             return;
         }
 
-        File[] subLogDirs = topLevelLogsDir.listFiles();
-        if (ArrayUtil.nullOrEmpty(subLogDirs)) return;
-
-        for (File subLogDir : subLogDirs) {
-            // Skip current log parent directory
-            if (subLogDir.getAbsolutePath().equals(getCurrentLogFile().getParentFile().getAbsolutePath())) continue;
-            if (FileUtil.getExtension(subLogDir).equals(Extension.ZIP.getExtension())) continue;
-
-            String destinationZipPath = subLogDir.getAbsolutePath() + Extension.ZIP.getExtension();
-            File destinationZip = new File(destinationZipPath);
-
-            if (!destinationZip.exists()) {
-                Logger.log(LogTag.DEBUG, "Zipping past sub log dir: " + subLogDir.getAbsolutePath());
-
-                FileUtil.zip(subLogDir.getAbsolutePath(), destinationZipPath);
-            }
-
-            OsUtil.deleteFile(subLogDir);
-        }
+        LogArchiver.archivePastLogs(topLevelLogsDir, getCurrentLogFile().getParentFile());
     }
 
     /**
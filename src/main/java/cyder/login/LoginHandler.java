@@ -23,7 +23,6 @@ import cyder.ui.field.CyderPasswordField;
 import cyder.ui.frame.CyderFrame;
 import cyder.ui.pane.CyderOutputPane;
 import cyder.ui.pane.CyderScrollPane;
-import cyder.user.User;
 import cyder.user.UserUtil;
 import cyder.user.creation.UserCreator;
 import cyder.utils.ArrayUtil;
@@ -36,7 +35,6 @@ import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
-import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Optional;
@@ -653,20 +651,13 @@ public final class LoginHandler {
      * @return the result of checking for a user with the provided name and password
      */
     private static PasswordCheckResult validateUsernamePassword(String providedUsername, String singlyHashedPassword) {
-        ArrayList<String> names = new ArrayList<>();
-        UserUtil.getUserJsons().forEach(userJson -> names.add(UserUtil.extractUser(userJson).getUsername()));
+        Optional<String> optionalUuid = UserUtil.getUuidOfUsername(providedUsername);
+        if (optionalUuid.isEmpty()) return PasswordCheckResult.UNKNOWN_USER;
 
-        if (names.stream().map(String::toLowerCase).noneMatch(name -> name.equalsIgnoreCase(providedUsername))) {
-            return PasswordCheckResult.UNKNOWN_USER;
-        }
-
-        for (File userJsonFile : UserUtil.getUserJsons()) {
-            User user = UserUtil.extractUser(userJsonFile);
-            if (providedUsername.equalsIgnoreCase(user.getUsername())
-                    && SecurityUtil.hashAndHex(singlyHashedPassword).equals(user.getPassword())) {
-                recognizedUuid = userJsonFile.getParentFile().getName();
-                return PasswordCheckResult.SUCCESS;
-            }
+        String uuid = optionalUuid.get();
+        if (UserUtil.passwordMatches(uuid, SecurityUtil.hashAndHex(singlyHashedPassword))) {
+            recognizedUuid = uuid;
+            return PasswordCheckResult.SUCCESS;
         }
 
         return PasswordCheckResult.FAILED;
@@ -0,0 +1,178 @@
+package cyder.math;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Modular arithmetic for an odd modulus using Montgomery multiplication with a radix of 2^64,
+ * avoiding the 128-bit division otherwise needed to reduce the product of two longs.
+ * <p>
+ * Values passed to and returned by {@link #multiply(long, long)}, {@link #add(long, long)},
+ * {@link #subtract(long, long)}, and {@link #pow(long, long)} are in Montgomery form and must be
+ * less than the modulus; use {@link #toMontgomery(long)} and {@link #fromMontgomery(long)} to convert.
+ */
+final class MontgomeryModulus {
+    /**
+     * The modulus.
+     */
+    private final long modulus;
+
+    /**
+     * The negated inverse of the modulus modulo 2^64.
+     */
+    private final long negatedInverse;
+
+    /**
+     * The value of 2^128 modulo the modulus.
+     */
+    private final long radixSquared;
+
+    /**
+     * The value one in Montgomery form.
+     */
+    private final long one;
+
+    /**
+     * Constructs a new Montgomery modulus.
+     *
+     * @param modulus the modulus, which must be odd and greater than one
+     */
+    MontgomeryModulus(long modulus) {
+        Preconditions.checkArgument(modulus > 1);
+        Preconditions.checkArgument((modulus & 1) == 1);
+
+        this.modulus = modulus;
+
+        // Newton's iteration doubles the number of correct low bits each step, starting from three
+        long inverse = modulus;
+        for (int i = 0 ; i < 5 ; i++) {
+            inverse *= 2 - modulus * inverse;
+        }
+        this.negatedInverse = -inverse;
+
+        this.one = Long.remainderUnsigned(-modulus, modulus);
+
+        long doubled = one;
+        for (int i = 0 ; i < Long.SIZE ; i++) {
+            doubled = add(doubled, doubled);
+        }
+        this.radixSquared = doubled;
+    }
+
+    /**
+     * Returns the modulus.
+     *
+     * @return the modulus
+     */
+    long getModulus() {
+        return modulus;
+    }
+
+    /**
+     * Returns the value one in Montgomery form.
+     *
+     * @return the value one in Montgomery form
+     */
+    long one() {
+        return one;
+    }
+
+    /**
+     * Converts the provided non-negative value to Montgomery form.
+     *
+     * @param value the value
+     * @return the value in Montgomery form
+     */
+    long toMontgomery(long value) {
+        Preconditions.checkArgument(value >= 0);
+        return multiply(value % modulus, radixSquared);
+    }
+
+    /**
+     * Converts the provided value from Montgomery form.
+     *
+     * @param value the value in Montgomery form
+     * @return the value
+     */
+    long fromMontgomery(long value) {
+        return reduce(0, value);
+    }
+
+    /**
+     * Returns the product of the provided values.
+     *
+     * @param a the first value in Montgomery form
+     * @param b the second value in Montgomery form
+     * @return the product in Montgomery form
+     */
+    long multiply(long a, long b) {
+        return reduce(unsignedMultiplyHigh(a, b), a * b);
+    }
+
+    /**
+     * Returns the sum of the provided values.
+     *
+     * @param a the first value in Montgomery form
+     * @param b the second value in Montgomery form
+     * @return the sum in Montgomery form
+     */
+    long add(long a, long b) {
+        long sum = a + b;
+        return Long.compareUnsigned(sum, modulus) >= 0 ? sum - modulus : sum;
+    }
+
+    /**
+     * Returns the difference of the provided values.
+     *
+     * @param a the value in Montgomery form to subtract from
+     * @param b the value in Montgomery form to subtract
+     * @return the difference in Montgomery form
+     */
+    long subtract(long a, long b) {
+        return a >= b ? a - b : a - b + modulus;
+    }
+
+    /**
+     * Returns the provided base raised to the provided exponent.
+     *
+     * @param base     the base in Montgomery form
+     * @param exponent the non-negative exponent
+     * @return the power in Montgomery form
+     */
+    long pow(long base, long exponent) {
+        Preconditions.checkArgument(exponent >= 0);
+
+        long result = one;
+        while (exponent > 0) {
+            if ((exponent & 1) == 1) result = multiply(result, base);
+            base = multiply(base, base);
+            exponent >>>= 1;
+        }
+        return result;
+    }
+
+    /**
+     * Divides the provided 128-bit value by 2^64 modulo the modulus.
+     * The value must be less than the modulus multiplied by 2^64.
+     *
+     * @param high the high 64 bits of the value
+     * @param low  the low 64 bits of the value
+     * @return the reduced value
+     */
+    private long reduce(long high, long low) {
+        long m = low * negatedInverse;
+        // low + m * modulus is divisible by 2^64, so its low word carries exactly when low is nonzero
+        long result = high + unsignedMultiplyHigh(m, modulus) + (low != 0 ? 1 : 0);
+        return Long.compareUnsigned(result, modulus) >= 0 ? result - modulus : result;
+    }
+
+    /**
+     * Returns the high 64 bits of the unsigned 128-bit product of the provided values.
+     *
+     * @param a the first value
+     * @param b the second value
+     * @return the high 64 bits of the unsigned product
+     */
+    private static long unsignedMultiplyHigh(long a, long b) {
+        return Math.multiplyHigh(a, b) + ((a >> 63) & b) + ((b >> 63) & a);
+    }
+}
@@ -0,0 +1,576 @@
+package cyder.math;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSortedMap;
+import com.google.common.math.LongMath;
+import cyder.exceptions.IllegalMethodException;
+import cyder.strings.CyderStrings;
+
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Utilities for primality testing, prime enumeration, and integer factorization.
+ * <p>
+ * Primality of longs is decided by a deterministic Miller-Rabin test, ranges of primes are enumerated
+ * using a segmented sieve of Eratosthenes, and integers are factored using trial division by small primes
+ * followed by Pollard's rho algorithm with Brent's cycle detection.
+ */
+public final class NumberTheoryUtil {
+    /**
+     * The primes used for trial division before more expensive tests.
+     */
+    private static final long[] SMALL_PRIMES = sieveUpTo(1000);
+
+    /**
+     * Miller-Rabin bases which together correctly determine the primality of every 64-bit integer.
+     */
+    private static final long[] MILLER_RABIN_BASES = {2, 325, 9375, 28178, 450775, 9780504, 1795265022};
+
+    /**
+     * The number of Pollard rho iterations whose differences are multiplied together before taking a gcd.
+     */
+    private static final int POLLARD_BATCH_SIZE = 128;
+
+    /**
+     * The certainty used when testing the primality of integers too large for a long,
+     * the probability of a composite being reported as prime is below 2^-certainty.
+     */
+    private static final int BIG_INTEGER_CERTAINTY = 100;
+
+    /**
+     * The number of numbers sieved at once when enumerating a range of primes.
+     */
+    private static final int SIEVE_SEGMENT_SIZE = 1 << 16;
+
+    /**
+     * The maximum upper bound of a range of primes which may be enumerated.
+     */
+    public static final long MAXIMUM_SIEVE_BOUND = 1_000_000_000_000_000L;
+
+    /**
+     * The maximum number of numbers of a range of primes which may be enumerated.
+     */
+    public static final long MAXIMUM_SIEVE_RANGE = 10_000_000L;
+
+    /**
+     * The factorization of a number, possibly partial.
+     *
+     * @param primeFactors the prime factors found mapped to their multiplicities in ascending order
+     * @param unfactored   the product of the composite parts of the number which could not be factored,
+     *                     one if the factorization is complete
+     */
+    public record Factorization(ImmutableSortedMap<BigInteger, Integer> primeFactors, BigInteger unfactored) {
+        /**
+         * Returns whether the number was fully factored into primes.
+         *
+         * @return whether the number was fully factored into primes
+         */
+        public boolean isComplete() {
+            return unfactored.equals(BigInteger.ONE);
+        }
+    }
+
+    /**
+     * Suppress default constructor.
+     */
+    private NumberTheoryUtil() {
+        throw new IllegalMethodException(CyderStrings.ATTEMPTED_INSTANTIATION);
+    }
+
+    /**
+     * Returns whether the provided number is prime.
+     *
+     * @param num the number
+     * @return whether the provided number is prime
+     */
+    public static boolean isPrime(long num) {
+        if (num < 2) return false;
+
+        for (long prime : SMALL_PRIMES) {
+            if (num % prime == 0) return num == prime;
+        }
+        if (num < SMALL_PRIMES[SMALL_PRIMES.length - 1] * SMALL_PRIMES[SMALL_PRIMES.length - 1]) return true;
+
+        return millerRabin(num);
+    }
+
+    /**
+     * Returns whether the provided number is prime. Numbers which do not fit in a long are tested
+     * probabilistically with a probability of error below 2^-100.
+     *
+     * @param num the number
+     * @return whether the provided number is prime
+     */
+    public static boolean isPrime(BigInteger num) {
+        Preconditions.checkNotNull(num);
+
+        if (num.bitLength() < Long.SIZE) return isPrime(num.longValue());
+        return num.isProbablePrime(BIG_INTEGER_CERTAINTY);
+    }
+
+    /**
+     * Returns the primes within the provided inclusive range in ascending order.
+     *
+     * @param low  the lower bound of the range
+     * @param high the upper bound of the range
+     * @return the primes within the range
+     * @throws IllegalArgumentException if the range is invalid, exceeds {@link #MAXIMUM_SIEVE_RANGE} numbers,
+     *                                  or extends beyond {@link #MAXIMUM_SIEVE_BOUND}
+     */
+    public static ImmutableList<Long> primesInRange(long low, long high) {
+        Preconditions.checkArgument(low >= 0);
+        Preconditions.checkArgument(low <= high);
+        Preconditions.checkArgument(high <= MAXIMUM_SIEVE_BOUND);
+        Preconditions.checkArgument(high - low < MAXIMUM_SIEVE_RANGE);
+
+        long[] basePrimes = sieveUpTo(LongMath.sqrt(high, RoundingMode.FLOOR));
+        boolean[] composite = new boolean[SIEVE_SEGMENT_SIZE];
+        ImmutableList.Builder<Long> primes = ImmutableList.builder();
+
+        for (long segmentStart = Math.max(low, 2) ; segmentStart <= high ; segmentStart += SIEVE_SEGMENT_SIZE) {
+            long segmentEnd = Math.min(high, segmentStart + SIEVE_SEGMENT_SIZE - 1);
+            int length = (int) (segmentEnd - segmentStart + 1);
+            Arrays.fill(composite, 0, length, false);
+
+            for (long prime : basePrimes) {
+                long square = prime * prime;
+                if (square > segmentEnd) break;
+
+                long first = Math.max(square, (segmentStart + prime - 1) / prime * prime);
+                for (long multiple = first ; multiple <= segmentEnd ; multiple += prime) {
+                    composite[(int) (multiple - segmentStart)] = true;
+                }
+            }
+
+            for (int i = 0 ; i < length ; i++) {
+                if (!composite[i]) primes.add(segmentStart + i);
+            }
+        }
+
+        return primes.build();
+    }
+
+    /**
+     * Returns the prime factorization of the provided number as a map of each prime factor
+     * to its multiplicity in ascending order of the factors. The factorization of one is empty.
+     *
+     * @param num the positive number to factor
+     * @return the prime factorization of the provided number
+     */
+    public static ImmutableSortedMap<Long, Integer> factor(long num) {
+        Preconditions.checkArgument(num > 0);
+
+        TreeMap<Long, Integer> factors = new TreeMap<>();
+
+        int twos = Long.numberOfTrailingZeros(num);
+        if (twos > 0) {
+            factors.put(2L, twos);
+            num >>= twos;
+        }
+
+        for (long prime : SMALL_PRIMES) {
+            if (prime * prime > num) break;
+            while (num % prime == 0) {
+                factors.merge(prime, 1, Integer::sum);
+                num /= prime;
+            }
+        }
+
+        factorInto(num, factors);
+        return ImmutableSortedMap.copyOfSorted(factors);
+    }
+
+    /**
+     * Returns the prime factorization of the provided number as a map of each prime factor
+     * to its multiplicity in ascending order of the factors. The factorization of one is empty.
+     * Numbers which do not fit in a long may take a long time to factor if they have two or more
+     * prime factors too large for trial division; see {@link #factor(BigInteger, long)} to bound the work.
+     *
+     * @param num the positive number to factor
+     * @return the prime factorization of the provided number
+     */
+    public static ImmutableSortedMap<BigInteger, Integer> factor(BigInteger num) {
+        return factor(num, Long.MAX_VALUE).primeFactors();
+    }
+
+    /**
+     * Factors the provided number, performing at most the provided number of Pollard rho iterations.
+     * Composite parts of the number for which no divisor is found within the budget are left unfactored.
+     *
+     * @param num               the positive number to factor
+     * @param maximumIterations the maximum number of Pollard rho iterations
+     * @return the factorization of the provided number, possibly partial
+     */
+    public static Factorization factor(BigInteger num, long maximumIterations) {
+        Preconditions.checkNotNull(num);
+        Preconditions.checkArgument(num.signum() > 0);
+        Preconditions.checkArgument(maximumIterations >= 0);
+
+        TreeMap<BigInteger, Integer> factors = new TreeMap<>();
+        if (num.bitLength() < Long.SIZE) {
+            factor(num.longValue()).forEach((prime, multiplicity) ->
+                    factors.put(BigInteger.valueOf(prime), multiplicity));
+            return new Factorization(ImmutableSortedMap.copyOfSorted(factors), BigInteger.ONE);
+        }
+
+        for (long prime : SMALL_PRIMES) {
+            BigInteger bigPrime = BigInteger.valueOf(prime);
+            while (num.mod(bigPrime).signum() == 0) {
+                factors.merge(bigPrime, 1, Integer::sum);
+                num = num.divide(bigPrime);
+            }
+        }
+
+        BigInteger unfactored = factorInto(num, factors, new IterationBudget(maximumIterations));
+        return new Factorization(ImmutableSortedMap.copyOfSorted(factors), unfactored);
+    }
+
+    /**
+     * Returns the distinct prime factors of the provided number in ascending order.
+     *
+     * @param num the positive number
+     * @return the distinct prime factors of the provided number
+     */
+    public static ImmutableList<Long> distinctPrimeFactors(long num) {
+        return factor(num).keySet().asList();
+    }
+
+    /**
+     * Formats the provided factorization such as "2^3 * 3 * 5".
+     *
+     * @param factorization the factorization
+     * @param <T>           the type of the factors
+     * @return the formatted factorization
+     */
+    public static <T extends Number> String formatFactorization(Map<T, Integer> factorization) {
+        Preconditions.checkNotNull(factorization);
+
+        StringBuilder builder = new StringBuilder();
+        factorization.forEach((prime, multiplicity) -> {
+            if (!builder.isEmpty()) builder.append(" * ");
+            builder.append(prime);
+            if (multiplicity > 1) builder.append('^').append(multiplicity);
+        });
+        return builder.isEmpty() ? "1" : builder.toString();
+    }
+
+    /**
+     * Adds the prime factors of the provided odd number, which has no factors below the largest
+     * small prime other than possibly itself, to the provided factors.
+     *
+     * @param num     the number to factor
+     * @param factors the factors to add to
+     */
+    private static void factorInto(long num, TreeMap<Long, Integer> factors) {
+        if (num == 1) return;
+
+        if (isPrime(num)) {
+            factors.merge(num, 1, Integer::sum);
+            return;
+        }
+
+        long root = LongMath.sqrt(num, RoundingMode.FLOOR);
+        if (root * root == num) {
+            TreeMap<Long, Integer> rootFactors = new TreeMap<>();
+            factorInto(root, rootFactors);
+            rootFactors.forEach((prime, multiplicity) -> factors.merge(prime, 2 * multiplicity, Integer::sum));
+            return;
+        }
+
+        long divisor = findDivisor(num);
+        factorInto(divisor, factors);
+        factorInto(num / divisor, factors);
+    }
+
+    /**
+     * Adds the prime factors of the provided number to the provided factors.
+     *
+     * @param num     the number to factor
+     * @param factors the factors to add to
+     * @param budget  the remaining Pollard rho iterations
+     * @return the product of the composite parts of the number left unfactored once the budget was exhausted
+     */
+    private static BigInteger factorInto(BigInteger num, TreeMap<BigInteger, Integer> factors,
+                                         IterationBudget budget) {
+        if (num.equals(BigInteger.ONE)) return BigInteger.ONE;
+
+        if (num.bitLength() < Long.SIZE) {
+            factor(num.longValue()).forEach((prime, multiplicity) ->
+                    factors.merge(BigInteger.valueOf(prime), multiplicity, Integer::sum));
+            return BigInteger.ONE;
+        }
+
+        if (isPrime(num)) {
+            factors.merge(num, 1, Integer::sum);
+            return BigInteger.ONE;
+        }
+
+        BigInteger root = num.sqrt();
+        if (root.multiply(root).equals(num)) {
+            TreeMap<BigInteger, Integer> rootFactors = new TreeMap<>();
+            BigInteger unfactoredRoot = factorInto(root, rootFactors, budget);
+            rootFactors.forEach((prime, multiplicity) -> factors.merge(prime, 2 * multiplicity, Integer::sum));
+            return unfactoredRoot.multiply(unfactoredRoot);
+        }
+
+        Optional<BigInteger> divisor = findDivisor(num, budget);
+        if (divisor.isEmpty()) return num;
+
+        return factorInto(divisor.get(), factors, budget)
+                .multiply(factorInto(num.divide(divisor.get()), factors, budget));
+    }
+
+    /**
+     * Returns a nontrivial divisor of the provided odd composite number using Pollard's rho
+     * algorithm with Brent's cycle detection, retrying with a new polynomial on failure.
+     *
+     * @param num the odd composite number
+     * @return a nontrivial divisor of the provided number
+     */
+    private static long findDivisor(long num) {
+        MontgomeryModulus modulus = new MontgomeryModulus(num);
+
+        for (long increment = 1 ; ; increment++) {
+            long divisor = pollardBrent(modulus, modulus.toMontgomery(increment), modulus.toMontgomery(2));
+            if (divisor != num) return divisor;
+        }
+    }
+
+    /**
+     * Performs one attempt of Pollard's rho algorithm with Brent's cycle detection using the
+     * polynomial x^2 + increment. Values are kept in Montgomery form, which does not affect the
+     * greatest common divisor of their differences with the modulus.
+     *
+     * @param modulus   the modulus to find a divisor of
+     * @param increment the constant of the polynomial in Montgomery form
+     * @param start     the starting value in Montgomery form
+     * @return a divisor of the modulus greater than one, the modulus itself if the attempt failed
+     */
+    private static long pollardBrent(MontgomeryModulus modulus, long increment, long start) {
+        long num = modulus.getModulus();
+        long y = start;
+        long x = start;
+        long saved = start;
+        long product = modulus.one();
+        long divisor = 1;
+
+        for (long cycleLength = 1 ; divisor == 1 ; cycleLength <<= 1) {
+            x = y;
+            for (long i = 0 ; i < cycleLength ; i++) {
+                y = modulus.add(modulus.multiply(y, y), increment);
+            }
+
+            for (long steps = 0 ; steps < cycleLength && divisor == 1 ; steps += POLLARD_BATCH_SIZE) {
+                saved = y;
+                long batch = Math.min(POLLARD_BATCH_SIZE, cycleLength - steps);
+                for (long i = 0 ; i < batch ; i++) {
+                    y = modulus.add(modulus.multiply(y, y), increment);
+                    product = modulus.multiply(product, modulus.subtract(x, y));
+                }
+                divisor = gcd(product, num);
+            }
+        }
+
+        if (divisor == num) {
+            // the batch overshot, so repeat its steps one at a time
+            do {
+                saved = modulus.add(modulus.multiply(saved, saved), increment);
+                divisor = gcd(modulus.subtract(x, saved), num);
+            } while (divisor == 1);
+        }
+
+        return divisor;
+    }
+
+    /**
+     * Returns a nontrivial divisor of the provided odd composite number using Pollard's rho
+     * algorithm with Brent's cycle detection, retrying with a new polynomial on failure.
+     *
+     * @param num    the odd composite number
+     * @param budget the remaining Pollard rho iterations
+     * @return a nontrivial divisor of the provided number, empty if the budget was exhausted first
+     */
+    private static Optional<BigInteger> findDivisor(BigInteger num, IterationBudget budget) {
+        for (long increment = 1 ; ; increment++) {
+            Optional<BigInteger> divisor = pollardBrent(num, BigInteger.valueOf(increment), BigInteger.TWO, budget);
+            if (divisor.isEmpty() || !divisor.get().equals(num)) return divisor;
+        }
+    }
+
+    /**
+     * Performs one attempt of Pollard's rho algorithm with Brent's cycle detection using the
+     * polynomial x^2 + increment.
+     *
+     * @param num       the number to find a divisor of
+     * @param increment the constant of the polynomial
+     * @param start     the starting value
+     * @param budget    the remaining Pollard rho iterations
+     * @return a divisor of the number greater than one, the number itself if the attempt failed,
+     * empty if the budget was exhausted first
+     */
+    private static Optional<BigInteger> pollardBrent(BigInteger num, BigInteger increment, BigInteger start,
+                                                     IterationBudget budget) {
+        BigInteger y = start;
+        BigInteger x = start;
+        BigInteger saved = start;
+        BigInteger product = BigInteger.ONE;
+        BigInteger divisor = BigInteger.ONE;
+
+        for (long cycleLength = 1 ; divisor.equals(BigInteger.ONE) ; cycleLength <<= 1) {
+            x = y;
+            for (long i = 0 ; i < cycleLength ; i++) {
+                if (!budget.consume()) return Optional.empty();
+                y = y.multiply(y).add(increment).mod(num);
+            }
+
+            for (long steps = 0 ; steps < cycleLength && divisor.equals(BigInteger.ONE)
+                    ; steps += POLLARD_BATCH_SIZE) {
+                saved = y;
+                long batch = Math.min(POLLARD_BATCH_SIZE, cycleLength - steps);
+                for (long i = 0 ; i < batch ; i++) {
+                    if (!budget.consume()) return Optional.empty();
+                    y = y.multiply(y).add(increment).mod(num);
+                    product = product.multiply(x.subtract(y)).mod(num);
+                }
+                divisor = product.gcd(num);
+            }
+        }
+
+        if (divisor.equals(num)) {
+            do {
+                if (!budget.consume()) return Optional.empty();
+                saved = saved.multiply(saved).add(increment).mod(num);
+                divisor = x.subtract(saved).gcd(num);
+            } while (divisor.equals(BigInteger.ONE));
+        }
+
+        return Optional.of(divisor);
+    }
+
+    /**
+     * Returns whether the provided odd number greater than two passes the Miller-Rabin test for every base
+     * of {@link #MILLER_RABIN_BASES}, which determines primality for all longs.
+     *
+     * @param num the number
+     * @return whether the provided number is prime
+     */
+    private static boolean millerRabin(long num) {
+        MontgomeryModulus modulus = new MontgomeryModulus(num);
+        long one = modulus.one();
+        long minusOne = modulus.subtract(0, one);
+
+        int twos = Long.numberOfTrailingZeros(num - 1);
+        long oddPart = (num - 1) >> twos;
+
+        for (long base : MILLER_RABIN_BASES) {
+            long reducedBase = base % num;
+            if (reducedBase == 0) continue;
+
+            long x = modulus.pow(modulus.toMontgomery(reducedBase), oddPart);
+            if (x == one || x == minusOne) continue;
+
+            boolean witness = true;
+            for (int i = 1 ; i < twos ; i++) {
+                x = modulus.multiply(x, x);
+                if (x == minusOne) {
+                    witness = false;
+                    break;
+                }
+            }
+
+            if (witness) return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Returns the greatest common divisor of the provided non-negative numbers.
+     *
+     * @param a the first number
+     * @param b the second number
+     * @return the greatest common divisor
+     */
+    private static long gcd(long a, long b) {
+        if (a == 0) return b;
+        if (b == 0) return a;
+
+        int shift = Long.numberOfTrailingZeros(a | b);
+        a >>= Long.numberOfTrailingZeros(a);
+        while (b != 0) {
+            b >>= Long.numberOfTrailingZeros(b);
+            if (a > b) {
+                long swap = a;
+                a = b;
+                b = swap;
+            }
+            b -= a;
+        }
+        return a << shift;
+    }
+
+    /**
+     * Returns the primes up to and including the provided bound using a sieve of Eratosthenes.
+     *
+     * @param bound the inclusive upper bound
+     * @return the primes up to the bound
+     */
+    private static long[] sieveUpTo(long bound) {
+        if (bound < 2) return new long[0];
+        Preconditions.checkArgument(bound < Integer.MAX_VALUE);
+
+        int limit = (int) bound;
+        boolean[] composite = new boolean[limit + 1];
+        int count = 0;
+        for (int i = 2 ; i <= limit ; i++) {
+            if (composite[i]) continue;
+            count++;
+            for (long multiple = (long) i * i ; multiple <= limit ; multiple += i) {
+                composite[(int) multiple] = true;
+            }
+        }
+
+        long[] primes = new long[count];
+        int index = 0;
+        for (int i = 2 ; i <= limit ; i++) {
+            if (!composite[i]) primes[index++] = i;
+        }
+        return primes;
+    }
+
+    /**
+     * A count of the Pollard rho iterations remaining to a factorization.
+     */
+    private static final class IterationBudget {
+        /**
+         * The number of iterations remaining.
+         */
+        private long remaining;
+
+        /**
+         * Constructs a new iteration budget.
+         *
+         * @param remaining the number of iterations allowed
+         */
+        IterationBudget(long remaining) {
+            this.remaining = remaining;
+        }
+
+        /**
+         * Consumes one iteration if any remain.
+         *
+         * @return whether an iteration remained
+         */
+        boolean consume() {
+            if (remaining == 0) return false;
+            remaining--;
+            return true;
+        }
+    }
+}
@@ -4,7 +4,6 @@ import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.math.BigIntegerMath;
-import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import cyder.exceptions.IllegalMethodException;
 import cyder.strings.CyderStrings;
 import cyder.utils.ArrayUtil;
@@ -65,60 +64,22 @@ public final class NumberUtil {
      * @return whether the provided number was a prime
      */
     public static boolean isPrime(int num) {
-        boolean ret = true;
-
-        for (int i = 2 ; i < Math.ceil(Math.sqrt(num)) ; i++)
-            if (num % i == 0) {
-                ret = false;
-                break;
-            }
-
-        return ret;
+        return NumberTheoryUtil.isPrime(num);
     }
 
     /**
-     * Returns a list of the prime factors of the provided integer.
-     * If the provided integer is a prime, 1 and num are returned.
+     * Returns a list of the distinct prime factors of the provided integer in ascending order.
+     * If the provided integer is a prime, only num is returned.
      *
-     * @param num the number to find prime factors of
+     * @param num the positive number to find prime factors of
      * @return a list of prime factors of num
      */
     public static ImmutableList<Integer> primeFactors(int num) {
-        ArrayList<Integer> ret = new ArrayList<>() {
-            /**
-             * Adds the provided integer to the array list if it is not already contained.
-             *
-             * @param i the integer to add
-             * @return whether the integer was added
-             */
-            @Override
-            @CanIgnoreReturnValue
-            public boolean add(Integer i) {
-                if (!contains(i)) {
-                    return super.add(i);
-                }
-
-                return false;
-            }
-        };
-
-        while (num % 2 == 0) {
-            ret.add(2);
-            num /= 2;
-        }
-
-        for (int i = 3 ; i <= Math.sqrt(num) ; i += 2) {
-            while (num % i == 0) {
-                ret.add(i);
-                num /= i;
-            }
-        }
+        Preconditions.checkArgument(num > 0);
 
-        if (num > 2) {
-            ret.add(num);
-        }
-
-        return ImmutableList.copyOf(ret);
+        return NumberTheoryUtil.distinctPrimeFactors(num).stream()
+                .map(Long::intValue)
+                .collect(ImmutableList.toImmutableList());
     }
 
     /**
@@ -0,0 +1,518 @@
+package cyder.math.expression;
+
+import com.google.common.base.Preconditions;
+import cyder.exceptions.IllegalMethodException;
+import cyder.strings.CyderStrings;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+/**
+ * Elementary functions of {@link BigDecimal}s computed to the precision of a {@link MathContext}.
+ * <p>
+ * Each function computes with extra guard digits and rounds its result to the requested precision.
+ * Arguments outside of a function's domain result in an {@link ArithmeticException}.
+ */
+final class BigDecimalMath {
+    /**
+     * The number of extra digits intermediate results are computed with.
+     */
+    private static final int GUARD_DIGITS = 10;
+
+    /**
+     * The maximum magnitude of the argument of {@link #exp(BigDecimal, MathContext)}.
+     */
+    private static final BigDecimal MAXIMUM_EXP_ARGUMENT = BigDecimal.valueOf(1_000_000_000L);
+
+    /**
+     * The magnitude arguments of the arctangent series are reduced below.
+     */
+    private static final BigDecimal ATAN_REDUCTION_BOUND = new BigDecimal("0.125");
+
+    /**
+     * The magnitude arguments of the natural logarithm series are reduced below.
+     */
+    private static final BigDecimal LN_REDUCTION_BOUND = new BigDecimal("1.1");
+
+    /**
+     * The value two.
+     */
+    private static final BigDecimal TWO = BigDecimal.valueOf(2);
+
+    /**
+     * The value ten.
+     */
+    private static final BigDecimal TEN = BigDecimal.TEN;
+
+    /**
+     * The most precise value of pi computed so far.
+     */
+    private static BigDecimal pi = BigDecimal.ZERO;
+
+    /**
+     * Suppress default constructor.
+     */
+    private BigDecimalMath() {
+        throw new IllegalMethodException(CyderStrings.ATTEMPTED_INSTANTIATION);
+    }
+
+    /**
+     * Returns pi.
+     *
+     * @param mc the math context
+     * @return pi
+     */
+    static synchronized BigDecimal pi(MathContext mc) {
+        Preconditions.checkNotNull(mc);
+
+        if (pi.precision() < mc.getPrecision() + GUARD_DIGITS) {
+            MathContext work = workContext(mc, GUARD_DIGITS);
+            // Machin's formula: pi = 16 atan(1/5) - 4 atan(1/239)
+            BigDecimal fifth = atanSeries(BigDecimal.ONE.divide(BigDecimal.valueOf(5), work), work);
+            BigDecimal twoThirtyNinth = atanSeries(BigDecimal.ONE.divide(BigDecimal.valueOf(239), work), work);
+            pi = fifth.multiply(BigDecimal.valueOf(16)).subtract(twoThirtyNinth.multiply(BigDecimal.valueOf(4)))
+                    .round(work);
+        }
+
+        return pi.round(mc);
+    }
+
+    /**
+     * Returns e raised to the provided power.
+     *
+     * @param x  the power
+     * @param mc the math context
+     * @return e raised to the provided power
+     */
+    static BigDecimal exp(BigDecimal x, MathContext mc) {
+        Preconditions.checkNotNull(x);
+        Preconditions.checkNotNull(mc);
+
+        if (x.signum() == 0) return BigDecimal.ONE.round(mc);
+        if (x.abs().compareTo(MAXIMUM_EXP_ARGUMENT) > 0) throw new ArithmeticException("Exponent overflow");
+
+        // exp(x) = exp(x / 2^k)^(2^k) where the series converges quickly for the reduced argument
+        int halvings = 0;
+        BigDecimal reduced = x;
+        while (reduced.abs().compareTo(BigDecimal.ONE) > 0) {
+            reduced = reduced.divide(TWO);
+            halvings++;
+        }
+
+        MathContext work = workContext(mc, GUARD_DIGITS + halvings / 3 + 1);
+        reduced = reduced.round(work);
+        BigDecimal epsilon = epsilon(work);
+
+        BigDecimal sum = BigDecimal.ONE;
+        BigDecimal term = BigDecimal.ONE;
+        for (int i = 1 ; ; i++) {
+            term = term.multiply(reduced, work).divide(BigDecimal.valueOf(i), work);
+            sum = sum.add(term, work);
+            if (term.abs().compareTo(epsilon) < 0) break;
+        }
+
+        for (int i = 0 ; i < halvings ; i++) {
+            sum = sum.multiply(sum, work);
+        }
+
+        return sum.round(mc);
+    }
+
+    /**
+     * Returns the natural logarithm of the provided value.
+     *
+     * @param x  the positive value
+     * @param mc the math context
+     * @return the natural logarithm of the provided value
+     */
+    static BigDecimal ln(BigDecimal x, MathContext mc) {
+        Preconditions.checkNotNull(x);
+        Preconditions.checkNotNull(mc);
+
+        if (x.signum() <= 0) throw new ArithmeticException("Logarithm of non-positive value");
+        if (x.compareTo(BigDecimal.ONE) == 0) return BigDecimal.ZERO;
+
+        // x = mantissa * 10^exponent with the mantissa in [1, 10)
+        int exponent = x.precision() - x.scale() - 1;
+        MathContext work = workContext(mc, GUARD_DIGITS + digits(exponent));
+
+        BigDecimal result = lnMantissa(x.movePointLeft(exponent), work);
+        if (exponent != 0) {
+            result = result.add(lnMantissa(TEN, work).multiply(BigDecimal.valueOf(exponent)), work);
+        }
+
+        return result.round(mc);
+    }
+
+    /**
+     * Returns the base ten logarithm of the provided value.
+     *
+     * @param x  the positive value
+     * @param mc the math context
+     * @return the base ten logarithm of the provided value
+     */
+    static BigDecimal log10(BigDecimal x, MathContext mc) {
+        Preconditions.checkNotNull(x);
+        Preconditions.checkNotNull(mc);
+
+        MathContext work = workContext(mc, GUARD_DIGITS);
+        return ln(x, work).divide(ln(TEN, work), mc);
+    }
+
+    /**
+     * Returns the provided base raised to the provided exponent.
+     *
+     * @param base     the base
+     * @param exponent the exponent
+     * @param mc       the math context
+     * @return the base raised to the exponent
+     */
+    static BigDecimal pow(BigDecimal base, BigDecimal exponent, MathContext mc) {
+        Preconditions.checkNotNull(base);
+        Preconditions.checkNotNull(exponent);
+        Preconditions.checkNotNull(mc);
+
+        if (isInteger(exponent) && exponent.abs().compareTo(BigDecimal.valueOf(999_999_999)) <= 0) {
+            int power = exponent.intValueExact();
+            if (base.signum() == 0 && power < 0) throw new ArithmeticException("Division by zero");
+            return base.pow(power, mc);
+        }
+
+        if (base.signum() < 0) throw new ArithmeticException("Non-integer power of negative value");
+        if (base.signum() == 0) {
+            if (exponent.signum() > 0) return BigDecimal.ZERO;
+            throw new ArithmeticException("Division by zero");
+        }
+
+        MathContext work = workContext(mc, GUARD_DIGITS + digits(exponent.precision() - exponent.scale()));
+        return exp(exponent.multiply(ln(base, work), work), mc);
+    }
+
+    /**
+     * Returns the sine of the provided angle.
+     *
+     * @param x  the angle in radians
+     * @param mc the math context
+     * @return the sine of the provided angle
+     */
+    static BigDecimal sin(BigDecimal x, MathContext mc) {
+        Preconditions.checkNotNull(x);
+        Preconditions.checkNotNull(mc);
+
+        MathContext work = workContext(mc, GUARD_DIGITS + integerDigits(x));
+        BigDecimal reduced = reduceAngle(x, work);
+        BigDecimal squared = reduced.multiply(reduced, work);
+
+        BigDecimal sum = reduced;
+        BigDecimal term = reduced;
+        for (int i = 1 ; ; i++) {
+            term = term.multiply(squared, work).divide(BigDecimal.valueOf(-(2L * i) * (2L * i + 1)), work);
+            sum = sum.add(term, work);
+            if (converged(term, sum, work)) break;
+        }
+
+        return sum.round(mc);
+    }
+
+    /**
+     * Returns the cosine of the provided angle.
+     *
+     * @param x  the angle in radians
+     * @param mc the math context
+     * @return the cosine of the provided angle
+     */
+    static BigDecimal cos(BigDecimal x, MathContext mc) {
+        Preconditions.checkNotNull(x);
+        Preconditions.checkNotNull(mc);
+
+        MathContext work = workContext(mc, GUARD_DIGITS + integerDigits(x));
+        BigDecimal reduced = reduceAngle(x, work);
+        BigDecimal squared = reduced.multiply(reduced, work);
+
+        BigDecimal sum = BigDecimal.ONE;
+        BigDecimal term = BigDecimal.ONE;
+        for (int i = 1 ; ; i++) {
+            term = term.multiply(squared, work).divide(BigDecimal.valueOf(-(2L * i - 1) * (2L * i)), work);
+            sum = sum.add(term, work);
+            if (converged(term, sum, work)) break;
+        }
+
+        return sum.round(mc);
+    }
+
+    /**
+     * Returns the tangent of the provided angle.
+     *
+     * @param x  the angle in radians
+     * @param mc the math context
+     * @return the tangent of the provided angle
+     */
+    static BigDecimal tan(BigDecimal x, MathContext mc) {
+        MathContext work = workContext(mc, GUARD_DIGITS);
+        return sin(x, work).divide(cos(x, work), mc);
+    }
+
+    /**
+     * Returns the arcsine of the provided value.
+     *
+     * @param x  the value within [-1, 1]
+     * @param mc the math context
+     * @return the arcsine of the provided value in radians
+     */
+    static BigDecimal asin(BigDecimal x, MathContext mc) {
+        Preconditions.checkNotNull(x);
+        Preconditions.checkNotNull(mc);
+
+        int comparison = x.abs().compareTo(BigDecimal.ONE);
+        if (comparison > 0) throw new ArithmeticException("Arcsine of value outside of [-1, 1]");
+
+        MathContext work = workContext(mc, GUARD_DIGITS);
+        if (comparison == 0) return pi(work).divide(TWO, work).multiply(BigDecimal.valueOf(x.signum()), mc);
+
+        BigDecimal cosine = BigDecimal.ONE.subtract(x.multiply(x, work), work).sqrt(work);
+        return atan(x.divide(cosine, work), mc);
+    }
+
+    /**
+     * Returns the arccosine of the provided value.
+     *
+     * @param x  the value within [-1, 1]
+     * @param mc the math context
+     * @return the arccosine of the provided value in radians
+     */
+    static BigDecimal acos(BigDecimal x, MathContext mc) {
+        MathContext work = workContext(mc, GUARD_DIGITS);
+        return pi(work).divide(TWO, work).subtract(asin(x, work), mc);
+    }
+
+    /**
+     * Returns the arctangent of the provided value.
+     *
+     * @param x  the value
+     * @param mc the math context
+     * @return the arctangent of the provided value in radians
+     */
+    static BigDecimal atan(BigDecimal x, MathContext mc) {
+        Preconditions.checkNotNull(x);
+        Preconditions.checkNotNull(mc);
+
+        if (x.signum() == 0) return BigDecimal.ZERO;
+
+        MathContext work = workContext(mc, GUARD_DIGITS);
+        if (x.abs().compareTo(BigDecimal.ONE) > 0) {
+            // atan(x) = sign(x) pi / 2 - atan(1 / x)
+            BigDecimal halfPi = pi(work).divide(TWO, work).multiply(BigDecimal.valueOf(x.signum()));
+            return halfPi.subtract(atan(BigDecimal.ONE.divide(x, work), work), mc);
+        }
+
+        // atan(x) = 2 atan(x / (1 + sqrt(1 + x^2)))
+        int doublings = 0;
+        BigDecimal reduced = x;
+        while (reduced.abs().compareTo(ATAN_REDUCTION_BOUND) > 0) {
+            BigDecimal root = BigDecimal.ONE.add(reduced.multiply(reduced, work), work).sqrt(work);
+            reduced = reduced.divide(BigDecimal.ONE.add(root, work), work);
+            doublings++;
+        }
+
+        return atanSeries(reduced, work).multiply(TWO.pow(doublings), mc);
+    }
+
+    /**
+     * Returns the hyperbolic sine of the provided value.
+     *
+     * @param x  the value
+     * @param mc the math context
+     * @return the hyperbolic sine of the provided value
+     */
+    static BigDecimal sinh(BigDecimal x, MathContext mc) {
+        Preconditions.checkNotNull(x);
+        Preconditions.checkNotNull(mc);
+
+        MathContext work = workContext(mc, GUARD_DIGITS);
+        if (x.abs().compareTo(BigDecimal.ONE) >= 0) {
+            BigDecimal exp = exp(x, work);
+            return exp.subtract(BigDecimal.ONE.divide(exp, work), work).divide(TWO, mc);
+        }
+
+        // the series avoids the cancellation of the exponential form for small values
+        BigDecimal squared = x.multiply(x, work);
+        BigDecimal sum = x;
+        BigDecimal term = x;
+        for (int i = 1 ; ; i++) {
+            term = term.multiply(squared, work).divide(BigDecimal.valueOf((2L * i) * (2L * i + 1)), work);
+            sum = sum.add(term, work);
+            if (converged(term, sum, work)) break;
+        }
+
+        return sum.round(mc);
+    }
+
+    /**
+     * Returns the hyperbolic cosine of the provided value.
+     *
+     * @param x  the value
+     * @param mc the math context
+     * @return the hyperbolic cosine of the provided value
+     */
+    static BigDecimal cosh(BigDecimal x, MathContext mc) {
+        Preconditions.checkNotNull(x);
+        Preconditions.checkNotNull(mc);
+
+        MathContext work = workContext(mc, GUARD_DIGITS);
+        BigDecimal exp = exp(x, work);
+        return exp.add(BigDecimal.ONE.divide(exp, work), work).divide(TWO, mc);
+    }
+
+    /**
+     * Returns the hyperbolic tangent of the provided value.
+     *
+     * @param x  the value
+     * @param mc the math context
+     * @return the hyperbolic tangent of the provided value
+     */
+    static BigDecimal tanh(BigDecimal x, MathContext mc) {
+        MathContext work = workContext(mc, GUARD_DIGITS);
+        return sinh(x, work).divide(cosh(x, work), mc);
+    }
+
+    /**
+     * Returns whether the provided value is an integer.
+     *
+     * @param x the value
+     * @return whether the provided value is an integer
+     */
+    static boolean isInteger(BigDecimal x) {
+        return x.signum() == 0 || x.stripTrailingZeros().scale() <= 0;
+    }
+
+    /**
+     * Returns the natural logarithm of the provided value within [1, 10] using the series
+     * ln(x) = 2 atanh((x - 1) / (x + 1)) after reducing the value towards one by taking square roots.
+     *
+     * @param x    the value
+     * @param work the math context to compute with
+     * @return the natural logarithm of the provided value
+     */
+    private static BigDecimal lnMantissa(BigDecimal x, MathContext work) {
+        MathContext reductionWork = workContext(work, 2);
+
+        int roots = 0;
+        BigDecimal reduced = x;
+        while (reduced.compareTo(LN_REDUCTION_BOUND) > 0) {
+            reduced = reduced.sqrt(reductionWork);
+            roots++;
+        }
+
+        BigDecimal z = reduced.subtract(BigDecimal.ONE).divide(reduced.add(BigDecimal.ONE), reductionWork);
+        if (z.signum() == 0) return BigDecimal.ZERO;
+
+        BigDecimal squared = z.multiply(z, reductionWork);
+        BigDecimal sum = z;
+        BigDecimal power = z;
+        for (int i = 1 ; ; i++) {
+            power = power.multiply(squared, reductionWork);
+            BigDecimal term = power.divide(BigDecimal.valueOf(2L * i + 1), reductionWork);
+            sum = sum.add(term, reductionWork);
+            if (converged(term, sum, reductionWork)) break;
+        }
+
+        return sum.multiply(TWO.pow(roots + 1), work);
+    }
+
+    /**
+     * Returns the arctangent of the provided small value using its Taylor series.
+     *
+     * @param x    the value
+     * @param work the math context to compute with
+     * @return the arctangent of the provided value
+     */
+    private static BigDecimal atanSeries(BigDecimal x, MathContext work) {
+        BigDecimal squared = x.multiply(x, work);
+        BigDecimal sum = x;
+        BigDecimal power = x;
+        for (int i = 1 ; ; i++) {
+            power = power.multiply(squared, work).negate();
+            BigDecimal term = power.divide(BigDecimal.valueOf(2L * i + 1), work);
+            sum = sum.add(term, work);
+            if (converged(term, sum, work)) break;
+        }
+        return sum;
+    }
+
+    /**
+     * Returns the provided angle reduced to within [-pi, pi].
+     *
+     * @param x    the angle in radians
+     * @param work the math context to compute with, which must account for the integer digits of the angle
+     * @return the reduced angle
+     */
+    private static BigDecimal reduceAngle(BigDecimal x, MathContext work) {
+        BigDecimal pi = pi(work);
+        BigDecimal twoPi = pi.multiply(TWO);
+
+        BigDecimal reduced = x.subtract(x.divideToIntegralValue(twoPi).multiply(twoPi), work);
+        if (reduced.compareTo(pi) > 0) {
+            reduced = reduced.subtract(twoPi, work);
+        } else if (reduced.compareTo(pi.negate()) < 0) {
+            reduced = reduced.add(twoPi, work);
+        }
+        return reduced;
+    }
+
+    /**
+     * Returns whether the provided series term no longer affects the provided sum.
+     *
+     * @param term the most recent term
+     * @param sum  the sum including the term
+     * @param work the math context the sum is computed with
+     * @return whether the series has converged
+     */
+    private static boolean converged(BigDecimal term, BigDecimal sum, MathContext work) {
+        if (term.signum() == 0) return true;
+        if (sum.signum() == 0) return false;
+        return term.abs().compareTo(sum.abs().multiply(epsilon(work))) < 0;
+    }
+
+    /**
+     * Returns the value ten raised to the negative precision of the provided math context.
+     *
+     * @param work the math context
+     * @return the smallest relative difference representable by the math context
+     */
+    private static BigDecimal epsilon(MathContext work) {
+        return BigDecimal.ONE.movePointLeft(work.getPrecision());
+    }
+
+    /**
+     * Returns a math context with the precision of the provided context plus the provided guard digits.
+     *
+     * @param mc     the math context
+     * @param guards the number of guard digits
+     * @return the math context to compute with
+     */
+    private static MathContext workContext(MathContext mc, int guards) {
+        Preconditions.checkArgument(mc.getPrecision() > 0, "Unlimited precision is not supported");
+        return new MathContext(mc.getPrecision() + guards, RoundingMode.HALF_EVEN);
+    }
+
+    /**
+     * Returns the number of digits of the integer part of the provided value.
+     *
+     * @param x the value
+     * @return the number of digits of the integer part of the value
+     */
+    private static int integerDigits(BigDecimal x) {
+        return Math.max(0, x.precision() - x.scale());
+    }
+
+    /**
+     * Returns the number of decimal digits of the magnitude of the provided value.
+     *
+     * @param value the value
+     * @return the number of decimal digits of the magnitude of the value
+     */
+    private static int digits(int value) {
+        return value == 0 ? 0 : String.valueOf(Math.abs((long) value)).length();
+    }
+}
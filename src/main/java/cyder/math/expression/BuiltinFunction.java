@@ -0,0 +1,281 @@
+package cyder.math.expression;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BiFunction;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * The functions and constants available to every expression.
+ */
+enum BuiltinFunction {
+    /**
+     * The constant pi.
+     */
+    PI("pi", 0, 0, true, arguments -> Math.PI, (arguments, mc) -> BigDecimalMath.pi(mc)),
+    /**
+     * The constant e.
+     */
+    E("e", 0, 0, true, arguments -> Math.E, (arguments, mc) -> BigDecimalMath.exp(BigDecimal.ONE, mc)),
+    /**
+     * A random value within [0, 1).
+     */
+    RANDOM("random", 0, 0, false, arguments -> ThreadLocalRandom.current().nextDouble(),
+            (arguments, mc) -> BigDecimal.valueOf(ThreadLocalRandom.current().nextDouble())),
+    /**
+     * The sine function.
+     */
+    SIN("sin", Math::sin, BigDecimalMath::sin),
+    /**
+     * The cosine function.
+     */
+    COS("cos", Math::cos, BigDecimalMath::cos),
+    /**
+     * The tangent function.
+     */
+    TAN("tan", Math::tan, BigDecimalMath::tan),
+    /**
+     * The arcsine function.
+     */
+    ASIN("asin", Math::asin, BigDecimalMath::asin),
+    /**
+     * The arccosine function.
+     */
+    ACOS("acos", Math::acos, BigDecimalMath::acos),
+    /**
+     * The arctangent function.
+     */
+    ATAN("atan", Math::atan, BigDecimalMath::atan),
+    /**
+     * The hyperbolic sine function.
+     */
+    SINH("sinh", Math::sinh, BigDecimalMath::sinh),
+    /**
+     * The hyperbolic cosine function.
+     */
+    COSH("cosh", Math::cosh, BigDecimalMath::cosh),
+    /**
+     * The hyperbolic tangent function.
+     */
+    TANH("tanh", Math::tanh, BigDecimalMath::tanh),
+    /**
+     * The natural logarithm.
+     */
+    LN("ln", Math::log, BigDecimalMath::ln),
+    /**
+     * The base ten logarithm.
+     */
+    LOG("log", Math::log10, BigDecimalMath::log10),
+    /**
+     * The exponential function.
+     */
+    EXP("exp", Math::exp, BigDecimalMath::exp),
+    /**
+     * The square root.
+     */
+    SQRT("sqrt", Math::sqrt, BigDecimal::sqrt),
+    /**
+     * The absolute value.
+     */
+    ABS("abs", Math::abs, BigDecimal::abs),
+    /**
+     * The greatest integer less than or equal to a value.
+     */
+    FLOOR("floor", Math::floor, (x, mc) -> x.setScale(0, RoundingMode.FLOOR)),
+    /**
+     * The least integer greater than or equal to a value.
+     */
+    CEIL("ceil", Math::ceil, (x, mc) -> x.setScale(0, RoundingMode.CEILING)),
+    /**
+     * The closest integer to a value with ties rounding towards positive infinity.
+     */
+    ROUND("round", x -> Double.isFinite(x) ? Math.round(x) : x,
+            (x, mc) -> x.add(new BigDecimal("0.5")).setScale(0, RoundingMode.FLOOR)),
+    /**
+     * The minimum of one or more values.
+     */
+    MIN("min", 1, Integer.MAX_VALUE, true, arguments -> Arrays.stream(arguments).min().orElseThrow(),
+            (arguments, mc) -> arguments.stream().reduce(BigDecimal::min).orElseThrow()),
+    /**
+     * The maximum of one or more values.
+     */
+    MAX("max", 1, Integer.MAX_VALUE, true, arguments -> Arrays.stream(arguments).max().orElseThrow(),
+            (arguments, mc) -> arguments.stream().reduce(BigDecimal::max).orElseThrow()),
+    /**
+     * The sum of one or more values.
+     */
+    SUM("sum", 1, Integer.MAX_VALUE, true, arguments -> Arrays.stream(arguments).sum(),
+            (arguments, mc) -> arguments.stream().reduce(BigDecimal.ZERO, (a, b) -> a.add(b, mc))),
+    /**
+     * The average of one or more values.
+     */
+    AVG("avg", 1, Integer.MAX_VALUE, true, arguments -> Arrays.stream(arguments).average().orElseThrow(),
+            (arguments, mc) -> arguments.stream().reduce(BigDecimal.ZERO, BigDecimal::add)
+                    .divide(BigDecimal.valueOf(arguments.size()), mc));
+
+    /**
+     * The builtin functions keyed by name.
+     */
+    private static final ImmutableMap<String, BuiltinFunction> byName = Arrays.stream(values())
+            .collect(ImmutableMap.toImmutableMap(BuiltinFunction::getName, function -> function));
+
+    /**
+     * The name of this function.
+     */
+    private final String name;
+
+    /**
+     * The minimum number of arguments of this function.
+     */
+    private final int minimumArguments;
+
+    /**
+     * The maximum number of arguments of this function.
+     */
+    private final int maximumArguments;
+
+    /**
+     * Whether this function always returns the same result for the same arguments.
+     */
+    private final boolean deterministic;
+
+    /**
+     * The double implementation of this function if it takes exactly one argument.
+     */
+    private final DoubleUnaryOperator unaryFunction;
+
+    /**
+     * The double implementation of this function.
+     */
+    private final ToDoubleFunction<double[]> function;
+
+    /**
+     * The arbitrary-precision implementation of this function.
+     */
+    private final BiFunction<ImmutableList<BigDecimal>, MathContext, BigDecimal> exactFunction;
+
+    /**
+     * Constructs a new builtin function of one argument.
+     *
+     * @param name          the name of the function
+     * @param unaryFunction the double implementation
+     * @param exactFunction the arbitrary-precision implementation
+     */
+    BuiltinFunction(String name, DoubleUnaryOperator unaryFunction,
+                    BiFunction<BigDecimal, MathContext, BigDecimal> exactFunction) {
+        this.name = name;
+        this.minimumArguments = 1;
+        this.maximumArguments = 1;
+        this.deterministic = true;
+        this.unaryFunction = unaryFunction;
+        this.function = arguments -> unaryFunction.applyAsDouble(arguments[0]);
+        this.exactFunction = (arguments, mc) -> exactFunction.apply(arguments.get(0), mc);
+    }
+
+    /**
+     * Constructs a new builtin function.
+     *
+     * @param name             the name of the function
+     * @param minimumArguments the minimum number of arguments
+     * @param maximumArguments the maximum number of arguments
+     * @param deterministic    whether the function always returns the same result for the same arguments
+     * @param function         the double implementation
+     * @param exactFunction    the arbitrary-precision implementation
+     */
+    BuiltinFunction(String name, int minimumArguments, int maximumArguments, boolean deterministic,
+                    ToDoubleFunction<double[]> function,
+                    BiFunction<ImmutableList<BigDecimal>, MathContext, BigDecimal> exactFunction) {
+        this.name = name;
+        this.minimumArguments = minimumArguments;
+        this.maximumArguments = maximumArguments;
+        this.deterministic = deterministic;
+        this.unaryFunction = null;
+        this.function = function;
+        this.exactFunction = exactFunction;
+    }
+
+    /**
+     * Returns the builtin function with the provided name if present.
+     *
+     * @param name the name
+     * @return the builtin function with the provided name if present
+     */
+    static Optional<BuiltinFunction> forName(String name) {
+        return Optional.ofNullable(byName.get(name));
+    }
+
+    /**
+     * Returns the name of this function.
+     *
+     * @return the name of this function
+     */
+    String getName() {
+        return name;
+    }
+
+    /**
+     * Returns whether this function is a constant referenced by name without parentheses.
+     *
+     * @return whether this function is a constant
+     */
+    boolean isConstant() {
+        return maximumArguments == 0 && deterministic;
+    }
+
+    /**
+     * Returns whether this function always returns the same result for the same arguments.
+     *
+     * @return whether this function is deterministic
+     */
+    boolean isDeterministic() {
+        return deterministic;
+    }
+
+    /**
+     * Returns whether this function accepts the provided number of arguments.
+     *
+     * @param count the number of arguments
+     * @return whether this function accepts the provided number of arguments
+     */
+    boolean acceptsArgumentCount(int count) {
+        return count >= minimumArguments && count <= maximumArguments;
+    }
+
+    /**
+     * Returns the double implementation of this function if it takes exactly one argument.
+     *
+     * @return the double implementation of this function if it takes exactly one argument
+     */
+    Optional<DoubleUnaryOperator> getUnaryFunction() {
+        return Optional.ofNullable(unaryFunction);
+    }
+
+    /**
+     * Applies this function to the provided arguments.
+     *
+     * @param arguments the arguments
+     * @return the result
+     */
+    double apply(double[] arguments) {
+        return function.applyAsDouble(arguments);
+    }
+
+    /**
+     * Applies this function to the provided arguments with arbitrary precision.
+     *
+     * @param arguments the arguments
+     * @param mc        the math context
+     * @return the result
+     */
+    BigDecimal applyExact(ImmutableList<BigDecimal> arguments, MathContext mc) {
+        return exactFunction.apply(arguments, mc);
+    }
+}
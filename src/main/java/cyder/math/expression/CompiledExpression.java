@@ -0,0 +1,348 @@
+package cyder.math.expression;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.LinkedHashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * An expression parsed once and compiled into a tree of closures which may be evaluated any number of times.
+ * <p>
+ * The free variables of the expression are ordered by first appearance and their values are passed
+ * positionally to {@link #evaluate(double...)} and {@link #evaluateExact(MathContext, BigDecimal...)}.
+ * Subexpressions without variables are folded into constants when compiled. Compiled expressions
+ * are immutable and may be evaluated concurrently.
+ */
+public final class CompiledExpression {
+    /**
+     * A compiled node evaluated with double precision.
+     */
+    @FunctionalInterface
+    private interface DoubleNode {
+        /**
+         * Evaluates this node.
+         *
+         * @param values the values of the variables
+         * @return the result
+         */
+        double evaluate(double[] values);
+    }
+
+    /**
+     * The source the expression was compiled from.
+     */
+    private final String source;
+
+    /**
+     * The root of the syntax tree.
+     */
+    private final Node root;
+
+    /**
+     * The free variables in order of first appearance.
+     */
+    private final ImmutableList<String> variables;
+
+    /**
+     * The indices of the free variables keyed by name.
+     */
+    private final ImmutableMap<String, Integer> variableIndices;
+
+    /**
+     * The compiled root.
+     */
+    private final DoubleNode compiled;
+
+    /**
+     * Constructs a new compiled expression.
+     *
+     * @param source the source the expression was parsed from
+     * @param root   the root of the syntax tree
+     */
+    CompiledExpression(String source, Node root) {
+        Preconditions.checkNotNull(source);
+        Preconditions.checkNotNull(root);
+
+        this.source = source;
+        this.root = root;
+
+        Set<String> names = new LinkedHashSet<>();
+        root.collectVariables(names);
+        this.variables = ImmutableList.copyOf(names);
+
+        ImmutableMap.Builder<String, Integer> indices = ImmutableMap.builder();
+        for (int i = 0 ; i < variables.size() ; i++) {
+            indices.put(variables.get(i), i);
+        }
+        this.variableIndices = indices.build();
+
+        this.compiled = compile(root);
+    }
+
+    /**
+     * Returns the source this expression was compiled from.
+     *
+     * @return the source this expression was compiled from
+     */
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * Returns the free variables of this expression in order of first appearance.
+     *
+     * @return the free variables of this expression
+     */
+    public ImmutableList<String> getVariables() {
+        return variables;
+    }
+
+    /**
+     * Evaluates this expression with double precision. Passing a reused array does not allocate.
+     *
+     * @param values the values of the variables in the order of {@link #getVariables()}
+     * @return the result
+     */
+    public double evaluate(double... values) {
+        Preconditions.checkNotNull(values);
+        Preconditions.checkArgument(values.length == variables.size(),
+                "Expected " + variables.size() + " values for " + variables);
+
+        return compiled.evaluate(values);
+    }
+
+    /**
+     * Evaluates this expression at evenly spaced values of its only variable, storing the results
+     * in the provided array. Expressions without variables store the same result throughout.
+     *
+     * @param start   the value of the first sample
+     * @param step    the distance between samples
+     * @param results the array to store the results in
+     */
+    public void sample(double start, double step, double[] results) {
+        Preconditions.checkNotNull(results);
+        Preconditions.checkState(variables.size() <= 1, "Expression has more than one variable: " + variables);
+
+        double[] values = new double[variables.size()];
+        for (int i = 0 ; i < results.length ; i++) {
+            if (values.length == 1) values[0] = start + i * step;
+            results[i] = compiled.evaluate(values);
+        }
+    }
+
+    /**
+     * Returns this expression as a function of its only variable. The returned function allocates
+     * on each application, prefer {@link #sample(double, double, double[])} when evaluating many points.
+     *
+     * @return this expression as a function of its only variable
+     */
+    public DoubleUnaryOperator asFunction() {
+        Preconditions.checkState(variables.size() <= 1, "Expression has more than one variable: " + variables);
+
+        return variables.isEmpty()
+                ? x -> compiled.evaluate(new double[0])
+                : x -> compiled.evaluate(new double[]{x});
+    }
+
+    /**
+     * Evaluates this expression with arbitrary precision.
+     *
+     * @param mc     the math context which must have a limited precision
+     * @param values the values of the variables in the order of {@link #getVariables()}
+     * @return the result
+     * @throws ArithmeticException if a function or operation is undefined for its arguments
+     */
+    public BigDecimal evaluateExact(MathContext mc, BigDecimal... values) {
+        Preconditions.checkNotNull(mc);
+        Preconditions.checkArgument(mc.getPrecision() > 0, "Unlimited precision is not supported");
+        Preconditions.checkNotNull(values);
+        Preconditions.checkArgument(values.length == variables.size(),
+                "Expected " + variables.size() + " values for " + variables);
+
+        return evaluateExact(root, values, mc).round(mc);
+    }
+
+    @Override
+    public String toString() {
+        return "CompiledExpression{source=\"" + source + "\", variables=" + variables + "}";
+    }
+
+    /**
+     * Evaluates the provided node with arbitrary precision.
+     *
+     * @param node   the node
+     * @param values the values of the variables
+     * @param mc     the math context
+     * @return the result
+     */
+    private BigDecimal evaluateExact(Node node, BigDecimal[] values, MathContext mc) {
+        if (node instanceof Node.Constant constant) {
+            return constant.value();
+        } else if (node instanceof Node.Variable variable) {
+            return values[variableIndices.get(variable.name())];
+        } else if (node instanceof Node.Negate negate) {
+            return evaluateExact(negate.operand(), values, mc).negate();
+        } else if (node instanceof Node.Binary binary) {
+            BigDecimal left = evaluateExact(binary.left(), values, mc);
+            BigDecimal right = evaluateExact(binary.right(), values, mc);
+            return switch (binary.operator()) {
+                case ADD -> left.add(right, mc);
+                case SUBTRACT -> left.subtract(right, mc);
+                case MULTIPLY -> left.multiply(right, mc);
+                case DIVIDE -> left.divide(right, mc);
+                case REMAINDER -> left.remainder(right, mc);
+                case POWER -> BigDecimalMath.pow(left, right, mc);
+            };
+        } else if (node instanceof Node.Call call) {
+            ImmutableList<BigDecimal> arguments = call.arguments().stream()
+                    .map(argument -> evaluateExact(argument, values, mc))
+                    .collect(ImmutableList.toImmutableList());
+            return call.function().applyExact(arguments, mc);
+        }
+
+        throw new IllegalStateException("Unknown node: " + node);
+    }
+
+    /**
+     * Compiles the provided node into a closure, folding it into a constant if it has no variables.
+     *
+     * @param node the node
+     * @return the compiled node
+     */
+    private DoubleNode compile(Node node) {
+        DoubleNode compiledNode = compileUnfolded(node);
+        if (node instanceof Node.Constant || !isConstant(node)) return compiledNode;
+
+        double value = compiledNode.evaluate(new double[0]);
+        return values -> value;
+    }
+
+    /**
+     * Compiles the provided node into a closure.
+     *
+     * @param node the node
+     * @return the compiled node
+     */
+    private DoubleNode compileUnfolded(Node node) {
+        if (node instanceof Node.Constant constant) {
+            double value = constant.value().doubleValue();
+            return values -> value;
+        } else if (node instanceof Node.Variable variable) {
+            int index = variableIndices.get(variable.name());
+            return values -> values[index];
+        } else if (node instanceof Node.Negate negate) {
+            DoubleNode operand = compile(negate.operand());
+            return values -> -operand.evaluate(values);
+        } else if (node instanceof Node.Binary binary) {
+            return compileBinary(binary);
+        } else if (node instanceof Node.Call call) {
+            return compileCall(call);
+        }
+
+        throw new IllegalStateException("Unknown node: " + node);
+    }
+
+    /**
+     * Compiles the provided binary operation, specializing operations with a constant right operand.
+     *
+     * @param binary the binary operation
+     * @return the compiled node
+     */
+    private DoubleNode compileBinary(Node.Binary binary) {
+        DoubleNode left = compile(binary.left());
+
+        Optional<Double> constantRight = isConstant(binary.right())
+                ? Optional.of(compile(binary.right()).evaluate(new double[0]))
+                : Optional.empty();
+        if (constantRight.isPresent()) {
+            double right = constantRight.get();
+            switch (binary.operator()) {
+                case ADD:
+                    return values -> left.evaluate(values) + right;
+                case SUBTRACT:
+                    return values -> left.evaluate(values) - right;
+                case MULTIPLY:
+                    return values -> left.evaluate(values) * right;
+                case DIVIDE:
+                    return values -> left.evaluate(values) / right;
+                case REMAINDER:
+                    return values -> left.evaluate(values) % right;
+                case POWER:
+                    if (right == 2) {
+                        return values -> {
+                            double base = left.evaluate(values);
+                            return base * base;
+                        };
+                    } else if (right == 0.5) {
+                        return values -> Math.sqrt(left.evaluate(values));
+                    }
+                    return values -> Math.pow(left.evaluate(values), right);
+            }
+        }
+
+        DoubleNode right = compile(binary.right());
+        return switch (binary.operator()) {
+            case ADD -> values -> left.evaluate(values) + right.evaluate(values);
+            case SUBTRACT -> values -> left.evaluate(values) - right.evaluate(values);
+            case MULTIPLY -> values -> left.evaluate(values) * right.evaluate(values);
+            case DIVIDE -> values -> left.evaluate(values) / right.evaluate(values);
+            case REMAINDER -> values -> left.evaluate(values) % right.evaluate(values);
+            case POWER -> values -> Math.pow(left.evaluate(values), right.evaluate(values));
+        };
+    }
+
+    /**
+     * Compiles the provided function call, avoiding argument arrays for functions of one argument.
+     *
+     * @param call the function call
+     * @return the compiled node
+     */
+    private DoubleNode compileCall(Node.Call call) {
+        BuiltinFunction function = call.function();
+
+        Optional<DoubleUnaryOperator> unaryFunction = function.getUnaryFunction();
+        if (unaryFunction.isPresent()) {
+            DoubleUnaryOperator operator = unaryFunction.get();
+            DoubleNode argument = compile(call.arguments().get(0));
+            return values -> operator.applyAsDouble(argument.evaluate(values));
+        }
+
+        DoubleNode[] arguments = call.arguments().stream().map(this::compile).toArray(DoubleNode[]::new);
+        return values -> {
+            double[] evaluated = new double[arguments.length];
+            for (int i = 0 ; i < arguments.length ; i++) {
+                evaluated[i] = arguments[i].evaluate(values);
+            }
+            return function.apply(evaluated);
+        };
+    }
+
+    /**
+     * Returns whether the provided node always evaluates to the same value.
+     *
+     * @param node the node
+     * @return whether the provided node is constant
+     */
+    private static boolean isConstant(Node node) {
+        if (node instanceof Node.Constant) {
+            return true;
+        } else if (node instanceof Node.Variable) {
+            return false;
+        } else if (node instanceof Node.Negate negate) {
+            return isConstant(negate.operand());
+        } else if (node instanceof Node.Binary binary) {
+            return isConstant(binary.left()) && isConstant(binary.right());
+        } else if (node instanceof Node.Call call) {
+            return call.function().isDeterministic() && call.arguments().stream()
+                    .allMatch(CompiledExpression::isConstant);
+        }
+
+        throw new IllegalStateException("Unknown node: " + node);
+    }
+}
@@ -0,0 +1,322 @@
+package cyder.math.expression;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import cyder.exceptions.ExpressionException;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Compiles and evaluates expressions with support for user-defined variables and functions.
+ * <p>
+ * Compiled expressions are cached by source so that repeatedly evaluating the same expression parses it once.
+ * Calls of user functions are inlined when an expression is compiled, so defining or removing a function
+ * clears the cache. Variables are bound when an expression is evaluated and do not affect compilation.
+ */
+public final class ExpressionEngine {
+    /**
+     * The default maximum number of compiled expressions to cache.
+     */
+    public static final int DEFAULT_CACHE_CAPACITY = 256;
+
+    /**
+     * The math context variable definitions are evaluated with.
+     */
+    public static final MathContext DEFINITION_CONTEXT = MathContext.DECIMAL128;
+
+    /**
+     * The maximum number of compiled expressions to cache.
+     */
+    private final int cacheCapacity;
+
+    /**
+     * The compiled expressions keyed by source in order of access.
+     */
+    private final LinkedHashMap<String, CompiledExpression> cache;
+
+    /**
+     * The user functions keyed by name.
+     */
+    private final HashMap<String, UserFunction> functions = new HashMap<>();
+
+    /**
+     * The user variables keyed by name.
+     */
+    private final HashMap<String, BigDecimal> variables = new HashMap<>();
+
+    /**
+     * The number of times the user functions have changed.
+     */
+    private long functionsVersion;
+
+    /**
+     * Constructs a new expression engine with the default cache capacity.
+     */
+    public ExpressionEngine() {
+        this(DEFAULT_CACHE_CAPACITY);
+    }
+
+    /**
+     * Constructs a new expression engine.
+     *
+     * @param cacheCapacity the maximum number of compiled expressions to cache
+     */
+    public ExpressionEngine(int cacheCapacity) {
+        Preconditions.checkArgument(cacheCapacity >= 0);
+
+        this.cacheCapacity = cacheCapacity;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CompiledExpression> eldest) {
+                return size() > ExpressionEngine.this.cacheCapacity;
+            }
+        };
+    }
+
+    /**
+     * Returns whether the provided input has the form of a definition such as "a = 2" or "f(x) = x^2".
+     *
+     * @param input the input
+     * @return whether the provided input has the form of a definition
+     */
+    public static boolean isDefinition(String input) {
+        Preconditions.checkNotNull(input);
+
+        int equals = input.indexOf('=');
+        if (equals == -1 || input.indexOf('=', equals + 1) != -1) return false;
+
+        String target = input.substring(0, equals).trim();
+        int parenthesis = target.indexOf('(');
+        String name = parenthesis == -1 ? target : target.substring(0, parenthesis).trim();
+        return isValidName(name) && (parenthesis == -1 || target.endsWith(")"));
+    }
+
+    /**
+     * Compiles the provided expression or returns the cached compilation.
+     *
+     * @param expression the expression
+     * @return the compiled expression
+     * @throws ExpressionException if the expression is invalid
+     */
+    public CompiledExpression compile(String expression) {
+        Preconditions.checkNotNull(expression);
+        String source = expression.trim();
+
+        Map<String, UserFunction> functionsSnapshot;
+        long version;
+        synchronized (this) {
+            CompiledExpression cached = cache.get(source);
+            if (cached != null) return cached;
+            functionsSnapshot = ImmutableMap.copyOf(functions);
+            version = functionsVersion;
+        }
+
+        CompiledExpression compiled = new CompiledExpression(source,
+                new ExpressionParser(source, functionsSnapshot).parseExpression());
+
+        synchronized (this) {
+            if (version == functionsVersion) cache.put(source, compiled);
+        }
+        return compiled;
+    }
+
+    /**
+     * Evaluates the provided expression with double precision using the values of the user variables.
+     *
+     * @param expression the expression
+     * @return the result
+     * @throws ExpressionException if the expression is invalid or references an undefined variable
+     */
+    public double evaluate(String expression) {
+        CompiledExpression compiled = compile(expression);
+
+        ImmutableList<BigDecimal> values = valuesOf(compiled);
+        double[] doubles = new double[values.size()];
+        for (int i = 0 ; i < doubles.length ; i++) {
+            doubles[i] = values.get(i).doubleValue();
+        }
+        return compiled.evaluate(doubles);
+    }
+
+    /**
+     * Evaluates the provided expression with arbitrary precision using the values of the user variables.
+     *
+     * @param expression the expression
+     * @param mc         the math context which must have a limited precision
+     * @return the result
+     * @throws ExpressionException if the expression is invalid or references an undefined variable
+     * @throws ArithmeticException if a function or operation is undefined for its arguments
+     */
+    public BigDecimal evaluateExact(String expression, MathContext mc) {
+        Preconditions.checkNotNull(mc);
+
+        CompiledExpression compiled = compile(expression);
+        return compiled.evaluateExact(mc, valuesOf(compiled).toArray(new BigDecimal[0]));
+    }
+
+    /**
+     * Defines a variable or function from a definition such as "a = 2 * pi" or "f(x, y) = x^2 + a * y".
+     * Variables are evaluated immediately using {@link #DEFINITION_CONTEXT}. Function bodies may reference
+     * their parameters, previously defined functions, and variables, which are bound when evaluated.
+     *
+     * @param definition the definition
+     * @return the name of the defined variable or function
+     * @throws ExpressionException if the definition is invalid
+     */
+    public String define(String definition) {
+        Preconditions.checkNotNull(definition);
+
+        Map<String, UserFunction> functionsSnapshot;
+        synchronized (this) {
+            functionsSnapshot = ImmutableMap.copyOf(functions);
+        }
+
+        ExpressionParser.Definition parsed = new ExpressionParser(definition, functionsSnapshot).parseDefinition();
+        checkName(parsed.name());
+
+        if (parsed.parameters().isPresent()) {
+            ImmutableList<String> parameters = parsed.parameters().get();
+            parameters.forEach(ExpressionEngine::checkName);
+            defineFunction(new UserFunction(parsed.name(), parameters, parsed.body()));
+        } else {
+            CompiledExpression compiled = new CompiledExpression(definition, parsed.body());
+            BigDecimal value;
+            try {
+                value = compiled.evaluateExact(DEFINITION_CONTEXT, valuesOf(compiled).toArray(new BigDecimal[0]));
+            } catch (ArithmeticException e) {
+                throw new ExpressionException("Could not evaluate " + parsed.name() + ": " + e.getMessage());
+            }
+            setVariable(parsed.name(), value);
+        }
+
+        return parsed.name();
+    }
+
+    /**
+     * Sets the value of the provided variable.
+     *
+     * @param name  the name of the variable
+     * @param value the value
+     * @throws ExpressionException if the name is invalid or reserved
+     */
+    public synchronized void setVariable(String name, BigDecimal value) {
+        Preconditions.checkNotNull(name);
+        Preconditions.checkNotNull(value);
+        checkName(name);
+
+        variables.put(name, value);
+    }
+
+    /**
+     * Returns the value of the provided variable if defined.
+     *
+     * @param name the name of the variable
+     * @return the value of the provided variable if defined
+     */
+    public synchronized Optional<BigDecimal> getVariable(String name) {
+        Preconditions.checkNotNull(name);
+
+        return Optional.ofNullable(variables.get(name));
+    }
+
+    /**
+     * Removes the provided variable.
+     *
+     * @param name the name of the variable
+     * @return whether the variable was defined
+     */
+    public synchronized boolean removeVariable(String name) {
+        Preconditions.checkNotNull(name);
+
+        return variables.remove(name) != null;
+    }
+
+    /**
+     * Returns the signature of the provided function such as "f(x, y)" if defined.
+     *
+     * @param name the name of the function
+     * @return the signature of the provided function if defined
+     */
+    public synchronized Optional<String> getFunctionSignature(String name) {
+        Preconditions.checkNotNull(name);
+
+        return Optional.ofNullable(functions.get(name)).map(UserFunction::signature);
+    }
+
+    /**
+     * Removes the provided function. Functions which called it keep their inlined copy of its body.
+     *
+     * @param name the name of the function
+     * @return whether the function was defined
+     */
+    public synchronized boolean removeFunction(String name) {
+        Preconditions.checkNotNull(name);
+
+        boolean removed = functions.remove(name) != null;
+        if (removed) functionsChanged();
+        return removed;
+    }
+
+    /**
+     * Defines the provided function and clears the cache.
+     *
+     * @param function the function
+     */
+    private synchronized void defineFunction(UserFunction function) {
+        functions.put(function.name(), function);
+        functionsChanged();
+    }
+
+    /**
+     * Invalidates the cached compilations which may have inlined a changed function.
+     */
+    private synchronized void functionsChanged() {
+        functionsVersion++;
+        cache.clear();
+    }
+
+    /**
+     * Returns the values of the user variables referenced by the provided expression.
+     *
+     * @param compiled the compiled expression
+     * @return the values of the variables in the order of {@link CompiledExpression#getVariables()}
+     * @throws ExpressionException if a variable is undefined
+     */
+    private synchronized ImmutableList<BigDecimal> valuesOf(CompiledExpression compiled) {
+        ImmutableList.Builder<BigDecimal> values = ImmutableList.builder();
+        for (String name : compiled.getVariables()) {
+            BigDecimal value = variables.get(name);
+            if (value == null) throw new ExpressionException("Undefined variable: " + name);
+            values.add(value);
+        }
+        return values.build();
+    }
+
+    /**
+     * Ensures the provided name may be defined.
+     *
+     * @param name the name
+     * @throws ExpressionException if the name is invalid or reserved
+     */
+    private static void checkName(String name) {
+        if (!isValidName(name)) throw new ExpressionException("Invalid name: " + name);
+        if (BuiltinFunction.forName(name).isPresent()) throw new ExpressionException("Reserved name: " + name);
+    }
+
+    /**
+     * Returns whether the provided name is a valid identifier.
+     *
+     * @param name the name
+     * @return whether the provided name is a valid identifier
+     */
+    private static boolean isValidName(String name) {
+        if (name.isEmpty() || !ExpressionParser.isIdentifierStart(name.charAt(0))) return false;
+        return name.chars().allMatch(character -> ExpressionParser.isIdentifierPart((char) character));
+    }
+}
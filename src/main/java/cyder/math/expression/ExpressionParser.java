@@ -0,0 +1,382 @@
+package cyder.math.expression;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import cyder.exceptions.ExpressionException;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * A recursive descent parser of expressions and definitions.
+ * <p>
+ * From lowest to highest precedence expressions support addition and subtraction, multiplication,
+ * division and remainder, unary negation, and right-associative exponentiation, in addition to
+ * parentheses, numeric literals, variables, constants, and function calls. Calls of user functions
+ * are inlined so that the resulting tree only contains builtin functions.
+ */
+final class ExpressionParser {
+    /**
+     * The maximum depth of nested subexpressions.
+     */
+    private static final int MAXIMUM_DEPTH = 256;
+
+    /**
+     * A parsed definition of a variable or user function.
+     *
+     * @param name       the name being defined
+     * @param parameters the parameters if a function is being defined
+     * @param body       the body of the definition
+     */
+    record Definition(String name, Optional<ImmutableList<String>> parameters, Node body) {}
+
+    /**
+     * The source being parsed.
+     */
+    private final String source;
+
+    /**
+     * The user functions which may be called keyed by name.
+     */
+    private final Map<String, UserFunction> userFunctions;
+
+    /**
+     * The index of the next character to parse.
+     */
+    private int position;
+
+    /**
+     * The current depth of nested subexpressions.
+     */
+    private int depth;
+
+    /**
+     * Constructs a new expression parser.
+     *
+     * @param source        the source to parse
+     * @param userFunctions the user functions which may be called keyed by name
+     */
+    ExpressionParser(String source, Map<String, UserFunction> userFunctions) {
+        Preconditions.checkNotNull(source);
+        Preconditions.checkNotNull(userFunctions);
+
+        this.source = source;
+        this.userFunctions = ImmutableMap.copyOf(userFunctions);
+    }
+
+    /**
+     * Parses the source as an expression.
+     *
+     * @return the root of the parsed expression
+     * @throws ExpressionException if the source is not a valid expression
+     */
+    Node parseExpression() {
+        Node root = parseAdditive();
+        expectEnd();
+        return root;
+    }
+
+    /**
+     * Parses the source as a definition of the form "name = expression" or "name(a, b) = expression".
+     *
+     * @return the parsed definition
+     * @throws ExpressionException if the source is not a valid definition
+     */
+    Definition parseDefinition() {
+        String name = parseName();
+
+        Optional<ImmutableList<String>> parameters = Optional.empty();
+        if (consume('(')) {
+            ArrayList<String> names = new ArrayList<>();
+            Set<String> seen = new HashSet<>();
+            if (!consume(')')) {
+                do {
+                    String parameter = parseName();
+                    if (!seen.add(parameter)) throw error("Duplicate parameter: " + parameter);
+                    names.add(parameter);
+                } while (consume(','));
+                expect(')');
+            }
+            parameters = Optional.of(ImmutableList.copyOf(names));
+        }
+
+        expect('=');
+        return new Definition(name, parameters, parseExpression());
+    }
+
+    /**
+     * Parses a sum or difference of terms.
+     *
+     * @return the parsed node
+     */
+    private Node parseAdditive() {
+        enter();
+        Node node = parseMultiplicative();
+        while (true) {
+            if (consume('+')) {
+                node = new Node.Binary(Node.BinaryOperator.ADD, node, parseMultiplicative());
+            } else if (consume('-')) {
+                node = new Node.Binary(Node.BinaryOperator.SUBTRACT, node, parseMultiplicative());
+            } else {
+                break;
+            }
+        }
+        depth--;
+        return node;
+    }
+
+    /**
+     * Parses a product, quotient, or remainder of factors.
+     *
+     * @return the parsed node
+     */
+    private Node parseMultiplicative() {
+        Node node = parseUnary();
+        while (true) {
+            if (consume('*')) {
+                node = new Node.Binary(Node.BinaryOperator.MULTIPLY, node, parseUnary());
+            } else if (consume('/')) {
+                node = new Node.Binary(Node.BinaryOperator.DIVIDE, node, parseUnary());
+            } else if (consume('%')) {
+                node = new Node.Binary(Node.BinaryOperator.REMAINDER, node, parseUnary());
+            } else {
+                break;
+            }
+        }
+        return node;
+    }
+
+    /**
+     * Parses a possibly negated power.
+     *
+     * @return the parsed node
+     */
+    private Node parseUnary() {
+        enter();
+        Node node;
+        if (consume('-')) {
+            node = new Node.Negate(parseUnary());
+        } else if (consume('+')) {
+            node = parseUnary();
+        } else {
+            node = parsePower();
+        }
+        depth--;
+        return node;
+    }
+
+    /**
+     * Parses a primary raised to an optional right-associative exponent.
+     *
+     * @return the parsed node
+     */
+    private Node parsePower() {
+        Node base = parsePrimary();
+        if (consume('^')) {
+            return new Node.Binary(Node.BinaryOperator.POWER, base, parseUnary());
+        }
+        return base;
+    }
+
+    /**
+     * Parses a number, variable, constant, function call, or parenthesized expression.
+     *
+     * @return the parsed node
+     */
+    private Node parsePrimary() {
+        skipWhitespace();
+        if (position >= source.length()) throw error("Unexpected end of expression");
+
+        char next = source.charAt(position);
+        if (consume('(')) {
+            Node node = parseAdditive();
+            expect(')');
+            return node;
+        } else if (Character.isDigit(next) || next == '.') {
+            return parseNumber();
+        } else if (isIdentifierStart(next)) {
+            return parseIdentifier();
+        }
+
+        throw error("Unexpected '" + next + "'");
+    }
+
+    /**
+     * Parses a numeric literal with an optional decimal exponent.
+     *
+     * @return the parsed node
+     */
+    private Node parseNumber() {
+        int start = position;
+        while (position < source.length() && Character.isDigit(source.charAt(position))) position++;
+        if (position < source.length() && source.charAt(position) == '.') {
+            position++;
+            while (position < source.length() && Character.isDigit(source.charAt(position))) position++;
+        }
+
+        if (position < source.length() && (source.charAt(position) == 'e' || source.charAt(position) == 'E')) {
+            int exponentStart = position + 1;
+            if (exponentStart < source.length()
+                    && (source.charAt(exponentStart) == '+' || source.charAt(exponentStart) == '-')) {
+                exponentStart++;
+            }
+            if (exponentStart < source.length() && Character.isDigit(source.charAt(exponentStart))) {
+                position = exponentStart;
+                while (position < source.length() && Character.isDigit(source.charAt(position))) position++;
+            }
+        }
+
+        String literal = source.substring(start, position);
+        try {
+            return new Node.Constant(new BigDecimal(literal));
+        } catch (NumberFormatException e) {
+            throw new ExpressionException("Invalid number at position " + start + ": " + literal);
+        }
+    }
+
+    /**
+     * Parses a variable, constant, or function call.
+     *
+     * @return the parsed node
+     */
+    private Node parseIdentifier() {
+        int start = position;
+        String name = parseName();
+        Optional<BuiltinFunction> builtin = BuiltinFunction.forName(name);
+
+        if (!consume('(')) {
+            if (builtin.isPresent()) {
+                if (builtin.get().isConstant()) return new Node.Call(builtin.get(), ImmutableList.of());
+                throw new ExpressionException("Function " + name + " at position " + start + " requires arguments");
+            }
+            return new Node.Variable(name);
+        }
+
+        ArrayList<Node> arguments = new ArrayList<>();
+        if (!consume(')')) {
+            do {
+                arguments.add(parseAdditive());
+            } while (consume(','));
+            expect(')');
+        }
+
+        if (builtin.isPresent()) {
+            if (!builtin.get().acceptsArgumentCount(arguments.size())) {
+                throw new ExpressionException("Function " + name + " at position " + start
+                        + " does not accept " + arguments.size() + " arguments");
+            }
+            return new Node.Call(builtin.get(), ImmutableList.copyOf(arguments));
+        }
+
+        UserFunction userFunction = userFunctions.get(name);
+        if (userFunction == null) throw new ExpressionException("Unknown function at position " + start + ": " + name);
+        if (userFunction.parameters().size() != arguments.size()) {
+            throw new ExpressionException("Function " + userFunction.signature() + " at position " + start
+                    + " does not accept " + arguments.size() + " arguments");
+        }
+
+        Map<String, Node> replacements = new HashMap<>();
+        for (int i = 0 ; i < arguments.size() ; i++) {
+            replacements.put(userFunction.parameters().get(i), arguments.get(i));
+        }
+        return userFunction.body().substitute(replacements);
+    }
+
+    /**
+     * Parses an identifier.
+     *
+     * @return the identifier
+     */
+    private String parseName() {
+        skipWhitespace();
+        if (position >= source.length() || !isIdentifierStart(source.charAt(position))) {
+            throw error("Expected a name");
+        }
+
+        int start = position;
+        while (position < source.length() && isIdentifierPart(source.charAt(position))) position++;
+        return source.substring(start, position);
+    }
+
+    /**
+     * Consumes the provided character if it is the next non-whitespace character.
+     *
+     * @param character the character
+     * @return whether the character was consumed
+     */
+    private boolean consume(char character) {
+        skipWhitespace();
+        if (position < source.length() && source.charAt(position) == character) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Consumes the provided character which must be the next non-whitespace character.
+     *
+     * @param character the character
+     */
+    private void expect(char character) {
+        if (!consume(character)) throw error("Expected '" + character + "'");
+    }
+
+    /**
+     * Ensures only whitespace remains.
+     */
+    private void expectEnd() {
+        skipWhitespace();
+        if (position < source.length()) throw error("Unexpected '" + source.charAt(position) + "'");
+    }
+
+    /**
+     * Increments the depth of nested subexpressions.
+     */
+    private void enter() {
+        if (++depth > MAXIMUM_DEPTH) throw error("Expression is nested too deeply");
+    }
+
+    /**
+     * Advances past any whitespace.
+     */
+    private void skipWhitespace() {
+        while (position < source.length() && Character.isWhitespace(source.charAt(position))) position++;
+    }
+
+    /**
+     * Returns an exception describing the provided problem at the current position.
+     *
+     * @param message the problem
+     * @return the exception
+     */
+    private ExpressionException error(String message) {
+        return new ExpressionException(message + " at position " + position + ": " + source);
+    }
+
+    /**
+     * Returns whether the provided character may begin an identifier.
+     *
+     * @param character the character
+     * @return whether the provided character may begin an identifier
+     */
+    static boolean isIdentifierStart(char character) {
+        return Character.isLetter(character) || character == '_';
+    }
+
+    /**
+     * Returns whether the provided character may continue an identifier.
+     *
+     * @param character the character
+     * @return whether the provided character may continue an identifier
+     */
+    static boolean isIdentifierPart(char character) {
+        return Character.isLetterOrDigit(character) || character == '_';
+    }
+}
@@ -0,0 +1,185 @@
+package cyder.math.expression;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A node of the syntax tree of a parsed expression.
+ */
+sealed interface Node {
+    /**
+     * Adds the names of the variables referenced by this node to the provided set in order of appearance.
+     *
+     * @param variables the set to add to
+     */
+    void collectVariables(Set<String> variables);
+
+    /**
+     * Returns this node with each variable named in the provided map replaced by the mapped node.
+     *
+     * @param replacements the nodes to replace variables with keyed by variable name
+     * @return this node with the variables replaced
+     */
+    Node substitute(Map<String, Node> replacements);
+
+    /**
+     * A numeric literal or named constant.
+     *
+     * @param value the exact value
+     */
+    record Constant(BigDecimal value) implements Node {
+        /**
+         * Constructs a new constant node.
+         */
+        public Constant {
+            Preconditions.checkNotNull(value);
+        }
+
+        @Override
+        public void collectVariables(Set<String> variables) {}
+
+        @Override
+        public Node substitute(Map<String, Node> replacements) {
+            return this;
+        }
+    }
+
+    /**
+     * A reference to a variable.
+     *
+     * @param name the name of the variable
+     */
+    record Variable(String name) implements Node {
+        /**
+         * Constructs a new variable node.
+         */
+        public Variable {
+            Preconditions.checkNotNull(name);
+        }
+
+        @Override
+        public void collectVariables(Set<String> variables) {
+            variables.add(name);
+        }
+
+        @Override
+        public Node substitute(Map<String, Node> replacements) {
+            return replacements.getOrDefault(name, this);
+        }
+    }
+
+    /**
+     * The negation of an operand.
+     *
+     * @param operand the operand
+     */
+    record Negate(Node operand) implements Node {
+        /**
+         * Constructs a new negation node.
+         */
+        public Negate {
+            Preconditions.checkNotNull(operand);
+        }
+
+        @Override
+        public void collectVariables(Set<String> variables) {
+            operand.collectVariables(variables);
+        }
+
+        @Override
+        public Node substitute(Map<String, Node> replacements) {
+            return new Negate(operand.substitute(replacements));
+        }
+    }
+
+    /**
+     * A binary operation.
+     *
+     * @param operator the operator
+     * @param left     the left operand
+     * @param right    the right operand
+     */
+    record Binary(BinaryOperator operator, Node left, Node right) implements Node {
+        /**
+         * Constructs a new binary operation node.
+         */
+        public Binary {
+            Preconditions.checkNotNull(operator);
+            Preconditions.checkNotNull(left);
+            Preconditions.checkNotNull(right);
+        }
+
+        @Override
+        public void collectVariables(Set<String> variables) {
+            left.collectVariables(variables);
+            right.collectVariables(variables);
+        }
+
+        @Override
+        public Node substitute(Map<String, Node> replacements) {
+            return new Binary(operator, left.substitute(replacements), right.substitute(replacements));
+        }
+    }
+
+    /**
+     * A call of a builtin function. Calls of user functions are inlined when parsed.
+     *
+     * @param function  the function
+     * @param arguments the arguments
+     */
+    record Call(BuiltinFunction function, ImmutableList<Node> arguments) implements Node {
+        /**
+         * Constructs a new function call node.
+         */
+        public Call {
+            Preconditions.checkNotNull(function);
+            Preconditions.checkNotNull(arguments);
+        }
+
+        @Override
+        public void collectVariables(Set<String> variables) {
+            arguments.forEach(argument -> argument.collectVariables(variables));
+        }
+
+        @Override
+        public Node substitute(Map<String, Node> replacements) {
+            return new Call(function, arguments.stream()
+                    .map(argument -> argument.substitute(replacements))
+                    .collect(ImmutableList.toImmutableList()));
+        }
+    }
+
+    /**
+     * The binary operators of expressions.
+     */
+    enum BinaryOperator {
+        /**
+         * Addition.
+         */
+        ADD,
+        /**
+         * Subtraction.
+         */
+        SUBTRACT,
+        /**
+         * Multiplication.
+         */
+        MULTIPLY,
+        /**
+         * Division.
+         */
+        DIVIDE,
+        /**
+         * The remainder of division.
+         */
+        REMAINDER,
+        /**
+         * Exponentiation.
+         */
+        POWER
+    }
+}
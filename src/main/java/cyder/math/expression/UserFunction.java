@@ -0,0 +1,31 @@
+package cyder.math.expression;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+
+/**
+ * A function defined by the user whose calls are inlined into the expressions calling it.
+ *
+ * @param name       the name of the function
+ * @param parameters the names of the parameters
+ * @param body       the body with calls of other user functions already inlined
+ */
+record UserFunction(String name, ImmutableList<String> parameters, Node body) {
+    /**
+     * Constructs a new user function.
+     */
+    UserFunction {
+        Preconditions.checkNotNull(name);
+        Preconditions.checkNotNull(parameters);
+        Preconditions.checkNotNull(body);
+    }
+
+    /**
+     * Returns the signature of this function such as "f(x, y)".
+     *
+     * @return the signature of this function
+     */
+    String signature() {
+        return name + "(" + String.join(", ", parameters) + ")";
+    }
+}
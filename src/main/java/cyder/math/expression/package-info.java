@@ -0,0 +1,4 @@
+/**
+ * Parsing, compilation, and evaluation of mathematical expressions.
+ */
+package cyder.math.expression;
@@ -1,10 +1,8 @@
 package cyder.messaging;
 
 import com.google.common.base.Preconditions;
-import cyder.audio.AudioUtil;
-import cyder.audio.WaveFile;
+import cyder.audio.WaveformPeaks;
 import cyder.constants.CyderColors;
-import cyder.enumerations.Extension;
 import cyder.exceptions.FatalException;
 import cyder.exceptions.IllegalMethodException;
 import cyder.files.FileUtil;
@@ -20,11 +18,8 @@ import javax.swing.border.LineBorder;
 import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.io.File;
-import java.util.Optional;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Utilities related to the messaging client.
@@ -106,11 +101,6 @@ public final class MessagingUtil {
      */
     private static final String SAVE = "Save";
 
-    /**
-     * The number denoting a value should be interpolated.
-     */
-    private static final int interpolationNeededValue = -69;
-
     /**
      * The name of the executor service which waits for the waveform image to finish generation.
      */
@@ -164,6 +154,9 @@ public final class MessagingUtil {
 
     /**
      * Generates a png depicting the waveform of the provided wav or mp3 file.
+     * Each column of the image spans the minimum and maximum sample values of the
+     * corresponding slice of the audio. The {@link WaveformPeaks} of the audio file are
+     * read from its peak file if present meaning previously seen files are not decoded again.
      *
      * @param wavOrMp3File    the wav or mp3 file
      * @param width           the width of the image
@@ -172,7 +165,6 @@ public final class MessagingUtil {
      * @param waveColor       the color of the waveform
      * @return the generated waveform image
      */
-    @SuppressWarnings("UnusedAssignment") /* Freeing resource */
     public static Future<BufferedImage> generateWaveform(final File wavOrMp3File,
                                                          final int width, final int height,
                                                          final Color backgroundColor, final Color waveColor) {
@@ -186,107 +178,32 @@ public final class MessagingUtil {
         Preconditions.checkNotNull(waveColor);
         Preconditions.checkArgument(!backgroundColor.equals(waveColor));
 
-        AtomicReference<File> wavOrMp3FileReference = new AtomicReference<>(wavOrMp3File);
-        AtomicInteger widthReference = new AtomicInteger(width);
-        AtomicInteger heightReference = new AtomicInteger(height);
-
         return Executors.newSingleThreadExecutor(new CyderThreadFactory(waveformGeneratorThreadName)).submit(() -> {
-            try {
-                if (FileUtil.validateExtension(wavOrMp3FileReference.get(), Extension.MP3.getExtension())) {
-                    Future<Optional<File>> futureWav = AudioUtil.mp3ToWav(wavOrMp3FileReference.get());
-                    while (!futureWav.isDone()) Thread.onSpinWait();
-                    if (futureWav.get().isPresent()) wavOrMp3FileReference.set(futureWav.get().get());
-                }
-            } catch (Exception e) {
-                ExceptionHandler.handle(e);
-            }
+            WaveformPeaks.Buckets buckets = WaveformPeaks.forAudioFile(wavOrMp3File).toBuckets(width);
 
-            if (FileUtil.validateExtension(wavOrMp3FileReference.get(), Extension.MP3.getExtension())) {
-                throw new FatalException("Failed to convert mp3 to wav");
-            }
+            float maxAmplitude = buckets.getMaxAmplitude();
+            if (maxAmplitude == 0.0f) maxAmplitude = 1.0f;
+            int centerY = height / 2;
+            float scale = (height / 2.0f - 1) / maxAmplitude;
 
-            BufferedImage ret =
-                    new BufferedImage(widthReference.get(), heightReference.get(), BufferedImage.TYPE_INT_RGB);
+            BufferedImage ret = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
             Graphics2D g2d = ret.createGraphics();
 
-            WaveFile wav;
-            try {
-                wav = new WaveFile(wavOrMp3FileReference.get());
-            } catch (Exception e) {
-                throw new FatalException(e.getMessage());
-            }
-
-            int numFrames = (int) wav.getNumFrames();
-            if (numFrames < widthReference.get()) {
-                widthReference.set(numFrames);
-            }
-
-            int[] nonNormalizedSamples = new int[widthReference.get()];
-
-            int sampleLocationIncrement = (int) Math.ceil(numFrames / (double) widthReference.get());
-
-            int maxAmplitude = 0;
-            int nonNormalizedSamplesIndex = 0;
-            for (int i = 0 ; i < numFrames ; i += sampleLocationIncrement) {
-                maxAmplitude = Math.max(maxAmplitude, wav.getSample(i));
-
-                nonNormalizedSamples[nonNormalizedSamplesIndex] = wav.getSample(i);
-                nonNormalizedSamplesIndex++;
-            }
-
             g2d.setPaint(backgroundColor);
-            g2d.fillRect(0, 0, widthReference.get(), heightReference.get());
+            g2d.fillRect(0, 0, width, height);
             g2d.setColor(waveColor);
 
-            int[] normalizedSamples = new int[widthReference.get()];
-            for (int i = 0 ; i < nonNormalizedSamples.length ; i++) {
-                int normalizedValue = (int) ((nonNormalizedSamples[i] / (double) maxAmplitude) * heightReference.get());
-                if (normalizedValue > heightReference.get() / 2) normalizedValue = interpolationNeededValue;
-                normalizedSamples[i] = normalizedValue;
-            }
-
-            // Loop through samples and interpolate where needed
-            for (int i = 0 ; i < normalizedSamples.length ; i++) {
-                int currentSample = normalizedSamples[i];
-                if (currentSample != interpolationNeededValue) continue;
-
-                int nextValue = 0;
-                for (int j = i ; j < normalizedSamples.length ; j++) {
-                    int currentNextValue = normalizedSamples[j];
-                    if (currentNextValue != interpolationNeededValue) {
-                        nextValue = currentNextValue;
-                        break;
-                    }
-                }
-
-                // Last value that isn't an interpolation value
-                int lastValue = 0;
-                for (int j = i ; j >= 0 ; j--) {
-                    int currentLastValue = normalizedSamples[j];
-                    if (currentLastValue != interpolationNeededValue) {
-                        lastValue = currentLastValue;
-                        break;
-                    }
-                }
-
-                normalizedSamples[i] = (nextValue + lastValue) / 2;
-            }
-
             // Draw center line
-            for (int i = 0 ; i < widthReference.get() ; i++) {
-                g2d.drawLine(i, heightReference.get() / 2, i, heightReference.get() / 2);
-            }
+            g2d.drawLine(0, centerY, width - 1, centerY);
 
-            // Paint wave extending upwards and downwards
-            for (int i = 0 ; i < normalizedSamples.length ; i++) {
-                g2d.drawLine(i, heightReference.get() / 2, i, heightReference.get() / 2 + normalizedSamples[i]);
-                g2d.drawLine(i, heightReference.get() / 2 - normalizedSamples[i], i, heightReference.get() / 2);
+            // Paint wave from each column's minimum to its maximum
+            for (int i = 0 ; i < width ; i++) {
+                int top = centerY - Math.round(buckets.maximums()[i] * scale);
+                int bottom = centerY - Math.round(buckets.minimums()[i] * scale);
+                g2d.drawLine(i, top, i, bottom);
             }
 
-            wavOrMp3FileReference.set(null);
-            wav.stop();
-            wav = null;
-
+            g2d.dispose();
             return ret;
         });
     }
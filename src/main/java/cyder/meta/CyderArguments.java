@@ -12,7 +12,12 @@ public enum CyderArguments {
     /**
      * The argument to indicate an instance was started via a boostrap.
      */
-    BOOSTRAP("boostrap");
+    BOOSTRAP("boostrap"),
+
+    /**
+     * The argument to hand a resource off to an already running instance to open.
+     */
+    OPEN("open");
 
     /**
      * A double dash for full parameter construction.
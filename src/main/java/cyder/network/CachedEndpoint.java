@@ -0,0 +1,119 @@
+package cyder.network;
+
+import com.google.common.base.Preconditions;
+import cyder.enumerations.Dynamic;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * The external API endpoints whose responses are cached, each with the maximum age
+ * of a cached response to serve without contacting the server.
+ */
+public enum CachedEndpoint {
+    /**
+     * Open Weather Map current weather, expiring before the weather widget's five minute refresh.
+     */
+    WEATHER(Duration.ofMinutes(4)),
+
+    /**
+     * MapQuest static map images.
+     */
+    MAP_VIEW(Duration.ofDays(7)),
+
+    /**
+     * GitHub repository issues.
+     */
+    GITHUB_ISSUES(Duration.ofMinutes(15)),
+
+    /**
+     * IP data of this machine.
+     */
+    IP_DATA(Duration.ofHours(1)),
+
+    /**
+     * National Map elevation queries.
+     */
+    ELEVATION(Duration.ofDays(30));
+
+    /**
+     * The maximum number of body bytes held in memory by the shared cache.
+     */
+    private static final long MEMORY_CAPACITY_BYTES = 1 << 24;
+
+    /**
+     * The maximum number of bytes held on disk by the shared cache.
+     */
+    private static final long DISK_CAPACITY_BYTES = 1 << 26;
+
+    /**
+     * The lazily constructed cache shared by all endpoints.
+     */
+    private static final class SharedCache {
+        /**
+         * The cache shared by all endpoints.
+         */
+        private static final ResponseCache INSTANCE = new ResponseCache(
+                Dynamic.buildDynamic(Dynamic.RESPONSE_CACHE.getFileName()), MEMORY_CAPACITY_BYTES,
+                DISK_CAPACITY_BYTES, Clock.systemUTC());
+    }
+
+    /**
+     * The maximum age of a cached response to serve without contacting the server.
+     */
+    private final Duration ttl;
+
+    CachedEndpoint(Duration ttl) {
+        this.ttl = ttl;
+    }
+
+    /**
+     * Returns the maximum age of a cached response to serve without contacting the server.
+     *
+     * @return the maximum age of a cached response to serve without contacting the server
+     */
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    /**
+     * Returns the body of the response to a GET request of the provided uri of this endpoint,
+     * served from the cache if a response younger than this endpoint's time to live exists.
+     *
+     * @param uri the uri
+     * @return the body of the response
+     * @throws IOException if the request fails and no cached response exists
+     */
+    public byte[] get(URI uri) throws IOException {
+        Preconditions.checkNotNull(uri);
+
+        return SharedCache.INSTANCE.get(uri, ttl);
+    }
+
+    /**
+     * Returns the body of the response to a GET request of the provided uri of this endpoint decoded as UTF-8,
+     * served from the cache if a response younger than this endpoint's time to live exists.
+     *
+     * @param uri the uri
+     * @return the body of the response
+     * @throws IOException if the request fails and no cached response exists
+     */
+    public String getString(URI uri) throws IOException {
+        Preconditions.checkNotNull(uri);
+
+        return SharedCache.INSTANCE.getString(uri, ttl);
+    }
+
+    /**
+     * Removes the cached response to the provided uri of this endpoint.
+     *
+     * @param uri the uri
+     */
+    public void invalidate(URI uri) {
+        Preconditions.checkNotNull(uri);
+
+        SharedCache.INSTANCE.invalidate(uri);
+    }
+}
@@ -0,0 +1,157 @@
+package cyder.network;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Range;
+import cyder.exceptions.IllegalMethodException;
+import cyder.strings.CyderStrings;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * Utilities for making HTTP requests through a single shared {@link HttpClient}, allowing connections
+ * to be reused across requests instead of opening a new connection per request.
+ */
+public final class HttpUtil {
+    /**
+     * The maximum time to wait for a connection to be established.
+     */
+    public static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(10);
+
+    /**
+     * The default maximum time to wait for a response after sending a request.
+     */
+    public static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    /**
+     * The size of the buffers used when streaming response bodies.
+     */
+    public static final int STREAM_BUFFER_SIZE = 1 << 16;
+
+    /**
+     * The response codes indicating success.
+     */
+    public static final Range<Integer> SUCCESSFUL_RESPONSE_CODES = Range.closed(
+            NetworkUtil.MIN_SUCCESSFUL_RESPONSE_CODE, NetworkUtil.MAX_SUCCESSFUL_RESPONSE_CODE);
+
+    /**
+     * The user agent sent with requests.
+     */
+    private static final String USER_AGENT = "Cyder";
+
+    /**
+     * The user agent header.
+     */
+    private static final String USER_AGENT_HEADER = "User-Agent";
+
+    /**
+     * The shared client used for all requests.
+     */
+    private static final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(CONNECT_TIMEOUT)
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .build();
+
+    /**
+     * Suppress default constructor.
+     */
+    private HttpUtil() {
+        throw new IllegalMethodException(CyderStrings.ATTEMPTED_INSTANTIATION);
+    }
+
+    /**
+     * Returns the shared HTTP client.
+     *
+     * @return the shared HTTP client
+     */
+    public static HttpClient getClient() {
+        return client;
+    }
+
+    /**
+     * Returns a new request builder for the provided uri with the default timeout and headers set.
+     *
+     * @param uri the uri
+     * @return a new request builder
+     */
+    public static HttpRequest.Builder newRequest(URI uri) {
+        Preconditions.checkNotNull(uri);
+
+        return HttpRequest.newBuilder(uri)
+                .timeout(REQUEST_TIMEOUT)
+                .header(USER_AGENT_HEADER, USER_AGENT);
+    }
+
+    /**
+     * Sends the provided request using the shared client.
+     *
+     * @param request     the request
+     * @param bodyHandler the handler of the response body
+     * @param <T>         the type of the response body
+     * @return the response
+     * @throws IOException if an I/O exception occurs or the current thread is interrupted
+     */
+    public static <T> HttpResponse<T> send(HttpRequest request,
+                                           HttpResponse.BodyHandler<T> bodyHandler) throws IOException {
+        Preconditions.checkNotNull(request);
+        Preconditions.checkNotNull(bodyHandler);
+
+        try {
+            return client.send(request, bodyHandler);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while sending request: " + request.uri(), e);
+        }
+    }
+
+    /**
+     * Sends a GET request to the provided uri and returns the response body as a string.
+     *
+     * @param uri the uri
+     * @return the response body
+     * @throws IOException if an I/O exception occurs or the response code does not indicate success
+     */
+    public static String getString(URI uri) throws IOException {
+        HttpResponse<String> response = send(newRequest(uri).GET().build(), HttpResponse.BodyHandlers.ofString());
+        checkSuccessful(response);
+        return response.body();
+    }
+
+    /**
+     * Sends a GET request to the provided uri and returns the response with the body as a stream.
+     * The caller is responsible for closing the stream.
+     *
+     * @param uri the uri
+     * @return the response
+     * @throws IOException if an I/O exception occurs or the response code does not indicate success
+     */
+    public static HttpResponse<InputStream> getStream(URI uri) throws IOException {
+        HttpResponse<InputStream> response = send(newRequest(uri).GET().build(),
+                HttpResponse.BodyHandlers.ofInputStream());
+        if (!SUCCESSFUL_RESPONSE_CODES.contains(response.statusCode())) {
+            response.body().close();
+            checkSuccessful(response);
+        }
+        return response;
+    }
+
+    /**
+     * Throws an exception if the provided response's code does not indicate success.
+     *
+     * @param response the response
+     * @throws IOException if the response code does not indicate success
+     */
+    public static void checkSuccessful(HttpResponse<?> response) throws IOException {
+        Preconditions.checkNotNull(response);
+
+        int statusCode = response.statusCode();
+        if (!SUCCESSFUL_RESPONSE_CODES.contains(statusCode)) {
+            throw new IOException("Unsuccessful response code " + statusCode + " from " + response.uri());
+        }
+    }
+}
@@ -11,10 +11,8 @@ import cyder.props.Props;
 import cyder.strings.StringUtil;
 import cyder.utils.SerializationUtil;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.net.URL;
+import java.net.URI;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -79,8 +77,9 @@ public enum IpDataManager {
 
         String url = CyderUrls.IPDATA_BASE + key;
 
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new URL(url).openStream()))) {
-            return Optional.of(SerializationUtil.fromJson(reader, IpData.class));
+        try {
+            return Optional.of(SerializationUtil.fromJson(CachedEndpoint.IP_DATA.getString(URI.create(url)),
+                    IpData.class));
         } catch (IOException e) {
             ExceptionHandler.handle(e);
         }
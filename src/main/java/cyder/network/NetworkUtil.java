@@ -1,6 +1,7 @@
 package cyder.network;
 
 import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Range;
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import com.google.errorprone.annotations.CheckReturnValue;
@@ -23,7 +24,10 @@ import java.io.*;
 import java.net.HttpURLConnection;
 import java.net.InetAddress;
 import java.net.ServerSocket;
+import java.net.URI;
+import java.net.URISyntaxException;
 import java.net.URL;
+import java.net.http.HttpResponse;
 import java.time.Duration;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -249,7 +253,19 @@ public final class NetworkUtil {
     }
 
     /**
-     * Reads from the provided url and returns the response.
+     * The schemes of urls read using the shared {@link HttpUtil} client.
+     */
+    private static final ImmutableSet<String> HTTP_SCHEMES = ImmutableSet.of("http", "https");
+
+    /**
+     * The size of the buffer when reading a url not read using the shared {@link HttpUtil} client.
+     */
+    private static final int READ_URL_BUFFER_SIZE = 1024;
+
+    /**
+     * Reads from the provided url and returns the response. Http urls are read using the shared
+     * {@link HttpUtil} client, other urls using {@link URL#openStream()}. As with {@link URL#openStream()},
+     * the body of any http response with a code below {@link HttpURLConnection#HTTP_BAD_REQUEST} is returned.
      *
      * @param urlString the string of the url to ping and get contents from
      * @return the resulting url response
@@ -260,23 +276,58 @@ public final class NetworkUtil {
         Preconditions.checkArgument(!urlString.isEmpty());
 
         try {
-            URL url = new URL(urlString);
-            BufferedReader reader = new BufferedReader(new InputStreamReader(url.openStream()));
+            Optional<URI> httpUri = toHttpUri(urlString);
+            if (httpUri.isEmpty()) return readUrlStream(new URL(urlString));
+
+            HttpResponse<String> response = HttpUtil.send(HttpUtil.newRequest(httpUri.get()).GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() >= HttpURLConnection.HTTP_BAD_REQUEST) {
+                throw new IOException("Response code " + response.statusCode() + " from " + urlString);
+            }
+            return response.body();
+        } catch (Exception e) {
+            ExceptionHandler.handle(e);
+        }
+
+        throw new FatalException("Error reading from url: " + urlString);
+    }
+
+    /**
+     * Returns the uri of the provided url if it is a valid http or https uri.
+     *
+     * @param urlString the url
+     * @return the uri of the url, empty if not a valid http or https uri
+     */
+    private static Optional<URI> toHttpUri(String urlString) {
+        try {
+            URI uri = new URI(urlString);
+            String scheme = uri.getScheme();
+            if (scheme == null || !HTTP_SCHEMES.contains(scheme.toLowerCase())) return Optional.empty();
+            return Optional.of(uri);
+        } catch (URISyntaxException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Reads the contents of the provided url using {@link URL#openStream()}.
+     *
+     * @param url the url
+     * @return the contents of the url
+     * @throws IOException if the url cannot be read
+     */
+    private static String readUrlStream(URL url) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(url.openStream()))) {
             StringBuilder sb = new StringBuilder();
             int read;
-            char[] chars = new char[DOWNLOAD_RESOURCE_BUFFER_SIZE];
+            char[] chars = new char[READ_URL_BUFFER_SIZE];
 
             while ((read = reader.read(chars)) != -1) {
                 sb.append(chars, 0, read);
             }
 
-            reader.close();
             return sb.toString();
-        } catch (Exception e) {
-            ExceptionHandler.handle(e);
         }
-
-        throw new FatalException("Error reading from url: " + urlString);
     }
 
     /**
@@ -315,18 +366,15 @@ public final class NetworkUtil {
     }
 
     /**
-     * The size of the buffer when downloading resources from a Url or reading a Url.
-     */
-    public static final int DOWNLOAD_RESOURCE_BUFFER_SIZE = 1024;
-
-    /**
-     * Downloads the resource at the provided link and save it to the provided file.
+     * Downloads the resource at the provided link and save it to the provided file using a
+     * {@link ResumableDownload}, meaning a failed download of the same resource resumes where it stopped.
      * Note this method is blocking, invocation of it should be in a
      * surrounding thread as to not block the primary thread.
      *
      * @param urlResource   the link to download the file from
      * @param referenceFile the file to save the resource to
      * @return whether the downloading concluded without errors
+     * @throws IOException if the directory of the reference file could not be created
      */
     public static boolean downloadResource(String urlResource, File referenceFile) throws IOException {
         Preconditions.checkNotNull(urlResource);
@@ -335,31 +383,14 @@ public final class NetworkUtil {
         Preconditions.checkNotNull(referenceFile);
         Preconditions.checkArgument(!referenceFile.exists());
 
-        boolean created = false;
-
-        if (!referenceFile.exists()) {
-            try {
-                created = referenceFile.createNewFile();
-            } catch (Exception e) {
-                ExceptionHandler.handle(e);
-                return false;
-            }
-        }
-
-        if (!created) {
-            throw new IOException("Could not create reference file: " + referenceFile);
+        File parent = referenceFile.getAbsoluteFile().getParentFile();
+        if (!parent.exists() && !parent.mkdirs()) {
+            throw new IOException("Could not create directory of reference file: " + referenceFile);
         }
 
-        try (BufferedInputStream in = new BufferedInputStream(new URL(urlResource).openStream()) ;
-             FileOutputStream fileOutputStream = new FileOutputStream(referenceFile)) {
-
-            byte[] dataBuffer = new byte[DOWNLOAD_RESOURCE_BUFFER_SIZE];
-            int bytesRead;
-
-            while ((bytesRead = in.read(dataBuffer, 0, DOWNLOAD_RESOURCE_BUFFER_SIZE)) != -1) {
-                fileOutputStream.write(dataBuffer, 0, bytesRead);
-            }
-        } catch (IOException e) {
+        try {
+            new ResumableDownload.Builder(URI.create(urlResource), referenceFile).build().download();
+        } catch (IOException | IllegalArgumentException e) {
             ExceptionHandler.handle(e);
             return false;
         }
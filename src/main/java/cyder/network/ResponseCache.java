@@ -0,0 +1,509 @@
+package cyder.network;
+
+import com.google.common.base.Preconditions;
+import cyder.files.FileUtil;
+import cyder.logging.LogTag;
+import cyder.logging.Logger;
+import cyder.utils.SecurityUtil;
+
+import java.io.*;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A two tier cache of HTTP GET responses keyed by uri.
+ * <p>
+ * Responses are held in a size bounded in-memory LRU tier backed by a size bounded persistent LRU disk tier,
+ * meaning responses survive restarts. Disk entries are named and verified by the hash of their uri, and the uri
+ * itself is never written as it may contain API keys. Entries which are unreadable or older than
+ * {@link #MAXIMUM_DISK_AGE} are deleted when loaded. A response younger than the time to live of the request is served without
+ * contacting the server. Expired responses are revalidated using the ETag and Last-Modified validators
+ * the server provided, and concurrent requests for the same uri share a single network request.
+ * If revalidation fails due to a network error, the expired response is served.
+ */
+final class ResponseCache {
+    /**
+     * The magic number identifying a cache entry file.
+     */
+    private static final int MAGIC = 0x52434348;
+
+    /**
+     * The version of the cache entry file format.
+     */
+    private static final byte VERSION = 2;
+
+    /**
+     * The extension of cache entry files.
+     */
+    private static final String ENTRY_EXTENSION = ".entry";
+
+    /**
+     * The maximum age of a disk entry, beyond which it is deleted rather than revalidated.
+     */
+    static final Duration MAXIMUM_DISK_AGE = Duration.ofDays(30);
+
+    /**
+     * The entity tag response header.
+     */
+    private static final String ETAG = "ETag";
+
+    /**
+     * The last modified response header.
+     */
+    private static final String LAST_MODIFIED = "Last-Modified";
+
+    /**
+     * The conditional request header for entity tags.
+     */
+    private static final String IF_NONE_MATCH = "If-None-Match";
+
+    /**
+     * The conditional request header for modification dates.
+     */
+    private static final String IF_MODIFIED_SINCE = "If-Modified-Since";
+
+    /**
+     * The response code indicating a cached response is still valid.
+     */
+    private static final int NOT_MODIFIED = 304;
+
+    /**
+     * A cached response.
+     *
+     * @param key          the cache key of the request
+     * @param body         the body of the response
+     * @param storedMillis the epoch millisecond the response was received or last revalidated
+     * @param etag         the entity tag of the response, empty if not provided
+     * @param lastModified the last modified date of the response, empty if not provided
+     */
+    private record CachedResponse(String key, byte[] body, long storedMillis, String etag, String lastModified) {
+        /**
+         * Returns whether this response is younger than the provided time to live.
+         *
+         * @param ttl       the time to live
+         * @param nowMillis the current epoch millisecond
+         * @return whether this response is fresh
+         */
+        boolean isFresh(Duration ttl, long nowMillis) {
+            return nowMillis - storedMillis < ttl.toMillis();
+        }
+    }
+
+    /**
+     * The directory of the disk tier.
+     */
+    private final File directory;
+
+    /**
+     * The maximum number of body bytes held by the memory tier.
+     */
+    private final long memoryCapacityBytes;
+
+    /**
+     * The maximum number of bytes of entry files held by the disk tier.
+     */
+    private final long diskCapacityBytes;
+
+    /**
+     * The clock used to determine the age of responses.
+     */
+    private final Clock clock;
+
+    /**
+     * The memory tier in least recently used order, guarded by itself.
+     */
+    private final LinkedHashMap<String, CachedResponse> memory = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * The number of body bytes held by the memory tier, guarded by {@link #memory}.
+     */
+    private long memoryBytes;
+
+    /**
+     * The lengths of the disk tier's entry files keyed by cache key in least recently used order,
+     * loaded from the directory on first use, guarded by itself.
+     */
+    private final LinkedHashMap<String, Long> disk = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * The number of bytes of entry files held by the disk tier, guarded by {@link #disk}.
+     */
+    private long diskBytes;
+
+    /**
+     * Whether the disk tier's entries have been loaded from the directory, guarded by {@link #disk}.
+     */
+    private boolean diskLoaded;
+
+    /**
+     * The in-flight network requests keyed by cache key.
+     */
+    private final ConcurrentHashMap<String, CompletableFuture<CachedResponse>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a new response cache.
+     *
+     * @param directory           the directory of the disk tier
+     * @param memoryCapacityBytes the maximum number of body bytes held by the memory tier
+     * @param diskCapacityBytes   the maximum number of bytes of entry files held by the disk tier
+     * @param clock               the clock used to determine the age of responses
+     */
+    ResponseCache(File directory, long memoryCapacityBytes, long diskCapacityBytes, Clock clock) {
+        Preconditions.checkNotNull(directory);
+        Preconditions.checkArgument(memoryCapacityBytes >= 0);
+        Preconditions.checkArgument(diskCapacityBytes >= 0);
+        Preconditions.checkNotNull(clock);
+
+        this.directory = directory;
+        this.memoryCapacityBytes = memoryCapacityBytes;
+        this.diskCapacityBytes = diskCapacityBytes;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the body of the response to a GET request of the provided uri, served
+     * from the cache if a response younger than the provided time to live exists.
+     *
+     * @param uri the uri
+     * @param ttl the maximum age of a cached response to serve without contacting the server
+     * @return the body of the response
+     * @throws IOException if the request fails and no cached response exists
+     */
+    byte[] get(URI uri, Duration ttl) throws IOException {
+        Preconditions.checkNotNull(uri);
+        Preconditions.checkNotNull(ttl);
+
+        String key = keyOf(uri);
+        Optional<CachedResponse> cached = lookup(key);
+        if (cached.isPresent() && cached.get().isFresh(ttl, clock.millis())) return cached.get().body();
+
+        CompletableFuture<CachedResponse> request = new CompletableFuture<>();
+        CompletableFuture<CachedResponse> existing = inFlight.putIfAbsent(key, request);
+        if (existing != null) return await(existing).body();
+
+        try {
+            request.complete(fetch(key, uri, cached));
+        } catch (IOException | RuntimeException e) {
+            request.completeExceptionally(e);
+        } finally {
+            inFlight.remove(key, request);
+        }
+
+        return await(request).body();
+    }
+
+    /**
+     * Returns the body of the response to a GET request of the provided uri decoded as UTF-8.
+     *
+     * @param uri the uri
+     * @param ttl the maximum age of a cached response to serve without contacting the server
+     * @return the body of the response
+     * @throws IOException if the request fails and no cached response exists
+     */
+    String getString(URI uri, Duration ttl) throws IOException {
+        return new String(get(uri, ttl), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Removes the cached response to the provided uri from both tiers.
+     *
+     * @param uri the uri
+     */
+    void invalidate(URI uri) {
+        Preconditions.checkNotNull(uri);
+
+        String key = keyOf(uri);
+        synchronized (memory) {
+            CachedResponse removed = memory.remove(key);
+            if (removed != null) memoryBytes -= removed.body().length;
+        }
+
+        deleteFromDisk(key);
+    }
+
+    /**
+     * Waits for the provided request to complete.
+     *
+     * @param request the request
+     * @return the response
+     * @throws IOException if the request failed
+     */
+    private static CachedResponse await(CompletableFuture<CachedResponse> request) throws IOException {
+        try {
+            return request.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException ioException) throw ioException;
+            if (e.getCause() instanceof RuntimeException runtimeException) throw runtimeException;
+            throw new IOException(e.getCause());
+        }
+    }
+
+    /**
+     * Requests the provided uri, conditionally if a cached response with validators exists,
+     * and stores the resulting response in both tiers.
+     *
+     * @param key    the cache key
+     * @param uri    the uri
+     * @param cached the expired cached response if present
+     * @return the fresh response
+     * @throws IOException if the request fails and no cached response exists
+     */
+    private CachedResponse fetch(String key, URI uri, Optional<CachedResponse> cached) throws IOException {
+        HttpRequest.Builder requestBuilder = HttpUtil.newRequest(uri).GET();
+        cached.ifPresent(response -> {
+            if (!response.etag().isEmpty()) requestBuilder.header(IF_NONE_MATCH, response.etag());
+            if (!response.lastModified().isEmpty()) requestBuilder.header(IF_MODIFIED_SINCE, response.lastModified());
+        });
+
+        HttpResponse<byte[]> response;
+        try {
+            response = HttpUtil.send(requestBuilder.build(), HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() != NOT_MODIFIED || cached.isEmpty()) HttpUtil.checkSuccessful(response);
+        } catch (IOException e) {
+            if (cached.isEmpty()) throw e;
+            Logger.log(LogTag.NETWORK, "Serving expired response for " + uri + " after failure: " + e.getMessage());
+            return cached.get();
+        }
+
+        String etag = response.headers().firstValue(ETAG).orElse("");
+        String lastModified = response.headers().firstValue(LAST_MODIFIED).orElse("");
+
+        CachedResponse fresh;
+        if (response.statusCode() == NOT_MODIFIED) {
+            CachedResponse previous = cached.get();
+            fresh = new CachedResponse(previous.key(), previous.body(), clock.millis(),
+                    etag.isEmpty() ? previous.etag() : etag,
+                    lastModified.isEmpty() ? previous.lastModified() : lastModified);
+        } else {
+            fresh = new CachedResponse(key, response.body(), clock.millis(), etag, lastModified);
+        }
+
+        putInMemory(key, fresh);
+        writeToDisk(key, fresh);
+        return fresh;
+    }
+
+    /**
+     * Returns the cached response for the provided key from the memory tier, falling back to the disk tier.
+     *
+     * @param key the cache key
+     * @return the cached response if present
+     */
+    private Optional<CachedResponse> lookup(String key) {
+        synchronized (memory) {
+            CachedResponse response = memory.get(key);
+            if (response != null) return Optional.of(response);
+        }
+
+        Optional<CachedResponse> response = readFromDisk(key);
+        response.ifPresent(entry -> putInMemory(key, entry));
+        return response;
+    }
+
+    /**
+     * Stores the provided response in the memory tier, evicting the least recently used responses
+     * until the memory tier is within capacity.
+     *
+     * @param key      the cache key
+     * @param response the response
+     */
+    private void putInMemory(String key, CachedResponse response) {
+        if (response.body().length > memoryCapacityBytes) return;
+
+        synchronized (memory) {
+            CachedResponse previous = memory.put(key, response);
+            if (previous != null) memoryBytes -= previous.body().length;
+            memoryBytes += response.body().length;
+
+            Iterator<Map.Entry<String, CachedResponse>> eldest = memory.entrySet().iterator();
+            while (memoryBytes > memoryCapacityBytes && eldest.hasNext()) {
+                memoryBytes -= eldest.next().getValue().body().length;
+                eldest.remove();
+            }
+        }
+    }
+
+    /**
+     * Returns the file of the disk tier entry for the provided key.
+     *
+     * @param key the cache key
+     * @return the entry file
+     */
+    private File entryFile(String key) {
+        return new File(directory, key + ENTRY_EXTENSION);
+    }
+
+    /**
+     * Reads the disk tier entry for the provided key, marking it as most recently used. Entries which
+     * are unreadable, were written for a different key, or are older than {@link #MAXIMUM_DISK_AGE}
+     * are deleted.
+     *
+     * @param key the cache key
+     * @return the cached response if present, readable, and not too old
+     */
+    private Optional<CachedResponse> readFromDisk(String key) {
+        synchronized (disk) {
+            ensureDiskLoaded();
+            if (disk.get(key) == null) return Optional.empty();
+        }
+
+        File file = entryFile(key);
+        AtomicReference<CachedResponse> read = new AtomicReference<>();
+        try {
+            FileUtil.readVersioned(file, MAGIC, VERSION, in -> {
+                if (!in.readUTF().equals(key)) throw new IOException("Mismatched entry key");
+
+                long storedMillis = in.readLong();
+                String etag = in.readUTF();
+                String lastModified = in.readUTF();
+                byte[] body = new byte[in.readInt()];
+                in.readFully(body);
+                read.set(new CachedResponse(key, body, storedMillis, etag, lastModified));
+            });
+        } catch (IOException e) {
+            read.set(null);
+        }
+
+        CachedResponse response = read.get();
+        if (response == null) {
+            Logger.log(LogTag.NETWORK, "Discarding unreadable cached response: " + file.getName());
+            deleteFromDisk(key);
+            return Optional.empty();
+        }
+
+        if (clock.millis() - response.storedMillis() > MAXIMUM_DISK_AGE.toMillis()) {
+            deleteFromDisk(key);
+            return Optional.empty();
+        }
+
+        if (!file.setLastModified(System.currentTimeMillis())) {
+            Logger.log(LogTag.NETWORK, "Failed to mark cached response as used: " + file.getName());
+        }
+        return Optional.of(response);
+    }
+
+    /**
+     * Writes the provided response to the disk tier entry for the provided key, evicting the least
+     * recently used entries until the disk tier is within capacity.
+     *
+     * @param key      the cache key
+     * @param response the response
+     */
+    private void writeToDisk(String key, CachedResponse response) {
+        File file = entryFile(key);
+
+        try {
+            FileUtil.writeVersionedAtomically(file, MAGIC, VERSION, out -> {
+                out.writeUTF(key);
+                out.writeLong(response.storedMillis());
+                out.writeUTF(response.etag());
+                out.writeUTF(response.lastModified());
+                out.writeInt(response.body().length);
+                out.write(response.body());
+            });
+        } catch (IOException e) {
+            Logger.log(LogTag.NETWORK, "Failed to persist cached response: " + e.getMessage());
+            return;
+        }
+
+        synchronized (disk) {
+            ensureDiskLoaded();
+            if (file.length() > diskCapacityBytes) {
+                deleteFromDisk(key);
+            } else {
+                recordOnDisk(key, file.length());
+            }
+        }
+    }
+
+    /**
+     * Deletes the disk tier entry for the provided key.
+     *
+     * @param key the cache key
+     */
+    private void deleteFromDisk(String key) {
+        synchronized (disk) {
+            ensureDiskLoaded();
+            Long length = disk.remove(key);
+            if (length != null) diskBytes -= length;
+
+            try {
+                Files.deleteIfExists(entryFile(key).toPath());
+            } catch (IOException e) {
+                Logger.log(LogTag.NETWORK, "Failed to delete cached response: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Records the disk tier entry of the provided key as the most recently used, evicting the least recently
+     * used entries until the disk tier is within capacity. Must be invoked while holding {@link #disk}.
+     *
+     * @param key    the cache key
+     * @param length the length of the entry file
+     */
+    private void recordOnDisk(String key, long length) {
+        Long previous = disk.put(key, length);
+        if (previous != null) diskBytes -= previous;
+        diskBytes += length;
+
+        Iterator<Map.Entry<String, Long>> eldest = disk.entrySet().iterator();
+        while (diskBytes > diskCapacityBytes && eldest.hasNext()) {
+            Map.Entry<String, Long> entry = eldest.next();
+            if (entry.getKey().equals(key)) continue;
+
+            try {
+                Files.deleteIfExists(entryFile(entry.getKey()).toPath());
+            } catch (IOException e) {
+                Logger.log(LogTag.NETWORK, "Failed to evict cached response: " + e.getMessage());
+                continue;
+            }
+            diskBytes -= entry.getValue();
+            eldest.remove();
+        }
+    }
+
+    /**
+     * Loads the entries of the disk tier from the directory in order of last use if not yet loaded.
+     * Must be invoked while holding {@link #disk}.
+     */
+    private void ensureDiskLoaded() {
+        if (diskLoaded) return;
+        diskLoaded = true;
+
+        File[] entries = directory.listFiles(file -> file.isFile() && file.getName().endsWith(ENTRY_EXTENSION));
+        if (entries == null) return;
+
+        Arrays.sort(entries, Comparator.comparingLong(File::lastModified));
+        for (File entry : entries) {
+            String name = entry.getName();
+            recordOnDisk(name.substring(0, name.length() - ENTRY_EXTENSION.length()), entry.length());
+        }
+    }
+
+    /**
+     * Returns the cache key of the provided uri. Uris are hashed as they may contain API keys.
+     *
+     * @param uri the uri
+     * @return the cache key
+     */
+    private static String keyOf(URI uri) {
+        return HexFormat.of().formatHex(SecurityUtil.getSha256(uri.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+}
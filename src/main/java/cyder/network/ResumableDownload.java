@@ -0,0 +1,754 @@
+package cyder.network;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import cyder.files.FileUtil;
+import cyder.logging.LogTag;
+import cyder.logging.Logger;
+import cyder.threads.CyderThreadFactory;
+import cyder.threads.ThreadUtil;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A download of a remote resource to a local file which can be resumed after a failure.
+ * <p>
+ * If the server reports the length of the resource and accepts byte range requests, the resource is split into
+ * chunks fetched in parallel. Bytes are written to a {@code .part} file next to the destination and the progress
+ * of each chunk is recorded in a {@code .progress} file, allowing a later download of the same resource to the
+ * same destination to continue where a failed download stopped. Dropped connections are retried from the last
+ * byte received. The destination only appears once every byte has been received and the checksum, if provided,
+ * has been verified.
+ */
+public final class ResumableDownload {
+    /**
+     * A listener notified as bytes of a download are received.
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+        /**
+         * Invoked when bytes are received. May be invoked concurrently from the threads fetching chunks.
+         *
+         * @param downloadedBytes the number of bytes downloaded so far
+         * @param totalBytes      the total number of bytes of the resource, {@link #UNKNOWN_LENGTH} if unknown
+         */
+        void onProgress(long downloadedBytes, long totalBytes);
+    }
+
+    /**
+     * The length of a resource whose length is not known.
+     */
+    public static final long UNKNOWN_LENGTH = -1;
+
+    /**
+     * The extension of the file bytes are written to until the download completes.
+     */
+    private static final String PART_EXTENSION = ".part";
+
+    /**
+     * The extension of the file recording the progress of each chunk.
+     */
+    private static final String PROGRESS_EXTENSION = ".progress";
+
+    /**
+     * The HEAD request method.
+     */
+    private static final String HEAD = "HEAD";
+
+    /**
+     * The range request header.
+     */
+    private static final String RANGE = "Range";
+
+    /**
+     * The header conditioning a range request on the resource being unchanged.
+     */
+    private static final String IF_RANGE = "If-Range";
+
+    /**
+     * The header indicating the server accepts range requests.
+     */
+    private static final String ACCEPT_RANGES = "Accept-Ranges";
+
+    /**
+     * The content length header.
+     */
+    private static final String CONTENT_LENGTH = "Content-Length";
+
+    /**
+     * The entity tag header.
+     */
+    private static final String ETAG = "ETag";
+
+    /**
+     * The range unit of byte range requests.
+     */
+    private static final String BYTES = "bytes";
+
+    /**
+     * The response code of a response to a range request containing the requested range.
+     */
+    private static final int PARTIAL_CONTENT = 206;
+
+    /**
+     * The checksum algorithm.
+     */
+    private static final String SHA_256 = "SHA-256";
+
+    /**
+     * The number of bytes received between saves of the progress file.
+     */
+    private static final long PROGRESS_SAVE_INTERVAL = 1 << 22;
+
+    /**
+     * The remote resource to download.
+     */
+    private final URI uri;
+
+    /**
+     * The file to save the resource to.
+     */
+    private final File destination;
+
+    /**
+     * The file bytes are written to until the download completes.
+     */
+    private final File partFile;
+
+    /**
+     * The file recording the progress of each chunk.
+     */
+    private final File progressFile;
+
+    /**
+     * The maximum number of chunks to fetch in parallel.
+     */
+    private final int parallelChunks;
+
+    /**
+     * The minimum size of a chunk.
+     */
+    private final long minimumChunkSize;
+
+    /**
+     * The expected hex SHA-256 checksum of the resource, null if not verified.
+     */
+    private final String expectedSha256;
+
+    /**
+     * The listener notified as bytes are received.
+     */
+    private final ProgressListener progressListener;
+
+    /**
+     * The maximum number of times to retry a chunk after a failure.
+     */
+    private final int maxRetries;
+
+    /**
+     * The time to wait before the first retry of a chunk, increasing linearly with each retry.
+     */
+    private final Duration retryBackoff;
+
+    /**
+     * The total number of bytes downloaded.
+     */
+    private final AtomicLong downloadedBytes = new AtomicLong();
+
+    /**
+     * The number of bytes downloaded when the progress file was last saved.
+     */
+    private final AtomicLong lastSavedBytes = new AtomicLong();
+
+    /**
+     * The resource being downloaded as described by the server.
+     */
+    private RemoteResource resource;
+
+    /**
+     * The chunks of the resource being downloaded.
+     */
+    private ImmutableList<Chunk> chunks;
+
+    /**
+     * A remote resource as described by the server.
+     *
+     * @param length        the length of the resource, {@link #UNKNOWN_LENGTH} if unknown
+     * @param acceptsRanges whether the server accepts byte range requests
+     * @param etag          the entity tag of the resource
+     */
+    private record RemoteResource(long length, boolean acceptsRanges, Optional<String> etag) {}
+
+    /**
+     * A contiguous range of bytes of the resource fetched by a single request at a time.
+     */
+    private static final class Chunk {
+        /**
+         * The offset of the first byte of this chunk.
+         */
+        private final long start;
+
+        /**
+         * The offset following the last byte of this chunk, {@link #UNKNOWN_LENGTH} if the resource length is unknown.
+         */
+        private volatile long end;
+
+        /**
+         * The number of bytes of this chunk written to the part file.
+         */
+        private final AtomicLong downloaded;
+
+        /**
+         * Constructs a new chunk.
+         *
+         * @param start      the offset of the first byte
+         * @param end        the offset following the last byte
+         * @param downloaded the number of bytes already downloaded
+         */
+        private Chunk(long start, long end, long downloaded) {
+            this.start = start;
+            this.end = end;
+            this.downloaded = new AtomicLong(downloaded);
+        }
+
+        /**
+         * Returns whether every byte of this chunk has been downloaded.
+         *
+         * @return whether every byte of this chunk has been downloaded
+         */
+        private boolean isComplete() {
+            return end != UNKNOWN_LENGTH && start + downloaded.get() >= end;
+        }
+    }
+
+    /**
+     * Constructs a new resumable download.
+     *
+     * @param builder the builder to construct the download from
+     */
+    private ResumableDownload(Builder builder) {
+        this.uri = builder.uri;
+        this.destination = builder.destination;
+        this.partFile = new File(destination.getAbsolutePath() + PART_EXTENSION);
+        this.progressFile = new File(destination.getAbsolutePath() + PART_EXTENSION + PROGRESS_EXTENSION);
+        this.parallelChunks = builder.parallelChunks;
+        this.minimumChunkSize = builder.minimumChunkSize;
+        this.expectedSha256 = builder.expectedSha256;
+        this.progressListener = builder.progressListener;
+        this.maxRetries = builder.maxRetries;
+        this.retryBackoff = builder.retryBackoff;
+    }
+
+    /**
+     * Downloads the resource, resuming a previous attempt if one was interrupted. This method is blocking.
+     *
+     * @return the number of bytes of the downloaded resource
+     * @throws IOException if the destination exists, a chunk fails more than the allowed number of retries,
+     *                     or the checksum of the downloaded resource does not match the expected checksum
+     */
+    public synchronized long download() throws IOException {
+        if (destination.exists()) throw new FileAlreadyExistsException(destination.getAbsolutePath());
+        File parent = destination.getAbsoluteFile().getParentFile();
+        if (!parent.exists() && !parent.mkdirs()) throw new IOException("Could not create directory: " + parent);
+
+        resource = probe();
+        chunks = loadProgress().orElseGet(this::planChunks);
+        boolean resumed = chunks.stream().anyMatch(chunk -> chunk.downloaded.get() > 0);
+        if (!resumed) Files.deleteIfExists(partFile.toPath());
+
+        downloadedBytes.set(chunks.stream().mapToLong(chunk -> chunk.downloaded.get()).sum());
+        lastSavedBytes.set(downloadedBytes.get());
+        Logger.log(LogTag.NETWORK, "Downloading " + uri + " to " + destination.getAbsolutePath()
+                + " using " + chunks.size() + " chunk(s)" + (resumed ? ", resuming at byte " + downloadedBytes : ""));
+
+        try (FileChannel channel = FileChannel.open(partFile.toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            fetchChunks(channel);
+        } finally {
+            saveProgress();
+        }
+
+        long length = chunks.get(chunks.size() - 1).end;
+        if (partFile.length() != length) {
+            throw new IOException("Downloaded " + partFile.length() + " bytes but expected " + length);
+        }
+
+        if (expectedSha256 != null) {
+            String sha256 = computeSha256(partFile);
+            if (!sha256.equalsIgnoreCase(expectedSha256)) {
+                Files.deleteIfExists(partFile.toPath());
+                Files.deleteIfExists(progressFile.toPath());
+                throw new IOException("Checksum mismatch for " + uri + ", expected "
+                        + expectedSha256 + " but was " + sha256);
+            }
+        }
+
+        FileUtil.moveAtomically(partFile, destination);
+        Files.deleteIfExists(progressFile.toPath());
+
+        Logger.log(LogTag.NETWORK, "Downloaded " + length + " bytes from " + uri);
+        return length;
+    }
+
+    /**
+     * Requests the length, range support, and entity tag of the resource from the server.
+     *
+     * @return the remote resource
+     */
+    private RemoteResource probe() {
+        try {
+            HttpRequest request = HttpUtil.newRequest(uri)
+                    .method(HEAD, HttpRequest.BodyPublishers.noBody()).build();
+            HttpResponse<Void> response = HttpUtil.send(request, HttpResponse.BodyHandlers.discarding());
+            if (HttpUtil.SUCCESSFUL_RESPONSE_CODES.contains(response.statusCode())) {
+                long length = response.headers().firstValueAsLong(CONTENT_LENGTH).orElse(UNKNOWN_LENGTH);
+                boolean acceptsRanges = response.headers().firstValue(ACCEPT_RANGES)
+                        .map(BYTES::equalsIgnoreCase).orElse(false);
+                return new RemoteResource(length, acceptsRanges && length != UNKNOWN_LENGTH,
+                        response.headers().firstValue(ETAG));
+            }
+        } catch (IOException e) {
+            Logger.log(LogTag.NETWORK, "Failed to probe " + uri + ": " + e.getMessage());
+        }
+
+        return new RemoteResource(UNKNOWN_LENGTH, false, Optional.empty());
+    }
+
+    /**
+     * Splits the resource into chunks.
+     *
+     * @return the chunks
+     */
+    private ImmutableList<Chunk> planChunks() {
+        if (!resource.acceptsRanges()) return ImmutableList.of(new Chunk(0, resource.length(), 0));
+
+        long length = resource.length();
+        int chunkCount = (int) Math.max(1, Math.min(parallelChunks, length / minimumChunkSize));
+        long chunkSize = length / chunkCount;
+
+        ImmutableList.Builder<Chunk> chunks = ImmutableList.builder();
+        for (int i = 0 ; i < chunkCount ; i++) {
+            long start = i * chunkSize;
+            long end = i == chunkCount - 1 ? length : start + chunkSize;
+            chunks.add(new Chunk(start, end, 0));
+        }
+        return chunks.build();
+    }
+
+    /**
+     * Fetches the incomplete chunks, in parallel if there are multiple.
+     *
+     * @param channel the channel of the part file
+     * @throws IOException if a chunk could not be fetched
+     */
+    private void fetchChunks(FileChannel channel) throws IOException {
+        ImmutableList<Chunk> incomplete = chunks.stream()
+                .filter(chunk -> !chunk.isComplete())
+                .collect(ImmutableList.toImmutableList());
+        if (incomplete.isEmpty()) return;
+
+        if (incomplete.size() == 1) {
+            fetchChunk(incomplete.get(0), channel);
+            return;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(incomplete.size(),
+                new CyderThreadFactory("Resumable Download, destination: " + destination.getName()));
+        try {
+            List<Future<Void>> futures = new ArrayList<>();
+            for (Chunk chunk : incomplete) {
+                futures.add(executor.submit(() -> {
+                    fetchChunk(chunk, channel);
+                    return null;
+                }));
+            }
+
+            IOException failure = null;
+            for (Future<Void> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    if (failure == null) {
+                        failure = e.getCause() instanceof IOException ioException
+                                ? ioException : new IOException(e.getCause());
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Interrupted while downloading " + uri, e);
+                }
+            }
+
+            if (failure != null) throw failure;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Fetches the remaining bytes of the provided chunk, retrying after failures.
+     *
+     * @param chunk   the chunk
+     * @param channel the channel of the part file
+     * @throws IOException if the chunk fails more than the allowed number of retries
+     */
+    private void fetchChunk(Chunk chunk, FileChannel channel) throws IOException {
+        int retries = 0;
+        while (!chunk.isComplete()) {
+            try {
+                if (fetchChunkOnce(chunk, channel)) return;
+            } catch (IOException e) {
+                if (retries++ >= maxRetries) throw e;
+
+                Logger.log(LogTag.NETWORK, "Retrying download of " + uri + " at byte "
+                        + (chunk.start + chunk.downloaded.get()) + " after failure: " + e.getMessage());
+                ThreadUtil.sleep(retryBackoff.toMillis() * retries);
+            }
+        }
+    }
+
+    /**
+     * Sends a single request for the remaining bytes of the provided chunk and writes the received bytes.
+     *
+     * @param chunk   the chunk
+     * @param channel the channel of the part file
+     * @return whether the chunk of a resource of unknown length completed
+     * @throws IOException if the request fails or the connection closes before the chunk completes
+     */
+    private boolean fetchChunkOnce(Chunk chunk, FileChannel channel) throws IOException {
+        long offset = chunk.start + chunk.downloaded.get();
+
+        HttpRequest.Builder requestBuilder = HttpUtil.newRequest(uri).GET();
+        boolean ranged = resource.acceptsRanges();
+        if (ranged) {
+            requestBuilder.header(RANGE, BYTES + "=" + offset + "-" + (chunk.end - 1));
+            resource.etag().ifPresent(etag -> requestBuilder.header(IF_RANGE, etag));
+        } else if (chunk.downloaded.get() > 0) {
+            addDownloadedBytes(-chunk.downloaded.getAndSet(0));
+            channel.truncate(chunk.start);
+            offset = chunk.start;
+        }
+
+        HttpResponse<InputStream> response = HttpUtil.send(requestBuilder.build(),
+                HttpResponse.BodyHandlers.ofInputStream());
+        try (InputStream inputStream = response.body()) {
+            if (ranged && response.statusCode() != PARTIAL_CONTENT) {
+                throw new IOException("Expected partial content from " + uri
+                        + " but received response code " + response.statusCode());
+            }
+            HttpUtil.checkSuccessful(response);
+
+            byte[] buffer = new byte[HttpUtil.STREAM_BUFFER_SIZE];
+            long remaining = chunk.end == UNKNOWN_LENGTH ? Long.MAX_VALUE : chunk.end - offset;
+            int read;
+            while (remaining > 0 && (read = inputStream.read(buffer, 0,
+                    (int) Math.min(buffer.length, remaining))) != -1) {
+                ByteBuffer wrapped = ByteBuffer.wrap(buffer, 0, read);
+                while (wrapped.hasRemaining()) {
+                    offset += channel.write(wrapped, offset);
+                }
+
+                remaining -= read;
+                chunk.downloaded.addAndGet(read);
+                addDownloadedBytes(read);
+            }
+
+            if (chunk.end == UNKNOWN_LENGTH) {
+                chunk.end = offset;
+                return true;
+            }
+            if (remaining > 0) {
+                throw new EOFException("Connection closed with " + remaining + " bytes of the chunk remaining");
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Adds the provided number of bytes to the downloaded bytes, notifies the progress listener,
+     * and saves the progress file if enough bytes were received since it was last saved.
+     *
+     * @param bytes the number of bytes
+     */
+    private void addDownloadedBytes(long bytes) {
+        long downloaded = downloadedBytes.addAndGet(bytes);
+        progressListener.onProgress(downloaded, resource.length());
+
+        if (downloaded - lastSavedBytes.get() >= PROGRESS_SAVE_INTERVAL) {
+            try {
+                saveProgress();
+            } catch (IOException e) {
+                Logger.log(LogTag.NETWORK, "Failed to save download progress: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Loads the progress of a previous download of the resource to the destination.
+     *
+     * @return the chunks of the previous download, empty if there is no progress to resume from
+     */
+    private Optional<ImmutableList<Chunk>> loadProgress() {
+        if (!resource.acceptsRanges() || !progressFile.exists() || !partFile.exists()) return Optional.empty();
+
+        try {
+            List<String> lines = Files.readAllLines(progressFile.toPath(), StandardCharsets.UTF_8);
+            if (lines.size() < 3) return Optional.empty();
+            if (Long.parseLong(lines.get(0)) != resource.length()) return Optional.empty();
+            if (!lines.get(1).equals(resource.etag().orElse(""))) return Optional.empty();
+
+            ImmutableList.Builder<Chunk> chunks = ImmutableList.builder();
+            for (String line : lines.subList(2, lines.size())) {
+                String[] parts = line.split(" ");
+                long start = Long.parseLong(parts[0]);
+                long end = Long.parseLong(parts[1]);
+                long downloaded = Long.parseLong(parts[2]);
+                if (start < 0 || end > resource.length() || downloaded < 0 || start + downloaded > end) {
+                    return Optional.empty();
+                }
+                chunks.add(new Chunk(start, end, downloaded));
+            }
+            return Optional.of(chunks.build());
+        } catch (IOException | RuntimeException e) {
+            Logger.log(LogTag.NETWORK, "Discarding unreadable download progress: " + progressFile);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Records the progress of each chunk so that a later download can resume. Progress
+     * is only recorded if the server accepts range requests.
+     *
+     * @throws IOException if the progress file cannot be written
+     */
+    private void saveProgress() throws IOException {
+        if (!resource.acceptsRanges()) return;
+
+        synchronized (progressFile) {
+            writeProgress();
+        }
+    }
+
+    /**
+     * Writes the progress of each chunk to the progress file.
+     *
+     * @throws IOException if the progress file cannot be written
+     */
+    private void writeProgress() throws IOException {
+        StringBuilder progress = new StringBuilder();
+        progress.append(resource.length()).append('\n');
+        progress.append(resource.etag().orElse("")).append('\n');
+        for (Chunk chunk : chunks) {
+            progress.append(chunk.start).append(' ').append(chunk.end).append(' ')
+                    .append(chunk.downloaded.get()).append('\n');
+        }
+
+        Path tmp = progressFile.toPath().resolveSibling(progressFile.getName() + ".tmp");
+        Files.writeString(tmp, progress, StandardCharsets.UTF_8);
+        Files.move(tmp, progressFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        lastSavedBytes.set(downloadedBytes.get());
+    }
+
+    /**
+     * Computes the hex SHA-256 checksum of the provided file.
+     *
+     * @param file the file
+     * @return the hex checksum
+     * @throws IOException if the file cannot be read
+     */
+    private static String computeSha256(File file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance(SHA_256);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException(e);
+        }
+
+        try (InputStream inputStream = Files.newInputStream(file.toPath())) {
+            byte[] buffer = new byte[HttpUtil.STREAM_BUFFER_SIZE];
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * A builder for a {@link ResumableDownload}.
+     */
+    public static final class Builder {
+        /**
+         * The default maximum number of chunks to fetch in parallel.
+         */
+        private static final int DEFAULT_PARALLEL_CHUNKS = 4;
+
+        /**
+         * The default minimum size of a chunk.
+         */
+        private static final long DEFAULT_MINIMUM_CHUNK_SIZE = 1 << 20;
+
+        /**
+         * The default maximum number of times to retry a chunk after a failure.
+         */
+        private static final int DEFAULT_MAX_RETRIES = 3;
+
+        /**
+         * The default time to wait before the first retry of a chunk.
+         */
+        private static final Duration DEFAULT_RETRY_BACKOFF = Duration.ofMillis(500);
+
+        /**
+         * The remote resource to download.
+         */
+        private final URI uri;
+
+        /**
+         * The file to save the resource to.
+         */
+        private final File destination;
+
+        /**
+         * The maximum number of chunks to fetch in parallel.
+         */
+        private int parallelChunks = DEFAULT_PARALLEL_CHUNKS;
+
+        /**
+         * The minimum size of a chunk.
+         */
+        private long minimumChunkSize = DEFAULT_MINIMUM_CHUNK_SIZE;
+
+        /**
+         * The expected hex SHA-256 checksum of the resource.
+         */
+        private String expectedSha256;
+
+        /**
+         * The listener notified as bytes are received.
+         */
+        private ProgressListener progressListener = (downloadedBytes, totalBytes) -> {};
+
+        /**
+         * The maximum number of times to retry a chunk after a failure.
+         */
+        private int maxRetries = DEFAULT_MAX_RETRIES;
+
+        /**
+         * The time to wait before the first retry of a chunk.
+         */
+        private Duration retryBackoff = DEFAULT_RETRY_BACKOFF;
+
+        /**
+         * Constructs a new builder.
+         *
+         * @param uri         the remote resource to download
+         * @param destination the file to save the resource to
+         */
+        public Builder(URI uri, File destination) {
+            this.uri = Preconditions.checkNotNull(uri);
+            this.destination = Preconditions.checkNotNull(destination);
+        }
+
+        /**
+         * Sets the maximum number of chunks to fetch in parallel.
+         *
+         * @param parallelChunks the maximum number of chunks to fetch in parallel
+         * @return this builder
+         */
+        public Builder setParallelChunks(int parallelChunks) {
+            Preconditions.checkArgument(parallelChunks > 0);
+            this.parallelChunks = parallelChunks;
+            return this;
+        }
+
+        /**
+         * Sets the minimum size of a chunk.
+         *
+         * @param minimumChunkSize the minimum size of a chunk
+         * @return this builder
+         */
+        public Builder setMinimumChunkSize(long minimumChunkSize) {
+            Preconditions.checkArgument(minimumChunkSize > 0);
+            this.minimumChunkSize = minimumChunkSize;
+            return this;
+        }
+
+        /**
+         * Sets the expected hex SHA-256 checksum of the resource.
+         *
+         * @param expectedSha256 the expected hex SHA-256 checksum of the resource
+         * @return this builder
+         */
+        public Builder setExpectedSha256(String expectedSha256) {
+            Preconditions.checkNotNull(expectedSha256);
+            Preconditions.checkArgument(!expectedSha256.isEmpty());
+            this.expectedSha256 = expectedSha256;
+            return this;
+        }
+
+        /**
+         * Sets the listener notified as bytes are received.
+         *
+         * @param progressListener the listener notified as bytes are received
+         * @return this builder
+         */
+        public Builder setProgressListener(ProgressListener progressListener) {
+            this.progressListener = Preconditions.checkNotNull(progressListener);
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of times to retry a chunk after a failure.
+         *
+         * @param maxRetries the maximum number of times to retry a chunk after a failure
+         * @return this builder
+         */
+        public Builder setMaxRetries(int maxRetries) {
+            Preconditions.checkArgument(maxRetries >= 0);
+            this.maxRetries = maxRetries;
+            return this;
+        }
+
+        /**
+         * Sets the time to wait before the first retry of a chunk.
+         *
+         * @param retryBackoff the time to wait before the first retry of a chunk
+         * @return this builder
+         */
+        public Builder setRetryBackoff(Duration retryBackoff) {
+            Preconditions.checkNotNull(retryBackoff);
+            Preconditions.checkArgument(!retryBackoff.isNegative());
+            this.retryBackoff = retryBackoff;
+            return this;
+        }
+
+        /**
+         * Builds a new resumable download.
+         *
+         * @return a new resumable download
+         */
+        public ResumableDownload build() {
+            return new ResumableDownload(this);
+        }
+    }
+}
@@ -234,6 +234,18 @@ public final class Props {
     public static final Prop<Integer> watchdogPollTimeout =
             new Prop<>("watchdog_poll_timeout", 100, Integer.class);
 
+    /**
+     * The latency in ms above which the EDT latency profiler considers the event dispatch thread stalled.
+     */
+    public static final Prop<Integer> edtLatencyStallThreshold =
+            new Prop<>("edt_latency_stall_threshold", 200, Integer.class);
+
+    /**
+     * The size in bytes above which the text viewer displays files read-only using a paged, memory-mapped view.
+     */
+    public static final Prop<Integer> textViewerMaxEditableBytes =
+            new Prop<>("text_viewer_max_editable_bytes", 4_000_000, Integer.class);
+
     /**
      * Whether to attempt a boostrap if the program detects a GUI freeze.
      */
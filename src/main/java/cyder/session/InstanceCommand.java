@@ -0,0 +1,66 @@
+package cyder.session;
+
+import com.google.common.base.Preconditions;
+
+import java.util.Optional;
+
+/**
+ * The commands a Cyder instance accepts through its instance socket.
+ */
+public enum InstanceCommand {
+    /**
+     * Requests the session id and uptime of the running instance.
+     */
+    STATUS("Status"),
+
+    /**
+     * Requests the running instance bring its frames to the front, the content of the message
+     * must be signed with the running instance's token.
+     */
+    FOCUS("Focus"),
+
+    /**
+     * Requests the running instance open the file contained in the content of the message, the content
+     * must be signed with the running instance's token.
+     */
+    OPEN_FILE("Open file"),
+
+    /**
+     * Requests the running instance shut down, the content of the message is the hashed shutdown password.
+     */
+    SHUTDOWN(CyderRemoteShutdownMessage.MESSAGE);
+
+    /**
+     * The message type of communication messages for this command.
+     */
+    private final String message;
+
+    InstanceCommand(String message) {
+        this.message = message;
+    }
+
+    /**
+     * Returns the message type of communication messages for this command.
+     *
+     * @return the message type of communication messages for this command
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * Returns the command with the provided message type.
+     *
+     * @param message the message type
+     * @return the command with the provided message type, empty if no command has the message type
+     */
+    public static Optional<InstanceCommand> fromMessage(String message) {
+        Preconditions.checkNotNull(message);
+
+        for (InstanceCommand command : values()) {
+            if (command.message.equals(message)) return Optional.of(command);
+        }
+
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,224 @@
+package cyder.session;
+
+import com.google.common.base.Preconditions;
+import cyder.network.NetworkUtil;
+import cyder.threads.CyderThreadRunner;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SocketChannel;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A client of the instance socket of a Cyder instance.
+ * <p>
+ * Any number of requests may be in flight at once; each response is matched to its
+ * request using the request id carried by the {@link InstanceSocketFrame}s.
+ */
+public final class InstanceSocketClient implements Closeable {
+    /**
+     * The size of the buffer responses are read into.
+     */
+    private static final int READ_BUFFER_SIZE = 1 << 13;
+
+    /**
+     * The channel connected to the instance socket.
+     */
+    private final SocketChannel channel;
+
+    /**
+     * The session id to send requests as.
+     */
+    private final String sessionId;
+
+    /**
+     * The id of the most recently sent request.
+     */
+    private final AtomicLong lastRequestId = new AtomicLong();
+
+    /**
+     * The responses which have not yet been received keyed by request id.
+     */
+    private final ConcurrentHashMap<Long, CompletableFuture<InstanceSocketFrame>> pendingResponses =
+            new ConcurrentHashMap<>();
+
+    /**
+     * Whether this client has been closed.
+     */
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+
+    /**
+     * The lock guarding writes to the channel.
+     */
+    private final Object writeLock = new Object();
+
+    /**
+     * Constructs a new instance socket client.
+     *
+     * @param channel   the connected channel
+     * @param sessionId the session id to send requests as
+     */
+    private InstanceSocketClient(SocketChannel channel, String sessionId) {
+        this.channel = channel;
+        this.sessionId = sessionId;
+    }
+
+    /**
+     * Connects to the instance socket at the provided host and port.
+     *
+     * @param host      the host of the Cyder instance
+     * @param port      the instance socket port of the Cyder instance
+     * @param timeout   the maximum time to wait for the connection to be established
+     * @param sessionId the session id to send requests as
+     * @return the connected client
+     * @throws IOException if the connection cannot be established
+     */
+    public static InstanceSocketClient connect(String host, int port, Duration timeout,
+                                               String sessionId) throws IOException {
+        Preconditions.checkNotNull(host);
+        Preconditions.checkArgument(!host.isEmpty());
+        Preconditions.checkArgument(NetworkUtil.portRange.contains(port));
+        Preconditions.checkNotNull(timeout);
+        Preconditions.checkArgument(!timeout.isNegative());
+        Preconditions.checkNotNull(sessionId);
+        Preconditions.checkArgument(!sessionId.isEmpty());
+
+        SocketChannel channel = SocketChannel.open();
+        try {
+            channel.socket().connect(new InetSocketAddress(host, port), (int) timeout.toMillis());
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+
+        InstanceSocketClient client = new InstanceSocketClient(channel, sessionId);
+        CyderThreadRunner.submit(client::readResponses, "Instance Socket Client, host: " + host + ", port: " + port);
+        return client;
+    }
+
+    /**
+     * Sends the provided command with the message type of the command as the content.
+     *
+     * @param command the command
+     * @return the response to the command
+     */
+    public CompletableFuture<InstanceSocketFrame> send(InstanceCommand command) {
+        Preconditions.checkNotNull(command);
+
+        return send(command, command.getMessage());
+    }
+
+    /**
+     * Sends the provided command with the provided content.
+     *
+     * @param command the command
+     * @param content the content of the request
+     * @return the response to the command, completed exceptionally if the request
+     * could not be sent or this client closes before the response is received
+     */
+    public CompletableFuture<InstanceSocketFrame> send(InstanceCommand command, String content) {
+        Preconditions.checkNotNull(command);
+        Preconditions.checkNotNull(content);
+        Preconditions.checkArgument(!content.isEmpty());
+
+        long requestId = lastRequestId.incrementAndGet();
+        CompletableFuture<InstanceSocketFrame> response = new CompletableFuture<>();
+        pendingResponses.put(requestId, response);
+
+        if (closed.get()) {
+            failPendingResponses(new ClosedChannelException());
+            return response;
+        }
+
+        CyderCommunicationMessage message = new CyderCommunicationMessage(command.getMessage(), content, sessionId);
+        ByteBuffer frame = new InstanceSocketFrame(requestId, InstanceSocketFrame.Kind.REQUEST, message).encode();
+        try {
+            synchronized (writeLock) {
+                while (frame.hasRemaining()) channel.write(frame);
+            }
+        } catch (IOException e) {
+            pendingResponses.remove(requestId);
+            response.completeExceptionally(e);
+        }
+
+        return response;
+    }
+
+    /**
+     * Reads responses and completes their requests until the channel closes.
+     */
+    private void readResponses() {
+        ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+
+        try {
+            while (true) {
+                if (!buffer.hasRemaining()) {
+                    ByteBuffer grown = ByteBuffer.allocate(Math.min(buffer.capacity() * 2,
+                            Integer.BYTES + InstanceSocketFrame.MAX_FRAME_BYTES));
+                    grown.put(buffer.flip());
+                    buffer = grown;
+                }
+
+                if (channel.read(buffer) == -1) throw new EOFException("Instance socket closed the connection");
+
+                buffer.flip();
+                Optional<InstanceSocketFrame> frame;
+                while ((frame = InstanceSocketFrame.decode(buffer)).isPresent()) {
+                    CompletableFuture<InstanceSocketFrame> response = pendingResponses.remove(frame.get().requestId());
+                    if (response != null) response.complete(frame.get());
+                }
+                buffer.compact();
+            }
+        } catch (IOException e) {
+            failPendingResponses(e);
+        } finally {
+            close();
+        }
+    }
+
+    /**
+     * Completes all pending responses exceptionally with the provided cause.
+     *
+     * @param cause the cause
+     */
+    private void failPendingResponses(Throwable cause) {
+        pendingResponses.keySet().forEach(requestId -> {
+            CompletableFuture<InstanceSocketFrame> response = pendingResponses.remove(requestId);
+            if (response != null) response.completeExceptionally(cause);
+        });
+    }
+
+    /**
+     * Returns whether this client has been closed.
+     *
+     * @return whether this client has been closed
+     */
+    public boolean isClosed() {
+        return closed.get();
+    }
+
+    /**
+     * Closes the connection to the instance socket and fails all pending responses.
+     */
+    @Override
+    public void close() {
+        if (closed.getAndSet(true)) return;
+
+        try {
+            channel.close();
+        } catch (IOException ignored) {}
+
+        failPendingResponses(new ClosedChannelException());
+    }
+}
@@ -0,0 +1,130 @@
+package cyder.session;
+
+import com.google.common.base.Preconditions;
+import cyder.utils.SerializationUtil;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+/**
+ * A length-prefixed frame of the instance socket protocol carrying a {@link CyderCommunicationMessage}.
+ * <p>
+ * A frame is encoded as the four byte length of the remainder of the frame, the eight byte id of the
+ * request the frame is or responds to, a one byte {@link Kind}, and the message serialized as UTF-8 json.
+ *
+ * @param requestId the id of the request this frame is or responds to
+ * @param kind      the kind of this frame
+ * @param message   the message of this frame
+ */
+public record InstanceSocketFrame(long requestId, Kind kind, CyderCommunicationMessage message) {
+    /**
+     * The kinds of frames.
+     */
+    public enum Kind {
+        /**
+         * A request from a client.
+         */
+        REQUEST,
+
+        /**
+         * A response to a request which was handled successfully.
+         */
+        RESPONSE,
+
+        /**
+         * A response to a request which could not be handled.
+         */
+        ERROR_RESPONSE
+    }
+
+    /**
+     * The number of bytes of a frame preceding the message, excluding the length prefix.
+     */
+    private static final int HEADER_BYTES = Long.BYTES + Byte.BYTES;
+
+    /**
+     * The maximum number of bytes of a frame following the length prefix.
+     */
+    public static final int MAX_FRAME_BYTES = 1 << 20;
+
+    /**
+     * Constructs a new instance socket frame.
+     *
+     * @param requestId the id of the request this frame is or responds to
+     * @param kind      the kind of this frame
+     * @param message   the message of this frame
+     */
+    public InstanceSocketFrame {
+        Preconditions.checkNotNull(kind);
+        Preconditions.checkNotNull(message);
+    }
+
+    /**
+     * Returns whether this frame is a response to a request which was handled successfully.
+     *
+     * @return whether this frame is a successful response
+     */
+    public boolean isSuccessfulResponse() {
+        return kind == Kind.RESPONSE;
+    }
+
+    /**
+     * Encodes this frame.
+     *
+     * @return a buffer containing the encoded frame ready to be written
+     */
+    public ByteBuffer encode() {
+        byte[] json = SerializationUtil.toJson(message).getBytes(StandardCharsets.UTF_8);
+        int frameBytes = HEADER_BYTES + json.length;
+        Preconditions.checkState(frameBytes <= MAX_FRAME_BYTES, "Message too large");
+
+        ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES + frameBytes);
+        buffer.putInt(frameBytes);
+        buffer.putLong(requestId);
+        buffer.put((byte) kind.ordinal());
+        buffer.put(json);
+        return buffer.flip();
+    }
+
+    /**
+     * Decodes the next frame from the provided buffer if the buffer contains a complete frame.
+     * The position of the buffer is advanced past the frame if decoded and left unchanged otherwise.
+     *
+     * @param buffer the buffer to decode from, ready to be read
+     * @return the decoded frame, empty if the buffer does not contain a complete frame
+     * @throws IOException if the buffer does not contain a valid frame
+     */
+    public static Optional<InstanceSocketFrame> decode(ByteBuffer buffer) throws IOException {
+        Preconditions.checkNotNull(buffer);
+
+        if (buffer.remaining() < Integer.BYTES) return Optional.empty();
+
+        int frameBytes = buffer.getInt(buffer.position());
+        if (frameBytes < HEADER_BYTES || frameBytes > MAX_FRAME_BYTES) {
+            throw new IOException("Invalid frame length: " + frameBytes);
+        }
+        if (buffer.remaining() < Integer.BYTES + frameBytes) return Optional.empty();
+
+        buffer.getInt();
+        long requestId = buffer.getLong();
+        int kindOrdinal = buffer.get();
+        if (kindOrdinal < 0 || kindOrdinal >= Kind.values().length) {
+            throw new IOException("Invalid frame kind: " + kindOrdinal);
+        }
+
+        byte[] json = new byte[frameBytes - HEADER_BYTES];
+        buffer.get(json);
+
+        CyderCommunicationMessage message;
+        try {
+            message = CyderCommunicationMessage.fromJson(new String(json, StandardCharsets.UTF_8));
+        } catch (RuntimeException e) {
+            throw new IOException("Invalid frame message", e);
+        }
+        if (message == null) throw new IOException("Empty frame message");
+
+        return Optional.of(new InstanceSocketFrame(requestId, Kind.values()[kindOrdinal], message));
+    }
+}
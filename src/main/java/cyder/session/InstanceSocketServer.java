@@ -0,0 +1,396 @@
+package cyder.session;
+
+import com.google.common.base.Preconditions;
+import cyder.handlers.internal.ExceptionHandler;
+import cyder.logging.LogTag;
+import cyder.logging.Logger;
+import cyder.threads.CyderThreadRunner;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A non-blocking server for the instance socket protocol.
+ * <p>
+ * A single selector thread accepts any number of concurrent clients, decodes the {@link InstanceSocketFrame}s
+ * they send, and writes the response to each request tagged with the id of the request. Requests are handled
+ * on the selector thread so handlers must not block.
+ */
+final class InstanceSocketServer implements Closeable {
+    /**
+     * The reply to a request.
+     *
+     * @param successful whether the request was handled successfully
+     * @param message    the response message
+     * @param afterSent  the action to invoke once the response has been fully written
+     */
+    record Reply(boolean successful, CyderCommunicationMessage message, Runnable afterSent) {
+        /**
+         * Constructs a new reply.
+         */
+        Reply {
+            Preconditions.checkNotNull(message);
+            Preconditions.checkNotNull(afterSent);
+        }
+
+        /**
+         * Constructs a new reply with no action to invoke once sent.
+         *
+         * @param successful whether the request was handled successfully
+         * @param message    the response message
+         */
+        Reply(boolean successful, CyderCommunicationMessage message) {
+            this(successful, message, () -> {});
+        }
+    }
+
+    /**
+     * A handler of requests received by the server.
+     */
+    @FunctionalInterface
+    interface RequestHandler {
+        /**
+         * Handles the provided request.
+         *
+         * @param request the request message
+         * @return the reply to send to the client
+         */
+        Reply handle(CyderCommunicationMessage request);
+    }
+
+    /**
+     * The initial size of the read buffer of a connection.
+     */
+    private static final int INITIAL_READ_BUFFER_SIZE = 1 << 13;
+
+    /**
+     * The maximum size of the read buffer of a connection, large enough to hold the largest frame.
+     */
+    private static final int MAX_READ_BUFFER_SIZE = Integer.BYTES + InstanceSocketFrame.MAX_FRAME_BYTES;
+
+    /**
+     * The selector multiplexing the server channel and all client channels.
+     */
+    private final Selector selector;
+
+    /**
+     * The channel accepting clients.
+     */
+    private final ServerSocketChannel serverChannel;
+
+    /**
+     * The handler of received requests.
+     */
+    private final RequestHandler requestHandler;
+
+    /**
+     * Whether the server should continue selecting.
+     */
+    private final AtomicBoolean running = new AtomicBoolean(true);
+
+    /**
+     * Whether the selector thread was started.
+     */
+    private final AtomicBoolean started = new AtomicBoolean(false);
+
+    /**
+     * The state of a connected client.
+     */
+    private static final class Connection {
+        /**
+         * The buffer of bytes read but not yet decoded, ready to be written to.
+         */
+        private ByteBuffer readBuffer = ByteBuffer.allocate(INITIAL_READ_BUFFER_SIZE);
+
+        /**
+         * The responses waiting to be written.
+         */
+        private final ArrayDeque<PendingWrite> pendingWrites = new ArrayDeque<>();
+    }
+
+    /**
+     * A response waiting to be written.
+     *
+     * @param buffer    the encoded response
+     * @param afterSent the action to invoke once the response has been fully written
+     */
+    private record PendingWrite(ByteBuffer buffer, Runnable afterSent) {}
+
+    /**
+     * Constructs a new instance socket server.
+     *
+     * @param selector       the selector
+     * @param serverChannel  the bound server channel
+     * @param requestHandler the handler of received requests
+     */
+    private InstanceSocketServer(Selector selector, ServerSocketChannel serverChannel,
+                                 RequestHandler requestHandler) {
+        this.selector = selector;
+        this.serverChannel = serverChannel;
+        this.requestHandler = requestHandler;
+    }
+
+    /**
+     * Binds a new instance socket server to the provided address. The server does not accept
+     * clients until {@link #start(String)} is invoked.
+     *
+     * @param address        the address to bind to
+     * @param requestHandler the handler of received requests
+     * @return the bound server
+     * @throws IOException if the address cannot be bound to, such as a {@link java.net.BindException}
+     *                     if another instance is already bound to it
+     */
+    static InstanceSocketServer bind(InetSocketAddress address, RequestHandler requestHandler) throws IOException {
+        Preconditions.checkNotNull(address);
+        Preconditions.checkNotNull(requestHandler);
+
+        ServerSocketChannel serverChannel = ServerSocketChannel.open();
+        Selector selector = null;
+        try {
+            serverChannel.bind(address);
+            serverChannel.configureBlocking(false);
+            selector = Selector.open();
+            serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        } catch (IOException e) {
+            serverChannel.close();
+            if (selector != null) selector.close();
+            throw e;
+        }
+
+        return new InstanceSocketServer(selector, serverChannel, requestHandler);
+    }
+
+    /**
+     * Returns the port this server is bound to.
+     *
+     * @return the port this server is bound to
+     */
+    int getPort() {
+        return serverChannel.socket().getLocalPort();
+    }
+
+    /**
+     * Starts accepting clients and handling their requests on a new thread.
+     *
+     * @param threadName the name of the selector thread
+     */
+    void start(String threadName) {
+        Preconditions.checkNotNull(threadName);
+        Preconditions.checkArgument(!threadName.isEmpty());
+        Preconditions.checkState(!started.getAndSet(true));
+
+        CyderThreadRunner.submit(this::select, threadName);
+    }
+
+    /**
+     * Selects and services ready channels until this server is closed.
+     */
+    private void select() {
+        try {
+            while (running.get()) {
+                selector.select();
+
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    serviceKey(key);
+                }
+            }
+        } catch (Exception e) {
+            if (running.get()) ExceptionHandler.handle(e);
+        } finally {
+            closeChannels();
+        }
+    }
+
+    /**
+     * Services the provided ready key, closing its channel if an exception occurs.
+     *
+     * @param key the ready key
+     */
+    private void serviceKey(SelectionKey key) {
+        try {
+            if (!key.isValid()) return;
+
+            if (key.isAcceptable()) {
+                accept();
+                return;
+            }
+            if (key.isReadable()) read(key);
+            if (key.isValid() && key.isWritable()) write(key);
+        } catch (IOException e) {
+            Logger.log(LogTag.NETWORK, "Closing instance socket client: " + e.getMessage());
+            closeConnection(key);
+        }
+    }
+
+    /**
+     * Accepts a pending client.
+     *
+     * @throws IOException if an I/O exception occurs
+     */
+    private void accept() throws IOException {
+        SocketChannel client = serverChannel.accept();
+        if (client == null) return;
+
+        client.configureBlocking(false);
+        client.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        client.register(selector, SelectionKey.OP_READ, new Connection());
+    }
+
+    /**
+     * Reads available bytes from the client of the provided key and handles each complete request.
+     *
+     * @param key the key of the readable client
+     * @throws IOException if an I/O exception occurs or the client sent an invalid frame
+     */
+    private void read(SelectionKey key) throws IOException {
+        SocketChannel client = (SocketChannel) key.channel();
+        Connection connection = (Connection) key.attachment();
+
+        if (!connection.readBuffer.hasRemaining()) {
+            int newCapacity = Math.min(connection.readBuffer.capacity() * 2, MAX_READ_BUFFER_SIZE);
+            ByteBuffer grown = ByteBuffer.allocate(newCapacity);
+            grown.put(connection.readBuffer.flip());
+            connection.readBuffer = grown;
+        }
+
+        if (client.read(connection.readBuffer) == -1) {
+            closeConnection(key);
+            return;
+        }
+
+        connection.readBuffer.flip();
+        try {
+            Optional<InstanceSocketFrame> frame;
+            while ((frame = InstanceSocketFrame.decode(connection.readBuffer)).isPresent()) {
+                enqueueResponse(key, handleFrame(frame.get()));
+            }
+        } finally {
+            connection.readBuffer.compact();
+        }
+    }
+
+    /**
+     * Handles the provided frame received from a client.
+     *
+     * @param frame the received frame
+     * @return the response to write to the client
+     */
+    private PendingWrite handleFrame(InstanceSocketFrame frame) {
+        CyderCommunicationMessage request = frame.message();
+
+        Reply reply;
+        if (frame.kind() != InstanceSocketFrame.Kind.REQUEST) {
+            reply = new Reply(false, new CyderCommunicationMessage(request.getMessage(),
+                    "Expected a request frame but received: " + frame.kind(), request.getSessionId()));
+        } else {
+            try {
+                reply = Preconditions.checkNotNull(requestHandler.handle(request));
+            } catch (Exception e) {
+                String reason = e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage();
+                Logger.log(LogTag.NETWORK, "Failed to handle instance socket request "
+                        + request.getMessage() + ": " + reason);
+                reply = new Reply(false, new CyderCommunicationMessage(
+                        request.getMessage(), reason, request.getSessionId()));
+            }
+        }
+
+        InstanceSocketFrame.Kind kind = reply.successful()
+                ? InstanceSocketFrame.Kind.RESPONSE
+                : InstanceSocketFrame.Kind.ERROR_RESPONSE;
+        InstanceSocketFrame response = new InstanceSocketFrame(frame.requestId(), kind, reply.message());
+        return new PendingWrite(response.encode(), reply.afterSent());
+    }
+
+    /**
+     * Queues the provided response to be written to the client of the provided key.
+     *
+     * @param key          the key of the client
+     * @param pendingWrite the response
+     */
+    private static void enqueueResponse(SelectionKey key, PendingWrite pendingWrite) {
+        Connection connection = (Connection) key.attachment();
+        connection.pendingWrites.add(pendingWrite);
+        key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+    }
+
+    /**
+     * Writes as many queued responses as the client of the provided key accepts without blocking.
+     *
+     * @param key the key of the writable client
+     * @throws IOException if an I/O exception occurs
+     */
+    private static void write(SelectionKey key) throws IOException {
+        SocketChannel client = (SocketChannel) key.channel();
+        Connection connection = (Connection) key.attachment();
+
+        while (!connection.pendingWrites.isEmpty()) {
+            PendingWrite pendingWrite = connection.pendingWrites.peek();
+            client.write(pendingWrite.buffer());
+            if (pendingWrite.buffer().hasRemaining()) return;
+
+            connection.pendingWrites.poll();
+            pendingWrite.afterSent().run();
+        }
+
+        if (key.isValid()) key.interestOps(SelectionKey.OP_READ);
+    }
+
+    /**
+     * Cancels the provided key and closes its channel.
+     *
+     * @param key the key
+     */
+    private static void closeConnection(SelectionKey key) {
+        key.cancel();
+        try {
+            key.channel().close();
+        } catch (IOException e) {
+            ExceptionHandler.handle(e);
+        }
+    }
+
+    /**
+     * Closes the server channel, all client channels, and the selector.
+     */
+    private void closeChannels() {
+        if (selector.isOpen()) {
+            selector.keys().forEach(InstanceSocketServer::closeConnection);
+        }
+
+        try {
+            serverChannel.close();
+            selector.close();
+        } catch (IOException e) {
+            ExceptionHandler.handle(e);
+        }
+    }
+
+    /**
+     * Stops accepting clients and closes all channels. If the server was never started
+     * the channels are closed immediately, otherwise they are closed by the selector thread.
+     */
+    @Override
+    public void close() {
+        if (!running.getAndSet(false)) return;
+
+        if (!started.get()) {
+            closeChannels();
+        } else {
+            selector.wakeup();
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package cyder.session;
+
+import com.google.common.base.Preconditions;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.AclEntry;
+import java.nio.file.attribute.AclEntryPermission;
+import java.nio.file.attribute.AclEntryType;
+import java.nio.file.attribute.AclFileAttributeView;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.EnumSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A random token generated by the instance bound to the instance socket and written to a file only the
+ * current user may read. Requests which act on the running instance, such as focusing its frames or
+ * opening files, must be signed with the token, proving the requester runs as the same user.
+ */
+final class InstanceSocketToken {
+    /**
+     * The number of random bytes of a token.
+     */
+    private static final int TOKEN_BYTES = 32;
+
+    /**
+     * The separator between the token and the content of a signed request.
+     */
+    private static final String SEPARATOR = "\n";
+
+    /**
+     * The owner only permissions of a token file on POSIX file systems.
+     */
+    private static final String OWNER_ONLY_PERMISSIONS = "rw-------";
+
+    /**
+     * The file attribute view name of POSIX file systems.
+     */
+    private static final String POSIX_VIEW = "posix";
+
+    /**
+     * The hex token.
+     */
+    private final String token;
+
+    /**
+     * Constructs a new instance socket token.
+     *
+     * @param token the hex token
+     */
+    private InstanceSocketToken(String token) {
+        this.token = token;
+    }
+
+    /**
+     * Returns a new random token.
+     *
+     * @return a new random token
+     */
+    static InstanceSocketToken generate() {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        new SecureRandom().nextBytes(bytes);
+        return new InstanceSocketToken(HexFormat.of().formatHex(bytes));
+    }
+
+    /**
+     * Reads the token written to the provided file.
+     *
+     * @param file the token file
+     * @return the token, empty if the file does not exist or cannot be read
+     */
+    static Optional<InstanceSocketToken> read(File file) {
+        Preconditions.checkNotNull(file);
+
+        try {
+            String token = Files.readString(file.toPath(), StandardCharsets.UTF_8).trim();
+            if (token.isEmpty() || token.contains(SEPARATOR)) return Optional.empty();
+            return Optional.of(new InstanceSocketToken(token));
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Writes this token to the provided file, replacing any previous file, which only the current user may read.
+     *
+     * @param file the token file
+     * @throws IOException if the file cannot be created or restricted to the current user
+     */
+    void write(File file) throws IOException {
+        Preconditions.checkNotNull(file);
+
+        Path path = file.toPath();
+        Files.deleteIfExists(path);
+
+        if (path.getFileSystem().supportedFileAttributeViews().contains(POSIX_VIEW)) {
+            Files.createFile(path, PosixFilePermissions.asFileAttribute(
+                    PosixFilePermissions.fromString(OWNER_ONLY_PERMISSIONS)));
+        } else {
+            Files.createFile(path);
+            AclFileAttributeView view = Files.getFileAttributeView(path, AclFileAttributeView.class);
+            if (view == null) throw new IOException("Cannot restrict token file to the current user: " + file);
+
+            view.setAcl(List.of(AclEntry.newBuilder()
+                    .setType(AclEntryType.ALLOW)
+                    .setPrincipal(view.getOwner())
+                    .setPermissions(EnumSet.allOf(AclEntryPermission.class))
+                    .build()));
+        }
+
+        Files.writeString(path, token, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the provided request content prefixed with this token.
+     *
+     * @param content the content of the request
+     * @return the signed content
+     */
+    String sign(String content) {
+        Preconditions.checkNotNull(content);
+
+        return token + SEPARATOR + content;
+    }
+
+    /**
+     * Returns the content of the provided signed request content if it was signed with this token.
+     *
+     * @param signedContent the signed content of a request
+     * @return the content, empty if the content was not signed with this token
+     */
+    Optional<String> verify(String signedContent) {
+        Preconditions.checkNotNull(signedContent);
+
+        int separator = signedContent.indexOf(SEPARATOR);
+        if (separator == -1) return Optional.empty();
+
+        byte[] expected = token.getBytes(StandardCharsets.UTF_8);
+        byte[] received = signedContent.substring(0, separator).getBytes(StandardCharsets.UTF_8);
+        if (!MessageDigest.isEqual(expected, received)) return Optional.empty();
+
+        return Optional.of(signedContent.substring(separator + SEPARATOR.length()));
+    }
+}
@@ -1,33 +1,45 @@
 package cyder.session;
 
 import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import cyder.enumerations.Dynamic;
 import cyder.enumerations.ExitCondition;
 import cyder.exceptions.FatalException;
 import cyder.exceptions.IllegalMethodException;
+import cyder.files.CyderFileHandler;
 import cyder.handlers.internal.ExceptionHandler;
 import cyder.logging.LogTag;
 import cyder.logging.Logger;
+import cyder.meta.CyderArguments;
 import cyder.meta.CyderSplash;
 import cyder.network.NetworkUtil;
 import cyder.props.Props;
 import cyder.strings.CyderStrings;
 import cyder.strings.StringUtil;
-import cyder.threads.CyderThreadFactory;
 import cyder.threads.CyderThreadRunner;
 import cyder.threads.IgnoreThread;
 import cyder.threads.ThreadUtil;
+import cyder.ui.UiUtil;
+import cyder.ui.frame.CyderFrame;
+import cyder.utils.JvmUtil;
 import cyder.utils.OsUtil;
 import cyder.utils.SecurityUtil;
 
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
-import java.io.PrintWriter;
-import java.net.ServerSocket;
-import java.net.Socket;
+import javax.swing.*;
+import java.awt.*;
+import java.io.File;
+import java.io.IOException;
+import java.net.BindException;
+import java.net.ConnectException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
 import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
@@ -39,11 +51,6 @@ public final class InstanceSocketUtil {
      */
     private static final int instanceSocketPort = Props.instanceSocketPort.getValue();
 
-    /**
-     * The number of clients which can be waiting for the instance socket to free up and connect.
-     */
-    private static final int instanceSocketBacklog = 1;
-
     /**
      * Whether the instance socket bind was attempted.
      */
@@ -55,19 +62,41 @@ public final class InstanceSocketUtil {
     private static final Duration maximumWaitForInstancePortToFree = Duration.ofSeconds(5);
 
     /**
-     * The timeout between instance socket polls for incoming messages.
+     * The timeout between attempts to bind to the instance socket port while waiting for it to free up.
+     */
+    private static final Duration bindRetryTimeout = Duration.ofMillis(50);
+
+    /**
+     * The maximum amount of time to wait for a connection to or a response from a running instance.
+     */
+    private static final Duration instanceResponseTimeout = Duration.ofSeconds(5);
+
+    /**
+     * The message type suffix for responses to instance socket requests.
+     */
+    private static final String RESPONSE_SUFFIX = " response";
+
+    /**
+     * The name of the dynamic file the token of the instance bound to the instance socket is written to.
      */
-    private static final Duration instanceSocketPollTimeout = Duration.ofMillis(100);
+    private static final String INSTANCE_TOKEN_FILE_NAME = "instancetoken";
 
     /**
-     * Whether instance socket messages should be accepted.
+     * The handlers which may open files handed off through the instance socket.
+     * Files are never handed to the native desktop as that could launch executables.
      */
-    private static final AtomicBoolean shouldAcceptInstanceSocketMessages = new AtomicBoolean(true);
+    private static final ImmutableList<CyderFileHandler> openFileHandlers = ImmutableList.of(
+            CyderFileHandler.AUDIO, CyderFileHandler.IMAGE, CyderFileHandler.TEXT);
 
     /**
-     * The instance socket.
+     * The instance socket server, null until bound.
      */
-    private static ServerSocket instanceSocket;
+    private static InstanceSocketServer instanceSocketServer;
+
+    /**
+     * The token requests to focus this instance or open files must be signed with, null until listening.
+     */
+    private static volatile InstanceSocketToken instanceSocketToken;
 
     /**
      * Suppress default constructor.
@@ -77,15 +106,17 @@ public final class InstanceSocketUtil {
     }
 
     /**
-     * Attempts to bind to the set instance socket. If unavailable, and localhost remote shutdown requests
-     * are enabled, a communication message is sent through the socket in an attempt to shutdown another
-     * instance of Cyder already bound to the instance port.
+     * Attempts to bind to the set instance socket. If unavailable and a resource to open was passed
+     * via {@link CyderArguments#OPEN}, the resource is handed off to the running instance and this
+     * instance exits. Otherwise, if localhost remote shutdown requests are enabled, a shutdown request
+     * is sent through the socket in an attempt to shutdown another instance of Cyder already bound to
+     * the instance port.
      */
     public static void bindToInstanceSocket() {
         CyderSplash.INSTANCE.setLoadingMessage("Ensuring singular instance");
         Logger.log(LogTag.NETWORK, "Attempting to bind to instance socket port: "
                 + Props.instanceSocketPort.getValue());
-        SocketBindAttemptResult result = attemptToBindToInstanceSocked();
+        SocketBindAttemptResult result = attemptToBindToInstanceSocket();
         Logger.log(LogTag.NETWORK, "Instance socket bind attempt result: " + result.getMessage());
         if (result.isSuccessful()) {
             InstanceSocketUtil.startListening();
@@ -95,45 +126,111 @@ public final class InstanceSocketUtil {
     }
 
     /**
-     * Attempts to bind to the set instance socket. If unavailable, and localhost remote shutdown requests
-     * are enabled, a communication message is sent through the socket in an attempt to shutdown another
-     * instance of Cyder already bound to the instance port.
+     * Attempts to bind to the set instance socket. If unavailable, work is handed off to the running
+     * instance or a remote shutdown request is sent as described by {@link #bindToInstanceSocket()}.
      *
      * @return the result of attempting to bind to the instance socket
      */
-    private static SocketBindAttemptResult attemptToBindToInstanceSocked() {
-        if (InstanceSocketUtil.instanceSocketPortAvailable()) return SocketBindAttemptResult.PORT_AVAILABLE;
-        boolean shutdownRequestsEnabled = Props.localhostShutdownRequestsEnabled.getValue();
-        if (!shutdownRequestsEnabled) return SocketBindAttemptResult.REMOTE_SHUTDOWN_REQUESTS_DISABLED;
+    private static SocketBindAttemptResult attemptToBindToInstanceSocket() {
+        if (tryBind()) return SocketBindAttemptResult.PORT_AVAILABLE;
+
         int port = Props.instanceSocketPort.getValue();
         if (!NetworkUtil.portRange.contains(port)) return SocketBindAttemptResult.INVALID_PORT;
+
+        Optional<String> resourceToOpen = JvmUtil.getArgumentParam(CyderArguments.OPEN.getName())
+                .filter(resource -> !resource.isEmpty());
+        if (resourceToOpen.isPresent() && handOffToRunningInstance(port, resourceToOpen.get())) {
+            OsUtil.exit(ExitCondition.HandedOffToRunningInstance);
+        }
+
+        boolean shutdownRequestsEnabled = Props.localhostShutdownRequestsEnabled.getValue();
+        if (!shutdownRequestsEnabled) return SocketBindAttemptResult.REMOTE_SHUTDOWN_REQUESTS_DISABLED;
         String password = Props.localhostShutdownRequestPassword.getValue();
         if (StringUtil.isNullOrEmpty(password)) return SocketBindAttemptResult.PASSWORD_NOT_SET;
 
         try {
-            Future<CyderCommunicationMessage> futureMessage =
-                    InstanceSocketUtil.sendRemoteShutdownRequest(NetworkUtil.LOCALHOST, port, password);
-            while (!futureMessage.isDone()) Thread.onSpinWait();
-            CyderCommunicationMessage message = futureMessage.get();
-            String content = message.getContent();
-            RemoteShutdownRequestResult result =
-                    RemoteShutdownRequestResult.fromMessage(content);
+            CyderCommunicationMessage message = InstanceSocketUtil.sendRemoteShutdownRequest(
+                    NetworkUtil.LOCALHOST, port, password).get(instanceResponseTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            RemoteShutdownRequestResult result = RemoteShutdownRequestResult.fromMessage(message.getContent());
             if (!result.isShouldComply()) return SocketBindAttemptResult.REMOTE_SHUTDOWN_REQUEST_DENIED;
-            long startedWaitingTime = System.currentTimeMillis();
-            while (!NetworkUtil.localPortAvailable(port)) {
-                if (System.currentTimeMillis() - startedWaitingTime >= maximumWaitForInstancePortToFree.toMillis()) {
-                    return SocketBindAttemptResult.TIMED_OUT_AFTER_SUCCESSFUL_REMOTE_SHUTDOWN;
-                }
-                Thread.onSpinWait();
-            }
-            return SocketBindAttemptResult.SUCCESS_AFTER_REMOTE_SHUTDOWN;
-        } catch (InterruptedException | ExecutionException e) {
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof ConnectException) return SocketBindAttemptResult.PORT_UNAVAILABLE;
             ExceptionHandler.handle(e);
             return SocketBindAttemptResult.FAILURE_WHILE_ATTEMPTING_REMOTE_SHUTDOWN;
-        } catch (FatalException e) {
+        } catch (InterruptedException | TimeoutException | FatalException e) {
             ExceptionHandler.handle(e);
-            return SocketBindAttemptResult.PORT_UNAVAILABLE;
+            return SocketBindAttemptResult.FAILURE_WHILE_ATTEMPTING_REMOTE_SHUTDOWN;
+        }
+
+        long startedWaitingTime = System.currentTimeMillis();
+        while (!tryBind()) {
+            if (System.currentTimeMillis() - startedWaitingTime >= maximumWaitForInstancePortToFree.toMillis()) {
+                return SocketBindAttemptResult.TIMED_OUT_AFTER_SUCCESSFUL_REMOTE_SHUTDOWN;
+            }
+            ThreadUtil.sleep(bindRetryTimeout.toMillis());
         }
+        return SocketBindAttemptResult.SUCCESS_AFTER_REMOTE_SHUTDOWN;
+    }
+
+    /**
+     * Attempts to bind the instance socket server to the instance socket port on the loopback address.
+     *
+     * @return whether the server was bound, false if another process is bound to the port
+     */
+    private static boolean tryBind() {
+        try {
+            instanceSocketServer = InstanceSocketServer.bind(
+                    new InetSocketAddress(InetAddress.getLoopbackAddress(), instanceSocketPort),
+                    InstanceSocketUtil::onInstanceSocketRequestReceived);
+            return true;
+        } catch (BindException e) {
+            return false;
+        } catch (IOException e) {
+            ExceptionHandler.handle(e);
+            return false;
+        }
+    }
+
+    /**
+     * Hands the provided resource off to the running instance bound to the provided port
+     * to open and brings the frames of the running instance to the front.
+     *
+     * @param port     the instance socket port of the running instance
+     * @param resource the resource to open
+     * @return whether the running instance accepted the resource
+     */
+    private static boolean handOffToRunningInstance(int port, String resource) {
+        File resourceFile = new File(resource);
+        if (!resourceFile.isFile()) {
+            Logger.log(LogTag.NETWORK, "Not handing off resource which is not a file: " + resource);
+            return false;
+        }
+
+        Optional<InstanceSocketToken> token = InstanceSocketToken.read(Dynamic.buildDynamic(INSTANCE_TOKEN_FILE_NAME));
+        if (token.isEmpty()) {
+            Logger.log(LogTag.NETWORK, "Not handing off resource as the running instance's token could not be read");
+            return false;
+        }
+
+        try (InstanceSocketClient client = InstanceSocketClient.connect(NetworkUtil.LOCALHOST, port,
+                instanceResponseTimeout, SessionManager.INSTANCE.getSessionId())) {
+            CompletableFuture<InstanceSocketFrame> opened = client.send(InstanceCommand.OPEN_FILE,
+                    token.get().sign(resourceFile.getAbsolutePath()));
+            CompletableFuture<InstanceSocketFrame> focused = client.send(InstanceCommand.FOCUS,
+                    token.get().sign(InstanceCommand.FOCUS.getMessage()));
+
+            InstanceSocketFrame openResponse = opened.get(instanceResponseTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            focused.get(instanceResponseTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            Logger.log(LogTag.NETWORK, "Hand off to running instance " + openResponse.message().getSessionId()
+                    + " result: " + openResponse.message().getContent());
+            return openResponse.isSuccessfulResponse();
+        } catch (IOException | ExecutionException | TimeoutException e) {
+            ExceptionHandler.handle(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        return false;
     }
 
     /**
@@ -156,39 +253,29 @@ public final class InstanceSocketUtil {
     }
 
     /**
-     * Binds the instance socket to the instance socket port and starts listening for a connection.
+     * Binds the instance socket to the instance socket port if not yet bound, writes the token
+     * requests must be signed with, and starts listening for clients.
      *
-     * @throws cyder.exceptions.FatalException if an exception occurs
+     * @throws cyder.exceptions.FatalException if the instance socket port cannot be bound to
      */
     public static void startListening() {
-        Preconditions.checkState(!instanceSocketBindAttempted.get());
-
-        instanceSocketBindAttempted.set(true);
+        Preconditions.checkState(!instanceSocketBindAttempted.getAndSet(true));
 
-        CyderThreadRunner.submit(() -> {
-            try {
-                instanceSocket = new ServerSocket(instanceSocketPort, instanceSocketBacklog);
-
-                while (shouldAcceptInstanceSocketMessages.get()) {
-                    try {
-                        Socket client = instanceSocket.accept();
-
-                        PrintWriter responseWriter = new PrintWriter(client.getOutputStream(), true);
-                        BufferedReader inputReader = new BufferedReader(new InputStreamReader(client.getInputStream()));
+        if (instanceSocketServer == null && !tryBind()) {
+            throw new FatalException("Failed to bind to instance socket port: " + instanceSocketPort);
+        }
 
-                        CyderCommunicationMessage receivedMessage = readInputMessage(inputReader);
+        instanceSocketToken = InstanceSocketToken.generate();
+        File tokenFile = Dynamic.buildDynamic(INSTANCE_TOKEN_FILE_NAME);
+        try {
+            instanceSocketToken.write(tokenFile);
+            tokenFile.deleteOnExit();
+        } catch (IOException e) {
+            Logger.log(LogTag.NETWORK, "Failed to write instance socket token, focus and open file requests"
+                    + " will be denied: " + e.getMessage());
+        }
 
-                        onInstanceSocketMessageReceived(receivedMessage, responseWriter);
-                    } catch (Exception e) {
-                        ExceptionHandler.handle(e);
-                    } finally {
-                        ThreadUtil.sleep(instanceSocketPollTimeout.toMillis());
-                    }
-                }
-            } catch (Exception e) {
-                throw new FatalException(e);
-            }
-        }, IgnoreThread.InstanceSocket.getName());
+        instanceSocketServer.start(IgnoreThread.InstanceSocket.getName());
     }
 
     /**
@@ -208,68 +295,117 @@ public final class InstanceSocketUtil {
         Preconditions.checkNotNull(shutdownPassword);
         Preconditions.checkArgument(!shutdownPassword.isEmpty());
 
-        String executorName = "Remote Shutdown Request, host: " + host + ", port: " + port;
-        return Executors.newSingleThreadExecutor(new CyderThreadFactory(executorName)).submit(() -> {
-            try (Socket clientSocket = new Socket(host, port)) {
-                PrintWriter outputWriter = new PrintWriter(clientSocket.getOutputStream(), true);
-                BufferedReader inputReader = new BufferedReader(new InputStreamReader(clientSocket.getInputStream()));
+        InstanceSocketClient client;
+        try {
+            client = InstanceSocketClient.connect(host, port, instanceResponseTimeout,
+                    SessionManager.INSTANCE.getSessionId());
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
 
-                sendCommunicationMessage(CyderRemoteShutdownMessage.MESSAGE,
-                        SecurityUtil.hashAndHex(shutdownPassword), outputWriter);
+        return client.send(InstanceCommand.SHUTDOWN, SecurityUtil.hashAndHex(shutdownPassword))
+                .thenApply(InstanceSocketFrame::message)
+                .whenComplete((message, exception) -> client.close());
+    }
 
-                return readInputMessage(inputReader);
-            } catch (Exception e) {
-                ExceptionHandler.handle(e);
-            }
+    /**
+     * The actions to invoke when a request is received by the instance socket.
+     *
+     * @param request the request received
+     * @return the reply to the request
+     */
+    private static InstanceSocketServer.Reply onInstanceSocketRequestReceived(CyderCommunicationMessage request) {
+        Preconditions.checkNotNull(request);
 
-            throw new FatalException("Failed to send remote shutdown request");
-        });
+        Optional<InstanceCommand> command = InstanceCommand.fromMessage(request.getMessage());
+        if (command.isEmpty()) {
+            return reply(false, request.getMessage(), "Unknown command: " + request.getMessage());
+        }
+
+        Logger.log(LogTag.NETWORK, "Instance socket " + command.get().getMessage()
+                + " request from instance: " + request.getSessionId());
+
+        return switch (command.get()) {
+            case STATUS -> onStatusRequestReceived();
+            case FOCUS -> onFocusRequestReceived(request);
+            case OPEN_FILE -> onOpenFileRequestReceived(request);
+            case SHUTDOWN -> onRemoteShutdownRequestReceived(request);
+        };
     }
 
     /**
-     * Reads a Cyder communication message from the provided buffered reader.
+     * Returns the status of this instance.
      *
-     * @param inputReader the buffered reader
-     * @return the communication message
+     * @return the reply containing the session id and uptime of this instance
      */
-    private static CyderCommunicationMessage readInputMessage(BufferedReader inputReader) {
-        Preconditions.checkNotNull(inputReader);
+    private static InstanceSocketServer.Reply onStatusRequestReceived() {
+        return reply(true, InstanceCommand.STATUS.getMessage(), "Session id: "
+                + SessionManager.INSTANCE.getSessionId() + ", uptime: " + JvmUtil.getRuntime() + "ms");
+    }
 
-        try {
-            String startAndEndHash = inputReader.readLine();
-            StringBuilder inputBuilder = new StringBuilder();
+    /**
+     * Brings all frames of this instance to the front, restoring any which are minimized,
+     * if the request is signed with the token of this instance.
+     *
+     * @param request the request
+     * @return the reply containing the number of frames focused
+     */
+    private static InstanceSocketServer.Reply onFocusRequestReceived(CyderCommunicationMessage request) {
+        if (verifyToken(request).isEmpty()) {
+            return reply(false, InstanceCommand.FOCUS.getMessage(), "Invalid instance token");
+        }
 
-            String line;
-            while ((line = inputReader.readLine()) != null && !line.equals(startAndEndHash)) {
-                inputBuilder.append(line);
+        int frames = UiUtil.getCyderFrames().size();
+        SwingUtilities.invokeLater(() -> {
+            for (CyderFrame frame : UiUtil.getCyderFrames()) {
+                if (frame.getState() == Frame.ICONIFIED) frame.setState(Frame.NORMAL);
+                frame.toFront();
             }
+        });
 
-            return CyderCommunicationMessage.fromJson(inputBuilder.toString());
-        } catch (Exception e) {
-            ExceptionHandler.handle(e);
-        }
-
-        throw new FatalException("Failed to read communication message from reader: " + inputReader);
+        return reply(true, InstanceCommand.FOCUS.getMessage(), "Focusing frames: " + frames);
     }
 
     /**
-     * The actions to invoke when a message is received in the instance socket.
+     * Opens the file contained in the provided request if the request is signed with the token of this
+     * instance and the file is an existing audio, image, or text file which Cyder opens itself.
      *
-     * @param message        the message received
-     * @param responseWriter the writer to use to send a response message
+     * @param request the request
+     * @return the reply indicating whether the file is being opened
      */
-    private static void onInstanceSocketMessageReceived(CyderCommunicationMessage message,
-                                                        PrintWriter responseWriter) {
-        Preconditions.checkNotNull(message);
-        Preconditions.checkNotNull(responseWriter);
+    private static InstanceSocketServer.Reply onOpenFileRequestReceived(CyderCommunicationMessage request) {
+        String messageType = InstanceCommand.OPEN_FILE.getMessage();
 
-        String messageType = message.getMessage();
+        Optional<String> resource = verifyToken(request);
+        if (resource.isEmpty()) return reply(false, messageType, "Invalid instance token");
 
-        if (messageType.equals(CyderRemoteShutdownMessage.MESSAGE)) {
-            onInstanceSocketCyderRemoteShutdownMessageReceived(message, responseWriter);
-        } else {
-            throw new FatalException("Unknown CyderCommunicationMessage: " + messageType);
+        File file = new File(resource.get());
+        if (!file.isFile()) return reply(false, messageType, "Not an existing file: " + resource.get());
+
+        Optional<CyderFileHandler> handler = openFileHandlers.stream()
+                .filter(fileHandler -> fileHandler.shouldUseForFile(file)).findFirst();
+        if (handler.isEmpty()) return reply(false, messageType, "Unsupported file: " + resource.get());
+
+        CyderThreadRunner.submit(() -> handler.get().open(file), "Instance Socket File Opener");
+        return reply(true, messageType, "Opening file: " + file.getAbsolutePath());
+    }
+
+    /**
+     * Returns the content of the provided request if it was signed with the token of this instance.
+     *
+     * @param request the request
+     * @return the content of the request, empty if this instance is not listening or the token is invalid
+     */
+    private static Optional<String> verifyToken(CyderCommunicationMessage request) {
+        InstanceSocketToken token = instanceSocketToken;
+        if (token == null) return Optional.empty();
+
+        Optional<String> ret = token.verify(request.getContent());
+        if (ret.isEmpty()) {
+            Logger.log(LogTag.NETWORK, "Denied instance socket " + request.getMessage()
+                    + " request with invalid token from instance: " + request.getSessionId());
         }
+        return ret;
     }
 
     /**
@@ -302,52 +438,37 @@ public final class InstanceSocketUtil {
     }
 
     /**
-     * The actions to invoke when a Cyder remote shutdown message is received.
+     * The actions to invoke when a Cyder remote shutdown request is received. If the request is complied to,
+     * this instance exits once the response has been sent.
      *
-     * @param message        the message received
-     * @param responseWriter the print writer to send a response to the sending client
+     * @param request the request received
+     * @return the reply containing the result of the request
      */
-    private static void onInstanceSocketCyderRemoteShutdownMessageReceived(CyderCommunicationMessage message,
-                                                                           PrintWriter responseWriter) {
-        Preconditions.checkNotNull(message);
-        Preconditions.checkNotNull(responseWriter);
-
-        Logger.log(LogTag.DEBUG, "Shutdown requested from instance: " + message.getSessionId());
-        RemoteShutdownRequestResult result = determineRemoteShutdownRequestResult(message.getContent());
+    private static InstanceSocketServer.Reply onRemoteShutdownRequestReceived(CyderCommunicationMessage request) {
+        RemoteShutdownRequestResult result = determineRemoteShutdownRequestResult(request.getContent());
         Logger.log(LogTag.DEBUG, result.getMessage());
 
-        sendCommunicationMessage("Remote shutdown response", result.getMessage(), responseWriter);
+        CyderCommunicationMessage response = new CyderCommunicationMessage(
+                InstanceCommand.SHUTDOWN.getMessage() + RESPONSE_SUFFIX,
+                result.getMessage(), SessionManager.INSTANCE.getSessionId());
+        if (!result.isShouldComply()) return new InstanceSocketServer.Reply(true, response);
 
-        if (result.isShouldComply()) {
-            try {
-                instanceSocket.close();
-                responseWriter.close();
-            } catch (Exception ignored) {} finally {
-                OsUtil.exit(ExitCondition.RemoteShutdown);
-            }
-        }
+        return new InstanceSocketServer.Reply(true, response, () -> {
+            instanceSocketServer.close();
+            OsUtil.exit(ExitCondition.RemoteShutdown);
+        });
     }
 
     /**
-     * Sends a Cyder communication message using the provided print writer.
+     * Returns a new reply to a request of the provided message type.
      *
-     * @param message        the response message string for the {@link CyderCommunicationMessage}s content field.
-     * @param responseWriter the print writer to use to send the response
+     * @param successful  whether the request was handled successfully
+     * @param messageType the message type of the request
+     * @param content     the content of the reply
+     * @return the reply
      */
-    private static void sendCommunicationMessage(String message, String content, PrintWriter responseWriter) {
-        Preconditions.checkNotNull(message);
-        Preconditions.checkNotNull(content);
-        Preconditions.checkNotNull(responseWriter);
-        Preconditions.checkArgument(!message.isEmpty());
-        Preconditions.checkArgument(!content.isEmpty());
-
-        CyderCommunicationMessage responseShutdownMessage = new CyderCommunicationMessage(
-                message, content, SessionManager.INSTANCE.getSessionId());
-
-        String sendHash = SecurityUtil.generateUuid();
-
-        responseWriter.println(sendHash);
-        responseWriter.println(responseShutdownMessage);
-        responseWriter.println(sendHash);
+    private static InstanceSocketServer.Reply reply(boolean successful, String messageType, String content) {
+        return new InstanceSocketServer.Reply(successful, new CyderCommunicationMessage(
+                messageType + RESPONSE_SUFFIX, content, SessionManager.INSTANCE.getSessionId()));
     }
 }
@@ -5,6 +5,7 @@ import com.google.common.collect.ImmutableList;
 import cyder.bounds.HtmlString;
 import cyder.bounds.PlainString;
 import cyder.bounds.StringContainer;
+import cyder.bounds.TextMeasurer;
 import cyder.constants.CyderRegexPatterns;
 import cyder.constants.CyderUrls;
 import cyder.constants.HtmlTags;
@@ -25,7 +26,6 @@ import javax.swing.*;
 import javax.swing.text.*;
 import java.awt.*;
 import java.awt.font.FontRenderContext;
-import java.awt.geom.AffineTransform;
 import java.io.BufferedReader;
 import java.io.FileReader;
 import java.util.List;
@@ -914,8 +914,7 @@ public final class StringUtil {
     /**
      * The font render context to use for string bounds calculations.
      */
-    private static final FontRenderContext fontRenderContext =
-            new FontRenderContext(new AffineTransform(), true, true);
+    private static final FontRenderContext fontRenderContext = TextMeasurer.DEFAULT_RENDER_CONTEXT;
 
     /**
      * Returns the minimum width required for the given String using the given font.
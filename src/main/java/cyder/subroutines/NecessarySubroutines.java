@@ -1,6 +1,8 @@
 package cyder.subroutines;
 
 import com.google.common.base.Preconditions;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
 import com.google.common.collect.ImmutableList;
 import com.google.common.reflect.ClassPath;
 import cyder.annotations.*;
@@ -18,6 +20,7 @@ import cyder.logging.Logger;
 import cyder.meta.CyderSplash;
 import cyder.strings.CyderStrings;
 import cyder.strings.StringUtil;
+import cyder.threads.CyderThreadFactory;
 import cyder.user.UserUtil;
 import cyder.utils.ArrayUtil;
 import cyder.utils.ReflectionUtil;
@@ -27,7 +30,10 @@ import java.awt.*;
 import java.io.File;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
 
 import static cyder.strings.CyderStrings.*;
 
@@ -70,6 +76,21 @@ public final class NecessarySubroutines {
      */
     private static final ArrayList<String> handleTriggers = new ArrayList<>();
 
+    /**
+     * The name of the subroutine which creates the dynamic directories.
+     */
+    private static final String CREATING_DYNAMICS = "Creating dynamics";
+
+    /**
+     * The name of the subroutine which scans the classes of Cyder.
+     */
+    private static final String SCANNING_CLASSES = "Scanning classes";
+
+    /**
+     * The name of the threads which execute the necessary subroutines.
+     */
+    private static final String NECESSARY_SUBROUTINE_EXECUTOR_THREAD_NAME = "Necessary Subroutine Executor";
+
     /**
      * Suppress default constructor.
      */
@@ -78,22 +99,84 @@ public final class NecessarySubroutines {
     }
 
     /**
-     * Executes the necessary subroutines on the main thread.
+     * The classes of Cyder and the annotated classes and methods which necessary subroutines validate.
+     *
+     * @param classes        all classes of Cyder
+     * @param guiTestMethods the methods annotated with {@link GuiTest}
+     * @param widgetMethods  the methods annotated with {@link Widget}
+     * @param vanillaClasses the classes annotated with {@link Vanilla}
+     */
+    private record ClassScan(ImmutableList<Class<?>> classes,
+                             ImmutableList<Method> guiTestMethods,
+                             ImmutableList<Method> widgetMethods,
+                             ImmutableList<Class<?>> vanillaClasses) {}
+
+    /**
+     * The single scan of the classes of Cyder shared by all annotation validations.
+     */
+    private static final Supplier<ClassScan> classScan = Suppliers.memoize(NecessarySubroutines::scanClasses);
+
+    /**
+     * Loads all classes of Cyder and collects the annotated classes and methods.
+     *
+     * @return the class scan
+     */
+    private static ClassScan scanClasses() {
+        ImmutableList.Builder<Class<?>> classes = ImmutableList.builder();
+        ImmutableList.Builder<Method> guiTestMethods = ImmutableList.builder();
+        ImmutableList.Builder<Method> widgetMethods = ImmutableList.builder();
+        ImmutableList.Builder<Class<?>> vanillaClasses = ImmutableList.builder();
+
+        for (ClassPath.ClassInfo classInfo : ReflectionUtil.getCyderClasses()) {
+            Class<?> clazz = classInfo.load();
+            classes.add(clazz);
+            if (clazz.isAnnotationPresent(Vanilla.class)) vanillaClasses.add(clazz);
+
+            for (Method method : clazz.getMethods()) {
+                if (method.isAnnotationPresent(GuiTest.class)) guiTestMethods.add(method);
+                if (method.isAnnotationPresent(Widget.class)) widgetMethods.add(method);
+            }
+        }
+
+        return new ClassScan(classes.build(), guiTestMethods.build(),
+                widgetMethods.build(), vanillaClasses.build());
+    }
+
+    /**
+     * Executes the necessary subroutines in parallel where their dependencies allow, blocking until all complete.
+     * The timing of each subroutine and the critical path are logged.
      * If any fail then the program is exited with the exit condition of {@link ExitCondition#NecessarySubroutineExit}.
      */
     public static void executeSubroutines() {
-        for (Subroutine subroutine : subroutines) {
-            CyderSplash.INSTANCE.setLoadingMessage(subroutine.getThreadName());
-            Boolean result = subroutine.getRoutine().get();
+        int threads = Math.max(1, Math.min(subroutines.size(), Runtime.getRuntime().availableProcessors()));
+        ExecutorService executor = Executors.newFixedThreadPool(threads,
+                new CyderThreadFactory(NECESSARY_SUBROUTINE_EXECUTOR_THREAD_NAME));
+
+        SubroutineGraph.Execution execution;
+        try {
+            execution = subroutineGraph.execute(executor,
+                    subroutine -> CyderSplash.INSTANCE.setLoadingMessage(subroutine.getThreadName()));
+        } finally {
+            executor.shutdown();
+        }
 
-            if (result == null || !result) {
-                throw new FatalException(subroutine.getOnFailureMessage());
-            }
+        for (SubroutineGraph.Timing timing : execution.timings()) {
+            Logger.log(LogTag.SUBROUTINE_TIMING, timing.subroutine().getThreadName()
+                    + colon + space + timing.durationMillis() + "ms, started at "
+                    + timing.startMillis() + "ms" + (timing.succeeded() ? "" : ", failed"));
         }
+        Logger.log(LogTag.SUBROUTINE_TIMING, "Critical path" + colon + space
+                + execution.criticalPath().stream().map(Subroutine::getThreadName)
+                .collect(Collectors.joining(" -> ")));
+
+        execution.failure().ifPresent(failure -> {
+            throw new FatalException(failure.getOnFailureMessage());
+        });
     }
 
     /**
      * The list of necessary subroutines which must complete successfully before builds of Cyder are released.
+     * Each subroutine follows its dependencies, meaning the subroutines may also be executed sequentially in order.
      */
     public static final ImmutableList<Subroutine> subroutines = ImmutableList.of(
             new Subroutine(() -> {
@@ -118,27 +201,38 @@ public final class NecessarySubroutines {
                 return true;
             }, "Registering fonts", "Registering fonts failed"),
 
+            new Subroutine(Dynamic::ensureDynamicsCreated,
+                    CREATING_DYNAMICS, "Creation of dynamics failed"),
+
+            new Subroutine(() -> {
+                classScan.get();
+                return true;
+            }, SCANNING_CLASSES, "Scanning classes failed"),
+
             new Subroutine(NecessarySubroutines::validateGuiTests,
-                    "Validating Gui Tests", "Validation of GuiTests failed"),
+                    "Validating Gui Tests", "Validation of GuiTests failed", ImmutableList.of(SCANNING_CLASSES)),
 
             new Subroutine(NecessarySubroutines::validateWidgets,
-                    "Validating Widgets", "Validation of Widgets failed"),
+                    "Validating Widgets", "Validation of Widgets failed", ImmutableList.of(SCANNING_CLASSES)),
 
             new Subroutine(NecessarySubroutines::validateVanillaAnnotations,
-                    "Validating vanilla classes", "Validation of vanilla classes failed"),
+                    "Validating vanilla classes", "Validation of vanilla classes failed",
+                    ImmutableList.of(SCANNING_CLASSES)),
 
             new Subroutine(NecessarySubroutines::validateHandles,
-                    "Validating handles", "Validation of handles failed"),
-
-            new Subroutine(Dynamic::ensureDynamicsCreated,
-                    "Creating dynamics", "Creation of dynamics failed"),
+                    "Validating handles", "Validation of handles failed", ImmutableList.of(SCANNING_CLASSES)),
 
             new Subroutine(() -> {
                 UserUtil.cleanUsers();
                 return true;
-            }, "Cleaning users", "Cleaning users failed")
+            }, "Cleaning users", "Cleaning users failed", ImmutableList.of(CREATING_DYNAMICS))
     );
 
+    /**
+     * The graph of the necessary subroutines.
+     */
+    private static final SubroutineGraph subroutineGraph = new SubroutineGraph(subroutines);
+
     /**
      * Finds all gui tests within Cyder by looking for methods annotated with {@link GuiTest}.
      * A Gui test is valid if the following conditions are met:
@@ -152,13 +246,8 @@ public final class NecessarySubroutines {
     private static boolean validateGuiTests() {
         boolean ret = true;
 
-        for (ClassPath.ClassInfo classInfo : ReflectionUtil.getCyderClasses()) {
-            Class<?> clazz = classInfo.load();
-
-            for (Method method : clazz.getMethods()) {
-                if (!method.isAnnotationPresent(GuiTest.class)) continue;
-                if (!validateGuiTestMethod(method)) ret = false;
-            }
+        for (Method method : classScan.get().guiTestMethods()) {
+            if (!validateGuiTestMethod(method)) ret = false;
         }
 
         return ret;
@@ -233,15 +322,9 @@ public final class NecessarySubroutines {
     private static boolean validateWidgets() {
         boolean ret = true;
 
-        for (ClassPath.ClassInfo classInfo : ReflectionUtil.getCyderClasses()) {
-            Class<?> clazz = classInfo.load();
-
-            for (Method method : clazz.getMethods()) {
-                if (method.isAnnotationPresent(Widget.class)) {
-                    if (!validateWidget(method)) {
-                        ret = false;
-                    }
-                }
+        for (Method method : classScan.get().widgetMethods()) {
+            if (!validateWidget(method)) {
+                ret = false;
             }
         }
 
@@ -312,13 +395,9 @@ public final class NecessarySubroutines {
     private static boolean validateVanillaAnnotations() {
         boolean ret = true;
 
-        for (ClassPath.ClassInfo classInfo : ReflectionUtil.getCyderClasses()) {
-            Class<?> clazz = classInfo.load();
-
-            if (clazz.isAnnotationPresent(Vanilla.class)) {
-                if (!validateVanillaAnnotation(clazz)) {
-                    ret = false;
-                }
+        for (Class<?> clazz : classScan.get().vanillaClasses()) {
+            if (!validateVanillaAnnotation(clazz)) {
+                ret = false;
             }
         }
 
@@ -371,8 +450,7 @@ public final class NecessarySubroutines {
     public static boolean validateHandles() {
         boolean ret = true;
 
-        for (ClassPath.ClassInfo classInfo : ReflectionUtil.getCyderClasses()) {
-            Class<?> clazz = classInfo.load();
+        for (Class<?> clazz : classScan.get().classes()) {
             if (!validateHandle(clazz)) {
                 ret = false;
             }
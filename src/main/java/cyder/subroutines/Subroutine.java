@@ -2,6 +2,7 @@ package cyder.subroutines;
 
 import com.google.common.base.Preconditions;
 import com.google.common.base.Supplier;
+import com.google.common.collect.ImmutableList;
 import com.google.errorprone.annotations.Immutable;
 import cyder.strings.CyderStrings;
 
@@ -30,6 +31,11 @@ public final class Subroutine {
      */
     private final String onFailureMessage;
 
+    /**
+     * The thread names of the subroutines which must complete successfully before this subroutine may execute.
+     */
+    private final ImmutableList<String> dependencies;
+
     /**
      * Constructs a new sufficient subroutine.
      *
@@ -50,15 +56,33 @@ public final class Subroutine {
      * @param onFailureMessage the failure message to use in the case of the supplier returning false
      */
     public Subroutine(Supplier<Boolean> routine, String threadName, String onFailureMessage) {
+        this(routine, threadName, onFailureMessage, ImmutableList.of());
+    }
+
+    /**
+     * Constructs a new sufficient subroutine.
+     *
+     * @param routine          the routine to execute
+     * @param threadName       the name of the thread to execute the routine using
+     *                         if the routine is not sequential but instead parallel
+     * @param onFailureMessage the failure message to use in the case of the supplier returning false
+     * @param dependencies     the thread names of the subroutines which must complete
+     *                         successfully before this subroutine may execute
+     */
+    public Subroutine(Supplier<Boolean> routine, String threadName, String onFailureMessage,
+                      ImmutableList<String> dependencies) {
         Preconditions.checkNotNull(routine);
         Preconditions.checkNotNull(threadName);
         Preconditions.checkArgument(!threadName.isEmpty());
         Preconditions.checkNotNull(onFailureMessage);
         Preconditions.checkArgument(!onFailureMessage.isEmpty());
+        Preconditions.checkNotNull(dependencies);
+        Preconditions.checkArgument(!dependencies.contains(threadName));
 
         this.routine = routine;
         this.threadName = threadName;
         this.onFailureMessage = onFailureMessage;
+        this.dependencies = dependencies;
     }
 
     /**
@@ -89,6 +113,15 @@ public final class Subroutine {
         return onFailureMessage;
     }
 
+    /**
+     * Returns the thread names of the subroutines which must complete successfully before this subroutine may execute.
+     *
+     * @return the thread names of the dependencies of this subroutine
+     */
+    public ImmutableList<String> getDependencies() {
+        return dependencies;
+    }
+
     /**
      * {@inheritDoc}
      */
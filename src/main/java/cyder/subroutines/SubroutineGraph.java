@@ -0,0 +1,234 @@
+package cyder.subroutines;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import cyder.handlers.internal.ExceptionHandler;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * A directed acyclic graph of {@link Subroutine}s connected by their dependencies.
+ * <p>
+ * Executing the graph submits each subroutine as soon as all of its dependencies have completed successfully,
+ * meaning independent subroutines execute in parallel. Subroutines whose dependencies failed are skipped.
+ */
+final class SubroutineGraph {
+    /**
+     * The timing of an executed subroutine.
+     *
+     * @param subroutine the subroutine
+     * @param startNanos the nanoseconds since the start of execution the subroutine started at
+     * @param endNanos   the nanoseconds since the start of execution the subroutine ended at
+     * @param succeeded  whether the subroutine completed successfully
+     */
+    record Timing(Subroutine subroutine, long startNanos, long endNanos, boolean succeeded) {
+        /**
+         * Returns the milliseconds since the start of execution the subroutine started at.
+         *
+         * @return the milliseconds since the start of execution the subroutine started at
+         */
+        long startMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(startNanos);
+        }
+
+        /**
+         * Returns the number of milliseconds the subroutine took to execute.
+         *
+         * @return the number of milliseconds the subroutine took to execute
+         */
+        long durationMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(endNanos - startNanos);
+        }
+    }
+
+    /**
+     * The result of executing a subroutine graph.
+     *
+     * @param timings      the timings of the executed subroutines in execution order
+     * @param failure      the first subroutine in execution order which failed, empty if none failed
+     * @param criticalPath the chain of subroutines which determined the total execution time, in execution order
+     */
+    record Execution(ImmutableList<Timing> timings, Optional<Subroutine> failure,
+                     ImmutableList<Subroutine> criticalPath) {}
+
+    /**
+     * The subroutines in a topological order which preserves declaration order where possible.
+     */
+    private final ImmutableList<Subroutine> executionOrder;
+
+    /**
+     * Constructs a new subroutine graph.
+     *
+     * @param subroutines the subroutines of the graph
+     * @throws IllegalArgumentException if two subroutines share a thread name, a dependency does not exist,
+     *                                  or the dependencies contain a cycle
+     */
+    SubroutineGraph(ImmutableList<Subroutine> subroutines) {
+        Preconditions.checkNotNull(subroutines);
+
+        ImmutableMap.Builder<String, Subroutine> byName = ImmutableMap.builder();
+        subroutines.forEach(subroutine -> byName.put(subroutine.getThreadName(), subroutine));
+        ImmutableMap<String, Subroutine> subroutinesByName = byName.buildOrThrow();
+
+        for (Subroutine subroutine : subroutines) {
+            for (String dependency : subroutine.getDependencies()) {
+                Preconditions.checkArgument(subroutinesByName.containsKey(dependency),
+                        "Unknown dependency of " + subroutine.getThreadName() + ": " + dependency);
+            }
+        }
+
+        executionOrder = sortTopologically(subroutines);
+    }
+
+    /**
+     * Returns the provided subroutines sorted such that each subroutine follows its dependencies.
+     * Of the subroutines which may execute next, the earliest declared is chosen.
+     *
+     * @param subroutines the subroutines
+     * @return the sorted subroutines
+     * @throws IllegalArgumentException if the dependencies contain a cycle
+     */
+    private static ImmutableList<Subroutine> sortTopologically(ImmutableList<Subroutine> subroutines) {
+        HashMap<String, Integer> remainingDependencies = new HashMap<>();
+        HashMap<String, ArrayList<Integer>> dependents = new HashMap<>();
+        PriorityQueue<Integer> ready = new PriorityQueue<>();
+
+        for (int i = 0 ; i < subroutines.size() ; i++) {
+            Subroutine subroutine = subroutines.get(i);
+            ImmutableList<String> dependencies = subroutine.getDependencies();
+
+            remainingDependencies.put(subroutine.getThreadName(), dependencies.size());
+            for (String dependency : dependencies) {
+                dependents.computeIfAbsent(dependency, ignored -> new ArrayList<>()).add(i);
+            }
+            if (dependencies.isEmpty()) ready.add(i);
+        }
+
+        ImmutableList.Builder<Subroutine> ret = ImmutableList.builder();
+        int sorted = 0;
+        while (!ready.isEmpty()) {
+            Subroutine subroutine = subroutines.get(ready.poll());
+            ret.add(subroutine);
+            sorted++;
+
+            for (int dependent : dependents.getOrDefault(subroutine.getThreadName(), new ArrayList<>())) {
+                if (remainingDependencies.merge(subroutines.get(dependent).getThreadName(), -1, Integer::sum) == 0) {
+                    ready.add(dependent);
+                }
+            }
+        }
+
+        Preconditions.checkArgument(sorted == subroutines.size(), "Subroutine dependencies contain a cycle");
+        return ret.build();
+    }
+
+    /**
+     * Returns the subroutines in the order they are submitted for execution.
+     *
+     * @return the subroutines in execution order
+     */
+    ImmutableList<Subroutine> getExecutionOrder() {
+        return executionOrder;
+    }
+
+    /**
+     * Executes the subroutines of this graph using the provided executor and blocks until all have completed
+     * or been skipped due to a failed dependency. A subroutine fails if it returns false or null or throws.
+     *
+     * @param executor the executor to execute subroutines using
+     * @param onStart  the action to invoke on the executing thread when a subroutine starts
+     * @return the execution result
+     */
+    Execution execute(Executor executor, Consumer<Subroutine> onStart) {
+        Preconditions.checkNotNull(executor);
+        Preconditions.checkNotNull(onStart);
+
+        long startNanos = System.nanoTime();
+        ConcurrentHashMap<String, Timing> timings = new ConcurrentHashMap<>();
+        HashMap<String, CompletableFuture<Boolean>> futures = new HashMap<>();
+
+        for (Subroutine subroutine : executionOrder) {
+            ImmutableList<CompletableFuture<Boolean>> dependencyFutures = subroutine.getDependencies().stream()
+                    .map(futures::get).collect(ImmutableList.toImmutableList());
+
+            CompletableFuture<Boolean> future = CompletableFuture.allOf(
+                    dependencyFutures.toArray(CompletableFuture[]::new)).thenApplyAsync(ignored -> {
+                boolean dependenciesSucceeded = dependencyFutures.stream().allMatch(CompletableFuture::join);
+                if (!dependenciesSucceeded) return false;
+
+                long subroutineStart = System.nanoTime();
+                boolean succeeded = run(subroutine, onStart);
+                timings.put(subroutine.getThreadName(), new Timing(subroutine,
+                        subroutineStart - startNanos, System.nanoTime() - startNanos, succeeded));
+                return succeeded;
+            }, executor);
+
+            futures.put(subroutine.getThreadName(), future);
+        }
+
+        CompletableFuture.allOf(futures.values().toArray(CompletableFuture[]::new)).join();
+
+        ImmutableList<Timing> orderedTimings = executionOrder.stream()
+                .map(subroutine -> timings.get(subroutine.getThreadName()))
+                .filter(Objects::nonNull)
+                .collect(ImmutableList.toImmutableList());
+        Optional<Subroutine> failure = orderedTimings.stream()
+                .filter(timing -> !timing.succeeded())
+                .map(Timing::subroutine)
+                .findFirst();
+
+        return new Execution(orderedTimings, failure, computeCriticalPath(timings));
+    }
+
+    /**
+     * Runs the provided subroutine.
+     *
+     * @param subroutine the subroutine to run
+     * @param onStart    the action to invoke before running the subroutine
+     * @return whether the subroutine completed successfully
+     */
+    private static boolean run(Subroutine subroutine, Consumer<Subroutine> onStart) {
+        try {
+            onStart.accept(subroutine);
+            Boolean result = subroutine.getRoutine().get();
+            return result != null && result;
+        } catch (Exception e) {
+            ExceptionHandler.handle(e);
+            return false;
+        }
+    }
+
+    /**
+     * Computes the critical path by walking back from the last subroutine to end
+     * through the latest ending dependency of each subroutine. Subroutines ending at the same
+     * time are ordered by their position in the execution order, the later being chosen.
+     *
+     * @param timings the timings of the executed subroutines keyed by thread name
+     * @return the critical path in execution order
+     */
+    private ImmutableList<Subroutine> computeCriticalPath(Map<String, Timing> timings) {
+        Comparator<Timing> latestEnding = Comparator.comparingLong(Timing::endNanos)
+                .thenComparingInt(timing -> executionOrder.indexOf(timing.subroutine()));
+        Optional<Timing> current = timings.values().stream().max(latestEnding);
+
+        ArrayList<Subroutine> path = new ArrayList<>();
+        while (current.isPresent()) {
+            Subroutine subroutine = current.get().subroutine();
+            path.add(subroutine);
+
+            current = subroutine.getDependencies().stream()
+                    .map(timings::get)
+                    .filter(Objects::nonNull)
+                    .max(latestEnding);
+        }
+
+        Collections.reverse(path);
+        return ImmutableList.copyOf(path);
+    }
+}
@@ -0,0 +1,243 @@
+package cyder.threads;
+
+import com.google.common.base.Preconditions;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+/**
+ * A set of checked YouTube uuids packed into longs using {@link YoutubeUuidChecker#packUuid(String)}.
+ * Uuids are held in an open addressing table of primitive longs and every added uuid is appended
+ * to a file of big endian longs so that uuids checked by previous sessions are not checked again.
+ */
+final class CheckedUuidStore implements Closeable {
+    /**
+     * The number of bytes used to persist a single packed uuid.
+     */
+    private static final int RECORD_BYTES = Long.BYTES;
+
+    /**
+     * The initial capacity of the table.
+     */
+    private static final int INITIAL_CAPACITY = 1 << 10;
+
+    /**
+     * The load factor after which the table is doubled in size.
+     */
+    private static final float LOAD_FACTOR = 0.6f;
+
+    /**
+     * The number of appended uuids after which the file is flushed.
+     */
+    private static final int FLUSH_FREQUENCY = 256;
+
+    /**
+     * The value marking an empty slot of the table.
+     */
+    private static final long EMPTY = 0L;
+
+    /**
+     * The slots of the table. The packed uuid {@link #EMPTY} is tracked by {@link #containsEmpty}.
+     */
+    private long[] table = new long[INITIAL_CAPACITY];
+
+    /**
+     * Whether the packed uuid equal to {@link #EMPTY} is contained in this store.
+     */
+    private boolean containsEmpty;
+
+    /**
+     * The number of uuids contained in this store.
+     */
+    private int size;
+
+    /**
+     * The stream appended to, null if this store is not persisted or has been closed.
+     */
+    private DataOutputStream output;
+
+    /**
+     * The number of uuids appended since the file was last flushed.
+     */
+    private int unflushed;
+
+    /**
+     * Constructs a new store which is not persisted.
+     */
+    CheckedUuidStore() {}
+
+    /**
+     * Opens a store persisted to the provided file, loading all uuids previously appended to it.
+     * A partially written trailing record, such as one left by a crash, is discarded.
+     *
+     * @param file the file to persist to
+     * @return the store
+     * @throws IOException if the file cannot be read or opened for appending
+     */
+    static CheckedUuidStore open(File file) throws IOException {
+        Preconditions.checkNotNull(file);
+
+        CheckedUuidStore store = new CheckedUuidStore();
+
+        long validLength = 0;
+        if (file.exists()) {
+            long records = file.length() / RECORD_BYTES;
+            try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+                for (long i = 0 ; i < records ; i++) {
+                    store.insert(input.readLong());
+                }
+            } catch (EOFException ignored) {
+                // The file was truncated while reading
+            }
+            validLength = records * RECORD_BYTES;
+        } else {
+            File parent = file.getParentFile();
+            if (parent != null && !parent.exists() && !parent.mkdirs()) {
+                throw new IOException("Failed to create directory: " + parent.getAbsolutePath());
+            }
+        }
+
+        FileOutputStream fileOutput = new FileOutputStream(file, true);
+        if (fileOutput.getChannel().size() > validLength) fileOutput.getChannel().truncate(validLength);
+        store.output = new DataOutputStream(new BufferedOutputStream(fileOutput));
+
+        return store;
+    }
+
+    /**
+     * Returns whether the provided packed uuid is contained in this store.
+     *
+     * @param packedUuid the packed uuid
+     * @return whether the provided packed uuid is contained in this store
+     */
+    synchronized boolean contains(long packedUuid) {
+        if (packedUuid == EMPTY) return containsEmpty;
+
+        int mask = table.length - 1;
+        for (int slot = slotOf(packedUuid, mask) ; table[slot] != EMPTY ; slot = (slot + 1) & mask) {
+            if (table[slot] == packedUuid) return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Adds the provided packed uuid to this store, appending it to the file if persisted.
+     *
+     * @param packedUuid the packed uuid
+     * @return whether the uuid was not already contained
+     * @throws IOException if the uuid cannot be appended to the file
+     */
+    synchronized boolean add(long packedUuid) throws IOException {
+        if (!insert(packedUuid)) return false;
+
+        if (output != null) {
+            output.writeLong(packedUuid);
+            if (++unflushed >= FLUSH_FREQUENCY) flush();
+        }
+
+        return true;
+    }
+
+    /**
+     * Returns the number of uuids contained in this store.
+     *
+     * @return the number of uuids contained in this store
+     */
+    synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Flushes uuids appended since the last flush to the file.
+     *
+     * @throws IOException if the file cannot be written to
+     */
+    synchronized void flush() throws IOException {
+        if (output == null) return;
+
+        output.flush();
+        unflushed = 0;
+    }
+
+    /**
+     * Flushes and closes the file. Uuids added after closing are only held in memory.
+     *
+     * @throws IOException if the file cannot be written to or closed
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (output == null) return;
+
+        try {
+            output.close();
+        } finally {
+            output = null;
+        }
+    }
+
+    /**
+     * Inserts the provided packed uuid into the table.
+     *
+     * @param packedUuid the packed uuid
+     * @return whether the uuid was not already contained
+     */
+    private boolean insert(long packedUuid) {
+        if (packedUuid == EMPTY) {
+            if (containsEmpty) return false;
+            containsEmpty = true;
+            size++;
+            return true;
+        }
+
+        if (size + 1 > table.length * LOAD_FACTOR) resize();
+
+        int mask = table.length - 1;
+        int slot = slotOf(packedUuid, mask);
+        while (table[slot] != EMPTY) {
+            if (table[slot] == packedUuid) return false;
+            slot = (slot + 1) & mask;
+        }
+
+        table[slot] = packedUuid;
+        size++;
+        return true;
+    }
+
+    /**
+     * Doubles the size of the table, reinserting all contained uuids.
+     */
+    private void resize() {
+        long[] old = table;
+        table = new long[old.length * 2];
+
+        int mask = table.length - 1;
+        for (long packedUuid : old) {
+            if (packedUuid == EMPTY) continue;
+
+            int slot = slotOf(packedUuid, mask);
+            while (table[slot] != EMPTY) slot = (slot + 1) & mask;
+            table[slot] = packedUuid;
+        }
+    }
+
+    /**
+     * Returns the preferred slot of the provided packed uuid.
+     *
+     * @param packedUuid the packed uuid
+     * @param mask       the mask of the table's length
+     * @return the preferred slot
+     */
+    private static int slotOf(long packedUuid, int mask) {
+        long mixed = packedUuid * 0x9E3779B97F4A7C15L;
+        return (int) (mixed ^ (mixed >>> 32)) & mask;
+    }
+}
@@ -25,7 +25,9 @@ public enum IgnoreThread {
     LatencyHostnameFinder("Latency Hostname finder"),
     ConsoleBusyAnimation("Console Busy Animation"),
     InstanceSocket("Instance Socket"),
-    UserSaver("User Saver");
+    UserSaver("User Saver"),
+    LogHousekeeper("Log Housekeeper"),
+    LogArchiveCompressor("Log Archive Compressor");
 
     /**
      * The name associated with the thread to ignore.
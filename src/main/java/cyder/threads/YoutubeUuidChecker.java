@@ -2,10 +2,13 @@ package cyder.threads;
 
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.RateLimiter;
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import cyder.constants.CyderUrls;
-import cyder.exceptions.FatalException;
 import cyder.exceptions.IllegalMethodException;
+import cyder.logging.LogTag;
+import cyder.logging.Logger;
+import cyder.network.HttpUtil;
 import cyder.network.NetworkUtil;
 import cyder.strings.CyderStrings;
 import cyder.strings.StringUtil;
@@ -22,16 +25,35 @@ import javax.swing.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.awt.image.BufferedImage;
+import java.io.IOException;
 import java.math.BigInteger;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
 import java.time.Instant;
-import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
 /**
  * A class for generating random YouTube UUIDs and attempting to parse the resulting url for a valid video.
- * Using a single thread, this has about a 1 in {@link #CHANCE_OF_SUCCESS} chance of succeeding every iteration.
+ * Candidates are checked by a bounded pool of concurrent, rate limited thumbnail requests and checked
+ * candidates are recorded in a {@link CheckedUuidStore} so that they are never requested twice.
+ * Using a single request, this has about a 1 in {@link #CHANCE_OF_SUCCESS} chance of succeeding every iteration.
  */
 public class YoutubeUuidChecker {
     /**
@@ -46,6 +68,36 @@ public class YoutubeUuidChecker {
     @SuppressWarnings("unused") // Nice to have
     public static final BigInteger CHANCE_OF_SUCCESS = new BigInteger("73786976294838206464");
 
+    /**
+     * The default number of thumbnail requests which may be in flight at once.
+     */
+    public static final int DEFAULT_CONCURRENT_REQUESTS = 8;
+
+    /**
+     * The default maximum number of thumbnail requests started each second.
+     */
+    public static final double DEFAULT_REQUESTS_PER_SECOND = 20.0;
+
+    /**
+     * The prefix of thumbnail urls preceding the uuid.
+     */
+    private static final String THUMBNAIL_URL_PREFIX = "https://img.youtube.com/vi/";
+
+    /**
+     * The suffix of thumbnail urls following the uuid.
+     */
+    private static final String THUMBNAIL_URL_SUFFIX = "/hqdefault.jpg";
+
+    /**
+     * The frequency at which the throughput of this checker is printed.
+     */
+    private static final Duration reportFrequency = Duration.ofSeconds(5);
+
+    /**
+     * The maximum time to wait for an in flight request to complete before checking whether this was killed.
+     */
+    private static final Duration inFlightPollTimeout = Duration.ofMillis(100);
+
     /**
      * YouTube's base 64 system used for UUID construction.
      */
@@ -60,26 +112,134 @@ public class YoutubeUuidChecker {
             '4', '5', '6', '7', '8', '9', '-', '_'
     );
 
+    /**
+     * The base64url alphabet in order of the six bit values the characters of a uuid encode.
+     */
+    private static final String base64UrlAlphabet =
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+
+    /**
+     * The number of bits encoded by all but the last character of a uuid.
+     */
+    private static final int bitsPerChar = 6;
+
+    /**
+     * The number of bits of the last character of a uuid which are part of the encoded value.
+     * The uuid encodes a 64 bit value in eleven characters, leaving the lowest two bits of the last character zero.
+     */
+    private static final int lastCharBits = Long.SIZE - bitsPerChar * (YouTubeConstants.UUID_LENGTH - 1);
+
+    /**
+     * The number of most recently checked uuids retained by each checker.
+     */
+    static final int RECENT_CHECKED_UUIDS = 1000;
+
+    /**
+     * The last uuid which may be generated.
+     */
+    private static final String lastUuid = "_".repeat(YouTubeConstants.UUID_LENGTH);
+
     /**
      * Whether this uuid checker instance has been killed.
      */
     private final AtomicBoolean killed = new AtomicBoolean();
 
     /**
-     * The list of uuids this checker has checked.
+     * Whether this uuid checker instance has been started.
+     */
+    private final AtomicBoolean started = new AtomicBoolean();
+
+    /**
+     * The most recent uuids checked by this checker, packed using {@link #packUuid(String)},
+     * in a ring indexed by the count of checked uuids.
+     */
+    private final long[] recentCheckedUuids = new long[RECENT_CHECKED_UUIDS];
+
+    /**
+     * The number of uuids checked by this checker.
+     */
+    private final AtomicLong checkedCount = new AtomicLong();
+
+    /**
+     * The uuid found to have a valid video, handed from the request threads to the dispatching thread.
+     */
+    private final AtomicReference<String> foundUuid = new AtomicReference<>();
+
+    /**
+     * The number of uuids skipped because a previous session already checked them.
+     */
+    private final AtomicLong skippedCount = new AtomicLong();
+
+    /**
+     * The number of requests which failed and were queued to be retried.
      */
-    private final ArrayList<String> checkedUuids = new ArrayList<>();
+    private final AtomicLong failedCount = new AtomicLong();
 
     /**
-     * The uuid this checker is currently on.
+     * The candidates which have been dispatched but not yet checked, keyed by the order of dispatch.
      */
-    private String currentUuid;
+    private final ConcurrentSkipListMap<Long, String> pendingUuids = new ConcurrentSkipListMap<>();
+
+    /**
+     * The candidates whose requests failed and should be dispatched again.
+     */
+    private final Queue<Candidate> retryQueue = new ConcurrentLinkedQueue<>();
+
+    /**
+     * The next uuid to generate a candidate from, null if all uuids have been generated.
+     */
+    private volatile String nextUuid;
+
+    /**
+     * The order of the next dispatched candidate.
+     */
+    private long nextSequence;
 
     /**
      * The output pane used for printing.
      */
     private final CyderOutputPane outputPane;
 
+    /**
+     * The maximum number of thumbnail requests which may be in flight at once.
+     */
+    private final int concurrentRequests;
+
+    /**
+     * The permits limiting the number of requests in flight.
+     */
+    private final Semaphore inFlightPermits;
+
+    /**
+     * The maximum number of thumbnail requests started each second.
+     */
+    private double requestsPerSecond = DEFAULT_REQUESTS_PER_SECOND;
+
+    /**
+     * The prefix of thumbnail urls preceding the uuid.
+     */
+    private String thumbnailUrlPrefix = THUMBNAIL_URL_PREFIX;
+
+    /**
+     * The uuid to start checking from, the user's uuid if null.
+     */
+    private String startingUuid;
+
+    /**
+     * The store of checked uuids, closed when this checker is killed.
+     */
+    private CheckedUuidStore checkedUuidStore = new CheckedUuidStore();
+
+    /**
+     * The consumer invoked with a uuid found to have a valid video.
+     */
+    private Consumer<String> foundListener = this::onFound;
+
+    /**
+     * The executor the thumbnail requests are made on.
+     */
+    private ExecutorService executor;
+
     /**
      * The instant this checker was started at.
      */
@@ -90,6 +250,15 @@ public class YoutubeUuidChecker {
      */
     private Instant endingInstant;
 
+    /**
+     * A uuid dispatched to be checked.
+     *
+     * @param sequence   the order of dispatch
+     * @param uuid       the uuid
+     * @param packedUuid the uuid packed using {@link #packUuid(String)}
+     */
+    private record Candidate(long sequence, String uuid, long packedUuid) {}
+
     /**
      * Suppress default constructor. Requires two parameters for instantiation.
      */
@@ -104,22 +273,123 @@ public class YoutubeUuidChecker {
      * @param outputPane output pane to use for printing output to
      */
     protected YoutubeUuidChecker(CyderOutputPane outputPane) {
+        this(outputPane, DEFAULT_CONCURRENT_REQUESTS);
+    }
+
+    /**
+     * Starts generating UUIDs and checking them against YouTube for a valid uuid.
+     * Text is appended to the provided JTextPane.
+     *
+     * @param outputPane         output pane to use for printing output to
+     * @param concurrentRequests the maximum number of thumbnail requests which may be in flight at once
+     */
+    protected YoutubeUuidChecker(CyderOutputPane outputPane, int concurrentRequests) {
         Preconditions.checkNotNull(outputPane);
+        Preconditions.checkArgument(concurrentRequests > 0);
 
         this.outputPane = outputPane;
+        this.concurrentRequests = concurrentRequests;
+        this.inFlightPermits = new Semaphore(concurrentRequests);
     }
 
     /**
-     * Kills this YouTube thread returns the last checked UUID.
+     * Sets the maximum number of thumbnail requests started each second.
      *
-     * @return the last checked UUID
+     * @param requestsPerSecond the maximum number of thumbnail requests started each second
+     */
+    void setRequestsPerSecond(double requestsPerSecond) {
+        Preconditions.checkArgument(requestsPerSecond > 0);
+        Preconditions.checkState(!started.get());
+
+        this.requestsPerSecond = requestsPerSecond;
+    }
+
+    /**
+     * Sets the prefix of thumbnail urls preceding the uuid.
+     *
+     * @param thumbnailUrlPrefix the prefix of thumbnail urls preceding the uuid
+     */
+    void setThumbnailUrlPrefix(String thumbnailUrlPrefix) {
+        Preconditions.checkNotNull(thumbnailUrlPrefix);
+        Preconditions.checkArgument(!thumbnailUrlPrefix.isEmpty());
+        Preconditions.checkState(!started.get());
+
+        this.thumbnailUrlPrefix = thumbnailUrlPrefix;
+    }
+
+    /**
+     * Sets the uuid to start checking from instead of the user's uuid.
+     *
+     * @param startingUuid the uuid to start checking from
+     */
+    void setStartingUuid(String startingUuid) {
+        Preconditions.checkNotNull(startingUuid);
+        Preconditions.checkArgument(startingUuid.length() == YouTubeConstants.UUID_LENGTH);
+        Preconditions.checkState(!started.get());
+
+        this.startingUuid = startingUuid;
+    }
+
+    /**
+     * Sets the store of checked uuids. Ownership of the store is passed to this checker.
+     *
+     * @param checkedUuidStore the store of checked uuids
+     */
+    void setCheckedUuidStore(CheckedUuidStore checkedUuidStore) {
+        Preconditions.checkNotNull(checkedUuidStore);
+        Preconditions.checkState(!started.get());
+
+        this.checkedUuidStore = checkedUuidStore;
+    }
+
+    /**
+     * Sets the consumer invoked with a uuid found to have a valid video.
+     *
+     * @param foundListener the consumer invoked with a uuid found to have a valid video
+     */
+    void setFoundListener(Consumer<String> foundListener) {
+        Preconditions.checkNotNull(foundListener);
+        Preconditions.checkState(!started.get());
+
+        this.foundListener = foundListener;
+    }
+
+    /**
+     * Kills this YouTube checker and returns the uuid to resume checking from.
+     * This is the earliest dispatched uuid which has not yet been checked.
+     *
+     * @return the uuid to resume checking from
      */
     @CanIgnoreReturnValue
-    /* Future logic will allow multiple instances of this, meaning manager will need to figure out which uuid to save */
     public String kill() {
-        killed.set(true);
+        markKilled();
+
+        Map.Entry<Long, String> firstPending = pendingUuids.firstEntry();
+        if (firstPending != null) return firstPending.getValue();
+        String next = nextUuid;
+        return next == null ? startingUuid : next;
+    }
+
+    /**
+     * Kills this checker if not yet killed, stopping its requests and closing the checked uuid store.
+     *
+     * @return whether this invocation killed this checker
+     */
+    private boolean markKilled() {
+        if (!killed.compareAndSet(false, true)) return false;
+
         endingInstant = Instant.now();
-        return currentUuid;
+        if (executor != null) executor.shutdownNow();
+
+        synchronized (this) {
+            try {
+                checkedUuidStore.close();
+            } catch (IOException e) {
+                Logger.log(LogTag.NETWORK, "Failed to close checked uuid store: " + e.getMessage());
+            }
+        }
+
+        return true;
     }
 
     /**
@@ -132,12 +402,56 @@ public class YoutubeUuidChecker {
     }
 
     /**
-     * Returns the list of uuids this checker has checked.
+     * Returns the most recent uuids this checker has checked, at most {@link #RECENT_CHECKED_UUIDS},
+     * in the order they were checked. Every checked uuid is recorded in the {@link CheckedUuidStore}.
+     *
+     * @return the most recent uuids this checker has checked
+     */
+    public synchronized ImmutableList<String> getCheckedUuids() {
+        long count = checkedCount.get();
+        long first = Math.max(0, count - RECENT_CHECKED_UUIDS);
+
+        ImmutableList.Builder<String> builder = ImmutableList.builderWithExpectedSize((int) (count - first));
+        for (long i = first ; i < count ; i++) {
+            builder.add(unpackUuid(recentCheckedUuids[(int) (i % RECENT_CHECKED_UUIDS)]));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Returns the number of uuids this checker has checked.
+     *
+     * @return the number of uuids this checker has checked
+     */
+    public long getCheckedCount() {
+        return checkedCount.get();
+    }
+
+    /**
+     * Returns the number of uuids skipped because a previous session already checked them.
+     *
+     * @return the number of uuids skipped because a previous session already checked them
+     */
+    public long getSkippedCount() {
+        return skippedCount.get();
+    }
+
+    /**
+     * Returns the number of requests which failed and were queued to be retried.
      *
-     * @return the list of uuids this checker has checked
+     * @return the number of requests which failed and were queued to be retried
      */
-    public ImmutableList<String> getCheckedUuids() {
-        return ImmutableList.copyOf(checkedUuids);
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    /**
+     * Returns the number of requests currently in flight.
+     *
+     * @return the number of requests currently in flight
+     */
+    public int getInFlightCount() {
+        return concurrentRequests - inFlightPermits.availablePermits();
     }
 
     /**
@@ -148,9 +462,11 @@ public class YoutubeUuidChecker {
      * @return the current rate of checks per second
      */
     public float getCurrentChecksPerSecond() {
-        int numChecked = checkedUuids.size();
+        if (startingInstant == null) return 0f;
+
+        long numChecked = getCheckedCount();
         long endingMillis = endingInstant == null ? Instant.now().toEpochMilli() : endingInstant.toEpochMilli();
-        long millisElapsed = endingMillis - startingInstant.toEpochMilli();
+        long millisElapsed = Math.max(1, endingMillis - startingInstant.toEpochMilli());
         float checksPerMillis = numChecked / (float) millisElapsed;
 
         return (float) (checksPerMillis * TimeUtil.millisInSecond);
@@ -163,10 +479,21 @@ public class YoutubeUuidChecker {
      * @return the url for the thumbnail of the YouTube video with the provided id if it exists
      */
     public static String constructThumbnailUrl(String uuid) {
+        return constructThumbnailUrl(THUMBNAIL_URL_PREFIX, uuid);
+    }
+
+    /**
+     * Constructs and returns a url for the thumbnail of the provided uuid.
+     *
+     * @param prefix the prefix of the url preceding the uuid
+     * @param uuid   the YouTube uuid
+     * @return the url for the thumbnail of the YouTube video with the provided id if it exists
+     */
+    private static String constructThumbnailUrl(String prefix, String uuid) {
         Preconditions.checkNotNull(uuid);
         Preconditions.checkArgument(!uuid.isEmpty());
 
-        return "https://img.youtube.com/vi/" + uuid + "/hqdefault.jpg";
+        return prefix + uuid + THUMBNAIL_URL_SUFFIX;
     }
 
     /**
@@ -174,67 +501,226 @@ public class YoutubeUuidChecker {
      */
     public void startChecking() {
         Preconditions.checkState(!killed.get());
+        Preconditions.checkState(started.compareAndSet(false, true));
 
-        StringUtil stringUtil = outputPane.getStringUtil();
+        startingInstant = Instant.now();
 
         String threadName = "YoutubeUuidChecker#" + YoutubeUuidCheckerManager.INSTANCE.getActiveUuidCheckersLength();
+        executor = Executors.newFixedThreadPool(concurrentRequests, new CyderThreadFactory(threadName + " Request"));
         CyderThreadRunner.submit(() -> {
-            currentUuid = UserDataManager.INSTANCE.getYouTubeUuid();
+            if (startingUuid == null) startingUuid = UserDataManager.INSTANCE.getYouTubeUuid();
 
-            Preconditions.checkNotNull(currentUuid);
-            Preconditions.checkArgument(currentUuid.length() == YouTubeConstants.UUID_LENGTH);
+            Preconditions.checkNotNull(startingUuid);
+            Preconditions.checkArgument(startingUuid.length() == YouTubeConstants.UUID_LENGTH);
 
-            startingInstant = Instant.now();
+            nextUuid = startingUuid;
+            dispatchCandidates();
+        }, threadName);
+    }
 
-            while (!killed.get()) {
-                YoutubeUuidCheckerManager.INSTANCE.incrementUrlsChecked();
+    /**
+     * Dispatches candidates to the executor until this checker is killed, a valid uuid is found, or all
+     * uuids have been dispatched, printing the throughput of this checker every {@link #reportFrequency}.
+     * If a valid uuid is found, this checker is killed and the found listener invoked on this thread.
+     */
+    private void dispatchCandidates() {
+        RateLimiter rateLimiter = RateLimiter.create(requestsPerSecond);
+        long lastReportMillis = System.currentTimeMillis();
+
+        while (!isStopping()) {
+            if (System.currentTimeMillis() - lastReportMillis >= reportFrequency.toMillis()) {
+                printThroughput();
+                lastReportMillis = System.currentTimeMillis();
+            }
 
-                try {
-                    attemptToAcquireLock();
-                    stringUtil.println("Checked uuid: " + currentUuid);
-                    YoutubeUuidCheckerManager.INSTANCE.releaseLock();
+            Candidate candidate = retryQueue.poll();
+            if (candidate == null) {
+                Optional<Candidate> optionalCandidate = nextCandidate();
+                if (optionalCandidate.isEmpty()) {
+                    if (pendingUuids.isEmpty()) break;
+                    ThreadUtil.sleep(inFlightPollTimeout.toMillis());
+                    continue;
+                }
+                candidate = optionalCandidate.get();
+            }
 
-                    BufferedImage thumbnail = ImageUtil.read(constructThumbnailUrl(currentUuid));
+            if (!acquireInFlightPermit()) {
+                retryQueue.add(candidate);
+                break;
+            }
+            rateLimiter.acquire();
+
+            Candidate dispatched = candidate;
+            try {
+                executor.execute(() -> check(dispatched));
+            } catch (RejectedExecutionException e) {
+                inFlightPermits.release();
+                break;
+            }
+        }
 
-                    YoutubeUuidCheckerManager.INSTANCE.killAll();
+        printThroughput();
 
-                    attemptToAcquireLock();
-                    stringUtil.println("YoutubeUuidChecker found valid video with uuid: " + currentUuid);
-                    YoutubeUuidCheckerManager.INSTANCE.releaseLock();
+        String found = foundUuid.get();
+        if (found != null && markKilled()) foundListener.accept(found);
+    }
 
-                    showThumbnailFrame(thumbnail);
-                } catch (Exception ignored) {
-                    checkedUuids.add(currentUuid);
-                    incrementUuid();
-                }
+    /**
+     * Returns whether this checker has been killed or has found a valid uuid.
+     *
+     * @return whether this checker should stop dispatching candidates
+     */
+    private boolean isStopping() {
+        return killed.get() || foundUuid.get() != null;
+    }
+
+    /**
+     * Acquires a permit for a request to be in flight, waiting until one is available or this checker stops.
+     *
+     * @return whether a permit was acquired
+     */
+    private boolean acquireInFlightPermit() {
+        try {
+            while (!isStopping()) {
+                if (inFlightPermits.tryAcquire(inFlightPollTimeout.toMillis(), TimeUnit.MILLISECONDS)) return true;
             }
-        }, threadName);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        return false;
     }
 
     /**
-     * Attempts to acquire the {@link YoutubeUuidCheckerManager}'s lock.
+     * Generates the next candidate, skipping uuids which cannot be valid and uuids already checked.
+     *
+     * @return the next candidate if uuids remain to be generated
      */
-    private void attemptToAcquireLock() {
-        if (!YoutubeUuidCheckerManager.INSTANCE.acquireLock()) {
-            throw new FatalException("Failed to acquire lock");
+    private Optional<Candidate> nextCandidate() {
+        while (nextUuid != null && !isStopping()) {
+            String uuid = nextUuid;
+            nextUuid = uuid.equals(lastUuid) ? null : String.valueOf(incrementUuid(uuid.toCharArray()));
+
+            if (!isPackable(uuid)) continue;
+
+            long packedUuid = packUuid(uuid);
+            if (checkedUuidStore.contains(packedUuid)) {
+                skippedCount.incrementAndGet();
+                continue;
+            }
+
+            Candidate candidate = new Candidate(nextSequence++, uuid, packedUuid);
+            pendingUuids.put(candidate.sequence(), candidate.uuid());
+            return Optional.of(candidate);
+        }
+
+        return Optional.empty();
+    }
+
+    /**
+     * Requests the thumbnail of the provided candidate, recording the candidate as checked if no video exists
+     * and queueing it to be retried if the request fails. A candidate with a video is handed to the
+     * dispatching thread rather than acted upon here, as killing this checker shuts down this thread's pool.
+     *
+     * @param candidate the candidate
+     */
+    private void check(Candidate candidate) {
+        try {
+            URI uri = URI.create(constructThumbnailUrl(thumbnailUrlPrefix, candidate.uuid()));
+            HttpRequest request = HttpUtil.newRequest(uri)
+                    .method("HEAD", HttpRequest.BodyPublishers.noBody())
+                    .build();
+            int statusCode = HttpUtil.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+
+            if (HttpUtil.SUCCESSFUL_RESPONSE_CODES.contains(statusCode)) {
+                pendingUuids.remove(candidate.sequence());
+                foundUuid.compareAndSet(null, candidate.uuid());
+            } else if (statusCode == HttpURLConnection.HTTP_NOT_FOUND) {
+                if (recordChecked(candidate.packedUuid())) pendingUuids.remove(candidate.sequence());
+            } else {
+                throw new IOException("Unexpected response code " + statusCode + " from " + uri);
+            }
+        } catch (IOException e) {
+            if (!killed.get()) {
+                failedCount.incrementAndGet();
+                retryQueue.add(candidate);
+            }
+        } finally {
+            inFlightPermits.release();
+        }
+    }
+
+    /**
+     * Records the provided packed uuid as checked unless this checker has been killed.
+     *
+     * @param packedUuid the packed uuid
+     * @return whether the uuid was recorded
+     * @throws IOException if the uuid cannot be persisted
+     */
+    private synchronized boolean recordChecked(long packedUuid) throws IOException {
+        if (killed.get()) return false;
+
+        checkedUuidStore.add(packedUuid);
+        recentCheckedUuids[(int) (checkedCount.get() % RECENT_CHECKED_UUIDS)] = packedUuid;
+        checkedCount.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Prints the throughput of this checker to the output pane.
+     */
+    private void printThroughput() {
+        StringUtil stringUtil = outputPane.getStringUtil();
+
+        if (!outputPane.acquireLock()) return;
+        try {
+            stringUtil.println("YoutubeUuidChecker checked " + getCheckedCount()
+                    + " uuids (" + String.format("%.2f", getCurrentChecksPerSecond()) + " / s), skipped "
+                    + skippedCount.get() + ", retried " + failedCount.get() + ", in flight " + getInFlightCount());
+        } finally {
+            outputPane.releaseLock();
+        }
+    }
+
+    /**
+     * Kills all checkers, prints the provided uuid, and shows its thumbnail.
+     *
+     * @param uuid the uuid found to have a valid video
+     */
+    private void onFound(String uuid) {
+        YoutubeUuidCheckerManager.INSTANCE.killAll();
+
+        if (outputPane.acquireLock()) {
+            try {
+                outputPane.getStringUtil().println("YoutubeUuidChecker found valid video with uuid: " + uuid);
+            } finally {
+                outputPane.releaseLock();
+            }
+        }
+
+        try {
+            showThumbnailFrame(uuid, ImageUtil.read(constructThumbnailUrl(thumbnailUrlPrefix, uuid)));
+        } catch (IOException e) {
+            Logger.log(LogTag.NETWORK, "Failed to read thumbnail of " + uuid + ": " + e.getMessage());
         }
     }
 
     /**
      * Shows the thumbnail frame on the event of a successful random UUID generation.
      *
+     * @param uuid      the uuid
      * @param thumbnail the thumbnail image
      */
-    private void showThumbnailFrame(BufferedImage thumbnail) {
+    private void showThumbnailFrame(String uuid, BufferedImage thumbnail) {
         CyderFrame thumbnailFrame = new CyderFrame.Builder()
                 .setWidth(thumbnail.getWidth())
                 .setHeight(thumbnail.getHeight())
                 .setBackgroundIcon(new ImageIcon(thumbnail))
                 .build();
         thumbnailFrame.setTitlePosition(TitlePosition.CENTER);
-        thumbnailFrame.setTitle(currentUuid);
+        thumbnailFrame.setTitle(uuid);
 
-        String videoUrl = CyderUrls.YOUTUBE_VIDEO_HEADER + currentUuid;
+        String videoUrl = CyderUrls.YOUTUBE_VIDEO_HEADER + uuid;
         String title = videoUrl;
         Optional<String> optionalTitle = NetworkUtil.getUrlTitle(videoUrl);
         if (optionalTitle.isPresent()) title = optionalTitle.get();
@@ -254,12 +740,71 @@ public class YoutubeUuidChecker {
     }
 
     /**
-     * Increments the current UUID by one.
+     * Returns whether the provided uuid may be packed into a long. YouTube uuids encode 64 bit values,
+     * meaning only uuids whose last character has its lowest two bits unset may be valid.
+     *
+     * @param uuid the uuid
+     * @return whether the provided uuid may be packed into a long
      */
-    private void incrementUuid() {
-        currentUuid = String.valueOf(incrementUuid(currentUuid.toCharArray()));
+    static boolean isPackable(String uuid) {
+        Preconditions.checkNotNull(uuid);
+        if (uuid.length() != YouTubeConstants.UUID_LENGTH) return false;
+
+        for (int i = 0 ; i < uuid.length() ; i++) {
+            if (base64UrlAlphabet.indexOf(uuid.charAt(i)) == -1) return false;
+        }
+
+        int lastValue = base64UrlAlphabet.indexOf(uuid.charAt(uuid.length() - 1));
+        return (lastValue & ((1 << (bitsPerChar - lastCharBits)) - 1)) == 0;
     }
 
+    /**
+     * Packs the provided uuid into the 64 bit value it encodes.
+     *
+     * @param uuid the uuid
+     * @return the 64 bit value encoded by the provided uuid
+     * @throws IllegalArgumentException if the provided uuid cannot be packed
+     */
+    static long packUuid(String uuid) {
+        Preconditions.checkArgument(isPackable(uuid));
+
+        long packed = 0;
+        for (int i = 0 ; i < uuid.length() - 1 ; i++) {
+            packed = (packed << bitsPerChar) | base64UrlAlphabet.indexOf(uuid.charAt(i));
+        }
+
+        int lastValue = base64UrlAlphabet.indexOf(uuid.charAt(uuid.length() - 1));
+        return (packed << lastCharBits) | (lastValue >>> (bitsPerChar - lastCharBits));
+    }
+
+    /**
+     * Unpacks the provided 64 bit value into the uuid encoding it.
+     *
+     * @param packedUuid the 64 bit value
+     * @return the uuid encoding the provided value
+     */
+    static String unpackUuid(long packedUuid) {
+        char[] uuid = new char[YouTubeConstants.UUID_LENGTH];
+
+        int lastMask = (1 << lastCharBits) - 1;
+        uuid[uuid.length - 1] = base64UrlAlphabet.charAt((int) (packedUuid & lastMask) << (bitsPerChar - lastCharBits));
+        long remaining = packedUuid >>> lastCharBits;
+
+        int charMask = (1 << bitsPerChar) - 1;
+        for (int i = uuid.length - 2 ; i >= 0 ; i--) {
+            uuid[i] = base64UrlAlphabet.charAt((int) (remaining & charMask));
+            remaining >>>= bitsPerChar;
+        }
+
+        return String.valueOf(uuid);
+    }
+
+    /**
+     * Increments the provided eleven digit YouTube uuid by one, returning the result as a character array.
+     *
+     * @param uuid the uuid to increment in char array form
+     * @return the incremented uuid in the form of a new character array
+     */
     static char[] incrementUuid(char[] uuid) {
         return incrementUuid(uuid, startingIndexForAttemptingIncrements);
     }
@@ -2,18 +2,17 @@ package cyder.threads;
 
 import com.google.common.base.Preconditions;
 import cyder.console.Console;
-import cyder.enumerations.Units;
-import cyder.time.TimeUtil;
+import cyder.enumerations.Dynamic;
+import cyder.logging.LogTag;
+import cyder.logging.Logger;
 import cyder.ui.frame.CyderFrame;
 import cyder.ui.pane.CyderOutputPane;
 import cyder.user.UserDataManager;
 
-import java.time.Duration;
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.atomic.AtomicLong;
-import java.util.stream.IntStream;
 
 /**
  * A manager for {@link YoutubeUuidChecker}s.
@@ -35,30 +34,15 @@ public enum YoutubeUuidCheckerManager {
     private boolean isActive;
 
     /**
-     * The number of urls checked during the current instance of the YouTube thread(s).
+     * The name of the file within {@link Dynamic#CHECKED_UUIDS} the checked uuids are persisted to.
      */
-    private final AtomicInteger urlsChecked = new AtomicInteger();
+    private static final String CHECKED_UUIDS_FILE_NAME = "checked.bin";
 
     /**
-     * The last time the user was notified of the current rate.
-     */
-    private long lastNotifyTime;
-
-    /**
-     * The frequency in seconds to notify the user of the time remaining until all YouTube uuids have been checked.
-     */
-    private static final Duration notifyUserOfRateFrequency = Duration.ofSeconds(1);
-
-    /**
-     * The list of active YouTube uuid checkers.
+     * The list of active YouTube uuid checkers, guarded by this manager.
      */
     private final ArrayList<YoutubeUuidChecker> youTubeUuidCheckers = new ArrayList<>();
 
-    /**
-     * The time this YouTube thread session started.
-     */
-    private final AtomicLong startTime = new AtomicLong();
-
     /**
      * Attempts to acquire the output pane's lock.
      *
@@ -81,7 +65,7 @@ public enum YoutubeUuidCheckerManager {
      *
      * @return the number of active uuid checkers
      */
-    public int getActiveUuidCheckersLength() {
+    public synchronized int getActiveUuidCheckersLength() {
         return youTubeUuidCheckers.size();
     }
 
@@ -120,10 +104,10 @@ public enum YoutubeUuidCheckerManager {
     /**
      * Kills any instances of helper YouTube threads that are currently running.
      */
-    public void killAll() {
+    public synchronized void killAll() {
         youTubeUuidCheckers.forEach(youtubeUuidChecker -> {
-            String lastCheckedUuid = youtubeUuidChecker.kill();
-            UserDataManager.INSTANCE.setYouTubeUuid(lastCheckedUuid);
+            String resumeUuid = youtubeUuidChecker.kill();
+            if (resumeUuid != null) UserDataManager.INSTANCE.setYouTubeUuid(resumeUuid);
         });
         youTubeUuidCheckers.clear();
 
@@ -131,12 +115,12 @@ public enum YoutubeUuidCheckerManager {
     }
 
     /**
-     * Starts the provided number of YouTube helper threads to check UUIDs.
+     * Starts a YouTube uuid checker making up to the provided number of concurrent requests.
      *
-     * @param number the number of threads to start
+     * @param concurrentRequests the maximum number of thumbnail requests which may be in flight at once
      */
-    public void start(int number) {
-        Preconditions.checkArgument(number > 0);
+    public synchronized void start(int concurrentRequests) {
+        Preconditions.checkArgument(concurrentRequests > 0);
         Preconditions.checkState(initialized.get());
 
         if (BletchyAnimationManager.INSTANCE.isActive() || hasActiveCheckers()) {
@@ -145,13 +129,10 @@ public enum YoutubeUuidCheckerManager {
             return;
         }
 
-        checkIfStartingFirstThreads();
-
-        IntStream.range(0, number).forEach(i -> {
-            YoutubeUuidChecker checker = new YoutubeUuidChecker(outputPane);
-            checker.startChecking();
-            youTubeUuidCheckers.add(checker);
-        });
+        YoutubeUuidChecker checker = new YoutubeUuidChecker(outputPane, concurrentRequests);
+        checker.setCheckedUuidStore(openCheckedUuidStore());
+        checker.startChecking();
+        youTubeUuidCheckers.add(checker);
 
         notifyOnConsoleIfPossible("Type \"stop script\" or press ctrl + c to halt");
 
@@ -159,25 +140,20 @@ public enum YoutubeUuidCheckerManager {
     }
 
     /**
-     * Checks the size of the YouTube uuid checkers list of active checkers. If empty,
-     * resets the variables used to notify the user of the estimated time to completion.
-     */
-    private void checkIfStartingFirstThreads() {
-        if (youTubeUuidCheckers.isEmpty()) {
-            urlsChecked.set(0);
-            startTime.set(System.currentTimeMillis());
-            lastNotifyTime = System.currentTimeMillis();
-        }
-    }
-
-    /**
-     * Increments the urls checked counter.
+     * Opens the store of uuids checked by previous sessions. If the store cannot be opened,
+     * a store which is not persisted is returned.
+     *
+     * @return the store of checked uuids
      */
-    public void incrementUrlsChecked() {
-        Preconditions.checkState(initialized.get());
+    private CheckedUuidStore openCheckedUuidStore() {
+        File file = Dynamic.buildDynamic(Dynamic.CHECKED_UUIDS.getFileName(), CHECKED_UUIDS_FILE_NAME);
 
-        urlsChecked.getAndIncrement();
-        checkIfShouldNotifyOfRate();
+        try {
+            return CheckedUuidStore.open(file);
+        } catch (IOException e) {
+            Logger.log(LogTag.DEBUG, "Failed to open checked uuid store: " + e.getMessage());
+            return new CheckedUuidStore();
+        }
     }
 
     /**
@@ -185,33 +161,10 @@ public enum YoutubeUuidCheckerManager {
      *
      * @return whether one or more {@link YoutubeUuidChecker} are active
      */
-    public boolean hasActiveCheckers() {
+    public synchronized boolean hasActiveCheckers() {
         return isActive;
     }
 
-    /**
-     * Checks for whether the user should be notified of the current uuid check rate.
-     */
-    private void checkIfShouldNotifyOfRate() {
-        if (System.currentTimeMillis() - lastNotifyTime > notifyUserOfRateFrequency.toMillis()) {
-            notifyOfRate();
-            lastNotifyTime = System.currentTimeMillis();
-        }
-    }
-
-    /**
-     * Notifies the user of the current calculated rate of urls checked each minute.
-     */
-    private void notifyOfRate() {
-        long timeTaken = System.currentTimeMillis() - startTime.get();
-        float urlsPerMs = urlsChecked.get() / (float) timeTaken;
-        double urlsPerSecond = urlsPerMs * TimeUtil.millisInSecond;
-        double urlsPerMinute = urlsPerSecond * TimeUtil.secondsInMinute;
-
-        notifyOnConsoleIfPossible("Current YouTube thread rate: "
-                + urlsPerMinute + " / " + Units.MINUTES.getAbbreviation());
-    }
-
     /**
      * Notifies the user of the provided string using the Console if possible. If not possible,
      * the notify string is printed via the {@link #outputPane}.
@@ -4,6 +4,8 @@ import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Range;
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import cyder.animation.AnimationClock;
+import cyder.animation.Tween;
 import cyder.annotations.ForReadability;
 import cyder.console.Console;
 import cyder.constants.*;
@@ -20,7 +22,6 @@ import cyder.strings.CyderStrings;
 import cyder.strings.StringUtil;
 import cyder.strings.ToStringUtil;
 import cyder.threads.CyderThreadRunner;
-import cyder.threads.ThreadUtil;
 import cyder.ui.UiConstants;
 import cyder.ui.UiUtil;
 import cyder.ui.drag.CyderDragLabel;
@@ -50,6 +51,7 @@ import java.awt.*;
 import java.awt.event.*;
 import java.awt.geom.RoundRectangle2D;
 import java.awt.image.BufferedImage;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Objects;
@@ -117,14 +119,9 @@ public class CyderFrame extends JFrame {
     private static final int minimumHeight = 100;
 
     /**
-     * The increment for minimize opacity animations.
+     * The duration of the fade-in, minimize, and closing opacity animations.
      */
-    private static final float opacityAnimationDelta = 0.05f;
-
-    /**
-     * The delay between minimize animation frames.
-     */
-    private static final int opacityAnimationDelay = 5;
+    private static final Duration opacityAnimationDuration = Duration.ofMillis(100);
 
     /**
      * The maximum opacity the frame can be set to for minimize in/out animations.
@@ -140,7 +137,7 @@ public class CyderFrame extends JFrame {
      * The delay surrounding the initial opacity correction set call when
      * animating in a frame after an opacity minimize out animation.
      */
-    private static final int restoreAfterMinimizeAnimationDelay = 25;
+    private static final Duration restoreAfterMinimizeAnimationDelay = Duration.ofMillis(25);
 
     /**
      * The font used for the title label (typically equivalent to agencyFB22).
@@ -153,9 +150,9 @@ public class CyderFrame extends JFrame {
     private static final int contentLabelBorderLength = 3;
 
     /**
-     * The thread name for the frame fade in animation.
+     * The additional duration to wait for the closing animation to complete before disposing regardless.
      */
-    private static final String FADE_IN_ANIMATION_THREAD_NAME = "Frame Fade-in Animation";
+    private static final Duration closingAnimationTimeoutPadding = Duration.ofSeconds(1);
 
     /**
      * Whether threads that were spawned by this instance of CyderFrame have been killed yet.
@@ -520,21 +517,17 @@ public class CyderFrame extends JFrame {
                 public void windowDeiconified(WindowEvent e) {
                     requestFocus();
                     if (getOpacity() > opacityAnimationMax / 2.0f) return;
-                    CyderThreadRunner.submit(() -> {
-                        /*
-                        Note to maintainers: the following three lines exists to avoid the bug of seeing the
-                        old Windows XP/95 style frame icons when restoring a frame from iconification.
-                         */
-                        ThreadUtil.sleep(restoreAfterMinimizeAnimationDelay);
+
+                    /*
+                    Note to maintainers: the following delayed opacity set exists to avoid the bug of seeing the
+                    old Windows XP/95 style frame icons when restoring a frame from iconification.
+                     */
+                    AnimationClock.INSTANCE.schedule(() -> {
                         setOpacity(opacityAnimationMin);
-                        ThreadUtil.sleep(restoreAfterMinimizeAnimationDelay);
-
-                        for (float i = getOpacity() ; i <= opacityAnimationMax ; i += opacityAnimationDelta) {
-                            setOpacity(i);
-                            ThreadUtil.sleep(opacityAnimationDelay);
-                        }
-                        setOpacity(opacityAnimationMax);
-                    }, "Deiconify Animation");
+                        AnimationClock.INSTANCE.schedule(() -> Tween.opacity(CyderFrame.this,
+                                opacityAnimationMax, opacityAnimationDuration).start(),
+                                restoreAfterMinimizeAnimationDelay);
+                    }, restoreAfterMinimizeAnimationDelay);
                 }
             });
         }
@@ -1031,6 +1024,7 @@ public class CyderFrame extends JFrame {
         int titleHeight = CyderDragLabel.DEFAULT_HEIGHT;
 
         int animationDelay = 1;
+        int animationIncrement = 1;
         int y = Math.max(dragHeight / 2 - titleHeight / 2, 0);
 
         if (isVisible()) {
@@ -1042,28 +1036,15 @@ public class CyderFrame extends JFrame {
                     case CENTER -> dragWidth / 2 - titleWidth / 2;
                 };
 
-                String threadName = "Title position animator, frame: " + this;
-                if (animateFrom < animateTo) {
-                    CyderThreadRunner.submit(() -> {
-                        for (int x = animateFrom ; x <= animateTo ; x++) {
-                            titleLabel.setBounds(x, y, titleWidth, titleHeight);
-                            ThreadUtil.sleep(animationDelay);
-                        }
-
-                        titlePosition = newPosition;
-                        revalidateTitleLocationAlignmentAndLength();
-                    }, threadName);
-                } else {
-                    CyderThreadRunner.submit(() -> {
-                        for (int x = animateFrom ; x >= animateTo ; x--) {
-                            titleLabel.setBounds(x, y, titleWidth, titleHeight);
-                            ThreadUtil.sleep(animationDelay);
-                        }
-
-                        titlePosition = newPosition;
-                        revalidateTitleLocationAlignmentAndLength();
-                    }, threadName);
-                }
+                new Tween(Tween.stepDuration(animateTo - animateFrom, animationIncrement, animationDelay),
+                        progress -> titleLabel.setBounds(Tween.interpolate(animateFrom, animateTo, progress),
+                                y, titleWidth, titleHeight))
+                        .setTarget(titleLabel, Tween.LOCATION)
+                        .setOnComplete(() -> {
+                            titlePosition = newPosition;
+                            revalidateTitleLocationAlignmentAndLength();
+                        })
+                        .start();
             } else {
                 titlePosition = newPosition;
                 revalidateTitleLocationAlignmentAndLength();
@@ -1434,8 +1415,8 @@ public class CyderFrame extends JFrame {
     }
 
     /**
-     * Animates away this frame by moving it down until it is offscreen at which point the frame
-     * is set to {@link Frame#ICONIFIED}.
+     * Animates away this frame by fading it out at which point the frame is set to {@link Frame#ICONIFIED}.
+     * If animations are enabled the frame is iconified asynchronously once the fade completes.
      */
     public void minimizeAndIconify() {
         try {
@@ -1446,18 +1427,29 @@ public class CyderFrame extends JFrame {
                 setDisableContentRepainting(true);
                 disableDragging();
 
-                for (float i = opacityAnimationMax ; i >= opacityAnimationMin ; i -= opacityAnimationDelta) {
-                    if (animatingOut) break;
-                    setOpacity(i);
-                    repaint();
-
-                    ThreadUtil.sleep(opacityAnimationDelay);
-                }
+                Runnable iconify = () -> {
+                    setOpacity(opacityAnimationMin);
+                    enableDragging();
+                    iconifyAndInvokePostMinimizeActions();
+                };
 
-                setOpacity(opacityAnimationMin);
-                enableDragging();
+                Tween.opacity(this, opacityAnimationMin, opacityAnimationDuration)
+                        .setOnComplete(iconify)
+                        .setOnCancel(iconify)
+                        .start();
+            } else {
+                iconifyAndInvokePostMinimizeActions();
             }
+        } catch (Exception e) {
+            ExceptionHandler.handle(e);
+        }
+    }
 
+    /**
+     * Sets this frame to {@link Frame#ICONIFIED} and invokes the post minimize and iconify actions.
+     */
+    private void iconifyAndInvokePostMinimizeActions() {
+        try {
             setState(UiConstants.FRAME_ICONIFIED);
             postMinimizeAndIconifyActions.forEach(Runnable::run);
         } catch (Exception e) {
@@ -1600,10 +1592,8 @@ public class CyderFrame extends JFrame {
 
                 boolean closingAnimation = UserDataManager.INSTANCE.shouldDoAnimations();
                 if (isVisible() && (!fastClose && !shouldFastClose) && closingAnimation) {
-                    for (float i = getOpacity() ; i >= opacityAnimationMin ; i -= opacityAnimationDelta) {
-                        setOpacity(i);
-                        ThreadUtil.sleep(opacityAnimationDelay);
-                    }
+                    Tween fadeOut = Tween.opacity(this, opacityAnimationMin, opacityAnimationDuration).start();
+                    fadeOut.await(opacityAnimationDuration.plus(closingAnimationTimeoutPadding));
                 }
 
                 Console.INSTANCE.removeTaskbarIcon(this);
@@ -2887,19 +2877,9 @@ public class CyderFrame extends JFrame {
     public static final float DEFAULT_OPACITY = 1.0f;
 
     /**
-     * The opacity to grow/shrink by during animations.
+     * The duration of the opacity transition between {@link #DEFAULT_OPACITY} and {@link #DRAG_OPACITY}.
      */
-    public static final float OPACITY_DELTA = 0.01f;
-
-    /**
-     * The delay between opacity sets when transitioning.
-     */
-    public static final int DRAG_OPACITY_ANIMATION_DELAY = 5;
-
-    /**
-     * Whether the animator to transition the frame back to DEFAULT_OPACITY is underway.
-     */
-    private boolean animatingOut = false;
+    public static final Duration DRAG_OPACITY_ANIMATION_DURATION = Duration.ofMillis(150);
 
     /**
      * Sets the opacity of the frame to {@link CyderFrame#DRAG_OPACITY}.
@@ -2907,17 +2887,7 @@ public class CyderFrame extends JFrame {
     public void startDragEvent() {
         if (!shouldAnimateOpacity) return;
 
-        CyderThreadRunner.submit(() -> {
-            for (float i = DEFAULT_OPACITY ; i >= DRAG_OPACITY ; i -= OPACITY_DELTA) {
-                if (animatingOut) break;
-                setOpacity(i);
-                repaint();
-
-                ThreadUtil.sleep(DRAG_OPACITY_ANIMATION_DELAY);
-            }
-
-            setOpacity(DRAG_OPACITY);
-        }, getTitle() + " Opacity Decrement Animator");
+        Tween.opacity(this, DRAG_OPACITY, DRAG_OPACITY_ANIMATION_DURATION).start();
     }
 
     /**
@@ -2931,20 +2901,8 @@ public class CyderFrame extends JFrame {
 
         executeEndDragEventCallbacks();
 
-        CyderThreadRunner.submit(() -> {
-            animatingOut = true;
-
-            for (float i = DRAG_OPACITY ; i <= DEFAULT_OPACITY ; i += OPACITY_DELTA) {
-                setOpacity(i);
-                repaint();
-
-                ThreadUtil.sleep(DRAG_OPACITY_ANIMATION_DELAY);
-            }
-
-            setOpacity(DEFAULT_OPACITY);
-
-            animatingOut = false;
-        }, getTitle() + " Opacity Increment Animator");
+        // Cancels the drag opacity animation if still underway
+        Tween.opacity(this, DEFAULT_OPACITY, DRAG_OPACITY_ANIMATION_DURATION).start();
     }
 
     /**
@@ -3334,32 +3292,14 @@ public class CyderFrame extends JFrame {
     private void animateMenuIn() {
         if (!menuLabel.isVisible()) generateMenu();
 
-        String threadName = getTitle() + " menu label animator";
-        CyderThreadRunner.submit(() -> {
-            try {
-                if (menuType == MenuType.PANEL) {
-                    menuLabel.setLocation(-menuLabel.getWidth(), menuAnimateToPoint.getLocation().y);
-                    menuLabel.setVisible(true);
-
-                    for (int x = menuLabel.getX() ; x < menuAnimateToPoint.x ; x += menuAnimationInc) {
-                        menuLabel.setLocation(x, menuLabel.getY());
-                        ThreadUtil.sleep(menuAnimationDelay);
-                    }
-                } else {
-                    menuLabel.setLocation(menuAnimateToPoint.x, menuAnimateToPoint.y - menuLabel.getHeight());
-                    menuLabel.setVisible(true);
-
-                    for (int y = menuLabel.getY() ; y <= menuAnimateToPoint.y ; y += menuAnimationInc) {
-                        menuLabel.setLocation(menuAnimateToPoint.x, y);
-                        ThreadUtil.sleep(menuAnimationDelay);
-                    }
-                }
+        if (menuType == MenuType.PANEL) {
+            menuLabel.setLocation(-menuLabel.getWidth(), menuAnimateToPoint.getLocation().y);
+        } else {
+            menuLabel.setLocation(menuAnimateToPoint.x, menuAnimateToPoint.y - menuLabel.getHeight());
+        }
+        menuLabel.setVisible(true);
 
-                menuLabel.setLocation(menuAnimateToPoint);
-            } catch (Exception e) {
-                ExceptionHandler.handle(e);
-            }
-        }, threadName);
+        animateMenuTo(menuAnimateToPoint).start();
     }
 
     /**
@@ -3371,28 +3311,28 @@ public class CyderFrame extends JFrame {
         if (menuLabel.getX() + menuLabel.getWidth() < 0
                 && menuLabel.getY() + menuLabel.getHeight() < 0) return;
 
-        String threadName = getTitle() + " menu label animator";
-        CyderThreadRunner.submit(() -> {
-            try {
-                if (menuType == MenuType.PANEL) {
-                    for (int x = menuLabel.getX() ; x > -menuLabel.getWidth() ; x -= menuAnimationInc) {
-                        menuLabel.setLocation(x, menuLabel.getY());
-                        ThreadUtil.sleep(menuAnimationDelay);
-                    }
-                } else {
-                    menuLabel.setLocation(menuAnimateToPoint.x, menuAnimateToPoint.y);
-                    for (int y = menuLabel.getY() ; y >= menuAnimateToPoint.y - menuLabel.getHeight()
-                            ; y -= menuAnimationInc) {
-                        menuLabel.setLocation(menuAnimateToPoint.x, y);
-                        ThreadUtil.sleep(menuAnimationDelay);
-                    }
-                }
+        Point hiddenPoint;
+        if (menuType == MenuType.PANEL) {
+            hiddenPoint = new Point(-menuLabel.getWidth(), menuLabel.getY());
+        } else {
+            menuLabel.setLocation(menuAnimateToPoint.x, menuAnimateToPoint.y);
+            hiddenPoint = new Point(menuAnimateToPoint.x, menuAnimateToPoint.y - menuLabel.getHeight());
+        }
 
-                menuLabel.setVisible(false);
-            } catch (Exception e) {
-                ExceptionHandler.handle(e);
-            }
-        }, threadName);
+        animateMenuTo(hiddenPoint).setOnComplete(() -> menuLabel.setVisible(false)).start();
+    }
+
+    /**
+     * Returns a tween which moves the menu label from its current location to the provided point
+     * at the speed of {@link #menuAnimationInc} pixels every {@link #menuAnimationDelay} milliseconds.
+     *
+     * @param destination the point to move the menu label to
+     * @return the tween
+     */
+    private Tween animateMenuTo(Point destination) {
+        double distance = menuLabel.getLocation().distance(destination);
+        return Tween.location(menuLabel, destination,
+                Tween.stepDuration(distance, menuAnimationInc, menuAnimationDelay));
     }
 
     /**
@@ -3536,14 +3476,7 @@ public class CyderFrame extends JFrame {
         toFront();
         setVisible(true);
 
-        CyderThreadRunner.submit(() -> {
-            for (float i = opacityAnimationMin ; i < opacityAnimationMax ; i += opacityAnimationDelta) {
-                setOpacity(i);
-                ThreadUtil.sleep(opacityAnimationDelay);
-            }
-
-            setOpacity(opacityAnimationMax);
-        }, FADE_IN_ANIMATION_THREAD_NAME);
+        Tween.opacity(this, opacityAnimationMax, opacityAnimationDuration).start();
     }
 
     /**
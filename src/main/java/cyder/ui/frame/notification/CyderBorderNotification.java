@@ -1,15 +1,14 @@
 package cyder.ui.frame.notification;
 
 import com.google.common.base.Preconditions;
-import com.google.common.util.concurrent.Futures;
-import cyder.threads.ThreadUtil;
+import cyder.animation.Tween;
 import cyder.ui.drag.CyderDragLabel;
 import cyder.ui.frame.CyderFrame;
-import cyder.user.UserDataManager;
 import cyder.utils.ColorUtil;
 
 import java.awt.*;
 import java.awt.geom.GeneralPath;
+import java.time.Duration;
 
 public final class CyderBorderNotification extends CyderToastNotification {
     /**
@@ -18,7 +17,7 @@ public final class CyderBorderNotification extends CyderToastNotification {
     private static final int topBottomOffset = 5;
 
     /**
-     * The pixel increment for border notification animations.
+     * The pixel increment per {@link #animationTimeout} for border notification animations.
      */
     private static final int animationIncrement = 8;
 
@@ -167,57 +166,18 @@ public final class CyderBorderNotification extends CyderToastNotification {
         appearInvoked.set(true);
         animating.set(true);
 
-        Futures.submit(() -> {
-            setToStartAndEndingPosition();
-            setVisible(true);
-
-            switch (notificationDirection) {
-                case TOP_LEFT, LEFT, BOTTOM_LEFT -> {
-                    for (int i = getX() ; i < CyderFrame.BORDER_LEN ; i += animationIncrement) {
-                        if (shouldStopAnimation()) break;
-                        setLocation(i, getY());
-                        ThreadUtil.sleep(animationTimeout);
-                    }
-                }
-                case TOP -> {
-                    for (int i = getY() ; i < CyderDragLabel.DEFAULT_HEIGHT ; i += animationIncrement) {
-                        if (shouldStopAnimation()) break;
-                        setBounds(getX(), i, getWidth(), getHeight());
-                        ThreadUtil.sleep(animationTimeout);
-                    }
-                }
-                case BOTTOM -> {
-                    for (int i = getY() ; i > getParent().getHeight() - CyderFrame.BORDER_LEN - getHeight()
-                            ; i -= animationIncrement) {
-                        if (shouldStopAnimation()) break;
-                        setBounds(getX(), i, getWidth(), getHeight());
-                        ThreadUtil.sleep(animationTimeout);
-                    }
-                }
-                case TOP_RIGHT, RIGHT, BOTTOM_RIGHT -> {
-                    for (int i = getX() ; i > getParent().getWidth() - getWidth() - CyderFrame.BORDER_LEN
-                            ; i -= animationIncrement) {
-                        if (shouldStopAnimation()) break;
-                        setLocation(i, getY());
-                        ThreadUtil.sleep(animationTimeout);
-                    }
-                }
-            }
+        setToMidAnimationPosition();
+        Point end = getLocation();
+        setToStartAndEndingPosition();
+        Point start = getLocation();
+        setVisible(true);
 
+        startAnimation(Tween.location(this, end, getSlideDuration(start, end)).setOnComplete(() -> {
             animating.set(false);
             setToMidAnimationPosition();
             repaint();
-
-            /*
-            Note to maintainers: yes, there are two checks here for the user preference of persisting notifications.
-            This is to address the case where the user toggles it while a notification is present.
-             */
-            if (UserDataManager.INSTANCE.shouldPersistNotifications()) return;
-            if (shouldRemainVisibleUntilDismissed(visibleDuration.toMillis())) return;
-            ThreadUtil.sleep(visibleDuration.toMillis());
-            if (UserDataManager.INSTANCE.shouldPersistNotifications()) return;
-            disappear();
-        }, appearAnimationService);
+            scheduleDisappear();
+        }));
     }
 
     /**
@@ -231,53 +191,28 @@ public final class CyderBorderNotification extends CyderToastNotification {
         disappearInvoked.set(true);
         animating.set(true);
 
-        Futures.submit(() -> {
-            setToMidAnimationPosition();
-
-            switch (notificationDirection) {
-                case TOP_LEFT, LEFT, BOTTOM_LEFT -> {
-                    for (int i = getX() ; i > CyderFrame.BORDER_LEN - getWidth() ; i -= animationIncrement) {
-                        if (shouldStopAnimation()) break;
-                        setBounds(i, getY(), getWidth(), getHeight());
-                        ThreadUtil.sleep(animationTimeout);
-                    }
-                }
-                case TOP -> {
-                    for (int i = getY() ; i > CyderDragLabel.DEFAULT_HEIGHT - getHeight() ; i -= animationIncrement) {
-                        if (shouldStopAnimation()) break;
-                        setBounds(getX(), i, getWidth(), getHeight());
-                        ThreadUtil.sleep(animationTimeout);
-                    }
-                }
-                case BOTTOM -> {
-                    for (int i = getY() ; i < getParent().getHeight() - CyderFrame.BORDER_LEN + getHeight()
-                            ; i += animationIncrement) {
-                        if (shouldStopAnimation()) break;
-                        setBounds(getX(), i, getWidth(), getHeight());
-                        ThreadUtil.sleep(animationTimeout);
-                    }
-                }
-                case TOP_RIGHT, RIGHT, BOTTOM_RIGHT -> {
-                    for (int i = getX() ; i < getParent().getWidth() + getWidth() - CyderFrame.BORDER_LEN
-                            ; i += animationIncrement) {
-                        if (shouldStopAnimation()) break;
-                        setBounds(i, getY(), getWidth(), getHeight());
-                        ThreadUtil.sleep(animationTimeout);
-                    }
-                }
-            }
+        setToStartAndEndingPosition();
+        Point end = getLocation();
+        setToMidAnimationPosition();
+        Point start = getLocation();
 
+        startAnimation(Tween.location(this, end, getSlideDuration(start, end)).setOnComplete(() -> {
             setToStartAndEndingPosition();
+            removeFromParentAndKill();
+        }));
+    }
 
-            setVisible(false);
-            Container parent = getParent();
-            if (parent != null) {
-                parent.remove(this);
-                parent.repaint();
-            }
-
-            kill();
-        }, disappearAnimationService);
+    /**
+     * Returns the duration of a slide animation between the provided points
+     * moving {@link #animationIncrement} pixels every {@link #animationTimeout} milliseconds.
+     *
+     * @param start the starting point
+     * @param end   the ending point
+     * @return the duration of the slide animation
+     */
+    private static Duration getSlideDuration(Point start, Point end) {
+        double distance = start.distance(end);
+        return Duration.ofMillis((long) Math.ceil(distance / animationIncrement * animationTimeout));
     }
 
     /**
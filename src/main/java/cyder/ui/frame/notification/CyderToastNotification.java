@@ -1,11 +1,10 @@
 package cyder.ui.frame.notification;
 
 import com.google.common.base.Preconditions;
-import com.google.common.util.concurrent.Futures;
+import cyder.animation.AnimationClock;
+import cyder.animation.Tween;
 import cyder.enumerations.Direction;
 import cyder.strings.StringUtil;
-import cyder.threads.CyderThreadFactory;
-import cyder.threads.ThreadUtil;
 import cyder.user.UserDataManager;
 import cyder.utils.ColorUtil;
 
@@ -15,10 +14,9 @@ import java.awt.geom.GeneralPath;
 import java.time.Duration;
 import java.util.Arrays;
 import java.util.Optional;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * A toast notification, similar to the Android API's toast notifications.
@@ -38,14 +36,9 @@ public class CyderToastNotification extends CyderNotification {
     private static final int toastBottomOffset = 10;
 
     /**
-     * The delay between animation steps.
+     * The duration of the opacity fade-in and fade-out animations.
      */
-    private static final int animationDelay = 2;
-
-    /**
-     * The opacity step every {@link #animationDelay}.
-     */
-    private static final int opacityStep = 2;
+    private static final Duration fadeDuration = Duration.ofMillis(250);
 
     /**
      * The length for curves when painting the notification fill and outline.
@@ -82,6 +75,11 @@ public class CyderToastNotification extends CyderNotification {
      */
     protected final AtomicBoolean killed = new AtomicBoolean();
 
+    /**
+     * The running appear or disappear animation of this notification if any.
+     */
+    private final AtomicReference<Tween> animation = new AtomicReference<>();
+
     /**
      * The opacity this notification should be painted as.
      */
@@ -92,18 +90,6 @@ public class CyderToastNotification extends CyderNotification {
      */
     private final AtomicBoolean isHovered = new AtomicBoolean();
 
-    /**
-     * The executor service for performing the disappear animation.
-     */
-    protected final ExecutorService appearAnimationService =
-            Executors.newSingleThreadExecutor(new CyderThreadFactory("Notification Appear Animation"));
-
-    /**
-     * The executor service for performing the disappear animation.
-     */
-    protected final ExecutorService disappearAnimationService =
-            Executors.newSingleThreadExecutor(new CyderThreadFactory("Notification Disappear Animation"));
-
     /**
      * The duration this notification should be visible for.
      */
@@ -341,39 +327,26 @@ public class CyderToastNotification extends CyderNotification {
         appearInvoked.set(true);
         animating.set(true);
 
-        Futures.submit(() -> {
-            setToStartAndEndingPosition();
-            opacity.set(ColorUtil.opacityRange.lowerEndpoint());
-            container.setVisible(false);
-            setVisible(true);
-
-            for (int i = ColorUtil.opacityRange.lowerEndpoint()
-                 ; i < ColorUtil.opacityRange.upperEndpoint() ; i += opacityStep) {
-                if (shouldStopAnimation()) break;
-                opacity.set(i);
-                if (i > ColorUtil.opacityRange.upperEndpoint() / 2) {
-                    container.setVisible(true);
-                    container.repaint();
-                }
-                setToStartAndEndingPosition();
-                repaint();
-                ThreadUtil.sleep(animationDelay);
-            }
+        int lower = ColorUtil.opacityRange.lowerEndpoint();
+        int upper = ColorUtil.opacityRange.upperEndpoint();
 
+        setToStartAndEndingPosition();
+        opacity.set(lower);
+        container.setVisible(false);
+        setVisible(true);
+
+        startAnimation(new Tween(fadeDuration, progress -> {
+            int newOpacity = Tween.interpolate(lower, upper, progress);
+            opacity.set(newOpacity);
+            if (newOpacity > upper / 2) container.setVisible(true);
+            setToStartAndEndingPosition();
+            repaint();
+        }).setOnComplete(() -> {
             animating.set(false);
-            opacity.set(ColorUtil.opacityRange.upperEndpoint());
+            opacity.set(upper);
             repaint();
-
-            /*
-            Note to maintainers: yes, there are two checks here for the user preference of persisting notifications.
-            This is to address the case where the user toggles it while a notification is present.
-             */
-            if (UserDataManager.INSTANCE.shouldPersistNotifications()) return;
-            if (shouldRemainVisibleUntilDismissed(visibleDuration.toMillis())) return;
-            ThreadUtil.sleep(visibleDuration.toMillis());
-            if (UserDataManager.INSTANCE.shouldPersistNotifications()) return;
-            disappear();
-        }, appearAnimationService);
+            scheduleDisappear();
+        }));
     }
 
     /**
@@ -387,35 +360,70 @@ public class CyderToastNotification extends CyderNotification {
         disappearInvoked.set(true);
         animating.set(true);
 
-        Futures.submit(() -> {
+        int lower = ColorUtil.opacityRange.lowerEndpoint();
+        int upper = ColorUtil.opacityRange.upperEndpoint();
+
+        setToStartAndEndingPosition();
+        opacity.set(upper);
+
+        startAnimation(new Tween(fadeDuration, progress -> {
+            int newOpacity = Tween.interpolate(upper, lower, progress);
+            opacity.set(newOpacity);
+            if (newOpacity < upper * hideContainerOnOpacityFallsBelowRatio) container.setVisible(false);
             setToStartAndEndingPosition();
-            opacity.set(ColorUtil.opacityRange.upperEndpoint());
-
-            for (int i = ColorUtil.opacityRange.upperEndpoint()
-                 ; i >= ColorUtil.opacityRange.lowerEndpoint() ; i -= opacityStep) {
-                if (shouldStopAnimation()) break;
-                opacity.set(i);
-                if (i < ColorUtil.opacityRange.upperEndpoint() * hideContainerOnOpacityFallsBelowRatio) {
-                    container.setVisible(false);
-                    container.repaint();
-                }
-                setToStartAndEndingPosition();
-                repaint();
-                ThreadUtil.sleep(animationDelay);
-            }
-
-            opacity.set(ColorUtil.opacityRange.lowerEndpoint());
             repaint();
+        }).setOnComplete(() -> {
+            opacity.set(lower);
+            repaint();
+            removeFromParentAndKill();
+        }));
+    }
 
-            setVisible(false);
-            Container parent = getParent();
-            if (parent != null) {
-                parent.remove(this);
-                parent.repaint();
-            }
+    /**
+     * Starts the provided appear or disappear animation, finishing it immediately
+     * if animations should be stopped.
+     *
+     * @param tween the animation
+     */
+    protected void startAnimation(Tween tween) {
+        Preconditions.checkNotNull(tween);
 
-            kill();
-        }, disappearAnimationService);
+        animation.set(tween);
+        if (shouldStopAnimation()) tween.finish();
+        tween.start();
+    }
+
+    /**
+     * Schedules the disappear animation to be invoked once this notification has been
+     * visible for its view duration, unless the user persists notifications.
+     */
+    protected void scheduleDisappear() {
+        /*
+        Note to maintainers: yes, there are two checks here for the user preference of persisting notifications.
+        This is to address the case where the user toggles it while a notification is present.
+         */
+        if (UserDataManager.INSTANCE.shouldPersistNotifications()) return;
+        if (shouldRemainVisibleUntilDismissed(visibleDuration.toMillis())) return;
+
+        AnimationClock.INSTANCE.schedule(() -> {
+            if (isKilled() || disappearInvoked.get()) return;
+            if (UserDataManager.INSTANCE.shouldPersistNotifications()) return;
+            disappear();
+        }, visibleDuration);
+    }
+
+    /**
+     * Hides this notification, removes it from its parent, and kills it.
+     */
+    protected void removeFromParentAndKill() {
+        setVisible(false);
+        Container parent = getParent();
+        if (parent != null) {
+            parent.remove(this);
+            parent.repaint();
+        }
+
+        kill();
     }
 
     /**
@@ -425,6 +433,9 @@ public class CyderToastNotification extends CyderNotification {
     public void kill() {
         killed.set(true);
         animating.set(false);
+
+        Tween running = animation.get();
+        if (running != null) running.finish();
     }
 
     /**
@@ -2,7 +2,6 @@ package cyder.ui.frame.notification;
 
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
-import com.google.common.util.concurrent.Futures;
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import cyder.bounds.BoundsString;
 import cyder.bounds.BoundsUtil;
@@ -10,8 +9,6 @@ import cyder.constants.CyderColors;
 import cyder.logging.LogTag;
 import cyder.logging.Logger;
 import cyder.strings.StringUtil;
-import cyder.threads.CyderThreadFactory;
-import cyder.threads.ThreadUtil;
 import cyder.ui.frame.CyderFrame;
 import cyder.utils.HtmlUtil;
 
@@ -22,12 +19,8 @@ import java.awt.event.MouseEvent;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Optional;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicBoolean;
 
-import static cyder.strings.CyderStrings.quote;
-
 /**
  * A controller for the notification queue system of a particular {@link CyderFrame}.
  */
@@ -82,16 +75,6 @@ public final class NotificationController {
      */
     private final CyderFrame controlFrame;
 
-    /**
-     * The executor service for running the notification queue when necessary for the control frame.
-     */
-    private final ExecutorService queueExecutor;
-
-    /**
-     * Whether the notification queue is currently running.
-     */
-    private final AtomicBoolean queueRunning;
-
     /**
      * Whether this controller has been killed.
      */
@@ -107,6 +90,11 @@ public final class NotificationController {
      */
     private CyderNotification currentNotification;
 
+    /**
+     * The {@link System#nanoTime()} before which the next notification may not be shown.
+     */
+    private long nextNotificationNanos = Long.MIN_VALUE;
+
     /**
      * Constructs a new notification controller.
      *
@@ -116,21 +104,9 @@ public final class NotificationController {
         Preconditions.checkNotNull(controlFrame);
 
         this.controlFrame = controlFrame;
-        queueExecutor = Executors.newSingleThreadExecutor(generateCyderThreadFactory());
-        queueRunning = new AtomicBoolean();
         killed = new AtomicBoolean();
     }
 
-    /**
-     * Generates the thread factory for the notification queue executor service.
-     *
-     * @return the thread factory for the notification queue executor service
-     */
-    private CyderThreadFactory generateCyderThreadFactory() {
-        String threadName = "Notification Controller Queue, frame: " + quote + controlFrame.getTitle() + quote;
-        return new CyderThreadFactory(threadName);
-    }
-
     /**
      * Returns the frame this controller is controlling.
      *
@@ -263,10 +239,11 @@ public final class NotificationController {
     /**
      * Kills this notification controller, revoking all notifications currently displaying and clearing the queue.
      */
-    public void kill() {
+    public synchronized void kill() {
         killed.set(true);
         notificationQueue.clear();
         if (currentNotification != null) currentNotification.kill();
+        NotificationScheduler.INSTANCE.unschedule(this);
     }
 
     /**
@@ -383,25 +360,37 @@ public final class NotificationController {
     }
 
     /**
-     * Starts the notification queue if necessary.
+     * Schedules this controller with the {@link NotificationScheduler} if notifications are queued.
      */
     private synchronized void startQueueIfNecessary() {
-        if (queueRunning.get() || notificationQueue.isEmpty()) return;
-        queueRunning.set(true);
-
-        Futures.submit(() -> {
-            while (!notificationQueue.isEmpty() && !killed.get()) {
-                currentNotification = notificationQueue.remove(0);
-                controlFrame.getTrueContentPane().add(currentNotification, JLayeredPane.DRAG_LAYER);
-                currentNotification.appear();
-                logCurrentNotification();
-                while (!currentNotification.isKilled()) Thread.onSpinWait();
-                currentNotification = null;
-                ThreadUtil.sleep(timeBetweenNotifications.toMillis());
-            }
+        if (killed.get() || notificationQueue.isEmpty()) return;
+        NotificationScheduler.INSTANCE.schedule(this);
+    }
+
+    /**
+     * Advances the notification queue, showing the next notification once the current one has been
+     * killed and {@link #timeBetweenNotifications} has elapsed. Invoked by the {@link NotificationScheduler}
+     * on the event dispatch thread. This controller unschedules itself once its queue is drained.
+     *
+     * @param frameNanos the time of the current frame
+     */
+    synchronized void advance(long frameNanos) {
+        if (currentNotification != null) {
+            if (!currentNotification.isKilled()) return;
+            currentNotification = null;
+            nextNotificationNanos = frameNanos + timeBetweenNotifications.toNanos();
+        }
+
+        if (killed.get() || notificationQueue.isEmpty()) {
+            NotificationScheduler.INSTANCE.unschedule(this);
+            return;
+        }
+        if (nextNotificationNanos != Long.MIN_VALUE && frameNanos - nextNotificationNanos < 0) return;
 
-            queueRunning.set(false);
-        }, queueExecutor);
+        currentNotification = notificationQueue.remove(0);
+        controlFrame.getTrueContentPane().add(currentNotification, JLayeredPane.DRAG_LAYER);
+        currentNotification.appear();
+        logCurrentNotification();
     }
 
     /**
@@ -0,0 +1,87 @@
+package cyder.ui.frame.notification;
+
+import com.google.common.base.Preconditions;
+import cyder.animation.AnimationClock;
+import cyder.logging.LogTag;
+import cyder.logging.Logger;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The scheduler which advances the notification queues of all {@link NotificationController}s.
+ * <p>
+ * Rather than each frame owning a thread which waits on its queue, controllers with pending or
+ * showing notifications are registered here and advanced once per frame of the {@link AnimationClock}.
+ * Once every queue is drained the scheduler unregisters from the clock meaning no threads
+ * are kept alive for idle notification queues.
+ */
+enum NotificationScheduler {
+    /**
+     * The notification scheduler instance.
+     */
+    INSTANCE;
+
+    /**
+     * The controllers with notifications pending or showing.
+     */
+    private final Set<NotificationController> activeControllers = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Whether this scheduler is currently registered with the animation clock.
+     */
+    private final AtomicBoolean ticking = new AtomicBoolean();
+
+    NotificationScheduler() {
+        Logger.log(LogTag.OBJECT_CREATION, "NotificationScheduler singleton constructed");
+    }
+
+    /**
+     * Schedules the provided controller to be advanced each frame until its queue is drained.
+     *
+     * @param controller the controller to advance
+     */
+    void schedule(NotificationController controller) {
+        Preconditions.checkNotNull(controller);
+
+        activeControllers.add(controller);
+        if (ticking.compareAndSet(false, true)) AnimationClock.INSTANCE.addListener(this::onFrame);
+    }
+
+    /**
+     * Removes the provided controller from this scheduler.
+     * Controllers remove themselves once their queue is drained.
+     *
+     * @param controller the controller to remove
+     */
+    void unschedule(NotificationController controller) {
+        Preconditions.checkNotNull(controller);
+
+        activeControllers.remove(controller);
+    }
+
+    /**
+     * Returns the number of controllers currently being advanced.
+     *
+     * @return the number of controllers currently being advanced
+     */
+    int getActiveControllerCount() {
+        return activeControllers.size();
+    }
+
+    /**
+     * Advances all active controllers.
+     *
+     * @param frameNanos the time of the current frame
+     * @return whether this scheduler should continue receiving frames
+     */
+    private boolean onFrame(long frameNanos) {
+        activeControllers.forEach(controller -> controller.advance(frameNanos));
+        if (!activeControllers.isEmpty()) return true;
+
+        // A controller may have been scheduled after the removal above
+        ticking.set(false);
+        return !activeControllers.isEmpty() && ticking.compareAndSet(false, true);
+    }
+}
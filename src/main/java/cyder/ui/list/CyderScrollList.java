@@ -205,7 +205,8 @@ public class CyderScrollList {
     }
 
     /**
-     * Refreshes all CyderScrollLists that have been created during the current instance of Cyder.
+     * Refreshes all CyderScrollLists and {@link CyderVirtualScrollList}s
+     * that have been created during the current instance of Cyder.
      */
     public static void refreshAllLists() {
         scrollLists.forEach(list -> {
@@ -217,6 +218,8 @@ public class CyderScrollList {
                 }
             }
         });
+
+        CyderVirtualScrollList.refreshAllVirtualLists();
     }
 
     /**
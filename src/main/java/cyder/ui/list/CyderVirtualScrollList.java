@@ -0,0 +1,596 @@
+package cyder.ui.list;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import cyder.bounds.TextMeasurer;
+import cyder.constants.CyderColors;
+import cyder.constants.CyderFonts;
+import cyder.logging.LogTag;
+import cyder.logging.Logger;
+import cyder.strings.ToStringUtil;
+import cyder.ui.pane.CyderScrollPane;
+import cyder.user.UserDataManager;
+
+import javax.annotation.Nullable;
+import javax.swing.*;
+import javax.swing.border.Border;
+import javax.swing.border.LineBorder;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * A scroll list with clickable elements which renders only the visible rows of its backing model.
+ * <p>
+ * Unlike a {@link CyderScrollList}, no component is created per element meaning lists of tens of thousands
+ * of elements may be displayed without stalling. Elements may be added and removed from any thread
+ * at any time, including after the list has been generated, and are reflected immediately.
+ * The selection and click action semantics match those of a {@link CyderScrollList}.
+ */
+public class CyderVirtualScrollList {
+    /**
+     * The padding to the left of the row text.
+     */
+    private static final int TEXT_PADDING = 5;
+
+    /**
+     * The vertical padding above and below the row text.
+     */
+    private static final int ROW_PADDING = 2;
+
+    /**
+     * The height of the separation area between rows when compact mode is not active.
+     */
+    private static final int SEP_AREA_HEIGHT = 25;
+
+    /**
+     * The y value of the separation bar within the separation area.
+     */
+    private static final int SEP_BAR_Y = 10;
+
+    /**
+     * The height of the separation bar.
+     */
+    private static final int SEP_BAR_HEIGHT = 5;
+
+    /**
+     * The virtual scroll lists which may need refreshing.
+     */
+    private static final Set<CyderVirtualScrollList> virtualScrollLists =
+            Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+
+    /**
+     * The width of this scroll list.
+     */
+    private final int width;
+
+    /**
+     * The height of this scroll list.
+     */
+    private final int height;
+
+    /**
+     * Whether dark mode is active for this scroll list.
+     */
+    private final boolean darkMode;
+
+    /**
+     * The color non-selected items are given.
+     */
+    private final Color nonSelectedColor;
+
+    /**
+     * The selection policy of this scroll list.
+     */
+    private CyderScrollList.SelectionPolicy selectionPolicy;
+
+    /**
+     * The font to use for this scroll list.
+     */
+    private Font scrollFont = CyderFonts.SEGOE_20;
+
+    /**
+     * The border to surround the component with.
+     */
+    @Nullable
+    private Border border;
+
+    /**
+     * The backing model of this scroll list.
+     */
+    private final ScrollListModel model = new ScrollListModel();
+
+    /**
+     * The component which paints the visible rows.
+     */
+    private final RowView rowView = new RowView();
+
+    /**
+     * The widest row text added since the list was last cleared.
+     */
+    private volatile int widestTextWidth;
+
+    /**
+     * Whether compact mode is active, meaning rows are not separated by bars.
+     */
+    private volatile boolean compactMode;
+
+    /**
+     * The inner scroll pane object.
+     */
+    private CyderScrollPane scrollPane;
+
+    /**
+     * Constructs a new virtual scroll list.
+     *
+     * @param width           the width of the component
+     * @param height          the height of the component
+     * @param selectionPolicy the selection policy of the component
+     * @param darkMode        whether the component should be constructed in a dark mode format
+     */
+    public CyderVirtualScrollList(int width, int height,
+                                  CyderScrollList.SelectionPolicy selectionPolicy, boolean darkMode) {
+        Preconditions.checkArgument(width > 0);
+        Preconditions.checkArgument(height > 0);
+
+        this.width = width;
+        this.height = height;
+        this.selectionPolicy = Preconditions.checkNotNull(selectionPolicy);
+        this.darkMode = darkMode;
+
+        nonSelectedColor = darkMode ? CyderColors.defaultDarkModeTextColor : CyderColors.navy;
+        border = new LineBorder(nonSelectedColor, 5, false);
+
+        Logger.log(LogTag.OBJECT_CREATION, this);
+    }
+
+    /**
+     * Constructs a new virtual scroll list using the {@link CyderScrollList.SelectionPolicy#SINGLE} policy.
+     *
+     * @param width  the width of the component
+     * @param height the height of the component
+     */
+    public CyderVirtualScrollList(int width, int height) {
+        this(width, height, CyderScrollList.SelectionPolicy.SINGLE, false);
+    }
+
+    /**
+     * Refreshes all virtual scroll lists created during the current instance of Cyder.
+     */
+    static void refreshAllVirtualLists() {
+        ImmutableList<CyderVirtualScrollList> lists;
+        synchronized (virtualScrollLists) {
+            lists = ImmutableList.copyOf(virtualScrollLists);
+        }
+        lists.forEach(CyderVirtualScrollList::refreshList);
+    }
+
+    /**
+     * Refreshes this scroll list, re-reading whether compact mode is active.
+     */
+    public void refreshList() {
+        compactMode = UserDataManager.INSTANCE.compactTextMode();
+        onModelChanged();
+    }
+
+    /**
+     * Returns the font for this scroll list.
+     *
+     * @return the font for this scroll list
+     */
+    public Font getScrollFont() {
+        return scrollFont;
+    }
+
+    /**
+     * Sets the font for this scroll list.
+     *
+     * @param font the font for this scroll list
+     */
+    public void setScrollFont(Font font) {
+        scrollFont = Preconditions.checkNotNull(font);
+        onModelChanged();
+    }
+
+    /**
+     * Sets the border to surround the component with.
+     *
+     * @param border the border to surround the component with
+     */
+    public void setBorder(@Nullable Border border) {
+        this.border = border;
+    }
+
+    /**
+     * Returns the selection policy for this scroll list.
+     *
+     * @return the selection policy for this scroll list
+     */
+    public CyderScrollList.SelectionPolicy getSelectionPolicy() {
+        return selectionPolicy;
+    }
+
+    /**
+     * Sets the selection policy for this scroll list.
+     *
+     * @param selectionPolicy the selection policy to use for this scroll list
+     */
+    public void setSelectionPolicy(CyderScrollList.SelectionPolicy selectionPolicy) {
+        this.selectionPolicy = Preconditions.checkNotNull(selectionPolicy);
+    }
+
+    /**
+     * Generates the scroll list component based on the constructed and set properties.
+     *
+     * @return the scroll list component
+     */
+    public JLabel generateScrollList() {
+        Color background = darkMode ? CyderColors.darkModeBackgroundColor : CyderColors.vanilla;
+
+        JLabel retLabel = new JLabel();
+        retLabel.setSize(width, height);
+        retLabel.setBackground(background);
+        retLabel.setOpaque(true);
+        retLabel.setVisible(true);
+
+        rowView.setOpaque(false);
+        rowView.setFocusable(true);
+
+        scrollPane = new CyderScrollPane(rowView);
+        scrollPane.setThumbSize(5);
+        scrollPane.getViewport().setOpaque(false);
+        scrollPane.setFocusable(true);
+        scrollPane.setOpaque(false);
+        scrollPane.setThumbColor(CyderColors.regularPink);
+        scrollPane.setBackground(background);
+        scrollPane.setBorder(border);
+        scrollPane.setHorizontalScrollBarPolicy(ScrollPaneConstants.HORIZONTAL_SCROLLBAR_AS_NEEDED);
+        scrollPane.setVerticalScrollBarPolicy(ScrollPaneConstants.VERTICAL_SCROLLBAR_AS_NEEDED);
+        scrollPane.setBounds(0, 0, width, height);
+        retLabel.add(scrollPane);
+
+        virtualScrollLists.add(this);
+        refreshList();
+
+        return retLabel;
+    }
+
+    /**
+     * Returns the inner scroll pane object.
+     *
+     * @return the inner scroll pane object
+     */
+    public CyderScrollPane getScrollPane() {
+        return scrollPane;
+    }
+
+    /**
+     * Returns whether an element with the provided text exists.
+     *
+     * @param text the element to search for
+     * @return whether the element exists in the scroll list
+     */
+    public boolean elementInList(String text) {
+        return model.contains(text);
+    }
+
+    /**
+     * Returns the number of elements in this scroll list.
+     *
+     * @return the number of elements in this scroll list
+     */
+    public int getElementCount() {
+        return model.size();
+    }
+
+    /**
+     * Adds a new element to the scroll list.
+     *
+     * @param labelText the text for the element to have
+     */
+    public void addElement(String labelText) {
+        addElement(labelText, null, null);
+    }
+
+    /**
+     * Adds a new element to the scroll list.
+     *
+     * @param labelText         the text for the element to have
+     * @param singleClickAction the action to invoke when the element is clicked once
+     */
+    public void addElementWithSingleClickAction(String labelText, Runnable singleClickAction) {
+        addElement(labelText, Preconditions.checkNotNull(singleClickAction), null);
+    }
+
+    /**
+     * Adds a new element to the scroll list.
+     *
+     * @param labelText         the text for the element to have
+     * @param doubleClickAction the action to invoke when the element is double clicked
+     */
+    public void addElementWithDoubleClickAction(String labelText, Runnable doubleClickAction) {
+        addElement(labelText, null, Preconditions.checkNotNull(doubleClickAction));
+    }
+
+    /**
+     * Adds a new element to the scroll list.
+     *
+     * @param labelText         the text for the element to have
+     * @param singleClickAction the action to invoke when the element is pressed
+     * @param doubleClickAction the action to invoke when the element is double clicked
+     */
+    public void addElementWithSingleAndDoubleClickAction(String labelText,
+                                                         Runnable singleClickAction,
+                                                         Runnable doubleClickAction) {
+        addElement(labelText, Preconditions.checkNotNull(singleClickAction),
+                Preconditions.checkNotNull(doubleClickAction));
+    }
+
+    /**
+     * Adds a new element to the model and updates the view.
+     *
+     * @param labelText         the text for the element to have
+     * @param singleClickAction the action to invoke when the element is clicked once, if any
+     * @param doubleClickAction the action to invoke when the element is double clicked, if any
+     */
+    private void addElement(String labelText,
+                            @Nullable Runnable singleClickAction,
+                            @Nullable Runnable doubleClickAction) {
+        model.add(labelText, singleClickAction, doubleClickAction);
+
+        int textWidth = (int) Math.ceil(TextMeasurer.forFont(scrollFont).width(labelText));
+        if (textWidth > widestTextWidth) widestTextWidth = textWidth;
+
+        onModelChanged();
+    }
+
+    /**
+     * Selects the element with the provided text.
+     *
+     * @param elementText the element to select
+     */
+    public void selectElement(String elementText) {
+        Preconditions.checkNotNull(elementText);
+        Preconditions.checkArgument(!elementText.isEmpty());
+
+        model.select(elementText);
+        rowView.repaint();
+    }
+
+    /**
+     * Removes all elements from the scroll list.
+     */
+    public void removeAllElements() {
+        model.clear();
+        widestTextWidth = 0;
+        onModelChanged();
+    }
+
+    /**
+     * Removes the specified element from the scroll list.
+     *
+     * @param labelText the element to remove from the scroll list
+     */
+    public void removeElement(String labelText) {
+        Preconditions.checkNotNull(labelText);
+        Preconditions.checkArgument(!labelText.isEmpty());
+
+        if (model.remove(labelText)) onModelChanged();
+    }
+
+    /**
+     * Returns a list of all the currently selected elements.
+     *
+     * @return a list of all currently selected elements
+     */
+    public ImmutableList<String> getSelectedElements() {
+        return model.getSelected();
+    }
+
+    /**
+     * Returns the currently selected element.
+     *
+     * @return the currently selected element
+     */
+    public Optional<String> getSelectedElement() {
+        return model.getFirstSelected();
+    }
+
+    /**
+     * Removes all selected elements on this scroll list.
+     */
+    public void removeSelectedElements() {
+        model.removeSelected();
+        onModelChanged();
+    }
+
+    /**
+     * Removes the first selected element from this scroll list.
+     */
+    public void removeSelectedElement() {
+        model.removeFirstSelected();
+        onModelChanged();
+    }
+
+    /**
+     * Returns the number of currently selected elements.
+     *
+     * @return the number of currently selected elements
+     */
+    public int getSelectedElementCount() {
+        return model.getSelectedCount();
+    }
+
+    /**
+     * Deselects all selected elements from the scroll list.
+     */
+    public void deselectAllElements() {
+        model.deselectAll();
+        rowView.repaint();
+    }
+
+    /**
+     * Revalidates and repaints the row view after the model or row dimensions changed.
+     * Both calls are coalesced by Swing so this may be invoked once per added element.
+     */
+    private void onModelChanged() {
+        rowView.revalidate();
+        rowView.repaint();
+    }
+
+    /**
+     * Returns the height of a row's text area.
+     *
+     * @return the height of a row's text area
+     */
+    private int getTextAreaHeight() {
+        return rowView.getFontMetrics(scrollFont).getHeight() + 2 * ROW_PADDING;
+    }
+
+    /**
+     * Returns the distance between the tops of consecutive rows.
+     *
+     * @return the distance between the tops of consecutive rows
+     */
+    private int getRowStride() {
+        return getTextAreaHeight() + (compactMode ? 0 : SEP_AREA_HEIGHT);
+    }
+
+    /**
+     * The component which paints only the rows intersecting its clip.
+     */
+    private final class RowView extends JComponent implements Scrollable {
+        /**
+         * Constructs a new row view.
+         */
+        private RowView() {
+            addMouseListener(new MouseAdapter() {
+                @Override
+                public void mouseClicked(MouseEvent e) {
+                    onRowViewClicked(e);
+                }
+            });
+        }
+
+        /**
+         * Resolves the clicked row and invokes the resulting action, if any.
+         *
+         * @param e the mouse event
+         */
+        private void onRowViewClicked(MouseEvent e) {
+            int stride = getRowStride();
+            int index = e.getY() / stride;
+            if (e.getY() % stride >= getTextAreaHeight()) return;
+
+            Optional<Runnable> action = model.onClicked(index, e.getClickCount(), e.isControlDown(),
+                    selectionPolicy);
+            repaint();
+            action.ifPresent(Runnable::run);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Dimension getPreferredSize() {
+            int count = model.size();
+            int stride = getRowStride();
+            int rowsHeight = count == 0 ? 0 : count * stride - (compactMode ? 0 : SEP_AREA_HEIGHT);
+            return new Dimension(widestTextWidth + 2 * TEXT_PADDING, rowsHeight);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected void paintComponent(Graphics g) {
+            Graphics2D g2d = (Graphics2D) g.create();
+            g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            g2d.setFont(scrollFont);
+
+            FontMetrics metrics = g2d.getFontMetrics();
+            int textAreaHeight = getTextAreaHeight();
+            int stride = getRowStride();
+
+            Rectangle clip = g2d.getClipBounds();
+            if (clip == null) clip = new Rectangle(0, 0, getWidth(), getHeight());
+
+            int count = model.size();
+            int first = Math.max(0, clip.y / stride);
+            int last = Math.min(count - 1, (clip.y + clip.height) / stride);
+
+            for (int i = first ; i <= last ; i++) {
+                ScrollListModel.Element element;
+                try {
+                    element = model.get(i);
+                } catch (IndexOutOfBoundsException ignored) {
+                    // Elements were removed concurrently, a repaint is already pending
+                    break;
+                }
+
+                int rowY = i * stride;
+                g2d.setColor(model.isSelected(element) ? CyderScrollList.selectedColor : nonSelectedColor);
+                g2d.drawString(element.getText(), TEXT_PADDING, rowY + ROW_PADDING + metrics.getAscent());
+
+                if (!compactMode && i != count - 1) {
+                    g2d.setColor(nonSelectedColor);
+                    g2d.fillRect(0, rowY + textAreaHeight + SEP_BAR_Y, getWidth(), SEP_BAR_HEIGHT);
+                }
+            }
+
+            g2d.dispose();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Dimension getPreferredScrollableViewportSize() {
+            return getPreferredSize();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int getScrollableUnitIncrement(Rectangle visibleRect, int orientation, int direction) {
+            return orientation == SwingConstants.VERTICAL ? getRowStride() : TEXT_PADDING * 4;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int getScrollableBlockIncrement(Rectangle visibleRect, int orientation, int direction) {
+            return orientation == SwingConstants.VERTICAL ? visibleRect.height : visibleRect.width;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean getScrollableTracksViewportWidth() {
+            return getParent() instanceof JViewport viewport && viewport.getWidth() > getPreferredSize().width;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean getScrollableTracksViewportHeight() {
+            return getParent() instanceof JViewport viewport && viewport.getHeight() > getPreferredSize().height;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return ToStringUtil.commonCyderToString(this);
+    }
+}
@@ -0,0 +1,295 @@
+package cyder.ui.list;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Optional;
+
+/**
+ * The backing model of a {@link CyderVirtualScrollList}.
+ * <p>
+ * Elements are stored in insertion order and indexed by their unique text, allowing rows to be
+ * resolved by index when painting and by text for lookups without creating a component per element.
+ * All methods are thread-safe allowing elements to be added while a listing is still in progress.
+ */
+final class ScrollListModel {
+    /**
+     * An element of the model.
+     */
+    static final class Element {
+        /**
+         * The text of this element.
+         */
+        private final String text;
+
+        /**
+         * The action to invoke when this element is clicked once, if any.
+         */
+        @Nullable
+        private final Runnable singleClickAction;
+
+        /**
+         * The action to invoke when this element is double clicked, if any.
+         */
+        @Nullable
+        private final Runnable doubleClickAction;
+
+        /**
+         * Whether this element is selected.
+         */
+        private boolean selected;
+
+        /**
+         * Constructs a new element.
+         *
+         * @param text              the text of this element
+         * @param singleClickAction the action to invoke when this element is clicked once, if any
+         * @param doubleClickAction the action to invoke when this element is double clicked, if any
+         */
+        private Element(String text, @Nullable Runnable singleClickAction, @Nullable Runnable doubleClickAction) {
+            this.text = text;
+            this.singleClickAction = singleClickAction;
+            this.doubleClickAction = doubleClickAction;
+        }
+
+        /**
+         * Returns the text of this element.
+         *
+         * @return the text of this element
+         */
+        String getText() {
+            return text;
+        }
+    }
+
+    /**
+     * The elements in insertion order.
+     */
+    private final ArrayList<Element> elements = new ArrayList<>();
+
+    /**
+     * The elements keyed by text.
+     */
+    private final HashMap<String, Element> elementsByText = new HashMap<>();
+
+    /**
+     * The currently selected elements.
+     */
+    private final HashSet<Element> selectedElements = new HashSet<>();
+
+    /**
+     * Constructs a new empty scroll list model.
+     */
+    ScrollListModel() {}
+
+    /**
+     * Adds a new element to the end of this model.
+     *
+     * @param text              the text of the element
+     * @param singleClickAction the action to invoke when the element is clicked once, if any
+     * @param doubleClickAction the action to invoke when the element is double clicked, if any
+     * @throws IllegalArgumentException if the text is empty or an element with the text already exists
+     */
+    synchronized void add(String text, @Nullable Runnable singleClickAction, @Nullable Runnable doubleClickAction) {
+        Preconditions.checkNotNull(text);
+        Preconditions.checkArgument(!text.isEmpty());
+        Preconditions.checkArgument(!elementsByText.containsKey(text), text + " already in list");
+
+        Element element = new Element(text, singleClickAction, doubleClickAction);
+        elements.add(element);
+        elementsByText.put(text, element);
+    }
+
+    /**
+     * Returns whether an element with the provided text exists.
+     *
+     * @param text the text
+     * @return whether an element with the provided text exists
+     */
+    synchronized boolean contains(String text) {
+        return elementsByText.containsKey(text);
+    }
+
+    /**
+     * Returns the number of elements.
+     *
+     * @return the number of elements
+     */
+    synchronized int size() {
+        return elements.size();
+    }
+
+    /**
+     * Returns the element at the provided index.
+     *
+     * @param index the index
+     * @return the element at the provided index
+     */
+    synchronized Element get(int index) {
+        return elements.get(index);
+    }
+
+    /**
+     * Returns whether the provided element is selected.
+     *
+     * @param element the element
+     * @return whether the provided element is selected
+     */
+    synchronized boolean isSelected(Element element) {
+        return element.selected;
+    }
+
+    /**
+     * Removes the element with the provided text.
+     *
+     * @param text the text of the element to remove
+     * @return whether an element was removed
+     */
+    synchronized boolean remove(String text) {
+        Element element = elementsByText.remove(text);
+        if (element == null) return false;
+
+        elements.remove(element);
+        selectedElements.remove(element);
+        return true;
+    }
+
+    /**
+     * Removes all elements.
+     */
+    synchronized void clear() {
+        elements.clear();
+        elementsByText.clear();
+        selectedElements.clear();
+    }
+
+    /**
+     * Selects the element with the provided text, if present.
+     *
+     * @param text the text of the element to select
+     */
+    synchronized void select(String text) {
+        Element element = elementsByText.get(text);
+        if (element != null) setSelected(element, true);
+    }
+
+    /**
+     * Deselects all elements.
+     */
+    synchronized void deselectAll() {
+        selectedElements.forEach(element -> element.selected = false);
+        selectedElements.clear();
+    }
+
+    /**
+     * Returns the texts of the selected elements in list order.
+     *
+     * @return the texts of the selected elements in list order
+     */
+    synchronized ImmutableList<String> getSelected() {
+        if (selectedElements.isEmpty()) return ImmutableList.of();
+
+        return elements.stream()
+                .filter(element -> element.selected)
+                .map(Element::getText)
+                .collect(ImmutableList.toImmutableList());
+    }
+
+    /**
+     * Returns the text of the first selected element in list order, if any.
+     *
+     * @return the text of the first selected element in list order, if any
+     */
+    synchronized Optional<String> getFirstSelected() {
+        if (selectedElements.isEmpty()) return Optional.empty();
+
+        return elements.stream().filter(element -> element.selected).map(Element::getText).findFirst();
+    }
+
+    /**
+     * Returns the number of selected elements.
+     *
+     * @return the number of selected elements
+     */
+    synchronized int getSelectedCount() {
+        return selectedElements.size();
+    }
+
+    /**
+     * Removes all selected elements.
+     */
+    synchronized void removeSelected() {
+        if (selectedElements.isEmpty()) return;
+
+        elements.removeIf(element -> element.selected);
+        selectedElements.forEach(element -> elementsByText.remove(element.text));
+        selectedElements.clear();
+    }
+
+    /**
+     * Removes the first selected element in list order.
+     */
+    synchronized void removeFirstSelected() {
+        getFirstSelected().ifPresent(this::remove);
+    }
+
+    /**
+     * Updates the selection as a result of a click on the element at the provided index and returns
+     * the action of the element to invoke, if any. The returned action should be invoked by the caller
+     * without holding this model's lock.
+     *
+     * @param index           the index of the clicked element
+     * @param clickCount      the click count of the mouse event
+     * @param controlDown     whether the control key was down
+     * @param selectionPolicy the selection policy of the list
+     * @return the action to invoke, if any
+     */
+    synchronized Optional<Runnable> onClicked(int index, int clickCount, boolean controlDown,
+                                              CyderScrollList.SelectionPolicy selectionPolicy) {
+        Preconditions.checkNotNull(selectionPolicy);
+        if (index < 0 || index >= elements.size()) return Optional.empty();
+
+        Element element = elements.get(index);
+        if (element.doubleClickAction != null && clickCount == 2) {
+            setSelected(element, false);
+            return Optional.of(element.doubleClickAction);
+        }
+
+        boolean wasSelected = element.selected;
+        switch (selectionPolicy) {
+            case SINGLE -> {
+                deselectAll();
+                setSelected(element, !wasSelected);
+            }
+            case MULTIPLE -> {
+                if (!controlDown) {
+                    deselectAll();
+                    setSelected(element, true);
+                } else {
+                    setSelected(element, !wasSelected);
+                }
+            }
+        }
+
+        return Optional.ofNullable(element.singleClickAction);
+    }
+
+    /**
+     * Sets whether the provided element is selected.
+     *
+     * @param element  the element
+     * @param selected whether the element is selected
+     */
+    private void setSelected(Element element, boolean selected) {
+        element.selected = selected;
+        if (selected) {
+            selectedElements.add(element);
+        } else {
+            selectedElements.remove(element);
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package cyder.user;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import cyder.files.FileUtil;
+import cyder.logging.LogTag;
+import cyder.logging.Logger;
+import cyder.threads.CyderThreadFactory;
+import cyder.utils.ImageUtil;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Ensures user backgrounds fit within a maximum dimension.
+ * <p>
+ * Dimensions are read from image headers rather than by decoding images, and files found to fit are
+ * recorded in a persistent index by modification time and length so that later checks skip them entirely.
+ * Oversized backgrounds are returned by {@link #findOversized(File)} so that the comparatively expensive
+ * resizes may be performed in parallel by {@link #resize(ImmutableList)} once startup has completed.
+ */
+final class BackgroundNormalizer {
+    /**
+     * The magic number identifying an index file.
+     */
+    private static final int MAGIC = 0x42474E49;
+
+    /**
+     * The version of the index file format.
+     */
+    private static final byte VERSION = 1;
+
+    /**
+     * The suffix of the temporary files resized backgrounds are written to before replacing the original.
+     */
+    private static final String RESIZING_SUFFIX = ".resizing";
+
+    /**
+     * The name of the threads which resize backgrounds.
+     */
+    private static final String RESIZER_THREAD_NAME = "Background Resizer";
+
+    /**
+     * The modification time and length of a file known to fit within the maximum dimension.
+     *
+     * @param lastModified the modification time of the file
+     * @param length       the length of the file
+     */
+    private record ValidatedFile(long lastModified, long length) {
+        /**
+         * Returns whether the provided file has not changed since it was validated.
+         *
+         * @param file the file
+         * @return whether the provided file has not changed since it was validated
+         */
+        boolean matches(File file) {
+            return lastModified == file.lastModified() && length == file.length();
+        }
+    }
+
+    /**
+     * The file the index of validated files is persisted to.
+     */
+    private final File indexFile;
+
+    /**
+     * The dimension backgrounds must fit within.
+     */
+    private final Dimension maximumDimension;
+
+    /**
+     * The validated files keyed by absolute path.
+     */
+    private final ConcurrentHashMap<String, ValidatedFile> validated = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a new background normalizer, loading the index from the provided file if it
+     * exists and was written for the same maximum dimension.
+     *
+     * @param indexFile        the file the index of validated files is persisted to
+     * @param maximumDimension the dimension backgrounds must fit within
+     */
+    BackgroundNormalizer(File indexFile, Dimension maximumDimension) {
+        Preconditions.checkNotNull(indexFile);
+        Preconditions.checkNotNull(maximumDimension);
+        Preconditions.checkArgument(maximumDimension.width > 0 && maximumDimension.height > 0);
+
+        this.indexFile = indexFile;
+        this.maximumDimension = new Dimension(maximumDimension);
+        loadIndex();
+    }
+
+    /**
+     * Returns the supported images within the provided backgrounds directory which exceed the maximum
+     * dimension. Images which fit are recorded as validated, and previously validated images which have
+     * not changed are skipped without being opened.
+     *
+     * @param backgroundsDir the backgrounds directory
+     * @return the images which exceed the maximum dimension
+     */
+    ImmutableList<File> findOversized(File backgroundsDir) {
+        Preconditions.checkNotNull(backgroundsDir);
+        Preconditions.checkArgument(backgroundsDir.isDirectory());
+
+        File[] files = backgroundsDir.listFiles();
+        if (files == null) return ImmutableList.of();
+
+        ImmutableList.Builder<File> oversized = ImmutableList.builder();
+        Arrays.stream(files).filter(File::isFile).filter(FileUtil::isSupportedImageExtension).forEach(file -> {
+            if (isValidated(file)) return;
+
+            long lastModified = file.lastModified();
+            long length = file.length();
+            Dimension dimension;
+            try {
+                dimension = ImageUtil.readDimensions(file);
+            } catch (IOException e) {
+                Logger.log(LogTag.SYSTEM_IO, "Failed to read dimensions of background: "
+                        + file.getAbsolutePath() + ", " + e.getMessage());
+                return;
+            }
+
+            if (fits(dimension)) {
+                validated.put(keyOf(file), new ValidatedFile(lastModified, length));
+            } else {
+                oversized.add(file);
+            }
+        });
+
+        return oversized.build();
+    }
+
+    /**
+     * Resizes the provided images to fit within the maximum dimension in parallel, blocking until complete,
+     * and records them as validated. Each image is written to a temporary file which then replaces the original.
+     *
+     * @param oversized the images to resize
+     * @return the number of images resized
+     */
+    int resize(ImmutableList<File> oversized) {
+        Preconditions.checkNotNull(oversized);
+        if (oversized.isEmpty()) return 0;
+
+        int threads = Math.min(oversized.size(), Math.max(1, Runtime.getRuntime().availableProcessors()));
+        ExecutorService resizers = Executors.newFixedThreadPool(threads, new CyderThreadFactory(RESIZER_THREAD_NAME));
+
+        int resized = 0;
+        try {
+            ArrayList<Future<Boolean>> futures = new ArrayList<>(oversized.size());
+            oversized.forEach(file -> futures.add(resizers.submit(() -> resizeFile(file))));
+
+            for (Future<Boolean> future : futures) {
+                try {
+                    if (future.get()) resized++;
+                } catch (ExecutionException e) {
+                    Logger.log(LogTag.SYSTEM_IO, "Failed to resize background: " + e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            resizers.shutdownNow();
+        }
+
+        return resized;
+    }
+
+    /**
+     * Writes the index of validated files, discarding entries for files which no longer exist.
+     */
+    void saveIndex() {
+        validated.keySet().removeIf(path -> !new File(path).exists());
+
+        Map<String, ValidatedFile> snapshot = Map.copyOf(validated);
+        try {
+            FileUtil.writeVersionedAtomically(indexFile, MAGIC, VERSION, out -> {
+                out.writeInt(maximumDimension.width);
+                out.writeInt(maximumDimension.height);
+
+                out.writeInt(snapshot.size());
+                for (Map.Entry<String, ValidatedFile> entry : snapshot.entrySet()) {
+                    out.writeUTF(entry.getKey());
+                    out.writeLong(entry.getValue().lastModified());
+                    out.writeLong(entry.getValue().length());
+                }
+            });
+        } catch (IOException e) {
+            Logger.log(LogTag.SYSTEM_IO, "Failed to save background index: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Returns whether the provided file is recorded as fitting within the maximum dimension
+     * and has not changed since.
+     *
+     * @param file the file
+     * @return whether the provided file is recorded as validated
+     */
+    boolean isValidated(File file) {
+        Preconditions.checkNotNull(file);
+
+        ValidatedFile entry = validated.get(keyOf(file));
+        return entry != null && entry.matches(file);
+    }
+
+    /**
+     * Resizes the provided image to fit within the maximum dimension and records it as validated.
+     *
+     * @param file the image
+     * @return whether the image was resized
+     * @throws IOException if the image cannot be read or written
+     */
+    private boolean resizeFile(File file) throws IOException {
+        BufferedImage image = ImageUtil.read(file);
+        if (image == null) throw new IOException("Failed to decode background: " + file.getAbsolutePath());
+
+        boolean resized = false;
+        if (!fits(new Dimension(image.getWidth(), image.getHeight()))) {
+            File tmp = new File(file.getParentFile(), file.getName() + RESIZING_SUFFIX);
+            try {
+                BufferedImage fitted = ImageUtil.ensureFitsInBounds(image, maximumDimension);
+                if (!ImageIO.write(fitted, FileUtil.getExtensionWithoutPeriod(file), tmp)) {
+                    throw new IOException("No writer for background: " + file.getAbsolutePath());
+                }
+                FileUtil.moveAtomically(tmp, file);
+                resized = true;
+            } finally {
+                Files.deleteIfExists(tmp.toPath());
+            }
+        }
+
+        validated.put(keyOf(file), new ValidatedFile(file.lastModified(), file.length()));
+        return resized;
+    }
+
+    /**
+     * Returns whether the provided dimension fits within the maximum dimension.
+     *
+     * @param dimension the dimension
+     * @return whether the provided dimension fits within the maximum dimension
+     */
+    private boolean fits(Dimension dimension) {
+        return dimension.width <= maximumDimension.width && dimension.height <= maximumDimension.height;
+    }
+
+    /**
+     * Loads the index of validated files if it exists and was written for the maximum dimension.
+     */
+    private void loadIndex() {
+        try {
+            FileUtil.readVersioned(indexFile, MAGIC, VERSION, in -> {
+                if (in.readInt() != maximumDimension.width || in.readInt() != maximumDimension.height) return;
+
+                int count = in.readInt();
+                for (int i = 0 ; i < count ; i++) {
+                    String path = in.readUTF();
+                    validated.put(path, new ValidatedFile(in.readLong(), in.readLong()));
+                }
+            });
+        } catch (IOException e) {
+            validated.clear();
+            Logger.log(LogTag.SYSTEM_IO, "Discarding unreadable background index: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the index key of the provided file.
+     *
+     * @param file the file
+     * @return the index key of the provided file
+     */
+    private static String keyOf(File file) {
+        return file.getAbsolutePath();
+    }
+}
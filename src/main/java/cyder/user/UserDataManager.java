@@ -137,6 +137,7 @@ public enum UserDataManager {
             updateCurrentLevenshteinDistance();
 
             SerializationUtil.toJson(user, userFile);
+            UserUtil.userWritten(userFile, user);
 
             if (currentLevenshteinDistance > 0) {
                 String representation = "User" + CyderStrings.space + CyderStrings.quote
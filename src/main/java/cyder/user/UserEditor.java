@@ -1988,7 +1988,9 @@ public final class UserEditor {
             Console.INSTANCE.releaseResourcesAndCloseFrame(false);
             UiUtil.disposeAllFrames(true);
 
-            OsUtil.deleteFile(Dynamic.buildDynamic(Dynamic.USERS.getFileName(), Console.INSTANCE.getUuid()));
+            String uuid = Console.INSTANCE.getUuid();
+            OsUtil.deleteFile(Dynamic.buildDynamic(Dynamic.USERS.getFileName(), uuid));
+            UserUtil.userDeleted(uuid);
 
             OsUtil.exit(ExitCondition.UserDeleted);
         }, ACCOUNT_DELETION_CONFIRMATION);
@@ -0,0 +1,402 @@
+package cyder.user;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import cyder.files.FileUtil;
+import cyder.logging.LogTag;
+import cyder.logging.Logger;
+import cyder.utils.SerializationUtil;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * A persisted index of the fields of each user's json file needed for login and username lookups,
+ * allowing these lookups to avoid deserializing every user's json file.
+ * <p>
+ * The index is loaded on first use and reconciled against the users directory; users whose json file
+ * changed since it was indexed, as determined by the file's modification time and length, are
+ * deserialized again, users which no longer exist are dropped, and the index is rebuilt entirely if
+ * missing or unreadable. Writes of user json files made through {@link #update(File, User)} keep the
+ * index consistent for the remainder of the session.
+ */
+final class UserIndex {
+    /**
+     * The magic number identifying an index file.
+     */
+    private static final int MAGIC = 0x55494458;
+
+    /**
+     * The version of the index file format.
+     */
+    private static final byte VERSION = 1;
+
+    /**
+     * The indexed fields of a user.
+     *
+     * @param uuid             the uuid of the user
+     * @param username         the username of the user
+     * @param password         the doubly hashed password of the user
+     * @param loggedIn         whether the user is logged in
+     * @param lastSessionStart the start time of the user's last session
+     * @param fileLastModified the modification time of the user's json file when indexed
+     * @param fileLength       the length of the user's json file when indexed
+     */
+    private record IndexedUser(String uuid, String username, String password, boolean loggedIn,
+                               long lastSessionStart, long fileLastModified, long fileLength) {
+        /**
+         * Returns whether the provided json file has not changed since this user was indexed.
+         *
+         * @param jsonFile the user's json file
+         * @return whether the provided json file has not changed since this user was indexed
+         */
+        boolean matches(File jsonFile) {
+            return fileLastModified == jsonFile.lastModified() && fileLength == jsonFile.length();
+        }
+
+        /**
+         * Returns whether the fields persisted by the index equal those of the provided user,
+         * ignoring the state of the json file.
+         *
+         * @param other the other indexed user
+         * @return whether the indexed fields are equal
+         */
+        boolean sameFields(IndexedUser other) {
+            return uuid.equals(other.uuid) && username.equals(other.username) && password.equals(other.password)
+                    && loggedIn == other.loggedIn && lastSessionStart == other.lastSessionStart;
+        }
+    }
+
+    /**
+     * The directory containing a directory for each user.
+     */
+    private final File usersDirectory;
+
+    /**
+     * The file the index is persisted to.
+     */
+    private final File indexFile;
+
+    /**
+     * The indexed users keyed by uuid, guarded by this.
+     */
+    private final HashMap<String, IndexedUser> usersByUuid = new HashMap<>();
+
+    /**
+     * The uuids of users keyed by lower case username, guarded by this.
+     */
+    private final HashMap<String, String> uuidsByUsername = new HashMap<>();
+
+    /**
+     * Whether the index has been loaded and reconciled, guarded by this.
+     */
+    private boolean loaded;
+
+    /**
+     * Constructs a new user index.
+     *
+     * @param usersDirectory the directory containing a directory for each user
+     * @param indexFile      the file the index is persisted to
+     */
+    UserIndex(File usersDirectory, File indexFile) {
+        Preconditions.checkNotNull(usersDirectory);
+        Preconditions.checkNotNull(indexFile);
+
+        this.usersDirectory = usersDirectory;
+        this.indexFile = indexFile;
+    }
+
+    /**
+     * Returns whether a user with the provided username, ignoring case, exists.
+     *
+     * @param username the username
+     * @return whether a user with the provided username exists
+     */
+    synchronized boolean usernameInUse(String username) {
+        return getUuidOfUsername(username).isPresent();
+    }
+
+    /**
+     * Returns the uuid of the user with the provided username, ignoring case.
+     *
+     * @param username the username
+     * @return the uuid of the user with the provided username if present
+     */
+    synchronized Optional<String> getUuidOfUsername(String username) {
+        Preconditions.checkNotNull(username);
+        ensureLoaded();
+
+        String key = username.toLowerCase(Locale.ROOT);
+        String uuid = uuidsByUsername.get(key);
+        if (uuid == null) return Optional.empty();
+
+        current(uuid);
+        return Optional.ofNullable(uuidsByUsername.get(key));
+    }
+
+    /**
+     * Returns whether the doubly hashed password of the user with the provided uuid equals the provided password.
+     *
+     * @param uuid     the uuid of the user
+     * @param password the doubly hashed password
+     * @return whether the password matches
+     */
+    synchronized boolean passwordMatches(String uuid, String password) {
+        Preconditions.checkNotNull(uuid);
+        Preconditions.checkNotNull(password);
+        ensureLoaded();
+
+        return current(uuid).map(user -> user.password().equals(password)).orElse(false);
+    }
+
+    /**
+     * Returns the uuid of the logged-in user with the most recent session start.
+     *
+     * @return the uuid of the logged-in user with the most recent session start if present
+     */
+    synchronized Optional<String> getMostRecentLoggedInUser() {
+        ensureLoaded();
+
+        String uuid = null;
+        long latestSessionStart = 0;
+        for (IndexedUser user : usersByUuid.values()) {
+            if (user.loggedIn() && user.lastSessionStart() > latestSessionStart) {
+                latestSessionStart = user.lastSessionStart();
+                uuid = user.uuid();
+            }
+        }
+
+        return Optional.ofNullable(uuid);
+    }
+
+    /**
+     * Returns the uuids of the users which are logged in.
+     *
+     * @return the uuids of the users which are logged in
+     */
+    synchronized ImmutableList<String> getLoggedInUuids() {
+        ensureLoaded();
+
+        return usersByUuid.values().stream()
+                .filter(IndexedUser::loggedIn)
+                .map(IndexedUser::uuid)
+                .collect(ImmutableList.toImmutableList());
+    }
+
+    /**
+     * Records the provided user as the contents of the provided json file after it was written.
+     *
+     * @param jsonFile the user's json file
+     * @param user     the user written to the file
+     */
+    synchronized void update(File jsonFile, User user) {
+        Preconditions.checkNotNull(jsonFile);
+        Preconditions.checkNotNull(user);
+        ensureLoaded();
+
+        IndexedUser indexed = index(jsonFile.getParentFile().getName(), jsonFile, user);
+        IndexedUser previous = put(indexed);
+        if (previous == null || !previous.sameFields(indexed)) save();
+    }
+
+    /**
+     * Removes the user with the provided uuid from the index.
+     *
+     * @param uuid the uuid of the user
+     */
+    synchronized void remove(String uuid) {
+        Preconditions.checkNotNull(uuid);
+        ensureLoaded();
+
+        if (removeFromMaps(uuid) != null) save();
+    }
+
+    /**
+     * Returns the indexed user with the provided uuid, deserializing the user's json file
+     * again if it changed since it was indexed and dropping the user if it no longer exists.
+     *
+     * @param uuid the uuid of the user
+     * @return the indexed user if present
+     */
+    private Optional<IndexedUser> current(String uuid) {
+        IndexedUser user = usersByUuid.get(uuid);
+        if (user == null) return Optional.empty();
+
+        File jsonFile = jsonFileOf(uuid);
+        if (user.matches(jsonFile)) return Optional.of(user);
+
+        if (!jsonFile.exists()) {
+            removeFromMaps(uuid);
+            save();
+            return Optional.empty();
+        }
+
+        Optional<IndexedUser> refreshed = read(uuid, jsonFile);
+        if (refreshed.isEmpty()) {
+            removeFromMaps(uuid);
+        } else {
+            put(refreshed.get());
+        }
+        save();
+        return refreshed;
+    }
+
+    /**
+     * Loads the persisted index if not yet loaded and reconciles it against the users directory.
+     */
+    private void ensureLoaded() {
+        if (loaded) return;
+        loaded = true;
+
+        HashMap<String, IndexedUser> persisted = readIndexFile();
+
+        boolean changed = false;
+        File[] userDirectories = usersDirectory.listFiles(File::isDirectory);
+        if (userDirectories != null) {
+            for (File userDirectory : userDirectories) {
+                String uuid = userDirectory.getName();
+                File jsonFile = jsonFileOf(uuid);
+                if (!jsonFile.exists()) continue;
+
+                IndexedUser indexed = persisted.remove(uuid);
+                if (indexed == null || !indexed.matches(jsonFile)) {
+                    Optional<IndexedUser> read = read(uuid, jsonFile);
+                    changed = true;
+                    if (read.isEmpty()) continue;
+                    indexed = read.get();
+                }
+
+                put(indexed);
+            }
+        }
+
+        if (changed || !persisted.isEmpty() || !indexFile.exists()) save();
+    }
+
+    /**
+     * Deserializes the provided user json file and returns its indexed fields.
+     *
+     * @param uuid     the uuid of the user
+     * @param jsonFile the user's json file
+     * @return the indexed fields of the user if the file could be deserialized
+     */
+    private Optional<IndexedUser> read(String uuid, File jsonFile) {
+        try {
+            User user = SerializationUtil.fromJson(jsonFile, User.class);
+            if (user == null || user.getUsername() == null) return Optional.empty();
+            return Optional.of(index(uuid, jsonFile, user));
+        } catch (Exception e) {
+            Logger.log(LogTag.USER_CORRUPTION, "Failed to index user " + uuid + ": " + e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Returns the indexed fields of the provided user.
+     *
+     * @param uuid     the uuid of the user
+     * @param jsonFile the user's json file
+     * @param user     the user
+     * @return the indexed fields of the user
+     */
+    private static IndexedUser index(String uuid, File jsonFile, User user) {
+        String password = user.getPassword() == null ? "" : user.getPassword();
+        return new IndexedUser(uuid, user.getUsername(), password, user.isLoggedIn(),
+                user.getLastSessionStart(), jsonFile.lastModified(), jsonFile.length());
+    }
+
+    /**
+     * Adds the provided user to the index maps.
+     *
+     * @param user the user
+     * @return the user previously indexed with the same uuid, null if none
+     */
+    private IndexedUser put(IndexedUser user) {
+        IndexedUser previous = removeFromMaps(user.uuid());
+        usersByUuid.put(user.uuid(), user);
+        uuidsByUsername.putIfAbsent(user.username().toLowerCase(Locale.ROOT), user.uuid());
+        return previous;
+    }
+
+    /**
+     * Removes the user with the provided uuid from the index maps.
+     *
+     * @param uuid the uuid of the user
+     * @return the removed user, null if none
+     */
+    private IndexedUser removeFromMaps(String uuid) {
+        IndexedUser removed = usersByUuid.remove(uuid);
+        if (removed == null) return null;
+
+        String key = removed.username().toLowerCase(Locale.ROOT);
+        if (uuid.equals(uuidsByUsername.get(key))) {
+            uuidsByUsername.remove(key);
+            usersByUuid.values().stream()
+                    .filter(other -> other.username().toLowerCase(Locale.ROOT).equals(key))
+                    .findFirst()
+                    .ifPresent(other -> uuidsByUsername.put(key, other.uuid()));
+        }
+
+        return removed;
+    }
+
+    /**
+     * Returns the json file of the user with the provided uuid.
+     *
+     * @param uuid the uuid of the user
+     * @return the json file of the user
+     */
+    private File jsonFileOf(String uuid) {
+        return new File(new File(usersDirectory, uuid), UserFile.USERDATA.getName());
+    }
+
+    /**
+     * Reads the persisted index.
+     *
+     * @return the persisted users keyed by uuid, empty if the index is missing or unreadable
+     */
+    private HashMap<String, IndexedUser> readIndexFile() {
+        HashMap<String, IndexedUser> ret = new HashMap<>();
+
+        try {
+            FileUtil.readVersioned(indexFile, MAGIC, VERSION, in -> {
+                int count = in.readInt();
+                for (int i = 0 ; i < count ; i++) {
+                    IndexedUser user = new IndexedUser(in.readUTF(), in.readUTF(), in.readUTF(),
+                            in.readBoolean(), in.readLong(), in.readLong(), in.readLong());
+                    ret.put(user.uuid(), user);
+                }
+            });
+        } catch (IOException e) {
+            ret.clear();
+            Logger.log(LogTag.SYSTEM_IO, "Rebuilding unreadable user index: " + e.getMessage());
+        }
+
+        return ret;
+    }
+
+    /**
+     * Writes the index to the index file.
+     */
+    private void save() {
+        try {
+            FileUtil.writeVersionedAtomically(indexFile, MAGIC, VERSION, out -> {
+                out.writeInt(usersByUuid.size());
+                for (IndexedUser user : usersByUuid.values()) {
+                    out.writeUTF(user.uuid());
+                    out.writeUTF(user.username());
+                    out.writeUTF(user.password());
+                    out.writeBoolean(user.loggedIn());
+                    out.writeLong(user.lastSessionStart());
+                    out.writeLong(user.fileLastModified());
+                    out.writeLong(user.fileLength());
+                }
+            });
+        } catch (IOException e) {
+            Logger.log(LogTag.SYSTEM_IO, "Failed to save user index: " + e.getMessage());
+        }
+    }
+}
@@ -19,11 +19,11 @@ import cyder.network.LatencyManager;
 import cyder.props.Props;
 import cyder.strings.CyderStrings;
 import cyder.strings.StringUtil;
+import cyder.threads.CyderThreadRunner;
 import cyder.ui.UiUtil;
 import cyder.user.creation.InputValidation;
 import cyder.user.data.MappedExecutable;
 import cyder.user.data.MappedExecutables;
-import cyder.utils.ArrayUtil;
 import cyder.utils.ImageUtil;
 import cyder.utils.OsUtil;
 import cyder.utils.SerializationUtil;
@@ -37,6 +37,7 @@ import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.stream.Collectors;
 
 /**
@@ -63,6 +64,37 @@ public final class UserUtil {
      */
     private static final String ALL = "all";
 
+    /**
+     * The name of the file within the background index directory which records validated backgrounds.
+     */
+    private static final String BACKGROUND_INDEX_FILE_NAME = "validated.bin";
+
+    /**
+     * The name of the thread which resizes oversized user backgrounds.
+     */
+    private static final String BACKGROUND_RESIZER_THREAD_NAME = "Oversized Background Resizer";
+
+    /**
+     * The normalizer of user backgrounds created by the most recent {@link #cleanUsers()} invocation.
+     */
+    private static volatile BackgroundNormalizer backgroundNormalizer;
+
+    /**
+     * The user backgrounds found to exceed the monitor which have not yet been resized.
+     */
+    private static final ConcurrentLinkedQueue<File> pendingBackgroundResizes = new ConcurrentLinkedQueue<>();
+
+    /**
+     * The name of the file within the user index directory which persists the user index.
+     */
+    private static final String USER_INDEX_FILE_NAME = "index.bin";
+
+    /**
+     * The index of user names, uuids, and login states.
+     */
+    private static final UserIndex userIndex = new UserIndex(Dynamic.buildDynamic(Dynamic.USERS.getFileName()),
+            Dynamic.buildDynamic(Dynamic.USER_INDEX.getFileName(), USER_INDEX_FILE_NAME));
+
     /**
      * Suppress default constructor.
      */
@@ -85,6 +117,7 @@ public final class UserUtil {
         try {
             String json = SerializationUtil.toJson(user);
             FileUtil.writeLinesToFile(file, ImmutableList.of(json), false);
+            userIndex.update(file, user);
         } catch (Exception e) {
             ExceptionHandler.handle(e);
         }
@@ -179,10 +212,12 @@ public final class UserUtil {
      *
      * <ul>
      *     <li>Ensuring the users directory is created</li>
+     *     <li>Correcting JPG and PNG file extensions</li>
      *     <li>Deleting non audio files from the Music/ directory</li>
      *     <li>Removing album art not linked to an audio file</li>
      *     <li>Removing any invalid mapped executables</li>
-     *     <li>Correcting JPG and PNG file extensions</li>
+     *     <li>Finding backgrounds larger than the monitor, which are resized by
+     *     {@link #resizeOversizedBackgroundsInBackground()}</li>
      * </ul>
      */
     public static void cleanUsers() {
@@ -195,6 +230,13 @@ public final class UserUtil {
             return;
         }
 
+        Dimension maximumDimension = new Dimension(UiUtil.getDefaultMonitorWidth(), UiUtil.getDefaultMonitorHeight());
+        BackgroundNormalizer normalizer = new BackgroundNormalizer(Dynamic.buildDynamic(
+                Dynamic.BACKGROUND_INDEX.getFileName(), BACKGROUND_INDEX_FILE_NAME), maximumDimension);
+        backgroundNormalizer = normalizer;
+
+        correctJpgAndPngFileExtensions();
+
         File[] uuids = users.listFiles();
         if (uuids != null && uuids.length > 0) {
             for (File user : uuids) {
@@ -216,9 +258,9 @@ public final class UserUtil {
 
                 File backgroundsDir = OsUtil.buildFile(user.getAbsolutePath(), UserFile.BACKGROUNDS.getName());
                 if (backgroundsDir.exists()) {
-                    CyderSplash.INSTANCE.setLoadingMessage("Resizing user backgrounds: "
+                    CyderSplash.INSTANCE.setLoadingMessage("Checking user backgrounds: "
                             + FileUtil.getFilename(user));
-                    resizeUserBackgroundFiles(backgroundsDir);
+                    pendingBackgroundResizes.addAll(normalizer.findOversized(backgroundsDir));
                 } else {
                     if (!OsUtil.createFile(backgroundsDir, false)) {
                         throw new FatalException("Failed to create user's backgrounds directory: "
@@ -228,8 +270,9 @@ public final class UserUtil {
             }
         }
 
+        normalizer.saveIndex();
+
         removeInvalidUserMappedExecutables();
-        correctJpgAndPngFileExtensions();
     }
 
     /**
@@ -306,54 +349,28 @@ public final class UserUtil {
     }
 
     /**
-     * Resizes all the valid backgrounds in the provided user backgrounds directory.
-     *
-     * @param backgroundsDir the user backgrounds directory
+     * Resizes the user backgrounds found to exceed the monitor during {@link #cleanUsers()} in parallel,
+     * in a separate thread so that startup is not delayed. Backgrounds removed or renamed since
+     * they were found are skipped.
      */
-    private static void resizeUserBackgroundFiles(File backgroundsDir) {
-        Preconditions.checkNotNull(backgroundsDir);
-        Preconditions.checkArgument(backgroundsDir.exists());
-        Preconditions.checkArgument(backgroundsDir.isDirectory());
-        Preconditions.checkArgument(backgroundsDir.getName().equals(UserFile.BACKGROUNDS.getName()));
-
-        File[] backgroundFiles = backgroundsDir.listFiles();
-        if (ArrayUtil.nullOrEmpty(backgroundFiles)) return;
-
-        ArrayList<File> validBackgroundFiles = new ArrayList<>();
-        Arrays.stream(backgroundFiles)
-                .filter(FileUtil::isSupportedImageExtension)
-                .forEach(validBackgroundFiles::add);
-
-        Dimension maximumDimension = new Dimension(UiUtil.getDefaultMonitorWidth(), UiUtil.getDefaultMonitorHeight());
-
-        for (File backgroundFile : validBackgroundFiles) {
-            String filename = FileUtil.getFilename(backgroundFile);
-
-            BufferedImage image;
-            try {
-                CyderSplash.INSTANCE.setLoadingMessage("Reading background: " + filename);
-                image = ImageUtil.read(backgroundFile);
-            } catch (Exception e) {
-                ExceptionHandler.handle(e);
-                continue;
-            }
-
-            CyderSplash.INSTANCE.setLoadingMessage("Checking if resize needed for background: " + filename);
-
-            int imageWidth = image.getWidth();
-            int imageHeight = image.getHeight();
+    public static void resizeOversizedBackgroundsInBackground() {
+        BackgroundNormalizer normalizer = backgroundNormalizer;
+        if (normalizer == null) return;
+
+        ImmutableList.Builder<File> oversized = ImmutableList.builder();
+        File next;
+        while ((next = pendingBackgroundResizes.poll()) != null) {
+            if (next.exists()) oversized.add(next);
+        }
 
-            if (imageWidth <= maximumDimension.getWidth() && imageHeight <= maximumDimension.getHeight()) continue;
+        ImmutableList<File> resizes = oversized.build();
+        if (resizes.isEmpty()) return;
 
-            try {
-                if (!ImageIO.write(ImageUtil.ensureFitsInBounds(image, maximumDimension),
-                        FileUtil.getExtensionWithoutPeriod(backgroundFile), backgroundFile)) {
-                    throw new FatalException("Failed to downscale image: " + backgroundFile.getAbsolutePath());
-                }
-            } catch (Exception e) {
-                ExceptionHandler.handle(e);
-            }
-        }
+        CyderThreadRunner.submit(() -> {
+            int resized = normalizer.resize(resizes);
+            normalizer.saveIndex();
+            Logger.log(LogTag.SYSTEM_IO, "Resized " + resized + " oversized user backgrounds");
+        }, BACKGROUND_RESIZER_THREAD_NAME);
     }
 
     /**
@@ -480,34 +497,70 @@ public final class UserUtil {
      * Logs out all users.
      */
     public static void logoutAllUsers() {
-        getUserJsons().forEach(jsonFile -> {
+        userIndex.getLoggedInUuids().forEach(uuid -> {
+            File jsonFile = Dynamic.buildDynamic(Dynamic.USERS.getFileName(), uuid, UserFile.USERDATA.getName());
             User user = extractUser(jsonFile);
             user.setLoggedIn(false);
             SerializationUtil.toJson(user, jsonFile);
+            userIndex.update(jsonFile, user);
         });
     }
 
     /**
-     * Searches through the users directory and the logged-in user with the most recent
-     * last login time if possible. Empty optional else
+     * Returns the uuid of the logged-in user with the most recent last session start if present.
      *
      * @return the uuid of the user matching the specified parameters above if possible. Empty optional else
      */
     public static Optional<String> getMostRecentLoggedInUser() {
-        String uuid = null;
-        long latestSessionStart = 0;
+        return userIndex.getMostRecentLoggedInUser();
+    }
 
-        for (File userJsonFile : getUserJsons()) {
-            User user = extractUser(userJsonFile);
-            long lastUserSessionStart = user.getLastSessionStart();
+    /**
+     * Returns the uuid of the user with the provided username, ignoring case.
+     *
+     * @param username the username
+     * @return the uuid of the user with the provided username if present
+     */
+    public static Optional<String> getUuidOfUsername(String username) {
+        Preconditions.checkNotNull(username);
 
-            if (user.isLoggedIn() && lastUserSessionStart > latestSessionStart) {
-                latestSessionStart = lastUserSessionStart;
-                uuid = FileUtil.getFilename(userJsonFile.getParentFile().getName());
-            }
-        }
+        return userIndex.getUuidOfUsername(username);
+    }
 
-        return Optional.ofNullable(uuid);
+    /**
+     * Returns whether the doubly hashed password of the user with the provided uuid equals the provided password.
+     *
+     * @param uuid                 the uuid of the user
+     * @param doublyHashedPassword the doubly hashed password
+     * @return whether the password matches
+     */
+    public static boolean passwordMatches(String uuid, String doublyHashedPassword) {
+        Preconditions.checkNotNull(uuid);
+        Preconditions.checkNotNull(doublyHashedPassword);
+
+        return userIndex.passwordMatches(uuid, doublyHashedPassword);
+    }
+
+    /**
+     * Records the provided user as the contents of the provided user json file after it was written,
+     * keeping the user index consistent.
+     *
+     * @param jsonFile the user json file
+     * @param user     the user written to the file
+     */
+    static void userWritten(File jsonFile, User user) {
+        userIndex.update(jsonFile, user);
+    }
+
+    /**
+     * Removes the user with the provided uuid from the user index after the user's directory was deleted.
+     *
+     * @param uuid the uuid of the deleted user
+     */
+    public static void userDeleted(String uuid) {
+        Preconditions.checkNotNull(uuid);
+
+        userIndex.remove(uuid);
     }
 
     /**
@@ -649,10 +702,7 @@ public final class UserUtil {
         Preconditions.checkNotNull(username);
         Preconditions.checkArgument(!username.isEmpty());
 
-        if (noCyderUsers()) return false;
-
-        return getUserJsons().stream()
-                .anyMatch(userFile -> extractUser(userFile).getUsername().equalsIgnoreCase(username));
+        return userIndex.usernameInUse(username);
     }
 
     /**
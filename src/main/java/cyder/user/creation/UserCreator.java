@@ -307,6 +307,7 @@ public final class UserCreator {
             if (!attemptToCreateUser(name, password, lastGeneratedUuid)) {
                 if (lastGeneratedUuid != null) {
                     OsUtil.deleteFile(Dynamic.buildDynamic(Dynamic.USERS.getFileName(), lastGeneratedUuid));
+                    UserUtil.userDeleted(lastGeneratedUuid);
                 }
             } else {
                 createUserFrame.dispose();
@@ -383,16 +384,7 @@ public final class UserCreator {
      * @return whether the user with the user name of {@link  OsUtil#getOsUsername()} exists
      */
     private static boolean cyderUserWithOsUsernameExists() {
-        String osUsername = OsUtil.getOsUsername();
-
-        for (File userJson : UserUtil.getUserJsons()) {
-            User user = UserUtil.extractUser(userJson);
-            if (user.getUsername().equalsIgnoreCase(osUsername)) {
-                return true;
-            }
-        }
-
-        return false;
+        return UserUtil.usernameInUse(OsUtil.getOsUsername());
     }
 
     /**
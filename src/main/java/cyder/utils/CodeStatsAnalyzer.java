@@ -0,0 +1,203 @@
+package cyder.utils;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import cyder.constants.CyderRegexPatterns;
+import cyder.enumerations.Extension;
+import cyder.handlers.internal.ExceptionHandler;
+import cyder.threads.CyderThreadFactory;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+/**
+ * Computes the line statistics of Java files, reading each file at most once per analysis using a pool
+ * of readers. The statistics of each file are cached by the file's modification time and length so that
+ * repeat analyses only read files which changed.
+ */
+final class CodeStatsAnalyzer {
+    /**
+     * The name of the threads which read files.
+     */
+    private static final String ANALYZER_THREAD_NAME = "Code Stats Analyzer";
+
+    /**
+     * The starting prefix for a block comment.
+     */
+    private static final String blockCommentStart = "/*";
+
+    /**
+     * The ending suffix for a block comment.
+     */
+    private static final String blockCommentEnd = "*/";
+
+    /**
+     * The statistics of a file along with the modification time and length they were computed for.
+     *
+     * @param lastModified the modification time of the file
+     * @param length       the length of the file
+     * @param stats        the statistics of the file
+     */
+    private record CachedStats(long lastModified, long length, StatUtil.FileCodeStats stats) {}
+
+    /**
+     * The cached statistics keyed by absolute file path.
+     */
+    private final ConcurrentHashMap<Path, CachedStats> cache = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a new code stats analyzer.
+     */
+    CodeStatsAnalyzer() {}
+
+    /**
+     * Computes the statistics of all Java files within the provided file or directory.
+     * Files which cannot be read are excluded from the returned statistics.
+     *
+     * @param startDir the file or directory to begin recursing from
+     * @return the statistics of all Java files found
+     */
+    StatUtil.CodeStats analyze(File startDir) {
+        Preconditions.checkNotNull(startDir);
+        Preconditions.checkArgument(startDir.exists());
+
+        ImmutableList<Path> javaFiles;
+        try (Stream<Path> walk = Files.walk(startDir.toPath().toAbsolutePath())) {
+            javaFiles = walk.filter(path -> path.getFileName().toString().endsWith(Extension.JAVA.getExtension()))
+                    .filter(Files::isRegularFile)
+                    .sorted()
+                    .collect(ImmutableList.toImmutableList());
+        } catch (IOException e) {
+            ExceptionHandler.handle(e);
+            return StatUtil.CodeStats.of(ImmutableList.of());
+        }
+
+        ArrayList<Future<Optional<StatUtil.FileCodeStats>>> futures = new ArrayList<>(javaFiles.size());
+        ExecutorService readers = null;
+        try {
+            for (Path javaFile : javaFiles) {
+                File file = javaFile.toFile();
+                CachedStats cached = cache.get(javaFile);
+                if (cached != null && cached.lastModified() == file.lastModified()
+                        && cached.length() == file.length()) {
+                    futures.add(CompletableFuture.completedFuture(Optional.of(cached.stats())));
+                    continue;
+                }
+
+                if (readers == null) {
+                    int threads = Math.max(1, Runtime.getRuntime().availableProcessors());
+                    readers = Executors.newFixedThreadPool(threads, new CyderThreadFactory(ANALYZER_THREAD_NAME));
+                }
+                futures.add(readers.submit(() -> readAndCache(javaFile)));
+            }
+
+            ImmutableList.Builder<StatUtil.FileCodeStats> stats = ImmutableList.builder();
+            for (Future<Optional<StatUtil.FileCodeStats>> future : futures) {
+                try {
+                    future.get().ifPresent(stats::add);
+                } catch (ExecutionException e) {
+                    ExceptionHandler.handle(e);
+                }
+            }
+            return StatUtil.CodeStats.of(stats.build());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return StatUtil.CodeStats.of(ImmutableList.of());
+        } finally {
+            if (readers != null) readers.shutdownNow();
+        }
+    }
+
+    /**
+     * Reads the statistics of the provided file and caches them.
+     *
+     * @param javaFile the absolute path of the file
+     * @return the statistics of the file if it could be read
+     */
+    private Optional<StatUtil.FileCodeStats> readAndCache(Path javaFile) {
+        File file = javaFile.toFile();
+        long lastModified = file.lastModified();
+        long length = file.length();
+
+        try {
+            StatUtil.FileCodeStats stats = computeStats(file);
+            cache.put(javaFile, new CachedStats(lastModified, length, stats));
+            return Optional.of(stats);
+        } catch (IOException e) {
+            cache.remove(javaFile);
+            ExceptionHandler.handle(e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Computes the total, code, comment, and blank lines of the provided file in a single read.
+     *
+     * @param file the file
+     * @return the statistics of the file
+     * @throws IOException if the file cannot be read
+     */
+    static StatUtil.FileCodeStats computeStats(File file) throws IOException {
+        Preconditions.checkNotNull(file);
+
+        int totalLines = 0;
+        int codeLines = 0;
+        int commentLines = 0;
+        int blankLines = 0;
+        boolean blockComment = false;
+
+        try (BufferedReader lineReader = new BufferedReader(new FileReader(file))) {
+            String line;
+            while ((line = lineReader.readLine()) != null) {
+                totalLines++;
+
+                String trimmed = line.trim();
+                if (trimmed.isEmpty()) {
+                    blankLines++;
+                } else if (!isComment(trimmed)) {
+                    codeLines++;
+                }
+
+                if (trimmed.startsWith(blockCommentStart) && trimmed.endsWith(blockCommentEnd)) {
+                    commentLines++;
+                    continue;
+                }
+
+                if (trimmed.startsWith(blockCommentStart)) {
+                    blockComment = true;
+                } else if (trimmed.endsWith(blockCommentEnd)) {
+                    blockComment = false;
+                }
+
+                if (blockComment || (!trimmed.isEmpty() && isComment(line))) {
+                    commentLines++;
+                }
+            }
+        }
+
+        return new StatUtil.FileCodeStats(file, totalLines, codeLines, commentLines, blankLines);
+    }
+
+    /**
+     * Returns whether the provided line is a comment line.
+     *
+     * @param line the line
+     * @return whether the provided line is a comment line
+     */
+    static boolean isComment(String line) {
+        return CyderRegexPatterns.commentPattern.matcher(line).matches();
+    }
+}
@@ -3,13 +3,12 @@ package cyder.utils;
 import com.google.common.base.Preconditions;
 import cyder.exceptions.IllegalMethodException;
 import cyder.handlers.internal.ExceptionHandler;
+import cyder.network.CachedEndpoint;
 import cyder.parsers.elevation.ElevationData;
 import cyder.strings.CyderStrings;
 
 import java.awt.*;
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
-import java.net.URL;
+import java.net.URI;
 import java.util.Optional;
 
 /**
@@ -51,8 +50,9 @@ public final class ElevationUtil {
 
         String queryString = BASE + "output=json&x=" + lon + "&y=" + lat + UNITS_TAG + unit.getName();
 
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new URL(queryString).openStream()))) {
-            ElevationData elevationData = SerializationUtil.fromJson(reader, ElevationData.class);
+        try {
+            ElevationData elevationData = SerializationUtil.fromJson(
+                    CachedEndpoint.ELEVATION.getString(URI.create(queryString)), ElevationData.class);
             return Optional.of(Double.parseDouble(elevationData.uepqs.elevationQuery.elevation));
         } catch (Exception e) {
             ExceptionHandler.handle(e);
@@ -19,6 +19,8 @@ import cyder.ui.drag.CyderDragLabel;
 import cyder.ui.frame.CyderFrame;
 
 import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.geom.AffineTransform;
@@ -30,6 +32,7 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
+import java.util.Iterator;
 import java.util.Optional;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
@@ -1086,6 +1089,34 @@ public final class ImageUtil {
         return ImageIO.read(inputStream);
     }
 
+    /**
+     * Returns the dimensions of the first image of the provided file by reading its header,
+     * without decoding the pixels of the image.
+     *
+     * @param file the image file
+     * @return the width and height of the image
+     * @throws IOException if the file cannot be read or is not a supported image
+     */
+    public static Dimension readDimensions(File file) throws IOException {
+        Preconditions.checkNotNull(file);
+        Preconditions.checkArgument(file.exists());
+
+        try (ImageInputStream inputStream = ImageIO.createImageInputStream(file)) {
+            if (inputStream == null) throw new IOException("Failed to open image: " + file.getAbsolutePath());
+
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(inputStream);
+            if (!readers.hasNext()) throw new IOException("Unsupported image: " + file.getAbsolutePath());
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(inputStream, true, true);
+                return new Dimension(reader.getWidth(0), reader.getHeight(0));
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
     /**
      * Returns a new buffered image resized to fit within the provided dimension.
      *
@@ -6,12 +6,15 @@ import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import cyder.constants.CyderRegexPatterns;
 import cyder.exceptions.IllegalMethodException;
 import cyder.handlers.internal.ExceptionHandler;
+import cyder.network.CachedEndpoint;
 import cyder.network.NetworkUtil;
 import cyder.props.Props;
 import cyder.strings.CyderStrings;
 import cyder.strings.StringUtil;
 
 import javax.swing.*;
+import java.io.ByteArrayInputStream;
+import java.net.URI;
 import java.net.UnknownHostException;
 
 /**
@@ -190,7 +193,8 @@ public final class MapUtil {
 
         ImageIcon returnedInitialImage = null;
         try {
-            returnedInitialImage = ImageUtil.toImageIcon(ImageUtil.read(requestUrlBuilder.toString()));
+            byte[] image = CachedEndpoint.MAP_VIEW.get(URI.create(requestUrlBuilder.toString()));
+            returnedInitialImage = ImageUtil.toImageIcon(ImageUtil.read(new ByteArrayInputStream(image)));
         } catch (Exception e) {
             ExceptionHandler.handle(e);
         }
@@ -2,13 +2,10 @@ package cyder.utils;
 
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
-import cyder.constants.CyderRegexPatterns;
 import cyder.constants.CyderUrls;
 import cyder.enumerations.Extension;
 import cyder.enumerations.SystemPropertyKey;
 import cyder.exceptions.IllegalMethodException;
-import cyder.files.FileUtil;
-import cyder.handlers.internal.ExceptionHandler;
 import cyder.managers.ProgramMode;
 import cyder.managers.ProgramModeManager;
 import cyder.network.IpDataManager;
@@ -21,9 +18,7 @@ import cyder.time.TimeUtil;
 
 import javax.swing.*;
 import java.awt.image.BufferedImage;
-import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileReader;
 import java.net.InetAddress;
 import java.net.NetworkInterface;
 import java.util.ArrayList;
@@ -31,7 +26,6 @@ import java.util.Arrays;
 import java.util.Comparator;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
-import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Utilities for general statistics related to Cyder.
@@ -48,14 +42,9 @@ public final class StatUtil {
     private static final String DEBUG_PROPS_EXECUTOR_THREAD_NAME = "Debug Props Getter";
 
     /**
-     * The starting prefix for a block comment.
+     * The analyzer used to compute and cache the statistics of Java files.
      */
-    private static final String blockCommentStart = "/*";
-
-    /**
-     * The ending suffix for a block comment.
-     */
-    private static final String blockCommentEnd = "*/";
+    private static final CodeStatsAnalyzer codeStatsAnalyzer = new CodeStatsAnalyzer();
 
     /**
      * A record type to hold the stats returned by {@link StatUtil#getDebugProps()}.
@@ -67,6 +56,52 @@ public final class StatUtil {
      */
     public record FileSize(String name, long size) {}
 
+    /**
+     * A record to hold the line statistics of a single Java file.
+     *
+     * @param file         the file
+     * @param totalLines   the number of lines
+     * @param codeLines    the number of lines which are neither blank nor comments
+     * @param commentLines the number of comment lines
+     * @param blankLines   the number of blank lines
+     */
+    public record FileCodeStats(File file, int totalLines, int codeLines, int commentLines, int blankLines) {}
+
+    /**
+     * A record to hold the line statistics of a tree of Java files.
+     *
+     * @param files        the statistics of each file
+     * @param totalLines   the number of lines of all files
+     * @param codeLines    the number of lines of all files which are neither blank nor comments
+     * @param commentLines the number of comment lines of all files
+     * @param blankLines   the number of blank lines of all files
+     */
+    public record CodeStats(ImmutableList<FileCodeStats> files, int totalLines,
+                            int codeLines, int commentLines, int blankLines) {
+        /**
+         * Returns the statistics of the provided files along with their totals.
+         *
+         * @param files the statistics of each file
+         * @return the statistics of the provided files
+         */
+        public static CodeStats of(ImmutableList<FileCodeStats> files) {
+            Preconditions.checkNotNull(files);
+
+            int totalLines = 0;
+            int codeLines = 0;
+            int commentLines = 0;
+            int blankLines = 0;
+            for (FileCodeStats file : files) {
+                totalLines += file.totalLines();
+                codeLines += file.codeLines();
+                commentLines += file.commentLines();
+                blankLines += file.blankLines();
+            }
+
+            return new CodeStats(files, totalLines, codeLines, commentLines, blankLines);
+        }
+    }
+
     /**
      * Suppress default constructor.
      */
@@ -174,6 +209,17 @@ public final class StatUtil {
         });
     }
 
+    /**
+     * Computes the line statistics of all .java files found from the starting directory in a single pass.
+     * Files unchanged since a previous invocation are not read again.
+     *
+     * @param startDir the directory to begin recursing from
+     * @return the line statistics of all .java files found
+     */
+    public static CodeStats analyzeJavaFiles(File startDir) {
+        return codeStatsAnalyzer.analyze(startDir);
+    }
+
     /**
      * Returns a string representing statistics found about all .java files found from the starting directory such as
      * comment lines, total lines, and blank lines.
@@ -189,11 +235,11 @@ public final class StatUtil {
         StringBuilder ret = new StringBuilder("Numbers in order represent: "
                 + "code lines, comment lines, and blank lines respectively" + CyderStrings.newline);
 
-        FileUtil.getFiles(startDir, true, Extension.JAVA.getExtension()).forEach(javaFile ->
-                ret.append(javaFile.getName().replace(Extension.JAVA.getExtension(), ""))
-                        .append(": ").append(totalLines(javaFile)).append(CyderStrings.comma)
-                        .append(totalComments(javaFile)).append(CyderStrings.comma)
-                        .append(totalBlankLines(javaFile)).append(CyderStrings.newline));
+        analyzeJavaFiles(startDir).files().forEach(stats ->
+                ret.append(stats.file().getName().replace(Extension.JAVA.getExtension(), ""))
+                        .append(": ").append(stats.totalLines()).append(CyderStrings.comma)
+                        .append(stats.commentLines()).append(CyderStrings.comma)
+                        .append(stats.blankLines()).append(CyderStrings.newline));
 
         return ret.toString();
     }
@@ -206,48 +252,7 @@ public final class StatUtil {
      * @return the total number of java code lines found
      */
     public static int totalJavaLines(File startDir) {
-        Preconditions.checkNotNull(startDir);
-        Preconditions.checkArgument(startDir.exists());
-
-        AtomicInteger ret = new AtomicInteger();
-
-        if (startDir.isDirectory()) {
-            File[] files = startDir.listFiles();
-
-            if (files != null && files.length > 0) {
-                Arrays.stream(files).forEach(file -> ret.addAndGet(totalJavaLines(file)));
-            }
-        } else if (startDir.getName().endsWith(Extension.JAVA.getExtension())) {
-            try {
-                BufferedReader lineReader = new BufferedReader(new FileReader(startDir));
-                String line;
-                int localRet = 0;
-
-                while ((line = lineReader.readLine()) != null) {
-                    if (isCodeLine(line)) {
-                        localRet++;
-                    }
-                }
-
-                return localRet;
-            } catch (Exception ex) {
-                ExceptionHandler.handle(ex);
-            }
-        }
-
-        return ret.get();
-    }
-
-    /**
-     * Returns whether hte provided line is a code line meaning it is not blank or a comment line.
-     *
-     * @param line the line
-     * @return whether the provided line is a code line
-     */
-    private static boolean isCodeLine(String line) {
-        Preconditions.checkNotNull(line);
-
-        return !line.trim().isEmpty() && !isComment(line.trim());
+        return analyzeJavaFiles(startDir).codeLines();
     }
 
     /**
@@ -258,34 +263,7 @@ public final class StatUtil {
      * @return the total number of lines found
      */
     public static int totalLines(File startDir) {
-        Preconditions.checkNotNull(startDir);
-        Preconditions.checkArgument(startDir.exists());
-
-        int ret = 0;
-
-        if (startDir.isDirectory()) {
-            File[] files = startDir.listFiles();
-
-            if (files != null && files.length > 0) {
-                for (File f : files) {
-                    ret += totalLines(f);
-                }
-            }
-        } else if (startDir.getName().endsWith(Extension.JAVA.getExtension())) {
-            try {
-                BufferedReader lineReader = new BufferedReader(new FileReader(startDir));
-                int localRet = 0;
-
-                while (lineReader.readLine() != null)
-                    localRet++;
-
-                return localRet;
-            } catch (Exception ex) {
-                ExceptionHandler.handle(ex);
-            }
-        }
-
-        return ret;
+        return analyzeJavaFiles(startDir).totalLines();
     }
 
     /**
@@ -296,53 +274,7 @@ public final class StatUtil {
      * @return the raw number of comments found
      */
     public static int totalComments(File startDir) {
-        Preconditions.checkNotNull(startDir);
-        Preconditions.checkArgument(startDir.exists());
-
-        int ret = 0;
-
-        if (startDir.isDirectory()) {
-            File[] files = startDir.listFiles();
-
-            if (files != null && files.length > 0) {
-                for (File f : files) {
-                    ret += totalComments(f);
-                }
-            }
-        } else if (startDir.getName().endsWith(Extension.JAVA.getExtension())) {
-            try {
-                BufferedReader lineReader = new BufferedReader(new FileReader(startDir));
-                String line;
-                int localRet = 0;
-
-                boolean blockComment = false;
-
-                while ((line = lineReader.readLine()) != null) {
-                    if (line.trim().startsWith(blockCommentStart) && line.trim().endsWith(blockCommentEnd)) {
-                        localRet++;
-                        continue;
-                    }
-
-                    if (line.trim().startsWith(blockCommentStart)) {
-                        blockComment = true;
-                    } else if (line.trim().endsWith(blockCommentEnd)) {
-                        blockComment = false;
-                    }
-
-                    if (blockComment) {
-                        localRet++;
-                    } else if (!line.trim().isEmpty() && (isComment(line))) {
-                        localRet++;
-                    }
-                }
-
-                return localRet;
-            } catch (Exception ex) {
-                ExceptionHandler.handle(ex);
-            }
-        }
-
-        return ret;
+        return analyzeJavaFiles(startDir).commentLines();
     }
 
     /**
@@ -354,7 +286,7 @@ public final class StatUtil {
     public static boolean isComment(String line) {
         Preconditions.checkNotNull(line);
 
-        return line.matches(CyderRegexPatterns.commentPattern.pattern());
+        return CodeStatsAnalyzer.isComment(line);
     }
 
     /**
@@ -364,36 +296,7 @@ public final class StatUtil {
      * @return the number of blank lines found in the provided directory and subdirectories
      */
     public static int totalBlankLines(File startDir) {
-        Preconditions.checkNotNull(startDir);
-        Preconditions.checkArgument(startDir.exists());
-
-        int ret = 0;
-
-        if (startDir.isDirectory()) {
-            File[] files = startDir.listFiles();
-
-            if (files != null && files.length > 0) {
-                for (File f : files) {
-                    ret += totalBlankLines(f);
-                }
-            }
-        } else if (startDir.getName().endsWith(Extension.JAVA.getExtension())) {
-            try {
-                BufferedReader lineReader = new BufferedReader(new FileReader(startDir));
-                String line;
-                int localRet = 0;
-
-                while ((line = lineReader.readLine()) != null)
-                    if (line.trim().isEmpty())
-                        localRet++;
-
-                return localRet;
-            } catch (Exception ex) {
-                ExceptionHandler.handle(ex);
-            }
-        }
-
-        return ret;
+        return analyzeJavaFiles(startDir).blankLines();
     }
 
     /**
@@ -22,6 +22,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * A watchdog timer for Cyder to detect a freeze on the GUI and kill the application.
+ * Each poll also drives the {@link EdtLatencyProfiler}.
  */
 public final class CyderWatchdog {
     /**
@@ -141,6 +142,7 @@ public final class CyderWatchdog {
                 ThreadUtil.sleep(POLL_TIMEOUT.toMillis());
 
                 attemptWatchdogReset();
+                EdtLatencyProfiler.INSTANCE.poll(awtEventQueueThread);
 
                 currentAwtEventQueueThreadState = awtEventQueueThread.getState();
 
@@ -176,6 +178,7 @@ public final class CyderWatchdog {
      */
     private static void onUiHaltDetected() {
         Logger.log(LogTag.WATCHDOG, "UI halt detected by watchdog; checking if bootstrap is possible");
+        EdtLatencyProfiler.INSTANCE.logReport();
         BoostrapUtil.invokeBoostrapIfConditionsMet();
     }
 
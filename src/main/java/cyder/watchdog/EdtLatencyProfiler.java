@@ -0,0 +1,358 @@
+package cyder.watchdog;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import cyder.logging.LogTag;
+import cyder.logging.Logger;
+import cyder.props.Props;
+import cyder.time.TimeUtil;
+
+import javax.swing.*;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A profiler of the responsiveness of the event dispatch thread, driven by the {@link CyderWatchdog}.
+ * <p>
+ * Each watchdog poll posts a probe event using {@link SwingUtilities#invokeLater(Runnable)} if one is not
+ * already outstanding. The round-trip latency of each probe is recorded into a {@link LatencyHistogram}.
+ * While a probe has been outstanding for longer than {@link #STALL_THRESHOLD}, each poll samples the stack
+ * of the event dispatch thread and attributes the sample to the outermost Cyder frame of the stack,
+ * that being the listener or handler the event dispatch thread invoked which has not yet returned.
+ */
+public enum EdtLatencyProfiler {
+    /**
+     * The profiler instance.
+     */
+    INSTANCE;
+
+    /**
+     * The latency above which the event dispatch thread is considered stalled and its stack is sampled.
+     */
+    public static final Duration STALL_THRESHOLD = Duration.ofMillis(Props.edtLatencyStallThreshold.getValue());
+
+    /**
+     * The default number of offenders included in reports.
+     */
+    public static final int DEFAULT_REPORT_OFFENDERS = 5;
+
+    /**
+     * The maximum number of stack frames of an offender included in reports.
+     */
+    private static final int MAX_REPORTED_STACK_FRAMES = 12;
+
+    /**
+     * The percentiles included in reports.
+     */
+    private static final ImmutableList<Double> REPORTED_PERCENTILES = ImmutableList.of(50.0, 90.0, 99.0, 99.9);
+
+    /**
+     * The package prefix of Cyder classes used for attribution.
+     */
+    private static final String CYDER_PACKAGE_PREFIX = "cyder.";
+
+    /**
+     * The package of this profiler whose frames are never attributed.
+     */
+    private static final String WATCHDOG_PACKAGE_PREFIX = "cyder.watchdog.";
+
+    /**
+     * The attribution used when a stack contains no Cyder frames.
+     */
+    static final String UNATTRIBUTED = "Unattributed (no Cyder frames)";
+
+    /**
+     * The value of {@link #probePostedNanos} when no probe is outstanding.
+     */
+    private static final long NO_PROBE = Long.MIN_VALUE;
+
+    /**
+     * A handler or listener which stalled the event dispatch thread.
+     */
+    private static final class Offender {
+        /**
+         * The attribution of this offender.
+         */
+        private final String attribution;
+
+        /**
+         * The number of stack samples attributed to this offender.
+         */
+        private final AtomicLong samples = new AtomicLong();
+
+        /**
+         * The number of distinct stalls attributed to this offender.
+         */
+        private final AtomicLong stalls = new AtomicLong();
+
+        /**
+         * The longest observed stall attributed to this offender in nanoseconds.
+         */
+        private long longestStallNanos;
+
+        /**
+         * The stack sampled at the longest observed stall.
+         */
+        private StackTraceElement[] longestStallStack;
+
+        /**
+         * Constructs a new offender.
+         *
+         * @param attribution the attribution of this offender
+         */
+        private Offender(String attribution) {
+            this.attribution = attribution;
+        }
+
+        /**
+         * Records a stack sample of this offender.
+         *
+         * @param stack        the sampled stack
+         * @param stalledNanos how long the event dispatch thread had been stalled for
+         * @param newStall     whether this is the first sample of a stall
+         */
+        private synchronized void recordSample(StackTraceElement[] stack, long stalledNanos, boolean newStall) {
+            samples.incrementAndGet();
+            if (newStall) stalls.incrementAndGet();
+            if (stalledNanos >= longestStallNanos) {
+                longestStallNanos = stalledNanos;
+                longestStallStack = stack;
+            }
+        }
+    }
+
+    /**
+     * The histogram of probe round-trip latencies.
+     */
+    private final LatencyHistogram histogram = new LatencyHistogram();
+
+    /**
+     * The offenders keyed by attribution.
+     */
+    private final ConcurrentHashMap<String, Offender> offenders = new ConcurrentHashMap<>();
+
+    /**
+     * The {@link System#nanoTime()} the outstanding probe was posted at.
+     */
+    private final AtomicLong probePostedNanos = new AtomicLong(NO_PROBE);
+
+    /**
+     * Whether the outstanding probe has been sampled as stalled.
+     */
+    private final AtomicBoolean outstandingProbeStalled = new AtomicBoolean();
+
+    /**
+     * The attribution of the first stack sample of the outstanding probe.
+     */
+    private volatile String outstandingProbeAttribution;
+
+    /**
+     * The number of probes which exceeded the stall threshold.
+     */
+    private final AtomicLong stalledProbes = new AtomicLong();
+
+    EdtLatencyProfiler() {
+        Logger.log(LogTag.OBJECT_CREATION, "EdtLatencyProfiler singleton constructed");
+    }
+
+    /**
+     * Posts a probe if none is outstanding, otherwise samples the stack of the
+     * event dispatch thread if the outstanding probe has exceeded the stall threshold.
+     * Invoked by the watchdog once per poll.
+     *
+     * @param eventDispatchThread the event dispatch thread
+     */
+    void poll(Thread eventDispatchThread) {
+        Preconditions.checkNotNull(eventDispatchThread);
+
+        long now = System.nanoTime();
+        long posted = probePostedNanos.get();
+
+        if (posted == NO_PROBE) {
+            postProbe(now);
+            return;
+        }
+
+        long stalledNanos = now - posted;
+        if (stalledNanos >= STALL_THRESHOLD.toNanos()) {
+            sampleStack(eventDispatchThread.getStackTrace(), stalledNanos);
+        }
+    }
+
+    /**
+     * Posts a new probe to the event dispatch thread.
+     *
+     * @param postedNanos the current time
+     */
+    private void postProbe(long postedNanos) {
+        outstandingProbeStalled.set(false);
+        outstandingProbeAttribution = null;
+        probePostedNanos.set(postedNanos);
+
+        SwingUtilities.invokeLater(() -> onProbeDispatched(postedNanos));
+    }
+
+    /**
+     * Records the latency of a dispatched probe.
+     *
+     * @param postedNanos the time the probe was posted at
+     */
+    private void onProbeDispatched(long postedNanos) {
+        long latencyNanos = System.nanoTime() - postedNanos;
+        histogram.recordMicros(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+
+        if (latencyNanos >= STALL_THRESHOLD.toNanos()) {
+            stalledProbes.incrementAndGet();
+            String attribution = outstandingProbeAttribution;
+            Logger.log(LogTag.WATCHDOG, "Event dispatch thread stalled for "
+                    + TimeUnit.NANOSECONDS.toMillis(latencyNanos) + TimeUtil.MILLISECOND_ABBREVIATION
+                    + (attribution == null ? "" : ", attributed to " + attribution));
+        }
+
+        probePostedNanos.compareAndSet(postedNanos, NO_PROBE);
+    }
+
+    /**
+     * Attributes and records a stack sample of the stalled event dispatch thread.
+     *
+     * @param stack        the stack of the event dispatch thread
+     * @param stalledNanos how long the outstanding probe has been waiting
+     */
+    private void sampleStack(StackTraceElement[] stack, long stalledNanos) {
+        String attribution = attribute(stack);
+        boolean newStall = outstandingProbeStalled.compareAndSet(false, true);
+        if (newStall) outstandingProbeAttribution = attribution;
+
+        offenders.computeIfAbsent(attribution, Offender::new).recordSample(stack, stalledNanos, newStall);
+    }
+
+    /**
+     * Returns the attribution of the provided event dispatch thread stack, that being the outermost
+     * Cyder frame meaning the listener or handler invoked by the event dispatch thread.
+     *
+     * @param stack the stack, the currently executing frame first
+     * @return the attribution of the stack
+     */
+    static String attribute(StackTraceElement[] stack) {
+        Preconditions.checkNotNull(stack);
+
+        for (int i = stack.length - 1 ; i >= 0 ; i--) {
+            String className = stack[i].getClassName();
+            if (className.startsWith(CYDER_PACKAGE_PREFIX) && !className.startsWith(WATCHDOG_PACKAGE_PREFIX)) {
+                return stack[i].toString();
+            }
+        }
+
+        return stack.length == 0 ? UNATTRIBUTED : UNATTRIBUTED + " " + stack[0];
+    }
+
+    /**
+     * Returns the histogram of probe round-trip latencies.
+     *
+     * @return the histogram of probe round-trip latencies
+     */
+    public LatencyHistogram getHistogram() {
+        return histogram;
+    }
+
+    /**
+     * Returns the number of probes which exceeded the stall threshold.
+     *
+     * @return the number of probes which exceeded the stall threshold
+     */
+    public long getStalledProbes() {
+        return stalledProbes.get();
+    }
+
+    /**
+     * Clears all recorded latencies and offenders.
+     */
+    public void reset() {
+        histogram.reset();
+        offenders.clear();
+        stalledProbes.set(0);
+    }
+
+    /**
+     * Generates a report of the latency percentiles and the offenders with the most stack samples.
+     *
+     * @param maxOffenders the maximum number of offenders to include
+     * @return the lines of the report
+     */
+    public ImmutableList<String> generateReport(int maxOffenders) {
+        Preconditions.checkArgument(maxOffenders >= 0);
+
+        ImmutableList.Builder<String> ret = ImmutableList.builder();
+        ret.add("EDT probes: " + histogram.getTotalCount() + ", stalled (>= "
+                + STALL_THRESHOLD.toMillis() + TimeUtil.MILLISECOND_ABBREVIATION + "): " + stalledProbes.get());
+        ret.add("Mean: " + formatMicros(Math.round(histogram.getMeanMicros())));
+        REPORTED_PERCENTILES.forEach(percentile -> ret.add("p" + formatPercentile(percentile) + ": "
+                + formatMicros(histogram.getValueAtPercentile(percentile))));
+        ret.add("Max: " + formatMicros(histogram.getMaxMicros()));
+
+        ImmutableList<Offender> topOffenders = offenders.values().stream()
+                .sorted(Comparator.comparingLong((Offender offender) -> offender.samples.get()).reversed())
+                .limit(maxOffenders)
+                .collect(ImmutableList.toImmutableList());
+
+        if (topOffenders.isEmpty()) {
+            ret.add("No stalls attributed");
+            return ret.build();
+        }
+
+        ret.add("Top offenders:");
+        for (int i = 0 ; i < topOffenders.size() ; i++) {
+            Offender offender = topOffenders.get(i);
+
+            long longestStallNanos;
+            StackTraceElement[] stack;
+            synchronized (offender) {
+                longestStallNanos = offender.longestStallNanos;
+                stack = offender.longestStallStack;
+            }
+
+            ret.add((i + 1) + ". " + offender.attribution + ", stalls: " + offender.stalls.get()
+                    + ", samples: " + offender.samples.get() + ", longest: "
+                    + TimeUnit.NANOSECONDS.toMillis(longestStallNanos) + TimeUtil.MILLISECOND_ABBREVIATION);
+            for (int frame = 0 ; frame < Math.min(stack.length, MAX_REPORTED_STACK_FRAMES) ; frame++) {
+                ret.add("    at " + stack[frame]);
+            }
+            if (stack.length > MAX_REPORTED_STACK_FRAMES) {
+                ret.add("    ... " + (stack.length - MAX_REPORTED_STACK_FRAMES) + " more");
+            }
+        }
+
+        return ret.build();
+    }
+
+    /**
+     * Writes a report containing the default number of offenders to the log.
+     */
+    public void logReport() {
+        generateReport(DEFAULT_REPORT_OFFENDERS).forEach(line -> Logger.log(LogTag.WATCHDOG, line));
+    }
+
+    /**
+     * Formats the provided microseconds as milliseconds with three decimal places.
+     *
+     * @param micros the microseconds
+     * @return the formatted value
+     */
+    private static String formatMicros(long micros) {
+        return String.format("%.3f", micros / 1000.0) + TimeUtil.MILLISECOND_ABBREVIATION;
+    }
+
+    /**
+     * Formats the provided percentile without a trailing zero decimal.
+     *
+     * @param percentile the percentile
+     * @return the formatted percentile
+     */
+    private static String formatPercentile(double percentile) {
+        return percentile == Math.rint(percentile) ? String.valueOf((long) percentile) : String.valueOf(percentile);
+    }
+}
@@ -0,0 +1,204 @@
+package cyder.watchdog;
+
+import com.google.common.base.Preconditions;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A thread-safe, fixed memory histogram of latencies in microseconds in the style of an HDR histogram.
+ * <p>
+ * Values below {@link #LINEAR_BUCKETS} are recorded exactly. Larger values are recorded into
+ * log-linear buckets, each power of two being split into {@link #SUB_BUCKETS_PER_MAGNITUDE} linear
+ * sub-buckets, bounding the relative error of any reported percentile to roughly three percent
+ * while recording values up to {@link #MAX_TRACKABLE_MICROS}.
+ */
+public final class LatencyHistogram {
+    /**
+     * The number of low values recorded exactly.
+     */
+    static final int LINEAR_BUCKETS = 64;
+
+    /**
+     * The number of linear sub-buckets each power of two above {@link #LINEAR_BUCKETS} is split into.
+     */
+    static final int SUB_BUCKETS_PER_MAGNITUDE = LINEAR_BUCKETS / 2;
+
+    /**
+     * The base two logarithm of {@link #LINEAR_BUCKETS}.
+     */
+    private static final int LINEAR_BUCKETS_LOG2 = Integer.numberOfTrailingZeros(LINEAR_BUCKETS);
+
+    /**
+     * The largest power of two magnitude tracked, values beyond are clamped into the final bucket.
+     */
+    private static final int MAX_MAGNITUDE = 35;
+
+    /**
+     * The largest value, in microseconds, which may be recorded without clamping (about 19 hours).
+     */
+    public static final long MAX_TRACKABLE_MICROS = (1L << (MAX_MAGNITUDE + 1)) - 1;
+
+    /**
+     * The total number of buckets.
+     */
+    private static final int BUCKET_COUNT = LINEAR_BUCKETS
+            + (MAX_MAGNITUDE - LINEAR_BUCKETS_LOG2 + 1) * SUB_BUCKETS_PER_MAGNITUDE;
+
+    /**
+     * The counts of each bucket.
+     */
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+
+    /**
+     * The total number of recorded values.
+     */
+    private final AtomicLong totalCount = new AtomicLong();
+
+    /**
+     * The sum of all recorded values.
+     */
+    private final AtomicLong totalMicros = new AtomicLong();
+
+    /**
+     * The largest recorded value.
+     */
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    /**
+     * Constructs a new empty latency histogram.
+     */
+    public LatencyHistogram() {}
+
+    /**
+     * Records the provided latency.
+     *
+     * @param latency the latency to record
+     */
+    public void record(Duration latency) {
+        Preconditions.checkNotNull(latency);
+
+        recordMicros(latency.toNanos() / 1000);
+    }
+
+    /**
+     * Records the provided latency in microseconds.
+     *
+     * @param micros the latency in microseconds
+     */
+    public void recordMicros(long micros) {
+        Preconditions.checkArgument(micros >= 0);
+
+        counts.incrementAndGet(bucketIndex(micros));
+        totalCount.incrementAndGet();
+        totalMicros.addAndGet(micros);
+        maxMicros.accumulateAndGet(micros, Math::max);
+    }
+
+    /**
+     * Returns the number of recorded values.
+     *
+     * @return the number of recorded values
+     */
+    public long getTotalCount() {
+        return totalCount.get();
+    }
+
+    /**
+     * Returns the largest recorded value in microseconds.
+     *
+     * @return the largest recorded value in microseconds
+     */
+    public long getMaxMicros() {
+        return maxMicros.get();
+    }
+
+    /**
+     * Returns the mean of all recorded values in microseconds.
+     *
+     * @return the mean of all recorded values in microseconds
+     */
+    public double getMeanMicros() {
+        long count = totalCount.get();
+        return count == 0 ? 0 : totalMicros.get() / (double) count;
+    }
+
+    /**
+     * Returns the value at the provided percentile in microseconds.
+     * The returned value is the highest value equivalent to the bucket the percentile falls in,
+     * never exceeding the largest recorded value.
+     *
+     * @param percentile the percentile in the range [0.0, 100.0]
+     * @return the value at the provided percentile in microseconds
+     */
+    public long getValueAtPercentile(double percentile) {
+        Preconditions.checkArgument(percentile >= 0.0 && percentile <= 100.0);
+
+        long count = totalCount.get();
+        if (count == 0) return 0;
+
+        long target = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+        long seen = 0;
+        for (int i = 0 ; i < BUCKET_COUNT ; i++) {
+            seen += counts.get(i);
+            if (seen >= target) return Math.min(highestEquivalentValue(i), maxMicros.get());
+        }
+
+        return maxMicros.get();
+    }
+
+    /**
+     * Clears all recorded values.
+     */
+    public void reset() {
+        for (int i = 0 ; i < BUCKET_COUNT ; i++) {
+            counts.set(i, 0);
+        }
+        totalCount.set(0);
+        totalMicros.set(0);
+        maxMicros.set(0);
+    }
+
+    /**
+     * Returns the index of the bucket the provided value belongs in.
+     *
+     * @param micros the value
+     * @return the index of the bucket
+     */
+    static int bucketIndex(long micros) {
+        if (micros < LINEAR_BUCKETS) return (int) micros;
+        if (micros > MAX_TRACKABLE_MICROS) return BUCKET_COUNT - 1;
+
+        int magnitude = Long.SIZE - 1 - Long.numberOfLeadingZeros(micros);
+        int shift = magnitude - (LINEAR_BUCKETS_LOG2 - 1);
+        int subBucket = (int) (micros >> shift) - SUB_BUCKETS_PER_MAGNITUDE;
+        return LINEAR_BUCKETS + (magnitude - LINEAR_BUCKETS_LOG2) * SUB_BUCKETS_PER_MAGNITUDE + subBucket;
+    }
+
+    /**
+     * Returns the smallest value which belongs in the bucket of the provided index.
+     *
+     * @param index the bucket index
+     * @return the smallest value of the bucket
+     */
+    static long lowestEquivalentValue(int index) {
+        if (index < LINEAR_BUCKETS) return index;
+
+        int offset = index - LINEAR_BUCKETS;
+        int magnitude = offset / SUB_BUCKETS_PER_MAGNITUDE + LINEAR_BUCKETS_LOG2;
+        int subBucket = offset % SUB_BUCKETS_PER_MAGNITUDE + SUB_BUCKETS_PER_MAGNITUDE;
+        return (long) subBucket << (magnitude - (LINEAR_BUCKETS_LOG2 - 1));
+    }
+
+    /**
+     * Returns the largest value which belongs in the bucket of the provided index.
+     *
+     * @param index the bucket index
+     * @return the largest value of the bucket
+     */
+    static long highestEquivalentValue(int index) {
+        if (index == BUCKET_COUNT - 1) return Long.MAX_VALUE;
+        return lowestEquivalentValue(index + 1) - 1;
+    }
+}
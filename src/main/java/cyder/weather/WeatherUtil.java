@@ -1,17 +1,18 @@
 package cyder.weather;
 
 import com.google.common.base.Preconditions;
+import cyder.constants.CyderRegexPatterns;
 import cyder.constants.CyderUrls;
 import cyder.exceptions.IllegalMethodException;
 import cyder.handlers.internal.ExceptionHandler;
+import cyder.network.CachedEndpoint;
+import cyder.network.NetworkUtil;
 import cyder.props.Props;
 import cyder.strings.CyderStrings;
 import cyder.utils.SerializationUtil;
 import cyder.weather.parsers.WeatherData;
 
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
-import java.net.URL;
+import java.net.URI;
 import java.util.Optional;
 
 /**
@@ -79,11 +80,13 @@ public final class WeatherUtil {
         String weatherKey = Props.weatherKey.getValue();
         if (weatherKey.isEmpty()) return Optional.empty();
 
-        String OpenString = CyderUrls.OPEN_WEATHER_BASE + locationString + APP_ID
-                + weatherKey + UNITS_ARG + MeasurementScale.IMPERIAL.getWeatherDataRepresentation();
+        String OpenString = CyderUrls.OPEN_WEATHER_BASE
+                + locationString.replaceAll(CyderRegexPatterns.whiteSpaceRegex, NetworkUtil.URL_SPACE)
+                + APP_ID + weatherKey + UNITS_ARG + MeasurementScale.IMPERIAL.getWeatherDataRepresentation();
 
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new URL(OpenString).openStream()))) {
-            return Optional.of(SerializationUtil.fromJson(reader, WeatherData.class));
+        try {
+            String json = CachedEndpoint.WEATHER.getString(URI.create(OpenString));
+            return Optional.of(SerializationUtil.fromJson(json, WeatherData.class));
         } catch (Exception e) {
             ExceptionHandler.handle(e);
         }
@@ -1,12 +1,12 @@
 package cyder.widgets;
 
-import com.fathzer.soft.javaluator.DoubleEvaluator;
 import cyder.annotations.CyderAuthor;
 import cyder.annotations.Vanilla;
 import cyder.annotations.Widget;
 import cyder.constants.CyderColors;
 import cyder.constants.CyderFonts;
 import cyder.exceptions.IllegalMethodException;
+import cyder.math.expression.ExpressionEngine;
 import cyder.strings.CyderStrings;
 import cyder.ui.button.CyderModernButton;
 import cyder.ui.button.ThemeBuilder;
@@ -267,9 +267,9 @@ public final class CalculatorWidget {
     }
 
     /**
-     * The evaluator for evaluating expressions.
+     * The engine for compiling and evaluating expressions.
      */
-    private static final DoubleEvaluator evaluator = new DoubleEvaluator();
+    private static final ExpressionEngine engine = new ExpressionEngine();
 
     /**
      * The positive infinity string.
@@ -286,7 +286,7 @@ public final class CalculatorWidget {
      */
     private static void computeExpression() {
         try {
-            double result = evaluator.evaluate(calculatorField.getText().trim());
+            double result = engine.evaluate(calculatorField.getText().trim());
             String resultString = String.valueOf(result);
 
             if (result == Double.POSITIVE_INFINITY) {
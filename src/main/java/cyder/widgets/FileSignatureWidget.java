@@ -1,5 +1,7 @@
 package cyder.widgets;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 import cyder.annotations.CyderAuthor;
 import cyder.annotations.Vanilla;
 import cyder.annotations.Widget;
@@ -8,6 +10,8 @@ import cyder.constants.CyderFonts;
 import cyder.constants.CyderIcons;
 import cyder.constants.CyderRegexPatterns;
 import cyder.exceptions.IllegalMethodException;
+import cyder.files.FileHasher;
+import cyder.files.FileHashes;
 import cyder.getter.GetFileBuilder;
 import cyder.getter.GetterUtil;
 import cyder.handlers.internal.ExceptionHandler;
@@ -18,6 +22,8 @@ import cyder.ui.button.CyderButton;
 import cyder.ui.field.CyderTextField;
 import cyder.ui.frame.CyderFrame;
 import cyder.ui.label.CyderLabel;
+import cyder.utils.OsUtil;
+import cyder.utils.SecurityUtil.HashingAlgorithm;
 
 import javax.swing.*;
 import java.awt.*;
@@ -97,8 +103,8 @@ public final class FileSignatureWidget {
     /**
      * The widget description.
      */
-    private static final String description = "A widget to read the raw file"
-            + " hex data and determine if the file signature matches the provided signature";
+    private static final String description = "A widget to read the raw file hex data and determine if"
+            + " the file signature or MD5, SHA-1, or SHA-256 checksum matches the provided signature or checksum";
 
     /**
      * The widget title.
@@ -187,6 +193,22 @@ public final class FileSignatureWidget {
      */
     private static final String CHOOSE_FILE = "Choose file";
 
+    /**
+     * The lengths of hex MD5, SHA-1, and SHA-256 checksums, which are verified by hashing the file
+     * before falling back to comparing the file signature.
+     */
+    private static final ImmutableSet<Integer> CHECKSUM_HEX_LENGTHS = ImmutableSet.of(32, 40, 64);
+
+    /**
+     * The name of the thread which verifies checksums.
+     */
+    private static final String CHECKSUM_VERIFIER_THREAD_NAME = "File Signature Checksum Verifier";
+
+    /**
+     * Whether a checksum is being verified.
+     */
+    private static volatile boolean verifyingChecksum;
+
     /**
      * Suppress default constructor.
      */
@@ -206,7 +228,8 @@ public final class FileSignatureWidget {
         signatureField = new CyderTextField();
         signatureField.setHorizontalAlignment(JTextField.CENTER);
         signatureField.setBounds(50, 120, 300, 40);
-        signatureField.setToolTipText("Enter the hex file signature of the file type you presume this file to be");
+        signatureField.setToolTipText("Enter the hex file signature of the file type you presume this file to be"
+                + " or the file's MD5, SHA-1, or SHA-256 checksum");
         signatureField.addActionListener(e -> validate());
         signatureFrame.getContentPane().add(signatureField);
 
@@ -291,10 +314,62 @@ public final class FileSignatureWidget {
                 .replaceAll("0x", "")
                 .replaceAll(CyderRegexPatterns.whiteSpaceRegex, "");
 
+        if (CHECKSUM_HEX_LENGTHS.contains(expectedByteSignature.length())) {
+            verifyChecksum(currentFile, expectedByteSignature);
+            return;
+        }
+
+        showSignatureResult(matchesSignature(currentFile, expectedByteSignature));
+        signatureField.flashField();
+    }
+
+    /**
+     * Verifies the provided checksum by hashing the provided file in the background, showing the progress.
+     * If no algorithm's hash matches, the checksum is compared as a file signature.
+     *
+     * @param file     the file to verify
+     * @param checksum the hex checksum
+     */
+    private static void verifyChecksum(File file, String checksum) {
+        if (verifyingChecksum) return;
+        verifyingChecksum = true;
+
+        CyderThreadRunner.submit(() -> {
+            try {
+                ImmutableList<FileHashes> hashes = FileHasher.hashAll(ImmutableList.of(file), progress ->
+                        resultLabel.setText("Hashing file: " + Math.round(progress.getFraction() * 100) + "% at "
+                                + OsUtil.formatBytes((float) progress.getBytesPerSecond()) + "/s")).get();
+
+                Optional<HashingAlgorithm> matchingAlgorithm = hashes.isEmpty()
+                        ? Optional.empty()
+                        : hashes.get(0).findMatchingAlgorithm(checksum);
+                if (matchingAlgorithm.isPresent()) {
+                    resultLabel.setText("File matches provided " + matchingAlgorithm.get().getName() + " checksum");
+                    checkFile.setText(VALID);
+                } else {
+                    showSignatureResult(matchesSignature(file, checksum));
+                }
+
+                signatureField.flashField();
+            } catch (Exception e) {
+                ExceptionHandler.handle(e);
+            } finally {
+                verifyingChecksum = false;
+            }
+        }, CHECKSUM_VERIFIER_THREAD_NAME);
+    }
+
+    /**
+     * Returns whether the leading bytes of the provided file match the provided hex signature.
+     *
+     * @param file                  the file
+     * @param expectedByteSignature the hex signature without byte identifiers or whitespace
+     * @return whether the leading bytes of the file match the signature
+     */
+    private static boolean matchesSignature(File file, String expectedByteSignature) {
         StringBuilder stringBuilder = new StringBuilder();
 
-        try {
-            InputStream inputStream = new FileInputStream(currentFile);
+        try (InputStream inputStream = new FileInputStream(file)) {
             int columns = (int) Math.ceil(expectedByteSignature.length() / 2.0);
 
             long streamPointer = 0;
@@ -311,14 +386,21 @@ public final class FileSignatureWidget {
         String byteSignatureString = stringBuilder.toString()
                 .replaceAll(CyderRegexPatterns.whiteSpaceRegex, "");
 
-        if (expectedByteSignature.equalsIgnoreCase(byteSignatureString)) {
+        return expectedByteSignature.equalsIgnoreCase(byteSignatureString);
+    }
+
+    /**
+     * Shows the result of comparing a file signature.
+     *
+     * @param matches whether the file signature matched the provided signature
+     */
+    private static void showSignatureResult(boolean matches) {
+        if (matches) {
             resultLabel.setText(validFileSignatureText);
             checkFile.setText(VALID);
         } else {
             resultLabel.setText(invalidFileSignatureText);
             checkFile.setText(INVALID);
         }
-
-        signatureField.flashField();
     }
 }
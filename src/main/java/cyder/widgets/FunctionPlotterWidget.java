@@ -0,0 +1,363 @@
+package cyder.widgets;
+
+import cyder.annotations.CyderAuthor;
+import cyder.annotations.Vanilla;
+import cyder.annotations.Widget;
+import cyder.constants.CyderColors;
+import cyder.constants.CyderFonts;
+import cyder.exceptions.IllegalMethodException;
+import cyder.math.expression.CompiledExpression;
+import cyder.math.expression.ExpressionEngine;
+import cyder.strings.CyderStrings;
+import cyder.threads.CyderThreadRunner;
+import cyder.ui.UiUtil;
+import cyder.ui.drag.CyderDragLabel;
+import cyder.ui.field.CyderTextField;
+import cyder.ui.frame.CyderFrame;
+import cyder.ui.label.CyderLabel;
+
+import javax.swing.*;
+import javax.swing.border.LineBorder;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A widget for plotting functions of x compiled once and sampled many times per pixel column.
+ */
+@Vanilla
+@CyderAuthor
+public final class FunctionPlotterWidget {
+    /**
+     * Suppress default constructor.
+     */
+    private FunctionPlotterWidget() {
+        throw new IllegalMethodException(CyderStrings.ATTEMPTED_INSTANTIATION);
+    }
+
+    /**
+     * The frame the plotter is shown in.
+     */
+    private static CyderFrame plotterFrame;
+
+    /**
+     * The field for the expression to plot.
+     */
+    private static CyderTextField expressionField;
+
+    /**
+     * The field for the minimum x value.
+     */
+    private static CyderTextField minimumField;
+
+    /**
+     * The field for the maximum x value.
+     */
+    private static CyderTextField maximumField;
+
+    /**
+     * The label the plot is drawn on.
+     */
+    private static JLabel plotLabel;
+
+    /**
+     * The label describing the most recent plot.
+     */
+    private static CyderLabel statusLabel;
+
+    /**
+     * The engine for compiling expressions.
+     */
+    private static final ExpressionEngine engine = new ExpressionEngine();
+
+    /**
+     * The number of the most recently requested plot, used to discard results of superseded plots.
+     */
+    private static final AtomicInteger plotRequest = new AtomicInteger();
+
+    /**
+     * The only variable plotted expressions may use.
+     */
+    private static final String VARIABLE = "x";
+
+    /**
+     * The title of the frame.
+     */
+    private static final String FRAME_TITLE = "Function Plotter";
+
+    /**
+     * The width of the frame.
+     */
+    private static final int FRAME_WIDTH = 640;
+
+    /**
+     * The height of the frame.
+     */
+    private static final int FRAME_HEIGHT = 640;
+
+    /**
+     * The width of the plot.
+     */
+    private static final int PLOT_WIDTH = 580;
+
+    /**
+     * The height of the plot.
+     */
+    private static final int PLOT_HEIGHT = 440;
+
+    /**
+     * The padding between components.
+     */
+    private static final int PADDING = 30;
+
+    /**
+     * The height of the fields.
+     */
+    private static final int FIELD_HEIGHT = 40;
+
+    /**
+     * The number of samples evaluated per pixel column, which captures oscillations narrower than a pixel.
+     */
+    private static final int SAMPLES_PER_COLUMN = 1024;
+
+    /**
+     * The fraction of the range of y values added above and below the plot.
+     */
+    private static final double Y_MARGIN = 0.05;
+
+    /**
+     * The maximum magnitude of y values used to fit the plot, beyond which values are treated as asymptotes.
+     */
+    private static final double MAXIMUM_FITTED_MAGNITUDE = 1.0e6;
+
+    /**
+     * The default expression.
+     */
+    private static final String DEFAULT_EXPRESSION = "sin(x) / x";
+
+    /**
+     * The default minimum x value.
+     */
+    private static final String DEFAULT_MINIMUM = "-20";
+
+    /**
+     * The default maximum x value.
+     */
+    private static final String DEFAULT_MAXIMUM = "20";
+
+    /**
+     * The name of the thread which samples expressions.
+     */
+    private static final String PLOTTER_THREAD_NAME = "Function Plotter Sampler";
+
+    /**
+     * The color of the axes.
+     */
+    private static final Color AXIS_COLOR = CyderColors.navy;
+
+    /**
+     * The color of the plotted function.
+     */
+    private static final Color FUNCTION_COLOR = CyderColors.regularRed;
+
+    /**
+     * The description for the widget annotation.
+     */
+    private static final String description = "A function plotter which compiles an expression of x once "
+            + "and samples it many times per pixel";
+
+    @Widget(triggers = {"plot", "plotter", "graph"}, description = description)
+    public static void showGui() {
+        UiUtil.closeIfOpen(plotterFrame);
+
+        plotterFrame = new CyderFrame.Builder()
+                .setWidth(FRAME_WIDTH)
+                .setHeight(FRAME_HEIGHT)
+                .setTitle(FRAME_TITLE)
+                .build();
+
+        int fieldY = CyderDragLabel.DEFAULT_HEIGHT + 10;
+        int rangeFieldWidth = (PLOT_WIDTH - PADDING) / 2;
+
+        expressionField = new CyderTextField();
+        expressionField.setHorizontalAlignment(JTextField.CENTER);
+        expressionField.setToolTipText("An expression of x such as sin(x) / x");
+        expressionField.setFont(CyderFonts.SEGOE_20);
+        expressionField.setText(DEFAULT_EXPRESSION);
+        expressionField.setBounds(PADDING, fieldY, PLOT_WIDTH, FIELD_HEIGHT);
+        expressionField.addActionListener(e -> plot());
+        plotterFrame.getContentPane().add(expressionField);
+
+        fieldY += FIELD_HEIGHT + 10;
+
+        minimumField = new CyderTextField();
+        minimumField.setHorizontalAlignment(JTextField.CENTER);
+        minimumField.setToolTipText("The minimum x value");
+        minimumField.setFont(CyderFonts.SEGOE_20);
+        minimumField.setText(DEFAULT_MINIMUM);
+        minimumField.setBounds(PADDING, fieldY, rangeFieldWidth, FIELD_HEIGHT);
+        minimumField.addActionListener(e -> plot());
+        plotterFrame.getContentPane().add(minimumField);
+
+        maximumField = new CyderTextField();
+        maximumField.setHorizontalAlignment(JTextField.CENTER);
+        maximumField.setToolTipText("The maximum x value");
+        maximumField.setFont(CyderFonts.SEGOE_20);
+        maximumField.setText(DEFAULT_MAXIMUM);
+        maximumField.setBounds(PADDING + rangeFieldWidth + PADDING, fieldY, rangeFieldWidth, FIELD_HEIGHT);
+        maximumField.addActionListener(e -> plot());
+        plotterFrame.getContentPane().add(maximumField);
+
+        fieldY += FIELD_HEIGHT + 10;
+
+        plotLabel = new JLabel();
+        plotLabel.setBounds(PADDING, fieldY, PLOT_WIDTH, PLOT_HEIGHT);
+        plotLabel.setBorder(new LineBorder(CyderColors.navy, 3));
+        plotterFrame.getContentPane().add(plotLabel);
+
+        fieldY += PLOT_HEIGHT + 5;
+
+        statusLabel = new CyderLabel();
+        statusLabel.setBounds(PADDING, fieldY, PLOT_WIDTH, FIELD_HEIGHT);
+        plotterFrame.getContentPane().add(statusLabel);
+
+        plotterFrame.finalizeAndShow();
+        plot();
+    }
+
+    /**
+     * Compiles the expression and samples it on a separate thread, showing the plot once complete.
+     */
+    private static void plot() {
+        CompiledExpression expression;
+        double minimum;
+        double maximum;
+        try {
+            expression = engine.compile(expressionField.getText());
+            minimum = engine.evaluate(minimumField.getText());
+            maximum = engine.evaluate(maximumField.getText());
+        } catch (IllegalArgumentException e) {
+            plotterFrame.notify(e.getMessage());
+            return;
+        }
+
+        if (!expression.getVariables().stream().allMatch(VARIABLE::equals)) {
+            plotterFrame.notify("Expressions may only use the variable " + VARIABLE);
+            return;
+        } else if (!Double.isFinite(minimum) || !Double.isFinite(maximum) || minimum >= maximum) {
+            plotterFrame.notify("The minimum must be less than the maximum");
+            return;
+        }
+
+        int request = plotRequest.incrementAndGet();
+        CyderThreadRunner.submit(() -> {
+            long start = System.nanoTime();
+            BufferedImage image = render(expression, minimum, maximum);
+            long elapsedMillis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+
+            long samples = (long) PLOT_WIDTH * SAMPLES_PER_COLUMN;
+            String status = String.format("%,d samples in %,d ms", samples, elapsedMillis);
+
+            SwingUtilities.invokeLater(() -> {
+                if (request != plotRequest.get()) return;
+                plotLabel.setIcon(new ImageIcon(image));
+                statusLabel.setText(status);
+            });
+        }, PLOTTER_THREAD_NAME);
+    }
+
+    /**
+     * Samples the provided expression across the provided range and draws the range of values
+     * within each pixel column.
+     *
+     * @param expression the expression of at most one variable
+     * @param minimum    the minimum x value
+     * @param maximum    the maximum x value
+     * @return the plot
+     */
+    private static BufferedImage render(CompiledExpression expression, double minimum, double maximum) {
+        double[] columnMinimums = new double[PLOT_WIDTH];
+        double[] columnMaximums = new double[PLOT_WIDTH];
+        double[] samples = new double[SAMPLES_PER_COLUMN];
+
+        double columnWidth = (maximum - minimum) / PLOT_WIDTH;
+        double step = columnWidth / SAMPLES_PER_COLUMN;
+        double lowest = Double.POSITIVE_INFINITY;
+        double highest = Double.NEGATIVE_INFINITY;
+
+        for (int column = 0 ; column < PLOT_WIDTH ; column++) {
+            expression.sample(minimum + column * columnWidth, step, samples);
+
+            double columnMinimum = Double.POSITIVE_INFINITY;
+            double columnMaximum = Double.NEGATIVE_INFINITY;
+            for (double sample : samples) {
+                if (!Double.isFinite(sample)) continue;
+                columnMinimum = Math.min(columnMinimum, sample);
+                columnMaximum = Math.max(columnMaximum, sample);
+            }
+            columnMinimums[column] = columnMinimum;
+            columnMaximums[column] = columnMaximum;
+
+            if (columnMinimum > -MAXIMUM_FITTED_MAGNITUDE) lowest = Math.min(lowest, columnMinimum);
+            if (columnMaximum < MAXIMUM_FITTED_MAGNITUDE) highest = Math.max(highest, columnMaximum);
+        }
+
+        if (lowest > highest) {
+            lowest = -1;
+            highest = 1;
+        } else if (lowest == highest) {
+            lowest -= 1;
+            highest += 1;
+        }
+        double margin = (highest - lowest) * Y_MARGIN;
+        lowest -= margin;
+        highest += margin;
+
+        BufferedImage image = new BufferedImage(PLOT_WIDTH, PLOT_HEIGHT, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(CyderColors.vanilla);
+        graphics.fillRect(0, 0, PLOT_WIDTH, PLOT_HEIGHT);
+
+        graphics.setColor(AXIS_COLOR);
+        if (minimum < 0 && maximum > 0) {
+            int axisX = (int) Math.round(-minimum / columnWidth);
+            graphics.drawLine(axisX, 0, axisX, PLOT_HEIGHT);
+        }
+        if (lowest < 0 && highest > 0) {
+            int axisY = toPixelY(0, lowest, highest);
+            graphics.drawLine(0, axisY, PLOT_WIDTH, axisY);
+        }
+
+        graphics.setColor(FUNCTION_COLOR);
+        for (int column = 0 ; column < PLOT_WIDTH ; column++) {
+            if (columnMinimums[column] > columnMaximums[column]) continue;
+
+            double spanMinimum = columnMinimums[column];
+            double spanMaximum = columnMaximums[column];
+            // extend the span to the previous column so that steep sections are drawn without gaps
+            if (column > 0 && columnMinimums[column - 1] <= columnMaximums[column - 1]) {
+                spanMinimum = Math.min(spanMinimum, columnMaximums[column - 1]);
+                spanMaximum = Math.max(spanMaximum, columnMinimums[column - 1]);
+            }
+
+            graphics.drawLine(column, toPixelY(spanMaximum, lowest, highest),
+                    column, toPixelY(spanMinimum, lowest, highest));
+        }
+
+        graphics.dispose();
+        return image;
+    }
+
+    /**
+     * Returns the pixel row of the provided y value, clamped to just beyond the plot.
+     *
+     * @param y       the y value
+     * @param lowest  the y value at the bottom of the plot
+     * @param highest the y value at the top of the plot
+     * @return the pixel row
+     */
+    private static int toPixelY(double y, double lowest, double highest) {
+        double row = (highest - y) / (highest - lowest) * (PLOT_HEIGHT - 1);
+        return (int) Math.round(Math.max(-1, Math.min(PLOT_HEIGHT, row)));
+    }
+}
@@ -7,10 +7,17 @@ import cyder.annotations.Vanilla;
 import cyder.annotations.Widget;
 import cyder.constants.CyderFonts;
 import cyder.constants.HtmlTags;
+import cyder.files.FileHasher;
+import cyder.files.FileHashes;
+import cyder.files.FileUtil;
+import cyder.getter.GetFileBuilder;
+import cyder.getter.GetterUtil;
+import cyder.handlers.internal.ExceptionHandler;
 import cyder.handlers.internal.InformHandler;
 import cyder.logging.LogTag;
 import cyder.logging.Logger;
 import cyder.strings.CyderStrings;
+import cyder.threads.CyderThreadRunner;
 import cyder.ui.button.CyderButton;
 import cyder.ui.field.CyderPasswordField;
 import cyder.ui.frame.CyderFrame;
@@ -20,9 +27,17 @@ import cyder.ui.selection.CyderComboBox;
 import cyder.ui.selection.CyderComboBoxState;
 import cyder.utils.OsUtil;
 import cyder.utils.SecurityUtil;
+import cyder.utils.SecurityUtil.HashingAlgorithm;
+
+import java.io.File;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
- * A widget for computing the hash of strings.
+ * A widget for computing the hash of strings and files.
  */
 @Vanilla
 @CyderAuthor
@@ -40,7 +55,7 @@ public class HashingWidget {
     /**
      * The widget description.
      */
-    private static final String description = "A hashing widget to hash any string using"
+    private static final String description = "A hashing widget to hash any string or file using"
             + " multiple algorithms such as MD5, SHA256, and SHA1";
 
     /**
@@ -114,7 +129,52 @@ public class HashingWidget {
     /**
      * The height of the frame.
      */
-    private static final int FRAME_HEIGHT = 260;
+    private static final int FRAME_HEIGHT = 350;
+
+    /**
+     * The text of the hash files button.
+     */
+    private static final String HASH_FILES = "Hash Files";
+
+    /**
+     * The text of the hash files button while files are being hashed.
+     */
+    private static final String CANCEL = "Cancel";
+
+    /**
+     * The title of the file chooser.
+     */
+    private static final String CHOOSE_FILES_TO_HASH = "Choose a file or folder to hash";
+
+    /**
+     * The name of the thread which chooses and awaits the hashing of files.
+     */
+    private static final String FILE_HASHER_THREAD_NAME = "Hashing Widget File Hasher";
+
+    /**
+     * The maximum number of file hashes shown in the result popup; all hashes are copied to the clipboard.
+     */
+    private static final int MAXIMUM_SHOWN_FILE_HASHES = 10;
+
+    /**
+     * The frame of this widget.
+     */
+    private CyderFrame hashFrame;
+
+    /**
+     * The button to choose files to hash or cancel the hashing of files.
+     */
+    private CyderButton hashFilesButton;
+
+    /**
+     * The label the progress of hashing files is shown on.
+     */
+    private CyderLabel fileProgressLabel;
+
+    /**
+     * The hashing of files in progress, or the choosing of the files to hash, null if neither.
+     */
+    private final AtomicReference<Future<ImmutableList<FileHashes>>> fileHashing = new AtomicReference<>();
 
     /**
      * The checkbox for whether to save the hash result to the clipboard.
@@ -125,7 +185,7 @@ public class HashingWidget {
      * Shows the gui for this instance of the hashing widget.
      */
     public void innerShowGui() {
-        CyderFrame hashFrame = new CyderFrame.Builder()
+        hashFrame = new CyderFrame.Builder()
                 .setWidth(FRAME_WIDTH)
                 .setHeight(FRAME_HEIGHT)
                 .setTitle(TITLE)
@@ -160,6 +220,16 @@ public class HashingWidget {
         comboBox.setBounds(240, 140, 210, 40);
         hashFrame.getContentPane().add(comboBox);
 
+        hashFilesButton = new CyderButton(HASH_FILES);
+        hashFilesButton.setToolTipText("Hash a file or every file within a folder");
+        hashFilesButton.addActionListener(e -> hashFilesButtonAction());
+        hashFilesButton.setBounds(50, 240, 400, 40);
+        hashFrame.getContentPane().add(hashFilesButton);
+
+        fileProgressLabel = new CyderLabel();
+        fileProgressLabel.setBounds(50, 290, 400, 40);
+        hashFrame.getContentPane().add(fileProgressLabel);
+
         hashFrame.finalizeAndShow();
     }
 
@@ -171,11 +241,10 @@ public class HashingWidget {
         if (hashFieldContents.length == 0) return;
 
         String algorithm = comboBox.getCurrentState().getDisplayValue();
-        String hashResult = switch (algorithm) {
-            case SHA_256 -> SecurityUtil.toHexString(SecurityUtil.getSha256(hashFieldContents));
-            case SHA_1 -> SecurityUtil.toHexString(SecurityUtil.getSha1(hashFieldContents));
+        String hashResult = switch (getSelectedAlgorithm()) {
+            case SHA256 -> SecurityUtil.toHexString(SecurityUtil.getSha256(hashFieldContents));
+            case SHA1 -> SecurityUtil.toHexString(SecurityUtil.getSha1(hashFieldContents));
             case MD5 -> SecurityUtil.toHexString(SecurityUtil.getMd5(hashFieldContents));
-            default -> throw new IllegalStateException("Unimplemented hash algorithm: " + algorithm);
         };
 
         String informText = "Your hashed input is:" + HtmlTags.breakTag + hashResult
@@ -191,6 +260,127 @@ public class HashingWidget {
         reset();
     }
 
+    /**
+     * Returns the hashing algorithm selected by the combo box.
+     *
+     * @return the hashing algorithm selected by the combo box
+     */
+    private HashingAlgorithm getSelectedAlgorithm() {
+        String algorithm = comboBox.getCurrentState().getDisplayValue();
+        return switch (algorithm) {
+            case SHA_256 -> HashingAlgorithm.SHA256;
+            case SHA_1 -> HashingAlgorithm.SHA1;
+            case MD5 -> HashingAlgorithm.MD5;
+            default -> throw new IllegalStateException("Unimplemented hash algorithm: " + algorithm);
+        };
+    }
+
+    /**
+     * The action to invoke when the hash files button is pressed. Cancels the hashing of files if in progress,
+     * otherwise hashes the chosen file or every file within the chosen folder. The placeholder for the
+     * hashing is recorded before the chooser is shown so that repeated presses start at most one batch.
+     */
+    private void hashFilesButtonAction() {
+        CompletableFuture<ImmutableList<FileHashes>> choosing = new CompletableFuture<>();
+        Future<ImmutableList<FileHashes>> hashing = fileHashing.compareAndExchange(null, choosing);
+        if (hashing != null) {
+            hashing.cancel(true);
+            return;
+        }
+
+        CyderThreadRunner.submit(() -> {
+            try {
+                Optional<File> optionalFile = GetterUtil.getInstance().getFile(
+                        new GetFileBuilder(CHOOSE_FILES_TO_HASH)
+                                .setAllowFolderSubmission(true)
+                                .setRelativeTo(hashFrame));
+                if (optionalFile.isEmpty() || choosing.isCancelled()) return;
+
+                File chosen = optionalFile.get();
+                ImmutableList<File> files = chosen.isDirectory()
+                        ? FileUtil.getFiles(chosen)
+                        : ImmutableList.of(chosen);
+                if (files.isEmpty()) {
+                    hashFrame.notify("No files found within " + chosen.getName());
+                    return;
+                }
+
+                hashFiles(chosen, files, choosing);
+            } catch (Exception e) {
+                ExceptionHandler.handle(e);
+            } finally {
+                fileHashing.compareAndSet(choosing, null);
+            }
+        }, FILE_HASHER_THREAD_NAME);
+    }
+
+    /**
+     * Hashes the provided files, showing the progress and then the hashes of the selected algorithm.
+     *
+     * @param chosen   the file or folder chosen by the user
+     * @param files    the files to hash
+     * @param choosing the placeholder recorded while the files were chosen, whose cancellation cancels the hashing
+     * @throws Exception if hashing fails or is interrupted
+     */
+    private void hashFiles(File chosen, ImmutableList<File> files,
+                           CompletableFuture<ImmutableList<FileHashes>> choosing) throws Exception {
+        HashingAlgorithm algorithm = getSelectedAlgorithm();
+
+        Future<ImmutableList<FileHashes>> hashing = FileHasher.hashAll(files, progress ->
+                fileProgressLabel.setText("Hashed " + progress.filesHashed() + " of " + progress.totalFiles()
+                        + " files (" + Math.round(progress.getFraction() * 100) + "%) at "
+                        + OsUtil.formatBytes((float) progress.getBytesPerSecond()) + "/s"));
+        fileHashing.set(hashing);
+        choosing.whenComplete((result, throwable) -> hashing.cancel(true));
+        hashFilesButton.setText(CANCEL);
+
+        ImmutableList<FileHashes> hashes;
+        try {
+            hashes = hashing.get();
+        } catch (CancellationException e) {
+            fileProgressLabel.setText("Hashing cancelled");
+            return;
+        } finally {
+            fileHashing.compareAndSet(hashing, null);
+            hashFilesButton.setText(HASH_FILES);
+        }
+
+        if (hashes.size() < files.size()) {
+            hashFrame.notify((files.size() - hashes.size()) + " of " + files.size() + " files could not be read");
+        }
+        if (hashes.isEmpty()) return;
+
+        StringBuilder clipboard = new StringBuilder();
+        StringBuilder informText = new StringBuilder();
+        for (int i = 0 ; i < hashes.size() ; i++) {
+            FileHashes fileHashes = hashes.get(i);
+            String name = chosen.isDirectory()
+                    ? chosen.toPath().relativize(fileHashes.file().toPath()).toString()
+                    : fileHashes.file().getName();
+            String hash = fileHashes.getHash(algorithm);
+
+            clipboard.append(hash).append(CyderStrings.space).append(CyderStrings.space)
+                    .append(name).append(CyderStrings.newline);
+            if (i < MAXIMUM_SHOWN_FILE_HASHES) {
+                informText.append(name).append(CyderStrings.colon).append(HtmlTags.breakTag)
+                        .append(hash).append(HtmlTags.breakTag);
+            }
+        }
+        if (hashes.size() > MAXIMUM_SHOWN_FILE_HASHES) {
+            informText.append("And ").append(hashes.size() - MAXIMUM_SHOWN_FILE_HASHES).append(" more")
+                    .append(HtmlTags.breakTag);
+        }
+        informText.append("Provided by ").append(algorithm.getName());
+
+        if (saveToClipboardCheckbox.isChecked()) {
+            OsUtil.setClipboard(hashes.size() == 1 ? hashes.get(0).getHash(algorithm) : clipboard.toString());
+        }
+
+        new InformHandler.Builder(informText.toString())
+                .setTitle(algorithm.getName() + CyderStrings.space + HASH_RESULT)
+                .setRelativeTo(hashFrame).inform();
+    }
+
     /**
      * Resets the widget.
      */
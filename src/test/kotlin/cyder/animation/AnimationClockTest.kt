@@ -0,0 +1,80 @@
+package cyder.animation
+
+import cyder.threads.ThreadUtil
+import org.junit.jupiter.api.Assertions
+import org.junit.jupiter.api.Test
+import java.time.Duration
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+import javax.swing.SwingUtilities
+
+/**
+ * Tests for the [AnimationClock].
+ */
+class AnimationClockTest {
+    /**
+     * Tests for frame listeners being invoked on the event dispatch thread until they return false.
+     */
+    @Test
+    fun testListeners() {
+        Assertions.assertThrows(NullPointerException::class.java) {
+            AnimationClock.INSTANCE.addListener(null)
+        }
+
+        val frames = AtomicInteger()
+        val latch = CountDownLatch(1)
+        AnimationClock.INSTANCE.addListener {
+            Assertions.assertTrue(SwingUtilities.isEventDispatchThread())
+            if (frames.incrementAndGet() == 5) {
+                latch.countDown()
+                false
+            } else {
+                true
+            }
+        }
+
+        Assertions.assertTrue(latch.await(5, TimeUnit.SECONDS))
+        ThreadUtil.sleep(100)
+        Assertions.assertEquals(5, frames.get())
+        Assertions.assertEquals(0, AnimationClock.INSTANCE.listenerCount)
+    }
+
+    /**
+     * Tests for scheduling delayed tasks on the clock.
+     */
+    @Test
+    fun testSchedule() {
+        Assertions.assertThrows(IllegalArgumentException::class.java) {
+            AnimationClock.INSTANCE.schedule({}, Duration.ofMillis(-1))
+        }
+
+        val order = StringBuilder()
+        val latch = CountDownLatch(2)
+        AnimationClock.INSTANCE.schedule({
+            order.append("b")
+            latch.countDown()
+        }, Duration.ofMillis(200))
+        AnimationClock.INSTANCE.schedule({
+            order.append("a")
+            latch.countDown()
+        }, Duration.ofMillis(50))
+
+        Assertions.assertTrue(latch.await(5, TimeUnit.SECONDS))
+        Assertions.assertEquals("ab", order.toString())
+        Assertions.assertEquals(0, AnimationClock.INSTANCE.scheduledTaskCount)
+    }
+
+    /**
+     * Tests for the clock thread exiting once idle.
+     */
+    @Test
+    fun testIdleShutdown() {
+        val latch = CountDownLatch(1)
+        AnimationClock.INSTANCE.schedule({ latch.countDown() }, Duration.ZERO)
+        Assertions.assertTrue(latch.await(5, TimeUnit.SECONDS))
+
+        ThreadUtil.sleep(2500)
+        Assertions.assertFalse(AnimationClock.INSTANCE.isRunning)
+    }
+}
@@ -0,0 +1,128 @@
+package cyder.animation
+
+import org.junit.jupiter.api.Assertions
+import org.junit.jupiter.api.Test
+import java.awt.Color
+import java.awt.Point
+import java.time.Duration
+import java.util.concurrent.atomic.AtomicBoolean
+import java.util.concurrent.atomic.AtomicInteger
+import javax.swing.JLabel
+
+/**
+ * Tests for [Tween]s and [Easing]s.
+ */
+class TweenTest {
+    /**
+     * Tests for the endpoints and monotonicity of easing curves.
+     */
+    @Test
+    fun testEasing() {
+        for (easing in Easing.values()) {
+            Assertions.assertEquals(0.0, easing.apply(0.0))
+            Assertions.assertEquals(1.0, easing.apply(1.0))
+            Assertions.assertEquals(0.0, easing.apply(-1.0))
+            Assertions.assertEquals(1.0, easing.apply(2.0))
+
+            var last = 0.0
+            for (i in 1..100) {
+                val value = easing.apply(i / 100.0)
+                Assertions.assertTrue(value >= last - 1e-9)
+                last = value
+            }
+        }
+
+        Assertions.assertEquals(0.5, Easing.LINEAR.apply(0.5))
+        Assertions.assertEquals(0.5, Easing.EASE_IN_OUT_QUAD.apply(0.5), 1e-9)
+        Assertions.assertEquals(0.25, Easing.EASE_IN_QUAD.apply(0.5), 1e-9)
+    }
+
+    /**
+     * Tests for interpolation helpers.
+     */
+    @Test
+    fun testInterpolate() {
+        Assertions.assertEquals(5, Tween.interpolate(0, 10, 0.5))
+        Assertions.assertEquals(-5, Tween.interpolate(0, -10, 0.5))
+        Assertions.assertEquals(0.75f, Tween.interpolate(0.5f, 1.0f, 0.5))
+        Assertions.assertEquals(Color(100, 50, 0, 255),
+                Tween.interpolate(Color(0, 0, 0), Color(200, 100, 0), 0.5))
+
+        Assertions.assertEquals(Duration.ofMillis(100), Tween.stepDuration(100.0, 2.0, 2))
+        Assertions.assertEquals(Duration.ofMillis(100), Tween.stepDuration(-100.0, 2.0, 2))
+        Assertions.assertThrows(IllegalArgumentException::class.java) { Tween.stepDuration(1.0, 0.0, 1) }
+    }
+
+    /**
+     * Tests for running a tween to completion.
+     */
+    @Test
+    fun testCompletion() {
+        val label = JLabel()
+        label.setLocation(0, 0)
+
+        val tween = Tween.location(label, Point(100, 50), Duration.ofMillis(100))
+        Assertions.assertEquals(Tween.State.PENDING, tween.state)
+        tween.start()
+        Assertions.assertThrows(IllegalStateException::class.java) { tween.start() }
+        Assertions.assertThrows(IllegalStateException::class.java) { tween.setEasing(Easing.LINEAR) }
+
+        Assertions.assertTrue(tween.await(Duration.ofSeconds(5)))
+        Assertions.assertEquals(Tween.State.COMPLETED, tween.state)
+        Assertions.assertEquals(Point(100, 50), label.location)
+    }
+
+    /**
+     * Tests for cancelling tweens both directly and by starting a newer tween of the same target.
+     */
+    @Test
+    fun testCancellation() {
+        val label = JLabel()
+        var cancelled = false
+
+        val first = Tween.location(label, Point(1000, 1000), Duration.ofSeconds(10))
+                .setOnCancel { cancelled = true }
+                .start()
+        Assertions.assertTrue(first.isRunning)
+
+        val second = Tween.location(label, Point(10, 10), Duration.ZERO).start()
+        Assertions.assertEquals(Tween.State.CANCELLED, first.state)
+        Assertions.assertTrue(cancelled)
+        Assertions.assertFalse(first.cancel())
+
+        Assertions.assertTrue(second.await(Duration.ofSeconds(5)))
+        Assertions.assertEquals(Point(10, 10), label.location)
+
+        val third = Tween(Duration.ofSeconds(10)) {}.start()
+        Assertions.assertTrue(third.cancel())
+        Assertions.assertTrue(third.isDone)
+    }
+
+    /**
+     * Tests for releasing a lock held by a tween whose finishing action runs on both completion and cancellation,
+     * as the console's background slide does, when a newer tween of the same target supersedes it.
+     */
+    @Test
+    fun testSupersededTweenReleasesLock() {
+        val label = JLabel()
+        val locked = AtomicBoolean(true)
+        val finished = AtomicInteger()
+        val finish = Runnable {
+            finished.incrementAndGet()
+            locked.set(false)
+        }
+
+        val slide = Tween.location(label, Point(500, 0), Duration.ofSeconds(10))
+                .setOnComplete(finish)
+                .setOnCancel(finish)
+                .start()
+        Assertions.assertTrue(locked.get())
+
+        val superseding = Tween.location(label, Point(0, 0), Duration.ZERO).start()
+        Assertions.assertEquals(Tween.State.CANCELLED, slide.state)
+        Assertions.assertFalse(locked.get())
+
+        Assertions.assertTrue(superseding.await(Duration.ofSeconds(5)))
+        Assertions.assertEquals(1, finished.get())
+    }
+}
@@ -0,0 +1,172 @@
+package cyder.audio
+
+import org.junit.jupiter.api.Assertions.*
+import org.junit.jupiter.api.Test
+import java.io.ByteArrayInputStream
+import java.io.File
+import java.nio.file.Files
+import javax.sound.sampled.AudioFileFormat
+import javax.sound.sampled.AudioFormat
+import javax.sound.sampled.AudioInputStream
+import javax.sound.sampled.AudioSystem
+import kotlin.math.*
+
+/**
+ * Tests for [BiquadFilter], [DreamyEffect], and [DreamifyPipeline].
+ */
+class DreamyEffectTest {
+    /**
+     * The sample rate used by the tests.
+     */
+    private val sampleRate = 44100.0
+
+    /**
+     * Returns the given linear gain in decibels.
+     */
+    private fun decibels(gain: Double) = 20 * log10(gain)
+
+    /**
+     * Returns the amplitude of the given frequency within the samples of a channel using the Goertzel algorithm.
+     */
+    private fun goertzelAmplitude(samples: DoubleArray, frequency: Double): Double {
+        val coefficient = 2 * cos(2 * PI * frequency / sampleRate)
+        var previous = 0.0
+        var beforePrevious = 0.0
+        for (sample in samples) {
+            val current = sample + coefficient * previous - beforePrevious
+            beforePrevious = previous
+            previous = current
+        }
+        val power = previous * previous + beforePrevious * beforePrevious - coefficient * previous * beforePrevious
+        return 2 * sqrt(power) / samples.size
+    }
+
+    /**
+     * Tests that the magnitude responses match the analog second order Butterworth responses.
+     */
+    @Test
+    fun testMagnitudeResponseMatchesButterworth() {
+        val lowPass = BiquadFilter(BiquadFilter.Type.LOW_PASS, sampleRate, 1500.0, BiquadFilter.BUTTERWORTH_Q, 1)
+        val highPass = BiquadFilter(BiquadFilter.Type.HIGH_PASS, sampleRate, 200.0, BiquadFilter.BUTTERWORTH_Q, 1)
+
+        assertEquals(-3.01, decibels(lowPass.getMagnitudeResponse(1500.0)), 0.05)
+        assertEquals(-3.01, decibels(highPass.getMagnitudeResponse(200.0)), 0.05)
+
+        for (frequency in listOf(50.0, 100.0, 200.0, 400.0, 800.0, 1500.0, 3000.0, 5000.0)) {
+            val lowRatio = frequency / 1500.0
+            val expectedLow = 1 / sqrt(1 + lowRatio.pow(4))
+            assertEquals(decibels(expectedLow), decibels(lowPass.getMagnitudeResponse(frequency)), 1.0)
+
+            val highRatio = 200.0 / frequency
+            val expectedHigh = 1 / sqrt(1 + highRatio.pow(4))
+            assertEquals(decibels(expectedHigh), decibels(highPass.getMagnitudeResponse(frequency)), 1.0)
+        }
+    }
+
+    /**
+     * Tests that filtering sine waves in blocks attenuates each channel by the magnitude response.
+     */
+    @Test
+    fun testSineGainMatchesResponse() {
+        val frames = sampleRate.toInt()
+        val settleFrames = frames / 5
+
+        for (frequency in listOf(100.0, 800.0, 5000.0)) {
+            val effect = DreamyEffect(sampleRate, 2)
+            val samples = FloatArray(frames * 2)
+            for (frame in 0 until frames) {
+                val value = sin(2 * PI * frequency * frame / sampleRate)
+                samples[2 * frame] = (0.5 * value).toFloat()
+                samples[2 * frame + 1] = (0.25 * value).toFloat()
+            }
+
+            val block = 1000
+            var offset = 0
+            while (offset < samples.size) {
+                val length = min(block, samples.size - offset)
+                effect.process(samples, offset, length)
+                offset += length
+            }
+
+            val expected = effect.getMagnitudeResponse(frequency)
+            for ((channel, amplitude) in listOf(0.5, 0.25).withIndex()) {
+                var sumSquares = 0.0
+                for (frame in settleFrames until frames) {
+                    val sample = samples[2 * frame + channel].toDouble()
+                    sumSquares += sample * sample
+                }
+                val rms = sqrt(sumSquares / (frames - settleFrames))
+                val gain = rms / (amplitude / sqrt(2.0))
+                assertEquals(expected, gain, expected * 0.02)
+            }
+        }
+    }
+
+    /**
+     * Tests that resetting the effect clears the filter state.
+     */
+    @Test
+    fun testReset() {
+        val effect = DreamyEffect(sampleRate, 1)
+        val impulse = ShortArray(64)
+        impulse[0] = Short.MAX_VALUE
+        effect.process(impulse, 0, impulse.size)
+
+        effect.reset()
+        val silence = ShortArray(64)
+        effect.process(silence, 0, silence.size)
+        assertTrue(silence.all { it == 0.toShort() })
+    }
+
+    /**
+     * Tests that the pipeline keeps the band between the cutoffs and attenuates frequencies outside of it.
+     */
+    @Test
+    fun testDreamifyWav() {
+        val directory = Files.createTempDirectory("dreamify").toFile()
+        try {
+            val format = AudioFormat(sampleRate.toFloat(), 16, 2, true, false)
+            val frames = sampleRate.toInt() * 2
+            val tones = listOf(60.0, 800.0, 8000.0)
+            val data = ByteArray(frames * format.frameSize)
+            var index = 0
+            for (frame in 0 until frames) {
+                val value = tones.sumOf { 0.25 * sin(2 * PI * it * frame / sampleRate) }
+                val sample = (value * Short.MAX_VALUE).roundToInt()
+                for (channel in 0 until 2) {
+                    data[index++] = (sample and 0xFF).toByte()
+                    data[index++] = ((sample shr 8) and 0xFF).toByte()
+                }
+            }
+
+            val input = File(directory, "input.wav")
+            AudioSystem.write(AudioInputStream(ByteArrayInputStream(data), format, frames.toLong()),
+                    AudioFileFormat.Type.WAVE, input)
+
+            val output = File(directory, "output.wav")
+            DreamifyPipeline.dreamify(input, output)
+
+            val bytes = AudioSystem.getAudioInputStream(output).use { it.readAllBytes() }
+            assertEquals(data.size, bytes.size)
+
+            val settleFrames = frames / 4
+            val left = DoubleArray(frames - settleFrames) {
+                val frame = settleFrames + it
+                val low = bytes[4 * frame].toInt() and 0xFF
+                val high = bytes[4 * frame + 1].toInt()
+                ((high shl 8) or low).toShort().toDouble() / Short.MAX_VALUE
+            }
+
+            val effect = DreamyEffect(sampleRate, 2)
+            for (tone in tones) {
+                val measured = goertzelAmplitude(left, tone) / 0.25
+                assertEquals(decibels(effect.getMagnitudeResponse(tone)), decibels(measured), 0.5)
+            }
+            assertTrue(decibels(goertzelAmplitude(left, 800.0) / 0.25) > -1)
+            assertTrue(decibels(goertzelAmplitude(left, 60.0) / 0.25) < -15)
+            assertTrue(decibels(goertzelAmplitude(left, 8000.0) / 0.25) < -25)
+        } finally {
+            directory.deleteRecursively()
+        }
+    }
+}
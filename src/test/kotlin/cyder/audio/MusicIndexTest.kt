@@ -0,0 +1,338 @@
+package cyder.audio
+
+import org.junit.jupiter.api.Assertions.*
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.io.TempDir
+import java.awt.image.BufferedImage
+import java.io.ByteArrayOutputStream
+import java.io.File
+import javax.imageio.ImageIO
+
+/**
+ * Tests for [MusicIndex], [AudioMetadataReader], and [MusicLibrary].
+ */
+class MusicIndexTest {
+    /**
+     * The header of an MPEG 1 layer 3 frame at 128 kbps and 44100 Hz.
+     */
+    private val frameHeader = byteArrayOf(0xFF.toByte(), 0xFB.toByte(), 0x90.toByte(), 0x00)
+
+    /**
+     * The length of a frame with [frameHeader].
+     */
+    private val frameLength = 417
+
+    /**
+     * The temporary directory of each test.
+     */
+    @TempDir
+    lateinit var root: File
+
+    /**
+     * The music directory of each test.
+     */
+    private val musicDirectory by lazy { File(root, "music").also { assertTrue(it.mkdir()) } }
+
+    /**
+     * The index file of each test, outside of the music directory.
+     */
+    private val indexFile by lazy { File(File(root, "index"), "index.bin") }
+
+    /**
+     * Returns the provided number of frames, the first of which optionally holds a Xing header.
+     */
+    private fun frames(count: Int, xingFrames: Int? = null): ByteArray {
+        val out = ByteArrayOutputStream()
+        repeat(count) { index ->
+            val frame = ByteArray(frameLength)
+            frameHeader.copyInto(frame)
+            if (index == 0 && xingFrames != null) {
+                "Xing".toByteArray().copyInto(frame, 36)
+                bigEndian(1).copyInto(frame, 40)
+                bigEndian(xingFrames).copyInto(frame, 44)
+            }
+            out.write(frame)
+        }
+        return out.toByteArray()
+    }
+
+    /**
+     * Returns the four byte big-endian encoding of the provided value.
+     */
+    private fun bigEndian(value: Int) = byteArrayOf((value ushr 24).toByte(), (value ushr 16).toByte(),
+            (value ushr 8).toByte(), value.toByte())
+
+    /**
+     * Returns the four byte little-endian encoding of the provided value.
+     */
+    private fun littleEndian(value: Int) = bigEndian(value).reversedArray()
+
+    /**
+     * Returns the four byte syncsafe encoding of the provided value.
+     */
+    private fun syncsafe(value: Int) = byteArrayOf((value shr 21 and 0x7F).toByte(), (value shr 14 and 0x7F).toByte(),
+            (value shr 7 and 0x7F).toByte(), (value and 0x7F).toByte())
+
+    /**
+     * Returns an ID3v2 frame of the provided version.
+     */
+    private fun id3Frame(version: Int, id: String, data: ByteArray): ByteArray {
+        val out = ByteArrayOutputStream()
+        out.write(id.toByteArray())
+        out.write(if (version == 4) syncsafe(data.size) else bigEndian(data.size))
+        out.write(byteArrayOf(0, 0))
+        out.write(data)
+        return out.toByteArray()
+    }
+
+    /**
+     * Returns an ID3v2 tag of the provided version containing the provided frames.
+     */
+    private fun id3Tag(version: Int, vararg frames: ByteArray): ByteArray {
+        val body = ByteArrayOutputStream()
+        frames.forEach { body.write(it) }
+        body.write(ByteArray(16))
+
+        val out = ByteArrayOutputStream()
+        out.write("ID3".toByteArray())
+        out.write(byteArrayOf(version.toByte(), 0, 0))
+        out.write(syncsafe(body.size()))
+        out.write(body.toByteArray())
+        return out.toByteArray()
+    }
+
+    /**
+     * Returns the data of a text frame with the provided encoding.
+     */
+    private fun text(encoding: Int, value: String): ByteArray {
+        val charset = when (encoding) {
+            0 -> Charsets.ISO_8859_1
+            1 -> Charsets.UTF_16
+            else -> Charsets.UTF_8
+        }
+        return byteArrayOf(encoding.toByte()) + value.toByteArray(charset)
+    }
+
+    /**
+     * Returns the data of an APIC frame holding the provided picture.
+     */
+    private fun picture(type: Int, image: ByteArray) =
+            byteArrayOf(0) + "image/png".toByteArray() + byteArrayOf(0, type.toByte()) +
+                    "cover".toByteArray() + byteArrayOf(0) + image
+
+    /**
+     * Returns a png of the provided width filled with the provided color.
+     */
+    private fun png(width: Int, rgb: Int): ByteArray {
+        val image = BufferedImage(width, 2, BufferedImage.TYPE_INT_RGB)
+        for (x in 0 until width) for (y in 0 until 2) image.setRGB(x, y, rgb)
+        val out = ByteArrayOutputStream()
+        ImageIO.write(image, "png", out)
+        return out.toByteArray()
+    }
+
+    /**
+     * Returns an ID3v1 tag with the provided fields.
+     */
+    private fun id3v1(title: String, artist: String, album: String): ByteArray {
+        val tag = ByteArray(128)
+        "TAG".toByteArray().copyInto(tag)
+        title.toByteArray().copyInto(tag, 3)
+        artist.toByteArray().copyInto(tag, 33)
+        album.toByteArray().copyInto(tag, 63)
+        return tag
+    }
+
+    /**
+     * Returns a wav of one second of 16 bit stereo silence at 44100 Hz with an INFO list.
+     */
+    private fun wav(title: String): ByteArray {
+        val name = title.toByteArray() + byteArrayOf(0)
+        val info = "INFO".toByteArray() + "INAM".toByteArray() + littleEndian(name.size) + name +
+                (if (name.size % 2 == 1) byteArrayOf(0) else byteArrayOf())
+        val format = byteArrayOf(1, 0, 2, 0) + littleEndian(44100) + littleEndian(176400) + byteArrayOf(4, 0, 16, 0)
+
+        val body = ByteArrayOutputStream()
+        body.write("WAVE".toByteArray())
+        body.write("fmt ".toByteArray() + littleEndian(format.size) + format)
+        body.write("LIST".toByteArray() + littleEndian(info.size) + info)
+        body.write("data".toByteArray() + littleEndian(176400) + ByteArray(176400))
+
+        return "RIFF".toByteArray() + littleEndian(body.size()) + body.toByteArray()
+    }
+
+    /**
+     * Tests reading an ID3v2.3 tag with text in each encoding and preferring the front cover.
+     */
+    @Test
+    fun testId3v23() {
+        val file = File(musicDirectory, "first.mp3")
+        file.writeBytes(id3Tag(3,
+                id3Frame(3, "TIT2", text(0, "Song")),
+                id3Frame(3, "TPE1", text(1, "Artist")),
+                id3Frame(3, "TALB", text(3, "Älbum")),
+                id3Frame(3, "APIC", picture(0, png(3, 0x00FF00))),
+                id3Frame(3, "APIC", picture(3, png(5, 0xFF0000)))) + frames(100))
+
+        val track = MusicIndex(indexFile).getTrack(file).orElseThrow()
+        assertEquals("Song", track.title())
+        assertEquals("Artist", track.artist())
+        assertEquals("Älbum", track.album())
+        assertEquals(100L * frameLength * 8 * 1000 / 128000, track.durationMillis())
+
+        val artwork = MusicLibrary.readArtwork(track).orElseThrow()
+        assertEquals(5, artwork.width)
+        assertEquals(0xFF0000, artwork.getRGB(0, 0) and 0xFFFFFF)
+    }
+
+    /**
+     * Tests reading an ID3v2.4 tag and a duration from a Xing header.
+     */
+    @Test
+    fun testId3v24AndXing() {
+        val file = File(musicDirectory, "second.mp3")
+        file.writeBytes(id3Tag(4,
+                id3Frame(4, "TIT2", text(3, "Fourth")),
+                id3Frame(4, "TPE2", text(3, "Album Artist"))) + frames(20, 1000))
+
+        val track = MusicIndex(indexFile).getTrack(file).orElseThrow()
+        assertEquals("Fourth", track.title())
+        assertEquals("Album Artist", track.artist())
+        assertEquals("", track.album())
+        assertEquals(1000L * 1152 * 1000 / 44100, track.durationMillis())
+        assertFalse(track.hasArtwork())
+    }
+
+    /**
+     * Tests falling back to ID3v1 tags and the filename, mp3 files being recognized by their ID3v2 signature.
+     */
+    @Test
+    fun testFallbacks() {
+        val tagged = File(musicDirectory, "tagged.mp3")
+        tagged.writeBytes(id3Tag(3) + frames(10) + id3v1("Old Title", "Old Artist", "Old Album"))
+        val untagged = File(musicDirectory, "untagged.mp3")
+        untagged.writeBytes(id3Tag(3) + ByteArray(7) + frames(10))
+
+        val index = MusicIndex(indexFile)
+        val track = index.getTrack(tagged).orElseThrow()
+        assertEquals("Old Title", track.title())
+        assertEquals("Old Artist", track.artist())
+        assertEquals("Old Album", track.album())
+        assertEquals(10L * frameLength * 8 * 1000 / 128000, track.durationMillis())
+
+        val untaggedTrack = index.getTrack(untagged).orElseThrow()
+        assertEquals("untagged", untaggedTrack.title())
+        assertTrue(untaggedTrack.hasDuration())
+    }
+
+    /**
+     * Tests reading the duration and INFO list of a wav.
+     */
+    @Test
+    fun testWav() {
+        val file = File(musicDirectory, "silence.wav")
+        file.writeBytes(wav("Silence"))
+
+        val track = MusicIndex(indexFile).getTrack(file).orElseThrow()
+        assertEquals("Silence", track.title())
+        assertEquals(1000L, track.durationMillis())
+    }
+
+    /**
+     * Replaces the provided text of the provided file with text of the same length without changing the
+     * file's length or modification time, so that only an index which reads the file again sees the change.
+     */
+    private fun replaceInPlace(file: File, text: String, replacement: String) {
+        assertEquals(text.length, replacement.length)
+        val lastModified = file.lastModified()
+        val bytes = file.readBytes()
+        val offset = String(bytes, Charsets.ISO_8859_1).indexOf(text)
+        assertTrue(offset >= 0)
+        replacement.toByteArray(Charsets.ISO_8859_1).copyInto(bytes, offset)
+        file.writeBytes(bytes)
+        assertTrue(file.setLastModified(lastModified))
+    }
+
+    /**
+     * Tests that the index persists and reads only new or changed files.
+     */
+    @Test
+    fun testPersistenceAndIncrementalUpdates() {
+        val first = File(musicDirectory, "a.mp3")
+        first.writeBytes(id3Tag(3, id3Frame(3, "TIT2", text(0, "Alpha"))) + frames(5))
+        val second = File(musicDirectory, "b.mp3")
+        second.writeBytes(id3Tag(3) + frames(5))
+        File(musicDirectory, "notes.txt").writeText("not audio")
+
+        val index = MusicIndex(indexFile)
+        assertEquals(listOf("Alpha", "b"), index.getTracks(musicDirectory).map { it.title() })
+        index.save()
+        assertTrue(indexFile.exists())
+
+        replaceInPlace(first, "Alpha", "Omega")
+        val reloaded = MusicIndex(indexFile)
+        assertEquals(listOf("Alpha", "b"), reloaded.getTracks(musicDirectory).map { it.title() })
+
+        second.writeBytes(id3Tag(3, id3Frame(3, "TIT2", text(0, "B"))) + frames(5))
+        assertTrue(first.delete())
+        assertEquals(listOf("B"), reloaded.getTracks(musicDirectory).map { it.title() })
+
+        indexFile.writeText("corrupt")
+        val rebuilt = MusicIndex(indexFile)
+        assertEquals(listOf("B"), rebuilt.getTracks(musicDirectory).map { it.title() })
+    }
+
+    /**
+     * Tests that the tracks of a directory are listed again only once the directory
+     * or one of its files is known to have changed.
+     */
+    @Test
+    fun testDirectoryListings() {
+        val first = File(musicDirectory, "a.mp3")
+        first.writeBytes(id3Tag(3, id3Frame(3, "TIT2", text(0, "Alpha"))) + frames(5))
+        assertTrue(musicDirectory.setLastModified(System.currentTimeMillis() - 10_000))
+
+        val index = MusicIndex(indexFile)
+        val listed = index.getTracks(musicDirectory)
+        assertEquals(listOf("Alpha"), listed.map { it.title() })
+        assertSame(listed, index.getTracks(musicDirectory))
+
+        File(musicDirectory, "b.mp3").writeBytes(id3Tag(3, id3Frame(3, "TIT2", text(0, "Beta"))) + frames(5))
+        assertTrue(musicDirectory.setLastModified(System.currentTimeMillis() - 5_000))
+        val relisted = index.getTracks(musicDirectory)
+        assertEquals(listOf("Alpha", "Beta"), relisted.map { it.title() })
+        assertSame(relisted, index.getTracks(musicDirectory))
+
+        first.writeBytes(id3Tag(3, id3Frame(3, "TIT2", text(0, "Gamma Ray"))) + frames(5))
+        assertEquals("Gamma Ray", index.getTrack(first).orElseThrow().title())
+        assertEquals(listOf("Gamma Ray", "Beta"), index.getTracks(musicDirectory).map { it.title() })
+    }
+
+    /**
+     * Tests sorting and searching the library.
+     */
+    @Test
+    fun testSortAndSearch() {
+        File(musicDirectory, "a.mp3").writeBytes(id3Tag(3, id3Frame(3, "TIT2", text(0, "Zebra")),
+                id3Frame(3, "TPE1", text(0, "Beta"))) + frames(30))
+        File(musicDirectory, "b.mp3").writeBytes(id3Tag(3, id3Frame(3, "TIT2", text(0, "Apple")),
+                id3Frame(3, "TPE1", text(0, "Gamma"))) + frames(10))
+        File(musicDirectory, "c.mp3").writeBytes(id3Tag(3, id3Frame(3, "TIT2", text(0, "Mango Zebra")),
+                id3Frame(3, "TPE1", text(0, "Alpha"))) + frames(20))
+
+        fun titles(order: MusicLibrary.SortOrder) =
+                MusicLibrary.getTracks(musicDirectory, order).map { it.title() }
+
+        assertEquals(listOf("Zebra", "Apple", "Mango Zebra"), titles(MusicLibrary.SortOrder.FILENAME))
+        assertEquals(listOf("Apple", "Mango Zebra", "Zebra"), titles(MusicLibrary.SortOrder.TITLE))
+        assertEquals(listOf("Mango Zebra", "Zebra", "Apple"), titles(MusicLibrary.SortOrder.ARTIST))
+        assertEquals(listOf("Apple", "Mango Zebra", "Zebra"), titles(MusicLibrary.SortOrder.DURATION))
+        assertEquals(MusicLibrary.SortOrder.FILENAME, MusicLibrary.SortOrder.DURATION.next())
+
+        val zebras = MusicLibrary.search(musicDirectory, "zebra", MusicLibrary.SortOrder.TITLE)
+        assertEquals(listOf("Zebra", "Mango Zebra"), zebras.map { it.title() })
+        assertEquals(listOf("Apple"),
+                MusicLibrary.search(musicDirectory, "gamma app", MusicLibrary.SortOrder.TITLE).map { it.title() })
+        assertTrue(MusicLibrary.search(musicDirectory, "missing", MusicLibrary.SortOrder.TITLE).isEmpty())
+    }
+}
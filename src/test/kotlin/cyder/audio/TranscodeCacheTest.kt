@@ -0,0 +1,227 @@
+package cyder.audio
+
+import org.junit.jupiter.api.Assertions.*
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.io.TempDir
+import java.io.File
+import java.io.IOException
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+/**
+ * Tests for [TranscodeCache].
+ */
+class TranscodeCacheTest {
+    /**
+     * The temporary directory holding the sources, destinations, and cache directory of each test.
+     */
+    @TempDir
+    lateinit var root: File
+
+    /**
+     * The number of transcodes performed by [transcoder].
+     */
+    private val transcodes = AtomicInteger()
+
+    /**
+     * A transcoder which writes the reversed source contents padded to 100 bytes.
+     */
+    private val transcoder = TranscodeCache.Transcoder { source, destination ->
+        transcodes.incrementAndGet()
+        destination.writeBytes(source.readBytes().reversedArray().copyOf(100))
+    }
+
+    /**
+     * The number of destinations handed out by [get].
+     */
+    private var destinations = 0
+
+    /**
+     * Returns the cache directory within the root directory.
+     */
+    private val cacheDirectory: File
+        get() = File(root, "cache")
+
+    /**
+     * Writes a source file with the provided name and contents.
+     */
+    private fun source(name: String, contents: String): File {
+        val file = File(root, name)
+        file.writeText(contents)
+        return file
+    }
+
+    /**
+     * Requests the provided source from the provided cache using a new destination.
+     */
+    private fun get(cache: TranscodeCache, source: File, parameters: String = "p", extension: String = ".wav",
+                    transcoder: TranscodeCache.Transcoder = this.transcoder) =
+            cache.get(source, parameters, extension, transcoder, File(root, "out/" + destinations++ + extension))
+
+    /**
+     * Returns the names of the entries in the cache directory.
+     */
+    private fun entryNames() = cacheDirectory.list()!!.toSet()
+
+    /**
+     * Tests that entries are keyed by source contents and parameters.
+     */
+    @Test
+    fun testKeying() {
+        val cache = TranscodeCache(cacheDirectory, 10_000)
+        val first = source("first.mp3", "abc")
+
+        val result = get(cache, first, "params")
+        assertTrue(result.isFile)
+        assertEquals("cba", String(result.readBytes().copyOf(3)))
+        assertEquals(1, transcodes.get())
+        val entries = entryNames()
+        assertEquals(1, entries.size)
+
+        assertEquals("cba", String(get(cache, first, "params").readBytes().copyOf(3)))
+        assertEquals("cba", String(get(cache, source("copy.mp3", "abc"), "params").readBytes().copyOf(3)))
+        assertEquals(1, transcodes.get())
+        assertEquals(entries, entryNames())
+
+        get(cache, first, "other")
+        get(cache, first, "params", ".mp3")
+        assertEquals(3, transcodes.get())
+        assertEquals(3, entryNames().size)
+
+        first.writeText("abcd")
+        assertTrue(first.setLastModified(first.lastModified() + 5000))
+        assertEquals("dcba", String(get(cache, first, "params").readBytes().copyOf(4)))
+        assertEquals(4, transcodes.get())
+    }
+
+    /**
+     * Tests that callers receive copies which outlive eviction of their entry and do not affect the cache.
+     */
+    @Test
+    fun testResultsOwnedByCaller() {
+        val cache = TranscodeCache(cacheDirectory, 150)
+        val a = source("a.mp3", "a")
+
+        val result = get(cache, a)
+        val entries = entryNames()
+        result.writeText("modified")
+        assertEquals("a", String(get(cache, a).readBytes().copyOf(1)))
+
+        val evicting = get(cache, source("b.mp3", "b"))
+        assertTrue(entries.none { it in entryNames() })
+        assertTrue(evicting.isFile)
+        assertEquals("modified", result.readText())
+
+        assertTrue(result.delete())
+        assertEquals("a", String(get(cache, a).readBytes().copyOf(1)))
+        assertEquals(3, transcodes.get())
+    }
+
+    /**
+     * Tests that concurrent requests for the same entry share a single transcode.
+     */
+    @Test
+    fun testConcurrentRequestsDeduplicated() {
+        val cache = TranscodeCache(cacheDirectory, 10_000)
+        val file = source("song.mp3", "song")
+        val started = CountDownLatch(1)
+        val release = CountDownLatch(1)
+        val slowTranscoder = TranscodeCache.Transcoder { source, destination ->
+            started.countDown()
+            release.await()
+            transcoder.transcode(source, destination)
+        }
+
+        val executor = Executors.newFixedThreadPool(8)
+        try {
+            val futures = (0 until 8).map { index ->
+                executor.submit<File> {
+                    cache.get(file, "p", ".wav", slowTranscoder, File(root, "out/$index.wav"))
+                }
+            }
+            assertTrue(started.await(5, TimeUnit.SECONDS))
+            Thread.sleep(200)
+            release.countDown()
+
+            val results = futures.map { it.get(5, TimeUnit.SECONDS) }
+            assertEquals(8, results.toSet().size)
+            assertEquals(1, results.map { it.readBytes().toList() }.toSet().size)
+            assertEquals(1, transcodes.get())
+            assertEquals(1, entryNames().size)
+        } finally {
+            executor.shutdownNow()
+        }
+    }
+
+    /**
+     * Tests that the least recently used entries are evicted once over capacity.
+     */
+    @Test
+    fun testLruEviction() {
+        val cache = TranscodeCache(cacheDirectory, 250)
+        get(cache, source("a.mp3", "a"))
+        val a = entryNames()
+        get(cache, source("b.mp3", "b"))
+        val b = entryNames() - a
+        get(cache, source("a.mp3", "a"))
+        get(cache, source("c.mp3", "c"))
+        val c = entryNames() - a - b
+
+        assertTrue(entryNames().containsAll(a))
+        assertTrue(entryNames().none { it in b })
+        assertEquals(1, c.size)
+        assertEquals(200, cache.getSizeBytes())
+    }
+
+    /**
+     * Tests that entries survive restarts and that partial files are discarded.
+     */
+    @Test
+    fun testRestartRecovery() {
+        val first = TranscodeCache(cacheDirectory, 250)
+        get(first, source("a.mp3", "a"))
+        val a = File(cacheDirectory, entryNames().single())
+        get(first, source("b.mp3", "b"))
+        val b = File(cacheDirectory, (entryNames() - a.name).single())
+        assertTrue(a.setLastModified(2_000_000_000_000))
+        assertTrue(b.setLastModified(1_000_000_000_000))
+
+        val partial = File(cacheDirectory, "deadbeef.partial.wav")
+        partial.writeBytes(ByteArray(50))
+
+        val second = TranscodeCache(cacheDirectory, 250)
+        assertEquals(200, second.getSizeBytes())
+        assertFalse(partial.exists())
+
+        assertEquals("a", String(get(second, source("a.mp3", "a")).readBytes().copyOf(1)))
+        assertEquals(2, transcodes.get())
+
+        get(second, source("c.mp3", "c"))
+        assertTrue(a.exists())
+        assertFalse(b.exists())
+    }
+
+    /**
+     * Tests that a failed transcode leaves no entry behind and may be retried.
+     */
+    @Test
+    fun testFailedTranscode() {
+        val cache = TranscodeCache(cacheDirectory, 10_000)
+        val file = source("song.mp3", "song")
+
+        assertThrows(IOException::class.java) {
+            get(cache, file) { _, destination ->
+                destination.writeBytes(ByteArray(10))
+                throw IOException("failed")
+            }
+        }
+        assertThrows(IOException::class.java) { get(cache, file) { _, _ -> } }
+        assertEquals(0, entryNames().size)
+        assertEquals(0, cache.getSizeBytes())
+
+        assertTrue(get(cache, file).isFile)
+        assertEquals(1, entryNames().size)
+    }
+}
@@ -1,11 +1,17 @@
 package cyder.audio
 
 import cyder.strings.LevenshteinUtil
+import cyder.utils.OsUtil
 import cyder.utils.StaticUtil
 import org.junit.jupiter.api.Assertions
 import org.junit.jupiter.api.Test
 import org.junit.jupiter.api.assertDoesNotThrow
+import java.io.ByteArrayInputStream
 import java.io.File
+import javax.sound.sampled.AudioFileFormat
+import javax.sound.sampled.AudioFormat
+import javax.sound.sampled.AudioInputStream
+import javax.sound.sampled.AudioSystem
 
 /**
  * Tests for [WaveFile]s.
@@ -33,7 +39,7 @@ class WavFileTest {
         Assertions.assertTrue(LevenshteinUtil.computeLevenshteinDistance(
                 "WaveFile{numChannels=2, dataLength=44221200, isPlayable=true,"
                         + " audioFormat=PCM_SIGNED 48000.0 Hz, 16 bit, stereo, 4 bytes/frame, little-endian,"
-                        + " clip=com.sun.media.sound.DirectAudioDevice\$DirectClip@42561fba, sampleSize=2,"
+                        + " clip=null, sampleSize=2,"
                         + " numFrames=11055300, sampleRate=48000, wavFile=static\\audio\\allthestars.wav}\n",
                 starsWavFile.toString()) <= 9)
 
@@ -42,7 +48,7 @@ class WavFileTest {
         Assertions.assertTrue(LevenshteinUtil.computeLevenshteinDistance(
                 "WaveFile{numChannels=2, dataLength=37384192, isPlayable=true,"
                         + " audioFormat=PCM_SIGNED 44100.0 Hz, 16 bit, stereo, 4 bytes/frame, little-endian,"
-                        + " clip=com.sun.media.sound.DirectAudioDevice\$DirectClip@6105f8a3, sampleSize=2,"
+                        + " clip=null, sampleSize=2,"
                         + " numFrames=9346048, sampleRate=44100, wavFile=static\\audio\\commando.wav}\n",
                 commandoWavFile.toString()) <= 9)
     }
@@ -76,4 +82,48 @@ class WavFileTest {
 
         Assertions.assertNotEquals(starsWavFile, commandoWavFile)
     }
-}
\ No newline at end of file
+
+    /**
+     * Tests for reading frames from the memory-mapped data of WavFiles.
+     */
+    @Test
+    fun testReadFrames() {
+        val tmpDir = File("tmp")
+        tmpDir.mkdir()
+
+        // Two frames of 24-bit stereo: (max, min) then (0, -1)
+        val data = byteArrayOf(
+                0xFF.toByte(), 0xFF.toByte(), 0x7F, 0x00, 0x00, 0x80.toByte(),
+                0x00, 0x00, 0x00, 0xFF.toByte(), 0xFF.toByte(), 0xFF.toByte())
+        val format = AudioFormat(8000f, 24, 2, true, false)
+        val wav = File(tmpDir, "frames.wav")
+        AudioSystem.write(AudioInputStream(ByteArrayInputStream(data), format, 2),
+                AudioFileFormat.Type.WAVE, wav)
+
+        val waveFile = WaveFile(wav)
+        Assertions.assertEquals(2L, waveFile.numFrames)
+        Assertions.assertEquals(2, waveFile.numChannels)
+        Assertions.assertEquals(3, waveFile.sampleSize)
+
+        Assertions.assertEquals(8388607, waveFile.getSample(0, 0))
+        Assertions.assertEquals(-8388608, waveFile.getSample(0, 1))
+        Assertions.assertEquals(0, waveFile.getSample(1))
+        Assertions.assertEquals(-1, waveFile.getSample(1, 1))
+        Assertions.assertThrows(IllegalArgumentException::class.java) { waveFile.getSample(2, 0) }
+        Assertions.assertThrows(IllegalArgumentException::class.java) { waveFile.getSample(0, 2) }
+
+        val interleaved = FloatArray(6)
+        Assertions.assertEquals(2, waveFile.readFrames(0L, interleaved, 1, 10))
+        Assertions.assertEquals(0.0f, interleaved[0])
+        Assertions.assertEquals(1.0f, interleaved[1], 0.0001f)
+        Assertions.assertEquals(-1.0f, interleaved[2])
+        Assertions.assertEquals(0.0f, interleaved[3])
+
+        val right = FloatArray(2)
+        Assertions.assertEquals(1, waveFile.readFrames(1, 1L, right, 0, 2))
+        Assertions.assertEquals(-1.0f / 8388608, right[0])
+        Assertions.assertEquals(0, waveFile.readFrames(0, 2L, right, 0, 2))
+
+        Assertions.assertTrue(OsUtil.deleteFile(tmpDir, false))
+    }
+}
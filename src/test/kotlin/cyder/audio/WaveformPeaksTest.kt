@@ -0,0 +1,126 @@
+package cyder.audio
+
+import cyder.utils.OsUtil
+import org.junit.jupiter.api.Assertions.*
+import org.junit.jupiter.api.Test
+import java.io.ByteArrayInputStream
+import java.io.File
+import javax.sound.sampled.AudioFileFormat
+import javax.sound.sampled.AudioFormat
+import javax.sound.sampled.AudioInputStream
+import javax.sound.sampled.AudioSystem
+import kotlin.math.PI
+import kotlin.math.roundToInt
+import kotlin.math.sin
+import kotlin.math.sqrt
+
+/**
+ * Tests for [WaveformPeaks].
+ */
+class WaveformPeaksTest {
+    /**
+     * Writes a sine wave of the provided amplitude to a wav file.
+     */
+    private fun writeSineWav(file: File, amplitude: Double, frames: Int, format: AudioFormat) {
+        val bytesPerSample = format.sampleSizeInBits / 8
+        val data = ByteArray(frames * format.frameSize)
+        var index = 0
+        for (frame in 0 until frames) {
+            val sample = amplitude * sin(2 * PI * 440 * frame / format.sampleRate)
+            for (channel in 0 until format.channels) {
+                if (bytesPerSample == 1) {
+                    data[index++] = ((sample * 127).roundToInt() + 128).toByte()
+                } else {
+                    val value = (sample * Short.MAX_VALUE).roundToInt()
+                    data[index++] = (value and 0xFF).toByte()
+                    data[index++] = ((value shr 8) and 0xFF).toByte()
+                }
+            }
+        }
+
+        val stream = AudioInputStream(ByteArrayInputStream(data), format, frames.toLong())
+        AudioSystem.write(stream, AudioFileFormat.Type.WAVE, file)
+    }
+
+    /**
+     * Tests for extracting peaks from a 16-bit stereo wav.
+     */
+    @Test
+    fun testExtract() {
+        val tmpDir = File("tmp")
+        tmpDir.mkdir()
+
+        val wav = File(tmpDir, "sine.wav")
+        writeSineWav(wav, 0.5, 44100, AudioFormat(44100f, 16, 2, true, false))
+
+        val peaks = WaveformPeaks.extract(wav)
+        assertEquals(44100L, peaks.numFrames)
+        assertEquals(44100, peaks.sampleRate)
+        assertEquals((44100 + WaveformPeaks.FRAMES_PER_PEAK - 1) / WaveformPeaks.FRAMES_PER_PEAK,
+                peaks.peakCount)
+
+        val buckets = peaks.toBuckets(10)
+        assertEquals(10, buckets.minimums.size)
+        for (i in 0 until 10) {
+            assertEquals(0.5, buckets.maximums[i].toDouble(), 0.01)
+            assertEquals(-0.5, buckets.minimums[i].toDouble(), 0.01)
+            assertEquals(0.5 / sqrt(2.0), buckets.rms[i].toDouble(), 0.01)
+        }
+        assertEquals(0.5, buckets.maxAmplitude.toDouble(), 0.01)
+
+        val wideBuckets = peaks.toBuckets(1000)
+        assertEquals(1000, wideBuckets.maximums.size)
+
+        assertTrue(OsUtil.deleteFile(tmpDir, false))
+    }
+
+    /**
+     * Tests for extracting peaks from an 8-bit unsigned mono wav.
+     */
+    @Test
+    fun testExtractUnsigned() {
+        val tmpDir = File("tmp")
+        tmpDir.mkdir()
+
+        val wav = File(tmpDir, "sine8.wav")
+        writeSineWav(wav, 0.25, 8000, AudioFormat(8000f, 8, 1, false, false))
+
+        val buckets = WaveformPeaks.extract(wav).toBuckets(4)
+        for (i in 0 until 4) {
+            assertEquals(0.25, buckets.maximums[i].toDouble(), 0.02)
+            assertEquals(-0.25, buckets.minimums[i].toDouble(), 0.02)
+        }
+
+        assertTrue(OsUtil.deleteFile(tmpDir, false))
+    }
+
+    /**
+     * Tests for writing and reading peak files.
+     */
+    @Test
+    fun testPeakFile() {
+        val tmpDir = File("tmp")
+        tmpDir.mkdir()
+
+        val wav = File(tmpDir, "sine.wav")
+        writeSineWav(wav, 0.75, 10000, AudioFormat(22050f, 16, 1, true, false))
+
+        val peakFile = WaveformPeaks.getPeakFile(wav)
+        assertEquals("sine.wav.peaks", peakFile.name)
+        assertFalse(WaveformPeaks.readPeakFile(peakFile, wav).isPresent)
+
+        val peaks = WaveformPeaks.extract(wav)
+        assertTrue(peaks.writePeakFile(peakFile, wav))
+        assertTrue(peakFile.exists())
+
+        val read = WaveformPeaks.readPeakFile(peakFile, wav)
+        assertTrue(read.isPresent)
+        assertEquals(peaks, read.get())
+        assertEquals(peaks, WaveformPeaks.forAudioFile(wav))
+
+        assertTrue(wav.setLastModified(wav.lastModified() - 10000))
+        assertFalse(WaveformPeaks.readPeakFile(peakFile, wav).isPresent)
+
+        assertTrue(OsUtil.deleteFile(tmpDir, false))
+    }
+}
@@ -0,0 +1,98 @@
+package cyder.audio.player
+
+import org.junit.jupiter.api.Assertions.*
+import org.junit.jupiter.api.Test
+
+/**
+ * Tests for [PcmRingBuffer].
+ */
+class PcmRingBufferTest {
+    /**
+     * Returns the samples of the provided range, each sample equal to its position.
+     */
+    private fun samples(range: IntRange) = ShortArray(range.count()) { (range.first + it).toShort() }
+
+    /**
+     * Tests for the constructor.
+     */
+    @Test
+    fun testConstruction() {
+        assertThrows(IllegalArgumentException::class.java) { PcmRingBuffer(0) }
+
+        val ring = PcmRingBuffer(8)
+        assertEquals(8, ring.capacity)
+        assertEquals(0, ring.start)
+        assertEquals(0, ring.end)
+        assertFalse(ring.contains(0))
+    }
+
+    /**
+     * Tests for writing and reading samples without wrapping.
+     */
+    @Test
+    fun testWriteAndRead() {
+        val ring = PcmRingBuffer(8)
+        ring.write(samples(0..4), 0, 5)
+
+        assertEquals(0, ring.start)
+        assertEquals(5, ring.end)
+        assertTrue(ring.contains(4))
+        assertFalse(ring.contains(5))
+
+        val destination = ShortArray(8)
+        assertEquals(3, ring.read(2, destination, 1, 8 - 1))
+        assertEquals(listOf<Short>(0, 2, 3, 4, 0, 0, 0, 0), destination.toList())
+
+        assertEquals(0, ring.read(5, destination, 0, 8))
+        assertThrows(IllegalArgumentException::class.java) { ring.read(6, destination, 0, 8) }
+    }
+
+    /**
+     * Tests for writes which overwrite the oldest samples once the ring is full.
+     */
+    @Test
+    fun testWrapping() {
+        val ring = PcmRingBuffer(8)
+        ring.write(samples(0..5), 0, 6)
+        ring.write(samples(6..10), 0, 5)
+
+        assertEquals(3, ring.start)
+        assertEquals(11, ring.end)
+        assertFalse(ring.contains(2))
+        assertThrows(IllegalArgumentException::class.java) { ring.read(2, ShortArray(8), 0, 8) }
+
+        val destination = ShortArray(8)
+        assertEquals(8, ring.read(3, destination, 0, 8))
+        assertEquals(samples(3..10).toList(), destination.toList())
+
+        assertEquals(4, ring.read(5, destination, 0, 4))
+        assertEquals(samples(5..8).toList(), destination.take(4))
+    }
+
+    /**
+     * Tests for truncating and clearing the ring.
+     */
+    @Test
+    fun testTruncateAndClear() {
+        val ring = PcmRingBuffer(8)
+        ring.write(samples(0..5), 0, 6)
+
+        ring.truncate(4)
+        assertEquals(4, ring.end)
+        assertThrows(IllegalArgumentException::class.java) { ring.truncate(5) }
+
+        ring.write(samples(100..101), 0, 2)
+        val destination = ShortArray(6)
+        assertEquals(6, ring.read(0, destination, 0, 6))
+        assertEquals(listOf<Short>(0, 1, 2, 3, 100, 101), destination.toList())
+
+        ring.clear()
+        assertEquals(6, ring.start)
+        assertEquals(6, ring.end)
+        assertFalse(ring.contains(5))
+
+        ring.write(samples(6..7), 0, 2)
+        assertTrue(ring.contains(6))
+        assertEquals(2, ring.read(6, destination, 0, 6))
+    }
+}
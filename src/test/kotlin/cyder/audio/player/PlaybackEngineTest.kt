@@ -0,0 +1,221 @@
+package cyder.audio.player
+
+import org.junit.jupiter.api.Assertions.*
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.io.TempDir
+import java.io.ByteArrayInputStream
+import java.io.ByteArrayOutputStream
+import java.io.File
+import java.util.*
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import javax.sound.sampled.*
+
+/**
+ * Tests for [PlaybackEngine].
+ */
+class PlaybackEngineTest {
+    /**
+     * A line which consumes written audio immediately and records it.
+     */
+    private class RecordingLine(private val format: AudioFormat) : SourceDataLine {
+        val written = ByteArrayOutputStream()
+        private var open = false
+        private var running = false
+        private var frames = 0L
+
+        override fun open(format: AudioFormat, bufferSize: Int) {
+            open = true
+        }
+
+        override fun open(format: AudioFormat) = open(format, 0)
+        override fun open() = open(format, 0)
+
+        @Synchronized
+        override fun write(bytes: ByteArray, offset: Int, length: Int): Int {
+            written.write(bytes, offset, length)
+            frames += length / format.frameSize
+            return length
+        }
+
+        override fun drain() {}
+        override fun flush() {}
+
+        override fun start() {
+            running = true
+        }
+
+        override fun stop() {
+            running = false
+        }
+
+        override fun close() {
+            open = false
+        }
+
+        override fun isOpen() = open
+        override fun isRunning() = running
+        override fun isActive() = running
+        override fun getFormat() = format
+        override fun getBufferSize() = 0
+        override fun available() = 0
+        override fun getFramePosition() = longFramePosition.toInt()
+
+        @Synchronized
+        override fun getLongFramePosition() = frames
+
+        override fun getMicrosecondPosition() = longFramePosition * 1_000_000 / format.sampleRate.toLong()
+        override fun getLevel() = AudioSystem.NOT_SPECIFIED.toFloat()
+        override fun getLineInfo() = DataLine.Info(SourceDataLine::class.java, format)
+        override fun getControls() = arrayOf<Control>()
+        override fun isControlSupported(control: Control.Type) = false
+        override fun getControl(control: Control.Type) = throw IllegalArgumentException()
+        override fun addLineListener(listener: LineListener) {}
+        override fun removeLineListener(listener: LineListener) {}
+    }
+
+    /**
+     * The temporary directory of each test.
+     */
+    @TempDir
+    lateinit var directory: File
+
+    /**
+     * Writes a mono wav file of the provided samples and returns the file.
+     */
+    private fun writeWav(file: File, sampleRate: Int, samples: ShortArray): File {
+        val bytes = ByteArray(samples.size * 2)
+        samples.forEachIndexed { index, sample ->
+            bytes[2 * index] = sample.toByte()
+            bytes[2 * index + 1] = (sample.toInt() shr 8).toByte()
+        }
+
+        val format = AudioFormat(sampleRate.toFloat(), 16, 1, true, false)
+        AudioInputStream(ByteArrayInputStream(bytes), format, samples.size.toLong()).use {
+            AudioSystem.write(it, AudioFileFormat.Type.WAVE, file)
+        }
+        return file
+    }
+
+    /**
+     * Returns the provided number of samples starting from the provided value.
+     */
+    private fun samples(first: Int, count: Int) = ShortArray(count) { (first + it).toShort() }
+
+    /**
+     * Returns the little-endian bytes of the provided samples.
+     */
+    private fun bytesOf(vararg samples: ShortArray) = samples.flatMap { array ->
+        array.flatMap { listOf(it.toByte(), (it.toInt() shr 8).toByte()) }
+    }
+
+    /**
+     * Tests for playing one track into the next through a single line.
+     */
+    @Test
+    fun testGaplessTransition() {
+        val firstSamples = samples(0, 9000)
+        val secondSamples = samples(-5000, 7000)
+        val first = writeWav(File(directory, "first.wav"), 8000, firstSamples)
+        val second = writeWav(File(directory, "second.wav"), 8000, secondSamples)
+
+        val lines = CopyOnWriteArrayList<RecordingLine>()
+        val events = CopyOnWriteArrayList<String>()
+        val ended = CountDownLatch(1)
+        val engine = PlaybackEngine({ finished ->
+            if (finished == first) Optional.of(second) else Optional.empty()
+        }, { false }, object : PlaybackEngine.Listener {
+            override fun onTrackStarted(file: File) {
+                events.add("started " + file.name)
+            }
+
+            override fun onPlaybackEnded() {
+                events.add("ended")
+                ended.countDown()
+            }
+        }, { format -> RecordingLine(format).also { lines.add(it) } })
+
+        try {
+            engine.play(first, 0)
+            assertTrue(ended.await(10, TimeUnit.SECONDS))
+
+            assertEquals(1, lines.size)
+            assertEquals(bytesOf(firstSamples, secondSamples), lines[0].written.toByteArray().toList())
+            assertEquals(listOf("started second.wav", "ended"), events)
+            assertFalse(engine.isPlaying)
+            assertEquals(Optional.of(second), engine.currentFile)
+        } finally {
+            engine.close()
+        }
+    }
+
+    /**
+     * Tests for reopening the line when the next track has a different format.
+     */
+    @Test
+    fun testFormatChange() {
+        val firstSamples = samples(0, 4000)
+        val secondSamples = samples(100, 3000)
+        val first = writeWav(File(directory, "first.wav"), 8000, firstSamples)
+        val second = writeWav(File(directory, "second.wav"), 16000, secondSamples)
+
+        val lines = CopyOnWriteArrayList<RecordingLine>()
+        val ended = CountDownLatch(1)
+        val engine = PlaybackEngine({ finished ->
+            if (finished == first) Optional.of(second) else Optional.empty()
+        }, { false }, object : PlaybackEngine.Listener {
+            override fun onTrackStarted(file: File) {}
+
+            override fun onPlaybackEnded() {
+                ended.countDown()
+            }
+        }, { format -> RecordingLine(format).also { lines.add(it) } })
+
+        try {
+            engine.play(first, 0)
+            assertTrue(ended.await(10, TimeUnit.SECONDS))
+
+            assertEquals(2, lines.size)
+            assertEquals(8000f, lines[0].format.sampleRate)
+            assertEquals(16000f, lines[1].format.sampleRate)
+            assertEquals(bytesOf(firstSamples), lines[0].written.toByteArray().toList())
+            assertEquals(bytesOf(secondSamples), lines[1].written.toByteArray().toList())
+        } finally {
+            engine.close()
+        }
+    }
+
+    /**
+     * Tests for starting playback from a position and for seeking within the retained audio.
+     */
+    @Test
+    fun testPlayFromPosition() {
+        val track = writeWav(File(directory, "track.wav"), 8000, samples(0, 16000))
+
+        val lines = CopyOnWriteArrayList<RecordingLine>()
+        val ended = CountDownLatch(2)
+        val engine = PlaybackEngine({ Optional.empty() }, { false }, object : PlaybackEngine.Listener {
+            override fun onTrackStarted(file: File) {}
+
+            override fun onPlaybackEnded() {
+                ended.countDown()
+            }
+        }, { format -> RecordingLine(format).also { lines.add(it) } })
+
+        try {
+            engine.play(track, 1500)
+            while (engine.isPlaying) Thread.sleep(10)
+            assertEquals(bytesOf(samples(12000, 4000)), lines[0].written.toByteArray().toList())
+            assertEquals(2000, engine.positionMillis)
+
+            lines[0].written.reset()
+            engine.play(track, 1750)
+            assertTrue(ended.await(10, TimeUnit.SECONDS))
+            assertEquals(1, lines.size)
+            assertEquals(bytesOf(samples(14000, 2000)), lines[0].written.toByteArray().toList())
+        } finally {
+            engine.close()
+        }
+    }
+}
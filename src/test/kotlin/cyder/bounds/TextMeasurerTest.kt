@@ -0,0 +1,58 @@
+package cyder.bounds
+
+import org.junit.jupiter.api.Assertions
+import org.junit.jupiter.api.Test
+import java.awt.Font
+import java.awt.font.FontRenderContext
+import java.awt.geom.AffineTransform
+
+/**
+ * Tests for the [TextMeasurer].
+ */
+class TextMeasurerTest {
+    /**
+     * The fonts to measure using.
+     */
+    private val fonts = listOf(Font("Dialog", Font.PLAIN, 14),
+            Font("Serif", Font.BOLD, 22), Font("Monospaced", Font.ITALIC, 11))
+
+    /**
+     * The strings to measure.
+     */
+    private val strings = listOf("", " ", "Still it cried 'Sleep no more!' to all the house",
+            "Glamis hath murdered sleep, and therefore Cawdor shall sleep no more;", "éñü — λ")
+
+    /**
+     * Tests for measured widths being identical to the widths of the font's string bounds.
+     */
+    @Test
+    fun testWidth() {
+        val italicContext = FontRenderContext(AffineTransform(), false, true)
+
+        for (font in fonts) {
+            for (context in listOf(TextMeasurer.DEFAULT_RENDER_CONTEXT, italicContext)) {
+                val measurer = TextMeasurer.forFont(font, context)
+                Assertions.assertSame(measurer, TextMeasurer.forFont(font, context))
+
+                for (string in strings) {
+                    Assertions.assertEquals(font.getStringBounds(string, context).width, measurer.width(string))
+                }
+            }
+        }
+
+        Assertions.assertThrows(NullPointerException::class.java) { TextMeasurer.forFont(null) }
+        Assertions.assertThrows(NullPointerException::class.java) { TextMeasurer.forFont(fonts[0]).width(null) }
+    }
+
+    /**
+     * Tests for html bounds calculations being remembered.
+     */
+    @Test
+    fun testRecentCalculations() {
+        val text = "<html><b>Sleep</b> no more, Macbeth shall sleep no more</html>"
+        val bounds = BoundsUtil.widthHeightCalculation(text, fonts[0], 100)
+
+        Assertions.assertSame(bounds, BoundsUtil.widthHeightCalculation(text, fonts[0], 100))
+        Assertions.assertTrue(bounds.text.contains("<br/>"))
+    }
+}
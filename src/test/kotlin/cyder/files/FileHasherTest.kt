@@ -0,0 +1,154 @@
+package cyder.files
+
+import cyder.utils.SecurityUtil.HashingAlgorithm
+import org.junit.jupiter.api.Assertions.*
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.io.TempDir
+import java.io.File
+import java.io.IOException
+import java.security.MessageDigest
+import java.util.*
+import java.util.concurrent.CancellationException
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
+/**
+ * Tests for [FileHasher] and [FileHashes].
+ */
+class FileHasherTest {
+    /**
+     * The temporary directory of each test.
+     */
+    @TempDir
+    lateinit var directory: File
+
+    /**
+     * Returns the lowercase hex hash of the provided bytes using the provided algorithm.
+     */
+    private fun expectedHash(algorithm: HashingAlgorithm, bytes: ByteArray) =
+            HexFormat.of().formatHex(MessageDigest.getInstance(algorithm.getName()).digest(bytes))
+
+    /**
+     * Asserts the provided hashes are those of the provided bytes.
+     */
+    private fun assertHashes(bytes: ByteArray, hashes: FileHashes) {
+        assertEquals(bytes.size.toLong(), hashes.length)
+        HashingAlgorithm.values().forEach { algorithm ->
+            assertEquals(expectedHash(algorithm, bytes), hashes.getHash(algorithm))
+        }
+    }
+
+    /**
+     * Tests for hashing a single file.
+     */
+    @Test
+    fun testHash() {
+        val empty = File(directory, "empty.bin").also { it.writeBytes(ByteArray(0)) }
+        assertHashes(ByteArray(0), FileHasher.hash(empty))
+        assertEquals("d41d8cd98f00b204e9800998ecf8427e", FileHasher.hash(empty).md5)
+
+        val small = "The quick brown fox jumps over the lazy dog".toByteArray()
+        val smallFile = File(directory, "small.txt").also { it.writeBytes(small) }
+        assertHashes(small, FileHasher.hash(smallFile))
+
+        val large = ByteArray(FileHasher.BUFFER_SIZE * 2 + 12345).also { Random(7).nextBytes(it) }
+        val largeFile = File(directory, "large.bin").also { it.writeBytes(large) }
+        val hashedBlocks = CopyOnWriteArrayList<Long>()
+        assertHashes(large, FileHasher.hash(largeFile) { hashedBlocks.add(it) })
+        assertEquals(large.size.toLong(), hashedBlocks.sum())
+
+        assertThrows(IOException::class.java) { FileHasher.hash(File(directory, "missing.bin")) }
+    }
+
+    /**
+     * Tests for hashing a batch of files in parallel.
+     */
+    @Test
+    fun testHashAll() {
+        val random = Random(11)
+        val contents = (0 until 6).map { ByteArray(random.nextInt(FileHasher.BUFFER_SIZE * 2)) }
+        contents.forEach { random.nextBytes(it) }
+        val files = contents.mapIndexed { index, bytes ->
+            File(directory, "file$index.bin").also { it.writeBytes(bytes) }
+        }
+        val missing = File(directory, "missing.bin")
+
+        val reports = CopyOnWriteArrayList<FileHasher.Progress>()
+        val hashes = FileHasher.hashAll(files.subList(0, 3) + missing + files.subList(3, 6)) {
+            reports.add(it)
+        }.get(30, TimeUnit.SECONDS)
+
+        assertEquals(files, hashes.map { it.file() })
+        hashes.forEachIndexed { index, fileHashes -> assertHashes(contents[index], fileHashes) }
+
+        val last = reports.last()
+        assertTrue(last.isComplete)
+        assertEquals(7, last.totalFiles())
+        assertEquals(contents.sumOf { it.size.toLong() }, last.bytesHashed())
+        assertEquals(last.totalBytes(), last.bytesHashed())
+        assertEquals(1f, last.fraction)
+        assertTrue(last.bytesPerSecond >= 0)
+    }
+
+    /**
+     * Tests for hashing an empty batch.
+     */
+    @Test
+    fun testHashAllEmpty() {
+        val reports = CopyOnWriteArrayList<FileHasher.Progress>()
+        assertTrue(FileHasher.hashAll(listOf()) { reports.add(it) }.get(10, TimeUnit.SECONDS).isEmpty())
+        assertEquals(1, reports.size)
+        assertTrue(reports[0].isComplete)
+        assertEquals(1f, reports[0].fraction)
+    }
+
+    /**
+     * Tests that cancelling the hashing of a batch stops its hashing threads.
+     */
+    @Test
+    fun testHashAllCancel() {
+        val files = (0 until 8).map { index ->
+            File(directory, "file$index.bin").also { it.writeBytes(ByteArray(FileHasher.BUFFER_SIZE * 4)) }
+        }
+
+        val reported = CountDownLatch(1)
+        val hashing = FileHasher.hashAll(files) {
+            reported.countDown()
+            try {
+                Thread.sleep(TimeUnit.SECONDS.toMillis(30))
+            } catch (e: InterruptedException) {
+                Thread.currentThread().interrupt()
+            }
+        }
+
+        assertTrue(reported.await(10, TimeUnit.SECONDS))
+        assertTrue(hashing.cancel(true))
+        assertThrows(CancellationException::class.java) { hashing.get() }
+
+        val deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10)
+        while (hashingThreadsAlive() && System.nanoTime() < deadline) Thread.sleep(10)
+        assertFalse(hashingThreadsAlive())
+    }
+
+    /**
+     * Returns whether any thread started by [FileHasher] is alive.
+     */
+    private fun hashingThreadsAlive() = Thread.getAllStackTraces().keys.any { it.name.startsWith("File Hasher") }
+
+    /**
+     * Tests for finding the algorithm of a checksum.
+     */
+    @Test
+    fun testFindMatchingAlgorithm() {
+        val bytes = "checksum".toByteArray()
+        val hashes = FileHasher.hash(File(directory, "checksum.txt").also { it.writeBytes(bytes) })
+
+        HashingAlgorithm.values().forEach { algorithm ->
+            val checksum = expectedHash(algorithm, bytes)
+            assertEquals(Optional.of(algorithm), hashes.findMatchingAlgorithm(checksum))
+            assertEquals(Optional.of(algorithm), hashes.findMatchingAlgorithm(checksum.uppercase()))
+        }
+        assertEquals(Optional.empty<HashingAlgorithm>(), hashes.findMatchingAlgorithm("0".repeat(64)))
+    }
+}
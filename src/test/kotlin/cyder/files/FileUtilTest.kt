@@ -493,4 +493,41 @@ class FileUtilTest {
 
         Assertions.assertTrue(OsUtil.deleteFile(tmpDir, false))
     }
-}
\ No newline at end of file
+
+    /**
+     * Tests for the write versioned atomically and read versioned methods.
+     */
+    @Test
+    fun testWriteVersionedAtomically() {
+        val tmpDir = File("tmp")
+        val file = File(tmpDir, "nested/versioned.bin")
+        var read = ""
+
+        Assertions.assertFalse(FileUtil.readVersioned(file, 0x54455354, 1) { read = "invoked" })
+        Assertions.assertEquals("", read)
+
+        FileUtil.writeVersionedAtomically(file, 0x54455354, 1) { it.writeUTF("first") }
+        FileUtil.writeVersionedAtomically(file, 0x54455354, 1) { it.writeUTF("second") }
+        Assertions.assertEquals(1, file.parentFile.listFiles()!!.size)
+
+        Assertions.assertTrue(FileUtil.readVersioned(file, 0x54455354, 1) { read = it.readUTF() })
+        Assertions.assertEquals("second", read)
+        Assertions.assertFalse(FileUtil.readVersioned(file, 0x54455354, 2) { read = "invoked" })
+        Assertions.assertFalse(FileUtil.readVersioned(file, 0x4F544852, 1) { read = "invoked" })
+        Assertions.assertEquals("second", read)
+
+        Assertions.assertThrows(IOException::class.java) {
+            FileUtil.writeAtomically(file) { throw IOException("failed") }
+        }
+        Assertions.assertEquals(1, file.parentFile.listFiles()!!.size)
+        Assertions.assertTrue(FileUtil.readVersioned(file, 0x54455354, 1) { read = it.readUTF() })
+        Assertions.assertEquals("second", read)
+
+        val moved = File(tmpDir, "moved.bin")
+        FileUtil.moveAtomically(file, moved)
+        Assertions.assertFalse(file.exists())
+        Assertions.assertTrue(FileUtil.readVersioned(moved, 0x54455354, 1) { read = it.readUTF() })
+
+        Assertions.assertTrue(OsUtil.deleteFile(tmpDir, false))
+    }
+}
@@ -0,0 +1,73 @@
+package cyder.files
+
+import org.junit.jupiter.api.Assertions
+import org.junit.jupiter.api.Test
+import java.io.File
+import java.util.*
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
+/**
+ * Tests for [MappedTextFile]s.
+ */
+class MappedTextFileTest {
+    /**
+     * Maps the provided file and waits for its line index to complete.
+     */
+    private fun mapAndIndex(file: File): MappedTextFile {
+        val latch = CountDownLatch(1)
+        val mapped = MappedTextFile(file) { _, complete -> if (complete) latch.countDown() }
+        Assertions.assertTrue(latch.await(10, TimeUnit.SECONDS))
+        return mapped
+    }
+
+    /**
+     * Tests for indexing, reading, and searching lines.
+     */
+    @Test
+    fun testLines() {
+        val file = File.createTempFile("mapped_text_file_test", ".txt")
+        file.deleteOnExit()
+
+        val lineCount = 10 * MappedTextFile.LINES_PER_CHECKPOINT + 7
+        file.writeText((0 until lineCount).joinToString(separator = "\r\n") { "line $it ü" })
+
+        val mapped = mapAndIndex(file)
+        Assertions.assertEquals(lineCount.toLong(), mapped.indexedLineCount)
+
+        Assertions.assertEquals(listOf("line 0 ü", "line 1 ü"), mapped.readLines(0, 2, 100))
+        Assertions.assertEquals(listOf("line 2565 ü", "line 2566 ü"), mapped.readLines(2565, 5, 100))
+        Assertions.assertEquals(listOf("line 1"), mapped.readLines(1, 1, 6))
+        Assertions.assertEquals(emptyList<String>(), mapped.readLines(lineCount.toLong(), 1, 100))
+        Assertions.assertEquals(mapped.length(), mapped.getLineOffset(lineCount.toLong()))
+
+        Assertions.assertEquals(OptionalLong.of(1234), mapped.findLine("line 1234 ", 0))
+        Assertions.assertEquals(OptionalLong.of(1234), mapped.findLine("line 1234 ", 1234))
+        Assertions.assertEquals(OptionalLong.empty(), mapped.findLine("line 1234 ", 1235))
+        Assertions.assertEquals(OptionalLong.of(0), mapped.findLine("ü", 0))
+        Assertions.assertEquals(OptionalLong.empty(), mapped.findLine("missing", 0))
+
+        Assertions.assertFalse(mapped.isClosed)
+        mapped.close()
+        Assertions.assertTrue(mapped.isClosed)
+        Assertions.assertEquals(OptionalLong.empty(), mapped.findLine("line 1234 ", 0))
+        Assertions.assertThrows(IllegalStateException::class.java) { mapped.readLines(0, 1, 100) }
+        Assertions.assertThrows(IllegalStateException::class.java) { mapped.getLineOffset(0) }
+    }
+
+    /**
+     * Tests for empty files and files ending with a line feed.
+     */
+    @Test
+    fun testEdges() {
+        val file = File.createTempFile("mapped_text_file_test", ".txt")
+        file.deleteOnExit()
+
+        Assertions.assertEquals(0L, mapAndIndex(file).indexedLineCount)
+
+        file.writeText("a\nb\n")
+        val mapped = mapAndIndex(file)
+        Assertions.assertEquals(2L, mapped.indexedLineCount)
+        Assertions.assertEquals(listOf("a", "b"), mapped.readLines(0, 5, 10))
+    }
+}
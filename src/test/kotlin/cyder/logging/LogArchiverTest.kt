@@ -0,0 +1,66 @@
+package cyder.logging
+
+import org.junit.jupiter.api.Assertions.*
+import org.junit.jupiter.api.Test
+import java.io.File
+import java.nio.file.Files
+import java.util.zip.ZipFile
+
+/**
+ * Tests for the [LogArchiver].
+ */
+class LogArchiverTest {
+    /**
+     * Tests for archiving past log directories and reading the archived logs.
+     */
+    @Test
+    fun testArchivePastLogs() {
+        val logs = Files.createTempDirectory("log_archiver_test").toFile()
+
+        val pastDay = File(logs, "2026-01-01")
+        pastDay.mkdirs()
+        val pastLogs = (0 until 8).associate { session ->
+            val name = "1$session-00-00.log"
+            val content = (0 until 2000).joinToString(separator = "\n") { "[1$session-00-00.000] [Debug]: line $it ü" }
+            File(pastDay, name).writeText(content)
+            name to content
+        }
+        File(pastDay, "empty.log").writeText("")
+
+        val archivedDay = File(logs, "2026-01-02")
+        archivedDay.mkdirs()
+        File(archivedDay, "00-00-00.log").writeText("not rearchived")
+        val existingArchive = File(logs, "2026-01-02.zip")
+        existingArchive.writeText("existing")
+
+        val currentDay = File(logs, "2026-01-03")
+        currentDay.mkdirs()
+        File(currentDay, "00-00-00.log").writeText("current")
+
+        val leftover = File(logs, "2026-01-00.zip.tmp")
+        leftover.writeText("partial")
+
+        assertEquals(1, LogArchiver.archivePastLogs(logs, currentDay))
+
+        assertFalse(pastDay.exists())
+        assertFalse(archivedDay.exists())
+        assertFalse(leftover.exists())
+        assertTrue(currentDay.exists())
+        assertEquals("existing", existingArchive.readText())
+
+        val archive = File(logs, "2026-01-01.zip")
+        assertEquals(pastLogs.keys.sorted() + "empty.log", LogArchiver.listArchivedLogs(archive).sorted())
+
+        ZipFile(archive).use { zip ->
+            assertEquals(pastLogs["13-00-00.log"],
+                    zip.getInputStream(zip.getEntry("13-00-00.log")).readBytes().toString(Charsets.UTF_8))
+        }
+        LogArchiver.openArchivedLog(archive, "15-00-00.log").use { reader ->
+            assertEquals(pastLogs["15-00-00.log"], reader.readText())
+        }
+        LogArchiver.openArchivedLog(archive, "empty.log").use { reader -> assertEquals("", reader.readText()) }
+        assertThrows(java.io.FileNotFoundException::class.java) { LogArchiver.openArchivedLog(archive, "missing.log") }
+
+        logs.deleteRecursively()
+    }
+}
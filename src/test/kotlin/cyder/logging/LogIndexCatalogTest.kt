@@ -0,0 +1,92 @@
+package cyder.logging
+
+import org.junit.jupiter.api.Assertions.*
+import org.junit.jupiter.api.Test
+import java.io.File
+import java.nio.file.Files
+import java.time.LocalDate
+import java.time.ZoneId
+
+/**
+ * Tests for [LogIndexCatalog]s.
+ */
+class LogIndexCatalogTest {
+    /**
+     * The lines of the first session.
+     */
+    private val firstSession = listOf(
+            "Cyder ascii art",
+            "[23-59-58.000] [Logger Initialization]: Os username: nathan",
+            "[23-59-59.000] [Thread Started] [Thread]: Cyder Busy Checker",
+            "[00-00-01.000] [Exception]: ",
+            "Exception origin: java.io.IOException: Stream closed",
+            "    at cyder.Example",
+            "[00-00-02.000] [Exception]: java.lang.NullPointerException: null",
+            "[00-00-03.000] [Exception]: ",
+            "[00-00-04.000] [Thread Started] [5x]: Cyder Busy Checker",
+            "[00-00-05.000] [Exit Condition]: 0, Standard exit",
+            "[00-00-06.000] [Eol]: End Of Log")
+
+    /**
+     * Tests for querying the indexes of multiple logs and indexing appended lines.
+     */
+    @Test
+    fun testQueries() {
+        val root = Files.createTempDirectory("log_index_catalog_test").toFile()
+        val logs = File(root, "logs")
+        val indexes = File(root, "indexes")
+
+        val first = File(logs, "2026-01-01/23-59-58.log")
+        first.parentFile.mkdirs()
+        first.writeText(firstSession.joinToString(separator = "\n", postfix = "\n"))
+
+        val second = File(logs, "2026-01-03/12-00-00.log")
+        second.parentFile.mkdirs()
+        second.writeText("[12-00-00.000] [Thread Started]: Cyder Busy Checker\n[12-00-01.000] [Exception]: ")
+
+        val catalog = LogIndexCatalog(logs, indexes)
+        catalog.refresh()
+
+        val zone = ZoneId.systemDefault()
+        val dayTwo = LocalDate.of(2026, 1, 2).atStartOfDay(zone).toInstant().toEpochMilli()
+
+        assertEquals(3L, catalog.countTag("Thread Started", Long.MIN_VALUE, Long.MAX_VALUE))
+        assertEquals(1L, catalog.countTag("Thread Started", Long.MIN_VALUE, dayTwo))
+        assertEquals(2L, catalog.countTag("Thread Started", dayTwo, Long.MAX_VALUE))
+        assertEquals(0L, catalog.countTag("5x", Long.MIN_VALUE, Long.MAX_VALUE))
+        assertEquals(3L, catalog.countTags(Long.MIN_VALUE, Long.MAX_VALUE)["Exception"])
+
+        val exceptions = catalog.getExceptionFrequency(Long.MIN_VALUE, Long.MAX_VALUE)
+        assertEquals(mapOf("java.io.IOException" to 1L, "java.lang.NullPointerException" to 1L,
+                LogIndex.UNKNOWN_EXCEPTION to 1L), exceptions)
+
+        val sessions = catalog.getSessions()
+        assertEquals(2, sessions.size)
+        assertTrue(sessions[0].concluded)
+        assertEquals("0, Standard exit", sessions[0].exitCondition)
+        assertEquals(dayTwo + 6000, sessions[0].endMillis)
+        assertFalse(sessions[1].concluded)
+        assertEquals(1, sessions[1].entries)
+
+        second.appendText("\n[12-00-02.000] [Thread Started]: Cyder Busy Checker\n")
+        catalog.refresh()
+        assertEquals(3L, catalog.countTag("Thread Started", dayTwo, Long.MAX_VALUE))
+        assertEquals(listOf("[12-00-00.000] [Thread Started]: Cyder Busy Checker",
+                "[12-00-02.000] [Thread Started]: Cyder Busy Checker"),
+                catalog.findLines("Thread Started", dayTwo, Long.MAX_VALUE, 2).map { it.line })
+
+        first.delete()
+        val reloaded = LogIndexCatalog(logs, indexes)
+        reloaded.refresh()
+        assertEquals(4L, reloaded.countTag("Thread Started", Long.MIN_VALUE, Long.MAX_VALUE))
+        assertFalse(reloaded.sessions[0].logAvailable)
+        assertEquals(2, reloaded.findLines("Thread Started", Long.MIN_VALUE, Long.MAX_VALUE, 5).size)
+
+        second.writeText("[13-00-00.000] [Exception]: java.lang.IllegalStateException: rewritten\n")
+        reloaded.refresh()
+        assertEquals(1L, reloaded.countTag("Thread Started", dayTwo, Long.MAX_VALUE))
+        assertEquals(1L, reloaded.getExceptionFrequency(dayTwo, Long.MAX_VALUE)["java.lang.IllegalStateException"])
+
+        root.deleteRecursively()
+    }
+}
@@ -0,0 +1,129 @@
+package cyder.math
+
+import com.google.common.collect.ImmutableList
+import com.google.common.collect.ImmutableSortedMap
+import org.junit.jupiter.api.Assertions.*
+import org.junit.jupiter.api.Test
+import java.math.BigInteger
+
+/**
+ * Tests for the [NumberTheoryUtil].
+ */
+class NumberTheoryUtilTest {
+    /**
+     * Tests that primality agrees with the sieve for small numbers.
+     */
+    @Test
+    fun testIsPrimeAgreesWithSieve() {
+        val primes = NumberTheoryUtil.primesInRange(0, 200_000).toSet()
+        assertEquals(17984, primes.size)
+
+        for (num in 0L..200_000L) {
+            assertEquals(primes.contains(num), NumberTheoryUtil.isPrime(num), num.toString())
+        }
+
+        assertFalse(NumberTheoryUtil.isPrime(-7))
+    }
+
+    /**
+     * Tests primality of large numbers including strong pseudoprimes to several bases.
+     */
+    @Test
+    fun testIsPrimeLarge() {
+        assertFalse(NumberTheoryUtil.isPrime(3215031751L))
+        assertFalse(NumberTheoryUtil.isPrime(3825123056546413051L))
+        assertFalse(NumberTheoryUtil.isPrime(1_000_003L * 1_000_003L))
+
+        assertTrue(NumberTheoryUtil.isPrime(2147483647L))
+        assertTrue(NumberTheoryUtil.isPrime(1_000_000_007L))
+        assertTrue(NumberTheoryUtil.isPrime(Long.MAX_VALUE - 24))
+        assertFalse(NumberTheoryUtil.isPrime(Long.MAX_VALUE))
+
+        assertTrue(NumberTheoryUtil.isPrime(BigInteger.TWO.pow(127).subtract(BigInteger.ONE)))
+        assertFalse(NumberTheoryUtil.isPrime(BigInteger("318665857834031151167461")))
+        assertTrue(NumberTheoryUtil.isPrime(BigInteger.valueOf(1_000_000_007L)))
+    }
+
+    /**
+     * Tests enumeration of primes within ranges.
+     */
+    @Test
+    fun testPrimesInRange() {
+        assertEquals(ImmutableList.of(2L, 3L, 5L, 7L), NumberTheoryUtil.primesInRange(0, 10))
+        assertEquals(ImmutableList.of(11L, 13L), NumberTheoryUtil.primesInRange(11, 13))
+        assertEquals(ImmutableList.of<Long>(), NumberTheoryUtil.primesInRange(24, 28))
+
+        val low = 1_000_000_000_000L
+        val primes = NumberTheoryUtil.primesInRange(low, low + 100_000)
+        assertEquals(primes, (low..low + 100_000).filter { NumberTheoryUtil.isPrime(it) })
+
+        assertThrows(IllegalArgumentException::class.java) { NumberTheoryUtil.primesInRange(10, 5) }
+        assertThrows(IllegalArgumentException::class.java) {
+            NumberTheoryUtil.primesInRange(0, NumberTheoryUtil.MAXIMUM_SIEVE_RANGE)
+        }
+    }
+
+    /**
+     * Tests factoring with multiplicities.
+     */
+    @Test
+    fun testFactor() {
+        assertEquals(ImmutableSortedMap.of<Long, Int>(), NumberTheoryUtil.factor(1))
+        assertEquals(ImmutableSortedMap.of(2L, 3, 3L, 1, 5L, 1), NumberTheoryUtil.factor(120))
+        assertEquals(ImmutableSortedMap.of(2L, 62), NumberTheoryUtil.factor(1L shl 62))
+        assertEquals(ImmutableSortedMap.of(1_000_003L, 2), NumberTheoryUtil.factor(1_000_003L * 1_000_003L))
+        assertEquals(ImmutableSortedMap.of(7L, 2, 73L, 1, 127L, 1, 337L, 1, 92737L, 1, 649657L, 1),
+                NumberTheoryUtil.factor(Long.MAX_VALUE))
+
+        val semiprime = 999_999_937L * 999_999_929L
+        assertEquals(ImmutableSortedMap.of(999_999_929L, 1, 999_999_937L, 1), NumberTheoryUtil.factor(semiprime))
+
+        for (num in 1L..20_000L) {
+            var product = 1L
+            NumberTheoryUtil.factor(num).forEach { (prime, multiplicity) ->
+                assertTrue(NumberTheoryUtil.isPrime(prime))
+                repeat(multiplicity) { product *= prime }
+            }
+            assertEquals(num, product)
+        }
+
+        assertThrows(IllegalArgumentException::class.java) { NumberTheoryUtil.factor(0) }
+    }
+
+    /**
+     * Tests factoring numbers which do not fit in a long.
+     */
+    @Test
+    fun testFactorBigInteger() {
+        val p = BigInteger.valueOf(4_294_967_291L)
+        val q = BigInteger.valueOf(4_294_967_279L)
+        val num = p.multiply(q).multiply(BigInteger.valueOf(1_000_000_007L)).multiply(BigInteger.valueOf(12))
+
+        assertEquals(ImmutableSortedMap.of(BigInteger.TWO, 2, BigInteger.valueOf(3), 1,
+                BigInteger.valueOf(1_000_000_007L), 1, q, 1, p, 1), NumberTheoryUtil.factor(num))
+        assertEquals("2^2 * 3 * 1000000007 * 4294967279 * 4294967291",
+                NumberTheoryUtil.formatFactorization(NumberTheoryUtil.factor(num)))
+        assertEquals("1", NumberTheoryUtil.formatFactorization(NumberTheoryUtil.factor(1)))
+    }
+
+    /**
+     * Tests that factoring stops once the iteration budget is exhausted, leaving composite parts unfactored.
+     */
+    @Test
+    fun testFactorWithinBudget() {
+        val p = BigInteger.ONE.shiftLeft(61).nextProbablePrime()
+        val q = BigInteger.ONE.shiftLeft(62).nextProbablePrime()
+        val num = p.multiply(q).multiply(BigInteger.valueOf(12))
+
+        val partial = NumberTheoryUtil.factor(num, 1000)
+        assertFalse(partial.isComplete)
+        assertEquals(ImmutableSortedMap.of(BigInteger.TWO, 2, BigInteger.valueOf(3), 1), partial.primeFactors())
+        assertEquals(p.multiply(q), partial.unfactored())
+
+        val small = BigInteger.valueOf(4_294_967_291L).multiply(BigInteger.valueOf(4_294_967_279L))
+        val complete = NumberTheoryUtil.factor(small.multiply(BigInteger.valueOf(1_000_000_007L)), 1_000_000)
+        assertTrue(complete.isComplete)
+        assertEquals(BigInteger.ONE, complete.unfactored())
+        assertEquals(3, complete.primeFactors().size)
+    }
+}
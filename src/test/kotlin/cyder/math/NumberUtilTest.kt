@@ -16,8 +16,8 @@ class NumberUtilTest {
      */
     @Test
     fun testIsPrime() {
-        assertTrue(NumberUtil.isPrime(0))
-        assertTrue(NumberUtil.isPrime(1))
+        assertFalse(NumberUtil.isPrime(0))
+        assertFalse(NumberUtil.isPrime(1))
         assertTrue(NumberUtil.isPrime(2))
         assertTrue(NumberUtil.isPrime(5))
         assertTrue(NumberUtil.isPrime(7))
@@ -31,6 +31,9 @@ class NumberUtilTest {
         assertFalse(NumberUtil.isPrime(40))
         assertFalse(NumberUtil.isPrime(80))
         assertFalse(NumberUtil.isPrime(180))
+        assertFalse(NumberUtil.isPrime(9))
+        assertFalse(NumberUtil.isPrime(25))
+        assertFalse(NumberUtil.isPrime(1191 * 1191))
     }
 
     /**
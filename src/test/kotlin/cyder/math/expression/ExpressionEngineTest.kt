@@ -0,0 +1,181 @@
+package cyder.math.expression
+
+import cyder.exceptions.ExpressionException
+import org.junit.jupiter.api.Assertions.*
+import org.junit.jupiter.api.Test
+import java.math.BigDecimal
+import java.math.MathContext
+
+/**
+ * Tests for the [ExpressionEngine].
+ */
+class ExpressionEngineTest {
+    /**
+     * Asserts that the provided value is within 10^-35 of the expected value.
+     */
+    private fun assertClose(expected: String, actual: BigDecimal) {
+        assertTrue(BigDecimal(expected).subtract(actual).abs() < BigDecimal("1e-35"), "$expected != $actual")
+    }
+
+    /**
+     * Tests evaluation of operators, precedence, constants, and builtin functions.
+     */
+    @Test
+    fun testEvaluate() {
+        val engine = ExpressionEngine()
+
+        assertEquals(7.0, engine.evaluate("1 + 2 * 3"))
+        assertEquals(9.0, engine.evaluate("(1 + 2) * 3"))
+        assertEquals(-4.0, engine.evaluate("-2^2"))
+        assertEquals(512.0, engine.evaluate("2^3^2"))
+        assertEquals(0.5, engine.evaluate("2^-1"))
+        assertEquals(1.0, engine.evaluate("7 % 3"))
+        assertEquals(1500.0, engine.evaluate("1.5e3"))
+        assertEquals(Math.PI, engine.evaluate("pi"))
+        assertEquals(Math.E, engine.evaluate("e"))
+        assertEquals(1.0, engine.evaluate("sin(pi / 2)"), 1e-15)
+        assertEquals(3.0, engine.evaluate("max(1, 3, 2)"))
+        assertEquals(2.0, engine.evaluate("avg(1, 2, 3)"))
+        assertEquals(3.0, engine.evaluate("log(1000)"), 1e-15)
+        assertEquals(Double.POSITIVE_INFINITY, engine.evaluate("1 / 0"))
+
+        assertThrows(ExpressionException::class.java) { engine.evaluate("1 +") }
+        assertThrows(ExpressionException::class.java) { engine.evaluate("(1 + 2") }
+        assertThrows(ExpressionException::class.java) { engine.evaluate("sin(1, 2)") }
+        assertThrows(ExpressionException::class.java) { engine.evaluate("sin") }
+        assertThrows(ExpressionException::class.java) { engine.evaluate("hello world") }
+        assertThrows(ExpressionException::class.java) { engine.evaluate("x + 1") }
+        assertThrows(ExpressionException::class.java) { engine.evaluate("(".repeat(1000)) }
+    }
+
+    /**
+     * Tests that compiled expressions are cached until functions change.
+     */
+    @Test
+    fun testCache() {
+        val engine = ExpressionEngine()
+
+        val compiled = engine.compile("x^2 + 1")
+        assertSame(compiled, engine.compile(" x^2 + 1 "))
+        assertEquals(listOf("x"), compiled.variables)
+        assertEquals(10.0, compiled.evaluate(3.0))
+
+        engine.define("a = 2")
+        assertSame(compiled, engine.compile("x^2 + 1"))
+
+        engine.define("f(x) = x + 1")
+        val recompiled = engine.compile("x^2 + 1")
+        assertNotSame(compiled, recompiled)
+        assertSame(recompiled, engine.compile("x^2 + 1"))
+
+        val small = ExpressionEngine(1)
+        val first = small.compile("1")
+        small.compile("2")
+        assertNotSame(first, small.compile("1"))
+
+        val uncached = ExpressionEngine(0)
+        assertNotSame(uncached.compile("1"), uncached.compile("1"))
+    }
+
+    /**
+     * Tests user variables and functions.
+     */
+    @Test
+    fun testDefinitions() {
+        val engine = ExpressionEngine()
+
+        assertEquals("a", engine.define("a = 2 * 3"))
+        assertEquals(BigDecimal("6"), engine.getVariable("a").orElseThrow())
+        assertEquals("f", engine.define("f(x, y) = x^2 + a * y"))
+        assertEquals("f(x, y)", engine.getFunctionSignature("f").orElseThrow())
+        assertEquals(13.0, engine.evaluate("f(1, 2)"))
+
+        engine.define("g(y) = f(y, y) + 1")
+        assertEquals(8.0, engine.evaluate("g(1)"))
+
+        engine.define("x = 3")
+        engine.define("y = 1")
+        assertEquals(engine.evaluate("9 + 6 * 1"), engine.evaluate("f(x, y)"))
+        assertEquals(engine.evaluate("1 + 6 * 3"), engine.evaluate("f(y, x)"))
+
+        engine.define("a = 0")
+        assertEquals(9.0, engine.evaluate("f(3, 5)"))
+
+        assertTrue(ExpressionEngine.isDefinition("a = 1"))
+        assertTrue(ExpressionEngine.isDefinition("f(x) = x"))
+        assertFalse(ExpressionEngine.isDefinition("1 + 2"))
+        assertFalse(ExpressionEngine.isDefinition("a == 1"))
+
+        assertThrows(ExpressionException::class.java) { engine.define("pi = 3") }
+        assertThrows(ExpressionException::class.java) { engine.define("h(x, x) = x") }
+        assertThrows(ExpressionException::class.java) { engine.define("h(x) = unknown(x)") }
+        assertThrows(ExpressionException::class.java) { engine.define("b = 1 / 0") }
+        assertThrows(ExpressionException::class.java) { engine.evaluate("f(1)") }
+
+        assertTrue(engine.removeFunction("f"))
+        assertThrows(ExpressionException::class.java) { engine.evaluate("f(1, 2)") }
+        assertEquals(2.0, engine.evaluate("g(1)"))
+    }
+
+    /**
+     * Tests arbitrary-precision evaluation.
+     */
+    @Test
+    fun testEvaluateExact() {
+        val engine = ExpressionEngine()
+        val mc = MathContext(50)
+
+        assertEquals(BigDecimal("0.3"), engine.evaluateExact("0.1 + 0.2", mc))
+        assertEquals(BigDecimal("3.1415926535897932384626433832795028841971693993751"),
+                engine.evaluateExact("pi", mc))
+        assertEquals(BigDecimal("2.7182818284590452353602874713526624977572470937000"),
+                engine.evaluateExact("e", mc))
+        assertEquals(BigDecimal("1.4142135623730950488016887242096980785696718753769"),
+                engine.evaluateExact("sqrt(2)", mc))
+        assertEquals(BigDecimal("1.4142135623730950488016887242096980785696718753769"),
+                engine.evaluateExact("2^0.5", mc))
+        assertEquals(BigDecimal("0.69314718055994530941723212145817656807550013436026"),
+                engine.evaluateExact("ln(2)", mc))
+        assertEquals(BigDecimal("1267650600228229401496703205376"), engine.evaluateExact("2^100", mc))
+        val precise = MathContext(40)
+        assertClose("1", engine.evaluateExact("sin(pi / 6) * 2", precise))
+        assertClose("1", engine.evaluateExact("sin(12345.678)^2 + cos(12345.678)^2", precise))
+        assertClose("3", engine.evaluateExact("log(1000)", precise))
+        assertClose("1", engine.evaluateExact("tan(atan(1))", precise))
+        assertClose("1", engine.evaluateExact("asin(0.5) * 6 / pi", precise))
+        assertClose("12.5", engine.evaluateExact("exp(ln(12.5))", precise))
+
+        for (expression in listOf("sinh(0.3)", "cosh(2.5)", "tanh(-1.2)", "acos(-0.25)", "atan(30)",
+                "exp(-7.5)", "ln(0.001)", "round(-2.5)", "floor(-1.5)", "1e-3 * 7 % 0.003")) {
+            assertEquals(engine.evaluate(expression), engine.evaluateExact(expression, mc).toDouble(),
+                    1e-12, expression)
+        }
+
+        assertThrows(ArithmeticException::class.java) { engine.evaluateExact("1 / 0", mc) }
+        assertThrows(ArithmeticException::class.java) { engine.evaluateExact("ln(-1)", mc) }
+        assertThrows(ArithmeticException::class.java) { engine.evaluateExact("sqrt(-1)", mc) }
+    }
+
+    /**
+     * Tests that constant subexpressions are folded while random values are not.
+     */
+    @Test
+    fun testSampling() {
+        val engine = ExpressionEngine()
+
+        val compiled = engine.compile("x * (2 + 3) + sin(0)")
+        val results = DoubleArray(5)
+        compiled.sample(1.0, 0.5, results)
+        assertEquals(listOf(5.0, 7.5, 10.0, 12.5, 15.0), results.toList())
+        assertEquals(15.0, compiled.asFunction().applyAsDouble(3.0))
+
+        val random = engine.compile("random()")
+        random.sample(0.0, 1.0, results)
+        assertTrue(results.toSet().size > 1)
+
+        assertThrows(IllegalStateException::class.java) {
+            engine.compile("x + y").sample(0.0, 1.0, results)
+        }
+        assertThrows(IllegalArgumentException::class.java) { compiled.evaluate() }
+    }
+}
@@ -0,0 +1,276 @@
+package cyder.network
+
+import com.sun.net.httpserver.HttpServer
+import org.junit.jupiter.api.Assertions.*
+import org.junit.jupiter.api.Test
+import java.io.File
+import java.io.IOException
+import java.net.InetAddress
+import java.net.InetSocketAddress
+import java.net.URI
+import java.nio.file.Files
+import java.time.Clock
+import java.time.Duration
+import java.time.Instant
+import java.time.ZoneId
+import java.time.ZoneOffset
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.concurrent.atomic.AtomicLong
+
+/**
+ * Tests for the [ResponseCache] against a local stub server which counts hits.
+ */
+class ResponseCacheTest {
+    /**
+     * A clock which only moves when advanced.
+     */
+    private class ManualClock : Clock() {
+        val millis = AtomicLong(1_000_000)
+
+        fun advance(duration: Duration) = millis.addAndGet(duration.toMillis())
+
+        override fun millis() = millis.get()
+        override fun instant(): Instant = Instant.ofEpochMilli(millis.get())
+        override fun getZone(): ZoneId = ZoneOffset.UTC
+        override fun withZone(zone: ZoneId?) = this
+    }
+
+    /**
+     * A local server whose resources support conditional requests.
+     */
+    private class StubServer : AutoCloseable {
+        /**
+         * The bodies of the resources keyed by path.
+         */
+        val bodies = ConcurrentHashMap<String, String>()
+
+        /**
+         * The number of requests received.
+         */
+        val hits = AtomicInteger()
+
+        /**
+         * The number of requests answered with not modified.
+         */
+        val notModified = AtomicInteger()
+
+        /**
+         * The latch requests wait on before responding.
+         */
+        @Volatile
+        var gate = CountDownLatch(0)
+
+        /**
+         * Counted down when a request is received.
+         */
+        @Volatile
+        var received = CountDownLatch(0)
+
+        private val server: HttpServer = HttpServer.create(InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0)
+
+        init {
+            server.executor = Executors.newCachedThreadPool()
+            server.createContext("/") { exchange ->
+                exchange.use {
+                    hits.incrementAndGet()
+                    received.countDown()
+                    gate.await(5, TimeUnit.SECONDS)
+
+                    val body = bodies[exchange.requestURI.path]
+                    if (body == null) {
+                        exchange.sendResponseHeaders(404, -1)
+                        return@use
+                    }
+
+                    val etag = "\"${body.hashCode()}\""
+                    exchange.responseHeaders.add("ETag", etag)
+                    exchange.responseHeaders.add("Last-Modified", "Wed, 21 Oct 2015 07:28:00 GMT")
+                    if (exchange.requestHeaders.getFirst("If-None-Match") == etag) {
+                        notModified.incrementAndGet()
+                        exchange.sendResponseHeaders(304, -1)
+                        return@use
+                    }
+
+                    val bytes = body.toByteArray()
+                    exchange.sendResponseHeaders(200, bytes.size.toLong())
+                    exchange.responseBody.write(bytes)
+                }
+            }
+            server.start()
+        }
+
+        fun uri(path: String): URI = URI.create("http://localhost:${server.address.port}$path")
+
+        override fun close() = server.stop(0)
+    }
+
+    /**
+     * The time to live used by the tests.
+     */
+    private val ttl = Duration.ofMinutes(5)
+
+    /**
+     * Tests for serving fresh responses and revalidating expired responses.
+     */
+    @Test
+    fun testTtlAndRevalidation() {
+        val directory = Files.createTempDirectory("response_cache_test").toFile()
+        val clock = ManualClock()
+
+        StubServer().use { server ->
+            server.bodies["/a"] = "first"
+            val cache = ResponseCache(directory, 1L shl 20, 1L shl 20, clock)
+
+            assertEquals("first", cache.getString(server.uri("/a"), ttl))
+            assertEquals("first", cache.getString(server.uri("/a"), ttl))
+            assertEquals(1, server.hits.get())
+
+            clock.advance(ttl)
+            assertEquals("first", cache.getString(server.uri("/a"), ttl))
+            assertEquals(2, server.hits.get())
+            assertEquals(1, server.notModified.get())
+
+            assertEquals("first", cache.getString(server.uri("/a"), ttl))
+            assertEquals(2, server.hits.get())
+
+            server.bodies["/a"] = "second"
+            clock.advance(ttl)
+            assertEquals("second", cache.getString(server.uri("/a"), ttl))
+            assertEquals(3, server.hits.get())
+            assertEquals(1, server.notModified.get())
+
+            assertThrows(IOException::class.java) { cache.getString(server.uri("/missing"), ttl) }
+
+            val restarted = ResponseCache(directory, 0, 1L shl 20, clock)
+            assertEquals("second", restarted.getString(server.uri("/a"), ttl))
+            assertEquals(4, server.hits.get())
+
+            restarted.invalidate(server.uri("/a"))
+            assertEquals("second", restarted.getString(server.uri("/a"), ttl))
+            assertEquals(5, server.hits.get())
+
+            clock.advance(ttl)
+            server.close()
+            assertEquals("second", restarted.getString(server.uri("/a"), ttl))
+        }
+
+        directory.deleteRecursively()
+    }
+
+    /**
+     * Tests for coalescing concurrent requests for the same uri.
+     */
+    @Test
+    fun testCoalescing() {
+        val directory = Files.createTempDirectory("response_cache_test").toFile()
+
+        StubServer().use { server ->
+            server.bodies["/slow"] = "slow body"
+            server.gate = CountDownLatch(1)
+            server.received = CountDownLatch(1)
+            val cache = ResponseCache(directory, 1L shl 20, 1L shl 20, ManualClock())
+
+            val executor = Executors.newFixedThreadPool(8)
+            val results = (0 until 8).map { executor.submit<String> { cache.getString(server.uri("/slow"), ttl) } }
+
+            assertTrue(server.received.await(5, TimeUnit.SECONDS))
+            Thread.sleep(200)
+            server.gate.countDown()
+
+            results.forEach { assertEquals("slow body", it.get(5, TimeUnit.SECONDS)) }
+            assertEquals(1, server.hits.get())
+            executor.shutdown()
+        }
+
+        directory.deleteRecursively()
+    }
+
+    /**
+     * Tests for evicting the least recently used responses from the memory tier.
+     */
+    @Test
+    fun testMemoryEviction() {
+        val directory = Files.createTempDirectory("response_cache_test").toFile()
+
+        StubServer().use { server ->
+            server.bodies["/a"] = "aaaa"
+            server.bodies["/b"] = "bbbb"
+            val cache = ResponseCache(directory, 4, 1L shl 20, ManualClock())
+
+            cache.getString(server.uri("/a"), ttl)
+            cache.getString(server.uri("/b"), ttl)
+            directory.listFiles()!!.forEach(File::delete)
+
+            assertEquals("bbbb", cache.getString(server.uri("/b"), ttl))
+            assertEquals(2, server.hits.get())
+            assertEquals("aaaa", cache.getString(server.uri("/a"), ttl))
+            assertEquals(3, server.hits.get())
+        }
+
+        directory.deleteRecursively()
+    }
+
+    /**
+     * Tests for evicting the least recently used entries from the disk tier.
+     */
+    @Test
+    fun testDiskEviction() {
+        val directory = Files.createTempDirectory("response_cache_test").toFile()
+
+        StubServer().use { server ->
+            server.bodies["/a"] = "aaaa"
+            server.bodies["/b"] = "bbbb"
+            server.bodies["/c"] = "cccc"
+
+            ResponseCache(directory, 0, 1L shl 20, ManualClock()).getString(server.uri("/a"), ttl)
+            val entryLength = directory.listFiles()!!.single().length()
+            directory.listFiles()!!.forEach(File::delete)
+            server.hits.set(0)
+
+            val cache = ResponseCache(directory, 0, entryLength * 5 / 2, ManualClock())
+            cache.getString(server.uri("/a"), ttl)
+            cache.getString(server.uri("/b"), ttl)
+            cache.getString(server.uri("/a"), ttl)
+            cache.getString(server.uri("/c"), ttl)
+            assertEquals(3, server.hits.get())
+            assertEquals(2, directory.listFiles()!!.size)
+
+            assertEquals("aaaa", cache.getString(server.uri("/a"), ttl))
+            assertEquals("cccc", cache.getString(server.uri("/c"), ttl))
+            assertEquals(3, server.hits.get())
+            assertEquals("bbbb", cache.getString(server.uri("/b"), ttl))
+            assertEquals(4, server.hits.get())
+        }
+
+        directory.deleteRecursively()
+    }
+
+    /**
+     * Tests that entries are written without their uri and deleted once too old to serve.
+     */
+    @Test
+    fun testDiskEntries() {
+        val directory = Files.createTempDirectory("response_cache_test").toFile()
+        val clock = ManualClock()
+
+        StubServer().use { server ->
+            server.bodies["/a"] = "first"
+            val uri = server.uri("/a?key=secret")
+            ResponseCache(directory, 0, 1L shl 20, clock).getString(uri, ttl)
+
+            val entry = directory.listFiles()!!.single()
+            assertFalse(String(entry.readBytes(), Charsets.ISO_8859_1).contains("secret"))
+
+            server.close()
+            clock.advance(ResponseCache.MAXIMUM_DISK_AGE.plusDays(1))
+            assertThrows(IOException::class.java) { ResponseCache(directory, 0, 1L shl 20, clock).getString(uri, ttl) }
+            assertFalse(entry.exists())
+        }
+
+        directory.deleteRecursively()
+    }
+}
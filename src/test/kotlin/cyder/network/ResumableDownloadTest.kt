@@ -0,0 +1,204 @@
+package cyder.network
+
+import com.sun.net.httpserver.HttpExchange
+import com.sun.net.httpserver.HttpServer
+import org.junit.jupiter.api.Assertions.*
+import org.junit.jupiter.api.Test
+import java.io.File
+import java.io.IOException
+import java.net.InetAddress
+import java.net.InetSocketAddress
+import java.net.URI
+import java.nio.file.FileAlreadyExistsException
+import java.nio.file.Files
+import java.security.MessageDigest
+import java.time.Duration
+import java.util.*
+import java.util.concurrent.Executors
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.concurrent.atomic.AtomicLong
+
+/**
+ * Tests for [ResumableDownload]s against a local server which serves ranges and drops connections.
+ */
+class ResumableDownloadTest {
+    /**
+     * A local server serving a single resource.
+     */
+    private class RangeServer(val data: ByteArray, val acceptRanges: Boolean = true) : AutoCloseable {
+        /**
+         * The number of upcoming responses to drop halfway through.
+         */
+        val drops = AtomicInteger()
+
+        /**
+         * The number of body bytes written.
+         */
+        val servedBytes = AtomicLong()
+
+        /**
+         * The number of GET requests received.
+         */
+        val requests = AtomicInteger()
+
+        private val server: HttpServer = HttpServer.create(InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0)
+
+        init {
+            server.executor = Executors.newCachedThreadPool()
+            server.createContext("/resource") { exchange -> exchange.use { serve(it) } }
+            server.start()
+        }
+
+        val uri: URI get() = URI.create("http://localhost:${server.address.port}/resource")
+
+        private fun serve(exchange: HttpExchange) {
+            if (acceptRanges) exchange.responseHeaders.add("Accept-Ranges", "bytes")
+            exchange.responseHeaders.add("ETag", "\"v1\"")
+
+            if (exchange.requestMethod == "HEAD") {
+                exchange.responseHeaders.add("Content-Length", data.size.toString())
+                exchange.sendResponseHeaders(200, -1)
+                return
+            }
+            requests.incrementAndGet()
+
+            var start = 0
+            var end = data.size - 1
+            val range = exchange.requestHeaders.getFirst("Range")
+            if (acceptRanges && range != null) {
+                val bounds = range.removePrefix("bytes=").split("-")
+                start = bounds[0].toInt()
+                end = bounds[1].toInt()
+                exchange.responseHeaders.add("Content-Range", "bytes $start-$end/${data.size}")
+                exchange.sendResponseHeaders(206, (end - start + 1).toLong())
+            } else {
+                exchange.sendResponseHeaders(200, data.size.toLong())
+            }
+
+            val length = end - start + 1
+            val drop = drops.getAndUpdate { if (it > 0) it - 1 else it } > 0
+            val toWrite = if (drop) length / 2 else length
+            exchange.responseBody.write(data, start, toWrite)
+            exchange.responseBody.flush()
+            servedBytes.addAndGet(toWrite.toLong())
+        }
+
+        override fun close() = server.stop(0)
+    }
+
+    /**
+     * Returns the hex SHA-256 checksum of the provided bytes.
+     */
+    private fun sha256(bytes: ByteArray) =
+            MessageDigest.getInstance("SHA-256").digest(bytes).joinToString("") { "%02x".format(it) }
+
+    /**
+     * Returns random bytes of the provided length.
+     */
+    private fun randomBytes(length: Int) = ByteArray(length).also { Random(42).nextBytes(it) }
+
+    /**
+     * Tests for downloading chunks in parallel while connections are dropped.
+     */
+    @Test
+    fun testParallelDownloadWithDroppedConnections() {
+        val data = randomBytes(3 * (1 shl 20) + 123)
+        val directory = Files.createTempDirectory("resumable_download_test").toFile()
+        val destination = File(directory, "resource.bin")
+
+        RangeServer(data).use { server ->
+            server.drops.set(3)
+            val progress = AtomicLong()
+
+            val length = ResumableDownload.Builder(server.uri, destination)
+                    .setParallelChunks(4)
+                    .setMinimumChunkSize(1L shl 18)
+                    .setRetryBackoff(Duration.ZERO)
+                    .setExpectedSha256(sha256(data))
+                    .setProgressListener { downloaded, total ->
+                        assertEquals(data.size.toLong(), total)
+                        progress.accumulateAndGet(downloaded) { a, b -> maxOf(a, b) }
+                    }
+                    .build().download()
+
+            assertEquals(data.size.toLong(), length)
+            assertArrayEquals(data, destination.readBytes())
+            assertEquals(data.size.toLong(), progress.get())
+            assertEquals(7, server.requests.get())
+            assertEquals(listOf("resource.bin"), directory.list()!!.toList())
+        }
+
+        directory.deleteRecursively()
+    }
+
+    /**
+     * Tests for resuming a failed download in a later download.
+     */
+    @Test
+    fun testResumeAfterFailure() {
+        val data = randomBytes(1 shl 20)
+        val directory = Files.createTempDirectory("resumable_download_test").toFile()
+        val destination = File(directory, "resource.bin")
+
+        RangeServer(data).use { server ->
+            val download = {
+                ResumableDownload.Builder(server.uri, destination)
+                        .setParallelChunks(2)
+                        .setMinimumChunkSize(1L shl 18)
+                        .setMaxRetries(0)
+                        .build().download()
+            }
+
+            server.drops.set(Int.MAX_VALUE)
+            assertThrows(IOException::class.java) { download() }
+            assertFalse(destination.exists())
+            assertTrue(File(directory, "resource.bin.part").exists())
+            assertTrue(File(directory, "resource.bin.part.progress").exists())
+            assertEquals(data.size / 2L, server.servedBytes.get())
+
+            server.drops.set(0)
+            server.servedBytes.set(0)
+            assertEquals(data.size.toLong(), download())
+            assertTrue(server.servedBytes.get() in data.size / 2L until data.size * 3L / 4L)
+            assertArrayEquals(data, destination.readBytes())
+            assertEquals(listOf("resource.bin"), directory.list()!!.toList())
+        }
+
+        directory.deleteRecursively()
+    }
+
+    /**
+     * Tests for checksum verification and servers which do not accept ranges.
+     */
+    @Test
+    fun testChecksumAndUnrangedServer() {
+        val data = randomBytes(100_000)
+        val directory = Files.createTempDirectory("resumable_download_test").toFile()
+        val destination = File(directory, "resource.bin")
+
+        RangeServer(data, acceptRanges = false).use { server ->
+            assertThrows(IOException::class.java) {
+                ResumableDownload.Builder(server.uri, destination)
+                        .setExpectedSha256(sha256(byteArrayOf(1)))
+                        .build().download()
+            }
+            assertTrue(directory.list()!!.isEmpty())
+
+            server.drops.set(1)
+            server.requests.set(0)
+            val length = ResumableDownload.Builder(server.uri, destination)
+                    .setRetryBackoff(Duration.ZERO)
+                    .setExpectedSha256(sha256(data))
+                    .build().download()
+            assertEquals(data.size.toLong(), length)
+            assertEquals(2, server.requests.get())
+            assertArrayEquals(data, destination.readBytes())
+
+            assertThrows(FileAlreadyExistsException::class.java) {
+                ResumableDownload.Builder(server.uri, destination).build().download()
+            }
+        }
+
+        directory.deleteRecursively()
+    }
+}
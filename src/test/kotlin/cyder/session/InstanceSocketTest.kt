@@ -0,0 +1,105 @@
+package cyder.session
+
+import org.junit.jupiter.api.Assertions.*
+import org.junit.jupiter.api.Test
+import java.io.IOException
+import java.net.InetAddress
+import java.net.InetSocketAddress
+import java.nio.ByteBuffer
+import java.time.Duration
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
+/**
+ * Tests for the instance socket protocol.
+ */
+class InstanceSocketTest {
+    /**
+     * Tests for encoding and decoding frames.
+     */
+    @Test
+    fun testFrameEncodeDecode() {
+        val first = InstanceSocketFrame(1, InstanceSocketFrame.Kind.REQUEST,
+                CyderCommunicationMessage("Status", "content ü", "session"))
+        val second = InstanceSocketFrame(Long.MAX_VALUE, InstanceSocketFrame.Kind.ERROR_RESPONSE,
+                CyderCommunicationMessage("Focus response", "failed", "other session"))
+
+        val encoded = ByteBuffer.allocate(1024)
+        encoded.put(first.encode()).put(second.encode()).flip()
+        val total = encoded.remaining()
+
+        val partial = encoded.duplicate().limit(total - 1)
+        assertEquals(first, InstanceSocketFrame.decode(partial).get())
+        val position = partial.position()
+        assertTrue(InstanceSocketFrame.decode(partial).isEmpty)
+        assertEquals(position, partial.position())
+
+        assertEquals(first, InstanceSocketFrame.decode(encoded).get())
+        assertEquals(second, InstanceSocketFrame.decode(encoded).get())
+        assertFalse(encoded.hasRemaining())
+        assertTrue(InstanceSocketFrame.decode(encoded).isEmpty)
+
+        assertThrows(IOException::class.java) {
+            InstanceSocketFrame.decode(ByteBuffer.allocate(8).putInt(-1).flip())
+        }
+        assertThrows(IOException::class.java) {
+            InstanceSocketFrame.decode(ByteBuffer.allocate(8).putInt(InstanceSocketFrame.MAX_FRAME_BYTES + 1).flip())
+        }
+    }
+
+    /**
+     * Tests for exercising every command against a server with multiple concurrent clients.
+     */
+    @Test
+    fun testServerAndClients() {
+        val shutdownSent = CountDownLatch(1)
+        val server = InstanceSocketServer.bind(InetSocketAddress(InetAddress.getLoopbackAddress(), 0)) { request ->
+            val command = InstanceCommand.fromMessage(request.message).orElseThrow()
+            val response = CyderCommunicationMessage(request.message + " response",
+                    command.name + ":" + request.content, "server")
+            when (command) {
+                InstanceCommand.OPEN_FILE -> {
+                    if (request.content == "missing") throw IllegalArgumentException("Missing resource")
+                    InstanceSocketServer.Reply(true, response)
+                }
+                InstanceCommand.SHUTDOWN -> InstanceSocketServer.Reply(true, response) { shutdownSent.countDown() }
+                else -> InstanceSocketServer.Reply(true, response)
+            }
+        }
+        server.start("Instance Socket Test Server")
+
+        val timeout = Duration.ofSeconds(5)
+        val first = InstanceSocketClient.connect("localhost", server.port, timeout, "first")
+        val second = InstanceSocketClient.connect("localhost", server.port, timeout, "second")
+
+        val firstResponses = (0 until 50).map { first.send(InstanceCommand.OPEN_FILE, "file $it") }
+        val secondResponses = InstanceCommand.values().map { second.send(it) }
+
+        firstResponses.forEachIndexed { index, response ->
+            val frame = response.get(5, TimeUnit.SECONDS)
+            assertTrue(frame.isSuccessfulResponse)
+            assertEquals("OPEN_FILE:file $index", frame.message.content)
+        }
+        InstanceCommand.values().zip(secondResponses).forEach { (command, response) ->
+            val frame = response.get(5, TimeUnit.SECONDS)
+            assertEquals(InstanceSocketFrame.Kind.RESPONSE, frame.kind)
+            assertEquals(command.message + " response", frame.message.message)
+            assertEquals(command.name + ":" + command.message, frame.message.content)
+        }
+        assertTrue(shutdownSent.await(5, TimeUnit.SECONDS))
+
+        val failed = first.send(InstanceCommand.OPEN_FILE, "missing").get(5, TimeUnit.SECONDS)
+        assertEquals(InstanceSocketFrame.Kind.ERROR_RESPONSE, failed.kind)
+        assertEquals("Missing resource", failed.message.content)
+
+        first.close()
+        assertTrue(first.isClosed)
+        assertTrue(first.send(InstanceCommand.STATUS).isCompletedExceptionally)
+        assertEquals("STATUS:Status", second.send(InstanceCommand.STATUS).get(5, TimeUnit.SECONDS).message.content)
+
+        server.close()
+        val closed = second.send(InstanceCommand.STATUS)
+        assertThrows(Exception::class.java) { closed.get(5, TimeUnit.SECONDS) }
+        second.close()
+    }
+}
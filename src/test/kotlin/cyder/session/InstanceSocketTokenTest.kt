@@ -0,0 +1,57 @@
+package cyder.session
+
+import org.junit.jupiter.api.Assertions.*
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.io.TempDir
+import java.io.File
+import java.nio.file.Files
+import java.nio.file.attribute.PosixFilePermission
+import java.util.*
+
+/**
+ * Tests for [InstanceSocketToken]s.
+ */
+class InstanceSocketTokenTest {
+    /**
+     * The temporary directory of each test.
+     */
+    @TempDir
+    lateinit var directory: File
+
+    /**
+     * Tests for signing and verifying request content.
+     */
+    @Test
+    fun testSignAndVerify() {
+        val token = InstanceSocketToken.generate()
+        val other = InstanceSocketToken.generate()
+
+        assertEquals(Optional.of("/music/a.mp3"), token.verify(token.sign("/music/a.mp3")))
+        assertEquals(Optional.of("line\nbreak"), token.verify(token.sign("line\nbreak")))
+        assertEquals(Optional.empty<String>(), token.verify(other.sign("/music/a.mp3")))
+        assertEquals(Optional.empty<String>(), token.verify("/music/a.mp3"))
+        assertEquals(Optional.empty<String>(), token.verify("\n/music/a.mp3"))
+    }
+
+    /**
+     * Tests for writing a token to a file only the current user may read and reading it back.
+     */
+    @Test
+    fun testWriteAndRead() {
+        val file = File(directory, "instancetoken")
+        assertEquals(Optional.empty<InstanceSocketToken>(), InstanceSocketToken.read(file))
+
+        file.writeText("stale")
+        val token = InstanceSocketToken.generate()
+        token.write(file)
+
+        if (file.toPath().fileSystem.supportedFileAttributeViews().contains("posix")) {
+            assertEquals(setOf(PosixFilePermission.OWNER_READ, PosixFilePermission.OWNER_WRITE),
+                    Files.getPosixFilePermissions(file.toPath()))
+        }
+
+        val read = InstanceSocketToken.read(file).orElseThrow()
+        assertEquals(Optional.of("Focus"), read.verify(token.sign("Focus")))
+        assertEquals(Optional.of("Focus"), token.verify(read.sign("Focus")))
+    }
+}
@@ -0,0 +1,80 @@
+package cyder.subroutines
+
+import com.google.common.base.Supplier
+import com.google.common.collect.ImmutableList
+import org.junit.jupiter.api.Assertions.*
+import org.junit.jupiter.api.Test
+import java.util.*
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+/**
+ * Tests for [SubroutineGraph]s.
+ */
+class SubroutineGraphTest {
+    /**
+     * Returns a new subroutine with the provided name, routine, and dependencies.
+     */
+    private fun subroutine(name: String, vararg dependencies: String, routine: () -> Boolean = { true }) =
+            Subroutine(Supplier { routine() }, name, "$name failed", ImmutableList.copyOf(dependencies))
+
+    /**
+     * Tests for validating and ordering the graph.
+     */
+    @Test
+    fun testExecutionOrder() {
+        val graph = SubroutineGraph(ImmutableList.of(
+                subroutine("c", "b"), subroutine("a"), subroutine("b", "a"), subroutine("d")))
+        assertEquals(listOf("a", "b", "c", "d"), graph.executionOrder.map { it.threadName })
+
+        assertThrows(IllegalArgumentException::class.java) {
+            SubroutineGraph(ImmutableList.of(subroutine("a", "b"), subroutine("b", "a")))
+        }
+        assertThrows(IllegalArgumentException::class.java) {
+            SubroutineGraph(ImmutableList.of(subroutine("a", "missing")))
+        }
+        assertThrows(IllegalArgumentException::class.java) {
+            SubroutineGraph(ImmutableList.of(subroutine("a"), subroutine("a")))
+        }
+        assertThrows(IllegalArgumentException::class.java) { subroutine("a", "a") }
+    }
+
+    /**
+     * Tests for executing independent subroutines in parallel and skipping dependents of failures.
+     */
+    @Test
+    fun testExecute() {
+        val bothStarted = CountDownLatch(2)
+        val ran = Collections.synchronizedList(ArrayList<String>())
+        val awaitOther: (String) -> () -> Boolean = { name ->
+            {
+                bothStarted.countDown()
+                ran.add(name)
+                bothStarted.await(5, TimeUnit.SECONDS)
+            }
+        }
+
+        val graph = SubroutineGraph(ImmutableList.of(
+                subroutine("left", routine = awaitOther("left")),
+                subroutine("right", routine = awaitOther("right")),
+                subroutine("join", "left", "right") { ran.add("join") },
+                subroutine("fails", "join") { false },
+                subroutine("skipped", "fails") { ran.add("skipped") }))
+
+        val executor = Executors.newFixedThreadPool(2)
+        val started = Collections.synchronizedList(ArrayList<String>())
+        val execution = graph.execute(executor) { started.add(it.threadName) }
+        executor.shutdown()
+
+        assertEquals(setOf("left", "right"), ran.subList(0, 2).toSet())
+        assertEquals("join", ran[2])
+        assertEquals(3, ran.size)
+        assertFalse(started.contains("skipped"))
+
+        assertEquals("fails", execution.failure.get().threadName)
+        assertEquals(4, execution.timings.size)
+        assertEquals("fails", execution.criticalPath.last().threadName)
+        assertEquals("join", execution.criticalPath[execution.criticalPath.size - 2].threadName)
+    }
+}
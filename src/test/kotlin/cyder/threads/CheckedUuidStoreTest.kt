@@ -0,0 +1,59 @@
+package cyder.threads
+
+import org.junit.jupiter.api.Assertions.*
+import org.junit.jupiter.api.Test
+import java.io.File
+import java.nio.file.Files
+
+/**
+ * Tests for the [CheckedUuidStore].
+ */
+class CheckedUuidStoreTest {
+    /**
+     * Tests for adding to and querying a store which is not persisted.
+     */
+    @Test
+    fun testAddAndContains() {
+        val store = CheckedUuidStore()
+
+        val values = (1L..10_000L).map { it * 0x1F3A5B7C9D1L } + listOf(0L, -1L, Long.MIN_VALUE)
+        values.forEach { assertTrue(store.add(it)) }
+        values.forEach { assertFalse(store.add(it)) }
+        values.forEach { assertTrue(store.contains(it)) }
+
+        assertEquals(values.toSet().size, store.size())
+        assertFalse(store.contains(42L))
+    }
+
+    /**
+     * Tests for reloading persisted uuids and discarding a partially written trailing record.
+     */
+    @Test
+    fun testPersistence() {
+        val directory = Files.createTempDirectory("checked_uuid_store_test").toFile()
+        val file = File(directory, "nested/checked.bin")
+
+        CheckedUuidStore.open(file).use { store ->
+            (1L..1000L).forEach { store.add(it) }
+            store.add(0L)
+        }
+        assertEquals(1001L * Long.SIZE_BYTES, file.length())
+
+        file.appendBytes(byteArrayOf(1, 2, 3))
+        CheckedUuidStore.open(file).use { store ->
+            assertEquals(1001, store.size())
+            assertTrue(store.contains(0L))
+            assertTrue(store.contains(1000L))
+            assertFalse(store.add(500L))
+            assertTrue(store.add(2000L))
+        }
+        assertEquals(1002L * Long.SIZE_BYTES, file.length())
+
+        CheckedUuidStore.open(file).use { store ->
+            assertEquals(1002, store.size())
+            assertTrue(store.contains(2000L))
+        }
+
+        directory.deleteRecursively()
+    }
+}
@@ -1,14 +1,64 @@
 package cyder.threads
 
+import com.sun.net.httpserver.HttpServer
 import cyder.ui.pane.CyderOutputPane
 import org.junit.jupiter.api.Assertions.*
 import org.junit.jupiter.api.Test
+import java.io.File
+import java.net.InetAddress
+import java.net.InetSocketAddress
+import java.nio.file.Files
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicBoolean
+import java.util.concurrent.atomic.AtomicInteger
 import javax.swing.JTextPane
 
 /**
  * Tests for a [YoutubeUuidChecker].
  */
 class YoutubeUuidCheckerTest {
+    /**
+     * A local thumbnail server which has a single video and fails the first requests it receives.
+     */
+    private class StubThumbnailServer(val videoUuid: String, initialFailures: Int) : AutoCloseable {
+        /**
+         * The number of requests for each uuid.
+         */
+        val requests = ConcurrentHashMap<String, AtomicInteger>()
+
+        /**
+         * The number of upcoming requests to fail.
+         */
+        val failures = AtomicInteger(initialFailures)
+
+        private val server: HttpServer = HttpServer.create(InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0)
+
+        init {
+            server.executor = Executors.newCachedThreadPool()
+            server.createContext("/vi/") { exchange ->
+                exchange.use {
+                    val uuid = exchange.requestURI.path.removePrefix("/vi/").removeSuffix("/hqdefault.jpg")
+                    requests.computeIfAbsent(uuid) { AtomicInteger() }.incrementAndGet()
+
+                    val code = when {
+                        failures.getAndDecrement() > 0 -> 503
+                        uuid == videoUuid -> 200
+                        else -> 404
+                    }
+                    exchange.sendResponseHeaders(code, -1)
+                }
+            }
+            server.start()
+        }
+
+        val prefix: String get() = "http://localhost:${server.address.port}/vi/"
+
+        override fun close() = server.stop(0)
+    }
+
     /**
      * Tests for creation of youtube uuid checkers.
      */
@@ -106,4 +156,88 @@ class YoutubeUuidCheckerTest {
 
         assertTrue(checker.checkedUuids.size * sleepTime >= checker.currentChecksPerSecond)
     }
-}
\ No newline at end of file
+
+    /**
+     * Tests for packing and unpacking uuids.
+     */
+    @Test
+    @Suppress("SpellCheckingInspection")
+    fun testPackUuid() {
+        assertTrue(YoutubeUuidChecker.isPackable("dQw4w9WgXcQ"))
+        assertTrue(YoutubeUuidChecker.isPackable("AAAAAAAAAAA"))
+        assertTrue(YoutubeUuidChecker.isPackable("__________w"))
+        assertFalse(YoutubeUuidChecker.isPackable("aaaaaaaaaaa"))
+        assertFalse(YoutubeUuidChecker.isPackable("aaaaaaaaaa_"))
+        assertFalse(YoutubeUuidChecker.isPackable("aaaaaaaaa\$A"))
+        assertFalse(YoutubeUuidChecker.isPackable("aaaaA"))
+
+        assertEquals(0L, YoutubeUuidChecker.packUuid("AAAAAAAAAAA"))
+        assertEquals(1L, YoutubeUuidChecker.packUuid("AAAAAAAAAAE"))
+        assertEquals(-1L, YoutubeUuidChecker.packUuid("__________8"))
+        assertThrows(IllegalArgumentException::class.java) { YoutubeUuidChecker.packUuid("aaaaaaaaaab") }
+
+        listOf("dQw4w9WgXcQ", "AAAAAAAAAAA", "__________8", "jNQXAC9IVRw").forEach {
+            assertEquals(it, YoutubeUuidChecker.unpackUuid(YoutubeUuidChecker.packUuid(it)))
+        }
+        listOf(0L, 1L, -1L, Long.MIN_VALUE, Long.MAX_VALUE, 0x123456789ABCDEFL).forEach {
+            assertEquals(it, YoutubeUuidChecker.packUuid(YoutubeUuidChecker.unpackUuid(it)))
+        }
+    }
+
+    /**
+     * Tests for checking candidates concurrently against a stub thumbnail server,
+     * retrying failed requests, and skipping candidates checked by a previous session.
+     */
+    @Test
+    @Suppress("SpellCheckingInspection")
+    fun testCheckingAgainstStubServer() {
+        val directory = Files.createTempDirectory("youtube_uuid_checker_test").toFile()
+        val storeFile = File(directory, "checked.bin")
+
+        fun newChecker(server: StubThumbnailServer): YoutubeUuidChecker {
+            val checker = YoutubeUuidChecker(CyderOutputPane(JTextPane()), 4)
+            checker.setThumbnailUrlPrefix(server.prefix)
+            checker.setRequestsPerSecond(1000.0)
+            checker.setStartingUuid("aaaaaaaaaaA")
+            checker.setCheckedUuidStore(CheckedUuidStore.open(storeFile))
+            return checker
+        }
+
+        val checkedBefore = StubThumbnailServer("", 3).use { server ->
+            val checker = newChecker(server)
+            val found = AtomicBoolean()
+            checker.setFoundListener { found.set(true) }
+            checker.startChecking()
+            ThreadUtil.sleepWithChecks(10_000, 10) { checker.checkedCount >= 20 }
+            val resumeUuid = checker.kill()
+
+            assertFalse(found.get())
+            assertEquals(3, checker.failedCount)
+            assertEquals(0, checker.skippedCount)
+            assertTrue(server.requests.keys.all { YoutubeUuidChecker.isPackable(it) })
+            assertTrue(checker.checkedUuids.containsAll(listOf("aaaaaaaaaaA", "aaaaaaaaaaE", "aaaaaaaaaaI")))
+            assertFalse(checker.checkedUuids.contains(resumeUuid))
+            assertEquals(checker.checkedCount, checker.checkedUuids.size.toLong())
+            checker.checkedUuids
+        }
+
+        StubThumbnailServer("aaaaaaaaazA", 0).use { server ->
+            val found = CountDownLatch(1)
+            var foundUuid = ""
+            val checker = newChecker(server)
+            checker.setFoundListener {
+                foundUuid = it
+                found.countDown()
+            }
+            checker.startChecking()
+
+            assertTrue(found.await(10, TimeUnit.SECONDS))
+            assertTrue(checker.isKilled)
+            assertEquals("aaaaaaaaazA", foundUuid)
+            assertEquals(checkedBefore.size.toLong(), checker.skippedCount)
+            checkedBefore.forEach { assertNull(server.requests[it]) }
+        }
+
+        directory.deleteRecursively()
+    }
+}
@@ -0,0 +1,75 @@
+package cyder.ui.list
+
+import org.junit.jupiter.api.Assertions
+import org.junit.jupiter.api.Test
+import java.util.*
+
+/**
+ * Tests for the [ScrollListModel] of [CyderVirtualScrollList]s.
+ */
+class ScrollListModelTest {
+    /**
+     * Tests for adding, looking up, and removing elements.
+     */
+    @Test
+    fun testElements() {
+        val model = ScrollListModel()
+        for (i in 0 until 50_000) {
+            model.add("file$i", null, null)
+        }
+
+        Assertions.assertEquals(50_000, model.size())
+        Assertions.assertTrue(model.contains("file49999"))
+        Assertions.assertEquals("file123", model.get(123).text)
+        Assertions.assertThrows(IllegalArgumentException::class.java) { model.add("file0", null, null) }
+        Assertions.assertThrows(IllegalArgumentException::class.java) { model.add("", null, null) }
+
+        Assertions.assertTrue(model.remove("file0"))
+        Assertions.assertFalse(model.remove("file0"))
+        Assertions.assertEquals("file1", model.get(0).text)
+
+        model.clear()
+        Assertions.assertEquals(0, model.size())
+        Assertions.assertFalse(model.contains("file1"))
+    }
+
+    /**
+     * Tests for the selection semantics of clicks.
+     */
+    @Test
+    fun testSelection() {
+        val model = ScrollListModel()
+        var singleClicks = 0
+        var doubleClicks = 0
+        model.add("a", { singleClicks++ }, null)
+        model.add("b", null) { doubleClicks++ }
+        model.add("c", { singleClicks++ }) { doubleClicks++ }
+
+        val single = CyderScrollList.SelectionPolicy.SINGLE
+        model.onClicked(0, 1, false, single).ifPresent(Runnable::run)
+        Assertions.assertEquals(1, singleClicks)
+        Assertions.assertEquals(Optional.of("a"), model.firstSelected)
+
+        model.onClicked(0, 1, false, single)
+        Assertions.assertEquals(Optional.empty<String>(), model.firstSelected)
+
+        model.onClicked(1, 1, false, single)
+        model.onClicked(1, 2, false, single).ifPresent(Runnable::run)
+        Assertions.assertEquals(1, doubleClicks)
+        Assertions.assertEquals(0, model.selectedCount)
+
+        val multiple = CyderScrollList.SelectionPolicy.MULTIPLE
+        model.onClicked(2, 1, false, multiple)
+        model.onClicked(0, 1, true, multiple)
+        Assertions.assertEquals(listOf("a", "c"), model.selected)
+        model.onClicked(1, 1, false, multiple)
+        Assertions.assertEquals(listOf("b"), model.selected)
+        Assertions.assertEquals(Optional.empty<Runnable>(), model.onClicked(3, 1, false, multiple))
+
+        model.select("c")
+        model.removeSelected()
+        Assertions.assertEquals(1, model.size())
+        Assertions.assertFalse(model.contains("b"))
+        Assertions.assertEquals(0, model.selectedCount)
+    }
+}
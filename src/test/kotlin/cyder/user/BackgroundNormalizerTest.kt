@@ -0,0 +1,131 @@
+package cyder.user
+
+import org.junit.jupiter.api.Assertions.*
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.io.TempDir
+import java.awt.Dimension
+import java.awt.image.BufferedImage
+import java.io.File
+import java.io.RandomAccessFile
+import javax.imageio.ImageIO
+
+/**
+ * Tests for [BackgroundNormalizer].
+ */
+class BackgroundNormalizerTest {
+    /**
+     * The dimension backgrounds must fit within.
+     */
+    private val maximumDimension = Dimension(200, 200)
+
+    /**
+     * The temporary directory of each test.
+     */
+    @TempDir
+    lateinit var root: File
+
+    /**
+     * The backgrounds directory of each test.
+     */
+    private val backgrounds by lazy { File(root, "Backgrounds").also { assertTrue(it.mkdir()) } }
+
+    /**
+     * The index file of each test.
+     */
+    private val indexFile by lazy { File(File(root, "index"), "validated.bin") }
+
+    /**
+     * Writes a png of the provided dimensions.
+     */
+    private fun writePng(name: String, width: Int, height: Int): File {
+        val file = File(backgrounds, "$name.png")
+        assertTrue(ImageIO.write(BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", file))
+        return file
+    }
+
+    /**
+     * Rewrites the width in the header of the provided png without changing its length or modification time,
+     * so that only a normalizer which rereads the header sees the new width.
+     */
+    private fun rewriteWidthInPlace(png: File, width: Int) {
+        val lastModified = png.lastModified()
+        RandomAccessFile(png, "rw").use {
+            it.seek(16)
+            it.writeInt(width)
+        }
+        assertTrue(png.setLastModified(lastModified))
+    }
+
+    /**
+     * Tests that only oversized backgrounds are returned and that validated backgrounds are not reread.
+     */
+    @Test
+    fun testFindOversized() {
+        val small = writePng("small", 100, 50)
+        val large = writePng("large", 400, 100)
+        val notes = File(backgrounds, "notes.txt").also { it.writeText("not an image") }
+
+        val normalizer = BackgroundNormalizer(indexFile, maximumDimension)
+        assertEquals(listOf(large), normalizer.findOversized(backgrounds))
+        assertTrue(normalizer.isValidated(small))
+        assertFalse(normalizer.isValidated(large))
+        assertFalse(normalizer.isValidated(notes))
+
+        rewriteWidthInPlace(small, 1000)
+        assertTrue(normalizer.isValidated(small))
+        assertEquals(listOf(large), normalizer.findOversized(backgrounds))
+    }
+
+    /**
+     * Tests that resized backgrounds fit and are recorded as validated.
+     */
+    @Test
+    fun testResize() {
+        val large = writePng("large", 400, 100)
+        val tall = writePng("tall", 100, 800)
+
+        val normalizer = BackgroundNormalizer(indexFile, maximumDimension)
+        assertEquals(2, normalizer.resize(normalizer.findOversized(backgrounds)))
+
+        val resizedLarge = ImageIO.read(large)
+        assertEquals(200, resizedLarge.width)
+        assertTrue(resizedLarge.height <= 200)
+        val resizedTall = ImageIO.read(tall)
+        assertEquals(200, resizedTall.height)
+        assertTrue(resizedTall.width <= 200)
+        assertEquals(2, backgrounds.listFiles()!!.size)
+
+        assertTrue(normalizer.isValidated(large))
+        assertTrue(normalizer.isValidated(tall))
+        assertTrue(normalizer.findOversized(backgrounds).isEmpty())
+    }
+
+    /**
+     * Tests that the index persists validated backgrounds and is discarded for a different maximum dimension.
+     */
+    @Test
+    fun testIndexPersistence() {
+        val first = writePng("first", 100, 50)
+        val second = writePng("second", 150, 150)
+
+        val normalizer = BackgroundNormalizer(indexFile, maximumDimension)
+        assertTrue(normalizer.findOversized(backgrounds).isEmpty())
+        normalizer.saveIndex()
+        assertTrue(indexFile.exists())
+
+        val reloaded = BackgroundNormalizer(indexFile, maximumDimension)
+        assertTrue(reloaded.isValidated(first))
+        assertTrue(reloaded.isValidated(second))
+        rewriteWidthInPlace(first, 1000)
+        assertTrue(reloaded.findOversized(backgrounds).isEmpty())
+
+        writePng("second", 300, 150)
+        assertTrue(second.setLastModified(second.lastModified() + 5000))
+        assertFalse(reloaded.isValidated(second))
+        assertEquals(listOf(second), reloaded.findOversized(backgrounds))
+
+        val smallerMonitor = BackgroundNormalizer(indexFile, Dimension(120, 120))
+        assertFalse(smallerMonitor.isValidated(first))
+        assertEquals(setOf(first, second), smallerMonitor.findOversized(backgrounds).toSet())
+    }
+}
@@ -0,0 +1,155 @@
+package cyder.user
+
+import cyder.utils.SerializationUtil
+import org.junit.jupiter.api.Assertions.*
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.io.TempDir
+import java.io.File
+import java.util.Optional
+
+/**
+ * Tests for [UserIndex].
+ */
+class UserIndexTest {
+    /**
+     * The temporary directory of each test.
+     */
+    @TempDir
+    lateinit var root: File
+
+    /**
+     * The users directory of each test.
+     */
+    private val users by lazy { File(root, "users").also { assertTrue(it.mkdir()) } }
+
+    /**
+     * The index file of each test.
+     */
+    private val indexFile by lazy { File(File(root, "userindex"), "index.bin") }
+
+    /**
+     * Writes a user json file for the provided uuid and returns it.
+     */
+    private fun writeUser(uuid: String, username: String, password: String,
+                          loggedIn: Boolean = false, lastSessionStart: Long = 0): Pair<File, User> {
+        val directory = File(users, uuid)
+        directory.mkdirs()
+        val jsonFile = File(directory, UserFile.USERDATA.getName())
+        jsonFile.createNewFile()
+
+        val user = User()
+        user.username = username
+        user.password = password
+        user.setLoggedIn(loggedIn)
+        user.lastSessionStart = lastSessionStart
+        SerializationUtil.toJson(user, jsonFile)
+        return Pair(jsonFile, user)
+    }
+
+    /**
+     * Overwrites the json file of the provided uuid with unreadable content without changing its length or
+     * modification time, so that only an index which deserializes the file again loses the user.
+     */
+    private fun corruptInPlace(uuid: String) {
+        val jsonFile = File(File(users, uuid), UserFile.USERDATA.getName())
+        val lastModified = jsonFile.lastModified()
+        jsonFile.writeBytes(ByteArray(jsonFile.length().toInt()) { '#'.code.toByte() })
+        assertTrue(jsonFile.setLastModified(lastModified))
+    }
+
+    /**
+     * Tests lookups of usernames, passwords, and logged-in users.
+     */
+    @Test
+    fun testLookups() {
+        writeUser("uuid-a", "Nathan", "hashA", loggedIn = true, lastSessionStart = 100)
+        writeUser("uuid-b", "Alice", "hashB", loggedIn = true, lastSessionStart = 200)
+        writeUser("uuid-c", "Bob", "hashC")
+
+        val index = UserIndex(users, indexFile)
+        assertTrue(index.usernameInUse("nathan"))
+        assertFalse(index.usernameInUse("carol"))
+        assertEquals(Optional.of("uuid-b"), index.getUuidOfUsername("ALICE"))
+        assertTrue(index.passwordMatches("uuid-c", "hashC"))
+        assertFalse(index.passwordMatches("uuid-c", "hashA"))
+        assertFalse(index.passwordMatches("uuid-z", "hashA"))
+        assertEquals(Optional.of("uuid-b"), index.getMostRecentLoggedInUser())
+        assertEquals(setOf("uuid-a", "uuid-b"), index.getLoggedInUuids().toSet())
+        assertTrue(indexFile.exists())
+
+        corruptInPlace("uuid-c")
+        assertTrue(index.usernameInUse("bob"))
+        assertTrue(index.passwordMatches("uuid-c", "hashC"))
+    }
+
+    /**
+     * Tests that a persisted index is reused and only stale users are deserialized again.
+     */
+    @Test
+    fun testPersistenceAndStaleness() {
+        writeUser("uuid-a", "Nathan", "hashA")
+        val (bobFile, _) = writeUser("uuid-b", "Bob", "hashB")
+        UserIndex(users, indexFile).usernameInUse("Nathan")
+        corruptInPlace("uuid-a")
+
+        val reloaded = UserIndex(users, indexFile)
+        assertTrue(reloaded.usernameInUse("bob"))
+        assertTrue(reloaded.usernameInUse("nathan"))
+
+        writeUser("uuid-b", "Robert", "hashB2")
+        assertTrue(bobFile.setLastModified(bobFile.lastModified() + 5000))
+        writeUser("uuid-c", "Carol", "hashC")
+        File(users, "uuid-a").deleteRecursively()
+
+        val stale = UserIndex(users, indexFile)
+        assertFalse(stale.usernameInUse("Nathan"))
+        assertFalse(stale.usernameInUse("Bob"))
+        assertTrue(stale.usernameInUse("robert"))
+        assertTrue(stale.usernameInUse("carol"))
+        assertTrue(stale.passwordMatches("uuid-b", "hashB2"))
+    }
+
+    /**
+     * Tests that a missing or corrupted index is rebuilt.
+     */
+    @Test
+    fun testRebuild() {
+        writeUser("uuid-a", "Nathan", "hashA")
+        indexFile.parentFile.mkdirs()
+        indexFile.writeBytes(byteArrayOf(1, 2, 3))
+
+        val index = UserIndex(users, indexFile)
+        assertTrue(index.usernameInUse("nathan"))
+
+        corruptInPlace("uuid-a")
+        val reloaded = UserIndex(users, indexFile)
+        assertTrue(reloaded.usernameInUse("nathan"))
+    }
+
+    /**
+     * Tests that updates and removals keep the index consistent.
+     */
+    @Test
+    fun testUpdateAndRemove() {
+        val (jsonFile, user) = writeUser("uuid-a", "Nathan", "hashA", loggedIn = true, lastSessionStart = 5)
+        val index = UserIndex(users, indexFile)
+        assertEquals(Optional.of("uuid-a"), index.getMostRecentLoggedInUser())
+
+        user.username = "Nate"
+        user.setLoggedIn(false)
+        SerializationUtil.toJson(user, jsonFile)
+        index.update(jsonFile, user)
+
+        assertFalse(index.usernameInUse("Nathan"))
+        assertTrue(index.usernameInUse("nate"))
+        assertEquals(Optional.empty<String>(), index.getMostRecentLoggedInUser())
+
+        corruptInPlace("uuid-a")
+        val reloaded = UserIndex(users, indexFile)
+        assertTrue(reloaded.usernameInUse("nate"))
+
+        File(users, "uuid-a").deleteRecursively()
+        reloaded.remove("uuid-a")
+        assertFalse(reloaded.usernameInUse("nate"))
+    }
+}
@@ -0,0 +1,86 @@
+package cyder.utils
+
+import org.junit.jupiter.api.Assertions.*
+import org.junit.jupiter.api.Test
+import java.io.File
+import java.nio.file.Files
+
+/**
+ * Tests for the [CodeStatsAnalyzer].
+ */
+class CodeStatsAnalyzerTest {
+    /**
+     * The contents of a Java file with known statistics.
+     */
+    private val source = """
+        package test;
+
+        /**
+         * A class.
+         */
+        public class Test {
+            // A comment
+            private int x; /* trailing */
+
+            /* A single line block comment */
+            void method() {}
+        }
+    """.trimIndent()
+
+    /**
+     * Tests for computing the statistics of a single file.
+     */
+    @Test
+    fun testComputeStats() {
+        val directory = Files.createTempDirectory("code_stats_test").toFile()
+        val file = File(directory, "Test.java")
+        file.writeText(source)
+
+        val stats = CodeStatsAnalyzer.computeStats(file)
+        assertEquals(12, stats.totalLines)
+        assertEquals(2, stats.blankLines)
+        assertEquals(4, stats.codeLines)
+        assertEquals(6, stats.commentLines)
+
+        directory.deleteRecursively()
+    }
+
+    /**
+     * Tests for analyzing a tree and reusing the statistics of files unchanged since the last analysis.
+     */
+    @Test
+    fun testAnalyzeCachesByModificationTime() {
+        val directory = Files.createTempDirectory("code_stats_test").toFile()
+        val nested = File(directory, "a/b")
+        nested.mkdirs()
+        val files = (0 until 20).map { File(if (it % 2 == 0) directory else nested, "Test$it.java") }
+        files.forEach { it.writeText(source) }
+        File(directory, "notes.txt").writeText(source)
+
+        val analyzer = CodeStatsAnalyzer()
+        val first = analyzer.analyze(directory)
+        assertEquals(20, first.files.size)
+        assertEquals(20 * 12, first.totalLines)
+        assertEquals(20 * 4, first.codeLines)
+        assertEquals(20 * 6, first.commentLines)
+        assertEquals(20 * 2, first.blankLines)
+        assertEquals(first, analyzer.analyze(directory))
+
+        val lastModified = files[3].lastModified()
+        files[3].writeText(source.replace("// A comment", "int aComment"))
+        files[3].setLastModified(lastModified)
+        assertEquals(first, analyzer.analyze(directory))
+        assertNotEquals(first.codeLines, CodeStatsAnalyzer().analyze(directory).codeLines)
+
+        files[3].writeText(source + "\nclass Other {}\n")
+        files[3].setLastModified(lastModified + 2000)
+        val second = analyzer.analyze(directory)
+        assertEquals(20 * 12 + 1, second.totalLines)
+        assertEquals(20 * 4 + 1, second.codeLines)
+
+        assertEquals(second.codeLines, analyzer.analyze(nested).codeLines + analyzer.analyze(directory).files
+                .filter { it.file.parentFile == directory }.sumOf { it.codeLines })
+
+        directory.deleteRecursively()
+    }
+}
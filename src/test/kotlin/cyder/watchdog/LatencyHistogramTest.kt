@@ -0,0 +1,81 @@
+package cyder.watchdog
+
+import org.junit.jupiter.api.Assertions.*
+import org.junit.jupiter.api.Test
+import java.time.Duration
+
+/**
+ * Tests for the [LatencyHistogram] and [EdtLatencyProfiler] attribution.
+ */
+class LatencyHistogramTest {
+    /**
+     * Tests for bucket indices being contiguous and bounding their values.
+     */
+    @Test
+    fun testBuckets() {
+        for (value in 0L until 100_000L) {
+            val index = LatencyHistogram.bucketIndex(value)
+            assertTrue(LatencyHistogram.lowestEquivalentValue(index) <= value)
+            assertTrue(LatencyHistogram.highestEquivalentValue(index) >= value)
+        }
+
+        assertEquals(63, LatencyHistogram.bucketIndex(63))
+        assertEquals(64, LatencyHistogram.bucketIndex(64))
+        assertEquals(LatencyHistogram.bucketIndex(64), LatencyHistogram.bucketIndex(65))
+        assertEquals(LatencyHistogram.bucketIndex(LatencyHistogram.MAX_TRACKABLE_MICROS),
+                LatencyHistogram.bucketIndex(Long.MAX_VALUE))
+    }
+
+    /**
+     * Tests for percentiles, mean, and max.
+     */
+    @Test
+    fun testPercentiles() {
+        val histogram = LatencyHistogram()
+        assertEquals(0, histogram.getValueAtPercentile(99.0))
+
+        for (value in 1L..10_000L) {
+            histogram.recordMicros(value)
+        }
+
+        assertEquals(10_000L, histogram.totalCount)
+        assertEquals(10_000L, histogram.maxMicros)
+        assertEquals(5000.5, histogram.meanMicros, 1e-9)
+
+        for (percentile in listOf(50.0, 90.0, 99.0, 99.9)) {
+            val expected = percentile / 100.0 * 10_000
+            val actual = histogram.getValueAtPercentile(percentile).toDouble()
+            assertTrue(actual >= expected)
+            assertTrue(actual <= expected * 1.04)
+        }
+        assertEquals(10_000L, histogram.getValueAtPercentile(100.0))
+
+        histogram.record(Duration.ofSeconds(3))
+        assertEquals(3_000_000L, histogram.maxMicros)
+
+        assertThrows(IllegalArgumentException::class.java) { histogram.recordMicros(-1) }
+        assertThrows(IllegalArgumentException::class.java) { histogram.getValueAtPercentile(101.0) }
+
+        histogram.reset()
+        assertEquals(0L, histogram.totalCount)
+        assertEquals(0L, histogram.maxMicros)
+    }
+
+    /**
+     * Tests for attributing event dispatch thread stacks to the outermost Cyder frame.
+     */
+    @Test
+    fun testAttribution() {
+        val stack = arrayOf(
+                StackTraceElement("java.lang.Thread", "sleep", "Thread.java", 1),
+                StackTraceElement("cyder.utils.NetworkUtil", "readUrl", "NetworkUtil.java", 10),
+                StackTraceElement("cyder.widgets.WeatherWidget\$1", "actionPerformed", "WeatherWidget.java", 20),
+                StackTraceElement("javax.swing.AbstractButton", "fireActionPerformed", "AbstractButton.java", 30),
+                StackTraceElement("java.awt.EventDispatchThread", "run", "EventDispatchThread.java", 40))
+
+        assertEquals("cyder.widgets.WeatherWidget\$1.actionPerformed(WeatherWidget.java:20)",
+                EdtLatencyProfiler.attribute(stack))
+        assertEquals(EdtLatencyProfiler.UNATTRIBUTED, EdtLatencyProfiler.attribute(arrayOf()))
+        assertTrue(EdtLatencyProfiler.attribute(arrayOf(stack[0])).startsWith(EdtLatencyProfiler.UNATTRIBUTED))
+    }
+}